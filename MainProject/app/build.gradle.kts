@@ -1,6 +1,7 @@
 plugins {
     id("com.android.application")
     id("com.google.gms.google-services")
+    id("androidx.baselineprofile")
 }
 
 android {
@@ -24,12 +25,34 @@ android {
                 "proguard-rules.pro"
             )
         }
+        // Build types the baselineprofile plugin adds for :benchmark; debug-signed so they install without
+        // a release key
+        configureEach {
+            if (name == "benchmarkRelease" || name == "nonMinifiedRelease") {
+                signingConfig = signingConfigs.getByName("debug")
+            }
+        }
+    }
+
+    // Benchmark and Baseline Profile builds run against the Firestore emulator seeded by :benchmark
+    sourceSets {
+        for (buildType in listOf("benchmarkRelease", "nonMinifiedRelease")) {
+            maybeCreate(buildType).apply {
+                manifest.srcFile("src/localBackend/AndroidManifest.xml")
+                res.srcDir("src/localBackend/res")
+            }
+        }
     }
 
     compileOptions {
         sourceCompatibility = JavaVersion.VERSION_17
         targetCompatibility = JavaVersion.VERSION_17
     }
+
+    // Local unit tests run on the JVM, where android.util.Log would otherwise throw
+    testOptions {
+        unitTests.isReturnDefaultValues = true
+    }
     
     packaging {
         resources {
@@ -43,12 +66,18 @@ android {
 }
 
 dependencies {
+    implementation(project(":core"))
     implementation("androidx.core:core-ktx:1.13.1")
     implementation("androidx.appcompat:appcompat:1.7.0")
     implementation("com.google.android.material:material:1.12.0")
     implementation("androidx.constraintlayout:constraintlayout:2.1.4")
     implementation("androidx.swiperefreshlayout:swiperefreshlayout:1.1.0")
     implementation("com.google.android.gms:play-services-location:21.3.0")
+    // Installs the Baseline Profile generated by :benchmark on sideloaded builds
+    implementation("androidx.profileinstaller:profileinstaller:1.4.1")
+    baselineProfile(project(":benchmark"))
+    testImplementation("junit:junit:4.13.2")
+    testImplementation("org.mockito:mockito-core:5.11.0")
     androidTestImplementation("androidx.test.ext:junit:1.1.5")
     androidTestImplementation("androidx.test:core:1.5.0")
     androidTestImplementation("androidx.test.espresso:espresso-core:3.5.1")
@@ -9,6 +9,7 @@ import androidx.test.ext.junit.runners.AndroidJUnit4;
 
 import com.quantiagents.app.Constants.constant;
 import com.quantiagents.app.Repository.FireBaseRepository;
+import com.quantiagents.app.Repository.FirestoreUserRepository;
 import com.quantiagents.app.Repository.UserRepository;
 import com.quantiagents.app.Services.NotificationService;
 import com.quantiagents.app.Services.ServiceLocator;
@@ -213,7 +214,7 @@ public class AdminFlowInstrumentedTest {
         EventService eventService = locator.eventService();
         ImageService imageService = locator.imageService();
         // Use UserRepository directly to bypass auth/session logic for test seeding
-        UserRepository userRepository = new UserRepository(new FireBaseRepository());
+        UserRepository userRepository = new FirestoreUserRepository(new FireBaseRepository());
 
         //1. Create Events
         Event evt1 = new Event(testEvt1Id, "Test Event 1", testImg1Id);
@@ -247,7 +248,6 @@ public class AdminFlowInstrumentedTest {
         saveUserSync(userRepository, notifUser);
         Event notifEvt = new Event(notifEvtId, "Notif Event", notifImgId);
         notifEvt.setOrganizerId(notifOrgId);
-        notifEvt.setWaitingList(new java.util.ArrayList<>());
         saveEventSync(eventService, notifEvt);
         Image notifImg = new Image(notifImgId, notifEvtId, "uri://notif");
         saveImageSync(imageService, notifImg);
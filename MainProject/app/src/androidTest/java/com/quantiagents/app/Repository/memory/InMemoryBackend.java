@@ -0,0 +1,330 @@
+package com.quantiagents.app.Repository.memory;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.quantiagents.app.Repository.ChatRepository;
+import com.quantiagents.app.Repository.EventAnnouncementRepository;
+import com.quantiagents.app.Repository.EventCounterRepository;
+import com.quantiagents.app.Repository.EventRepository;
+import com.quantiagents.app.Repository.GeoLocationRepository;
+import com.quantiagents.app.Repository.ImageRepository;
+import com.quantiagents.app.Repository.LotteryResultRepository;
+import com.quantiagents.app.Repository.MessageRepository;
+import com.quantiagents.app.Repository.NotificationArchiveRepository;
+import com.quantiagents.app.Repository.NotificationRepository;
+import com.quantiagents.app.Repository.QRCodeRepository;
+import com.quantiagents.app.Repository.RegistrationHistoryRepository;
+import com.quantiagents.app.Repository.UserRepository;
+import com.quantiagents.app.Services.ServiceLocator;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A complete repository backend held in memory, for load tests and offline benchmarks.
+ * <p>
+ * Every repository interface has an implementation here that keeps its documents in concurrent maps,
+ * keyed by the same document IDs the Firestore implementations use, with secondary indexes for the
+ * queries the services run. All of them are thread-safe. Hand the backend to
+ * {@link ServiceLocator#ServiceLocator(android.content.Context, ServiceLocator.Repositories)}
+ * to run the services on it, and use {@link SyntheticData} to fill it. Test code only: it is built
+ * into the instrumentation APK, never into the app.
+ * </p>
+ * <p>
+ * Every operation goes through the {@link #conditions()}: it waits a simulated latency and may fail.
+ * Asynchronous operations complete on the backend's worker threads, not on the main thread, so
+ * callbacks must not touch views. Entities are stored and returned by reference, like objects in a
+ * warm cache: changing a returned object without writing it back changes the stored one too.
+ * </p>
+ */
+public final class InMemoryBackend implements ServiceLocator.Repositories {
+
+    private static final String ID_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    private static final int ID_LENGTH = 20;
+    private static final int WORKER_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    private final SimulatedConditions conditions = new SimulatedConditions();
+    // Holds operations for their latency, then hands them to the workers
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+    // Bounded like a real client's connection pool; extra operations queue instead of spawning threads
+    private final ExecutorService workers = Executors.newFixedThreadPool(WORKER_THREADS);
+
+    final InMemoryUserRepository users;
+    final InMemoryEventCounterRepository eventCounters;
+    final InMemoryRegistrationHistoryRepository registrationHistories;
+    final InMemoryEventRepository events;
+    final InMemoryImageRepository images;
+    final InMemoryNotificationRepository notifications;
+    final InMemoryNotificationArchiveRepository notificationArchive;
+    final InMemoryGeoLocationRepository geoLocations;
+    final InMemoryQRCodeRepository qrCodes;
+    final InMemoryLotteryResultRepository lotteryResults;
+    final InMemoryChatRepository chats;
+    final InMemoryMessageRepository messages;
+    final InMemoryEventAnnouncementRepository eventAnnouncements;
+
+    /**
+     * Constructor that creates an empty backend with no latency and no failures.
+     */
+    public InMemoryBackend() {
+        users = new InMemoryUserRepository(this);
+        eventCounters = new InMemoryEventCounterRepository(this);
+        registrationHistories = new InMemoryRegistrationHistoryRepository(this, eventCounters);
+        events = new InMemoryEventRepository(this, registrationHistories);
+        images = new InMemoryImageRepository(this);
+        notifications = new InMemoryNotificationRepository(this);
+        notificationArchive = new InMemoryNotificationArchiveRepository(this, notifications);
+        geoLocations = new InMemoryGeoLocationRepository(this);
+        qrCodes = new InMemoryQRCodeRepository(this);
+        lotteryResults = new InMemoryLotteryResultRepository(this);
+        chats = new InMemoryChatRepository(this);
+        messages = new InMemoryMessageRepository(this);
+        eventAnnouncements = new InMemoryEventAnnouncementRepository(this);
+    }
+
+    /**
+     * @return The simulated latency and failure settings of every operation.
+     */
+    public SimulatedConditions conditions() {
+        return conditions;
+    }
+
+    /**
+     * @return The user repository of this backend.
+     */
+    @Override
+    public UserRepository users() {
+        return users;
+    }
+
+    /**
+     * @return The event counter repository of this backend.
+     */
+    @Override
+    public EventCounterRepository eventCounters() {
+        return eventCounters;
+    }
+
+    /**
+     * @return The registration history repository of this backend.
+     */
+    @Override
+    public RegistrationHistoryRepository registrationHistories() {
+        return registrationHistories;
+    }
+
+    /**
+     * @return The event repository of this backend.
+     */
+    @Override
+    public EventRepository events() {
+        return events;
+    }
+
+    /**
+     * @return The image repository of this backend.
+     */
+    @Override
+    public ImageRepository images() {
+        return images;
+    }
+
+    /**
+     * @return The notification repository of this backend.
+     */
+    @Override
+    public NotificationRepository notifications() {
+        return notifications;
+    }
+
+    /**
+     * @return The notification archive repository of this backend.
+     */
+    @Override
+    public NotificationArchiveRepository notificationArchive() {
+        return notificationArchive;
+    }
+
+    /**
+     * @return The geo location repository of this backend.
+     */
+    @Override
+    public GeoLocationRepository geoLocations() {
+        return geoLocations;
+    }
+
+    /**
+     * @return The QR code repository of this backend.
+     */
+    @Override
+    public QRCodeRepository qrCodes() {
+        return qrCodes;
+    }
+
+    /**
+     * @return The lottery result repository of this backend.
+     */
+    @Override
+    public LotteryResultRepository lotteryResults() {
+        return lotteryResults;
+    }
+
+    /**
+     * @return The chat repository of this backend.
+     */
+    @Override
+    public ChatRepository chats() {
+        return chats;
+    }
+
+    /**
+     * @return The message repository of this backend.
+     */
+    @Override
+    public MessageRepository messages() {
+        return messages;
+    }
+
+    /**
+     * @return The event announcement repository of this backend.
+     */
+    @Override
+    public EventAnnouncementRepository eventAnnouncements() {
+        return eventAnnouncements;
+    }
+
+    /**
+     * Removes every document from every repository. Message listeners stay registered.
+     */
+    public void clear() {
+        users.clear();
+        eventCounters.clear();
+        registrationHistories.clear();
+        events.clear();
+        images.clear();
+        notifications.clear();
+        notificationArchive.clear();
+        geoLocations.clear();
+        qrCodes.clear();
+        lotteryResults.clear();
+        chats.clear();
+        messages.clear();
+        eventAnnouncements.clear();
+    }
+
+    /**
+     * Stops the backend's threads. Operations still waiting for their latency are dropped.
+     */
+    public void shutdown() {
+        timer.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Simulates one blocking operation on the calling thread: waits its latency and reports whether it
+     * went through. Callers return their empty result when it did not, like the Firestore implementations.
+     *
+     * @param operation Name of the operation
+     * @return True if the operation may go ahead
+     */
+    boolean attempt(String operation) {
+        long latency = conditions.nextLatencyMs();
+        if (latency > 0) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return conditions.nextFailure(operation) == null;
+    }
+
+    /**
+     * Simulates one asynchronous operation: after its latency the body runs on a worker thread and its
+     * result or exception goes to the callbacks. On a simulated failure the body does not run.
+     *
+     * @param operation Name of the operation
+     * @param body      The work of the operation
+     * @param onSuccess Callback invoked with the body's result, may be null
+     * @param onFailure Callback invoked with the simulated failure or the body's exception, may be null
+     */
+    <T> void async(String operation, @NonNull Callable<T> body,
+                   @Nullable OnSuccessListener<? super T> onSuccess, @Nullable OnFailureListener onFailure) {
+        Runnable run = () -> {
+            T result;
+            try {
+                FirebaseFirestoreException failure = conditions.nextFailure(operation);
+                if (failure != null) {
+                    throw failure;
+                }
+                result = body.call();
+            } catch (Exception e) {
+                if (onFailure != null) onFailure.onFailure(e);
+                return;
+            }
+            if (onSuccess != null) onSuccess.onSuccess(result);
+        };
+        long latency = conditions.nextLatencyMs();
+        if (latency > 0) {
+            timer.schedule(() -> workers.execute(run), latency, TimeUnit.MILLISECONDS);
+        } else {
+            workers.execute(run);
+        }
+    }
+
+    /**
+     * Simulates one asynchronous operation that is exposed as a Task.
+     *
+     * @param operation Name of the operation
+     * @param body      The work of the operation
+     * @return A task completed on a worker thread with the body's result or the failure
+     */
+    <T> Task<T> task(String operation, @NonNull Callable<T> body) {
+        TaskCompletionSource<T> source = new TaskCompletionSource<>();
+        async(operation, body, source::setResult, source::setException);
+        return source.getTask();
+    }
+
+    /**
+     * Runs a callback on a worker thread, e.g. to notify a listener without holding a repository lock.
+     *
+     * @param callback The callback to run
+     */
+    void deliver(Runnable callback) {
+        workers.execute(callback);
+    }
+
+    /**
+     * Generates a document ID in the format Firestore generates them (20 alphanumeric characters).
+     *
+     * @return A new random ID
+     */
+    static String newId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] id = new char[ID_LENGTH];
+        for (int i = 0; i < ID_LENGTH; i++) {
+            id[i] = ID_CHARS.charAt(random.nextInt(ID_CHARS.length()));
+        }
+        return new String(id);
+    }
+
+    /**
+     * Generates a positive ID for the models keyed by an int.
+     *
+     * @return A new random ID, never 0
+     */
+    static int newIntId() {
+        return ThreadLocalRandom.current().nextInt(1, Integer.MAX_VALUE);
+    }
+}
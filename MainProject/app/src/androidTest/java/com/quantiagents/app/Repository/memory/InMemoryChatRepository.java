@@ -0,0 +1,150 @@
+package com.quantiagents.app.Repository.memory;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.quantiagents.app.Repository.ChatRepository;
+import com.quantiagents.app.models.Chat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory {@link ChatRepository}, keyed by chat ID and indexed by event and by member.
+ */
+class InMemoryChatRepository implements ChatRepository {
+
+    private final InMemoryBackend backend;
+    private final Map<String, Chat> chats = new ConcurrentHashMap<>();
+    // Guarded by this
+    private final Index<String, String> byEvent = new Index<>();
+    private final Index<String, String> byMember = new Index<>();
+
+    InMemoryChatRepository(InMemoryBackend backend) {
+        this.backend = backend;
+    }
+
+    /**
+     * Stores a chat without simulating latency or failures (used to seed data).
+     *
+     * @param chat The chat to store; an ID is generated if it has none
+     */
+    synchronized void put(Chat chat) {
+        if (chat.getChatId() == null || chat.getChatId().trim().isEmpty()) {
+            chat.setChatId(InMemoryBackend.newId());
+        }
+        chats.put(chat.getChatId(), chat);
+        byEvent.put(chat.getChatId(), chat.getEventId());
+        byMember.putAll(chat.getChatId(),
+                chat.getMemberIds() != null ? chat.getMemberIds() : Collections.emptyList());
+    }
+
+    private synchronized void remove(String chatId) {
+        byEvent.remove(chatId);
+        byMember.remove(chatId);
+        chats.remove(chatId);
+    }
+
+    private synchronized Chat findByEventId(String eventId) {
+        List<String> ids = byEvent.get(eventId);
+        return ids.isEmpty() ? null : chats.get(ids.get(0));
+    }
+
+    synchronized void clear() {
+        chats.clear();
+        byEvent.clear();
+        byMember.clear();
+    }
+
+    @Override
+    public Chat getChatById(String chatId) {
+        if (chatId == null || chatId.trim().isEmpty() || !backend.attempt("getChatById")) {
+            return null;
+        }
+        return chats.get(chatId);
+    }
+
+    @Override
+    public void getChatById(String chatId, OnSuccessListener<Chat> onSuccess, OnFailureListener onFailure) {
+        if (chatId == null || chatId.trim().isEmpty()) {
+            onFailure.onFailure(new IllegalArgumentException("Chat ID cannot be null or empty"));
+            return;
+        }
+        backend.async("getChatById", () -> chats.get(chatId), onSuccess, onFailure);
+    }
+
+    @Override
+    public Chat getChatByEventId(String eventId) {
+        if (eventId == null || eventId.trim().isEmpty() || !backend.attempt("getChatByEventId")) {
+            return null;
+        }
+        return findByEventId(eventId);
+    }
+
+    @Override
+    public void getChatByEventId(String eventId, OnSuccessListener<Chat> onSuccess, OnFailureListener onFailure) {
+        if (eventId == null || eventId.trim().isEmpty()) {
+            onFailure.onFailure(new IllegalArgumentException("Event ID cannot be null or empty"));
+            return;
+        }
+        backend.async("getChatByEventId", () -> findByEventId(eventId), onSuccess, onFailure);
+    }
+
+    @Override
+    public List<Chat> getChatsByUserId(String userId) {
+        List<Chat> found = new ArrayList<>();
+        if (userId == null || userId.trim().isEmpty() || !backend.attempt("getChatsByUserId")) {
+            return found;
+        }
+        synchronized (this) {
+            for (String chatId : byMember.get(userId)) {
+                found.add(chats.get(chatId));
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void saveChat(Chat chat, OnSuccessListener<String> onSuccess, OnFailureListener onFailure) {
+        if (chat.getChatId() == null || chat.getChatId().trim().isEmpty()) {
+            chat.setChatId(InMemoryBackend.newId());
+        }
+        backend.async("saveChat", () -> {
+            put(chat);
+            return chat.getChatId();
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public void updateChat(@NonNull Chat chat, @NonNull OnSuccessListener<Void> onSuccess, @NonNull OnFailureListener onFailure) {
+        if (chat.getChatId() == null || chat.getChatId().trim().isEmpty()) {
+            onFailure.onFailure(new IllegalArgumentException("Chat ID is required for update"));
+            return;
+        }
+        backend.async("updateChat", () -> {
+            put(chat);
+            return null;
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public boolean updateChat(Chat chat) {
+        if (chat.getChatId() == null || chat.getChatId().trim().isEmpty() || !backend.attempt("updateChat")) {
+            return false;
+        }
+        put(chat);
+        return true;
+    }
+
+    @Override
+    public void deleteChatById(String chatId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        backend.async("deleteChatById", () -> {
+            remove(chatId);
+            return null;
+        }, onSuccess, onFailure);
+    }
+}
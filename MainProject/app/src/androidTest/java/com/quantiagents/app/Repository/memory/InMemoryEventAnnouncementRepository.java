@@ -0,0 +1,109 @@
+package com.quantiagents.app.Repository.memory;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.quantiagents.app.Repository.BatchWriter;
+import com.quantiagents.app.Repository.EventAnnouncementRepository;
+import com.quantiagents.app.models.EventAnnouncement;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory {@link EventAnnouncementRepository}, keyed by announcement ID and indexed by event ID,
+ * with read markers kept per recipient.
+ */
+class InMemoryEventAnnouncementRepository implements EventAnnouncementRepository {
+
+    private static final Comparator<EventAnnouncement> NEWEST_FIRST = Comparator
+            .comparing(EventAnnouncement::getTimestamp, Comparator.nullsLast(Comparator.<Date>reverseOrder()));
+
+    private final InMemoryBackend backend;
+    private final Map<Integer, EventAnnouncement> announcements = new ConcurrentHashMap<>();
+    // Guarded by this
+    private final Index<String, Integer> byEvent = new Index<>();
+    // recipient ID -> affiliated event ID -> read up to
+    private final Map<Integer, Map<Integer, Date>> readMarkers = new ConcurrentHashMap<>();
+
+    InMemoryEventAnnouncementRepository(InMemoryBackend backend) {
+        this.backend = backend;
+    }
+
+    private synchronized void put(EventAnnouncement announcement) {
+        if (announcement.getAnnouncementId() <= 0) {
+            int generatedId;
+            do {
+                generatedId = InMemoryBackend.newIntId();
+            } while (announcements.containsKey(generatedId));
+            announcement.setAnnouncementId(generatedId);
+        }
+        announcements.put(announcement.getAnnouncementId(), announcement);
+        byEvent.put(announcement.getAnnouncementId(), announcement.getEventId());
+    }
+
+    synchronized void clear() {
+        announcements.clear();
+        byEvent.clear();
+        readMarkers.clear();
+    }
+
+    @Override
+    public boolean saveAnnouncement(EventAnnouncement announcement) {
+        if (!backend.attempt("saveAnnouncement")) {
+            return false;
+        }
+        put(announcement);
+        return true;
+    }
+
+    @Override
+    public List<EventAnnouncement> getAnnouncementsForEvents(Collection<String> eventIds, Date since, int limitPerChunk) {
+        List<EventAnnouncement> out = new ArrayList<>();
+        // One simulated query per whereIn chunk, as in the Firestore implementation
+        for (List<String> chunk : BatchWriter.chunk(eventIds, BatchWriter.MAX_IN_CLAUSE)) {
+            if (!backend.attempt("getAnnouncementsForEvents")) {
+                continue;
+            }
+            List<EventAnnouncement> matches = new ArrayList<>();
+            synchronized (this) {
+                for (String eventId : chunk) {
+                    for (Integer announcementId : byEvent.get(eventId)) {
+                        EventAnnouncement announcement = announcements.get(announcementId);
+                        Date sent = announcement != null ? announcement.getTimestamp() : null;
+                        if (sent != null && sent.after(since)) {
+                            matches.add(announcement);
+                        }
+                    }
+                }
+            }
+            matches.sort(NEWEST_FIRST);
+            out.addAll(matches.subList(0, Math.min(limitPerChunk, matches.size())));
+        }
+        return out;
+    }
+
+    @Override
+    public Map<Integer, Date> getReadMarkers(int recipientId) {
+        if (!backend.attempt("getReadMarkers")) {
+            return new HashMap<>();
+        }
+        Map<Integer, Date> markers = readMarkers.get(recipientId);
+        return markers == null ? new HashMap<>() : new HashMap<>(markers);
+    }
+
+    @Override
+    public void setReadMarker(int recipientId, int affiliatedEventId, Date readUpTo,
+                              OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        backend.async("setReadMarker", () -> {
+            readMarkers.computeIfAbsent(recipientId, id -> new ConcurrentHashMap<>())
+                    .put(affiliatedEventId, readUpTo);
+            return null;
+        }, onSuccess, onFailure);
+    }
+}
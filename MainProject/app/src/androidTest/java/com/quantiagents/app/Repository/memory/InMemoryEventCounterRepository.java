@@ -0,0 +1,116 @@
+package com.quantiagents.app.Repository.memory;
+
+import com.google.android.gms.tasks.Task;
+import com.quantiagents.app.Repository.EventCounterRepository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory {@link EventCounterRepository}: one atomic total per counter instead of shards,
+ * since there is no per-document write rate to spread.
+ */
+class InMemoryEventCounterRepository implements EventCounterRepository {
+
+    private final InMemoryBackend backend;
+    // event ID -> counter name -> total
+    private final Map<String, Map<String, AtomicLong>> counters = new ConcurrentHashMap<>();
+
+    InMemoryEventCounterRepository(InMemoryBackend backend) {
+        this.backend = backend;
+    }
+
+    /**
+     * Adds to a counter without simulating latency or failures, e.g. as part of a larger operation.
+     *
+     * @param eventId Event id the counter belongs to
+     * @param counter Counter name
+     * @param delta   Amount to add (negative to subtract)
+     * @return The new total
+     */
+    long add(String eventId, String counter, long delta) {
+        return counters.computeIfAbsent(eventId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(counter, name -> new AtomicLong())
+                .addAndGet(delta);
+    }
+
+    /**
+     * Reads a counter without simulating latency or failures.
+     *
+     * @param eventId Event id the counter belongs to
+     * @param counter Counter name
+     * @return The total, 0 if never written
+     */
+    long total(String eventId, String counter) {
+        Map<String, AtomicLong> byName = counters.get(eventId);
+        AtomicLong total = byName != null ? byName.get(counter) : null;
+        return total != null ? total.get() : 0L;
+    }
+
+    void clear() {
+        counters.clear();
+    }
+
+    @Override
+    public Task<Void> increment(String eventId, String counter, long delta) {
+        return backend.task("incrementCounter", () -> {
+            add(eventId, counter, delta);
+            return null;
+        });
+    }
+
+    @Override
+    public Task<Long> getCountAsync(String eventId, String counter) {
+        return backend.task("getCount", () -> total(eventId, counter));
+    }
+
+    @Override
+    public long getCount(String eventId, String counter) {
+        return backend.attempt("getCount") ? total(eventId, counter) : 0L;
+    }
+
+    @Override
+    public Map<String, Long> getCounts(Collection<String> eventIds, String counter) {
+        Map<String, Long> totals = new HashMap<>();
+        if (eventIds == null || eventIds.isEmpty() || !backend.attempt("getCounts")) {
+            return totals;
+        }
+        for (String eventId : eventIds) {
+            Map<String, AtomicLong> byName = eventId != null ? counters.get(eventId) : null;
+            AtomicLong total = byName != null ? byName.get(counter) : null;
+            if (total != null) {
+                totals.put(eventId, total.get());
+            }
+        }
+        return totals;
+    }
+
+    @Override
+    public boolean reset(String eventId, String counter, long total) {
+        if (!backend.attempt("resetCounter")) {
+            return false;
+        }
+        counters.computeIfAbsent(eventId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(counter, name -> new AtomicLong())
+                .set(total);
+        return true;
+    }
+
+    @Override
+    public int deleteCountersByEventIds(Collection<String> eventIds) {
+        if (eventIds == null || eventIds.isEmpty() || !backend.attempt("deleteCounters")) {
+            return 0;
+        }
+        int deleted = 0;
+        for (String eventId : eventIds) {
+            Map<String, AtomicLong> removed = eventId != null ? counters.remove(eventId) : null;
+            if (removed != null) {
+                deleted += removed.size();
+            }
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,243 @@
+package com.quantiagents.app.Repository.memory;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.quantiagents.app.Constants.constant;
+import com.quantiagents.app.Repository.EventRepository;
+import com.quantiagents.app.models.Event;
+import com.quantiagents.app.models.Roster;
+import com.quantiagents.app.models.RosterStats;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory {@link EventRepository}, ordered by event ID so the collection can be paged like Firestore's.
+ * <p>
+ * Writes that Firestore runs in a transaction (update, mutate, draw) run under this repository's lock.
+ * Events read from it page their rosters from the backend's registration histories.
+ * </p>
+ */
+class InMemoryEventRepository implements EventRepository {
+
+    private final InMemoryBackend backend;
+    private final Roster.Source rosterSource;
+    private final NavigableMap<String, Event> events = new ConcurrentSkipListMap<>();
+
+    InMemoryEventRepository(InMemoryBackend backend, InMemoryRegistrationHistoryRepository registrationHistories) {
+        this.backend = backend;
+        this.rosterSource = registrationHistories::getUserIdsByStatus;
+    }
+
+    /**
+     * Stores an event as is, without simulating latency or failures (used to seed data).
+     *
+     * @param event The event to store; an ID is generated if it has none
+     */
+    void put(Event event) {
+        if (event.getEventId() == null || event.getEventId().trim().isEmpty()) {
+            event.setEventId(InMemoryBackend.newId());
+        }
+        event.attachRosterSource(rosterSource);
+        events.put(event.getEventId(), event);
+    }
+
+    /**
+     * Reads an event without simulating latency or failures.
+     *
+     * @param eventId The event ID
+     * @return The event, or null if none
+     */
+    Event get(String eventId) {
+        return events.get(eventId);
+    }
+
+    void clear() {
+        events.clear();
+    }
+
+    private static FirebaseFirestoreException notFound(String eventId) {
+        return new FirebaseFirestoreException("Event not found: " + eventId, FirebaseFirestoreException.Code.NOT_FOUND);
+    }
+
+    @Override
+    public Event getEventById(String eventId) {
+        if (eventId == null || eventId.trim().isEmpty() || !backend.attempt("getEventById")) {
+            return null;
+        }
+        return events.get(eventId);
+    }
+
+    @Override
+    public List<Event> getAllEvents() {
+        if (!backend.attempt("getAllEvents")) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(events.values());
+    }
+
+    @Override
+    public void getAllEvents(OnSuccessListener<List<Event>> onSuccess, OnFailureListener onFailure) {
+        backend.async("getAllEvents", () -> new ArrayList<>(events.values()), onSuccess, onFailure);
+    }
+
+    @Override
+    public void saveEvent(Event event, OnSuccessListener<String> onSuccess, OnFailureListener onFailure) {
+        if (event.getEventId() == null || event.getEventId().trim().isEmpty()) {
+            String generatedId = InMemoryBackend.newId();
+            event.setEventId(generatedId);
+            backend.async("saveEvent", () -> {
+                put(event);
+                return generatedId;
+            }, onSuccess, onFailure);
+        } else {
+            String eventId = event.getEventId();
+            updateEvent(event, aVoid -> onSuccess.onSuccess(eventId), onFailure);
+        }
+    }
+
+    @Override
+    public void updateEvent(@NonNull Event event, @NonNull OnSuccessListener<Void> onSuccess, @NonNull OnFailureListener onFailure) {
+        backend.async("updateEvent", () -> {
+            long version;
+            synchronized (this) {
+                Event current = events.get(event.getEventId());
+                if (current == null) {
+                    event.setVersion(1);
+                    put(event);
+                    return null;
+                }
+                version = current.getVersion() + 1;
+                if (current != event) {
+                    current.copyDetailsFrom(event);
+                }
+                current.setVersion(version);
+            }
+            event.setVersion(version);
+            return null;
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public void mutateEvent(@NonNull String eventId, @NonNull EventMutation mutation,
+                            @NonNull OnSuccessListener<Event> onSuccess, @NonNull OnFailureListener onFailure) {
+        backend.async("mutateEvent", () -> {
+            synchronized (this) {
+                Event current = events.get(eventId);
+                if (current == null) {
+                    throw notFound(eventId);
+                }
+                if (mutation.apply(current)) {
+                    current.setVersion(current.getVersion() + 1);
+                }
+                return current;
+            }
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public void recordDraw(@NonNull String eventId, int winners,
+                           @NonNull OnSuccessListener<Void> onSuccess, @NonNull OnFailureListener onFailure) {
+        backend.async("recordDraw", () -> {
+            synchronized (this) {
+                Event current = events.get(eventId);
+                if (current == null) {
+                    throw notFound(eventId);
+                }
+                current.setFirstLotteryDone(true);
+                current.adjustRosterCount(constant.EventRegistrationStatus.SELECTED, winners);
+                current.setVersion(current.getVersion() + 1);
+                return null;
+            }
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public int writeRosterCounts(Map<String, RosterStats> countsByEvent) {
+        if (countsByEvent.isEmpty() || !backend.attempt("writeRosterCounts")) {
+            return 0;
+        }
+        int written = 0;
+        synchronized (this) {
+            for (Map.Entry<String, RosterStats> entry : countsByEvent.entrySet()) {
+                Event current = events.get(entry.getKey());
+                if (current == null) continue;
+                for (constant.EventRegistrationStatus status : Event.STORED_ROSTERS) {
+                    current.adjustRosterCount(status, entry.getValue().get(status) - current.rosterCount(status));
+                }
+                current.setVersion(current.getVersion() + 1);
+                written++;
+            }
+        }
+        return written;
+    }
+
+    @Override
+    public List<Event> getEventsPage(@Nullable String afterEventId, int limit) {
+        List<Event> page = new ArrayList<>();
+        if (!backend.attempt("getEventsPage")) {
+            return page;
+        }
+        Collection<Event> rest = afterEventId == null ? events.values() : events.tailMap(afterEventId, false).values();
+        for (Event event : rest) {
+            if (page.size() >= limit) break;
+            page.add(event);
+        }
+        return page;
+    }
+
+    @Override
+    public void deleteEventById(String eventId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        backend.async("deleteEventById", () -> {
+            events.remove(eventId);
+            return null;
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public boolean deleteEventById(String eventId) {
+        if (!backend.attempt("deleteEventById")) {
+            return false;
+        }
+        events.remove(eventId);
+        return true;
+    }
+
+    @Override
+    public List<Event> getEventsByIds(Collection<String> eventIds) {
+        List<Event> found = new ArrayList<>();
+        if (eventIds == null || eventIds.isEmpty() || !backend.attempt("getEventsByIds")) {
+            return found;
+        }
+        for (String eventId : eventIds) {
+            Event event = eventId != null ? events.get(eventId) : null;
+            if (event != null) {
+                found.add(event);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public int deleteEventsByIds(Collection<String> eventIds) {
+        if (eventIds == null || eventIds.isEmpty() || !backend.attempt("deleteEventsByIds")) {
+            return 0;
+        }
+        int deleted = 0;
+        for (String eventId : eventIds) {
+            if (eventId != null && !eventId.trim().isEmpty()) {
+                events.remove(eventId);
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+}
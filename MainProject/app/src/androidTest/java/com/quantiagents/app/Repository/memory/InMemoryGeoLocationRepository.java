@@ -0,0 +1,141 @@
+package com.quantiagents.app.Repository.memory;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.quantiagents.app.Repository.GeoLocationRepository;
+import com.quantiagents.app.models.GeoLocation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory {@link GeoLocationRepository}, keyed by userId_eventId and indexed by event and by user.
+ */
+class InMemoryGeoLocationRepository implements GeoLocationRepository {
+
+    private final InMemoryBackend backend;
+    private final Map<String, GeoLocation> geoLocations = new ConcurrentHashMap<>();
+    // Guarded by this
+    private final Index<String, String> byEvent = new Index<>();
+    private final Index<String, String> byUser = new Index<>();
+
+    InMemoryGeoLocationRepository(InMemoryBackend backend) {
+        this.backend = backend;
+    }
+
+    private static String docId(String userId, String eventId) {
+        return userId + "_" + eventId;
+    }
+
+    private synchronized String put(GeoLocation geoLocation) {
+        String key = docId(geoLocation.getUserId(), geoLocation.getEventId());
+        geoLocations.put(key, geoLocation);
+        byEvent.put(key, geoLocation.getEventId());
+        byUser.put(key, geoLocation.getUserId());
+        return key;
+    }
+
+    private synchronized void remove(String key) {
+        byEvent.remove(key);
+        byUser.remove(key);
+        geoLocations.remove(key);
+    }
+
+    private synchronized List<GeoLocation> lookup(List<String> keys) {
+        List<GeoLocation> found = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            found.add(geoLocations.get(key));
+        }
+        return found;
+    }
+
+    synchronized void clear() {
+        geoLocations.clear();
+        byEvent.clear();
+        byUser.clear();
+    }
+
+    @Override
+    public GeoLocation getGeoLocationByUserIdAndEventId(String userId, String eventId) {
+        return backend.attempt("getGeoLocation") ? geoLocations.get(docId(userId, eventId)) : null;
+    }
+
+    @Override
+    public List<GeoLocation> getAllGeoLocations() {
+        if (!backend.attempt("getAllGeoLocations")) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(geoLocations.values());
+    }
+
+    @Override
+    public List<GeoLocation> getGeoLocationsByEventId(String eventId) {
+        if (!backend.attempt("getGeoLocationsByEventId")) {
+            return new ArrayList<>();
+        }
+        synchronized (this) {
+            return lookup(byEvent.get(eventId));
+        }
+    }
+
+    @Override
+    public List<GeoLocation> getGeoLocationsByUserId(String userId) {
+        if (!backend.attempt("getGeoLocationsByUserId")) {
+            return new ArrayList<>();
+        }
+        synchronized (this) {
+            return lookup(byUser.get(userId));
+        }
+    }
+
+    @Override
+    public List<GeoLocation> getGeoLocationsByEventIdAndUserId(String eventId, String userId) {
+        List<GeoLocation> found = new ArrayList<>();
+        if (!backend.attempt("getGeoLocationsByEventIdAndUserId")) {
+            return found;
+        }
+        GeoLocation geoLocation = geoLocations.get(docId(userId, eventId));
+        if (geoLocation != null) {
+            found.add(geoLocation);
+        }
+        return found;
+    }
+
+    @Override
+    public void saveGeoLocation(GeoLocation geoLocation, OnSuccessListener<String> onSuccess, OnFailureListener onFailure) {
+        if (geoLocation == null) {
+            onFailure.onFailure(new IllegalArgumentException("Geo location cannot be null"));
+            return;
+        }
+        backend.async("saveGeoLocation", () -> put(geoLocation), onSuccess, onFailure);
+    }
+
+    @Override
+    public void updateGeoLocation(@NonNull GeoLocation geoLocation, @NonNull OnSuccessListener<Void> onSuccess, @NonNull OnFailureListener onFailure) {
+        backend.async("updateGeoLocation", () -> {
+            put(geoLocation);
+            return null;
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public void deleteGeoLocationByUserIdAndEventId(String userId, String eventId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        backend.async("deleteGeoLocation", () -> {
+            remove(docId(userId, eventId));
+            return null;
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public boolean deleteGeoLocationByUserIdAndEventId(String userId, String eventId) {
+        if (!backend.attempt("deleteGeoLocation")) {
+            return false;
+        }
+        remove(docId(userId, eventId));
+        return true;
+    }
+}
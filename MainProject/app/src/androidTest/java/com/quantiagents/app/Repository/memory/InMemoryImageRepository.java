@@ -0,0 +1,168 @@
+package com.quantiagents.app.Repository.memory;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.quantiagents.app.Repository.ImageRepository;
+import com.quantiagents.app.models.Image;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory {@link ImageRepository}, keyed by image ID and indexed by event ID.
+ */
+class InMemoryImageRepository implements ImageRepository {
+
+    private final InMemoryBackend backend;
+    private final Map<String, Image> images = new ConcurrentHashMap<>();
+    // Guarded by this
+    private final Index<String, String> byEvent = new Index<>();
+
+    InMemoryImageRepository(InMemoryBackend backend) {
+        this.backend = backend;
+    }
+
+    /**
+     * Stores an image without simulating latency or failures (used to seed data).
+     *
+     * @param image The image to store; an ID is generated if it has none
+     */
+    synchronized void put(Image image) {
+        if (image.getImageId() == null || image.getImageId().trim().isEmpty()) {
+            image.setImageId(InMemoryBackend.newId());
+        }
+        images.put(image.getImageId(), image);
+        byEvent.put(image.getImageId(), image.getEventId());
+    }
+
+    private synchronized boolean remove(String imageId) {
+        byEvent.remove(imageId);
+        return images.remove(imageId) != null;
+    }
+
+    synchronized void clear() {
+        images.clear();
+        byEvent.clear();
+    }
+
+    @Override
+    public Image getImageById(String imageId) {
+        if (imageId == null || imageId.trim().isEmpty() || !backend.attempt("getImageById")) {
+            return null;
+        }
+        return images.get(imageId);
+    }
+
+    @Override
+    public List<Image> getAllImages() {
+        if (!backend.attempt("getAllImages")) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(images.values());
+    }
+
+    @Override
+    public void saveImage(Image image, OnSuccessListener<String> onSuccess, OnFailureListener onFailure) {
+        if (image.getImageId() == null || image.getImageId().trim().isEmpty()) {
+            image.setImageId(InMemoryBackend.newId());
+        }
+        backend.async("saveImage", () -> {
+            put(image);
+            return image.getImageId();
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public void updateImage(@NonNull Image image, @NonNull OnSuccessListener<Void> onSuccess, @NonNull OnFailureListener onFailure) {
+        if (image.getImageId() == null || image.getImageId().isEmpty()) {
+            onFailure.onFailure(new IllegalArgumentException("Image ID cannot be null or empty"));
+            return;
+        }
+        backend.async("updateImage", () -> {
+            put(image);
+            return null;
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public void deleteImageById(String imageId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        backend.async("deleteImageById", () -> {
+            remove(imageId);
+            return null;
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public boolean deleteImageById(String imageId) {
+        if (!backend.attempt("deleteImageById")) {
+            return false;
+        }
+        remove(imageId);
+        return true;
+    }
+
+    @Override
+    public int deleteImagesByEventId(String eventId) {
+        if (eventId == null || eventId.isEmpty() || !backend.attempt("deleteImagesByEventId")) {
+            return 0;
+        }
+        int removed = 0;
+        synchronized (this) {
+            for (String imageId : byEvent.get(eventId)) {
+                if (remove(imageId)) removed++;
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public List<Image> getImagesByIds(Collection<String> imageIds) {
+        List<Image> found = new ArrayList<>();
+        if (imageIds == null || imageIds.isEmpty() || !backend.attempt("getImagesByIds")) {
+            return found;
+        }
+        for (String imageId : imageIds) {
+            Image image = imageId != null ? images.get(imageId) : null;
+            if (image != null) {
+                found.add(image);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public int deleteImagesByIds(Collection<String> imageIds) {
+        if (imageIds == null || imageIds.isEmpty() || !backend.attempt("deleteImagesByIds")) {
+            return 0;
+        }
+        int deleted = 0;
+        for (String imageId : imageIds) {
+            if (imageId != null && !imageId.trim().isEmpty()) {
+                remove(imageId);
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    @Override
+    public int deleteImagesByEventIds(Collection<String> eventIds) {
+        if (eventIds == null || eventIds.isEmpty() || !backend.attempt("deleteImagesByEventIds")) {
+            return 0;
+        }
+        int deleted = 0;
+        synchronized (this) {
+            for (String eventId : eventIds) {
+                for (String imageId : byEvent.get(eventId)) {
+                    if (remove(imageId)) deleted++;
+                }
+            }
+        }
+        return deleted;
+    }
+}
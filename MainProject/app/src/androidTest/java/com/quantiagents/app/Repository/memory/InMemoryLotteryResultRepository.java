@@ -0,0 +1,125 @@
+package com.quantiagents.app.Repository.memory;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.quantiagents.app.Repository.LotteryResultRepository;
+import com.quantiagents.app.models.LotteryResult;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory {@link LotteryResultRepository}, keyed by yyyyMMddHHmmss_eventId and indexed by event ID.
+ */
+class InMemoryLotteryResultRepository implements LotteryResultRepository {
+
+    private final InMemoryBackend backend;
+    private final Map<String, LotteryResult> results = new ConcurrentHashMap<>();
+    // Guarded by this
+    private final Index<String, String> byEvent = new Index<>();
+
+    InMemoryLotteryResultRepository(InMemoryBackend backend) {
+        this.backend = backend;
+    }
+
+    private static String docId(Date timestamp, String eventId) {
+        if (timestamp == null) {
+            timestamp = new Date();
+        }
+        return new SimpleDateFormat("yyyyMMddHHmmss", Locale.US).format(timestamp) + "_" + eventId;
+    }
+
+    private synchronized void put(LotteryResult result) {
+        String key = docId(result.getTimeStamp(), result.getEventId());
+        results.put(key, result);
+        byEvent.put(key, result.getEventId());
+    }
+
+    private synchronized void remove(String key) {
+        byEvent.remove(key);
+        results.remove(key);
+    }
+
+    synchronized void clear() {
+        results.clear();
+        byEvent.clear();
+    }
+
+    @Override
+    public LotteryResult getLotteryResultByTimestampAndEventId(Date timestamp, String eventId) {
+        return backend.attempt("getLotteryResult") ? results.get(docId(timestamp, eventId)) : null;
+    }
+
+    @Override
+    public List<LotteryResult> getLotteryResultsByEventId(String eventId) {
+        List<LotteryResult> found = new ArrayList<>();
+        if (!backend.attempt("getLotteryResultsByEventId")) {
+            return found;
+        }
+        synchronized (this) {
+            for (String key : byEvent.get(eventId)) {
+                found.add(results.get(key));
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public List<LotteryResult> getAllLotteryResults() {
+        if (!backend.attempt("getAllLotteryResults")) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(results.values());
+    }
+
+    @Override
+    public void saveLotteryResult(LotteryResult result, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        if (result == null) {
+            onFailure.onFailure(new IllegalArgumentException("Lottery result cannot be null"));
+            return;
+        }
+        if (result.getTimeStamp() == null) {
+            result.setTimeStamp(new Date());
+        }
+        backend.async("saveLotteryResult", () -> {
+            put(result);
+            return null;
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public void updateLotteryResult(@NonNull LotteryResult result, @NonNull OnSuccessListener<Void> onSuccess, @NonNull OnFailureListener onFailure) {
+        if (result.getTimeStamp() == null) {
+            onFailure.onFailure(new IllegalArgumentException("Timestamp is required for update"));
+            return;
+        }
+        backend.async("updateLotteryResult", () -> {
+            put(result);
+            return null;
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public void deleteLotteryResultByTimestampAndEventId(Date timestamp, String eventId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        backend.async("deleteLotteryResult", () -> {
+            remove(docId(timestamp, eventId));
+            return null;
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public boolean deleteLotteryResultByTimestampAndEventId(Date timestamp, String eventId) {
+        if (!backend.attempt("deleteLotteryResult")) {
+            return false;
+        }
+        remove(docId(timestamp, eventId));
+        return true;
+    }
+}
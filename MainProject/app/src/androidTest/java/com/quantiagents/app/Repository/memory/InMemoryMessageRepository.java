@@ -0,0 +1,166 @@
+package com.quantiagents.app.Repository.memory;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.quantiagents.app.Repository.MessageRepository;
+import com.quantiagents.app.models.Message;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * In-memory {@link MessageRepository}, keyed by message ID and indexed by chat.
+ * <p>
+ * Listeners get the chat's messages once when they register and again after every write to the chat.
+ * Each delivery reads the messages when it runs, so the last delivery always carries the latest state.
+ * </p>
+ */
+class InMemoryMessageRepository implements MessageRepository {
+
+    private static final Comparator<Message> BY_TIMESTAMP =
+            Comparator.comparing(Message::getTimestamp, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final InMemoryBackend backend;
+    private final Map<String, Message> messages = new ConcurrentHashMap<>();
+    private final Map<String, Set<OnSuccessListener<List<Message>>>> listeners = new ConcurrentHashMap<>();
+    // Guarded by this
+    private final Index<String, String> byChat = new Index<>();
+
+    InMemoryMessageRepository(InMemoryBackend backend) {
+        this.backend = backend;
+    }
+
+    /**
+     * Stores a message without simulating latency or failures (used to seed data).
+     *
+     * @param message The message to store; an ID is generated if it has none
+     */
+    void put(Message message) {
+        if (message.getMessageId() == null || message.getMessageId().trim().isEmpty()) {
+            message.setMessageId(InMemoryBackend.newId());
+        }
+        synchronized (this) {
+            messages.put(message.getMessageId(), message);
+            byChat.put(message.getMessageId(), message.getChatId());
+        }
+        notifyListeners(message.getChatId());
+    }
+
+    private void remove(String messageId) {
+        Message removed;
+        synchronized (this) {
+            byChat.remove(messageId);
+            removed = messages.remove(messageId);
+        }
+        if (removed != null) {
+            notifyListeners(removed.getChatId());
+        }
+    }
+
+    private synchronized List<Message> inChat(String chatId) {
+        List<Message> found = new ArrayList<>();
+        for (String messageId : byChat.get(chatId)) {
+            found.add(messages.get(messageId));
+        }
+        found.sort(BY_TIMESTAMP);
+        return found;
+    }
+
+    private void notifyListeners(String chatId) {
+        Set<OnSuccessListener<List<Message>>> registered = chatId != null ? listeners.get(chatId) : null;
+        if (registered == null) {
+            return;
+        }
+        for (OnSuccessListener<List<Message>> listener : registered) {
+            backend.deliver(() -> {
+                // Skip listeners removed while the delivery was queued
+                if (registered.contains(listener)) {
+                    listener.onSuccess(inChat(chatId));
+                }
+            });
+        }
+    }
+
+    synchronized void clear() {
+        messages.clear();
+        byChat.clear();
+    }
+
+    @Override
+    public Message getMessageById(String messageId) {
+        if (messageId == null || messageId.trim().isEmpty() || !backend.attempt("getMessageById")) {
+            return null;
+        }
+        return messages.get(messageId);
+    }
+
+    @Override
+    public List<Message> getMessagesByChatId(String chatId) {
+        if (chatId == null || chatId.trim().isEmpty() || !backend.attempt("getMessagesByChatId")) {
+            return new ArrayList<>();
+        }
+        return inChat(chatId);
+    }
+
+    @Override
+    public void getMessagesByChatId(String chatId, OnSuccessListener<List<Message>> onSuccess, OnFailureListener onFailure) {
+        if (chatId == null || chatId.trim().isEmpty()) {
+            onFailure.onFailure(new IllegalArgumentException("Chat ID cannot be null or empty"));
+            return;
+        }
+        backend.async("getMessagesByChatId", () -> inChat(chatId), onSuccess, onFailure);
+    }
+
+    @Override
+    public void saveMessage(Message message, OnSuccessListener<String> onSuccess, OnFailureListener onFailure) {
+        if (message.getMessageId() == null || message.getMessageId().trim().isEmpty()) {
+            message.setMessageId(InMemoryBackend.newId());
+        }
+        backend.async("saveMessage", () -> {
+            put(message);
+            return message.getMessageId();
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public void updateMessage(@NonNull Message message, @NonNull OnSuccessListener<Void> onSuccess, @NonNull OnFailureListener onFailure) {
+        if (message.getMessageId() == null || message.getMessageId().trim().isEmpty()) {
+            onFailure.onFailure(new IllegalArgumentException("Message ID is required for update"));
+            return;
+        }
+        backend.async("updateMessage", () -> {
+            put(message);
+            return null;
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public void deleteMessageById(String messageId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        backend.async("deleteMessageById", () -> {
+            remove(messageId);
+            return null;
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public ListenerRegistration listenToMessages(String chatId, OnSuccessListener<List<Message>> onChange,
+                                                 OnFailureListener onFailure) {
+        if (chatId == null || chatId.trim().isEmpty()) {
+            return null;
+        }
+        Set<OnSuccessListener<List<Message>>> registered =
+                listeners.computeIfAbsent(chatId, id -> new CopyOnWriteArraySet<>());
+        registered.add(onChange);
+        // The first snapshot is a read like any other
+        backend.async("listenToMessages", () -> inChat(chatId), onChange, onFailure);
+        return () -> registered.remove(onChange);
+    }
+}
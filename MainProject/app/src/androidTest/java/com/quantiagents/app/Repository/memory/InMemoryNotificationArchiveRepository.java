@@ -0,0 +1,81 @@
+package com.quantiagents.app.Repository.memory;
+
+import com.quantiagents.app.Repository.NotificationArchiveRepository;
+import com.quantiagents.app.models.Notification;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * In-memory {@link NotificationArchiveRepository}: each recipient's archived notifications grouped by
+ * month (yyyyMM), like the Firestore archive documents. Archiving removes the notifications from the
+ * backend's {@link InMemoryNotificationRepository} under the same lock.
+ */
+class InMemoryNotificationArchiveRepository implements NotificationArchiveRepository {
+
+    private static final Comparator<Notification> NEWEST_FIRST = Comparator
+            .comparing(Notification::getTimestamp, Comparator.nullsLast(Comparator.<Date>reverseOrder()));
+
+    private final InMemoryBackend backend;
+    private final InMemoryNotificationRepository hot;
+    // Guarded by this: recipient ID -> month -> archived notifications
+    private final Map<Integer, NavigableMap<Integer, List<Notification>>> archive = new HashMap<>();
+
+    InMemoryNotificationArchiveRepository(InMemoryBackend backend, InMemoryNotificationRepository hot) {
+        this.backend = backend;
+        this.hot = hot;
+    }
+
+    private static int monthOf(Date date) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(date != null ? date : new Date());
+        return calendar.get(Calendar.YEAR) * 100 + calendar.get(Calendar.MONTH) + 1;
+    }
+
+    synchronized void clear() {
+        archive.clear();
+    }
+
+    @Override
+    public int archive(List<Notification> notifications) {
+        if (notifications.isEmpty() || !backend.attempt("archiveNotifications")) {
+            return 0;
+        }
+        synchronized (this) {
+            for (Notification notification : notifications) {
+                hot.remove(notification.getNotificationId());
+                archive.computeIfAbsent(notification.getRecipientId(), id -> new TreeMap<>())
+                        .computeIfAbsent(monthOf(notification.getTimestamp()), month -> new ArrayList<>())
+                        .add(notification);
+            }
+        }
+        return notifications.size();
+    }
+
+    @Override
+    public List<Notification> getArchivedNotifications(int recipientId, int maxMonths) {
+        List<Notification> out = new ArrayList<>();
+        if (!backend.attempt("getArchivedNotifications")) {
+            return out;
+        }
+        synchronized (this) {
+            NavigableMap<Integer, List<Notification>> months = archive.get(recipientId);
+            if (months != null) {
+                int taken = 0;
+                for (List<Notification> month : months.descendingMap().values()) {
+                    if (taken++ >= maxMonths) break;
+                    out.addAll(month);
+                }
+            }
+        }
+        out.sort(NEWEST_FIRST);
+        return out;
+    }
+}
@@ -0,0 +1,249 @@
+package com.quantiagents.app.Repository.memory;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.quantiagents.app.Constants.constant;
+import com.quantiagents.app.Repository.NotificationRepository;
+import com.quantiagents.app.models.Notification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * In-memory {@link NotificationRepository}, keyed by notification ID and indexed by recipient.
+ * <p>
+ * Page cursors are the last notification of the previous page.
+ * </p>
+ */
+class InMemoryNotificationRepository implements NotificationRepository {
+
+    private static final Comparator<Notification> OLDEST_FIRST = Comparator
+            .comparing(Notification::getTimestamp, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparingInt(Notification::getNotificationId);
+    private static final Comparator<Notification> NEWEST_FIRST = OLDEST_FIRST.reversed();
+
+    private final InMemoryBackend backend;
+    private final Map<Integer, Notification> notifications = new ConcurrentHashMap<>();
+    // Guarded by this
+    private final Index<Integer, Integer> byRecipient = new Index<>();
+
+    InMemoryNotificationRepository(InMemoryBackend backend) {
+        this.backend = backend;
+    }
+
+    /**
+     * Stores a notification without simulating latency or failures (used to seed data and to archive).
+     * A notification without an ID gets one no other notification has.
+     *
+     * @param notification The notification to store
+     */
+    synchronized void put(Notification notification) {
+        if (notification.getNotificationId() <= 0) {
+            int generatedId;
+            do {
+                generatedId = InMemoryBackend.newIntId();
+            } while (notifications.containsKey(generatedId));
+            notification.setNotificationId(generatedId);
+        }
+        notifications.put(notification.getNotificationId(), notification);
+        byRecipient.put(notification.getNotificationId(), notification.getRecipientId());
+    }
+
+    /**
+     * Removes a notification without simulating latency or failures.
+     *
+     * @param notificationId The ID of the notification
+     * @return True if it was stored
+     */
+    synchronized boolean remove(int notificationId) {
+        byRecipient.remove(notificationId);
+        return notifications.remove(notificationId) != null;
+    }
+
+    private synchronized List<Notification> ofRecipient(int recipientId) {
+        List<Notification> found = new ArrayList<>();
+        for (Integer id : byRecipient.get(recipientId)) {
+            found.add(notifications.get(id));
+        }
+        return found;
+    }
+
+    private List<Notification> oldest(Collection<Notification> candidates, Predicate<Notification> filter,
+                                      Date cutoff, int limit) {
+        List<Notification> found = new ArrayList<>();
+        for (Notification notification : candidates) {
+            Date timestamp = notification.getTimestamp();
+            if (timestamp != null && timestamp.before(cutoff) && filter.test(notification)) {
+                found.add(notification);
+            }
+        }
+        found.sort(OLDEST_FIRST);
+        return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+    }
+
+    synchronized void clear() {
+        notifications.clear();
+        byRecipient.clear();
+    }
+
+    @Override
+    public Notification getNotificationById(int notificationId) {
+        return backend.attempt("getNotificationById") ? notifications.get(notificationId) : null;
+    }
+
+    @Override
+    public void getNotificationById(int notificationId, OnSuccessListener<Notification> onSuccess, OnFailureListener onFailure) {
+        backend.async("getNotificationById", () -> notifications.get(notificationId), onSuccess, onFailure);
+    }
+
+    @Override
+    public List<Notification> getAllNotifications() {
+        if (!backend.attempt("getAllNotifications")) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(notifications.values());
+    }
+
+    @Override
+    public NotificationPage getNotificationsPage(@Nullable constant.NotificationType type, @Nullable Integer recipientId,
+                                                 @Nullable Integer eventId, @Nullable Object startAfter, int limit) {
+        if (!backend.attempt("getNotificationsPage")) {
+            return new NotificationPage(new ArrayList<>(), null, false);
+        }
+        Collection<Notification> candidates = recipientId != null ? ofRecipient(recipientId) : notifications.values();
+        Notification after = (Notification) startAfter;
+        List<Notification> matching = new ArrayList<>();
+        for (Notification notification : candidates) {
+            if (type != null && notification.getType() != type) continue;
+            if (eventId != null && notification.getAffiliatedEventId() != eventId) continue;
+            if (after != null && NEWEST_FIRST.compare(notification, after) <= 0) continue;
+            matching.add(notification);
+        }
+        matching.sort(NEWEST_FIRST);
+        List<Notification> page = matching.size() > limit ? new ArrayList<>(matching.subList(0, limit)) : matching;
+        return new NotificationPage(page, page.isEmpty() ? null : page.get(page.size() - 1), page.size() == limit);
+    }
+
+    @Override
+    public void saveNotification(Notification notification, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        backend.async("saveNotification", () -> {
+            put(notification);
+            return null;
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public int saveNotifications(List<Notification> notifications) {
+        if (notifications.isEmpty() || !backend.attempt("saveNotifications")) {
+            return 0;
+        }
+        synchronized (this) {
+            for (Notification notification : notifications) {
+                put(notification);
+            }
+        }
+        return notifications.size();
+    }
+
+    @Override
+    public int upsertCoalescedNotifications(List<Notification> notifications) {
+        if (notifications.isEmpty() || !backend.attempt("upsertCoalescedNotifications")) {
+            return 0;
+        }
+        synchronized (this) {
+            for (Notification notification : notifications) {
+                Notification existing = this.notifications.get(notification.getNotificationId());
+                if (existing == null || existing == notification) {
+                    notification.setHasRead(false);
+                    put(notification);
+                    continue;
+                }
+                existing.setType(notification.getType());
+                existing.setRecipientId(notification.getRecipientId());
+                existing.setSenderId(notification.getSenderId());
+                existing.setAffiliatedEventId(notification.getAffiliatedEventId());
+                existing.setStatus(notification.getStatus());
+                existing.setDetails(notification.getDetails());
+                existing.setTimestamp(notification.getTimestamp());
+                existing.setHasRead(false);
+                existing.setMessageCount(existing.getMessageCount() + notification.getMessageCount());
+                byRecipient.put(existing.getNotificationId(), existing.getRecipientId());
+            }
+        }
+        return notifications.size();
+    }
+
+    @Override
+    public void updateNotification(@NonNull Notification notification, @NonNull OnSuccessListener<Void> onSuccess, @NonNull OnFailureListener onFailure) {
+        backend.async("updateNotification", () -> {
+            put(notification);
+            return null;
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public void deleteNotificationById(int notificationId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        backend.async("deleteNotificationById", () -> {
+            remove(notificationId);
+            return null;
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public boolean deleteNotificationById(int notificationId) {
+        if (!backend.attempt("deleteNotificationById")) {
+            return false;
+        }
+        remove(notificationId);
+        return true;
+    }
+
+    @Override
+    public List<Notification> getNotificationsByRecipientId(int recipientId) {
+        if (!backend.attempt("getNotificationsByRecipientId")) {
+            return new ArrayList<>();
+        }
+        List<Notification> found = ofRecipient(recipientId);
+        found.sort(NEWEST_FIRST);
+        return found;
+    }
+
+    @Override
+    public List<Notification> getUnreadNotificationsByRecipientId(int recipientId) {
+        List<Notification> unread = new ArrayList<>();
+        if (!backend.attempt("getUnreadNotificationsByRecipientId")) {
+            return unread;
+        }
+        for (Notification notification : ofRecipient(recipientId)) {
+            if (!notification.isHasRead()) {
+                unread.add(notification);
+            }
+        }
+        return unread;
+    }
+
+    @Override
+    public List<Notification> getNotificationsOlderThan(int recipientId, constant.NotificationType type, Date cutoff, int limit) {
+        if (!backend.attempt("getNotificationsOlderThan")) {
+            return new ArrayList<>();
+        }
+        return oldest(ofRecipient(recipientId), notification -> notification.getType() == type, cutoff, limit);
+    }
+
+    @Override
+    public List<Notification> getReadNotificationsOlderThan(int recipientId, Date cutoff, int limit) {
+        if (!backend.attempt("getReadNotificationsOlderThan")) {
+            return new ArrayList<>();
+        }
+        return oldest(ofRecipient(recipientId), Notification::isHasRead, cutoff, limit);
+    }
+}
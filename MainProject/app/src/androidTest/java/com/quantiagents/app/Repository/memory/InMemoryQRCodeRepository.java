@@ -0,0 +1,106 @@
+package com.quantiagents.app.Repository.memory;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.quantiagents.app.Repository.QRCodeRepository;
+import com.quantiagents.app.models.QRCode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory {@link QRCodeRepository}, keyed by QR code ID and indexed by event ID.
+ */
+class InMemoryQRCodeRepository implements QRCodeRepository {
+
+    private final InMemoryBackend backend;
+    private final Map<Integer, QRCode> qrCodes = new ConcurrentHashMap<>();
+    // Guarded by this
+    private final Index<String, Integer> byEvent = new Index<>();
+
+    InMemoryQRCodeRepository(InMemoryBackend backend) {
+        this.backend = backend;
+    }
+
+    private synchronized void put(QRCode qrCode) {
+        qrCodes.put(qrCode.getId(), qrCode);
+        byEvent.put(qrCode.getId(), qrCode.getEventId());
+    }
+
+    private synchronized void remove(int qrCodeId) {
+        byEvent.remove(qrCodeId);
+        qrCodes.remove(qrCodeId);
+    }
+
+    synchronized void clear() {
+        qrCodes.clear();
+        byEvent.clear();
+    }
+
+    @Override
+    public QRCode getQRCodeById(int qrCodeId) {
+        return backend.attempt("getQRCodeById") ? qrCodes.get(qrCodeId) : null;
+    }
+
+    @Override
+    public List<QRCode> getAllQRCodes() {
+        if (!backend.attempt("getAllQRCodes")) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(qrCodes.values());
+    }
+
+    @Override
+    public List<QRCode> getQRCodesByEventId(String eventId) {
+        List<QRCode> found = new ArrayList<>();
+        if (!backend.attempt("getQRCodesByEventId")) {
+            return found;
+        }
+        synchronized (this) {
+            for (Integer id : byEvent.get(eventId)) {
+                found.add(qrCodes.get(id));
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void saveQRCode(QRCode qrCode, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        if (qrCode.getId() <= 0) {
+            qrCode.setId(InMemoryBackend.newIntId());
+        }
+        backend.async("saveQRCode", () -> {
+            put(qrCode);
+            return null;
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public void updateQRCode(@NonNull QRCode qrCode, @NonNull OnSuccessListener<Void> onSuccess, @NonNull OnFailureListener onFailure) {
+        backend.async("updateQRCode", () -> {
+            put(qrCode);
+            return null;
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public void deleteQRCodeById(int qrCodeId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        backend.async("deleteQRCodeById", () -> {
+            remove(qrCodeId);
+            return null;
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public boolean deleteQRCodeById(int qrCodeId) {
+        if (!backend.attempt("deleteQRCodeById")) {
+            return false;
+        }
+        remove(qrCodeId);
+        return true;
+    }
+}
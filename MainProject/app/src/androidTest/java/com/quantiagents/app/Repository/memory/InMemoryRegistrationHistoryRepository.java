@@ -0,0 +1,397 @@
+package com.quantiagents.app.Repository.memory;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Task;
+import com.quantiagents.app.Constants.constant;
+import com.quantiagents.app.Repository.EventCounterRepository;
+import com.quantiagents.app.Repository.RegistrationHistoryRepository;
+import com.quantiagents.app.models.RegistrationHistory;
+import com.quantiagents.app.models.RosterStats;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory {@link RegistrationHistoryRepository}, keyed by eventId_userId like the Firestore collection.
+ * <p>
+ * Each event keeps its rosters as sorted sets of user IDs, so counting a roster costs nothing and
+ * paging one walks it in user ID order, as the Firestore queries do. The waiting list counter lives in
+ * the backend's {@link InMemoryEventCounterRepository}. Joining a waiting list checks the limit and
+ * writes the history under one lock, so unlike Firestore the limit can never be overshot.
+ * </p>
+ */
+class InMemoryRegistrationHistoryRepository implements RegistrationHistoryRepository {
+
+    private static final Comparator<RegistrationHistory> BY_REGISTRATION = Comparator
+            .comparing(RegistrationHistory::getRegisteredAt)
+            .thenComparing(RegistrationHistory::getUserId);
+
+    private final InMemoryBackend backend;
+    private final InMemoryEventCounterRepository counters;
+    private final Map<String, RegistrationHistory> histories = new ConcurrentHashMap<>();
+    // Guarded by this
+    private final Map<String, Map<constant.EventRegistrationStatus, TreeSet<String>>> rosters = new HashMap<>();
+    private final Map<String, constant.EventRegistrationStatus> filedStatus = new HashMap<>();
+    private final Index<String, String> byEvent = new Index<>();
+    private final Index<String, String> byUser = new Index<>();
+
+    InMemoryRegistrationHistoryRepository(InMemoryBackend backend, InMemoryEventCounterRepository counters) {
+        this.backend = backend;
+        this.counters = counters;
+    }
+
+    private static String docId(String eventId, String userId) {
+        return eventId + "_" + userId;
+    }
+
+    /**
+     * Stores a registration history without simulating latency or failures (used to seed data).
+     * Does not touch the waiting list counter.
+     *
+     * @param history The registration history to store
+     */
+    synchronized void put(RegistrationHistory history) {
+        String eventId = history.getEventId();
+        String key = docId(eventId, history.getUserId());
+        constant.EventRegistrationStatus previous = filedStatus.remove(key);
+        if (previous != null) {
+            roster(eventId, previous).remove(history.getUserId());
+        }
+        histories.put(key, history);
+        byEvent.put(key, eventId);
+        byUser.put(key, history.getUserId());
+        constant.EventRegistrationStatus status = history.getEventRegistrationStatus();
+        if (status != null) {
+            roster(eventId, status).add(history.getUserId());
+            filedStatus.put(key, status);
+        }
+    }
+
+    private synchronized RegistrationHistory remove(String key) {
+        RegistrationHistory removed = histories.remove(key);
+        if (removed == null) {
+            return null;
+        }
+        constant.EventRegistrationStatus status = filedStatus.remove(key);
+        if (status != null) {
+            roster(removed.getEventId(), status).remove(removed.getUserId());
+        }
+        byEvent.remove(key);
+        byUser.remove(key);
+        return removed;
+    }
+
+    private TreeSet<String> roster(String eventId, constant.EventRegistrationStatus status) {
+        return rosters.computeIfAbsent(eventId, id -> new EnumMap<>(constant.EventRegistrationStatus.class))
+                .computeIfAbsent(status, s -> new TreeSet<>());
+    }
+
+    private synchronized RosterStats stats(String eventId) {
+        Map<constant.EventRegistrationStatus, TreeSet<String>> byStatus = rosters.get(eventId);
+        if (byStatus == null) {
+            return new RosterStats(0, 0, 0, 0);
+        }
+        return new RosterStats(size(byStatus, constant.EventRegistrationStatus.WAITLIST),
+                size(byStatus, constant.EventRegistrationStatus.SELECTED),
+                size(byStatus, constant.EventRegistrationStatus.CONFIRMED),
+                size(byStatus, constant.EventRegistrationStatus.CANCELLED));
+    }
+
+    private static long size(Map<constant.EventRegistrationStatus, TreeSet<String>> byStatus,
+                             constant.EventRegistrationStatus status) {
+        TreeSet<String> roster = byStatus.get(status);
+        return roster == null ? 0 : roster.size();
+    }
+
+    private synchronized List<RegistrationHistory> withStatus(String eventId, constant.EventRegistrationStatus... statuses) {
+        List<RegistrationHistory> out = new ArrayList<>();
+        Map<constant.EventRegistrationStatus, TreeSet<String>> byStatus = rosters.get(eventId);
+        if (byStatus == null) {
+            return out;
+        }
+        for (constant.EventRegistrationStatus status : statuses) {
+            TreeSet<String> roster = byStatus.get(status);
+            if (roster == null) continue;
+            for (String userId : roster) {
+                out.add(histories.get(docId(eventId, userId)));
+            }
+        }
+        return out;
+    }
+
+    private synchronized List<RegistrationHistory> lookup(List<String> keys) {
+        List<RegistrationHistory> out = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            RegistrationHistory history = histories.get(key);
+            if (history != null) {
+                out.add(history);
+            }
+        }
+        return out;
+    }
+
+    synchronized void clear() {
+        histories.clear();
+        rosters.clear();
+        filedStatus.clear();
+        byEvent.clear();
+        byUser.clear();
+    }
+
+    @Override
+    public RegistrationHistory getRegistrationHistoryByEventIdAndUserId(String eventId, String userId) {
+        if (!backend.attempt("getRegistrationHistory")) {
+            return null;
+        }
+        return histories.get(docId(eventId, userId));
+    }
+
+    @Override
+    public List<RegistrationHistory> getAllRegistrationHistories() {
+        if (!backend.attempt("getAllRegistrationHistories")) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(histories.values());
+    }
+
+    @Override
+    public List<RegistrationHistory> getRegistrationHistoriesByEventId(String eventId) {
+        if (!backend.attempt("getRegistrationHistoriesByEventId")) {
+            return new ArrayList<>();
+        }
+        synchronized (this) {
+            return lookup(byEvent.get(eventId));
+        }
+    }
+
+    @Override
+    public List<RegistrationHistory> getRegistrationHistoriesByEventIdAndStatus(String eventId, constant.EventRegistrationStatus... statuses) {
+        if (!backend.attempt("getRegistrationHistoriesByEventIdAndStatus")) {
+            return new ArrayList<>();
+        }
+        return withStatus(eventId, statuses);
+    }
+
+    @Override
+    public List<RegistrationHistory> getRegistrationHistoriesPage(String eventId, constant.EventRegistrationStatus status,
+                                                                  @Nullable RegistrationHistory after, int limit) {
+        if (!backend.attempt("getRegistrationHistoriesPage")) {
+            return new ArrayList<>();
+        }
+        List<RegistrationHistory> sorted = new ArrayList<>();
+        for (RegistrationHistory history : withStatus(eventId, status)) {
+            if (history.getRegisteredAt() != null) {
+                sorted.add(history);
+            }
+        }
+        sorted.sort(BY_REGISTRATION);
+        List<RegistrationHistory> page = new ArrayList<>(Math.min(limit, sorted.size()));
+        for (RegistrationHistory history : sorted) {
+            if (page.size() >= limit) break;
+            if (after != null && after.getRegisteredAt() != null && BY_REGISTRATION.compare(history, after) <= 0) {
+                continue;
+            }
+            page.add(history);
+        }
+        return page;
+    }
+
+    @Override
+    public Task<List<String>> getUserIdsByStatus(@NonNull String eventId, @NonNull constant.EventRegistrationStatus status,
+                                                 @Nullable String afterUserId, int limit) {
+        return backend.task("getUserIdsByStatus", () -> {
+            synchronized (this) {
+                List<String> userIds = new ArrayList<>();
+                Map<constant.EventRegistrationStatus, TreeSet<String>> byStatus = rosters.get(eventId);
+                TreeSet<String> roster = byStatus != null ? byStatus.get(status) : null;
+                if (roster == null) {
+                    return userIds;
+                }
+                Iterator<String> it = (afterUserId == null ? roster : roster.tailSet(afterUserId, false)).iterator();
+                while (it.hasNext() && userIds.size() < limit) {
+                    userIds.add(it.next());
+                }
+                return userIds;
+            }
+        });
+    }
+
+    @Override
+    public Task<RosterStats> getRosterStatsAsync(String eventId) {
+        return backend.task("getRosterStats", () -> stats(eventId));
+    }
+
+    @Nullable
+    @Override
+    public RosterStats getRosterStats(String eventId) {
+        return backend.attempt("getRosterStats") ? stats(eventId) : null;
+    }
+
+    @Override
+    public Map<String, RosterStats> countRosters(Collection<String> eventIds) {
+        Map<String, RosterStats> counts = new HashMap<>();
+        for (String eventId : eventIds) {
+            // One count per event, each of which may fail on its own
+            if (backend.attempt("countRosters")) {
+                counts.put(eventId, stats(eventId));
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public List<RegistrationHistory> getRegistrationHistoriesByUserId(String userId) {
+        if (!backend.attempt("getRegistrationHistoriesByUserId")) {
+            return new ArrayList<>();
+        }
+        synchronized (this) {
+            return lookup(byUser.get(userId));
+        }
+    }
+
+    @Override
+    public void saveRegistrationHistory(RegistrationHistory history, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        if (history == null) {
+            onFailure.onFailure(new IllegalArgumentException("Registration history cannot be null"));
+            return;
+        }
+        backend.async("saveRegistrationHistory", () -> {
+            put(history);
+            return null;
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public void joinWaitlist(@NonNull RegistrationHistory history, double waitingListLimit,
+                             @NonNull OnSuccessListener<Void> onSuccess, @NonNull OnFailureListener onFailure) {
+        String eventId = history.getEventId();
+        backend.async("joinWaitlist", () -> {
+            synchronized (this) {
+                long waiting = counters.total(eventId, EventCounterRepository.WAITLIST);
+                if (waitingListLimit > 0 && waiting >= waitingListLimit) {
+                    throw new IllegalStateException("Waiting list is full");
+                }
+                if (histories.containsKey(docId(eventId, history.getUserId()))) {
+                    throw new IllegalStateException("Already registered for this event");
+                }
+                put(history);
+                counters.add(eventId, EventCounterRepository.WAITLIST, 1);
+                return null;
+            }
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public void leaveWaitlist(@NonNull String eventId, @NonNull String userId,
+                              @NonNull OnSuccessListener<Void> onSuccess, @NonNull OnFailureListener onFailure) {
+        backend.async("leaveWaitlist", () -> {
+            synchronized (this) {
+                RegistrationHistory existing = remove(docId(eventId, userId));
+                if (existing != null && existing.getEventRegistrationStatus() == constant.EventRegistrationStatus.WAITLIST) {
+                    counters.add(eventId, EventCounterRepository.WAITLIST, -1);
+                }
+                return null;
+            }
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public long getWaitingCount(String eventId) {
+        return counters.getCount(eventId, EventCounterRepository.WAITLIST);
+    }
+
+    @Override
+    public Map<String, Long> getWaitingCounts(Collection<String> eventIds) {
+        return counters.getCounts(eventIds, EventCounterRepository.WAITLIST);
+    }
+
+    @Override
+    public void adjustWaitingCount(String eventId, long delta) {
+        counters.increment(eventId, EventCounterRepository.WAITLIST, delta);
+    }
+
+    @Override
+    public void updateRegistrationHistory(@NonNull RegistrationHistory history,
+                                          @NonNull OnSuccessListener<Void> onSuccess,
+                                          @NonNull OnFailureListener onFailure) {
+        backend.async("updateRegistrationHistory", () -> {
+            put(history);
+            return null;
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public int updateRegistrationHistories(List<RegistrationHistory> histories) {
+        if (histories.isEmpty() || !backend.attempt("updateRegistrationHistories")) {
+            return 0;
+        }
+        synchronized (this) {
+            for (RegistrationHistory history : histories) {
+                put(history);
+            }
+        }
+        return histories.size();
+    }
+
+    @Override
+    public void deleteRegistrationHistoryByEventIdAndUserId(String eventId, String userId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        backend.async("deleteRegistrationHistory", () -> {
+            remove(docId(eventId, userId));
+            return null;
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public boolean deleteRegistrationHistoryByEventIdAndUserId(String eventId, String userId) {
+        if (!backend.attempt("deleteRegistrationHistory")) {
+            return false;
+        }
+        remove(docId(eventId, userId));
+        return true;
+    }
+
+    @Override
+    public int deleteRegistrationHistoriesByEventIds(Collection<String> eventIds) {
+        if (eventIds == null || eventIds.isEmpty() || !backend.attempt("deleteRegistrationHistoriesByEventIds")) {
+            return 0;
+        }
+        int deleted = 0;
+        synchronized (this) {
+            for (String eventId : eventIds) {
+                for (String key : byEvent.get(eventId)) {
+                    if (remove(key) != null) deleted++;
+                }
+                rosters.remove(eventId);
+            }
+        }
+        return deleted;
+    }
+
+    @Override
+    public int deleteRegistrationHistoriesByUserIds(Collection<String> userIds) {
+        if (userIds == null || userIds.isEmpty() || !backend.attempt("deleteRegistrationHistoriesByUserIds")) {
+            return 0;
+        }
+        int deleted = 0;
+        synchronized (this) {
+            for (String userId : userIds) {
+                for (String key : byUser.get(userId)) {
+                    if (remove(key) != null) deleted++;
+                }
+            }
+        }
+        return deleted;
+    }
+}
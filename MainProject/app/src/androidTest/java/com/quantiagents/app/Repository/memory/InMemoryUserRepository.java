@@ -0,0 +1,187 @@
+package com.quantiagents.app.Repository.memory;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.quantiagents.app.Repository.UserRepository;
+import com.quantiagents.app.models.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory {@link UserRepository}, keyed by user ID and indexed by device ID, username and email.
+ */
+class InMemoryUserRepository implements UserRepository {
+
+    private final InMemoryBackend backend;
+    private final Map<String, User> users = new ConcurrentHashMap<>();
+    // Guarded by this
+    private final Index<String, String> byDeviceId = new Index<>();
+    private final Index<String, String> byUsername = new Index<>();
+    private final Index<String, String> byEmail = new Index<>();
+
+    InMemoryUserRepository(InMemoryBackend backend) {
+        this.backend = backend;
+    }
+
+    /**
+     * Stores a user without simulating latency or failures (used to seed data).
+     *
+     * @param user The user to store; an ID is generated if it has none
+     */
+    synchronized void put(User user) {
+        if (user.getUserId() == null || user.getUserId().trim().isEmpty()) {
+            user.setUserId(InMemoryBackend.newId());
+        }
+        String userId = user.getUserId();
+        users.put(userId, user);
+        byDeviceId.put(userId, user.getDeviceId());
+        byUsername.put(userId, user.getUsername() != null ? user.getUsername().trim() : null);
+        byEmail.put(userId, user.getEmail() != null ? user.getEmail().trim() : null);
+    }
+
+    private synchronized boolean remove(String userId) {
+        byDeviceId.remove(userId);
+        byUsername.remove(userId);
+        byEmail.remove(userId);
+        return users.remove(userId) != null;
+    }
+
+    synchronized void clear() {
+        users.clear();
+        byDeviceId.clear();
+        byUsername.clear();
+        byEmail.clear();
+    }
+
+    @Override
+    public User getUserById(String userId) {
+        if (userId == null || userId.trim().isEmpty() || !backend.attempt("getUserById")) {
+            return null;
+        }
+        return users.get(userId);
+    }
+
+    @Override
+    public void getUserById(String userId, OnSuccessListener<User> onSuccess, OnFailureListener onFailure) {
+        backend.async("getUserById", () -> userId == null ? null : users.get(userId), onSuccess, onFailure);
+    }
+
+    @Override
+    public User getUserByDeviceId(String deviceId) {
+        if (deviceId == null || deviceId.trim().isEmpty() || !backend.attempt("getUserByDeviceId")) {
+            return null;
+        }
+        return findByDeviceId(deviceId);
+    }
+
+    @Override
+    public void getUserByDeviceId(String deviceId, OnSuccessListener<User> onSuccess, OnFailureListener onFailure) {
+        backend.async("getUserByDeviceId", () -> deviceId == null ? null : findByDeviceId(deviceId),
+                onSuccess, onFailure);
+    }
+
+    private synchronized User findByDeviceId(String deviceId) {
+        List<String> ids = byDeviceId.get(deviceId);
+        // Assuming one user per device ID, take the first match
+        return ids.isEmpty() ? null : users.get(ids.get(0));
+    }
+
+    @Override
+    public void saveUser(User user, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        if (user.getUserId() == null || user.getUserId().trim().isEmpty()) {
+            // Client-generated id, as in the Firestore implementation
+            user.setUserId(InMemoryBackend.newId());
+        }
+        backend.async("saveUser", () -> {
+            put(user);
+            return null;
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public void updateUser(@NonNull User user, @NonNull OnSuccessListener<Void> onSuccess, @NonNull OnFailureListener onFailure) {
+        if (user.getUserId() == null || user.getUserId().trim().isEmpty()) {
+            onFailure.onFailure(new IllegalArgumentException("User ID is required for update"));
+            return;
+        }
+        backend.async("updateUser", () -> {
+            put(user);
+            return null;
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public void deleteUserById(String userId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        backend.async("deleteUserById", () -> {
+            remove(userId);
+            return null;
+        }, onSuccess, onFailure);
+    }
+
+    @Override
+    public List<User> getUsersByIds(Collection<String> userIds) {
+        List<User> found = new ArrayList<>();
+        if (userIds == null || userIds.isEmpty() || !backend.attempt("getUsersByIds")) {
+            return found;
+        }
+        for (String userId : userIds) {
+            User user = userId != null ? users.get(userId) : null;
+            if (user != null) {
+                found.add(user);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public int deleteUsersByIds(Collection<String> userIds) {
+        if (userIds == null || userIds.isEmpty() || !backend.attempt("deleteUsersByIds")) {
+            return 0;
+        }
+        int deleted = 0;
+        for (String userId : userIds) {
+            if (userId != null && !userId.trim().isEmpty()) {
+                // Deleting a missing document still counts as a write, as in a batch
+                remove(userId);
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    @Override
+    public List<User> getAllUsers() {
+        if (!backend.attempt("getAllUsers")) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(users.values());
+    }
+
+    @Override
+    public List<User> getAllUsersFromServer() {
+        return getAllUsers();
+    }
+
+    @Override
+    public void getAllUsers(OnSuccessListener<List<User>> onSuccess, OnFailureListener onFailure) {
+        backend.async("getAllUsers", () -> new ArrayList<>(users.values()), onSuccess, onFailure);
+    }
+
+    @Override
+    public void checkProfileUnique(String username, String email,
+                                   OnSuccessListener<List<Boolean>> onSuccess, OnFailureListener onFailure) {
+        backend.async("checkProfileUnique", () -> {
+            synchronized (this) {
+                return new ArrayList<>(Arrays.asList(byUsername.count(username.trim()) > 0,
+                        byEmail.count(email.trim()) > 0));
+            }
+        }, onSuccess, onFailure);
+    }
+}
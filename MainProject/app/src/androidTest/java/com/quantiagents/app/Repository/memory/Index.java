@@ -0,0 +1,104 @@
+package com.quantiagents.app.Repository.memory;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A secondary index from a field value to the IDs of the documents holding it, standing in for a
+ * Firestore whereEqualTo / arrayContains query.
+ * <p>
+ * Not thread-safe on its own: a repository updates and reads its indexes while holding its own lock.
+ * </p>
+ *
+ * @param <K> Type of the indexed field
+ * @param <I> Type of the document IDs
+ */
+final class Index<K, I> {
+
+    private final Map<K, Set<I>> idsByKey = new HashMap<>();
+    private final Map<I, Collection<K>> keysById = new HashMap<>();
+
+    /**
+     * Files a document under one value, replacing whatever it was filed under before.
+     *
+     * @param id  The document ID
+     * @param key The field value, or null to only remove the document
+     */
+    void put(I id, @Nullable K key) {
+        putAll(id, key == null ? Collections.emptyList() : Collections.singletonList(key));
+    }
+
+    /**
+     * Files a document under several values (an array field), replacing whatever it was filed under before.
+     *
+     * @param id   The document ID
+     * @param keys The field values
+     */
+    void putAll(I id, Collection<K> keys) {
+        remove(id);
+        List<K> filed = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            if (key != null && idsByKey.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(id)) {
+                filed.add(key);
+            }
+        }
+        if (!filed.isEmpty()) {
+            keysById.put(id, filed);
+        }
+    }
+
+    /**
+     * Removes a document from the index.
+     *
+     * @param id The document ID
+     */
+    void remove(I id) {
+        Collection<K> keys = keysById.remove(id);
+        if (keys == null) {
+            return;
+        }
+        for (K key : keys) {
+            Set<I> ids = idsByKey.get(key);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                idsByKey.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Gets the documents filed under a value, in the order they were filed.
+     *
+     * @param key The field value
+     * @return A copy of the document IDs; empty if none
+     */
+    List<I> get(K key) {
+        Set<I> ids = idsByKey.get(key);
+        return ids == null ? new ArrayList<>() : new ArrayList<>(ids);
+    }
+
+    /**
+     * @param key The field value
+     * @return The number of documents filed under the value
+     */
+    int count(K key) {
+        Set<I> ids = idsByKey.get(key);
+        return ids == null ? 0 : ids.size();
+    }
+
+    /**
+     * Empties the index.
+     */
+    void clear() {
+        idsByKey.clear();
+        keysById.clear();
+    }
+}
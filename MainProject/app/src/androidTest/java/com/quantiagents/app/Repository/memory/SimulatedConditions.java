@@ -0,0 +1,115 @@
+package com.quantiagents.app.Repository.memory;
+
+import androidx.annotation.Nullable;
+
+import com.google.firebase.firestore.FirebaseFirestoreException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Network conditions the in-memory backend simulates: a latency range every operation waits for
+ * and a probability that an operation fails.
+ * <p>
+ * Failures are reported the way Firestore reports a dropped connection, as a
+ * {@link FirebaseFirestoreException} with code UNAVAILABLE, so services take their usual error paths.
+ * Settings can be changed while a load test runs; operations already waiting keep the latency they drew.
+ * </p>
+ */
+public final class SimulatedConditions {
+
+    private volatile long minLatencyMs;
+    private volatile long maxLatencyMs;
+    private volatile double failureRate;
+
+    private final AtomicLong operations = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    /**
+     * Sets the latency range; every operation waits a uniformly drawn time within it.
+     *
+     * @param minMs The shortest latency in milliseconds
+     * @param maxMs The longest latency in milliseconds (at least minMs)
+     * @throws IllegalArgumentException if the range is negative or empty
+     */
+    public synchronized void setLatency(long minMs, long maxMs) {
+        if (minMs < 0 || maxMs < minMs) {
+            throw new IllegalArgumentException("Invalid latency range " + minMs + ".." + maxMs);
+        }
+        this.minLatencyMs = minMs;
+        this.maxLatencyMs = maxMs;
+    }
+
+    /**
+     * Sets the probability that an operation fails.
+     *
+     * @param rate Probability between 0 (never) and 1 (always)
+     * @throws IllegalArgumentException if the rate is outside 0..1
+     */
+    public void setFailureRate(double rate) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("Failure rate must be between 0 and 1: " + rate);
+        }
+        this.failureRate = rate;
+    }
+
+    /**
+     * Removes all latency and failures, e.g. to seed data at full speed.
+     */
+    public synchronized void reset() {
+        minLatencyMs = 0;
+        maxLatencyMs = 0;
+        failureRate = 0;
+    }
+
+    /**
+     * @return The number of operations simulated so far.
+     */
+    public long getOperationCount() {
+        return operations.get();
+    }
+
+    /**
+     * @return The number of operations failed on purpose so far.
+     */
+    public long getFailureCount() {
+        return failures.get();
+    }
+
+    /**
+     * Resets the operation and failure counts.
+     */
+    public void resetCounts() {
+        operations.set(0);
+        failures.set(0);
+    }
+
+    /**
+     * Draws the latency of one operation.
+     *
+     * @return The time the operation waits, in milliseconds
+     */
+    long nextLatencyMs() {
+        long min = minLatencyMs;
+        long max = Math.max(min, maxLatencyMs);
+        return min == max ? min : ThreadLocalRandom.current().nextLong(min, max + 1);
+    }
+
+    /**
+     * Counts one operation and decides whether it fails.
+     *
+     * @param operation Name of the operation, for the error message
+     * @return The failure to report, or null if the operation goes through
+     */
+    @Nullable
+    FirebaseFirestoreException nextFailure(String operation) {
+        operations.incrementAndGet();
+        double rate = failureRate;
+        if (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate) {
+            failures.incrementAndGet();
+            return new FirebaseFirestoreException("Simulated failure of " + operation,
+                    FirebaseFirestoreException.Code.UNAVAILABLE);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,195 @@
+package com.quantiagents.app.Repository.memory;
+
+import com.quantiagents.app.Constants.constant;
+import com.quantiagents.app.Repository.EventCounterRepository;
+import com.quantiagents.app.models.Chat;
+import com.quantiagents.app.models.Event;
+import com.quantiagents.app.models.RegistrationHistory;
+import com.quantiagents.app.models.User;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seeds an {@link InMemoryBackend} with synthetic users, events and waiting lists for load tests.
+ * <p>
+ * Seeding writes straight into the repositories, without simulated latency or failures, and keeps
+ * the waiting list counters and the events' roster counts in step with the registrations it files.
+ * The same seed always produces the same data, so runs can be compared.
+ * </p>
+ */
+public final class SyntheticData {
+
+    /** Number of users {@link #seedDefaults()} creates. */
+    public static final int DEFAULT_USERS = 100_000;
+    /** Number of events {@link #seedDefaults()} creates. */
+    public static final int DEFAULT_EVENTS = 100_000;
+    /** Number of entrants {@link #seedDefaults()} puts on each event's waiting list. */
+    public static final int DEFAULT_ENTRANTS_PER_EVENT = 5;
+
+    private static final String[] CATEGORIES = {"Sports", "Music", "Education", "Arts", "Community"};
+    private static final long DAY_MS = TimeUnit.DAYS.toMillis(1);
+
+    private final InMemoryBackend backend;
+    private final Random random;
+    private final List<String> userIds = new ArrayList<>();
+    private final List<String> eventIds = new ArrayList<>();
+
+    /**
+     * @param backend The backend to fill
+     * @param seed    Seed for the random choices, so runs are repeatable
+     */
+    public SyntheticData(InMemoryBackend backend, long seed) {
+        this.backend = backend;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Seeds {@link #DEFAULT_USERS} users and {@link #DEFAULT_EVENTS} events with
+     * {@link #DEFAULT_ENTRANTS_PER_EVENT} entrants each.
+     */
+    public void seedDefaults() {
+        seedUsers(DEFAULT_USERS);
+        seedEvents(DEFAULT_EVENTS, DEFAULT_ENTRANTS_PER_EVENT);
+    }
+
+    /**
+     * Creates users with predictable IDs, usernames, emails and device IDs.
+     *
+     * @param count Number of users to create
+     * @return IDs of the new users, in order
+     */
+    public List<String> seedUsers(int count) {
+        List<String> created = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int n = userIds.size();
+            String userId = String.format(Locale.US, "user%08d", n);
+            User user = new User(userId, "device" + n, "User " + n, "user" + n,
+                    "user" + n + "@example.com", "", "");
+            backend.users.put(user);
+            userIds.add(userId);
+            created.add(userId);
+        }
+        return created;
+    }
+
+    /**
+     * Creates open events, each organised by a random seeded user and with random distinct seeded
+     * users on its waiting list. Users must be seeded first.
+     *
+     * @param count            Number of events to create
+     * @param entrantsPerEvent Number of entrants on each waiting list
+     * @return IDs of the new events, in order
+     * @throws IllegalStateException if fewer users are seeded than an event needs
+     */
+    public List<String> seedEvents(int count, int entrantsPerEvent) {
+        List<String> created = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            created.add(seedEvent(entrantsPerEvent));
+        }
+        return created;
+    }
+
+    /**
+     * Creates one event with a large waiting list, e.g. to drive a lottery draw or a notification
+     * fan-out over many entrants.
+     *
+     * @param entrants Number of entrants on the waiting list
+     * @return ID of the new event
+     * @throws IllegalStateException if fewer users are seeded than the event needs
+     */
+    public String seedHotEvent(int entrants) {
+        return seedEvent(entrants);
+    }
+
+    /**
+     * Creates a chat for an event between random distinct seeded users.
+     *
+     * @param eventId Event the chat belongs to
+     * @param members Number of members
+     * @return ID of the new chat
+     * @throws IllegalStateException if fewer users are seeded than the chat needs
+     */
+    public String seedChat(String eventId, int members) {
+        Event event = backend.events.get(eventId);
+        String eventName = event != null ? event.getTitle() : eventId;
+        Chat chat = new Chat(null, eventId, eventName, new ArrayList<>(pickUsers(members)));
+        backend.chats.put(chat);
+        return chat.getChatId();
+    }
+
+    /**
+     * @return IDs of every user seeded so far, in order
+     */
+    public List<String> getUserIds() {
+        return new ArrayList<>(userIds);
+    }
+
+    /**
+     * @return IDs of every event seeded so far, in order
+     */
+    public List<String> getEventIds() {
+        return new ArrayList<>(eventIds);
+    }
+
+    private String seedEvent(int entrants) {
+        if (userIds.isEmpty()) {
+            throw new IllegalStateException("Seed users before events");
+        }
+        int n = eventIds.size();
+        String eventId = String.format(Locale.US, "event%08d", n);
+        long now = System.currentTimeMillis();
+
+        Event event = new Event(eventId, "Event " + n, null);
+        event.setDescription("Synthetic event " + n);
+        event.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+        event.setLocation("Hall " + random.nextInt(100));
+        event.setCost((double) random.nextInt(50));
+        event.setStatus(constant.EventStatus.OPEN);
+        event.setOrganizerId(userIds.get(random.nextInt(userIds.size())));
+        event.setRegistrationStartDate(new Date(now - DAY_MS));
+        event.setRegistrationEndDate(new Date(now + 7 * DAY_MS));
+        event.setEventStartDate(new Date(now + 14 * DAY_MS));
+        event.setEventEndDate(new Date(now + 14 * DAY_MS + TimeUnit.HOURS.toMillis(3)));
+        event.setEventCapacity(Math.max(1, entrants / 2));
+        event.setWaitingListLimit(0);
+        event.setVersion(1);
+
+        Date registeredAt = new Date(now);
+        for (String userId : pickUsers(entrants)) {
+            backend.registrationHistories.put(new RegistrationHistory(eventId, userId,
+                    constant.EventRegistrationStatus.WAITLIST, registeredAt));
+        }
+        backend.eventCounters.add(eventId, EventCounterRepository.WAITLIST, entrants);
+        event.adjustRosterCount(constant.EventRegistrationStatus.WAITLIST, entrants);
+        backend.events.put(event);
+        eventIds.add(eventId);
+        return eventId;
+    }
+
+    /**
+     * Picks distinct seeded users uniformly at random (Floyd's algorithm, so large picks stay cheap).
+     */
+    private Set<String> pickUsers(int count) {
+        int total = userIds.size();
+        if (count > total) {
+            throw new IllegalStateException("Only " + total + " users seeded, " + count + " needed");
+        }
+        Set<Integer> picked = new LinkedHashSet<>();
+        for (int j = total - count; j < total; j++) {
+            int candidate = random.nextInt(j + 1);
+            picked.add(picked.contains(candidate) ? j : candidate);
+        }
+        Set<String> out = new LinkedHashSet<>(count);
+        for (int index : picked) {
+            out.add(userIds.get(index));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,193 @@
+package com.quantiagents.app;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.quantiagents.app.Constants.constant;
+import com.quantiagents.app.Repository.memory.InMemoryBackend;
+import com.quantiagents.app.Repository.memory.SyntheticData;
+import com.quantiagents.app.Services.AdminService;
+import com.quantiagents.app.Services.EventService;
+import com.quantiagents.app.Services.LotteryResultService;
+import com.quantiagents.app.Services.NotificationService;
+import com.quantiagents.app.Services.RegistrationHistoryService;
+import com.quantiagents.app.Services.ServiceLocator;
+import com.quantiagents.app.models.Event;
+import com.quantiagents.app.models.Notification;
+import com.quantiagents.app.models.RegistrationHistory;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Load test of the services on an in-memory backend seeded with {@link SyntheticData#DEFAULT_USERS}
+ * users and {@link SyntheticData#DEFAULT_EVENTS} events, with a few milliseconds of simulated latency
+ * per operation. Measures lottery draws, a notification fan-out and the profile removal cascade,
+ * and logs their throughput under {@link #TAG}; the assertions only check that the work was done.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ServiceLoadInstrumentedTest {
+
+    private static final String TAG = "LoadTest";
+    private static final int DRAWS = 200;
+    private static final int DRAW_THREADS = 8;
+    private static final int FAN_OUT = 10_000;
+    private static final int REMOVED_PROFILES = 50;
+
+    private static InMemoryBackend backend;
+    private static SyntheticData data;
+    private static ServiceLocator locator;
+    private static Set<String> drawnEventIds;
+
+    @BeforeClass
+    public static void seed() {
+        Context context = ApplicationProvider.getApplicationContext();
+        backend = new InMemoryBackend();
+        data = new SyntheticData(backend, 42);
+        long start = System.nanoTime();
+        data.seedDefaults();
+        Log.i(TAG, "Seeded " + SyntheticData.DEFAULT_USERS + " users and " + SyntheticData.DEFAULT_EVENTS
+                + " events in " + millisSince(start) + "ms");
+        backend.conditions().setLatency(2, 10);
+        locator = new ServiceLocator(context, backend);
+        drawnEventIds = new HashSet<>(data.getEventIds().subList(0, DRAWS));
+    }
+
+    @AfterClass
+    public static void shutdown() {
+        backend.shutdown();
+    }
+
+    @Test
+    public void lotteryDrawThroughput() throws InterruptedException {
+        LotteryResultService lotteryService = locator.lotteryResultService();
+        CountDownLatch done = new CountDownLatch(DRAWS);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        ExecutorService callers = Executors.newFixedThreadPool(DRAW_THREADS);
+
+        long start = System.nanoTime();
+        for (String eventId : drawnEventIds) {
+            // runLottery reads synchronously, so it is called off the main thread
+            callers.execute(() -> lotteryService.runLottery(eventId, 2,
+                    result -> {
+                        succeeded.incrementAndGet();
+                        done.countDown();
+                    },
+                    e -> {
+                        failure.set(e);
+                        done.countDown();
+                    }));
+        }
+        assertTrue("Draws timed out", done.await(5, TimeUnit.MINUTES));
+        long elapsed = millisSince(start);
+        callers.shutdown();
+
+        Log.i(TAG, "Lottery: " + DRAWS + " draws in " + elapsed + "ms, " + perSecond(DRAWS, elapsed) + " draws/s");
+        assertEquals("Last failure: " + failure.get(), DRAWS, succeeded.get());
+    }
+
+    @Test
+    public void notificationFanOutThroughput() {
+        NotificationService notificationService = locator.notificationService();
+        List<String> userIds = data.getUserIds();
+        List<Notification> notifications = new ArrayList<>(FAN_OUT);
+        Date now = new Date();
+        for (int i = 0; i < FAN_OUT; i++) {
+            int recipientId = Math.abs(userIds.get(i).hashCode());
+            notifications.add(new Notification(0, constant.NotificationType.REMINDER, recipientId, 1, 1,
+                    "Load test", "Fan-out " + i, now, false));
+        }
+
+        long start = System.nanoTime();
+        int saved = notificationService.saveNotifications(notifications);
+        long elapsed = millisSince(start);
+
+        Log.i(TAG, "Fan-out: " + saved + " notifications in " + elapsed + "ms, "
+                + perSecond(saved, elapsed) + " notifications/s");
+        assertEquals(FAN_OUT, saved);
+    }
+
+    @Test
+    public void profileRemovalCascade() throws InterruptedException {
+        AdminService adminService = locator.adminService();
+        List<String> removed = pickUninvolvedUsers(REMOVED_PROFILES);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicInteger deleted = new AtomicInteger(-1);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+
+        long start = System.nanoTime();
+        adminService.removeProfiles(removed, true, "Load test",
+                count -> {
+                    deleted.set(count);
+                    done.countDown();
+                },
+                e -> {
+                    failure.set(e);
+                    done.countDown();
+                });
+        assertTrue("Removal timed out", done.await(5, TimeUnit.MINUTES));
+        long elapsed = millisSince(start);
+
+        Log.i(TAG, "Cascade: " + removed.size() + " profiles removed in " + elapsed + "ms, "
+                + perSecond(removed.size(), elapsed) + " profiles/s");
+        assertEquals("Failure: " + failure.get(), removed.size(), deleted.get());
+    }
+
+    /**
+     * Picks users from the end of the seeded list that neither organize nor entered an event the
+     * lottery test draws, so the tests don't depend on the order they run in.
+     */
+    private static List<String> pickUninvolvedUsers(int count) {
+        EventService eventService = locator.eventService();
+        RegistrationHistoryService registrationService = locator.registrationHistoryService();
+        Set<String> involved = new HashSet<>();
+        for (String eventId : drawnEventIds) {
+            Event event = eventService.getEventById(eventId);
+            if (event != null) involved.add(event.getOrganizerId());
+        }
+        List<String> userIds = data.getUserIds();
+        List<String> picked = new ArrayList<>(count);
+        for (int i = userIds.size() - 1; i >= 0 && picked.size() < count; i--) {
+            String userId = userIds.get(i);
+            if (involved.contains(userId)) continue;
+            boolean entered = false;
+            for (RegistrationHistory history : registrationService.getRegistrationHistoriesByUserId(userId)) {
+                if (drawnEventIds.contains(history.getEventId())) {
+                    entered = true;
+                    break;
+                }
+            }
+            if (!entered) picked.add(userId);
+        }
+        return picked;
+    }
+
+    private static long millisSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private static long perSecond(long count, long elapsedMs) {
+        return elapsedMs > 0 ? count * 1000 / elapsedMs : count;
+    }
+}
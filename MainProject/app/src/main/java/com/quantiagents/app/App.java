@@ -1,8 +1,12 @@
 package com.quantiagents.app;
 
 import android.app.Application;
+import android.text.TextUtils;
+import android.util.Log;
 import androidx.annotation.Nullable;
+import com.google.firebase.firestore.FirebaseFirestore;
 import com.quantiagents.app.Services.ServiceLocator;
+import com.quantiagents.app.models.DeviceIdManager;
 
 /**
  * Application class that provides dependency injection through ServiceLocator.
@@ -16,12 +20,30 @@ public class App extends Application {
     // Test override graph.
     private @Nullable ServiceLocator testLocator;
 
-//    @Override
-//    public void onCreate() {
-//        super.onCreate();
-//        // Spin up my shared locator once.
-//        serviceLocator = new ServiceLocator(this);
-//    }
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        useLocalBackendIfConfigured();
+    }
+
+    /**
+     * Points Firestore at a local emulator when the build sets one (the benchmark build types do, through
+     * the localBackend source set), and pins the device ID to the one the benchmark seeds its user with.
+     * Regular builds leave both strings empty and talk to the live project.
+     */
+    private void useLocalBackendIfConfigured() {
+        String host = getString(R.string.local_backend_firestore_host);
+        if (!TextUtils.isEmpty(host)) {
+            int colon = host.lastIndexOf(':');
+            FirebaseFirestore.getInstance().useEmulator(host.substring(0, colon),
+                    Integer.parseInt(host.substring(colon + 1)));
+            Log.i("App", "Using local Firestore at " + host);
+        }
+        String deviceId = getString(R.string.local_backend_device_id);
+        if (!TextUtils.isEmpty(deviceId)) {
+            new DeviceIdManager(this).pin(deviceId);
+        }
+    }
 
     // Hand this out so everything hits the same graph.
     /**
@@ -71,10 +71,18 @@ public class constant {
     public static final String QrCodeCollectionName = "QRCODE";
     /** Firestore collection name for notifications */
     public static final String NotificationCollectionName = "NOTIFICATION";
+    /** Firestore collection name for compacted per-user notification archives */
+    public static final String NotificationArchiveCollectionName = "NOTIFICATION_ARCHIVE";
+    /** Firestore collection name for event announcements (one doc per broadcast) */
+    public static final String EventAnnouncementCollectionName = "EVENT_ANNOUNCEMENT";
+    /** Firestore collection name for per-user announcement read markers */
+    public static final String AnnouncementReadCollectionName = "ANNOUNCEMENT_READ";
     /** Firestore collection name for geolocation data */
     public static final String GeoLocationCollectionName = "GEO_LOCATION";
     /** Firestore collection name for registration history */
     public static final String RegistrationHistoryCollectionName = "REGISTRATION_HISTORY";
+    /** Firestore collection name for sharded per-event counters (e.g. waiting list size) */
+    public static final String EventCounterCollectionName = "EVENT_COUNTER";
     /** Firestore collection name for device IDs */
     public static final String DeviceIdCollectionName = "DEVICE_ID";
     /** Firestore collection name for chats */
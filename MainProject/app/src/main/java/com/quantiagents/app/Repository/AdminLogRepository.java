@@ -2,6 +2,7 @@ package com.quantiagents.app.Repository;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.util.Log;
 
 import com.quantiagents.app.models.AdminActionLog;
 
@@ -9,22 +10,107 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.zip.CRC32;
 
 /**
  * Manages functions related to admin logs
+ * <p>
+ * The log is append-only and lives in files under filesDir/admin_log. Each segment file holds
+ * length-prefixed records ([int length][int crc32][body]) and is rotated once it reaches
+ * {@link #SEGMENT_BYTES}. Next to every segment a small index file stores one entry per
+ * {@link #INDEX_INTERVAL} records (highest timestamp seen before the record, file offset), which
+ * lets time-range queries binary-search to where they need to start. Reads map segments into
+ * memory and return pages, so nothing ever loads the whole log.
+ * </p>
+ * Older installs kept the log as JSON in SharedPreferences; it is imported once on first use.
  * @see AdminActionLog
  */
 public class AdminLogRepository {
 
+    /** A segment is rotated once appending would grow it past this many bytes */
+    static final long SEGMENT_BYTES = 256 * 1024;
+    /** One index entry is written for every this many records */
+    static final int INDEX_INTERVAL = 32;
+    /** Cursor of the very first record, for {@link #readPage(long, int)} */
+    public static final long FIRST_PAGE = 0L;
+
+    private static final String TAG = "AdminLogRepository";
     private static final String PREF_NAME = "admin_log_store";
     private static final String KEY_LOGS = "logs_json";
-    private final SharedPreferences preferences;
+    private static final String DIR_NAME = "admin_log";
+    private static final String LOG_SUFFIX = ".log";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final int HEADER_BYTES = 8;          // length + crc
+    private static final int INDEX_ENTRY_BYTES = 12;    // long maxTimestampBefore + int offset
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final int MAX_NOTE_CHARS = 4096;
+    /** Returned by {@link #readRecord(ByteBuffer)} for a record whose checksum doesn't match */
+    private static final AdminActionLog DAMAGED = new AdminActionLog("", "", 0L, "", "");
+
+    /**
+     * One page of log records plus the cursor to continue from.
+     */
+    public static final class Page {
+        private final List<AdminActionLog> logs;
+        private final long nextCursor;
+        private final boolean hasMore;
+
+        Page(List<AdminActionLog> logs, long nextCursor, boolean hasMore) {
+            this.logs = Collections.unmodifiableList(logs);
+            this.nextCursor = nextCursor;
+            this.hasMore = hasMore;
+        }
+
+        /**
+         * Gets the records on this page, oldest first.
+         *
+         * @return The records
+         */
+        public List<AdminActionLog> getLogs() { return logs; }
+
+        /**
+         * Gets the cursor to pass to the next {@link #readPage(long, int)} call.
+         * Still valid after the end: it picks up records appended later.
+         *
+         * @return The next cursor
+         */
+        public long getNextCursor() { return nextCursor; }
+
+        /**
+         * Checks whether more records existed after this page when it was read.
+         *
+         * @return True if there is another page
+         */
+        public boolean hasMore() { return hasMore; }
+    }
+
+    private final Context context;
+    private final File dir;
+
+    // Sorted segment sequence numbers; the last one is active
+    private final List<Long> segments = new ArrayList<>();
+    private boolean opened;
+    private RandomAccessFile logFile;
+    private RandomAccessFile indexFile;
+    private long recordCount;       // records in the active segment
+    private long indexEntries;      // index entries in the active segment
+    private long maxTimestamp = Long.MIN_VALUE; // highest timestamp in the active segment so far
 
     public AdminLogRepository(Context context) {
         //append-only audit log for admin deletions
-        this.preferences = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+        this.context = context.getApplicationContext();
+        this.dir = new File(this.context.getFilesDir(), DIR_NAME);
     }
 
     /**
@@ -34,29 +120,267 @@ public class AdminLogRepository {
      * @see AdminActionLog
      */
     public synchronized void append(AdminActionLog log) {
+        appendAll(Collections.singletonList(log));
+    }
+
+    /**
+     * Adds many logs to admin log; each record is appended without touching earlier ones
+     * @param logs
+     * AdminActionLogs to add
+     * @see AdminActionLog
+     */
+    public synchronized void appendAll(List<AdminActionLog> logs) {
         try {
-            JSONArray arr = new JSONArray(preferences.getString(KEY_LOGS, "[]"));
-            arr.put(toJson(log));
-            preferences.edit().putString(KEY_LOGS, arr.toString()).apply();
-        } catch (JSONException ignore) {
+            ensureOpen();
+            for (AdminActionLog log : logs) {
+                writeRecord(log);
+            }
+        } catch (IOException e) {
             //best effort
+            Log.e(TAG, "Error appending admin log", e);
+        }
+    }
+
+    /**
+     * Reads one page of the log, oldest first
+     * @param cursor
+     * Where to start: {@link #FIRST_PAGE} or a previous page's next cursor
+     * @param limit
+     * Max records to return
+     * @return
+     * Returns the page
+     * @see AdminActionLog
+     */
+    public synchronized Page readPage(long cursor, int limit) {
+        List<AdminActionLog> out = new ArrayList<>();
+        long seq = cursor >>> 32;
+        long offset = cursor & 0xffffffffL;
+        try {
+            ensureOpen();
+            for (long segment : segments) {
+                if (segment < seq) continue;
+                if (segment > seq) {
+                    seq = segment;
+                    offset = 0;
+                }
+                ByteBuffer buf = map(logFileFor(segment));
+                buf.position((int) Math.min(offset, buf.limit()));
+                while (out.size() < limit) {
+                    AdminActionLog log = readRecord(buf);
+                    if (log == null) break;
+                    if (log == DAMAGED) continue;
+                    out.add(log);
+                }
+                offset = buf.position();
+                if (out.size() >= limit) {
+                    boolean more = buf.hasRemaining() || segment != lastSegment();
+                    return new Page(out, (seq << 32) | offset, more);
+                }
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Error reading admin log", e);
         }
+        return new Page(out, (seq << 32) | offset, false);
     }
 
     /**
-     * Gets list of all logs in admin log
+     * Gets the logs whose timestamp falls in a range, oldest first
+     * @param fromMillis
+     * Inclusive start of the range
+     * @param toMillis
+     * Inclusive end of the range
+     * @param limit
+     * Max records to return
      * @return
-     * Returns list of AdminActionLogs
+     * Returns list of matching AdminActionLogs
      * @see AdminActionLog
      */
-    public synchronized List<AdminActionLog> listAll() {
-        String raw = preferences.getString(KEY_LOGS, "[]");
+    public synchronized List<AdminActionLog> listBetween(long fromMillis, long toMillis, int limit) {
         List<AdminActionLog> out = new ArrayList<>();
+        try {
+            ensureOpen();
+            for (long segment : segments) {
+                ByteBuffer buf = map(logFileFor(segment));
+                buf.position((int) Math.min(startOffset(segment, fromMillis), buf.limit()));
+                AdminActionLog log;
+                while (out.size() < limit && (log = readRecord(buf)) != null) {
+                    if (log != DAMAGED && log.getTimestamp() >= fromMillis && log.getTimestamp() <= toMillis) {
+                        out.add(log);
+                    }
+                }
+                if (out.size() >= limit) break;
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Error querying admin log", e);
+        }
+        return out;
+    }
+
+    /**
+     * Finds where to start scanning a segment for records at or after a time.
+     * Index entries hold the highest timestamp seen before their record, which only grows,
+     * so the last entry still below the target is a safe starting point even if the clock jumped.
+     */
+    private long startOffset(long segment, long fromMillis) throws IOException {
+        ByteBuffer index = map(indexFileFor(segment));
+        int lo = 0;
+        int hi = index.limit() / INDEX_ENTRY_BYTES - 1;
+        long offset = 0;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long maxBefore = index.getLong(mid * INDEX_ENTRY_BYTES);
+            if (maxBefore < fromMillis) {
+                offset = index.getInt(mid * INDEX_ENTRY_BYTES + 8) & 0xffffffffL;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Opens the active segment, repairs a torn tail left by a crash and imports the legacy log.
+     */
+    private void ensureOpen() throws IOException {
+        if (opened) return;
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create " + dir);
+        }
+        File[] files = dir.listFiles((d, name) -> name.endsWith(LOG_SUFFIX));
+        if (files != null) {
+            for (File file : files) {
+                try {
+                    segments.add(Long.parseLong(file.getName().substring(0, file.getName().length() - LOG_SUFFIX.length())));
+                } catch (NumberFormatException ignore) {
+                    //not one of ours
+                }
+            }
+        }
+        Collections.sort(segments);
+        if (segments.isEmpty()) {
+            segments.add(0L);
+        }
+        openActive(lastSegment());
+        recoverActive();
+        opened = true;
+        migrateFromPreferences();
+    }
+
+    private void openActive(long segment) throws IOException {
+        logFile = new RandomAccessFile(logFileFor(segment), "rw");
+        indexFile = new RandomAccessFile(indexFileFor(segment), "rw");
+        recordCount = 0;
+        indexEntries = 0;
+        maxTimestamp = Long.MIN_VALUE;
+    }
+
+    /**
+     * Rebuilds the active segment's counters from its index and tail, truncating any
+     * half-written record and re-adding index entries that were lost before being written.
+     */
+    private void recoverActive() throws IOException {
+        FileChannel log = logFile.getChannel();
+        FileChannel index = indexFile.getChannel();
+        long logSize = log.size();
+
+        long entries = index.size() / INDEX_ENTRY_BYTES;
+        ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_BYTES);
+        long position = 0;
+        while (entries > 0) {
+            entry.clear();
+            index.read(entry, (entries - 1) * INDEX_ENTRY_BYTES);
+            entry.flip();
+            long maxBefore = entry.getLong();
+            long offset = entry.getInt() & 0xffffffffL;
+            if (offset < logSize) {
+                maxTimestamp = maxBefore;
+                position = offset;
+                break;
+            }
+            entries--;
+        }
+        index.truncate(entries * INDEX_ENTRY_BYTES);
+        indexEntries = entries;
+        recordCount = entries > 0 ? (entries - 1) * INDEX_INTERVAL : 0;
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (position < logSize) {
+            header.clear();
+            if (log.read(header, position) < HEADER_BYTES) break;
+            header.flip();
+            int length = header.getInt();
+            int crc = header.getInt();
+            if (length < 8 || length > MAX_BODY_BYTES || position + HEADER_BYTES + length > logSize) break;
+            ByteBuffer body = ByteBuffer.allocate(length);
+            log.read(body, position + HEADER_BYTES);
+            if (crc32(body.array(), length) != crc) break;
+            long timestamp = body.getLong(0);
+            if (recordCount % INDEX_INTERVAL == 0 && recordCount / INDEX_INTERVAL >= indexEntries) {
+                writeIndexEntry(position);
+            }
+            maxTimestamp = Math.max(maxTimestamp, timestamp);
+            recordCount++;
+            position += HEADER_BYTES + length;
+        }
+        if (position < logSize) {
+            Log.w(TAG, "Truncating torn admin log tail at " + position);
+            log.truncate(position);
+        }
+    }
+
+    private void writeRecord(AdminActionLog log) throws IOException {
+        byte[] body = encode(log);
+        FileChannel channel = logFile.getChannel();
+        long position = channel.size();
+        if (position > 0 && position + HEADER_BYTES + body.length > SEGMENT_BYTES) {
+            rotate();
+            channel = logFile.getChannel();
+            position = 0;
+        }
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + body.length);
+        record.putInt(body.length).putInt(crc32(body, body.length)).put(body).flip();
+        while (record.hasRemaining()) {
+            position += channel.write(record, position);
+        }
+        if (recordCount % INDEX_INTERVAL == 0) {
+            writeIndexEntry(position - HEADER_BYTES - body.length);
+        }
+        maxTimestamp = Math.max(maxTimestamp, log.getTimestamp());
+        recordCount++;
+    }
+
+    private void writeIndexEntry(long offset) throws IOException {
+        ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_BYTES);
+        entry.putLong(maxTimestamp).putInt((int) offset).flip();
+        FileChannel index = indexFile.getChannel();
+        long position = indexEntries * INDEX_ENTRY_BYTES;
+        while (entry.hasRemaining()) {
+            position += index.write(entry, position);
+        }
+        indexEntries++;
+    }
+
+    private void rotate() throws IOException {
+        logFile.close();
+        indexFile.close();
+        long next = lastSegment() + 1;
+        segments.add(next);
+        openActive(next);
+    }
+
+    /**
+     * Imports the log older versions kept as JSON in SharedPreferences, then drops it
+     */
+    private void migrateFromPreferences() throws IOException {
+        SharedPreferences preferences = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+        String raw = preferences.getString(KEY_LOGS, null);
+        if (raw == null) return;
         try {
             JSONArray arr = new JSONArray(raw);
             for (int i = 0; i < arr.length(); i++) {
                 JSONObject o = arr.getJSONObject(i);
-                out.add(new AdminActionLog(
+                writeRecord(new AdminActionLog(
                         o.optString("kind", ""),
                         o.optString("targetId", ""),
                         o.optLong("timestamp", System.currentTimeMillis()),
@@ -67,26 +391,97 @@ public class AdminLogRepository {
         } catch (JSONException ignore) {
             //swallow
         }
-        return out;
+        preferences.edit().remove(KEY_LOGS).apply();
     }
 
     /**
-     * Converts a log into a JSON format
-     * @param log
-     * Log to be converted
+     * Decodes the record at the buffer's position and advances past it.
+     * A record whose checksum fails is skipped: its length still frames it, and if that length was
+     * the damaged part, whatever it lands on fails its own check in turn.
      * @return
-     * Returns a JSONObject
-     * @throws JSONException
-     * If JSON conversion fails
-     * @see AdminActionLog
+     * Returns the log, {@link #DAMAGED} for a record whose checksum fails, or null at the end of
+     * the segment or where the length can't frame a record
      */
-    private JSONObject toJson(AdminActionLog log) throws JSONException {
-        JSONObject o = new JSONObject();
-        o.put("kind", log.getKind());
-        o.put("targetId", log.getTargetId());
-        o.put("timestamp", log.getTimestamp());
-        o.put("actorDeviceId", log.getActorDeviceId());
-        o.put("note", log.getNote());
-        return o;
+    private static AdminActionLog readRecord(ByteBuffer buf) {
+        if (buf.remaining() < HEADER_BYTES) return null;
+        int start = buf.position();
+        int length = buf.getInt(start);
+        int crc = buf.getInt(start + 4);
+        if (length < 8 || length > MAX_BODY_BYTES || buf.remaining() < HEADER_BYTES + length) return null;
+        byte[] body = new byte[length];
+        buf.position(start + HEADER_BYTES);
+        buf.get(body);
+        if (crc32(body, length) != crc) {
+            Log.w(TAG, "Skipping admin log record with a bad checksum at " + start);
+            return DAMAGED;
+        }
+        ByteBuffer record = ByteBuffer.wrap(body);
+        long timestamp = record.getLong();
+        String kind = readString(record);
+        String targetId = readString(record);
+        String actorDeviceId = readString(record);
+        String note = readString(record);
+        return new AdminActionLog(kind, targetId, timestamp, actorDeviceId, note);
+    }
+
+    private static byte[] encode(AdminActionLog log) {
+        String note = log.getNote();
+        if (note != null && note.length() > MAX_NOTE_CHARS) {
+            note = note.substring(0, MAX_NOTE_CHARS);
+        }
+        byte[][] fields = {
+                bytes(log.getKind()), bytes(log.getTargetId()), bytes(log.getActorDeviceId()), bytes(note)
+        };
+        int size = 8;
+        for (byte[] field : fields) {
+            size += 4 + field.length;
+        }
+        ByteBuffer body = ByteBuffer.allocate(size);
+        body.putLong(log.getTimestamp());
+        for (byte[] field : fields) {
+            body.putInt(field.length).put(field);
+        }
+        return body.array();
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String readString(ByteBuffer buf) {
+        int length = buf.getInt();
+        byte[] out = new byte[length];
+        buf.get(out);
+        return new String(out, StandardCharsets.UTF_8);
+    }
+
+    private static int crc32(byte[] data, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Maps a whole file read-only; an empty buffer if it does not exist
+     */
+    private static ByteBuffer map(File file) throws IOException {
+        if (!file.exists()) return ByteBuffer.allocate(0);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            FileChannel channel = raf.getChannel();
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return buf;
+        }
+    }
+
+    private long lastSegment() {
+        return segments.get(segments.size() - 1);
+    }
+
+    private File logFileFor(long segment) {
+        return new File(dir, String.format(Locale.US, "%020d%s", segment, LOG_SUFFIX));
+    }
+
+    private File indexFileFor(long segment) {
+        return new File(dir, String.format(Locale.US, "%020d%s", segment, INDEX_SUFFIX));
     }
 }
@@ -0,0 +1,84 @@
+package com.quantiagents.app.Repository;
+
+import com.google.firebase.firestore.DocumentReference;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Helpers for grouping Firestore writes into WriteBatch commits.
+ * Bulk operations pay one round-trip per batch instead of one per document.
+ * Writes go through the {@link WriteScheduler} bulk lane, so large jobs are paced and
+ * never delay interactive writes.
+ * All write methods are blocking - must be called from a background thread.
+ */
+public final class BatchWriter {
+
+    /** Firestore caps a single WriteBatch at 500 operations */
+    public static final int MAX_BATCH_SIZE = 500;
+    /** Firestore caps whereIn filters at 30 values */
+    public static final int MAX_IN_CLAUSE = 30;
+
+    private BatchWriter() {}
+
+    /**
+     * Splits a collection into consecutive chunks of at most the given size
+     * @param items
+     * Items to split
+     * @param size
+     * Max chunk size
+     * @return
+     * Returns list of chunks, empty if items is null or empty
+     */
+    public static <T> List<List<T>> chunk(Collection<T> items, int size) {
+        List<List<T>> chunks = new ArrayList<>();
+        if (items == null || items.isEmpty()) {
+            return chunks;
+        }
+        List<T> current = new ArrayList<>(Math.min(size, items.size()));
+        for (T item : items) {
+            current.add(item);
+            if (current.size() == size) {
+                chunks.add(current);
+                current = new ArrayList<>(size);
+            }
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+
+    /**
+     * Performs bulk writes through the scheduler and waits for them (blocking)
+     * @param ops
+     * Writes to perform, coalesced into batches by the scheduler
+     * @return
+     * Returns amount of writes committed
+     */
+    public static int writeAll(List<WriteScheduler.WriteOp> ops) {
+        if (ops == null || ops.isEmpty()) {
+            return 0;
+        }
+        return WriteScheduler.getInstance().submit(WriteScheduler.Lane.BULK, ops);
+    }
+
+    /**
+     * Deletes every referenced document using as few batches as possible (blocking)
+     * @param refs
+     * Documents to delete
+     * @return
+     * Returns amount of documents deleted
+     */
+    public static int deleteAll(List<DocumentReference> refs) {
+        if (refs == null || refs.isEmpty()) {
+            return 0;
+        }
+        List<WriteScheduler.WriteOp> ops = new ArrayList<>(refs.size());
+        for (DocumentReference ref : refs) {
+            ops.add(WriteScheduler.WriteOp.delete(ref));
+        }
+        return writeAll(ops);
+    }
+}
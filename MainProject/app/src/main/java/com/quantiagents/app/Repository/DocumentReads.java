@@ -0,0 +1,244 @@
+package com.quantiagents.app.Repository;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight reads of documents by ID, with a short negative cache.
+ * <p>
+ * A details screen, a list adapter and a badge update often ask for the same document within
+ * milliseconds. While a read of a document is in flight, later reads of it join that read's task
+ * instead of starting their own. A read that finds no document is remembered for
+ * {@link #MISSING_TTL_MS}, so repeated lookups of a deleted ID are answered without a round trip.
+ * Callers get the shared {@link DocumentSnapshot} and deserialize their own copy of the model.
+ * </p>
+ * <p>
+ * Every write this process makes to a document goes through {@link #afterWrite} (or
+ * {@link #invalidate}), which drops the remembered miss and detaches the in-flight read, so a read
+ * started after a write never joins one started before it. A miss read before an invalidation is
+ * not remembered. Counters per collection are available from {@link #getMetrics()}.
+ * </p>
+ */
+public final class DocumentReads {
+
+    /** How long a document that was not found is answered from memory */
+    static final long MISSING_TTL_MS = 10_000;
+
+    // Collection path -> reads of that collection, shared by every repository instance
+    private static final Map<String, DocumentReads> collections = new ConcurrentHashMap<>();
+
+    private final Map<String, Task<DocumentSnapshot>> inFlight = new HashMap<>();
+    private final Map<String, Missing> missing = new HashMap<>();
+    // Bumped by every invalidation; misses only go in if none happened while they were read
+    private long generation;
+    private final Counts counts = new Counts();
+    // Wall clock in milliseconds; replaced in tests
+    private final LongSupplier clock;
+
+    private DocumentReads() {
+        this(System::currentTimeMillis);
+    }
+
+    DocumentReads(@NonNull LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Gets the process-wide reads of a collection.
+     *
+     * @param collection The collection
+     * @return The reads of the collection
+     */
+    static DocumentReads of(@NonNull CollectionReference collection) {
+        return collections.computeIfAbsent(collection.getPath(), path -> new DocumentReads());
+    }
+
+    /**
+     * Reads a document, joining a read of it already in flight.
+     *
+     * @param ref The document
+     * @return A task with the snapshot; a snapshot that doesn't exist if there is no such document
+     */
+    Task<DocumentSnapshot> get(@NonNull DocumentReference ref) {
+        return get(ref.getId(), ref::get);
+    }
+
+    /**
+     * Reads a document by ID, joining a read of it already in flight.
+     *
+     * @param id    The document ID
+     * @param fetch Starts a read of the document; only called if no read can be shared
+     * @return A task with the snapshot; a snapshot that doesn't exist if there is no such document
+     */
+    synchronized Task<DocumentSnapshot> get(@NonNull String id, @NonNull Supplier<Task<DocumentSnapshot>> fetch) {
+        counts.reads++;
+        Missing miss = missing.get(id);
+        if (miss != null) {
+            if (clock.getAsLong() < miss.expiresAt) {
+                counts.missHits++;
+                return Tasks.forResult(miss.snapshot);
+            }
+            missing.remove(id);
+        }
+        Task<DocumentSnapshot> shared = inFlight.get(id);
+        if (shared != null) {
+            counts.coalesced++;
+            return shared;
+        }
+        counts.fetches++;
+        Task<DocumentSnapshot> task = fetch.get();
+        long startedAt = generation;
+        inFlight.put(id, task);
+        task.addOnCompleteListener(Runnable::run, done -> settle(id, done, startedAt));
+        return task;
+    }
+
+    private synchronized void settle(String id, Task<DocumentSnapshot> done, long startedAt) {
+        if (inFlight.get(id) == done) {
+            inFlight.remove(id);
+        }
+        if (done.isSuccessful() && done.getResult() != null && !done.getResult().exists() && generation == startedAt) {
+            missing.put(id, new Missing(done.getResult(), clock.getAsLong() + MISSING_TTL_MS));
+        }
+    }
+
+    /**
+     * Forgets what is known about a document after this process wrote it.
+     *
+     * @param id The document ID
+     */
+    synchronized void invalidate(@NonNull String id) {
+        generation++;
+        missing.remove(id);
+        inFlight.remove(id);
+    }
+
+    /**
+     * Forgets what is known about a set of documents after this process wrote them.
+     *
+     * @param ids The document IDs
+     */
+    synchronized void invalidate(@NonNull Collection<String> ids) {
+        generation++;
+        for (String id : ids) {
+            missing.remove(id);
+            inFlight.remove(id);
+        }
+    }
+
+    /**
+     * Invalidates a document now and again once a write to it completes, so neither a read racing
+     * the write nor one started before it is reused afterwards.
+     *
+     * @param id    The document ID
+     * @param write The write, already started
+     * @return The same write
+     */
+    <T> Task<T> afterWrite(@NonNull String id, @NonNull Task<T> write) {
+        invalidate(id);
+        write.addOnCompleteListener(Runnable::run, done -> invalidate(id));
+        return write;
+    }
+
+    /**
+     * Gets a snapshot of the read counters of every collection read so far.
+     *
+     * @return The metrics
+     */
+    public static Metrics getMetrics() {
+        Map<String, Counts> copy = new TreeMap<>();
+        for (Map.Entry<String, DocumentReads> entry : collections.entrySet()) {
+            DocumentReads reads = entry.getValue();
+            synchronized (reads) {
+                copy.put(entry.getKey(), reads.counts.copy());
+            }
+        }
+        return new Metrics(copy);
+    }
+
+    private static final class Missing {
+        final DocumentSnapshot snapshot;
+        final long expiresAt;
+
+        Missing(DocumentSnapshot snapshot, long expiresAt) {
+            this.snapshot = snapshot;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class Counts {
+        long reads;
+        long fetches;
+        long coalesced;
+        long missHits;
+
+        Counts copy() {
+            Counts c = new Counts();
+            c.reads = reads;
+            c.fetches = fetches;
+            c.coalesced = coalesced;
+            c.missHits = missHits;
+            return c;
+        }
+    }
+
+    /**
+     * Point-in-time copy of the read counters, per collection path.
+     */
+    public static final class Metrics {
+        private static final Counts NONE = new Counts();
+        private final Map<String, Counts> collections;
+
+        Metrics(Map<String, Counts> collections) {
+            this.collections = collections;
+        }
+
+        private Counts of(String collection) {
+            Counts c = collections.get(collection);
+            return c != null ? c : NONE;
+        }
+
+        /** @return Paths of the collections read so far */
+        public Set<String> getCollections() { return collections.keySet(); }
+
+        /** @return Reads requested from the collection */
+        public long getReads(String collection) { return of(collection).reads; }
+
+        /** @return Reads that went to Firestore */
+        public long getFetches(String collection) { return of(collection).fetches; }
+
+        /** @return Reads that joined a read of the same document already in flight */
+        public long getCoalesced(String collection) { return of(collection).coalesced; }
+
+        /** @return Reads answered from a remembered "not found" */
+        public long getMissHits(String collection) { return of(collection).missHits; }
+
+        @NonNull
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("DocumentReads");
+            for (String collection : collections.keySet()) {
+                sb.append(' ').append(collection).append("{reads=").append(getReads(collection))
+                        .append(", fetches=").append(getFetches(collection))
+                        .append(", coalesced=").append(getCoalesced(collection))
+                        .append(", missHits=").append(getMissHits(collection))
+                        .append('}');
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.quantiagents.app.Repository;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.quantiagents.app.models.EventAnnouncement;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Manages saving and locating of event announcements and their per-user read markers
+ * <p>
+ * A read marker holds, per recipient per event, the timestamp up to which that recipient has read
+ * the event's announcements. Implemented by {@link FirestoreEventAnnouncementRepository} and by the
+ * in-memory backend.
+ * </p>
+ * @see EventAnnouncement
+ */
+public interface EventAnnouncementRepository {
+
+    /**
+     * Saves an announcement, generating its id if it has none (blocking - must be called from background thread)
+     * @param announcement
+     * Announcement to save
+     * @return
+     * Returns a boolean for success
+     * @see EventAnnouncement
+     */
+    boolean saveAnnouncement(EventAnnouncement announcement);
+
+    /**
+     * Gets the announcements of the given events sent after a cutoff, newest first (blocking - must be called from background thread)
+     * @param eventIds
+     * Event ids to look up, in chunks of at most 30
+     * @param since
+     * Only announcements sent after this time
+     * @param limitPerChunk
+     * Max announcements read per chunk of event ids
+     * @return
+     * Returns list of announcements
+     * @see EventAnnouncement
+     */
+    List<EventAnnouncement> getAnnouncementsForEvents(Collection<String> eventIds, Date since, int limitPerChunk);
+
+    /**
+     * Gets every read marker of a recipient (blocking - must be called from background thread)
+     * @param recipientId
+     * Recipient id to locate
+     * @return
+     * Returns map of affiliated event id to the time read up to
+     */
+    Map<Integer, Date> getReadMarkers(int recipientId);
+
+    /**
+     * Moves a recipient's read marker for one event
+     * @param recipientId
+     * Recipient id
+     * @param affiliatedEventId
+     * Hashed event id
+     * @param readUpTo
+     * Announcements sent at or before this time count as read
+     * @param onSuccess
+     * Calls a function on success
+     * @param onFailure
+     * Calls a function on failure
+     */
+    void setReadMarker(int recipientId, int affiliatedEventId, Date readUpTo,
+                       OnSuccessListener<Void> onSuccess, OnFailureListener onFailure);
+
+    /**
+     * Saves an announcement on the I/O pool; see {@link #saveAnnouncement}.
+     */
+    default CompletableFuture<Boolean> saveAnnouncementAsync(EventAnnouncement announcement) {
+        return Futures.supply(() -> saveAnnouncement(announcement));
+    }
+
+    /**
+     * Reads announcements on the I/O pool; see {@link #getAnnouncementsForEvents}.
+     */
+    default CompletableFuture<List<EventAnnouncement>> getAnnouncementsForEventsAsync(Collection<String> eventIds, Date since, int limitPerChunk) {
+        return Futures.supply(() -> getAnnouncementsForEvents(eventIds, since, limitPerChunk));
+    }
+
+    /**
+     * Moves a read marker as a future.
+     */
+    default CompletableFuture<Void> setReadMarkerAsync(int recipientId, int affiliatedEventId, Date readUpTo) {
+        return Futures.fromCallbacks((ok, err) -> setReadMarker(recipientId, affiliatedEventId, readUpTo, ok, err));
+    }
+}
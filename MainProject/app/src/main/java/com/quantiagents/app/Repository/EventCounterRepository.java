@@ -0,0 +1,105 @@
+package com.quantiagents.app.Repository;
+
+import com.google.android.gms.tasks.Task;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Manages per-event counters, such as the size of an event's waiting list
+ * <p>
+ * Implemented by {@link FirestoreEventCounterRepository}, which shards each counter over several
+ * documents, and by the in-memory backend.
+ * </p>
+ */
+public interface EventCounterRepository {
+
+    /** Counter of entrants currently on an event's waiting list */
+    String WAITLIST = "WAITLIST";
+
+    /**
+     * Increments a counter
+     * @param eventId
+     * Event id the counter belongs to
+     * @param counter
+     * Counter name, e.g. "WAITLIST"
+     * @param delta
+     * Amount to add (negative to subtract)
+     * @return
+     * Returns the task of the write
+     */
+    Task<Void> increment(String eventId, String counter, long delta);
+
+    /**
+     * Gets the total of a counter
+     * @param eventId
+     * Event id the counter belongs to
+     * @param counter
+     * Counter name, e.g. "WAITLIST"
+     * @return
+     * Returns a task with the total (0 if the counter was never written)
+     */
+    Task<Long> getCountAsync(String eventId, String counter);
+
+    /**
+     * Gets the total of a counter (blocking - must be called from background thread)
+     * @param eventId
+     * Event id the counter belongs to
+     * @param counter
+     * Counter name, e.g. "WAITLIST"
+     * @return
+     * Returns the total, or 0 if it could not be read
+     */
+    long getCount(String eventId, String counter);
+
+    /**
+     * Gets the totals of a counter for many events (blocking - must be called from background thread)
+     * @param eventIds
+     * Event ids to look up
+     * @param counter
+     * Counter name, e.g. "WAITLIST"
+     * @return
+     * Returns map of event id to total; events whose counter was never written are absent
+     */
+    Map<String, Long> getCounts(Collection<String> eventIds, String counter);
+
+    /**
+     * Overwrites a counter with an exact total, e.g. after recounting from the source documents (blocking - must be called from background thread)
+     * <p>
+     * Increments committed between the recount and this write are lost, so only use it to repair drift.
+     * </p>
+     * @param eventId
+     * Event id the counter belongs to
+     * @param counter
+     * Counter name, e.g. "WAITLIST"
+     * @param total
+     * Exact total
+     * @return
+     * Returns a boolean for success
+     */
+    boolean reset(String eventId, String counter, long total);
+
+    /**
+     * Deletes the counters of the given events
+     * @param eventIds
+     * Event ids to clear
+     * @return
+     * Returns amount of counter documents deleted
+     */
+    int deleteCountersByEventIds(Collection<String> eventIds);
+
+    /**
+     * Reads a counter as a future; see {@link #getCountAsync}.
+     */
+    default CompletableFuture<Long> getCountFuture(String eventId, String counter) {
+        return Futures.fromTask(getCountAsync(eventId, counter));
+    }
+
+    /**
+     * Reads a counter for a set of events on the I/O pool; see {@link #getCounts}.
+     */
+    default CompletableFuture<Map<String, Long>> getCountsAsync(Collection<String> eventIds, String counter) {
+        return Futures.supply(() -> getCounts(eventIds, counter));
+    }
+}
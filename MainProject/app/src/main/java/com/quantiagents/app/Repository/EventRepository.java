@@ -1,40 +1,28 @@
 package com.quantiagents.app.Repository;
 
-import android.util.Log;
-
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.google.android.gms.tasks.OnFailureListener;
 import com.google.android.gms.tasks.OnSuccessListener;
-import com.google.android.gms.tasks.Task;
-import com.google.android.gms.tasks.Tasks;
-import com.google.firebase.firestore.CollectionReference;
-import com.google.firebase.firestore.DocumentReference;
-import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
-import com.google.firebase.firestore.QuerySnapshot;
-import com.google.firebase.firestore.SetOptions;
 import com.quantiagents.app.models.Event;
+import com.quantiagents.app.models.RosterStats;
 
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * Manages direct data access for Events in Firestore.
- * Handles CRUD operations (Create, Read, Update, Delete).
+ * Data access for Events.
+ * <p>
+ * Who is on which roster is not stored here: the registration histories are the single source of
+ * truth, and an event's rosters are paged straight from them. The event only keeps each roster's
+ * size as a materialized count, repaired from the histories by {@link #writeRosterCounts}.
+ * Implemented by {@link FirestoreEventRepository} and by the in-memory backend.
+ * </p>
  */
-public class EventRepository {
-
-    private final CollectionReference context;
-
-    /**
-     * Constructs an EventRepository.
-     * @param fireBaseRepository The base repository providing access to the Firestore collection.
-     */
-    public EventRepository(FireBaseRepository fireBaseRepository) {
-        this.context = fireBaseRepository.getEventCollectionRef();
-    }
+public interface EventRepository {
 
     /**
      * Synchronously retrieves an Event by its unique ID.
@@ -46,32 +34,7 @@ public class EventRepository {
      * @param eventId The unique identifier of the event.
      * @return The Event object if found, or null if not found or if an error occurs.
      */
-    public Event getEventById(String eventId) {
-        if (eventId == null || eventId.trim().isEmpty()) {
-            Log.w("Firestore", "getEventById called with null or empty ID");
-            return null;
-        }
-
-        try {
-            DocumentSnapshot snapshot = Tasks.await(context.document(eventId).get());
-            if (snapshot.exists()) {
-                Event event = snapshot.toObject(Event.class);
-                if (event != null && (event.getEventId() == null || event.getEventId().trim().isEmpty())) {
-                    event.setEventId(snapshot.getId());
-                }
-                return event;
-            } else {
-                Log.d("Firestore", "No event found for ID: " + eventId);
-                return null;
-            }
-        } catch (IllegalArgumentException e) {
-            Log.e("Firestore", "Invalid argument for event ID: " + eventId, e);
-            return null;
-        } catch (Exception e) {
-            Log.e("Firestore", "Error getting event", e);
-            return null;
-        }
-    }
+    Event getEventById(String eventId);
 
     /**
      * Synchronously retrieves all events in the collection.
@@ -81,25 +44,7 @@ public class EventRepository {
      *
      * @return A list of all Event objects found in the database.
      */
-    public List<Event> getAllEvents() {
-        try {
-            QuerySnapshot snapshot = Tasks.await(context.get());
-            List<Event> events = new ArrayList<>();
-            for (QueryDocumentSnapshot document : snapshot) {
-                Event event = document.toObject(Event.class);
-                if (event != null) {
-                    if (event.getEventId() == null || event.getEventId().trim().isEmpty()) {
-                        event.setEventId(document.getId());
-                    }
-                    events.add(event);
-                }
-            }
-            return events;
-        } catch (Exception e) {
-            Log.e("Firestore", "Error getting all events", e);
-            return new ArrayList<>();
-        }
-    }
+    List<Event> getAllEvents();
 
     /**
      * Asynchronously retrieves all events in the collection.
@@ -107,70 +52,90 @@ public class EventRepository {
      * @param onSuccess Callback invoked with the List of Events upon success.
      * @param onFailure Callback invoked with the Exception upon failure.
      */
-    public void getAllEvents(OnSuccessListener<List<Event>> onSuccess, OnFailureListener onFailure) {
-        context.get()
-                .addOnSuccessListener(qs -> {
-                    List<Event> out = new ArrayList<>();
-                    for (QueryDocumentSnapshot d : qs) {
-                        Event e = d.toObject(Event.class);
-                        if (e != null) {
-                            if (e.getEventId() == null || e.getEventId().trim().isEmpty()) {
-                                e.setEventId(d.getId());
-                            }
-                            out.add(e);
-                        }
-                    }
-                    onSuccess.onSuccess(out);
-                })
-                .addOnFailureListener(onFailure);
-    }
+    void getAllEvents(OnSuccessListener<List<Event>> onSuccess, OnFailureListener onFailure);
 
     /**
      * Saves a new Event or updates an existing one if the ID matches.
      * <p>
-     * If the Event object has no ID, one will be auto-generated by Firestore,
-     * and the Event object will be updated with this new ID.
+     * If the Event object has no ID, one is generated client-side before the first write,
+     * so a retried write lands on the same document instead of creating a duplicate.
      * </p>
      *
      * @param event     The Event object to save.
      * @param onSuccess Callback invoked with the Event ID upon success.
      * @param onFailure Callback invoked with the Exception upon failure.
      */
-    public void saveEvent(Event event, OnSuccessListener<String> onSuccess, OnFailureListener onFailure) {
-        if (event.getEventId() == null || event.getEventId().trim().isEmpty()) {
-            Task<DocumentReference> addTask = context.add(event);
-            addTask.addOnSuccessListener(documentReference -> {
-                String docId = documentReference.getId();
-                String generatedId = docId;
-                event.setEventId(generatedId);
-                context.document(docId).update("eventId", generatedId)
-                        .addOnSuccessListener(aVoid -> onSuccess.onSuccess(generatedId))
-                        .addOnFailureListener(e -> onSuccess.onSuccess(generatedId));
-            }).addOnFailureListener(onFailure);
-        } else {
-            String eventId = event.getEventId();
-            context.document(eventId).set(event, SetOptions.merge())
-                    .addOnSuccessListener(aVoid -> onSuccess.onSuccess(eventId))
-                    .addOnFailureListener(onFailure);
-        }
-    }
+    void saveEvent(Event event, OnSuccessListener<String> onSuccess, OnFailureListener onFailure);
 
     /**
-     * Updates an existing Event in Firestore.
+     * Updates an existing Event.
      * <p>
-     * Performs a merge, updating only fields present in the object.
+     * Copies the event's details (title, dates, limits, status, poster...) onto the latest
+     * stored version inside a transaction. The roster sizes and the lottery flag are left as
+     * stored, so a stale copy can never undo a join or a draw; use {@link #recordDraw} for those.
+     * If the event does not exist yet it is created as is.
      * </p>
      *
-     * @param event     The Event object with updated data.
+     * @param event     The Event object with updated data; its version is set to the written one.
      * @param onSuccess Callback invoked upon successful update.
      * @param onFailure Callback invoked with the Exception upon failure.
      */
-    public void updateEvent(@NonNull Event event, @NonNull OnSuccessListener<Void> onSuccess, @NonNull OnFailureListener onFailure) {
-        context.document(event.getEventId())
-                .set(event, SetOptions.merge())
-                .addOnSuccessListener(aVoid -> onSuccess.onSuccess(aVoid))
-                .addOnFailureListener(onFailure);
-    }
+    void updateEvent(@NonNull Event event, @NonNull OnSuccessListener<Void> onSuccess, @NonNull OnFailureListener onFailure);
+
+    /**
+     * Applies a change to the latest stored version of an Event.
+     * <p>
+     * The mutation runs on the latest stored version of the event. If the event is written by
+     * someone else before the change is stored, the mutation may run again on the newer version,
+     * so it must only depend on the event it is given.
+     * </p>
+     *
+     * @param eventId   The ID of the event to change.
+     * @param mutation  The change; returns false to leave the event untouched.
+     * @param onSuccess Callback invoked with the event as written.
+     * @param onFailure Callback invoked with the Exception upon failure (NOT_FOUND if the event is missing).
+     */
+    void mutateEvent(@NonNull String eventId, @NonNull EventMutation mutation,
+                     @NonNull OnSuccessListener<Event> onSuccess, @NonNull OnFailureListener onFailure);
+
+    /**
+     * Records a lottery draw on an Event.
+     * <p>
+     * Marks the first draw as done and moves the winners' share of the roster sizes from the
+     * waiting list to the selected list. The winners' registration histories are the source of
+     * truth and are written separately; the sizes are only written with increments, so a draw
+     * never conflicts with other writes to the event.
+     * </p>
+     *
+     * @param eventId   The ID of the event that was drawn.
+     * @param winners   The number of entrants drawn.
+     * @param onSuccess Callback invoked upon success.
+     * @param onFailure Callback invoked with the Exception upon failure.
+     */
+    void recordDraw(@NonNull String eventId, int winners,
+                    @NonNull OnSuccessListener<Void> onSuccess, @NonNull OnFailureListener onFailure);
+
+    /**
+     * Synchronously overwrites the roster sizes of a set of events with exact counts
+     * (blocking - must be called from background thread).
+     * <p>
+     * Used to repair sizes that drifted from the registration histories.
+     * </p>
+     *
+     * @param countsByEvent The exact roster sizes of each event to repair.
+     * @return The number of events written.
+     */
+    int writeRosterCounts(Map<String, RosterStats> countsByEvent);
+
+    /**
+     * Synchronously retrieves one page of the event collection, ordered by event ID
+     * (blocking - must be called from background thread).
+     *
+     * @param afterEventId The last event ID of the previous page, or null for the first page.
+     * @param limit        The maximum number of events to return.
+     * @return The events of the page; empty past the last page or if an error occurs.
+     */
+    List<Event> getEventsPage(@Nullable String afterEventId, int limit);
 
     /**
      * Asynchronously deletes an event by its ID.
@@ -179,12 +144,7 @@ public class EventRepository {
      * @param onSuccess Callback invoked upon successful deletion.
      * @param onFailure Callback invoked upon failure.
      */
-    public void deleteEventById(String eventId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
-        context.document(eventId)
-                .delete()
-                .addOnSuccessListener(onSuccess)
-                .addOnFailureListener(onFailure);
-    }
+    void deleteEventById(String eventId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure);
 
     /**
      * Synchronously deletes an event by its ID.
@@ -192,13 +152,93 @@ public class EventRepository {
      * @param eventId The ID of the event to delete.
      * @return True if the deletion was successful (or no error occurred), false otherwise.
      */
-    public boolean deleteEventById(String eventId) {
-        try {
-            Tasks.await(context.document(eventId).delete());
-            return true;
-        } catch (Exception e) {
-            Log.e("Firestore", "Error deleting event", e);
-            return false;
-        }
+    boolean deleteEventById(String eventId);
+
+    /**
+     * Synchronously retrieves a set of events by ID.
+     * <p>
+     * Missing IDs are simply absent from the result.
+     * </p>
+     *
+     * @param eventIds The IDs of the events to fetch.
+     * @return The events that were found.
+     */
+    List<Event> getEventsByIds(Collection<String> eventIds);
+
+    /**
+     * Synchronously deletes a set of events.
+     *
+     * @param eventIds The IDs of the events to delete.
+     * @return The number of events deleted.
+     */
+    int deleteEventsByIds(Collection<String> eventIds);
+
+    /**
+     * A change applied to the latest stored version of an event by {@link #mutateEvent}.
+     */
+    interface EventMutation {
+        /**
+         * Changes the event in place.
+         *
+         * @param current The latest stored event.
+         * @return True if the event was changed and should be written.
+         */
+        boolean apply(@NonNull Event current);
+    }
+
+    /**
+     * Reads an event on the I/O pool; null if not found or on error.
+     */
+    default CompletableFuture<Event> getEventByIdAsync(String eventId) {
+        return Futures.supply(() -> getEventById(eventId));
+    }
+
+    /**
+     * Reads a set of events on the I/O pool; see {@link #getEventsByIds}.
+     */
+    default CompletableFuture<List<Event>> getEventsByIdsAsync(Collection<String> eventIds) {
+        return Futures.supply(() -> getEventsByIds(eventIds));
+    }
+
+    /**
+     * Reads every event as a future.
+     */
+    default CompletableFuture<List<Event>> getAllEventsAsync() {
+        return Futures.fromCallbacks(this::getAllEvents);
+    }
+
+    /**
+     * Saves an event as a future with its id.
+     */
+    default CompletableFuture<String> saveEventAsync(Event event) {
+        return Futures.fromCallbacks((ok, err) -> saveEvent(event, ok, err));
+    }
+
+    /**
+     * Updates an event as a future.
+     */
+    default CompletableFuture<Void> updateEventAsync(@NonNull Event event) {
+        return Futures.fromCallbacks((ok, err) -> updateEvent(event, ok, err));
+    }
+
+    /**
+     * Runs a mutation as a future with the event as committed.
+     */
+    default CompletableFuture<Event> mutateEventAsync(@NonNull String eventId, @NonNull EventMutation mutation) {
+        return Futures.fromCallbacks((ok, err) -> mutateEvent(eventId, mutation, ok, err));
+    }
+
+    /**
+     * Records a lottery draw as a future.
+     */
+    default CompletableFuture<Void> recordDrawAsync(@NonNull String eventId, int winners) {
+        return Futures.fromCallbacks((ok, err) -> recordDraw(eventId, winners, ok, err));
+    }
+
+    /**
+     * Deletes an event as a future.
+     */
+    default CompletableFuture<Void> deleteEventByIdAsync(String eventId) {
+        return Futures.fromCallbacks((ok, err) -> deleteEventById(eventId, ok, err));
     }
-}
\ No newline at end of file
+}
@@ -20,8 +20,12 @@ public class FireBaseRepository {
     private final CollectionReference LotteryCollectionRef;
     private final CollectionReference QrCodeCollectionRef;
     private final CollectionReference NotificationCollectionRef;
+    private final CollectionReference NotificationArchiveCollectionRef;
+    private final CollectionReference EventAnnouncementCollectionRef;
+    private final CollectionReference AnnouncementReadCollectionRef;
     private final CollectionReference GeoLocationCollectionRef;
     private final CollectionReference RegistrationHistoryCollectionRef;
+    private final CollectionReference EventCounterCollectionRef;
     private final CollectionReference DeviceIdCollectionRef;
     private final CollectionReference ChatCollectionRef;
     private final CollectionReference MessageCollectionRef;
@@ -39,8 +43,12 @@ public class FireBaseRepository {
         LotteryCollectionRef = db.collection(constant.LotteryCollectionName);
         QrCodeCollectionRef = db.collection(constant.QrCodeCollectionName);
         NotificationCollectionRef = db.collection(constant.NotificationCollectionName);
+        NotificationArchiveCollectionRef = db.collection(constant.NotificationArchiveCollectionName);
+        EventAnnouncementCollectionRef = db.collection(constant.EventAnnouncementCollectionName);
+        AnnouncementReadCollectionRef = db.collection(constant.AnnouncementReadCollectionName);
         GeoLocationCollectionRef = db.collection(constant.GeoLocationCollectionName);
         RegistrationHistoryCollectionRef = db.collection(constant.RegistrationHistoryCollectionName);
+        EventCounterCollectionRef = db.collection(constant.EventCounterCollectionName);
         DeviceIdCollectionRef = db.collection(constant.DeviceIdCollectionName);
         ChatCollectionRef = db.collection(constant.ChatCollectionName);
         MessageCollectionRef = db.collection(constant.MessageCollectionName);
@@ -101,6 +109,33 @@ public class FireBaseRepository {
         return NotificationCollectionRef;
     }
 
+    /**
+     * Gets the Firestore collection reference for archived notifications.
+     *
+     * @return The Notification archive collection reference
+     */
+    public CollectionReference getNotificationArchiveCollectionRef() {
+        return NotificationArchiveCollectionRef;
+    }
+
+    /**
+     * Gets the Firestore collection reference for event announcements.
+     *
+     * @return The EventAnnouncement collection reference
+     */
+    public CollectionReference getEventAnnouncementCollectionRef() {
+        return EventAnnouncementCollectionRef;
+    }
+
+    /**
+     * Gets the Firestore collection reference for announcement read markers.
+     *
+     * @return The AnnouncementRead collection reference
+     */
+    public CollectionReference getAnnouncementReadCollectionRef() {
+        return AnnouncementReadCollectionRef;
+    }
+
     /**
      * Gets the Firestore collection reference for geolocations.
      *
@@ -119,6 +154,15 @@ public class FireBaseRepository {
         return RegistrationHistoryCollectionRef;
     }
 
+    /**
+     * Gets the Firestore collection reference for sharded event counters.
+     *
+     * @return The EventCounter collection reference
+     */
+    public CollectionReference getEventCounterCollectionRef() {
+        return EventCounterCollectionRef;
+    }
+
     /**
      * Gets the Firestore collection reference for device IDs.
      *
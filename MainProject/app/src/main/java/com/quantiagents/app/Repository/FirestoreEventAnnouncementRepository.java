@@ -0,0 +1,155 @@
+package com.quantiagents.app.Repository;
+
+import android.util.Log;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SetOptions;
+import com.quantiagents.app.models.EventAnnouncement;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Manages saving and locating of event announcements and their per-user read markers
+ * <p>
+ * A read marker is one document per recipient per event (id: recipientId_affiliatedEventId)
+ * holding the timestamp up to which that recipient has read the event's announcements.
+ * </p>
+ * @see EventAnnouncement
+ */
+public class FirestoreEventAnnouncementRepository implements EventAnnouncementRepository {
+
+    private final CollectionReference context;
+    private final CollectionReference readMarkers;
+
+    public FirestoreEventAnnouncementRepository(FireBaseRepository fireBaseRepository) {
+        this.context = fireBaseRepository.getEventAnnouncementCollectionRef();
+        this.readMarkers = fireBaseRepository.getAnnouncementReadCollectionRef();
+    }
+
+    /**
+     * Saves an announcement, generating its id if it has none (blocking - must be called from background thread)
+     * @param announcement
+     * Announcement to save
+     * @return
+     * Returns a boolean for success
+     * @see EventAnnouncement
+     */
+    @Override
+    public boolean saveAnnouncement(EventAnnouncement announcement) {
+        if (announcement.getAnnouncementId() <= 0) {
+            int generatedId = context.document().getId().hashCode() & Integer.MAX_VALUE;
+            announcement.setAnnouncementId(generatedId == 0 ? 1 : generatedId);
+        }
+        try {
+            String docId = String.valueOf(announcement.getAnnouncementId());
+            Tasks.await(WriteRetry.run("saveAnnouncement", () -> context.document(docId).set(announcement)));
+            Log.d("Firestore", "Announcement saved: " + announcement.getAnnouncementId());
+            return true;
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e("Firestore", "Error saving announcement", e);
+            return false;
+        }
+    }
+
+    /**
+     * Gets the announcements of the given events sent after a cutoff, newest first (blocking - must be called from background thread)
+     * @param eventIds
+     * Event ids to look up, queried in whereIn chunks
+     * @param since
+     * Only announcements sent after this time
+     * @param limitPerChunk
+     * Max announcements read per chunk of event ids
+     * @return
+     * Returns list of announcements
+     * @see EventAnnouncement
+     */
+    @Override
+    public List<EventAnnouncement> getAnnouncementsForEvents(Collection<String> eventIds, Date since, int limitPerChunk) {
+        List<EventAnnouncement> out = new ArrayList<>();
+        for (List<String> chunk : BatchWriter.chunk(eventIds, BatchWriter.MAX_IN_CLAUSE)) {
+            try {
+                QuerySnapshot snapshot = Tasks.await(context.whereIn("eventId", new ArrayList<Object>(chunk))
+                        .whereGreaterThan("timestamp", since)
+                        .orderBy("timestamp", Query.Direction.DESCENDING)
+                        .limit(limitPerChunk)
+                        .get());
+                for (QueryDocumentSnapshot document : snapshot) {
+                    EventAnnouncement announcement = document.toObject(EventAnnouncement.class);
+                    if (announcement != null) {
+                        out.add(announcement);
+                    }
+                }
+            } catch (ExecutionException | InterruptedException e) {
+                Log.e("Firestore", "Error getting announcements", e);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Gets every read marker of a recipient (blocking - must be called from background thread)
+     * @param recipientId
+     * Recipient id to locate
+     * @return
+     * Returns map of affiliated event id to the time read up to
+     */
+    @Override
+    public Map<Integer, Date> getReadMarkers(int recipientId) {
+        Map<Integer, Date> markers = new HashMap<>();
+        try {
+            QuerySnapshot snapshot = Tasks.await(readMarkers.whereEqualTo("recipientId", recipientId).get());
+            for (QueryDocumentSnapshot document : snapshot) {
+                Long eventId = document.getLong("affiliatedEventId");
+                Timestamp readUpTo = document.getTimestamp("readUpTo");
+                if (eventId != null && readUpTo != null) {
+                    markers.put(eventId.intValue(), readUpTo.toDate());
+                }
+            }
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e("Firestore", "Error getting announcement read markers", e);
+        }
+        return markers;
+    }
+
+    /**
+     * Moves a recipient's read marker for one event
+     * @param recipientId
+     * Recipient id
+     * @param affiliatedEventId
+     * Hashed event id
+     * @param readUpTo
+     * Announcements sent at or before this time count as read
+     * @param onSuccess
+     * Calls a function on success
+     * @param onFailure
+     * Calls a function on failure
+     */
+    @Override
+    public void setReadMarker(int recipientId, int affiliatedEventId, Date readUpTo,
+                              OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("recipientId", recipientId);
+        data.put("affiliatedEventId", affiliatedEventId);
+        data.put("readUpTo", readUpTo);
+        String docId = recipientId + "_" + affiliatedEventId;
+        WriteRetry.run("setReadMarker", () -> readMarkers.document(docId).set(data, SetOptions.merge()))
+                .addOnSuccessListener(onSuccess)
+                .addOnFailureListener(e -> {
+                    Log.e("Firestore", "Error saving announcement read marker", e);
+                    onFailure.onFailure(e);
+                });
+    }
+}
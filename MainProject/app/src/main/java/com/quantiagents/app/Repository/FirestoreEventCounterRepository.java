@@ -0,0 +1,216 @@
+package com.quantiagents.app.Repository;
+
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.Transaction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Manages sharded per-event counters, such as the size of an event's waiting list
+ * <p>
+ * A counter is split over {@link #SHARD_COUNT} documents (id: eventId_counter_shard), each
+ * holding part of the total. Writers increment one random shard, so a burst of joins is spread
+ * over many documents instead of queueing on one; readers sum the shards with a single query.
+ * </p>
+ */
+public class FirestoreEventCounterRepository implements EventCounterRepository {
+
+    /** Shards per counter; each shard sustains about one write per second */
+    static final int SHARD_COUNT = 10;
+    private final CollectionReference context;
+
+    public FirestoreEventCounterRepository(FireBaseRepository fireBaseRepository) {
+        this.context = fireBaseRepository.getEventCounterCollectionRef();
+    }
+
+    /**
+     * Adds an increment of a counter to a transaction, on a random shard
+     * @param transaction
+     * Transaction to write in
+     * @param eventId
+     * Event id the counter belongs to
+     * @param counter
+     * Counter name, e.g. "WAITLIST"
+     * @param delta
+     * Amount to add (negative to subtract)
+     */
+    public void increment(Transaction transaction, String eventId, String counter, long delta) {
+        transaction.set(randomShard(eventId, counter), shardFields(eventId, counter, delta), SetOptions.merge());
+    }
+
+    /**
+     * Increments a counter on a random shard, through the write scheduler
+     * @param eventId
+     * Event id the counter belongs to
+     * @param counter
+     * Counter name, e.g. "WAITLIST"
+     * @param delta
+     * Amount to add (negative to subtract)
+     * @return
+     * Returns the task of the write
+     */
+    @Override
+    public Task<Void> increment(String eventId, String counter, long delta) {
+        return WriteScheduler.getInstance().enqueue(WriteScheduler.Lane.INTERACTIVE,
+                WriteScheduler.WriteOp.set(randomShard(eventId, counter), shardFields(eventId, counter, delta), SetOptions.merge()));
+    }
+
+    /**
+     * Gets the total of a counter by summing its shards
+     * @param eventId
+     * Event id the counter belongs to
+     * @param counter
+     * Counter name, e.g. "WAITLIST"
+     * @return
+     * Returns a task with the total (0 if the counter has no shards yet)
+     */
+    @Override
+    public Task<Long> getCountAsync(String eventId, String counter) {
+        return context.whereEqualTo("eventId", eventId)
+                .whereEqualTo("counter", counter)
+                .get()
+                .continueWith(task -> {
+                    long total = 0;
+                    for (QueryDocumentSnapshot document : task.getResult()) {
+                        Long count = document.getLong("count");
+                        if (count != null) total += count;
+                    }
+                    return total;
+                });
+    }
+
+    /**
+     * Gets the total of a counter by summing its shards (blocking - must be called from background thread)
+     * @param eventId
+     * Event id the counter belongs to
+     * @param counter
+     * Counter name, e.g. "WAITLIST"
+     * @return
+     * Returns the total, or 0 if it could not be read
+     */
+    @Override
+    public long getCount(String eventId, String counter) {
+        try {
+            return Tasks.await(getCountAsync(eventId, counter));
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e("Firestore", "Error getting counter " + counter + " of event " + eventId, e);
+            return 0;
+        }
+    }
+
+    /**
+     * Gets the totals of a counter for many events, using chunked whereIn queries (blocking - must be called from background thread)
+     * @param eventIds
+     * Event ids to look up
+     * @param counter
+     * Counter name, e.g. "WAITLIST"
+     * @return
+     * Returns map of event id to total; events without shards are absent
+     */
+    @Override
+    public Map<String, Long> getCounts(Collection<String> eventIds, String counter) {
+        Map<String, Long> totals = new HashMap<>();
+        for (List<String> chunk : BatchWriter.chunk(eventIds, BatchWriter.MAX_IN_CLAUSE)) {
+            try {
+                QuerySnapshot snapshot = Tasks.await(context.whereIn("eventId", new ArrayList<Object>(chunk))
+                        .whereEqualTo("counter", counter)
+                        .get());
+                for (QueryDocumentSnapshot document : snapshot) {
+                    String eventId = document.getString("eventId");
+                    Long count = document.getLong("count");
+                    if (eventId != null && count != null) {
+                        Long total = totals.get(eventId);
+                        totals.put(eventId, (total == null ? 0 : total) + count);
+                    }
+                }
+            } catch (ExecutionException | InterruptedException e) {
+                Log.e("Firestore", "Error getting counters " + counter, e);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Overwrites a counter with an exact total, e.g. after recounting from the source documents (blocking - must be called from background thread)
+     * <p>
+     * The total goes on shard 0 and the other shards are zeroed, in one batch.
+     * Increments committed between the recount and this write are lost, so only use it to repair drift.
+     * </p>
+     * @param eventId
+     * Event id the counter belongs to
+     * @param counter
+     * Counter name, e.g. "WAITLIST"
+     * @param total
+     * Exact total
+     * @return
+     * Returns a boolean for success
+     */
+    @Override
+    public boolean reset(String eventId, String counter, long total) {
+        List<WriteScheduler.WriteOp> ops = new ArrayList<>(SHARD_COUNT);
+        for (int shard = 0; shard < SHARD_COUNT; shard++) {
+            Map<String, Object> fields = new HashMap<>();
+            fields.put("eventId", eventId);
+            fields.put("counter", counter);
+            fields.put("count", shard == 0 ? total : 0L);
+            ops.add(WriteScheduler.WriteOp.set(shard(eventId, counter, shard), fields));
+        }
+        return WriteScheduler.getInstance()
+                .submit(WriteScheduler.Lane.INTERACTIVE, Collections.singletonList(WriteScheduler.WriteOp.group(ops))) > 0;
+    }
+
+    /**
+     * Deletes every shard of the given events' counters, using batched writes
+     * @param eventIds
+     * Event ids to clear
+     * @return
+     * Returns amount of shards deleted
+     */
+    @Override
+    public int deleteCountersByEventIds(Collection<String> eventIds) {
+        List<DocumentReference> refs = new ArrayList<>();
+        for (List<String> chunk : BatchWriter.chunk(eventIds, BatchWriter.MAX_IN_CLAUSE)) {
+            try {
+                QuerySnapshot snapshot = Tasks.await(context.whereIn("eventId", new ArrayList<Object>(chunk)).get());
+                for (QueryDocumentSnapshot document : snapshot) {
+                    refs.add(document.getReference());
+                }
+            } catch (ExecutionException | InterruptedException e) {
+                Log.e("Firestore", "Error collecting counters to delete", e);
+            }
+        }
+        return BatchWriter.deleteAll(refs);
+    }
+
+    private DocumentReference randomShard(String eventId, String counter) {
+        return shard(eventId, counter, ThreadLocalRandom.current().nextInt(SHARD_COUNT));
+    }
+
+    private DocumentReference shard(String eventId, String counter, int shard) {
+        return context.document(eventId + "_" + counter + "_" + shard);
+    }
+
+    private static Map<String, Object> shardFields(String eventId, String counter, long delta) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("eventId", eventId);
+        fields.put("counter", counter);
+        fields.put("count", FieldValue.increment(delta));
+        return fields;
+    }
+}
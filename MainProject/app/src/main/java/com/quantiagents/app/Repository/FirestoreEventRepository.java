@@ -0,0 +1,527 @@
+package com.quantiagents.app.Repository;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.EventListener;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.TransactionOptions;
+import com.quantiagents.app.Constants.constant;
+import com.quantiagents.app.models.Event;
+import com.quantiagents.app.models.Roster;
+import com.quantiagents.app.models.RosterStats;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Manages direct data access for Events in Firestore.
+ * Handles CRUD operations (Create, Read, Update, Delete).
+ * <p>
+ * Every write bumps the event's {@code version}. Who is on which roster is not stored here: the
+ * registration histories are the single source of truth, and an event's rosters are paged straight
+ * from them by (eventId, status). The event document only keeps each roster's size as a
+ * materialized count, which is adjusted with increments and repaired from the histories by
+ * {@link #writeRosterCounts}. Every other update is a read-modify-write inside a transaction,
+ * which Firestore re-runs against the latest version when another write lands in between.
+ * </p>
+ */
+public class FirestoreEventRepository implements EventRepository {
+
+    /** Times a contended event transaction is attempted before it fails */
+    static final int MAX_CONFLICT_ATTEMPTS = 5;
+    static final String FIELD_VERSION = "version";
+    /** Roster fields older events still carry; dropped when their counts are repaired */
+    static final String[] LEGACY_ROSTER_FIELDS = {
+            "waitingList", "selectedList", "confirmedList", "cancelledList", "waitingCount"};
+
+    private final CollectionReference context;
+    private final DocumentReads reads;
+    private final Roster.Source rosterSource;
+
+    /**
+     * Constructs an EventRepository.
+     * @param fireBaseRepository The base repository providing access to the Firestore collection.
+     */
+    public FirestoreEventRepository(FireBaseRepository fireBaseRepository) {
+        this(fireBaseRepository, new FirestoreRegistrationHistoryRepository(fireBaseRepository));
+    }
+
+    /**
+     * Constructs an EventRepository that reads rosters through a shared registration history repository.
+     * @param fireBaseRepository The base repository providing access to the Firestore collection.
+     * @param registrationHistoryRepository The repository rosters are paged from.
+     */
+    public FirestoreEventRepository(FireBaseRepository fireBaseRepository, RegistrationHistoryRepository registrationHistoryRepository) {
+        this.context = fireBaseRepository.getEventCollectionRef();
+        this.reads = DocumentReads.of(context);
+        this.rosterSource = registrationHistoryRepository::getUserIdsByStatus;
+    }
+
+    /**
+     * Synchronously retrieves an Event by its unique ID.
+     * <p>
+     * This method blocks the calling thread until the database operation completes.
+     * It includes safety checks for null or empty IDs to prevent crashes. Concurrent reads of
+     * the same event share one Firestore read, and a missing event is remembered briefly
+     * (see {@link DocumentReads}).
+     * </p>
+     *
+     * @param eventId The unique identifier of the event.
+     * @return The Event object if found, or null if not found or if an error occurs.
+     */
+    @Override
+    public Event getEventById(String eventId) {
+        if (eventId == null || eventId.trim().isEmpty()) {
+            Log.w("Firestore", "getEventById called with null or empty ID");
+            return null;
+        }
+
+        try {
+            DocumentSnapshot snapshot = Tasks.await(reads.get(context.document(eventId)));
+            if (snapshot.exists()) {
+                return toEvent(snapshot);
+            } else {
+                Log.d("Firestore", "No event found for ID: " + eventId);
+                return null;
+            }
+        } catch (IllegalArgumentException e) {
+            Log.e("Firestore", "Invalid argument for event ID: " + eventId, e);
+            return null;
+        } catch (Exception e) {
+            Log.e("Firestore", "Error getting event", e);
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves an Event by its unique ID as a future, joining the shared read directly instead of
+     * holding an I/O thread while it waits.
+     *
+     * @param eventId The unique identifier of the event.
+     * @return A future with the Event, or null if not found or if an error occurs.
+     */
+    @Override
+    public CompletableFuture<Event> getEventByIdAsync(String eventId) {
+        if (eventId == null || eventId.trim().isEmpty()) {
+            Log.w("Firestore", "getEventByIdAsync called with null or empty ID");
+            return CompletableFuture.completedFuture(null);
+        }
+        Task<DocumentSnapshot> read;
+        try {
+            read = reads.get(context.document(eventId));
+        } catch (IllegalArgumentException e) {
+            Log.e("Firestore", "Invalid argument for event ID: " + eventId, e);
+            return CompletableFuture.completedFuture(null);
+        }
+        // Deserialize on the I/O pool rather than whichever thread completed the read
+        return Futures.fromTask(read)
+                .thenApplyAsync(this::toEvent, Futures.io())
+                .exceptionally(e -> {
+                    Log.e("Firestore", "Error getting event", e);
+                    return null;
+                });
+    }
+
+    /**
+     * Synchronously retrieves all events in the collection.
+     * <p>
+     * This method blocks the calling thread.
+     * </p>
+     *
+     * @return A list of all Event objects found in the database.
+     */
+    @Override
+    public List<Event> getAllEvents() {
+        try {
+            QuerySnapshot snapshot = Tasks.await(context.get());
+            List<Event> events = new ArrayList<>();
+            for (QueryDocumentSnapshot document : snapshot) {
+                Event event = toEvent(document);
+                if (event != null) {
+                    events.add(event);
+                }
+            }
+            return events;
+        } catch (Exception e) {
+            Log.e("Firestore", "Error getting all events", e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Asynchronously retrieves all events in the collection.
+     *
+     * @param onSuccess Callback invoked with the List of Events upon success.
+     * @param onFailure Callback invoked with the Exception upon failure.
+     */
+    @Override
+    public void getAllEvents(OnSuccessListener<List<Event>> onSuccess, OnFailureListener onFailure) {
+        context.get()
+                .addOnSuccessListener(qs -> {
+                    List<Event> out = new ArrayList<>();
+                    for (QueryDocumentSnapshot d : qs) {
+                        Event e = toEvent(d);
+                        if (e != null) {
+                            out.add(e);
+                        }
+                    }
+                    onSuccess.onSuccess(out);
+                })
+                .addOnFailureListener(onFailure);
+    }
+
+    /**
+     * Saves a new Event or updates an existing one if the ID matches.
+     * <p>
+     * If the Event object has no ID, one is generated client-side before the first write,
+     * so a retried write lands on the same document instead of creating a duplicate.
+     * </p>
+     *
+     * @param event     The Event object to save.
+     * @param onSuccess Callback invoked with the Event ID upon success.
+     * @param onFailure Callback invoked with the Exception upon failure.
+     */
+    @Override
+    public void saveEvent(Event event, OnSuccessListener<String> onSuccess, OnFailureListener onFailure) {
+        if (event.getEventId() == null || event.getEventId().trim().isEmpty()) {
+            String generatedId = context.document().getId();
+            event.setEventId(generatedId);
+            reads.afterWrite(generatedId, WriteRetry.run("saveEvent", () -> context.document(generatedId).set(event)))
+                    .addOnSuccessListener(aVoid -> onSuccess.onSuccess(generatedId))
+                    .addOnFailureListener(onFailure);
+        } else {
+            String eventId = event.getEventId();
+            updateEvent(event, aVoid -> onSuccess.onSuccess(eventId), onFailure);
+        }
+    }
+
+    /**
+     * Updates an existing Event in Firestore.
+     * <p>
+     * Copies the event's details (title, dates, limits, status, poster...) onto the latest
+     * stored version inside a transaction. The roster sizes and the lottery flag are left as
+     * stored, so a stale copy can never undo a join or a draw; use {@link #recordDraw} for those.
+     * If the event does not exist yet it is created as is.
+     * </p>
+     *
+     * @param event     The Event object with updated data; its version is set to the written one.
+     * @param onSuccess Callback invoked upon successful update.
+     * @param onFailure Callback invoked with the Exception upon failure.
+     */
+    @Override
+    public void updateEvent(@NonNull Event event, @NonNull OnSuccessListener<Void> onSuccess, @NonNull OnFailureListener onFailure) {
+        DocumentReference ref = context.document(event.getEventId());
+        reads.afterWrite(ref.getId(), context.getFirestore().runTransaction(conflictOptions(), transaction -> {
+            DocumentSnapshot snapshot = transaction.get(ref);
+            Event current = snapshot.toObject(Event.class);
+            if (current == null) {
+                event.setVersion(1);
+                transaction.set(ref, event);
+                return 1L;
+            }
+            long version = current.getVersion() + 1;
+            current.copyDetailsFrom(event);
+            current.setEventId(event.getEventId());
+            current.setVersion(version);
+            transaction.set(ref, current, SetOptions.merge());
+            return version;
+        })).addOnSuccessListener(version -> {
+            event.setVersion(version);
+            onSuccess.onSuccess(null);
+        }).addOnFailureListener(e -> {
+            Log.e("Firestore", "Error updating event " + event.getEventId(), e);
+            onFailure.onFailure(e);
+        });
+    }
+
+    /**
+     * Applies a change to the latest stored version of an Event.
+     * <p>
+     * The mutation runs inside a transaction on a fresh copy of the event. If the event is
+     * written by someone else before the transaction commits, Firestore re-reads it and runs
+     * the mutation again, up to {@link #MAX_CONFLICT_ATTEMPTS} times, so the mutation must
+     * only depend on the event it is given.
+     * </p>
+     *
+     * @param eventId   The ID of the event to change.
+     * @param mutation  The change; returns false to leave the event untouched.
+     * @param onSuccess Callback invoked with the event as written.
+     * @param onFailure Callback invoked with the Exception upon failure (NOT_FOUND if the event is missing).
+     */
+    @Override
+    public void mutateEvent(@NonNull String eventId, @NonNull EventMutation mutation,
+                            @NonNull OnSuccessListener<Event> onSuccess, @NonNull OnFailureListener onFailure) {
+        DocumentReference ref = context.document(eventId);
+        reads.afterWrite(eventId, context.getFirestore().runTransaction(conflictOptions(), transaction -> {
+            Event current = toEvent(transaction.get(ref));
+            if (current == null) {
+                throw new FirebaseFirestoreException("Event not found: " + eventId,
+                        FirebaseFirestoreException.Code.NOT_FOUND);
+            }
+            current.setEventId(eventId);
+            if (mutation.apply(current)) {
+                current.setVersion(current.getVersion() + 1);
+                transaction.set(ref, current, SetOptions.merge());
+            }
+            return current;
+        })).addOnSuccessListener(onSuccess).addOnFailureListener(e -> {
+            Log.e("Firestore", "Error changing event " + eventId, e);
+            onFailure.onFailure(e);
+        });
+    }
+
+    /**
+     * Records a lottery draw on an Event.
+     * <p>
+     * Marks the first draw as done and adds the winners to the selected roster size. The winners'
+     * registration histories are the source of truth and are written separately, along with the
+     * decrement of the sharded WAITLIST counter; the event holds no waiting list size. The size is
+     * only written with an increment, so a draw never conflicts with other writes to the event.
+     * Because of the increment the write is not retried: a commit that timed out may still have
+     * been applied, and a second attempt would count the winners twice. A failed draw is repaired
+     * by the roster reconciler.
+     * </p>
+     *
+     * @param eventId   The ID of the event that was drawn.
+     * @param winners   The number of entrants drawn.
+     * @param onSuccess Callback invoked upon success.
+     * @param onFailure Callback invoked with the Exception upon failure.
+     */
+    @Override
+    public void recordDraw(@NonNull String eventId, int winners,
+                           @NonNull OnSuccessListener<Void> onSuccess, @NonNull OnFailureListener onFailure) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("firstLotteryDone", true);
+        fields.put(countField(constant.EventRegistrationStatus.SELECTED), FieldValue.increment(winners));
+        fields.put(FIELD_VERSION, FieldValue.increment(1));
+        DocumentReference ref = context.document(eventId);
+        reads.afterWrite(eventId, ref.update(fields))
+                .addOnSuccessListener(onSuccess)
+                .addOnFailureListener(e -> {
+                    Log.e("Firestore", "Error recording draw of event " + eventId, e);
+                    onFailure.onFailure(e);
+                });
+    }
+
+    /**
+     * Synchronously overwrites the roster sizes of a set of events with exact counts, using batched writes
+     * (blocking - must be called from background thread).
+     * <p>
+     * Used to repair sizes that drifted from the registration histories. The legacy roster arrays
+     * (waitingList, selectedList, confirmedList, cancelledList) and the old waitingCount, now the
+     * sharded WAITLIST counter, are removed in the same write.
+     * Writes go through the BULK lane so they never hold up interactive writes.
+     * </p>
+     *
+     * @param countsByEvent The exact roster sizes of each event to repair.
+     * @return The number of events written.
+     */
+    @Override
+    public int writeRosterCounts(Map<String, RosterStats> countsByEvent) {
+        List<WriteScheduler.WriteOp> ops = new ArrayList<>(countsByEvent.size());
+        for (Map.Entry<String, RosterStats> entry : countsByEvent.entrySet()) {
+            Map<String, Object> fields = new HashMap<>();
+            for (constant.EventRegistrationStatus status : Event.STORED_ROSTERS) {
+                fields.put(countField(status), entry.getValue().get(status));
+            }
+            for (String legacy : LEGACY_ROSTER_FIELDS) {
+                fields.put(legacy, FieldValue.delete());
+            }
+            fields.put(FIELD_VERSION, FieldValue.increment(1));
+            ops.add(WriteScheduler.WriteOp.update(context.document(entry.getKey()), fields));
+        }
+        int written = WriteScheduler.getInstance().submit(WriteScheduler.Lane.BULK, ops);
+        reads.invalidate(countsByEvent.keySet());
+        return written;
+    }
+
+    /**
+     * Synchronously retrieves one page of the event collection, ordered by event ID
+     * (blocking - must be called from background thread).
+     *
+     * @param afterEventId The last event ID of the previous page, or null for the first page.
+     * @param limit        The maximum number of events to return.
+     * @return The events of the page; empty past the last page or if an error occurs.
+     */
+    @Override
+    public List<Event> getEventsPage(@Nullable String afterEventId, int limit) {
+        Query query = context.orderBy(FieldPath.documentId());
+        if (afterEventId != null) {
+            query = query.startAfter(afterEventId);
+        }
+        try {
+            List<Event> events = new ArrayList<>();
+            for (QueryDocumentSnapshot document : Tasks.await(query.limit(limit).get())) {
+                Event event = toEvent(document);
+                if (event != null) {
+                    events.add(event);
+                }
+            }
+            return events;
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e("Firestore", "Error getting events page", e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Converts an event document into an Event whose rosters can be paged through (read from the registration histories).
+     *
+     * @param snapshot The event document.
+     * @return The Event, or null if the document does not exist.
+     */
+    @Nullable
+    public Event toEvent(DocumentSnapshot snapshot) {
+        Event event = snapshot.toObject(Event.class);
+        if (event != null) {
+            if (event.getEventId() == null || event.getEventId().trim().isEmpty()) {
+                event.setEventId(snapshot.getId());
+            }
+            event.attachRosterSource(rosterSource);
+        }
+        return event;
+    }
+
+    private static TransactionOptions conflictOptions() {
+        return new TransactionOptions.Builder().setMaxAttempts(MAX_CONFLICT_ATTEMPTS).build();
+    }
+
+
+    /**
+     * Asynchronously deletes an event by its ID.
+     *
+     * @param eventId   The ID of the event to delete.
+     * @param onSuccess Callback invoked upon successful deletion.
+     * @param onFailure Callback invoked upon failure.
+     */
+    @Override
+    public void deleteEventById(String eventId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        reads.afterWrite(eventId, context.document(eventId).delete())
+                .addOnSuccessListener(onSuccess)
+                .addOnFailureListener(onFailure);
+    }
+
+    /**
+     * Synchronously deletes an event by its ID.
+     *
+     * @param eventId The ID of the event to delete.
+     * @return True if the deletion was successful (or no error occurred), false otherwise.
+     */
+    @Override
+    public boolean deleteEventById(String eventId) {
+        try {
+            Tasks.await(reads.afterWrite(eventId, context.document(eventId).delete()));
+            return true;
+        } catch (Exception e) {
+            Log.e("Firestore", "Error deleting event", e);
+            return false;
+        }
+    }
+
+    /**
+     * Synchronously retrieves a set of events by ID using chunked whereIn queries.
+     * <p>
+     * Costs one query per 30 IDs instead of one read round-trip per event.
+     * Missing IDs are simply absent from the result.
+     * </p>
+     *
+     * @param eventIds The IDs of the events to fetch.
+     * @return The events that were found.
+     */
+    @Override
+    public List<Event> getEventsByIds(Collection<String> eventIds) {
+        List<Event> events = new ArrayList<>();
+        for (List<String> chunk : BatchWriter.chunk(eventIds, BatchWriter.MAX_IN_CLAUSE)) {
+            try {
+                QuerySnapshot snapshot = Tasks.await(context.whereIn(FieldPath.documentId(), chunk).get());
+                for (QueryDocumentSnapshot document : snapshot) {
+                    Event event = toEvent(document);
+                    if (event != null) {
+                        events.add(event);
+                    }
+                }
+            } catch (Exception e) {
+                Log.e("Firestore", "Error getting events by IDs", e);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Synchronously deletes a set of events using batched writes.
+     *
+     * @param eventIds The IDs of the events to delete.
+     * @return The number of events deleted.
+     */
+    @Override
+    public int deleteEventsByIds(Collection<String> eventIds) {
+        List<String> ids = new ArrayList<>();
+        List<DocumentReference> refs = new ArrayList<>();
+        for (String eventId : eventIds) {
+            if (eventId != null && !eventId.trim().isEmpty()) {
+                ids.add(eventId);
+                refs.add(context.document(eventId));
+            }
+        }
+        int deleted = BatchWriter.deleteAll(refs);
+        reads.invalidate(ids);
+        return deleted;
+    }
+
+    /**
+     * Sets up a real-time listener on the whole event collection.
+     * <p>
+     * The first callback carries every event; later callbacks carry only the changed
+     * documents in {@link QuerySnapshot#getDocumentChanges()}.
+     * </p>
+     *
+     * @param executor Executor the listener runs on (keeps deserialization off the main thread).
+     * @param listener Callback receiving each collection snapshot.
+     * @return ListenerRegistration that can be used to stop listening.
+     */
+    public ListenerRegistration listenToAllEvents(Executor executor, EventListener<QuerySnapshot> listener) {
+        return context.addSnapshotListener(executor, listener);
+    }
+
+    /**
+     * Gets the Event field holding the size of the roster of a registration status.
+     *
+     * @param status One of the {@link Event#STORED_ROSTERS}.
+     * @return The count field name, e.g. "selectedCount" for SELECTED.
+     */
+    public static String countField(@NonNull constant.EventRegistrationStatus status) {
+        switch (status) {
+            case SELECTED:
+                return "selectedCount";
+            case CONFIRMED:
+                return "confirmedCount";
+            case CANCELLED:
+                return "cancelledCount";
+            default:
+                throw new IllegalArgumentException("No roster for status " + status);
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.quantiagents.app.Repository;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SetOptions;
+import com.quantiagents.app.models.Image;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Manages functions for locating and saving images
+ * @see Image
+ */
+public class FirestoreImageRepository implements ImageRepository {
+
+    private final CollectionReference context;
+
+    public FirestoreImageRepository(FireBaseRepository fireBaseRepository) {
+        this.context = fireBaseRepository.getPosterCollectionRef();
+    }
+
+    /**
+     * Finds image by it's id
+     * @param imageId
+     * Image id to locate
+     * @return
+     * Returns Image if exists, null otherwise
+     * @see Image
+     */
+    @Override
+    public Image getImageById(String imageId) {
+        try {
+            DocumentSnapshot snapshot = Tasks.await(context.document(imageId).get());
+            if (snapshot.exists()) {
+                return snapshot.toObject(Image.class);
+            } else {
+                Log.d("Firestore", "No image found for ID: " + imageId);
+                return null;
+            }
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e("Firestore", "Error getting image", e);
+            return null;
+        }
+    }
+
+    /**
+     * Gets a list of all images
+     * @return
+     * Returns list of images
+     * @see Image
+     */
+    @Override
+    public List<Image> getAllImages() {
+        try {
+            QuerySnapshot snapshot = Tasks.await(context.get());
+            List<Image> images = new ArrayList<>();
+            for (QueryDocumentSnapshot document : snapshot) {
+                Image image = document.toObject(Image.class);
+                if (image != null) {
+                    images.add(image);
+                }
+            }
+            return images;
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e("Firestore", "Error getting all images", e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Saves image to the firebase
+     * @param image
+     * Image to save
+     * @param onSuccess
+     * Calls a function on success
+     * @param onFailure
+     * Calls a function on failure
+     * @see Image
+     */
+    @Override
+    public void saveImage(Image image, OnSuccessListener<String> onSuccess, OnFailureListener onFailure) {
+        // If imageId is null or empty, generate one client-side
+        if (image.getImageId() == null || image.getImageId().trim().isEmpty()) {
+            // Pick the document id before writing, so a retried write cannot create a duplicate
+            String generatedId = context.document().getId();
+            image.setImageId(generatedId);
+
+            WriteRetry.run("saveImage", () -> context.document(generatedId).set(image))
+                    .addOnSuccessListener(aVoid -> {
+                        Log.d("Firestore", "Image created with auto-generated ID: " + generatedId);
+                        onSuccess.onSuccess(generatedId);
+                    })
+                    .addOnFailureListener(onFailure);
+        } else {
+            // Check if image with this ID already exists
+            String imageId = image.getImageId();
+            DocumentReference docRef = context.document(imageId);
+            docRef.get().addOnSuccessListener(documentSnapshot -> {
+                if (documentSnapshot.exists()) {
+                    // Document exists, update it
+                    docRef.set(image, SetOptions.merge())
+                            .addOnSuccessListener(aVoid -> onSuccess.onSuccess(imageId))
+                            .addOnFailureListener(onFailure);
+                } else {
+                    // Document doesn't exist, create it
+                    docRef.set(image)
+                            .addOnSuccessListener(aVoid -> onSuccess.onSuccess(imageId))
+                            .addOnFailureListener(onFailure);
+                }
+            }).addOnFailureListener(onFailure);
+        }
+    }
+
+    /**
+     * Updates image in the firebase
+     * @param image
+     * Image to update
+     * @param onSuccess
+     * Calls a function on success
+     * @param onFailure
+     * Calls a function on failure
+     * @see Image
+     */
+    @Override
+    public void updateImage(@NonNull Image image,
+                           @NonNull OnSuccessListener<Void> onSuccess,
+                           @NonNull OnFailureListener onFailure) {
+        if (image.getImageId() == null || image.getImageId().isEmpty()) {
+            onFailure.onFailure(new IllegalArgumentException("Image ID cannot be null or empty"));
+            return;
+        }
+        WriteRetry.run("updateImage", () -> context.document(image.getImageId())
+                        .set(image, SetOptions.merge())) // merge only changed fields
+                .addOnSuccessListener(aVoid -> {
+                    Log.d("Firestore", "Image updated: " + image.getImageId());
+                    onSuccess.onSuccess(aVoid);
+                })
+                .addOnFailureListener(e -> {
+                    Log.e("Firestore", "Error updating image", e);
+                    onFailure.onFailure(e);
+                });
+    }
+
+    /**
+     * Deletes image via image id from the firebase
+     * @param imageId
+     * Image id to delete
+     * @param onSuccess
+     * Calls a function on success
+     * @param onFailure
+     * Calls a function on failure
+     * @see Image
+     */
+    @Override
+    public void deleteImageById(String imageId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        context.document(imageId)
+                .delete()
+                .addOnSuccessListener(onSuccess)
+                .addOnFailureListener(onFailure);
+    }
+
+    /**
+     * Deletes image via image id from the firebase
+     * @param imageId
+     * Image id to delete
+     * @return
+     * Returns boolean if success
+     */
+    @Override
+    public boolean deleteImageById(String imageId) {
+        try {
+            Tasks.await(context.document(imageId).delete());
+            Log.d("Firestore", "Image deleted: " + imageId);
+            return true;
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e("Firestore", "Error deleting image", e);
+            return false;
+        }
+    }
+
+    /**
+     * Deletes multiple images via the event's id from the firebase
+     * @param eventId
+     * Event id to delete images from
+     * @return
+     * Returns amount of images deleted
+     */
+    @Override
+    public int deleteImagesByEventId(String eventId) {
+        if (eventId == null || eventId.isEmpty()) {
+            return 0;
+        }
+        try {
+            QuerySnapshot snapshot = Tasks.await(context.whereEqualTo("eventId", eventId).get());
+            int removed = 0;
+            for (QueryDocumentSnapshot document : snapshot) {
+                try {
+                    Tasks.await(document.getReference().delete());
+                    removed++;
+                } catch (ExecutionException | InterruptedException e) {
+                    Log.e("Firestore", "Error deleting image during cascade", e);
+                }
+            }
+            Log.d("Firestore", "Deleted " + removed + " images for event: " + eventId);
+            return removed;
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e("Firestore", "Error getting images by event ID", e);
+            return 0;
+        }
+    }
+
+    /**
+     * Gets a list of images via their ids, using chunked whereIn queries
+     * @param imageIds
+     * Image ids to locate
+     * @return
+     * Returns list of images that were found
+     * @see Image
+     */
+    @Override
+    public List<Image> getImagesByIds(Collection<String> imageIds) {
+        List<Image> images = new ArrayList<>();
+        for (List<String> chunk : BatchWriter.chunk(imageIds, BatchWriter.MAX_IN_CLAUSE)) {
+            try {
+                QuerySnapshot snapshot = Tasks.await(context.whereIn(FieldPath.documentId(), chunk).get());
+                for (QueryDocumentSnapshot document : snapshot) {
+                    Image image = document.toObject(Image.class);
+                    if (image != null) {
+                        images.add(image);
+                    }
+                }
+            } catch (ExecutionException | InterruptedException e) {
+                Log.e("Firestore", "Error getting images by IDs", e);
+            }
+        }
+        return images;
+    }
+
+    /**
+     * Deletes multiple images via their ids, using batched writes
+     * @param imageIds
+     * Image ids to delete
+     * @return
+     * Returns amount of images deleted
+     */
+    @Override
+    public int deleteImagesByIds(Collection<String> imageIds) {
+        List<DocumentReference> refs = new ArrayList<>();
+        for (String imageId : imageIds) {
+            if (imageId != null && !imageId.trim().isEmpty()) {
+                refs.add(context.document(imageId));
+            }
+        }
+        return BatchWriter.deleteAll(refs);
+    }
+
+    /**
+     * Deletes every image belonging to any of the given events, using batched writes
+     * @param eventIds
+     * Event ids to delete images from
+     * @return
+     * Returns amount of images deleted
+     */
+    @Override
+    public int deleteImagesByEventIds(Collection<String> eventIds) {
+        List<DocumentReference> refs = new ArrayList<>();
+        for (List<String> chunk : BatchWriter.chunk(eventIds, BatchWriter.MAX_IN_CLAUSE)) {
+            try {
+                QuerySnapshot snapshot = Tasks.await(context.whereIn("eventId", chunk).get());
+                for (QueryDocumentSnapshot document : snapshot) {
+                    refs.add(document.getReference());
+                }
+            } catch (ExecutionException | InterruptedException e) {
+                Log.e("Firestore", "Error getting images by event IDs", e);
+            }
+        }
+        int removed = BatchWriter.deleteAll(refs);
+        Log.d("Firestore", "Deleted " + removed + " images for " + eventIds.size() + " events");
+        return removed;
+    }
+}
@@ -0,0 +1,176 @@
+package com.quantiagents.app.Repository;
+
+import android.util.Log;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SetOptions;
+import com.quantiagents.app.Constants.constant;
+import com.quantiagents.app.models.Notification;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Manages the cold tier of notifications
+ * <p>
+ * Compacted notifications are moved out of the NOTIFICATION collection into one archive
+ * document per recipient per month (id: recipientId_yyyyMM), each holding an array of
+ * compact entries. Moving is done in batches that append to the archive and delete the
+ * originals in the same commit, so nothing is lost or duplicated if a commit fails.
+ * </p>
+ * @see Notification
+ */
+public class FirestoreNotificationArchiveRepository implements NotificationArchiveRepository {
+
+    /** Notifications moved per batch; each costs one delete plus at most one archive write */
+    static final int MOVE_CHUNK = 200;
+
+    private final CollectionReference context;
+    private final CollectionReference hot;
+
+    public FirestoreNotificationArchiveRepository(FireBaseRepository fireBaseRepository) {
+        this.context = fireBaseRepository.getNotificationArchiveCollectionRef();
+        this.hot = fireBaseRepository.getNotificationCollectionRef();
+    }
+
+    /**
+     * Moves notifications into their recipients' archive documents (blocking - must be called from background thread)
+     * @param notifications
+     * Notifications to archive, already read from the hot collection
+     * @return
+     * Returns amount of notifications moved
+     * @see Notification
+     */
+    @Override
+    public int archive(List<Notification> notifications) {
+        int moved = 0;
+        for (List<Notification> chunk : BatchWriter.chunk(notifications, MOVE_CHUNK)) {
+            Map<String, List<Map<String, Object>>> entriesByDoc = new LinkedHashMap<>();
+            Map<String, int[]> keyByDoc = new HashMap<>();
+            List<WriteScheduler.WriteOp> ops = new ArrayList<>();
+            for (Notification notification : chunk) {
+                int month = monthOf(notification.getTimestamp());
+                String docId = notification.getRecipientId() + "_" + month;
+                entriesByDoc.computeIfAbsent(docId, k -> new ArrayList<>()).add(toEntry(notification));
+                keyByDoc.put(docId, new int[]{notification.getRecipientId(), month});
+                ops.add(WriteScheduler.WriteOp.delete(hot.document(String.valueOf(notification.getNotificationId()))));
+            }
+            for (Map.Entry<String, List<Map<String, Object>>> doc : entriesByDoc.entrySet()) {
+                int[] key = keyByDoc.get(doc.getKey());
+                Map<String, Object> data = new HashMap<>();
+                data.put("recipientId", key[0]);
+                data.put("month", key[1]);
+                data.put("entries", FieldValue.arrayUnion(doc.getValue().toArray()));
+                ops.add(WriteScheduler.WriteOp.set(context.document(doc.getKey()), data, SetOptions.merge()));
+            }
+            // Archive append and hot delete must commit together
+            if (BatchWriter.writeAll(Collections.singletonList(WriteScheduler.WriteOp.group(ops))) == 1) {
+                moved += chunk.size();
+            }
+        }
+        Log.d("Firestore", "Archived " + moved + " notifications");
+        return moved;
+    }
+
+    /**
+     * Gets archived notifications of a recipient, newest first (blocking - must be called from background thread)
+     * @param recipientId
+     * Recipient id to locate
+     * @param maxMonths
+     * How many of the most recent archive months to read
+     * @return
+     * Returns list of notifications
+     * @see Notification
+     */
+    @Override
+    public List<Notification> getArchivedNotifications(int recipientId, int maxMonths) {
+        List<Notification> out = new ArrayList<>();
+        try {
+            QuerySnapshot snapshot = Tasks.await(context.whereEqualTo("recipientId", recipientId)
+                    .orderBy("month", Query.Direction.DESCENDING)
+                    .limit(maxMonths)
+                    .get());
+            for (QueryDocumentSnapshot document : snapshot) {
+                Object entries = document.get("entries");
+                if (!(entries instanceof List)) continue;
+                for (Object entry : (List<?>) entries) {
+                    if (entry instanceof Map) {
+                        out.add(fromEntry(recipientId, (Map<?, ?>) entry));
+                    }
+                }
+            }
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e("Firestore", "Error getting archived notifications", e);
+        }
+        out.sort((a, b) -> {
+            Date d1 = a.getTimestamp();
+            Date d2 = b.getTimestamp();
+            if (d1 == null || d2 == null) return d1 == null ? (d2 == null ? 0 : 1) : -1;
+            return d2.compareTo(d1);
+        });
+        return out;
+    }
+
+    /**
+     * Converts a notification into a compact archive entry (short keys, recipient implied by the doc)
+     */
+    private static Map<String, Object> toEntry(Notification n) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("i", n.getNotificationId());
+        entry.put("t", n.getType() != null ? n.getType().name() : null);
+        entry.put("s", n.getSenderId());
+        entry.put("e", n.getAffiliatedEventId());
+        entry.put("st", n.getStatus());
+        entry.put("d", n.getDetails());
+        entry.put("ts", n.getTimestamp());
+        entry.put("r", n.isHasRead());
+        return entry;
+    }
+
+    private static Notification fromEntry(int recipientId, Map<?, ?> entry) {
+        constant.NotificationType type = null;
+        Object t = entry.get("t");
+        if (t instanceof String) {
+            try {
+                type = constant.NotificationType.valueOf((String) t);
+            } catch (IllegalArgumentException ignore) {
+                //unknown type from a newer version
+            }
+        }
+        Object ts = entry.get("ts");
+        Date timestamp = ts instanceof Timestamp ? ((Timestamp) ts).toDate() : ts instanceof Date ? (Date) ts : null;
+        return new Notification(
+                intOf(entry.get("i")),
+                type,
+                recipientId,
+                intOf(entry.get("s")),
+                intOf(entry.get("e")),
+                (String) entry.get("st"),
+                (String) entry.get("d"),
+                timestamp,
+                Boolean.TRUE.equals(entry.get("r")));
+    }
+
+    private static int intOf(Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+
+    private static int monthOf(Date date) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(date != null ? date : new Date());
+        return calendar.get(Calendar.YEAR) * 100 + calendar.get(Calendar.MONTH) + 1;
+    }
+}
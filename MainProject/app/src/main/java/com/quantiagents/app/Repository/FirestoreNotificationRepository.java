@@ -0,0 +1,463 @@
+package com.quantiagents.app.Repository;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SetOptions;
+import com.quantiagents.app.Constants.constant;
+import com.quantiagents.app.models.Notification;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Manages locating and saving of notifications
+ * @see Notification
+ */
+public class FirestoreNotificationRepository implements NotificationRepository {
+
+    private final CollectionReference context;
+
+    public FirestoreNotificationRepository(FireBaseRepository fireBaseRepository) {
+        this.context = fireBaseRepository.getNotificationCollectionRef();
+    }
+
+    /**
+     * Find notification by id (blocking - must be called from background thread)
+     * @param notificationId
+     * Notification id to locate
+     * @return
+     * Returns notification
+     * @see Notification
+     */
+    @Override
+    public Notification getNotificationById(int notificationId) {
+        try {
+            DocumentSnapshot snapshot = Tasks.await(context.document(String.valueOf(notificationId)).get());
+            if (snapshot.exists()) {
+                return snapshot.toObject(Notification.class);
+            } else {
+                Log.d("Firestore", "No notification found for ID: " + notificationId);
+                return null;
+            }
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e("Firestore", "Error getting notification", e);
+            return null;
+        }
+    }
+
+    /**
+     * Find notification by id (callback-based - safe to call from main thread)
+     * @param notificationId
+     * Notification id to locate
+     * @param onSuccess
+     * Calls a function on success with the notification (or null if not found)
+     * @param onFailure
+     * Calls a function on failure
+     * @see Notification
+     */
+    @Override
+    public void getNotificationById(int notificationId, 
+                                    OnSuccessListener<Notification> onSuccess, 
+                                    OnFailureListener onFailure) {
+        context.document(String.valueOf(notificationId))
+                .get()
+                .addOnSuccessListener(documentSnapshot -> {
+                    if (documentSnapshot.exists()) {
+                        Notification notification = documentSnapshot.toObject(Notification.class);
+                        Log.d("Firestore", "Notification found: " + notificationId);
+                        onSuccess.onSuccess(notification);
+                    } else {
+                        Log.d("Firestore", "No notification found for ID: " + notificationId);
+                        onSuccess.onSuccess(null);
+                    }
+                })
+                .addOnFailureListener(e -> {
+                    Log.e("Firestore", "Error getting notification", e);
+                    onFailure.onFailure(e);
+                });
+    }
+
+    /**
+     * Gets a list of all notifications
+     * @return
+     * Returns a list of notifications
+     * @see Notification
+     */
+    @Override
+    public List<Notification> getAllNotifications() {
+        try {
+            QuerySnapshot snapshot = Tasks.await(context.get());
+            List<Notification> notifications = new ArrayList<>();
+            for (QueryDocumentSnapshot document : snapshot) {
+                Notification notification = document.toObject(Notification.class);
+                if (notification != null) {
+                    notifications.add(notification);
+                }
+            }
+            return notifications;
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e("Firestore", "Error getting all notifications", e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Gets one page of notifications ordered by timestamp descending, filtered on the server (blocking - must be called from background thread)
+     * <p>
+     * Each filter is an equality on a field that has a (field, timestamp desc) composite index,
+     * so a page costs at most limit document reads regardless of collection size.
+     * </p>
+     * @param type
+     * Only notifications of this type, or null for any
+     * @param recipientId
+     * Only notifications for this recipient, or null for any
+     * @param eventId
+     * Only notifications affiliated with this event, or null for any
+     * @param startAfter
+     * Cursor from the previous page (a document snapshot), or null for the first page
+     * @param limit
+     * Page size
+     * @return
+     * Returns the page (empty with no more pages on error)
+     * @see Notification
+     */
+    @Override
+    public NotificationPage getNotificationsPage(@Nullable constant.NotificationType type,
+                                                 @Nullable Integer recipientId,
+                                                 @Nullable Integer eventId,
+                                                 @Nullable Object startAfter,
+                                                 int limit) {
+        Query query = context;
+        if (type != null) {
+            query = query.whereEqualTo("type", type.name());
+        }
+        if (recipientId != null) {
+            query = query.whereEqualTo("recipientId", recipientId);
+        }
+        if (eventId != null) {
+            query = query.whereEqualTo("affiliatedEventId", eventId);
+        }
+        query = query.orderBy("timestamp", Query.Direction.DESCENDING);
+        if (startAfter != null) {
+            query = query.startAfter((DocumentSnapshot) startAfter);
+        }
+        try {
+            QuerySnapshot snapshot = Tasks.await(query.limit(limit).get());
+            List<Notification> notifications = new ArrayList<>();
+            DocumentSnapshot last = null;
+            for (QueryDocumentSnapshot document : snapshot) {
+                Notification notification = document.toObject(Notification.class);
+                if (notification != null) {
+                    notifications.add(notification);
+                }
+                last = document;
+            }
+            return new NotificationPage(notifications, last, snapshot.size() == limit);
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e("Firestore", "Error getting notification page", e);
+            return new NotificationPage(new ArrayList<>(), null, false);
+        }
+    }
+
+    /**
+     * Saves a notification to the firebase
+     * @param notification
+     * Notification to save
+     * @param onSuccess
+     * Calls a function on success
+     * @param onFailure
+     * Calls a function on failure
+     * @see Notification
+     */
+    @Override
+    public void saveNotification(Notification notification, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        // If notificationId is 0 or negative, generate one and use it as the Document ID
+        if (notification.getNotificationId() <= 0) {
+            // Generate a random ID locally from a new document reference
+            String autoDocId = context.document().getId();
+            // Hash it to an int to match the model's ID type
+            int generatedId = autoDocId.hashCode() & Integer.MAX_VALUE;
+            if (generatedId == 0) {
+                generatedId = (int) (System.currentTimeMillis() % Integer.MAX_VALUE);
+                if (generatedId == 0) generatedId = 1; // Ensure positive and non-zero
+            }
+
+            notification.setNotificationId(generatedId);
+
+            // Save with the generated INT as the document key so getById(int) works
+            int finalGeneratedId = generatedId;
+            WriteRetry.run("saveNotification", () -> context.document(String.valueOf(finalGeneratedId)).set(notification))
+                    .addOnSuccessListener(aVoid -> {
+                        Log.d("Firestore", "Notification created with ID: " + finalGeneratedId);
+                        onSuccess.onSuccess(aVoid);
+                    })
+                    .addOnFailureListener(onFailure);
+        } else {
+            // Check if notification with this ID already exists
+            DocumentReference docRef = context.document(String.valueOf(notification.getNotificationId()));
+            docRef.get().addOnSuccessListener(documentSnapshot -> {
+                if (documentSnapshot.exists()) {
+                    // Document exists, update it
+                    docRef.set(notification, SetOptions.merge())
+                            .addOnSuccessListener(onSuccess)
+                            .addOnFailureListener(onFailure);
+                } else {
+                    // Document doesn't exist, create it
+                    docRef.set(notification)
+                            .addOnSuccessListener(onSuccess)
+                            .addOnFailureListener(onFailure);
+                }
+            }).addOnFailureListener(onFailure);
+        }
+    }
+
+    /**
+     * Saves many new notifications using batched writes (blocking - must be called from background thread)
+     * @param notifications
+     * Notifications to save, ids are generated the same way as saveNotification
+     * @return
+     * Returns amount of notifications saved
+     * @see Notification
+     */
+    @Override
+    public int saveNotifications(List<Notification> notifications) {
+        List<WriteScheduler.WriteOp> ops = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            if (notification.getNotificationId() <= 0) {
+                int generatedId = context.document().getId().hashCode() & Integer.MAX_VALUE;
+                notification.setNotificationId(generatedId == 0 ? 1 : generatedId);
+            }
+            ops.add(WriteScheduler.WriteOp.set(context.document(String.valueOf(notification.getNotificationId())), notification));
+        }
+        int saved = BatchWriter.writeAll(ops);
+        Log.d("Firestore", "Batch saved " + saved + " notifications");
+        return saved;
+    }
+
+    /**
+     * Upserts coalesced notifications by id using batched writes (blocking - must be called from background thread)
+     * <p>
+     * Each notification's document is created if missing, otherwise its text, timestamp and sender
+     * are replaced, it is marked unread, and its message count is incremented server-side by the
+     * given notification's message count, so no read is needed first.
+     * </p>
+     * @param notifications
+     * Notifications with fixed ids, each carrying the count to add
+     * @return
+     * Returns amount of notifications written
+     * @see Notification
+     */
+    @Override
+    public int upsertCoalescedNotifications(List<Notification> notifications) {
+        List<WriteScheduler.WriteOp> ops = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            Map<String, Object> data = new HashMap<>();
+            data.put("notificationId", notification.getNotificationId());
+            data.put("type", notification.getType() != null ? notification.getType().name() : null);
+            data.put("recipientId", notification.getRecipientId());
+            data.put("senderId", notification.getSenderId());
+            data.put("affiliatedEventId", notification.getAffiliatedEventId());
+            data.put("status", notification.getStatus());
+            data.put("details", notification.getDetails());
+            data.put("timestamp", notification.getTimestamp());
+            data.put("hasRead", false);
+            data.put("messageCount", FieldValue.increment(notification.getMessageCount()));
+            ops.add(WriteScheduler.WriteOp.set(context.document(String.valueOf(notification.getNotificationId())),
+                    data, SetOptions.merge()));
+        }
+        int saved = BatchWriter.writeAll(ops);
+        Log.d("Firestore", "Upserted " + saved + " coalesced notifications");
+        return saved;
+    }
+
+    /**
+     * Updates a notification in the firebase
+     * @param notification
+     * Notification to update
+     * @param onSuccess
+     * Calls a function on success
+     * @param onFailure
+     * Calls a function on failure
+     * @see Notification
+     */
+    @Override
+    public void updateNotification(@NonNull Notification notification,
+                                   @NonNull OnSuccessListener<Void> onSuccess,
+                                   @NonNull OnFailureListener onFailure) {
+        WriteRetry.run("updateNotification", () -> context.document(String.valueOf(notification.getNotificationId()))
+                        .set(notification, SetOptions.merge())) // merge only changed fields
+                .addOnSuccessListener(aVoid -> {
+                    Log.d("Firestore", "Notification updated: " + notification.getNotificationId());
+                    onSuccess.onSuccess(aVoid);
+                })
+                .addOnFailureListener(e -> {
+                    Log.e("Firestore", "Error updating notification", e);
+                    onFailure.onFailure(e);
+                });
+    }
+
+    /**
+     * Deletes a notification from the firebase
+     * @param notificationId
+     * Notification id to delete
+     * @param onSuccess
+     * Calls a function on success
+     * @param onFailure
+     * Calls a function on failure
+     */
+    @Override
+    public void deleteNotificationById(int notificationId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        context.document(String.valueOf(notificationId))
+                .delete()
+                .addOnSuccessListener(onSuccess)
+                .addOnFailureListener(onFailure);
+    }
+
+    /**
+     * Deletes a notification via it's id from the firebase
+     * @param notificationId
+     * Notification id to delete
+     * @return
+     * Returns boolean if success
+     */
+    @Override
+    public boolean deleteNotificationById(int notificationId) {
+        try {
+            Tasks.await(context.document(String.valueOf(notificationId)).delete());
+            Log.d("Firestore", "Notification deleted: " + notificationId);
+            return true;
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e("Firestore", "Error deleting notification", e);
+            return false;
+        }
+    }
+
+    /**
+     * Gets a list of notifications from recipient id, newest first
+     * @param recipientId
+     * Recipient id to locate
+     * @return
+     * Returns list of notifications
+     */
+    @Override
+    public List<Notification> getNotificationsByRecipientId(int recipientId) {
+        try {
+            // Sorted on the server (recipientId, timestamp desc index) so callers need not re-sort
+            QuerySnapshot snapshot = Tasks.await(context.whereEqualTo("recipientId", recipientId)
+                    .orderBy("timestamp", Query.Direction.DESCENDING).get());
+            List<Notification> notifications = new ArrayList<>();
+            for (QueryDocumentSnapshot document : snapshot) {
+                Notification notification = document.toObject(Notification.class);
+                if (notification != null) {
+                    notifications.add(notification);
+                }
+            }
+            return notifications;
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e("Firestore", "Error getting notifications by recipient ID", e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Gets list of unread notifications from recipient id
+     * @param recipientId
+     * Recipient id to locate
+     * @return
+     * Returns list of notifications
+     * @see Notification
+     */
+    @Override
+    public List<Notification> getUnreadNotificationsByRecipientId(int recipientId) {
+        try {
+            QuerySnapshot snapshot = Tasks.await(context.whereEqualTo("recipientId", recipientId)
+                    .whereEqualTo("hasRead", false).get());
+            List<Notification> notifications = new ArrayList<>();
+            for (QueryDocumentSnapshot document : snapshot) {
+                Notification notification = document.toObject(Notification.class);
+                if (notification != null) {
+                    notifications.add(notification);
+                }
+            }
+            return notifications;
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e("Firestore", "Error getting unread notifications by recipient ID", e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Gets a recipient's oldest notifications of a type created before a cutoff (blocking - must be called from background thread)
+     * @param recipientId
+     * Recipient id to match
+     * @param type
+     * Notification type to match
+     * @param cutoff
+     * Only notifications older than this
+     * @param limit
+     * Max notifications to return
+     * @return
+     * Returns list of notifications, oldest first
+     * @see Notification
+     */
+    @Override
+    public List<Notification> getNotificationsOlderThan(int recipientId, constant.NotificationType type, Date cutoff, int limit) {
+        return queryOldest(context.whereEqualTo("recipientId", recipientId).whereEqualTo("type", type.name()), cutoff, limit);
+    }
+
+    /**
+     * Gets a recipient's oldest read notifications created before a cutoff (blocking - must be called from background thread)
+     * @param recipientId
+     * Recipient id to match
+     * @param cutoff
+     * Only notifications older than this
+     * @param limit
+     * Max notifications to return
+     * @return
+     * Returns list of notifications, oldest first
+     * @see Notification
+     */
+    @Override
+    public List<Notification> getReadNotificationsOlderThan(int recipientId, Date cutoff, int limit) {
+        return queryOldest(context.whereEqualTo("recipientId", recipientId).whereEqualTo("hasRead", true), cutoff, limit);
+    }
+
+    private List<Notification> queryOldest(Query query, Date cutoff, int limit) {
+        try {
+            QuerySnapshot snapshot = Tasks.await(query.whereLessThan("timestamp", cutoff)
+                    .orderBy("timestamp", Query.Direction.ASCENDING)
+                    .limit(limit)
+                    .get());
+            List<Notification> notifications = new ArrayList<>();
+            for (QueryDocumentSnapshot document : snapshot) {
+                Notification notification = document.toObject(Notification.class);
+                if (notification != null) {
+                    notifications.add(notification);
+                }
+            }
+            return notifications;
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e("Firestore", "Error getting old notifications", e);
+            return new ArrayList<>();
+        }
+    }
+}
@@ -0,0 +1,676 @@
+package com.quantiagents.app.Repository;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.AggregateQuerySnapshot;
+import com.google.firebase.firestore.AggregateSource;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SetOptions;
+import com.quantiagents.app.Constants.constant;
+import com.quantiagents.app.models.RegistrationHistory;
+import com.quantiagents.app.models.RosterStats;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Manages locating and saving of registration histories
+ * <p>
+ * Registration histories are the single source of truth for who is on which of an event's rosters:
+ * a status change is one write to the history (id: eventId_userId), and the rosters shown for an
+ * event are queried from here by (eventId, status). The roster sizes kept on the Event document are
+ * derived from these histories and repaired by the RosterReconciler.
+ * </p>
+ * <p>
+ * Joining and leaving a waiting list also keep the event's sharded WAITLIST counter in step
+ * (see {@link EventCounterRepository}), so neither touches the Event document.
+ * </p>
+ * @see RegistrationHistory
+ */
+public class FirestoreRegistrationHistoryRepository implements RegistrationHistoryRepository {
+
+    /** Field the registration status is stored in, as the enum name */
+    static final String FIELD_STATUS = "eventRegistrationStatus";
+    static final String FIELD_REGISTERED_AT = "registeredAt";
+    /** Statuses in {@link RosterStats} constructor order */
+    private static final constant.EventRegistrationStatus[] ROSTER_ORDER = {
+            constant.EventRegistrationStatus.WAITLIST, constant.EventRegistrationStatus.SELECTED,
+            constant.EventRegistrationStatus.CONFIRMED, constant.EventRegistrationStatus.CANCELLED};
+
+    private final CollectionReference context;
+    private final FirestoreEventCounterRepository counters;
+
+    public FirestoreRegistrationHistoryRepository(FireBaseRepository fireBaseRepository) {
+        this(fireBaseRepository, new FirestoreEventCounterRepository(fireBaseRepository));
+    }
+
+    /**
+     * Constructs a RegistrationHistoryRepository that shares an event counter repository
+     * @param fireBaseRepository
+     * Base repository providing the collection
+     * @param counters
+     * Repository of the sharded WAITLIST counters
+     */
+    public FirestoreRegistrationHistoryRepository(FireBaseRepository fireBaseRepository, FirestoreEventCounterRepository counters) {
+        this.context = fireBaseRepository.getRegistrationHistoryCollectionRef();
+        this.counters = counters;
+    }
+
+    /**
+     * Returns the registration history via an event id and a user id
+     * @param eventId
+     * Event id to locate
+     * @param userId
+     * User id to locate
+     * @return
+     * Returns a registration history
+     * @see RegistrationHistory
+     */
+    @Override
+    public RegistrationHistory getRegistrationHistoryByEventIdAndUserId(String eventId, String userId) {
+        try {
+            String docId = eventId + "_" + userId;
+            DocumentSnapshot snapshot = Tasks.await(context.document(docId).get());
+            if (snapshot.exists()) {
+                return snapshot.toObject(RegistrationHistory.class);
+            } else {
+                Log.d("Firestore", "No registration history found for eventId: " + eventId + ", userId: " + userId);
+                return null;
+            }
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e("Firestore", "Error getting registration history", e);
+            return null;
+        }
+    }
+
+    /**
+     * Returns a list of all registration histories
+     * @return
+     * Returns a list of registration histories
+     * @see RegistrationHistory
+     */
+    @Override
+    public List<RegistrationHistory> getAllRegistrationHistories() {
+        try {
+            QuerySnapshot snapshot = Tasks.await(context.get());
+            List<RegistrationHistory> histories = new ArrayList<>();
+            for (QueryDocumentSnapshot document : snapshot) {
+                RegistrationHistory history = document.toObject(RegistrationHistory.class);
+                if (history != null) {
+                    histories.add(history);
+                }
+            }
+            return histories;
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e("Firestore", "Error getting all registration histories", e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Returns a list of registration histories via an event id
+     * @param eventId
+     * Event id to search for
+     * @return
+     * Returns a list of registration histories
+     * @see RegistrationHistory
+     */
+    @Override
+    public List<RegistrationHistory> getRegistrationHistoriesByEventId(String eventId) {
+        try {
+            QuerySnapshot snapshot = Tasks.await(context.whereEqualTo("eventId", eventId).get());
+            List<RegistrationHistory> histories = new ArrayList<>();
+            for (QueryDocumentSnapshot document : snapshot) {
+                RegistrationHistory history = document.toObject(RegistrationHistory.class);
+                if (history != null) {
+                    histories.add(history);
+                }
+            }
+            return histories;
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e("Firestore", "Error getting registration histories by event ID", e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Returns the registration histories of an event that have one of the given statuses
+     * @param eventId
+     * Event id to search for
+     * @param statuses
+     * Statuses to match (at most 30)
+     * @return
+     * Returns a list of registration histories, in no particular order
+     * @see RegistrationHistory
+     */
+    @Override
+    public List<RegistrationHistory> getRegistrationHistoriesByEventIdAndStatus(String eventId, constant.EventRegistrationStatus... statuses) {
+        try {
+            return toHistories(Tasks.await(byStatus(eventId, statuses).get()));
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e("Firestore", "Error getting registration histories by event ID and status", e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Returns one page of the registration histories of an event with a given status, oldest registration first
+     * <p>
+     * Served by the (eventId, eventRegistrationStatus, registeredAt) composite index.
+     * Histories without a registration date are not returned.
+     * </p>
+     * @param eventId
+     * Event id to search for
+     * @param status
+     * Status to match
+     * @param after
+     * Last registration history of the previous page, or null for the first page
+     * @param limit
+     * Maximum amount of registration histories to return
+     * @return
+     * Returns a list of registration histories, ordered by registration date
+     * @see RegistrationHistory
+     */
+    @Override
+    public List<RegistrationHistory> getRegistrationHistoriesPage(String eventId, constant.EventRegistrationStatus status,
+                                                                  @Nullable RegistrationHistory after, int limit) {
+        // Ties on registeredAt are broken by document id, so the cursor never skips or repeats a history
+        Query query = byStatus(eventId, status)
+                .orderBy(FIELD_REGISTERED_AT)
+                .orderBy(FieldPath.documentId());
+        if (after != null && after.getRegisteredAt() != null) {
+            query = query.startAfter(after.getRegisteredAt(), eventId + "_" + after.getUserId());
+        }
+        try {
+            return toHistories(Tasks.await(query.limit(limit).get()));
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e("Firestore", "Error getting registration histories page", e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Returns one page of the user ids with a given status on an event, ordered by user id
+     * @param eventId
+     * Event id to search for
+     * @param status
+     * Registration status of the roster
+     * @param afterUserId
+     * Last user id of the previous page, or null for the first page
+     * @param limit
+     * Maximum amount of user ids to return
+     * @return
+     * Returns a task with the user ids of the page
+     */
+    @Override
+    public Task<List<String>> getUserIdsByStatus(@NonNull String eventId, @NonNull constant.EventRegistrationStatus status,
+                                                 @Nullable String afterUserId, int limit) {
+        // Document ids are eventId_userId, so within one event they sort by user id
+        Query query = byStatus(eventId, status).orderBy(FieldPath.documentId());
+        if (afterUserId != null) {
+            query = query.startAfter(eventId + "_" + afterUserId);
+        }
+        return query.limit(limit).get().continueWith(Runnable::run, task -> {
+            List<String> userIds = new ArrayList<>();
+            for (QueryDocumentSnapshot document : task.getResult()) {
+                String userId = document.getString("userId");
+                if (userId != null) {
+                    userIds.add(userId);
+                }
+            }
+            return userIds;
+        });
+    }
+
+    /**
+     * Gets the number of entrants on each of an event's rosters, using count() aggregation queries
+     * <p>
+     * The four per-status counts run together and cost one aggregation read each (per 1000 matching
+     * histories) instead of one read per history. Results are cached for {@link RosterStatsCache#TTL_MS};
+     * registration history writes made through this repository drop the event's entry.
+     * </p>
+     * @param eventId
+     * Event id to count
+     * @return
+     * Returns a task with the roster stats
+     */
+    @Override
+    public Task<RosterStats> getRosterStatsAsync(String eventId) {
+        RosterStats cached = RosterStatsCache.get(eventId);
+        if (cached != null) {
+            return Tasks.forResult(cached);
+        }
+        long startedAt = RosterStatsCache.generation();
+        return countByStatus(eventId).continueWith(Runnable::run, task -> {
+            RosterStats stats = task.getResult();
+            RosterStatsCache.put(eventId, stats, startedAt);
+            return stats;
+        });
+    }
+
+    /**
+     * Gets the number of entrants on each of an event's rosters (blocking - must be called from background thread)
+     * @param eventId
+     * Event id to count
+     * @return
+     * Returns the roster stats, or null if they could not be counted
+     * @see #getRosterStatsAsync(String)
+     */
+    @Nullable
+    @Override
+    public RosterStats getRosterStats(String eventId) {
+        try {
+            return Tasks.await(getRosterStatsAsync(eventId));
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e("Firestore", "Error counting rosters of event " + eventId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Counts the rosters of many events from the server, bypassing the cache (blocking - must be called from background thread)
+     * <p>
+     * All aggregation queries are started before any is awaited.
+     * </p>
+     * @param eventIds
+     * Event ids to count
+     * @return
+     * Returns map of event id to its roster stats; events that could not be counted are absent
+     */
+    @Override
+    public Map<String, RosterStats> countRosters(Collection<String> eventIds) {
+        long startedAt = RosterStatsCache.generation();
+        Map<String, Task<RosterStats>> pending = new HashMap<>();
+        for (String eventId : eventIds) {
+            pending.put(eventId, countByStatus(eventId));
+        }
+        Map<String, RosterStats> counts = new HashMap<>();
+        for (Map.Entry<String, Task<RosterStats>> entry : pending.entrySet()) {
+            try {
+                RosterStats stats = Tasks.await(entry.getValue());
+                counts.put(entry.getKey(), stats);
+                RosterStatsCache.put(entry.getKey(), stats, startedAt);
+            } catch (ExecutionException | InterruptedException e) {
+                Log.e("Firestore", "Error counting rosters of event " + entry.getKey(), e);
+            }
+        }
+        return counts;
+    }
+
+    private Task<RosterStats> countByStatus(String eventId) {
+        List<Task<AggregateQuerySnapshot>> counts = new ArrayList<>(ROSTER_ORDER.length);
+        for (constant.EventRegistrationStatus status : ROSTER_ORDER) {
+            counts.add(byStatus(eventId, status).count().get(AggregateSource.SERVER));
+        }
+        return Tasks.whenAllSuccess(counts).continueWith(Runnable::run, task -> {
+            List<Object> results = task.getResult();
+            return new RosterStats(
+                    ((AggregateQuerySnapshot) results.get(0)).getCount(),
+                    ((AggregateQuerySnapshot) results.get(1)).getCount(),
+                    ((AggregateQuerySnapshot) results.get(2)).getCount(),
+                    ((AggregateQuerySnapshot) results.get(3)).getCount());
+        });
+    }
+
+    /**
+     * Returns a list of registration histories via a user id
+     * @param userId
+     * User id to search for
+     * @return
+     * Returns a list of registration histories
+     * @see RegistrationHistory
+     */
+    @Override
+    public List<RegistrationHistory> getRegistrationHistoriesByUserId(String userId) {
+        try {
+            QuerySnapshot snapshot = Tasks.await(context.whereEqualTo("userId", userId).get());
+            List<RegistrationHistory> histories = new ArrayList<>();
+            for (QueryDocumentSnapshot document : snapshot) {
+                RegistrationHistory history = document.toObject(RegistrationHistory.class);
+                if (history != null) {
+                    histories.add(history);
+                }
+            }
+            return histories;
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e("Firestore", "Error getting registration histories by user ID", e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Saves a registration history to the firebase
+     * @param history
+     * Registration history to save
+     * @param onSuccess
+     * Calls a function on success
+     * @param onFailure
+     * Calls a function on failure
+     * @see RegistrationHistory
+     */
+    @Override
+    public void saveRegistrationHistory(RegistrationHistory history, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        if (history == null) {
+            onFailure.onFailure(new IllegalArgumentException("Registration history cannot be null"));
+            return;
+        }
+        // Use composite key: eventId_userId
+        String docId = history.getEventId() + "_" + history.getUserId();
+        WriteScheduler.getInstance()
+                .enqueue(WriteScheduler.Lane.INTERACTIVE, WriteScheduler.WriteOp.set(context.document(docId), history))
+                .addOnCompleteListener(Runnable::run, task -> RosterStatsCache.invalidate(history.getEventId()))
+                .addOnSuccessListener(onSuccess)
+                .addOnFailureListener(onFailure);
+    }
+
+    /**
+     * Puts a user on an event's waiting list
+     * <p>
+     * Checks the waiting list limit against the sharded counter, then writes the registration
+     * history and increments one counter shard in a transaction that only reads the user's own
+     * history document, so concurrent joins do not contend with each other. The limit check
+     * is not part of the transaction: a burst of joins may overshoot the limit by the number
+     * of joins in flight at the moment it is reached.
+     * </p>
+     * @param history
+     * Registration history to save, with WAITLIST status
+     * @param waitingListLimit
+     * Waiting list limit of the event, 0 for no limit
+     * @param onSuccess
+     * Calls a function on success
+     * @param onFailure
+     * Calls a function on failure (IllegalStateException if full or already registered)
+     * @see RegistrationHistory
+     */
+    @Override
+    public void joinWaitlist(@NonNull RegistrationHistory history, double waitingListLimit,
+                             @NonNull OnSuccessListener<Void> onSuccess, @NonNull OnFailureListener onFailure) {
+        String eventId = history.getEventId();
+        DocumentReference ref = context.document(eventId + "_" + history.getUserId());
+        counters.getCountAsync(eventId, EventCounterRepository.WAITLIST)
+                .continueWithTask(countTask -> {
+                    long waiting = countTask.getResult();
+                    if (waitingListLimit > 0 && waiting >= waitingListLimit) {
+                        throw new IllegalStateException("Waiting list is full");
+                    }
+                    return context.getFirestore().<Void>runTransaction(transaction -> {
+                        if (transaction.get(ref).exists()) {
+                            throw new IllegalStateException("Already registered for this event");
+                        }
+                        transaction.set(ref, history);
+                        counters.increment(transaction, eventId, EventCounterRepository.WAITLIST, 1);
+                        return null;
+                    });
+                })
+                .addOnCompleteListener(Runnable::run, task -> RosterStatsCache.invalidate(eventId))
+                .addOnSuccessListener(onSuccess)
+                .addOnFailureListener(e -> {
+                    Log.e("Firestore", "Error joining waiting list of event " + eventId, e);
+                    onFailure.onFailure(e);
+                });
+    }
+
+    /**
+     * Removes a user's registration for an event, decrementing the waiting list counter if they were on it
+     * @param eventId
+     * Event id to search for
+     * @param userId
+     * User id to search for
+     * @param onSuccess
+     * Calls a function on success (also when there was no registration)
+     * @param onFailure
+     * Calls a function on failure
+     */
+    @Override
+    public void leaveWaitlist(@NonNull String eventId, @NonNull String userId,
+                              @NonNull OnSuccessListener<Void> onSuccess, @NonNull OnFailureListener onFailure) {
+        DocumentReference ref = context.document(eventId + "_" + userId);
+        context.getFirestore().<Void>runTransaction(transaction -> {
+            RegistrationHistory existing = transaction.get(ref).toObject(RegistrationHistory.class);
+            if (existing == null) {
+                return null;
+            }
+            transaction.delete(ref);
+            if (existing.getEventRegistrationStatus() == constant.EventRegistrationStatus.WAITLIST) {
+                counters.increment(transaction, eventId, EventCounterRepository.WAITLIST, -1);
+            }
+            return null;
+        }).addOnCompleteListener(Runnable::run, task -> RosterStatsCache.invalidate(eventId))
+                .addOnSuccessListener(onSuccess).addOnFailureListener(e -> {
+            Log.e("Firestore", "Error leaving waiting list of event " + eventId, e);
+            onFailure.onFailure(e);
+        });
+    }
+
+    /**
+     * Gets the number of entrants on an event's waiting list from its sharded counter (blocking - must be called from background thread)
+     * @param eventId
+     * Event id to count
+     * @return
+     * Returns the waiting list size
+     */
+    @Override
+    public long getWaitingCount(String eventId) {
+        return counters.getCount(eventId, EventCounterRepository.WAITLIST);
+    }
+
+    /**
+     * Gets the waiting list sizes of many events from their sharded counters (blocking - must be called from background thread)
+     * @param eventIds
+     * Event ids to count
+     * @return
+     * Returns map of event id to waiting list size; events nobody joined yet are absent
+     */
+    @Override
+    public Map<String, Long> getWaitingCounts(Collection<String> eventIds) {
+        return counters.getCounts(eventIds, EventCounterRepository.WAITLIST);
+    }
+
+    /**
+     * Adjusts an event's waiting list counter after histories left the waiting list outside of leaveWaitlist,
+     * or to correct drift found by recounting
+     * @param eventId
+     * Event id the entrants left
+     * @param delta
+     * Amount to add (negative when entrants left)
+     */
+    @Override
+    public void adjustWaitingCount(String eventId, long delta) {
+        counters.increment(eventId, EventCounterRepository.WAITLIST, delta)
+                .addOnFailureListener(e -> Log.e("Firestore", "Error adjusting waiting count of event " + eventId, e));
+    }
+
+    /**
+     * Updates a registration history in the firebase
+     * @param history
+     * Registration history to update
+     * @param onSuccess
+     * Calls a function on success
+     * @param onFailure
+     * Calls a function on failure
+     * @see RegistrationHistory
+     */
+    @Override
+    public void updateRegistrationHistory(@NonNull RegistrationHistory history,
+                                         @NonNull OnSuccessListener<Void> onSuccess,
+                                         @NonNull OnFailureListener onFailure) {
+        // Use composite key: eventId_userId
+        String docId = history.getEventId() + "_" + history.getUserId();
+        WriteScheduler.getInstance()
+                .enqueue(WriteScheduler.Lane.INTERACTIVE, // merge only changed fields
+                        WriteScheduler.WriteOp.set(context.document(docId), history, SetOptions.merge()))
+                .addOnCompleteListener(Runnable::run, task -> RosterStatsCache.invalidate(history.getEventId()))
+                .addOnSuccessListener(aVoid -> {
+                    Log.d("Firestore", "Registration history updated: eventId=" + history.getEventId() + ", userId=" + history.getUserId());
+                    onSuccess.onSuccess(aVoid);
+                })
+                .addOnFailureListener(e -> {
+                    Log.e("Firestore", "Error updating registration history", e);
+                    onFailure.onFailure(e);
+                });
+    }
+
+    /**
+     * Updates many registration histories using batched writes (blocking - must be called from background thread)
+     * @param histories
+     * Registration histories to update, merged into their existing documents
+     * @return
+     * Returns amount of registration histories updated
+     * @see RegistrationHistory
+     */
+    @Override
+    public int updateRegistrationHistories(List<RegistrationHistory> histories) {
+        List<WriteScheduler.WriteOp> ops = new ArrayList<>(histories.size());
+        for (RegistrationHistory history : histories) {
+            String docId = history.getEventId() + "_" + history.getUserId();
+            ops.add(WriteScheduler.WriteOp.set(context.document(docId), history, SetOptions.merge()));
+        }
+        int updated = BatchWriter.writeAll(ops);
+        for (RegistrationHistory history : histories) {
+            RosterStatsCache.invalidate(history.getEventId());
+        }
+        Log.d("Firestore", "Batch updated " + updated + " registration histories");
+        return updated;
+    }
+
+    /**
+     * Deletes a registration history by an event id and a user id from the firebase
+     * @param eventId
+     * Event id to search for
+     * @param userId
+     * User id to search for
+     * @param onSuccess
+     * Calls a function on success
+     * @param onFailure
+     * Calls a function on failure
+     */
+    @Override
+    public void deleteRegistrationHistoryByEventIdAndUserId(String eventId, String userId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        String docId = eventId + "_" + userId;
+        context.document(docId)
+                .delete()
+                .addOnCompleteListener(Runnable::run, task -> RosterStatsCache.invalidate(eventId))
+                .addOnSuccessListener(onSuccess)
+                .addOnFailureListener(onFailure);
+    }
+
+    /**
+     * Deletes a registration history by an event id and a user id from the firebase
+     * @param eventId
+     * Event id to search for
+     * @param userId
+     * User id to search for
+     * @return
+     * Returns a boolean for success
+     */
+    @Override
+    public boolean deleteRegistrationHistoryByEventIdAndUserId(String eventId, String userId) {
+        try {
+            String docId = eventId + "_" + userId;
+            Tasks.await(context.document(docId).delete());
+            Log.d("Firestore", "Registration history deleted: eventId=" + eventId + ", userId=" + userId);
+            return true;
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e("Firestore", "Error deleting registration history", e);
+            return false;
+        } finally {
+            RosterStatsCache.invalidate(eventId);
+        }
+    }
+
+    /**
+     * Deletes every registration history belonging to any of the given events, using batched writes
+     * @param eventIds
+     * Event ids to clear
+     * @return
+     * Returns amount of registration histories deleted
+     */
+    @Override
+    public int deleteRegistrationHistoriesByEventIds(Collection<String> eventIds) {
+        int deleted = BatchWriter.deleteAll(collectReferencesWhereIn("eventId", eventIds));
+        for (String eventId : eventIds) {
+            RosterStatsCache.invalidate(eventId);
+        }
+        return deleted;
+    }
+
+    /**
+     * Deletes every registration history belonging to any of the given users, using batched writes
+     * @param userIds
+     * User ids to clear
+     * @return
+     * Returns amount of registration histories deleted
+     */
+    @Override
+    public int deleteRegistrationHistoriesByUserIds(Collection<String> userIds) {
+        int deleted = BatchWriter.deleteAll(collectReferencesWhereIn("userId", userIds));
+        // The users' events are not known here
+        RosterStatsCache.invalidateAll();
+        return deleted;
+    }
+
+    private Query byStatus(String eventId, constant.EventRegistrationStatus... statuses) {
+        Query query = context.whereEqualTo("eventId", eventId);
+        if (statuses.length == 1) {
+            return query.whereEqualTo(FIELD_STATUS, statuses[0].name());
+        }
+        List<Object> names = new ArrayList<>(statuses.length);
+        for (constant.EventRegistrationStatus status : statuses) {
+            names.add(status.name());
+        }
+        return query.whereIn(FIELD_STATUS, names);
+    }
+
+    private static List<RegistrationHistory> toHistories(QuerySnapshot snapshot) {
+        List<RegistrationHistory> histories = new ArrayList<>();
+        for (QueryDocumentSnapshot document : snapshot) {
+            RegistrationHistory history = document.toObject(RegistrationHistory.class);
+            if (history != null) {
+                histories.add(history);
+            }
+        }
+        return histories;
+    }
+
+    /**
+     * Collects document references matching a whereIn filter, chunked to the Firestore limit
+     * @param field
+     * Field to filter on
+     * @param values
+     * Values to match
+     * @return
+     * Returns de-duplicated list of matching references
+     */
+    private List<DocumentReference> collectReferencesWhereIn(String field, Collection<String> values) {
+        Map<String, DocumentReference> refs = new LinkedHashMap<>();
+        for (List<String> chunk : BatchWriter.chunk(values, BatchWriter.MAX_IN_CLAUSE)) {
+            try {
+                QuerySnapshot snapshot = Tasks.await(context.whereIn(field, chunk).get());
+                for (QueryDocumentSnapshot document : snapshot) {
+                    refs.put(document.getId(), document.getReference());
+                }
+            } catch (ExecutionException | InterruptedException e) {
+                Log.e("Firestore", "Error getting registration histories by " + field, e);
+            }
+        }
+        return new ArrayList<>(refs.values());
+    }
+}
@@ -0,0 +1,391 @@
+package com.quantiagents.app.Repository;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.EventListener;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.Source;
+import com.quantiagents.app.models.User;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Direct Firestore access layer to keep SDK details out of the services.
+ * Provides data access methods for User entities.
+ */
+public class FirestoreUserRepository implements UserRepository {
+
+    private final CollectionReference context;
+    private final DocumentReads reads;
+
+    /**
+     * Constructor that initializes the UserRepository with a FireBaseRepository.
+     *
+     * @param fireBaseRepository Wrapper around the Firebase entry points
+     */
+    public FirestoreUserRepository(FireBaseRepository fireBaseRepository) {
+        this.context = fireBaseRepository.getUserCollectionRef();
+        this.reads = DocumentReads.of(context);
+    }
+
+    /**
+     * Fetches a user document by id. Used sparingly since most flows key off device id.
+     * Concurrent reads of the same user share one Firestore read (see {@link DocumentReads}).
+     * CRITICAL FIX: Checks for invalid ID before calling Firestore to prevent IllegalArgumentException crash.
+     *
+     * @param userId The unique identifier of the user to retrieve
+     * @return The User object if found, null otherwise
+     */
+    @Override
+    public User getUserById(String userId) {
+        // CRITICAL FIX: Check for invalid ID before calling Firestore to prevent IllegalArgumentException crash
+        if (userId == null || userId.trim().isEmpty()) {
+            Log.w("Firestore", "getUserById called with null or empty ID");
+            return null;
+        }
+
+        try {
+            DocumentSnapshot snapshot = Tasks.await(reads.get(context.document(userId)));
+            if (snapshot.exists()) {
+                return snapshot.toObject(User.class);
+            } else {
+                Log.d("Firestore", "No user found for ID: " + userId);
+                return null;
+            }
+        } catch (IllegalArgumentException e) {
+            Log.e("Firestore", "Invalid argument for user ID: " + userId, e);
+            return null;
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e("Firestore", "Error getting user", e);
+            return null;
+        } catch (Exception e) {
+            Log.e("Firestore", "Unexpected error getting user", e);
+            return null;
+        }
+    }
+
+    /**
+     * Asynchronously fetches a user by their user ID.
+     *
+     * @param userId The unique identifier of the user to retrieve
+     * @param onSuccess Callback invoked with the User object if found, or null if not found
+     * @param onFailure Callback invoked if an error occurs or userId is invalid
+     */
+    @Override
+    public void getUserById(String userId, OnSuccessListener<User> onSuccess, OnFailureListener onFailure) {
+        if (userId == null || userId.trim().isEmpty()) {
+            onFailure.onFailure(new IllegalArgumentException("User ID cannot be null or empty"));
+            return;
+        }
+        reads.get(context.document(userId))
+                .addOnSuccessListener(documentSnapshot -> {
+                    if (documentSnapshot.exists()) {
+                        User user = documentSnapshot.toObject(User.class);
+                        onSuccess.onSuccess(user);
+                    } else {
+                        Log.d("Firestore", "No user found for ID: " + userId);
+                        onSuccess.onSuccess(null);
+                    }
+                })
+                .addOnFailureListener(e -> {
+                    Log.e("Firestore", "Error getting user", e);
+                    onFailure.onFailure(e);
+                });
+    }
+
+    /**
+     * Synchronously fetches a user by their device ID.
+     * Efficiently queries Firestore instead of downloading the entire collection.
+     *
+     * @param deviceId The device ID to search for
+     * @return The User object if found, null otherwise
+     */
+    @Override
+    public User getUserByDeviceId(String deviceId) {
+        if (deviceId == null || deviceId.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            QuerySnapshot snapshot = Tasks.await(context.whereEqualTo("deviceId", deviceId).get());
+            if (!snapshot.isEmpty()) {
+                // Assuming one user per device ID, take the first match
+                return snapshot.getDocuments().get(0).toObject(User.class);
+            }
+            return null;
+        } catch (Exception e) {
+            Log.e("Firestore", "Error getting user by device ID", e);
+            return null;
+        }
+    }
+
+    /**
+     * Asynchronously fetches a user by their device ID.
+     */
+    @Override
+    public void getUserByDeviceId(String deviceId, OnSuccessListener<User> onSuccess, OnFailureListener onFailure) {
+        if (deviceId == null || deviceId.trim().isEmpty()) {
+            onSuccess.onSuccess(null);
+            return;
+        }
+        context.whereEqualTo("deviceId", deviceId).get()
+                .addOnSuccessListener(querySnapshot -> {
+                    if (!querySnapshot.isEmpty()) {
+                        User user = querySnapshot.getDocuments().get(0).toObject(User.class);
+                        onSuccess.onSuccess(user);
+                    } else {
+                        onSuccess.onSuccess(null);
+                    }
+                })
+                .addOnFailureListener(e -> {
+                    Log.e("Firestore", "Error getting user by device ID", e);
+                    onFailure.onFailure(e);
+                });
+    }
+
+    /**
+     * Upserts the user document, auto-generating an id if none was provided.
+     */
+    @Override
+    public void saveUser(User user, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        if (user.getUserId() == null || user.getUserId().trim().isEmpty()) {
+            // Client-generated id, so a retried write cannot create a duplicate user
+            String docId = context.document().getId();
+            user.setUserId(docId);
+            reads.afterWrite(docId, WriteRetry.run("saveUser", () -> context.document(docId).set(user)))
+                    .addOnSuccessListener(aVoid -> {
+                        Log.d("Firestore", "User created with auto-generated ID: " + docId);
+                        onSuccess.onSuccess(aVoid);
+                    })
+                    .addOnFailureListener(onFailure);
+        } else {
+            DocumentReference docRef = context.document(user.getUserId());
+            docRef.get().addOnSuccessListener(documentSnapshot -> {
+                if (documentSnapshot.exists()) {
+                    reads.afterWrite(docRef.getId(), docRef.set(user, SetOptions.merge()))
+                            .addOnSuccessListener(onSuccess)
+                            .addOnFailureListener(onFailure);
+                } else {
+                    reads.afterWrite(docRef.getId(), docRef.set(user))
+                            .addOnSuccessListener(onSuccess)
+                            .addOnFailureListener(onFailure);
+                }
+            }).addOnFailureListener(onFailure);
+        }
+    }
+
+    /**
+     * Writes a merge update for the supplied user id.
+     */
+    @Override
+    public void updateUser(@NonNull User user,
+                           @NonNull OnSuccessListener<Void> onSuccess,
+                           @NonNull OnFailureListener onFailure) {
+        reads.afterWrite(user.getUserId(),
+                        WriteRetry.run("updateUser", () -> context.document(user.getUserId()).set(user, SetOptions.merge())))
+                .addOnSuccessListener(aVoid -> {
+                    Log.d("Firestore", "User updated: " + user.getUserId());
+                    onSuccess.onSuccess(aVoid);
+                })
+                .addOnFailureListener(e -> {
+                    Log.e("Firestore", "Error updating user", e);
+                    onFailure.onFailure(e);
+                });
+    }
+
+    /**
+     * Deletes the given user document outright.
+     */
+    @Override
+    public void deleteUserById(String userId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        if (userId == null || userId.trim().isEmpty()) {
+            Log.e("Firestore", "Cannot delete user: userId is null or empty");
+            onFailure.onFailure(new IllegalArgumentException("userId cannot be null or empty"));
+            return;
+        }
+        reads.afterWrite(userId, context.document(userId).delete())
+                .addOnSuccessListener(onSuccess)
+                .addOnFailureListener(onFailure);
+    }
+
+    /**
+     * Fetches a set of users by id with chunked whereIn queries instead of one read per user.
+     * Ids that don't exist are simply missing from the result.
+     *
+     * @param userIds The ids of the users to retrieve
+     * @return The users that were found
+     */
+    @Override
+    public List<User> getUsersByIds(Collection<String> userIds) {
+        List<User> users = new ArrayList<>();
+        for (List<String> chunk : BatchWriter.chunk(userIds, BatchWriter.MAX_IN_CLAUSE)) {
+            try {
+                QuerySnapshot snapshot = Tasks.await(context.whereIn(FieldPath.documentId(), chunk).get());
+                for (QueryDocumentSnapshot document : snapshot) {
+                    User user = document.toObject(User.class);
+                    if (user != null) {
+                        users.add(user);
+                    }
+                }
+            } catch (ExecutionException | InterruptedException e) {
+                Log.e("Firestore", "Error getting users by IDs", e);
+            }
+        }
+        return users;
+    }
+
+    /**
+     * Deletes a set of user documents with batched writes (blocking).
+     *
+     * @param userIds The ids of the users to delete
+     * @return The number of users deleted
+     */
+    @Override
+    public int deleteUsersByIds(Collection<String> userIds) {
+        List<String> ids = new ArrayList<>();
+        List<DocumentReference> refs = new ArrayList<>();
+        for (String userId : userIds) {
+            if (userId != null && !userId.trim().isEmpty()) {
+                ids.add(userId);
+                refs.add(context.document(userId));
+            }
+        }
+        int deleted = BatchWriter.deleteAll(refs);
+        reads.invalidate(ids);
+        return deleted;
+    }
+
+    /**
+     * Reads using the default cache policy; fine for most UI flows.
+     */
+    @Override
+    public List<User> getAllUsers() {
+        try {
+            QuerySnapshot snapshot = Tasks.await(context.get());
+            List<User> users = new ArrayList<>();
+            for (QueryDocumentSnapshot document : snapshot) {
+                User user = document.toObject(User.class);
+                if (user != null) {
+                    users.add(user);
+                }
+            }
+            return users;
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e("Firestore", "Error getting all users", e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Forces a server fetch; I only call this when tests need the absolute latest state.
+     */
+    @Override
+    public List<User> getAllUsersFromServer() {
+        try {
+            QuerySnapshot snapshot = Tasks.await(context.get(Source.SERVER));
+            List<User> users = new ArrayList<>();
+            for (QueryDocumentSnapshot document : snapshot) {
+                User user = document.toObject(User.class);
+                if (user != null) {
+                    users.add(user);
+                }
+            }
+            return users;
+        } catch (ExecutionException | InterruptedException e) {
+            Log.e("Firestore", "Error getting all users from server", e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * A function that collects all users and sums them into a List
+     * @param onSuccess
+     * Calls a function on success with list of users
+     * @param onFailure
+     * Calls a function on failure
+     * @see User
+     */
+    @Override
+    public void getAllUsers(OnSuccessListener<List<User>> onSuccess, OnFailureListener onFailure) {
+        context.get()
+                .addOnSuccessListener(querySnapshot -> {
+                    List<User> users = new ArrayList<>();
+                    for (QueryDocumentSnapshot document : querySnapshot) {
+                        User user = document.toObject(User.class);
+                        if (user != null) {
+                            users.add(user);
+                        }
+                    }
+                    onSuccess.onSuccess(users);
+                })
+                .addOnFailureListener(e -> {
+                    Log.e("Firestore", "Error getting all users", e);
+                    onFailure.onFailure(e);
+                });
+    }
+
+    /**
+     * Takes in a username and checks the database
+     * @param username
+     * String username to check
+     * @param email
+     * String email to check
+     * @param onSuccess
+     * Calls a function on success containing a list of booleans
+     * @param onFailure
+     * Calls a function on failure
+     */
+    @Override
+    public void checkProfileUnique(String username, String email,
+                                       OnSuccessListener<List<Boolean>> onSuccess,
+                                       OnFailureListener onFailure) {
+
+        Task<QuerySnapshot> usernameTask = context.whereEqualTo("username", username.trim())
+                .limit(1)
+                .get();
+
+        Task<QuerySnapshot> emailTask = context.whereEqualTo("email", email.trim())
+                .limit(1)
+                .get();
+
+        List<Boolean> checks = new ArrayList<>();
+
+        Tasks.whenAllSuccess(usernameTask, emailTask)
+                .addOnSuccessListener(results -> {
+                    checks.add(!usernameTask.getResult().isEmpty());
+                    checks.add(!emailTask.getResult().isEmpty());
+
+                    onSuccess.onSuccess(checks);
+                })
+                .addOnFailureListener(onFailure);
+    }
+
+    /**
+     * Sets up a real-time listener on the whole user collection.
+     * The first callback carries every user; later callbacks carry only the changed documents
+     * in {@link QuerySnapshot#getDocumentChanges()}.
+     *
+     * @param executor Executor the listener runs on (keeps deserialization off the main thread)
+     * @param listener Callback receiving each collection snapshot
+     * @return ListenerRegistration that can be used to stop listening
+     */
+    public ListenerRegistration listenToAllUsers(Executor executor, EventListener<QuerySnapshot> listener) {
+        return context.addSnapshotListener(executor, listener);
+    }
+}
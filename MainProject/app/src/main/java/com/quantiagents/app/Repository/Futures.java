@@ -0,0 +1,296 @@
+package com.quantiagents.app.Repository;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Adapts repository calls to {@link CompletableFuture} and composes them.
+ * <p>
+ * Repositories have two older styles: blocking methods that wait on Firestore with Tasks.await, and
+ * success/failure callback pairs. The {@code ...Async} default methods of the repository interfaces
+ * wrap both as futures: callback methods through {@link #fromCallbacks}, which holds no thread while
+ * waiting, and blocking ones through {@link #supply}, which runs them on the {@link TaskScheduler}
+ * I/O pool. Futures from different repositories can then run in parallel and be joined with
+ * {@link #allOf}, {@link #anyOf}, {@link #withTimeout} and {@link #recover}.
+ * </p>
+ * <p>
+ * A future completes on whichever thread finished the work: the main thread for Firestore callbacks,
+ * a pool thread for blocking reads. Dependent stages without an executor run on that same thread, so
+ * chain blocking work with the {@code ...Async} stage variants and {@link #io()}, and hand results
+ * back to callback-style callers with {@link #deliver}, which calls them on the main thread.
+ * </p>
+ */
+public final class Futures {
+
+    private static final Executor io = TaskScheduler.getInstance()
+            .executor(TaskScheduler.Pool.IO, TaskScheduler.Priority.NORMAL, "repository");
+    private static final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "futures-timeout");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Futures() {}
+
+    // Holder, so the main looper is only touched once something is delivered
+    private static final class MainThread {
+        static final Handler HANDLER = new Handler(Looper.getMainLooper());
+        static final Executor EXECUTOR = HANDLER::post;
+    }
+
+    /**
+     * A call that reports its result through a success/failure callback pair.
+     *
+     * @param <T> Type of the result
+     */
+    public interface CallbackCall<T> {
+        /**
+         * Starts the call.
+         *
+         * @param onSuccess Receives the result
+         * @param onFailure Receives the error
+         */
+        void start(@NonNull OnSuccessListener<T> onSuccess, @NonNull OnFailureListener onFailure);
+    }
+
+    /**
+     * @return The executor blocking repository calls run on (the scheduler's I/O pool), for stages that block in turn
+     */
+    public static Executor io() {
+        return io;
+    }
+
+    /**
+     * Runs a blocking repository call on the shared I/O pool.
+     *
+     * @param blocking The call, e.g. {@code () -> repository.getEventById(id)}
+     * @return A future with the call's result, or its exception
+     */
+    public static <T> CompletableFuture<T> supply(@NonNull Callable<T> blocking) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        io.execute(() -> {
+            try {
+                future.complete(blocking.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * An already failed future, e.g. for arguments that fail validation.
+     * (CompletableFuture.failedFuture needs API 31.)
+     *
+     * @param error The failure
+     * @return A future completed with the failure
+     */
+    public static <T> CompletableFuture<T> failed(@NonNull Throwable error) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(error);
+        return future;
+    }
+
+    /**
+     * Adapts a call written with a success/failure callback pair.
+     *
+     * @param call Starts the call with the future's callbacks
+     * @return A future completed by whichever callback fires first
+     */
+    public static <T> CompletableFuture<T> fromCallbacks(@NonNull CallbackCall<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            call.start(future::complete, future::completeExceptionally);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Adapts a Play services task, e.g. a Firestore read or a {@link WriteRetry} write.
+     *
+     * @param task The task
+     * @return A future completed when the task completes; cancelled if the task is
+     */
+    public static <T> CompletableFuture<T> fromTask(@NonNull Task<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        task.addOnCompleteListener(Runnable::run, t -> {
+            if (t.isCanceled()) {
+                future.cancel(false);
+            } else if (t.isSuccessful()) {
+                future.complete(t.getResult());
+            } else {
+                future.completeExceptionally(t.getException());
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Waits for every future, failing as soon as one of them fails.
+     *
+     * @param futures The futures, already running
+     * @return A future with their results in the same order
+     */
+    public static <T> CompletableFuture<List<T>> allOf(@NonNull List<? extends CompletableFuture<? extends T>> futures) {
+        CompletableFuture<List<T>> all = new CompletableFuture<>();
+        if (futures.isEmpty()) {
+            all.complete(new ArrayList<>());
+            return all;
+        }
+        List<T> results = new ArrayList<>(Collections.nCopies(futures.size(), null));
+        AtomicInteger remaining = new AtomicInteger(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            int index = i;
+            futures.get(i).whenComplete((value, error) -> {
+                if (error != null) {
+                    all.completeExceptionally(unwrap(error));
+                    return;
+                }
+                synchronized (results) {
+                    results.set(index, value);
+                }
+                if (remaining.decrementAndGet() == 0) {
+                    synchronized (results) {
+                        all.complete(new ArrayList<>(results));
+                    }
+                }
+            });
+        }
+        return all;
+    }
+
+    /**
+     * Takes the first future to succeed, e.g. the cache and the server racing for the same document.
+     *
+     * @param futures The futures, already running
+     * @return A future with the first successful result; fails with the last error only if all fail
+     */
+    public static <T> CompletableFuture<T> anyOf(@NonNull List<? extends CompletableFuture<? extends T>> futures) {
+        CompletableFuture<T> any = new CompletableFuture<>();
+        if (futures.isEmpty()) {
+            any.completeExceptionally(new NoSuchElementException("No futures to wait for"));
+            return any;
+        }
+        AtomicInteger remaining = new AtomicInteger(futures.size());
+        for (CompletableFuture<? extends T> future : futures) {
+            future.whenComplete((value, error) -> {
+                if (error == null) {
+                    any.complete(value);
+                } else if (remaining.decrementAndGet() == 0) {
+                    any.completeExceptionally(unwrap(error));
+                }
+            });
+        }
+        return any;
+    }
+
+    /**
+     * Fails a future that takes too long. The underlying call is not cancelled (Firestore calls
+     * can't be), only no longer waited for.
+     *
+     * @param future  The future
+     * @param timeout How long to wait
+     * @param unit    Unit of the timeout
+     * @return A future with the same result, or a {@link TimeoutException}
+     */
+    public static <T> CompletableFuture<T> withTimeout(@NonNull CompletableFuture<T> future, long timeout,
+                                                       @NonNull TimeUnit unit) {
+        CompletableFuture<T> bounded = new CompletableFuture<>();
+        ScheduledFuture<?> expiry = timer.schedule(
+                () -> bounded.completeExceptionally(new TimeoutException("Timed out after " + timeout + " " + unit)),
+                timeout, unit);
+        future.whenComplete((value, error) -> {
+            expiry.cancel(false);
+            if (error != null) {
+                bounded.completeExceptionally(unwrap(error));
+            } else {
+                bounded.complete(value);
+            }
+        });
+        return bounded;
+    }
+
+    /**
+     * Replaces a failure with a value computed from the error.
+     *
+     * @param future   The future
+     * @param fallback Maps the unwrapped error to the result to use instead
+     * @return A future that only fails if the fallback throws
+     */
+    public static <T> CompletableFuture<T> recover(@NonNull CompletableFuture<T> future,
+                                                   @NonNull Function<Throwable, ? extends T> fallback) {
+        return future.exceptionally(error -> fallback.apply(unwrap(error)));
+    }
+
+    /**
+     * Replaces a failure with a fixed value.
+     *
+     * @param future   The future
+     * @param fallback The result to use if the future fails
+     * @return A future that never fails
+     */
+    public static <T> CompletableFuture<T> orElse(@NonNull CompletableFuture<T> future, T fallback) {
+        return recover(future, error -> fallback);
+    }
+
+    /**
+     * Hands a future's outcome to a success/failure callback pair on the main thread, where Task
+     * listeners run by default, for callers still on callbacks.
+     *
+     * @param future    The future
+     * @param onSuccess Receives the result
+     * @param onFailure Receives the unwrapped error
+     */
+    public static <T> void deliver(@NonNull CompletableFuture<T> future,
+                                   @NonNull OnSuccessListener<? super T> onSuccess,
+                                   @NonNull OnFailureListener onFailure) {
+        future.whenCompleteAsync((value, error) -> {
+            if (error != null) {
+                Throwable cause = unwrap(error);
+                onFailure.onFailure(cause instanceof Exception ? (Exception) cause : new ExecutionException(cause));
+            } else {
+                onSuccess.onSuccess(value);
+            }
+        }, MainThread.EXECUTOR);
+    }
+
+    /**
+     * Strips the wrappers CompletableFuture puts around a failure.
+     *
+     * @param error The error a stage failed with
+     * @return The original error
+     */
+    public static Throwable unwrap(@NonNull Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -1,34 +1,22 @@
 package com.quantiagents.app.Repository;
 
-import android.util.Log;
-
 import androidx.annotation.NonNull;
 
 import com.google.android.gms.tasks.OnFailureListener;
 import com.google.android.gms.tasks.OnSuccessListener;
-import com.google.android.gms.tasks.Tasks;
-import com.google.firebase.firestore.CollectionReference;
-import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
-import com.google.firebase.firestore.QuerySnapshot;
-import com.google.firebase.firestore.SetOptions;
 import com.quantiagents.app.models.GeoLocation;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Manages functions for locating and saving geolocations
+ * <p>
+ * Implemented by {@link FirestoreGeoLocationRepository} and by the in-memory backend.
+ * </p>
  * @see GeoLocation
  */
-public class GeoLocationRepository {
-
-    private final CollectionReference context;
-
-    public GeoLocationRepository(FireBaseRepository fireBaseRepository) {
-        this.context = fireBaseRepository.getGeoLocationCollectionRef();
-    }
+public interface GeoLocationRepository {
 
     /**
      * Finds a geolocation by user id and event id
@@ -40,22 +28,7 @@ public class GeoLocationRepository {
      * Returns geolocation if exists, null otherwise
      * @see GeoLocation
      */
-    public GeoLocation getGeoLocationByUserIdAndEventId(String userId, String eventId) {
-        try {
-            // Use composite key: userId_eventId
-            String docId = userId + "_" + eventId;
-            DocumentSnapshot snapshot = Tasks.await(context.document(docId).get());
-            if (snapshot.exists()) {
-                return snapshot.toObject(GeoLocation.class);
-            } else {
-                Log.d("Firestore", "No geo location found for userId: " + userId + ", eventId: " + eventId);
-                return null;
-            }
-        } catch (ExecutionException | InterruptedException e) {
-            Log.e("Firestore", "Error getting geo location", e);
-            return null;
-        }
-    }
+    GeoLocation getGeoLocationByUserIdAndEventId(String userId, String eventId);
 
     /**
      * Returns all geolocations
@@ -63,22 +36,7 @@ public class GeoLocationRepository {
      * Returns a list of geolocations
      * @see GeoLocation
      */
-    public List<GeoLocation> getAllGeoLocations() {
-        try {
-            QuerySnapshot snapshot = Tasks.await(context.get());
-            List<GeoLocation> geoLocations = new ArrayList<>();
-            for (QueryDocumentSnapshot document : snapshot) {
-                GeoLocation geoLocation = document.toObject(GeoLocation.class);
-                if (geoLocation != null) {
-                    geoLocations.add(geoLocation);
-                }
-            }
-            return geoLocations;
-        } catch (ExecutionException | InterruptedException e) {
-            Log.e("Firestore", "Error getting all geo locations", e);
-            return new ArrayList<>();
-        }
-    }
+    List<GeoLocation> getAllGeoLocations();
 
     /**
      * Gets a list of geolocations by event id
@@ -88,22 +46,7 @@ public class GeoLocationRepository {
      * Returns a list of geolocations
      * @see GeoLocation
      */
-    public List<GeoLocation> getGeoLocationsByEventId(String eventId) {
-        try {
-            QuerySnapshot snapshot = Tasks.await(context.whereEqualTo("eventId", eventId).get());
-            List<GeoLocation> geoLocations = new ArrayList<>();
-            for (QueryDocumentSnapshot document : snapshot) {
-                GeoLocation geoLocation = document.toObject(GeoLocation.class);
-                if (geoLocation != null) {
-                    geoLocations.add(geoLocation);
-                }
-            }
-            return geoLocations;
-        } catch (ExecutionException | InterruptedException e) {
-            Log.e("Firestore", "Error getting geo locations by event ID", e);
-            return new ArrayList<>();
-        }
-    }
+    List<GeoLocation> getGeoLocationsByEventId(String eventId);
 
     /**
      * Gets a list of geolocations by user id
@@ -113,22 +56,7 @@ public class GeoLocationRepository {
      * Returns a list of geolocations
      * @see GeoLocation
      */
-    public List<GeoLocation> getGeoLocationsByUserId(String userId) {
-        try {
-            QuerySnapshot snapshot = Tasks.await(context.whereEqualTo("userId", userId).get());
-            List<GeoLocation> geoLocations = new ArrayList<>();
-            for (QueryDocumentSnapshot document : snapshot) {
-                GeoLocation geoLocation = document.toObject(GeoLocation.class);
-                if (geoLocation != null) {
-                    geoLocations.add(geoLocation);
-                }
-            }
-            return geoLocations;
-        } catch (ExecutionException | InterruptedException e) {
-            Log.e("Firestore", "Error getting geo locations by user ID", e);
-            return new ArrayList<>();
-        }
-    }
+    List<GeoLocation> getGeoLocationsByUserId(String userId);
 
     /**
      * Gets a list of geolocations by event id and user id
@@ -140,26 +68,10 @@ public class GeoLocationRepository {
      * Returns a list of geolocations
      * @see GeoLocation
      */
-    public List<GeoLocation> getGeoLocationsByEventIdAndUserId(String eventId, String userId) {
-        try {
-            QuerySnapshot snapshot = Tasks.await(context.whereEqualTo("eventId", eventId)
-                    .whereEqualTo("userId", userId).get());
-            List<GeoLocation> geoLocations = new ArrayList<>();
-            for (QueryDocumentSnapshot document : snapshot) {
-                GeoLocation geoLocation = document.toObject(GeoLocation.class);
-                if (geoLocation != null) {
-                    geoLocations.add(geoLocation);
-                }
-            }
-            return geoLocations;
-        } catch (ExecutionException | InterruptedException e) {
-            Log.e("Firestore", "Error getting geo locations by event ID and user ID", e);
-            return new ArrayList<>();
-        }
-    }
+    List<GeoLocation> getGeoLocationsByEventIdAndUserId(String eventId, String userId);
 
     /**
-     * Saves a geolocation to the firebase
+     * Saves a geolocation
      * @param geoLocation
      * Geolocation to save
      * @param onSuccess
@@ -168,24 +80,10 @@ public class GeoLocationRepository {
      * Calls a function on failure
      * @see GeoLocation
      */
-    public void saveGeoLocation(GeoLocation geoLocation, OnSuccessListener<String> onSuccess, OnFailureListener onFailure) {
-        if (geoLocation == null) {
-            onFailure.onFailure(new IllegalArgumentException("Geo location cannot be null"));
-            return;
-        }
-        // Use composite key: userId_eventId
-        String docId = geoLocation.getUserId() + "_" + geoLocation.getEventId();
-        context.document(docId)
-                .set(geoLocation)
-                .addOnSuccessListener(aVoid -> {
-                    Log.d("Firestore", "Geo location created with ID: " + docId);
-                    onSuccess.onSuccess(docId);
-                })
-                .addOnFailureListener(onFailure);
-    }
+    void saveGeoLocation(GeoLocation geoLocation, OnSuccessListener<String> onSuccess, OnFailureListener onFailure);
 
     /**
-     * Updates a geolocation in the firebase
+     * Updates a geolocation
      * @param geoLocation
      * Geolocation to update
      * @param onSuccess
@@ -194,25 +92,12 @@ public class GeoLocationRepository {
      * Calls a function on failure
      * @see GeoLocation
      */
-    public void updateGeoLocation(@NonNull GeoLocation geoLocation,
-                                 @NonNull OnSuccessListener<Void> onSuccess,
-                                 @NonNull OnFailureListener onFailure) {
-        // Use composite key: userId_eventId
-        String docId = geoLocation.getUserId() + "_" + geoLocation.getEventId();
-        context.document(docId)
-                .set(geoLocation, SetOptions.merge()) // merge only changed fields
-                .addOnSuccessListener(aVoid -> {
-                    Log.d("Firestore", "Geo location updated: userId=" + geoLocation.getUserId() + ", eventId=" + geoLocation.getEventId());
-                    onSuccess.onSuccess(aVoid);
-                })
-                .addOnFailureListener(e -> {
-                    Log.e("Firestore", "Error updating geo location", e);
-                    onFailure.onFailure(e);
-                });
-    }
+    void updateGeoLocation(@NonNull GeoLocation geoLocation,
+                          @NonNull OnSuccessListener<Void> onSuccess,
+                          @NonNull OnFailureListener onFailure);
 
     /**
-     * Deletes a geolocation via user id and event id from the firebase
+     * Deletes a geolocation via user id and event id
      * @param userId
      * User id to locate
      * @param eventId
@@ -222,17 +107,10 @@ public class GeoLocationRepository {
      * @param onFailure
      * Calls a function on failure
      */
-    public void deleteGeoLocationByUserIdAndEventId(String userId, String eventId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
-        // Use composite key: userId_eventId
-        String docId = userId + "_" + eventId;
-        context.document(docId)
-                .delete()
-                .addOnSuccessListener(onSuccess)
-                .addOnFailureListener(onFailure);
-    }
+    void deleteGeoLocationByUserIdAndEventId(String userId, String eventId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure);
 
     /**
-     * Deletes a geolocation via user id and event id from the firebase
+     * Deletes a geolocation via user id and event id
      * @param userId
      * User id to locate
      * @param eventId
@@ -240,16 +118,40 @@ public class GeoLocationRepository {
      * @return
      * Returns boolean if success
      */
-    public boolean deleteGeoLocationByUserIdAndEventId(String userId, String eventId) {
-        try {
-            // Use composite key: userId_eventId
-            String docId = userId + "_" + eventId;
-            Tasks.await(context.document(docId).delete());
-            Log.d("Firestore", "Geo location deleted: userId=" + userId + ", eventId=" + eventId);
-            return true;
-        } catch (ExecutionException | InterruptedException e) {
-            Log.e("Firestore", "Error deleting geo location", e);
-            return false;
-        }
+    boolean deleteGeoLocationByUserIdAndEventId(String userId, String eventId);
+
+    /**
+     * Reads one geolocation on the I/O pool; null if none.
+     */
+    default CompletableFuture<GeoLocation> getGeoLocationByUserIdAndEventIdAsync(String userId, String eventId) {
+        return Futures.supply(() -> getGeoLocationByUserIdAndEventId(userId, eventId));
+    }
+
+    /**
+     * Reads an event's geolocations on the I/O pool.
+     */
+    default CompletableFuture<List<GeoLocation>> getGeoLocationsByEventIdAsync(String eventId) {
+        return Futures.supply(() -> getGeoLocationsByEventId(eventId));
+    }
+
+    /**
+     * Saves a geolocation as a future with its id.
+     */
+    default CompletableFuture<String> saveGeoLocationAsync(GeoLocation geoLocation) {
+        return Futures.fromCallbacks((ok, err) -> saveGeoLocation(geoLocation, ok, err));
+    }
+
+    /**
+     * Updates a geolocation as a future.
+     */
+    default CompletableFuture<Void> updateGeoLocationAsync(@NonNull GeoLocation geoLocation) {
+        return Futures.fromCallbacks((ok, err) -> updateGeoLocation(geoLocation, ok, err));
+    }
+
+    /**
+     * Deletes a geolocation as a future.
+     */
+    default CompletableFuture<Void> deleteGeoLocationByUserIdAndEventIdAsync(String userId, String eventId) {
+        return Futures.fromCallbacks((ok, err) -> deleteGeoLocationByUserIdAndEventId(userId, eventId, ok, err));
     }
 }
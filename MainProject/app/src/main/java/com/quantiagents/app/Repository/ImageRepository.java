@@ -1,36 +1,23 @@
 package com.quantiagents.app.Repository;
 
-import android.util.Log;
-
 import androidx.annotation.NonNull;
 
 import com.google.android.gms.tasks.OnFailureListener;
 import com.google.android.gms.tasks.OnSuccessListener;
-import com.google.android.gms.tasks.Task;
-import com.google.android.gms.tasks.Tasks;
-import com.google.firebase.firestore.CollectionReference;
-import com.google.firebase.firestore.DocumentReference;
-import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
-import com.google.firebase.firestore.QuerySnapshot;
-import com.google.firebase.firestore.SetOptions;
 import com.quantiagents.app.models.Image;
 
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Manages functions for locating and saving images
+ * <p>
+ * Implemented by {@link FirestoreImageRepository} and by the in-memory backend.
+ * </p>
  * @see Image
  */
-public class ImageRepository {
-
-    private final CollectionReference context;
-
-    public ImageRepository(FireBaseRepository fireBaseRepository) {
-        this.context = fireBaseRepository.getPosterCollectionRef();
-    }
+public interface ImageRepository {
 
     /**
      * Finds image by it's id
@@ -40,20 +27,7 @@ public class ImageRepository {
      * Returns Image if exists, null otherwise
      * @see Image
      */
-    public Image getImageById(String imageId) {
-        try {
-            DocumentSnapshot snapshot = Tasks.await(context.document(imageId).get());
-            if (snapshot.exists()) {
-                return snapshot.toObject(Image.class);
-            } else {
-                Log.d("Firestore", "No image found for ID: " + imageId);
-                return null;
-            }
-        } catch (ExecutionException | InterruptedException e) {
-            Log.e("Firestore", "Error getting image", e);
-            return null;
-        }
-    }
+    Image getImageById(String imageId);
 
     /**
      * Gets a list of all images
@@ -61,25 +35,10 @@ public class ImageRepository {
      * Returns list of images
      * @see Image
      */
-    public List<Image> getAllImages() {
-        try {
-            QuerySnapshot snapshot = Tasks.await(context.get());
-            List<Image> images = new ArrayList<>();
-            for (QueryDocumentSnapshot document : snapshot) {
-                Image image = document.toObject(Image.class);
-                if (image != null) {
-                    images.add(image);
-                }
-            }
-            return images;
-        } catch (ExecutionException | InterruptedException e) {
-            Log.e("Firestore", "Error getting all images", e);
-            return new ArrayList<>();
-        }
-    }
+    List<Image> getAllImages();
 
     /**
-     * Saves image to the firebase
+     * Saves image
      * @param image
      * Image to save
      * @param onSuccess
@@ -88,55 +47,10 @@ public class ImageRepository {
      * Calls a function on failure
      * @see Image
      */
-    public void saveImage(Image image, OnSuccessListener<String> onSuccess, OnFailureListener onFailure) {
-        // If imageId is null or empty, let Firebase auto-generate an ID
-        if (image.getImageId() == null || image.getImageId().trim().isEmpty()) {
-            // Use .add() to create a new document with auto-generated ID
-            Task<DocumentReference> addTask = context.add(image);
-            addTask.addOnSuccessListener(documentReference -> {
-                // Extract the auto-generated document ID
-                String docId = documentReference.getId();
-                
-                // Use the Firestore document ID as the imageId
-                String generatedId = docId;
-                
-                // Update the image object with the generated ID
-                image.setImageId(generatedId);
-                
-                // Update the document with the generated imageId field
-                context.document(docId).update("imageId", generatedId)
-                        .addOnSuccessListener(aVoid -> {
-                            Log.d("Firestore", "Image created with auto-generated ID: " + generatedId + " (docId: " + docId + ")");
-                            onSuccess.onSuccess(generatedId);
-                        })
-                        .addOnFailureListener(e -> {
-                            Log.e("Firestore", "Error updating image with generated ID", e);
-                            // Still call success since document was created, just the ID update failed
-                            onSuccess.onSuccess(generatedId);
-                        });
-            }).addOnFailureListener(onFailure);
-        } else {
-            // Check if image with this ID already exists
-            String imageId = image.getImageId();
-            DocumentReference docRef = context.document(imageId);
-            docRef.get().addOnSuccessListener(documentSnapshot -> {
-                if (documentSnapshot.exists()) {
-                    // Document exists, update it
-                    docRef.set(image, SetOptions.merge())
-                            .addOnSuccessListener(aVoid -> onSuccess.onSuccess(imageId))
-                            .addOnFailureListener(onFailure);
-                } else {
-                    // Document doesn't exist, create it
-                    docRef.set(image)
-                            .addOnSuccessListener(aVoid -> onSuccess.onSuccess(imageId))
-                            .addOnFailureListener(onFailure);
-                }
-            }).addOnFailureListener(onFailure);
-        }
-    }
+    void saveImage(Image image, OnSuccessListener<String> onSuccess, OnFailureListener onFailure);
 
     /**
-     * Updates image in the firebase
+     * Updates image
      * @param image
      * Image to update
      * @param onSuccess
@@ -145,27 +59,12 @@ public class ImageRepository {
      * Calls a function on failure
      * @see Image
      */
-    public void updateImage(@NonNull Image image,
-                           @NonNull OnSuccessListener<Void> onSuccess,
-                           @NonNull OnFailureListener onFailure) {
-        if (image.getImageId() == null || image.getImageId().isEmpty()) {
-            onFailure.onFailure(new IllegalArgumentException("Image ID cannot be null or empty"));
-            return;
-        }
-        context.document(image.getImageId())
-                .set(image, SetOptions.merge()) // merge only changed fields
-                .addOnSuccessListener(aVoid -> {
-                    Log.d("Firestore", "Image updated: " + image.getImageId());
-                    onSuccess.onSuccess(aVoid);
-                })
-                .addOnFailureListener(e -> {
-                    Log.e("Firestore", "Error updating image", e);
-                    onFailure.onFailure(e);
-                });
-    }
+    void updateImage(@NonNull Image image,
+                    @NonNull OnSuccessListener<Void> onSuccess,
+                    @NonNull OnFailureListener onFailure);
 
     /**
-     * Deletes image via image id from the firebase
+     * Deletes image via image id
      * @param imageId
      * Image id to delete
      * @param onSuccess
@@ -174,58 +73,79 @@ public class ImageRepository {
      * Calls a function on failure
      * @see Image
      */
-    public void deleteImageById(String imageId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
-        context.document(imageId)
-                .delete()
-                .addOnSuccessListener(onSuccess)
-                .addOnFailureListener(onFailure);
-    }
+    void deleteImageById(String imageId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure);
 
     /**
-     * Deletes image via image id from the firebase
+     * Deletes image via image id
      * @param imageId
      * Image id to delete
      * @return
      * Returns boolean if success
      */
-    public boolean deleteImageById(String imageId) {
-        try {
-            Tasks.await(context.document(imageId).delete());
-            Log.d("Firestore", "Image deleted: " + imageId);
-            return true;
-        } catch (ExecutionException | InterruptedException e) {
-            Log.e("Firestore", "Error deleting image", e);
-            return false;
-        }
-    }
+    boolean deleteImageById(String imageId);
 
     /**
-     * Deletes multiple images via the event's id from the firebase
+     * Deletes multiple images via the event's id
      * @param eventId
      * Event id to delete images from
      * @return
      * Returns amount of images deleted
      */
-    public int deleteImagesByEventId(String eventId) {
-        if (eventId == null || eventId.isEmpty()) {
-            return 0;
-        }
-        try {
-            QuerySnapshot snapshot = Tasks.await(context.whereEqualTo("eventId", eventId).get());
-            int removed = 0;
-            for (QueryDocumentSnapshot document : snapshot) {
-                try {
-                    Tasks.await(document.getReference().delete());
-                    removed++;
-                } catch (ExecutionException | InterruptedException e) {
-                    Log.e("Firestore", "Error deleting image during cascade", e);
-                }
-            }
-            Log.d("Firestore", "Deleted " + removed + " images for event: " + eventId);
-            return removed;
-        } catch (ExecutionException | InterruptedException e) {
-            Log.e("Firestore", "Error getting images by event ID", e);
-            return 0;
-        }
+    int deleteImagesByEventId(String eventId);
+
+    /**
+     * Gets a list of images via their ids
+     * @param imageIds
+     * Image ids to locate
+     * @return
+     * Returns list of images that were found
+     * @see Image
+     */
+    List<Image> getImagesByIds(Collection<String> imageIds);
+
+    /**
+     * Deletes multiple images via their ids
+     * @param imageIds
+     * Image ids to delete
+     * @return
+     * Returns amount of images deleted
+     */
+    int deleteImagesByIds(Collection<String> imageIds);
+
+    /**
+     * Deletes every image belonging to any of the given events
+     * @param eventIds
+     * Event ids to delete images from
+     * @return
+     * Returns amount of images deleted
+     */
+    int deleteImagesByEventIds(Collection<String> eventIds);
+
+    /**
+     * Reads an image on the I/O pool; null if not found.
+     */
+    default CompletableFuture<Image> getImageByIdAsync(String imageId) {
+        return Futures.supply(() -> getImageById(imageId));
+    }
+
+    /**
+     * Saves an image as a future with its id.
+     */
+    default CompletableFuture<String> saveImageAsync(Image image) {
+        return Futures.fromCallbacks((ok, err) -> saveImage(image, ok, err));
+    }
+
+    /**
+     * Updates an image as a future.
+     */
+    default CompletableFuture<Void> updateImageAsync(@NonNull Image image) {
+        return Futures.fromCallbacks((ok, err) -> updateImage(image, ok, err));
+    }
+
+    /**
+     * Deletes an image as a future.
+     */
+    default CompletableFuture<Void> deleteImageByIdAsync(String imageId) {
+        return Futures.fromCallbacks((ok, err) -> deleteImageById(imageId, ok, err));
     }
 }
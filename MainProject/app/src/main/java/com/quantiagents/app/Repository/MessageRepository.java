@@ -1,43 +1,20 @@
 package com.quantiagents.app.Repository;
 
-import android.util.Log;
-
 import androidx.annotation.NonNull;
 
 import com.google.android.gms.tasks.OnFailureListener;
 import com.google.android.gms.tasks.OnSuccessListener;
-import com.google.android.gms.tasks.Task;
-import com.google.android.gms.tasks.Tasks;
-import com.google.firebase.firestore.CollectionReference;
-import com.google.firebase.firestore.DocumentReference;
-import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.ListenerRegistration;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
-import com.google.firebase.firestore.QuerySnapshot;
-import com.google.firebase.firestore.SetOptions;
-import com.google.firebase.firestore.EventListener;
 import com.quantiagents.app.models.Message;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * Manages direct data access for Messages in Firestore.
- * Handles CRUD operations (Create, Read, Update, Delete).
+ * Data access for Messages.
+ * Implemented by {@link FirestoreMessageRepository} and by the in-memory backend.
  */
-public class MessageRepository {
-
-    private final CollectionReference context;
-
-    /**
-     * Constructor that initializes the MessageRepository with a FireBaseRepository.
-     *
-     * @param fireBaseRepository The base repository providing access to the Firestore collection
-     */
-    public MessageRepository(FireBaseRepository fireBaseRepository) {
-        this.context = fireBaseRepository.getMessageCollectionRef();
-    }
+public interface MessageRepository {
 
     /**
      * Synchronously retrieves a Message by its unique ID.
@@ -46,26 +23,7 @@ public class MessageRepository {
      * @param messageId The unique identifier of the message
      * @return The Message object if found, or null if not found or if an error occurs
      */
-    public Message getMessageById(String messageId) {
-        if (messageId == null || messageId.trim().isEmpty()) {
-            return null;
-        }
-
-        try {
-            DocumentSnapshot snapshot = Tasks.await(context.document(messageId).get());
-            if (snapshot.exists()) {
-                Message message = snapshot.toObject(Message.class);
-                if (message != null && (message.getMessageId() == null || message.getMessageId().trim().isEmpty())) {
-                    message.setMessageId(snapshot.getId());
-                }
-                return message;
-            }
-            return null;
-        } catch (Exception e) {
-            Log.e("Firestore", "Error getting message", e);
-            return null;
-        }
-    }
+    Message getMessageById(String messageId);
 
     /**
      * Synchronously retrieves all messages for a chat, ordered by timestamp.
@@ -74,33 +32,7 @@ public class MessageRepository {
      * @param chatId The unique identifier of the chat
      * @return List of Message objects for the chat, ordered by timestamp
      */
-    public List<Message> getMessagesByChatId(String chatId) {
-        if (chatId == null || chatId.trim().isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        try {
-            QuerySnapshot snapshot = Tasks.await(
-                    context.whereEqualTo("chatId", chatId)
-                            .orderBy("timestamp")
-                            .get()
-            );
-            List<Message> messages = new ArrayList<>();
-            for (QueryDocumentSnapshot document : snapshot) {
-                Message message = document.toObject(Message.class);
-                if (message != null) {
-                    if (message.getMessageId() == null || message.getMessageId().trim().isEmpty()) {
-                        message.setMessageId(document.getId());
-                    }
-                    messages.add(message);
-                }
-            }
-            return messages;
-        } catch (Exception e) {
-            Log.e("Firestore", "Error getting messages by chat ID", e);
-            return new ArrayList<>();
-        }
-    }
+    List<Message> getMessagesByChatId(String chatId);
 
     /**
      * Asynchronously retrieves all messages for a chat, ordered by timestamp.
@@ -109,106 +41,60 @@ public class MessageRepository {
      * @param onSuccess Callback invoked with the list of Message objects, ordered by timestamp
      * @param onFailure Callback invoked if an error occurs or chatId is invalid
      */
-    public void getMessagesByChatId(String chatId, OnSuccessListener<List<Message>> onSuccess, OnFailureListener onFailure) {
-        if (chatId == null || chatId.trim().isEmpty()) {
-            onFailure.onFailure(new IllegalArgumentException("Chat ID cannot be null or empty"));
-            return;
-        }
-
-        context.whereEqualTo("chatId", chatId)
-                .orderBy("timestamp")
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    List<Message> messages = new ArrayList<>();
-                    for (QueryDocumentSnapshot document : querySnapshot) {
-                        Message message = document.toObject(Message.class);
-                        if (message != null) {
-                            if (message.getMessageId() == null || message.getMessageId().trim().isEmpty()) {
-                                message.setMessageId(document.getId());
-                            }
-                            messages.add(message);
-                        }
-                    }
-                    onSuccess.onSuccess(messages);
-                })
-                .addOnFailureListener(onFailure);
-    }
+    void getMessagesByChatId(String chatId, OnSuccessListener<List<Message>> onSuccess, OnFailureListener onFailure);
 
     /**
      * Saves a new Message.
      */
-    public void saveMessage(Message message, OnSuccessListener<String> onSuccess, OnFailureListener onFailure) {
-        if (message.getMessageId() == null || message.getMessageId().trim().isEmpty()) {
-            Task<DocumentReference> addTask = context.add(message);
-            addTask.addOnSuccessListener(documentReference -> {
-                String docId = documentReference.getId();
-                message.setMessageId(docId);
-                context.document(docId).update("messageId", docId)
-                        .addOnSuccessListener(aVoid -> {
-                            Log.d("Firestore", "Message saved: " + docId);
-                            onSuccess.onSuccess(docId);
-                        })
-                        .addOnFailureListener(e -> onSuccess.onSuccess(docId));
-            }).addOnFailureListener(onFailure);
-        } else {
-            String messageId = message.getMessageId();
-            context.document(messageId).set(message, SetOptions.merge())
-                    .addOnSuccessListener(aVoid -> {
-                        Log.d("Firestore", "Message saved: " + messageId);
-                        onSuccess.onSuccess(messageId);
-                    })
-                    .addOnFailureListener(onFailure);
-        }
-    }
+    void saveMessage(Message message, OnSuccessListener<String> onSuccess, OnFailureListener onFailure);
 
     /**
      * Updates an existing Message.
      */
-    public void updateMessage(@NonNull Message message, @NonNull OnSuccessListener<Void> onSuccess, @NonNull OnFailureListener onFailure) {
-        if (message.getMessageId() == null || message.getMessageId().trim().isEmpty()) {
-            onFailure.onFailure(new IllegalArgumentException("Message ID is required for update"));
-            return;
-        }
-
-        context.document(message.getMessageId())
-                .set(message, SetOptions.merge())
-                .addOnSuccessListener(aVoid -> {
-                    Log.d("Firestore", "Message updated: " + message.getMessageId());
-                    onSuccess.onSuccess(aVoid);
-                })
-                .addOnFailureListener(e -> {
-                    Log.e("Firestore", "Error updating message", e);
-                    onFailure.onFailure(e);
-                });
-    }
+    void updateMessage(@NonNull Message message, @NonNull OnSuccessListener<Void> onSuccess, @NonNull OnFailureListener onFailure);
 
     /**
      * Deletes a message by its ID.
      */
-    public void deleteMessageById(String messageId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
-        context.document(messageId)
-                .delete()
-                .addOnSuccessListener(onSuccess)
-                .addOnFailureListener(onFailure);
-    }
+    void deleteMessageById(String messageId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure);
 
     /**
      * Sets up a real-time listener for messages in a chat.
      * The listener will be called whenever messages are added, modified, or removed.
      *
      * @param chatId    The chat ID to listen to.
-     * @param listener  Callback that receives the list of messages whenever they change.
+     * @param onChange  Callback that receives every message of the chat, ordered by timestamp, whenever they change.
+     * @param onFailure Callback invoked if the listener fails.
      * @return ListenerRegistration that can be used to stop listening.
      */
-    public ListenerRegistration listenToMessages(String chatId, EventListener<QuerySnapshot> listener) {
-        if (chatId == null || chatId.trim().isEmpty()) {
-            Log.w("MessageRepository", "listenToMessages called with null or empty chatId");
-            return null;
-        }
+    ListenerRegistration listenToMessages(String chatId, OnSuccessListener<List<Message>> onChange,
+                                          OnFailureListener onFailure);
 
-        return context.whereEqualTo("chatId", chatId)
-                .orderBy("timestamp")
-                .addSnapshotListener(listener);
+    /**
+     * Reads a chat's messages as a future.
+     */
+    default CompletableFuture<List<Message>> getMessagesByChatIdAsync(String chatId) {
+        return Futures.fromCallbacks((ok, err) -> getMessagesByChatId(chatId, ok, err));
+    }
+
+    /**
+     * Saves a message as a future with its id.
+     */
+    default CompletableFuture<String> saveMessageAsync(Message message) {
+        return Futures.fromCallbacks((ok, err) -> saveMessage(message, ok, err));
     }
-}
 
+    /**
+     * Updates a message as a future.
+     */
+    default CompletableFuture<Void> updateMessageAsync(@NonNull Message message) {
+        return Futures.fromCallbacks((ok, err) -> updateMessage(message, ok, err));
+    }
+
+    /**
+     * Deletes a message as a future.
+     */
+    default CompletableFuture<Void> deleteMessageByIdAsync(String messageId) {
+        return Futures.fromCallbacks((ok, err) -> deleteMessageById(messageId, ok, err));
+    }
+}
@@ -0,0 +1,46 @@
+package com.quantiagents.app.Repository;
+
+import com.quantiagents.app.models.Notification;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Manages the cold tier of notifications
+ * <p>
+ * Archived notifications are kept per recipient per month, out of the notification repository.
+ * Implemented by {@link FirestoreNotificationArchiveRepository} and by the in-memory backend.
+ * </p>
+ * @see Notification
+ */
+public interface NotificationArchiveRepository {
+
+    /**
+     * Moves notifications into their recipients' archive documents (blocking - must be called from background thread)
+     * @param notifications
+     * Notifications to archive, already read from the hot collection
+     * @return
+     * Returns amount of notifications moved
+     * @see Notification
+     */
+    int archive(List<Notification> notifications);
+
+    /**
+     * Gets archived notifications of a recipient, newest first (blocking - must be called from background thread)
+     * @param recipientId
+     * Recipient id to locate
+     * @param maxMonths
+     * How many of the most recent archive months to read
+     * @return
+     * Returns list of notifications
+     * @see Notification
+     */
+    List<Notification> getArchivedNotifications(int recipientId, int maxMonths);
+
+    /**
+     * Reads archived notifications on the I/O pool; see {@link #getArchivedNotifications}.
+     */
+    default CompletableFuture<List<Notification>> getArchivedNotificationsAsync(int recipientId, int maxMonths) {
+        return Futures.supply(() -> getArchivedNotifications(recipientId, maxMonths));
+    }
+}
@@ -1,36 +1,70 @@
 package com.quantiagents.app.Repository;
 
-import android.util.Log;
-
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.google.android.gms.tasks.OnFailureListener;
 import com.google.android.gms.tasks.OnSuccessListener;
-import com.google.android.gms.tasks.Task;
-import com.google.android.gms.tasks.Tasks;
-import com.google.firebase.firestore.CollectionReference;
-import com.google.firebase.firestore.DocumentReference;
-import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
-import com.google.firebase.firestore.QuerySnapshot;
-import com.google.firebase.firestore.SetOptions;
+import com.quantiagents.app.Constants.constant;
 import com.quantiagents.app.models.Notification;
 
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
-import java.util.Random;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Manages locating and saving of notifications
+ * <p>
+ * Implemented by {@link FirestoreNotificationRepository} and by the in-memory backend.
+ * </p>
  * @see Notification
  */
-public class NotificationRepository {
+public interface NotificationRepository {
 
-    private final CollectionReference context;
+    /**
+     * One page of notifications, newest first, plus the cursor to continue after it.
+     */
+    final class NotificationPage {
+        private final List<Notification> notifications;
+        @Nullable private final Object last;
+        private final boolean hasMore;
+
+        /**
+         * Constructs a page.
+         *
+         * @param notifications The notifications on the page, newest first
+         * @param last          The repository's cursor after the last notification, or null if the page is empty
+         * @param hasMore       True if the page was full
+         */
+        public NotificationPage(List<Notification> notifications, @Nullable Object last, boolean hasMore) {
+            this.notifications = Collections.unmodifiableList(notifications);
+            this.last = last;
+            this.hasMore = hasMore;
+        }
 
-    public NotificationRepository(FireBaseRepository fireBaseRepository) {
-        this.context = fireBaseRepository.getNotificationCollectionRef();
+        /**
+         * Gets the notifications on this page, newest first.
+         *
+         * @return The notifications
+         */
+        public List<Notification> getNotifications() { return notifications; }
+
+        /**
+         * Gets the cursor after this page, to pass as startAfter for the next page.
+         * Only meaningful to the repository that returned the page.
+         *
+         * @return The cursor, or null if the page is empty
+         */
+        @Nullable
+        public Object getCursor() { return last; }
+
+        /**
+         * Checks whether another page may follow.
+         *
+         * @return True if this page was full
+         */
+        public boolean hasMore() { return hasMore; }
     }
 
     /**
@@ -41,20 +75,7 @@ public class NotificationRepository {
      * Returns notification
      * @see Notification
      */
-    public Notification getNotificationById(int notificationId) {
-        try {
-            DocumentSnapshot snapshot = Tasks.await(context.document(String.valueOf(notificationId)).get());
-            if (snapshot.exists()) {
-                return snapshot.toObject(Notification.class);
-            } else {
-                Log.d("Firestore", "No notification found for ID: " + notificationId);
-                return null;
-            }
-        } catch (ExecutionException | InterruptedException e) {
-            Log.e("Firestore", "Error getting notification", e);
-            return null;
-        }
-    }
+    Notification getNotificationById(int notificationId);
 
     /**
      * Find notification by id (callback-based - safe to call from main thread)
@@ -66,26 +87,9 @@ public class NotificationRepository {
      * Calls a function on failure
      * @see Notification
      */
-    public void getNotificationById(int notificationId, 
-                                    OnSuccessListener<Notification> onSuccess, 
-                                    OnFailureListener onFailure) {
-        context.document(String.valueOf(notificationId))
-                .get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        Notification notification = documentSnapshot.toObject(Notification.class);
-                        Log.d("Firestore", "Notification found: " + notificationId);
-                        onSuccess.onSuccess(notification);
-                    } else {
-                        Log.d("Firestore", "No notification found for ID: " + notificationId);
-                        onSuccess.onSuccess(null);
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e("Firestore", "Error getting notification", e);
-                    onFailure.onFailure(e);
-                });
-    }
+    void getNotificationById(int notificationId, 
+                             OnSuccessListener<Notification> onSuccess, 
+                             OnFailureListener onFailure);
 
     /**
      * Gets a list of all notifications
@@ -93,25 +97,32 @@ public class NotificationRepository {
      * Returns a list of notifications
      * @see Notification
      */
-    public List<Notification> getAllNotifications() {
-        try {
-            QuerySnapshot snapshot = Tasks.await(context.get());
-            List<Notification> notifications = new ArrayList<>();
-            for (QueryDocumentSnapshot document : snapshot) {
-                Notification notification = document.toObject(Notification.class);
-                if (notification != null) {
-                    notifications.add(notification);
-                }
-            }
-            return notifications;
-        } catch (ExecutionException | InterruptedException e) {
-            Log.e("Firestore", "Error getting all notifications", e);
-            return new ArrayList<>();
-        }
-    }
+    List<Notification> getAllNotifications();
+
+    /**
+     * Gets one page of notifications ordered by timestamp descending, filtered by the repository (blocking - must be called from background thread)
+     * @param type
+     * Only notifications of this type, or null for any
+     * @param recipientId
+     * Only notifications for this recipient, or null for any
+     * @param eventId
+     * Only notifications affiliated with this event, or null for any
+     * @param startAfter
+     * Cursor of the previous page (see {@link NotificationPage#getCursor()}), or null for the first page
+     * @param limit
+     * Page size
+     * @return
+     * Returns the page (empty with no more pages on error)
+     * @see Notification
+     */
+    NotificationPage getNotificationsPage(@Nullable constant.NotificationType type,
+                                          @Nullable Integer recipientId,
+                                          @Nullable Integer eventId,
+                                          @Nullable Object startAfter,
+                                          int limit);
 
     /**
-     * Saves a notification to the firebase
+     * Saves a notification
      * @param notification
      * Notification to save
      * @param onSuccess
@@ -120,50 +131,35 @@ public class NotificationRepository {
      * Calls a function on failure
      * @see Notification
      */
-    public void saveNotification(Notification notification, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
-        // If notificationId is 0 or negative, generate one and use it as the Document ID
-        if (notification.getNotificationId() <= 0) {
-            // Generate a random ID locally from a new document reference
-            String autoDocId = context.document().getId();
-            // Hash it to an int to match the model's ID type
-            int generatedId = autoDocId.hashCode() & Integer.MAX_VALUE;
-            if (generatedId == 0) {
-                generatedId = (int) (System.currentTimeMillis() % Integer.MAX_VALUE);
-                if (generatedId == 0) generatedId = 1; // Ensure positive and non-zero
-            }
+    void saveNotification(Notification notification, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure);
 
-            notification.setNotificationId(generatedId);
+    /**
+     * Saves many new notifications (blocking - must be called from background thread)
+     * @param notifications
+     * Notifications to save, ids are generated the same way as saveNotification
+     * @return
+     * Returns amount of notifications saved
+     * @see Notification
+     */
+    int saveNotifications(List<Notification> notifications);
 
-            // Save with the generated INT as the document key so getById(int) works
-            int finalGeneratedId = generatedId;
-            context.document(String.valueOf(generatedId))
-                    .set(notification)
-                    .addOnSuccessListener(aVoid -> {
-                        Log.d("Firestore", "Notification created with ID: " + finalGeneratedId);
-                        onSuccess.onSuccess(aVoid);
-                    })
-                    .addOnFailureListener(onFailure);
-        } else {
-            // Check if notification with this ID already exists
-            DocumentReference docRef = context.document(String.valueOf(notification.getNotificationId()));
-            docRef.get().addOnSuccessListener(documentSnapshot -> {
-                if (documentSnapshot.exists()) {
-                    // Document exists, update it
-                    docRef.set(notification, SetOptions.merge())
-                            .addOnSuccessListener(onSuccess)
-                            .addOnFailureListener(onFailure);
-                } else {
-                    // Document doesn't exist, create it
-                    docRef.set(notification)
-                            .addOnSuccessListener(onSuccess)
-                            .addOnFailureListener(onFailure);
-                }
-            }).addOnFailureListener(onFailure);
-        }
-    }
+    /**
+     * Upserts coalesced notifications by id (blocking - must be called from background thread)
+     * <p>
+     * Each notification's document is created if missing, otherwise its text, timestamp and sender
+     * are replaced, it is marked unread, and its message count is incremented server-side by the
+     * given notification's message count, so no read is needed first.
+     * </p>
+     * @param notifications
+     * Notifications with fixed ids, each carrying the count to add
+     * @return
+     * Returns amount of notifications written
+     * @see Notification
+     */
+    int upsertCoalescedNotifications(List<Notification> notifications);
 
     /**
-     * Updates a notification in the firebase
+     * Updates a notification
      * @param notification
      * Notification to update
      * @param onSuccess
@@ -172,23 +168,12 @@ public class NotificationRepository {
      * Calls a function on failure
      * @see Notification
      */
-    public void updateNotification(@NonNull Notification notification,
-                                   @NonNull OnSuccessListener<Void> onSuccess,
-                                   @NonNull OnFailureListener onFailure) {
-        context.document(String.valueOf(notification.getNotificationId()))
-                .set(notification, SetOptions.merge()) // merge only changed fields
-                .addOnSuccessListener(aVoid -> {
-                    Log.d("Firestore", "Notification updated: " + notification.getNotificationId());
-                    onSuccess.onSuccess(aVoid);
-                })
-                .addOnFailureListener(e -> {
-                    Log.e("Firestore", "Error updating notification", e);
-                    onFailure.onFailure(e);
-                });
-    }
+    void updateNotification(@NonNull Notification notification,
+                            @NonNull OnSuccessListener<Void> onSuccess,
+                            @NonNull OnFailureListener onFailure);
 
     /**
-     * Deletes a notification from the firebase
+     * Deletes a notification
      * @param notificationId
      * Notification id to delete
      * @param onSuccess
@@ -196,54 +181,25 @@ public class NotificationRepository {
      * @param onFailure
      * Calls a function on failure
      */
-    public void deleteNotificationById(int notificationId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
-        context.document(String.valueOf(notificationId))
-                .delete()
-                .addOnSuccessListener(onSuccess)
-                .addOnFailureListener(onFailure);
-    }
+    void deleteNotificationById(int notificationId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure);
 
     /**
-     * Deletes a notification via it's id from the firebase
+     * Deletes a notification via it's id
      * @param notificationId
      * Notification id to delete
      * @return
      * Returns boolean if success
      */
-    public boolean deleteNotificationById(int notificationId) {
-        try {
-            Tasks.await(context.document(String.valueOf(notificationId)).delete());
-            Log.d("Firestore", "Notification deleted: " + notificationId);
-            return true;
-        } catch (ExecutionException | InterruptedException e) {
-            Log.e("Firestore", "Error deleting notification", e);
-            return false;
-        }
-    }
+    boolean deleteNotificationById(int notificationId);
 
     /**
-     * Gets a list of notifications from recipient id
+     * Gets a list of notifications from recipient id, newest first
      * @param recipientId
      * Recipient id to locate
      * @return
      * Returns list of notifications
      */
-    public List<Notification> getNotificationsByRecipientId(int recipientId) {
-        try {
-            QuerySnapshot snapshot = Tasks.await(context.whereEqualTo("recipientId", recipientId).get());
-            List<Notification> notifications = new ArrayList<>();
-            for (QueryDocumentSnapshot document : snapshot) {
-                Notification notification = document.toObject(Notification.class);
-                if (notification != null) {
-                    notifications.add(notification);
-                }
-            }
-            return notifications;
-        } catch (ExecutionException | InterruptedException e) {
-            Log.e("Firestore", "Error getting notifications by recipient ID", e);
-            return new ArrayList<>();
-        }
-    }
+    List<Notification> getNotificationsByRecipientId(int recipientId);
 
     /**
      * Gets list of unread notifications from recipient id
@@ -253,21 +209,77 @@ public class NotificationRepository {
      * Returns list of notifications
      * @see Notification
      */
-    public List<Notification> getUnreadNotificationsByRecipientId(int recipientId) {
-        try {
-            QuerySnapshot snapshot = Tasks.await(context.whereEqualTo("recipientId", recipientId)
-                    .whereEqualTo("hasRead", false).get());
-            List<Notification> notifications = new ArrayList<>();
-            for (QueryDocumentSnapshot document : snapshot) {
-                Notification notification = document.toObject(Notification.class);
-                if (notification != null) {
-                    notifications.add(notification);
-                }
-            }
-            return notifications;
-        } catch (ExecutionException | InterruptedException e) {
-            Log.e("Firestore", "Error getting unread notifications by recipient ID", e);
-            return new ArrayList<>();
-        }
+    List<Notification> getUnreadNotificationsByRecipientId(int recipientId);
+
+    /**
+     * Gets a recipient's oldest notifications of a type created before a cutoff (blocking - must be called from background thread)
+     * @param recipientId
+     * Recipient id to match
+     * @param type
+     * Notification type to match
+     * @param cutoff
+     * Only notifications older than this
+     * @param limit
+     * Max notifications to return
+     * @return
+     * Returns list of notifications, oldest first
+     * @see Notification
+     */
+    List<Notification> getNotificationsOlderThan(int recipientId, constant.NotificationType type, Date cutoff, int limit);
+
+    /**
+     * Gets a recipient's oldest read notifications created before a cutoff (blocking - must be called from background thread)
+     * @param recipientId
+     * Recipient id to match
+     * @param cutoff
+     * Only notifications older than this
+     * @param limit
+     * Max notifications to return
+     * @return
+     * Returns list of notifications, oldest first
+     * @see Notification
+     */
+    List<Notification> getReadNotificationsOlderThan(int recipientId, Date cutoff, int limit);
+
+    /**
+     * Reads a notification as a future; null if not found.
+     */
+    default CompletableFuture<Notification> getNotificationByIdAsync(int notificationId) {
+        return Futures.fromCallbacks((ok, err) -> getNotificationById(notificationId, ok, err));
+    }
+
+    /**
+     * Reads a recipient's notifications on the I/O pool.
+     */
+    default CompletableFuture<List<Notification>> getNotificationsByRecipientIdAsync(int recipientId) {
+        return Futures.supply(() -> getNotificationsByRecipientId(recipientId));
+    }
+
+    /**
+     * Saves a notification as a future.
+     */
+    default CompletableFuture<Void> saveNotificationAsync(Notification notification) {
+        return Futures.fromCallbacks((ok, err) -> saveNotification(notification, ok, err));
+    }
+
+    /**
+     * Saves notifications in batches on the I/O pool; see {@link #saveNotifications}.
+     */
+    default CompletableFuture<Integer> saveNotificationsAsync(List<Notification> notifications) {
+        return Futures.supply(() -> saveNotifications(notifications));
+    }
+
+    /**
+     * Updates a notification as a future.
+     */
+    default CompletableFuture<Void> updateNotificationAsync(@NonNull Notification notification) {
+        return Futures.fromCallbacks((ok, err) -> updateNotification(notification, ok, err));
+    }
+
+    /**
+     * Deletes a notification as a future.
+     */
+    default CompletableFuture<Void> deleteNotificationByIdAsync(int notificationId) {
+        return Futures.fromCallbacks((ok, err) -> deleteNotificationById(notificationId, ok, err));
     }
-}
\ No newline at end of file
+}
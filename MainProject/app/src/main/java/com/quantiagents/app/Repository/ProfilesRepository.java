@@ -1,54 +1,104 @@
 package com.quantiagents.app.Repository;
 
+import android.content.ContentValues;
 import android.content.Context;
-import android.content.SharedPreferences;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
 
-import com.quantiagents.app.models.UserSummary;
+import androidx.annotation.Nullable;
 
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
+import com.quantiagents.app.models.UserSummary;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * This class manages the listing and saving of user profiles
+ * <p>
+ * Profiles live in a local SQLite table keyed by userId, so upserts and deletes are O(log n)
+ * B-tree operations instead of rewriting one big JSON string. Lower-cased copies of name,
+ * username and email are indexed for prefix search, and listing is paged by keyset
+ * (name, userId) so callers only ever hold one page in memory.
+ * </p>
  * @see UserSummary
  */
 public class ProfilesRepository {
 
-    private static final String PREF_NAME = "admin_profiles_store";
-    private static final String KEY_PROFILES = "profiles_json";
-    private final SharedPreferences preferences;
+    private static final String LEGACY_PREF_NAME = "admin_profiles_store";
+    private static final String DB_NAME = "admin_profiles.db";
+    private static final int DB_VERSION = 1;
+    private static final String TABLE = "profiles";
+    private static final String COLUMNS = "user_id, name, username, email";
+    private static final String ORDER = " ORDER BY name_lc, user_id LIMIT ?";
+
+    private final Helper helper;
 
     public ProfilesRepository(Context context) {
         //admin-side index of profiles for browse/delete
-        this.preferences = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+        this.helper = new Helper(context.getApplicationContext());
     }
 
     /**
-     * Creates and returns a list of all user profiles
+     * Returns one page of user profiles ordered by name
+     * @param prefix
+     * Only profiles whose name, username or email starts with this (case-insensitive); null or blank for all
+     * @param after
+     * Last profile of the previous page, or null for the first page
+     * @param limit
+     * Max profiles to return
      * @return
      * Returns list of user summaries
      * @see UserSummary
      */
-    public synchronized List<UserSummary> listProfiles() {
-        String raw = preferences.getString(KEY_PROFILES, "[]");
+    public List<UserSummary> listProfiles(@Nullable String prefix, @Nullable UserSummary after, int limit) {
+        StringBuilder where = new StringBuilder();
+        List<String> args = new ArrayList<>();
+        String p = lower(prefix).trim();
+        if (!p.isEmpty()) {
+            // Range scans on the lower-cased columns, so each arm can use its index
+            String end = p + '\uffff';
+            where.append("((name_lc >= ? AND name_lc < ?) OR (username_lc >= ? AND username_lc < ?)"
+                    + " OR (email_lc >= ? AND email_lc < ?))");
+            for (int i = 0; i < 3; i++) {
+                args.add(p);
+                args.add(end);
+            }
+        }
+        if (after != null) {
+            if (where.length() > 0) where.append(" AND ");
+            where.append("(name_lc > ? OR (name_lc = ? AND user_id > ?))");
+            String afterName = lower(after.getName());
+            args.add(afterName);
+            args.add(afterName);
+            args.add(after.getUserId());
+        }
+        args.add(String.valueOf(limit));
+        String sql = "SELECT " + COLUMNS + " FROM " + TABLE
+                + (where.length() > 0 ? " WHERE " + where : "") + ORDER;
+        return query(sql, args.toArray(new String[0]));
+    }
+
+    /**
+     * Returns the profiles with the given user ids (primary key lookups)
+     * @param userIds
+     * User ids to fetch
+     * @return
+     * Returns list of user summaries that exist, unordered
+     * @see UserSummary
+     */
+    public List<UserSummary> getProfilesByIds(Collection<String> userIds) {
         List<UserSummary> out = new ArrayList<>();
-        try {
-            JSONArray arr = new JSONArray(raw);
-            for (int i = 0; i < arr.length(); i++) {
-                JSONObject o = arr.getJSONObject(i);
-                out.add(new UserSummary(
-                        o.optString("userId", ""),
-                        o.optString("name", ""),
-                        o.optString("username", ""),
-                        o.optString("email", "")
-                ));
+        // Stay well under SQLite's bound-parameter limit
+        for (List<String> chunk : BatchWriter.chunk(userIds, 500)) {
+            StringBuilder marks = new StringBuilder();
+            for (int i = 0; i < chunk.size(); i++) {
+                marks.append(i == 0 ? "?" : ",?");
             }
-        } catch (JSONException ignore) {
-            //swallow and return empty
+            out.addAll(query("SELECT " + COLUMNS + " FROM " + TABLE + " WHERE user_id IN (" + marks + ")",
+                    chunk.toArray(new String[0])));
         }
         return out;
     }
@@ -61,28 +111,10 @@ public class ProfilesRepository {
      * Returns a boolean for success
      * @see UserSummary
      */
-    public synchronized boolean saveOrReplace(UserSummary summary) {
-        try {
-            JSONArray arr = new JSONArray(preferences.getString(KEY_PROFILES, "[]"));
-            JSONArray next = new JSONArray();
-            boolean replaced = false;
-            for (int i = 0; i < arr.length(); i++) {
-                JSONObject o = arr.getJSONObject(i);
-                if (summary.getUserId().equals(o.optString("userId"))) {
-                    next.put(toJson(summary));
-                    replaced = true;
-                } else {
-                    next.put(o);
-                }
-            }
-            if (!replaced) {
-                next.put(toJson(summary));
-            }
-            preferences.edit().putString(KEY_PROFILES, next.toString()).apply();
-            return true;
-        } catch (JSONException e) {
-            return false;
-        }
+    public boolean saveOrReplace(UserSummary summary) {
+        if (summary == null || summary.getUserId() == null) return false;
+        return helper.getWritableDatabase().insertWithOnConflict(TABLE, null, toValues(summary),
+                SQLiteDatabase.CONFLICT_REPLACE) != -1;
     }
 
     /**
@@ -92,43 +124,96 @@ public class ProfilesRepository {
      * @return
      * Returns a boolean for success
      */
-    public synchronized boolean deleteProfile(String userId) {
+    public boolean deleteProfile(String userId) {
+        return helper.getWritableDatabase().delete(TABLE, "user_id = ?", new String[]{userId}) > 0;
+    }
+
+    /**
+     * Applies a set of upserts and deletes in one transaction
+     * @param replaceAll
+     * True to drop every existing profile first (used for a full reload)
+     * @param upserts
+     * Profiles to save or replace
+     * @param deletedIds
+     * User ids to delete
+     * @see UserSummary
+     */
+    public void applyChanges(boolean replaceAll, Collection<UserSummary> upserts, Collection<String> deletedIds) {
+        SQLiteDatabase db = helper.getWritableDatabase();
+        db.beginTransaction();
         try {
-            JSONArray arr = new JSONArray(preferences.getString(KEY_PROFILES, "[]"));
-            JSONArray next = new JSONArray();
-            boolean removed = false;
-            for (int i = 0; i < arr.length(); i++) {
-                JSONObject o = arr.getJSONObject(i);
-                if (userId.equals(o.optString("userId"))) {
-                    removed = true;
-                } else {
-                    next.put(o);
+            if (replaceAll) {
+                db.delete(TABLE, null, null);
+            }
+            for (String userId : deletedIds) {
+                db.delete(TABLE, "user_id = ?", new String[]{userId});
+            }
+            for (UserSummary summary : upserts) {
+                if (summary.getUserId() != null) {
+                    db.insertWithOnConflict(TABLE, null, toValues(summary), SQLiteDatabase.CONFLICT_REPLACE);
                 }
             }
-            if (removed) {
-                preferences.edit().putString(KEY_PROFILES, next.toString()).apply();
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private List<UserSummary> query(String sql, String[] args) {
+        List<UserSummary> out = new ArrayList<>();
+        try (Cursor cursor = helper.getReadableDatabase().rawQuery(sql, args)) {
+            while (cursor.moveToNext()) {
+                out.add(new UserSummary(cursor.getString(0), cursor.getString(1),
+                        cursor.getString(2), cursor.getString(3)));
             }
-            return removed;
-        } catch (JSONException e) {
-            return false;
         }
+        return out;
+    }
+
+    private static ContentValues toValues(UserSummary s) {
+        ContentValues values = new ContentValues();
+        values.put("user_id", s.getUserId());
+        values.put("name", s.getName());
+        values.put("username", s.getUsername());
+        values.put("email", s.getEmail());
+        values.put("name_lc", lower(s.getName()));
+        values.put("username_lc", lower(s.getUsername()));
+        values.put("email_lc", lower(s.getEmail()));
+        return values;
+    }
+
+    private static String lower(@Nullable String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
     }
 
     /**
-     * Converts a user summary to a json format
-     * @param s
-     * User summary to convert
-     * @return
-     * Returns JSON of user summary
-     * @throws JSONException
-     * Error to be throw if failure in conversion
-     * @see UserSummary
+     * Creates the profile table and its indexes
      */
-    private JSONObject toJson(UserSummary s) throws JSONException {
-        JSONObject o = new JSONObject();
-        o.put("userId", s.getUserId());
-        o.put("name", s.getName());
-        o.put("email", s.getEmail());
-        return o;
+    private static final class Helper extends SQLiteOpenHelper {
+        private final Context context;
+
+        Helper(Context context) {
+            super(context, DB_NAME, null, DB_VERSION);
+            this.context = context;
+        }
+
+        @Override
+        public void onCreate(SQLiteDatabase db) {
+            db.execSQL("CREATE TABLE " + TABLE + " ("
+                    + "user_id TEXT PRIMARY KEY NOT NULL, "
+                    + "name TEXT, username TEXT, email TEXT, "
+                    + "name_lc TEXT NOT NULL, username_lc TEXT NOT NULL, email_lc TEXT NOT NULL)");
+            db.execSQL("CREATE INDEX profiles_name ON " + TABLE + " (name_lc, user_id)");
+            db.execSQL("CREATE INDEX profiles_username ON " + TABLE + " (username_lc)");
+            db.execSQL("CREATE INDEX profiles_email ON " + TABLE + " (email_lc)");
+            // The old JSON copy is superseded; it is rebuilt from Firestore by the admin snapshot
+            context.getSharedPreferences(LEGACY_PREF_NAME, Context.MODE_PRIVATE).edit().clear().apply();
+        }
+
+        @Override
+        public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+            db.execSQL("DROP TABLE IF EXISTS " + TABLE);
+            onCreate(db);
+        }
     }
 }
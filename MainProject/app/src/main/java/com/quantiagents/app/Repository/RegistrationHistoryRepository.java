@@ -1,34 +1,34 @@
 package com.quantiagents.app.Repository;
 
-import android.util.Log;
-
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.google.android.gms.tasks.OnFailureListener;
 import com.google.android.gms.tasks.OnSuccessListener;
-import com.google.android.gms.tasks.Tasks;
-import com.google.firebase.firestore.CollectionReference;
-import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
-import com.google.firebase.firestore.QuerySnapshot;
-import com.google.firebase.firestore.SetOptions;
+import com.google.android.gms.tasks.Task;
+import com.quantiagents.app.Constants.constant;
 import com.quantiagents.app.models.RegistrationHistory;
+import com.quantiagents.app.models.RosterStats;
 
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Manages locating and saving of registration histories
+ * <p>
+ * Registration histories are the single source of truth for who is on which of an event's rosters:
+ * a status change is one write to the history (one per event and user), and the rosters shown for
+ * an event are queried from here by (eventId, status). Joining and leaving a waiting list also keep
+ * the event's WAITLIST counter in step (see {@link EventCounterRepository}).
+ * </p>
+ * <p>
+ * Implemented by {@link FirestoreRegistrationHistoryRepository} and by the in-memory backend.
+ * </p>
  * @see RegistrationHistory
  */
-public class RegistrationHistoryRepository {
-
-    private final CollectionReference context;
-
-    public RegistrationHistoryRepository(FireBaseRepository fireBaseRepository) {
-        this.context = fireBaseRepository.getRegistrationHistoryCollectionRef();
-    }
+public interface RegistrationHistoryRepository {
 
     /**
      * Returns the registration history via an event id and a user id
@@ -40,21 +40,7 @@ public class RegistrationHistoryRepository {
      * Returns a registration history
      * @see RegistrationHistory
      */
-    public RegistrationHistory getRegistrationHistoryByEventIdAndUserId(String eventId, String userId) {
-        try {
-            String docId = eventId + "_" + userId;
-            DocumentSnapshot snapshot = Tasks.await(context.document(docId).get());
-            if (snapshot.exists()) {
-                return snapshot.toObject(RegistrationHistory.class);
-            } else {
-                Log.d("Firestore", "No registration history found for eventId: " + eventId + ", userId: " + userId);
-                return null;
-            }
-        } catch (ExecutionException | InterruptedException e) {
-            Log.e("Firestore", "Error getting registration history", e);
-            return null;
-        }
-    }
+    RegistrationHistory getRegistrationHistoryByEventIdAndUserId(String eventId, String userId);
 
     /**
      * Returns a list of all registration histories
@@ -62,22 +48,7 @@ public class RegistrationHistoryRepository {
      * Returns a list of registration histories
      * @see RegistrationHistory
      */
-    public List<RegistrationHistory> getAllRegistrationHistories() {
-        try {
-            QuerySnapshot snapshot = Tasks.await(context.get());
-            List<RegistrationHistory> histories = new ArrayList<>();
-            for (QueryDocumentSnapshot document : snapshot) {
-                RegistrationHistory history = document.toObject(RegistrationHistory.class);
-                if (history != null) {
-                    histories.add(history);
-                }
-            }
-            return histories;
-        } catch (ExecutionException | InterruptedException e) {
-            Log.e("Firestore", "Error getting all registration histories", e);
-            return new ArrayList<>();
-        }
-    }
+    List<RegistrationHistory> getAllRegistrationHistories();
 
     /**
      * Returns a list of registration histories via an event id
@@ -87,22 +58,88 @@ public class RegistrationHistoryRepository {
      * Returns a list of registration histories
      * @see RegistrationHistory
      */
-    public List<RegistrationHistory> getRegistrationHistoriesByEventId(String eventId) {
-        try {
-            QuerySnapshot snapshot = Tasks.await(context.whereEqualTo("eventId", eventId).get());
-            List<RegistrationHistory> histories = new ArrayList<>();
-            for (QueryDocumentSnapshot document : snapshot) {
-                RegistrationHistory history = document.toObject(RegistrationHistory.class);
-                if (history != null) {
-                    histories.add(history);
-                }
-            }
-            return histories;
-        } catch (ExecutionException | InterruptedException e) {
-            Log.e("Firestore", "Error getting registration histories by event ID", e);
-            return new ArrayList<>();
-        }
-    }
+    List<RegistrationHistory> getRegistrationHistoriesByEventId(String eventId);
+
+    /**
+     * Returns the registration histories of an event that have one of the given statuses
+     * @param eventId
+     * Event id to search for
+     * @param statuses
+     * Statuses to match (at most 30)
+     * @return
+     * Returns a list of registration histories, in no particular order
+     * @see RegistrationHistory
+     */
+    List<RegistrationHistory> getRegistrationHistoriesByEventIdAndStatus(String eventId, constant.EventRegistrationStatus... statuses);
+
+    /**
+     * Returns one page of the registration histories of an event with a given status, oldest registration first
+     * <p>
+     * Histories without a registration date are not returned.
+     * </p>
+     * @param eventId
+     * Event id to search for
+     * @param status
+     * Status to match
+     * @param after
+     * Last registration history of the previous page, or null for the first page
+     * @param limit
+     * Maximum amount of registration histories to return
+     * @return
+     * Returns a list of registration histories, ordered by registration date
+     * @see RegistrationHistory
+     */
+    List<RegistrationHistory> getRegistrationHistoriesPage(String eventId, constant.EventRegistrationStatus status,
+                                                           @Nullable RegistrationHistory after, int limit);
+
+    /**
+     * Returns one page of the user ids with a given status on an event, ordered by user id
+     * @param eventId
+     * Event id to search for
+     * @param status
+     * Registration status of the roster
+     * @param afterUserId
+     * Last user id of the previous page, or null for the first page
+     * @param limit
+     * Maximum amount of user ids to return
+     * @return
+     * Returns a task with the user ids of the page
+     */
+    Task<List<String>> getUserIdsByStatus(@NonNull String eventId, @NonNull constant.EventRegistrationStatus status,
+                                          @Nullable String afterUserId, int limit);
+
+    /**
+     * Gets the number of entrants on each of an event's rosters
+     * <p>
+     * Results are cached for {@link RosterStatsCache#TTL_MS}; registration history writes made
+     * through this repository drop the event's entry.
+     * </p>
+     * @param eventId
+     * Event id to count
+     * @return
+     * Returns a task with the roster stats
+     */
+    Task<RosterStats> getRosterStatsAsync(String eventId);
+
+    /**
+     * Gets the number of entrants on each of an event's rosters (blocking - must be called from background thread)
+     * @param eventId
+     * Event id to count
+     * @return
+     * Returns the roster stats, or null if they could not be counted
+     * @see #getRosterStatsAsync(String)
+     */
+    @Nullable
+    RosterStats getRosterStats(String eventId);
+
+    /**
+     * Counts the rosters of many events from the stored histories, bypassing the cache (blocking - must be called from background thread)
+     * @param eventIds
+     * Event ids to count
+     * @return
+     * Returns map of event id to its roster stats; events that could not be counted are absent
+     */
+    Map<String, RosterStats> countRosters(Collection<String> eventIds);
 
     /**
      * Returns a list of registration histories via a user id
@@ -112,25 +149,10 @@ public class RegistrationHistoryRepository {
      * Returns a list of registration histories
      * @see RegistrationHistory
      */
-    public List<RegistrationHistory> getRegistrationHistoriesByUserId(String userId) {
-        try {
-            QuerySnapshot snapshot = Tasks.await(context.whereEqualTo("userId", userId).get());
-            List<RegistrationHistory> histories = new ArrayList<>();
-            for (QueryDocumentSnapshot document : snapshot) {
-                RegistrationHistory history = document.toObject(RegistrationHistory.class);
-                if (history != null) {
-                    histories.add(history);
-                }
-            }
-            return histories;
-        } catch (ExecutionException | InterruptedException e) {
-            Log.e("Firestore", "Error getting registration histories by user ID", e);
-            return new ArrayList<>();
-        }
-    }
+    List<RegistrationHistory> getRegistrationHistoriesByUserId(String userId);
 
     /**
-     * Saves a registration history to the firebase
+     * Saves a registration history
      * @param history
      * Registration history to save
      * @param onSuccess
@@ -139,21 +161,73 @@ public class RegistrationHistoryRepository {
      * Calls a function on failure
      * @see RegistrationHistory
      */
-    public void saveRegistrationHistory(RegistrationHistory history, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
-        if (history == null) {
-            onFailure.onFailure(new IllegalArgumentException("Registration history cannot be null"));
-            return;
-        }
-        // Use composite key: eventId_userId
-        String docId = history.getEventId() + "_" + history.getUserId();
-        context.document(docId)
-                .set(history)
-                .addOnSuccessListener(onSuccess)
-                .addOnFailureListener(onFailure);
-    }
+    void saveRegistrationHistory(RegistrationHistory history, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure);
+
+    /**
+     * Puts a user on an event's waiting list
+     * <p>
+     * Checks the waiting list limit against the WAITLIST counter, then writes the registration
+     * history and increments the counter together. The limit check is not atomic with the write:
+     * a burst of joins may overshoot the limit by the number of joins in flight at the moment it
+     * is reached.
+     * </p>
+     * @param history
+     * Registration history to save, with WAITLIST status
+     * @param waitingListLimit
+     * Waiting list limit of the event, 0 for no limit
+     * @param onSuccess
+     * Calls a function on success
+     * @param onFailure
+     * Calls a function on failure (IllegalStateException if full or already registered)
+     * @see RegistrationHistory
+     */
+    void joinWaitlist(@NonNull RegistrationHistory history, double waitingListLimit,
+                      @NonNull OnSuccessListener<Void> onSuccess, @NonNull OnFailureListener onFailure);
+
+    /**
+     * Removes a user's registration for an event, decrementing the waiting list counter if they were on it
+     * @param eventId
+     * Event id to search for
+     * @param userId
+     * User id to search for
+     * @param onSuccess
+     * Calls a function on success (also when there was no registration)
+     * @param onFailure
+     * Calls a function on failure
+     */
+    void leaveWaitlist(@NonNull String eventId, @NonNull String userId,
+                       @NonNull OnSuccessListener<Void> onSuccess, @NonNull OnFailureListener onFailure);
+
+    /**
+     * Gets the number of entrants on an event's waiting list from its counter (blocking - must be called from background thread)
+     * @param eventId
+     * Event id to count
+     * @return
+     * Returns the waiting list size
+     */
+    long getWaitingCount(String eventId);
 
     /**
-     * Updates a registration history in the firebase
+     * Gets the waiting list sizes of many events from their counters (blocking - must be called from background thread)
+     * @param eventIds
+     * Event ids to count
+     * @return
+     * Returns map of event id to waiting list size; events nobody joined yet are absent
+     */
+    Map<String, Long> getWaitingCounts(Collection<String> eventIds);
+
+    /**
+     * Adjusts an event's waiting list counter after histories left the waiting list outside of leaveWaitlist,
+     * or to correct drift found by recounting
+     * @param eventId
+     * Event id the entrants left
+     * @param delta
+     * Amount to add (negative when entrants left)
+     */
+    void adjustWaitingCount(String eventId, long delta);
+
+    /**
+     * Updates a registration history
      * @param history
      * Registration history to update
      * @param onSuccess
@@ -162,25 +236,22 @@ public class RegistrationHistoryRepository {
      * Calls a function on failure
      * @see RegistrationHistory
      */
-    public void updateRegistrationHistory(@NonNull RegistrationHistory history,
-                                         @NonNull OnSuccessListener<Void> onSuccess,
-                                         @NonNull OnFailureListener onFailure) {
-        // Use composite key: eventId_userId
-        String docId = history.getEventId() + "_" + history.getUserId();
-        context.document(docId)
-                .set(history, SetOptions.merge()) // merge only changed fields
-                .addOnSuccessListener(aVoid -> {
-                    Log.d("Firestore", "Registration history updated: eventId=" + history.getEventId() + ", userId=" + history.getUserId());
-                    onSuccess.onSuccess(aVoid);
-                })
-                .addOnFailureListener(e -> {
-                    Log.e("Firestore", "Error updating registration history", e);
-                    onFailure.onFailure(e);
-                });
-    }
+    void updateRegistrationHistory(@NonNull RegistrationHistory history,
+                                  @NonNull OnSuccessListener<Void> onSuccess,
+                                  @NonNull OnFailureListener onFailure);
+
+    /**
+     * Updates many registration histories (blocking - must be called from background thread)
+     * @param histories
+     * Registration histories to update, merged into their existing documents
+     * @return
+     * Returns amount of registration histories updated
+     * @see RegistrationHistory
+     */
+    int updateRegistrationHistories(List<RegistrationHistory> histories);
 
     /**
-     * Deletes a registration history by an event id and a user id from the firebase
+     * Deletes a registration history by an event id and a user id
      * @param eventId
      * Event id to search for
      * @param userId
@@ -190,16 +261,10 @@ public class RegistrationHistoryRepository {
      * @param onFailure
      * Calls a function on failure
      */
-    public void deleteRegistrationHistoryByEventIdAndUserId(String eventId, String userId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
-        String docId = eventId + "_" + userId;
-        context.document(docId)
-                .delete()
-                .addOnSuccessListener(onSuccess)
-                .addOnFailureListener(onFailure);
-    }
+    void deleteRegistrationHistoryByEventIdAndUserId(String eventId, String userId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure);
 
     /**
-     * Deletes a registration history by an event id and a user id from the firebase
+     * Deletes a registration history by an event id and a user id
      * @param eventId
      * Event id to search for
      * @param userId
@@ -207,15 +272,72 @@ public class RegistrationHistoryRepository {
      * @return
      * Returns a boolean for success
      */
-    public boolean deleteRegistrationHistoryByEventIdAndUserId(String eventId, String userId) {
-        try {
-            String docId = eventId + "_" + userId;
-            Tasks.await(context.document(docId).delete());
-            Log.d("Firestore", "Registration history deleted: eventId=" + eventId + ", userId=" + userId);
-            return true;
-        } catch (ExecutionException | InterruptedException e) {
-            Log.e("Firestore", "Error deleting registration history", e);
-            return false;
-        }
+    boolean deleteRegistrationHistoryByEventIdAndUserId(String eventId, String userId);
+
+    /**
+     * Deletes every registration history belonging to any of the given events
+     * @param eventIds
+     * Event ids to clear
+     * @return
+     * Returns amount of registration histories deleted
+     */
+    int deleteRegistrationHistoriesByEventIds(Collection<String> eventIds);
+
+    /**
+     * Deletes every registration history belonging to any of the given users
+     * @param userIds
+     * User ids to clear
+     * @return
+     * Returns amount of registration histories deleted
+     */
+    int deleteRegistrationHistoriesByUserIds(Collection<String> userIds);
+
+    /**
+     * Reads one registration on the I/O pool; null if none.
+     */
+    default CompletableFuture<RegistrationHistory> getRegistrationHistoryByEventIdAndUserIdAsync(String eventId, String userId) {
+        return Futures.supply(() -> getRegistrationHistoryByEventIdAndUserId(eventId, userId));
+    }
+
+    /**
+     * Reads a user's registrations on the I/O pool.
+     */
+    default CompletableFuture<List<RegistrationHistory>> getRegistrationHistoriesByUserIdAsync(String userId) {
+        return Futures.supply(() -> getRegistrationHistoriesByUserId(userId));
+    }
+
+    /**
+     * Counts an event's rosters as a future; see {@link #getRosterStatsAsync}.
+     */
+    default CompletableFuture<RosterStats> getRosterStatsFuture(String eventId) {
+        return Futures.fromTask(getRosterStatsAsync(eventId));
+    }
+
+    /**
+     * Saves a registration as a future.
+     */
+    default CompletableFuture<Void> saveRegistrationHistoryAsync(RegistrationHistory history) {
+        return Futures.fromCallbacks((ok, err) -> saveRegistrationHistory(history, ok, err));
+    }
+
+    /**
+     * Updates a registration as a future.
+     */
+    default CompletableFuture<Void> updateRegistrationHistoryAsync(@NonNull RegistrationHistory history) {
+        return Futures.fromCallbacks((ok, err) -> updateRegistrationHistory(history, ok, err));
+    }
+
+    /**
+     * Joins a waiting list as a future; fails with IllegalStateException if full or already registered.
+     */
+    default CompletableFuture<Void> joinWaitlistAsync(@NonNull RegistrationHistory history, double waitingListLimit) {
+        return Futures.fromCallbacks((ok, err) -> joinWaitlist(history, waitingListLimit, ok, err));
+    }
+
+    /**
+     * Leaves a waiting list as a future.
+     */
+    default CompletableFuture<Void> leaveWaitlistAsync(@NonNull String eventId, @NonNull String userId) {
+        return Futures.fromCallbacks((ok, err) -> leaveWaitlist(eventId, userId, ok, err));
     }
 }
@@ -0,0 +1,102 @@
+package com.quantiagents.app.Repository;
+
+import androidx.annotation.Nullable;
+
+import com.quantiagents.app.models.RosterStats;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide cache of recently counted roster stats, keyed by event id.
+ * <p>
+ * Entries expire after {@link #TTL_MS}. Every registration history write made by this process
+ * invalidates the event it touched (or the whole cache, for writes whose events are unknown), so
+ * an organizer sees their own changes at once while screens that reopen within the TTL reuse the
+ * last count. A count that was started before an invalidation is not stored, so it can never
+ * bring back a stale value.
+ * </p>
+ */
+final class RosterStatsCache {
+
+    static final long TTL_MS = 30_000;
+
+    private static final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped by every invalidation; counts only go in if none happened while they ran
+    private static final AtomicLong generation = new AtomicLong();
+
+    private RosterStatsCache() {}
+
+    /**
+     * Gets the cached stats of an event
+     * @param eventId
+     * Event id to look up
+     * @return
+     * Returns the stats, or null if absent or expired
+     */
+    @Nullable
+    static RosterStats get(String eventId) {
+        Entry entry = entries.get(eventId);
+        if (entry == null) return null;
+        if (System.currentTimeMillis() >= entry.expiresAt) {
+            entries.remove(eventId, entry);
+            return null;
+        }
+        return entry.stats;
+    }
+
+    /**
+     * Gets the generation to pass to {@link #put} for a count starting now
+     * @return
+     * Returns the current generation
+     */
+    static long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Caches freshly counted stats, unless the cache was invalidated since the count started
+     * @param eventId
+     * Event id counted
+     * @param stats
+     * Counted stats
+     * @param startedAt
+     * Generation returned by {@link #generation()} before counting
+     */
+    static void put(String eventId, RosterStats stats, long startedAt) {
+        if (generation.get() == startedAt) {
+            entries.put(eventId, new Entry(stats, System.currentTimeMillis() + TTL_MS));
+        }
+    }
+
+    /**
+     * Drops the cached stats of an event after one of its registration histories was written
+     * @param eventId
+     * Event id written
+     */
+    static void invalidate(@Nullable String eventId) {
+        generation.incrementAndGet();
+        if (eventId != null) {
+            entries.remove(eventId);
+        }
+    }
+
+    /**
+     * Drops every cached entry, for bulk writes whose events are not known
+     */
+    static void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    private static final class Entry {
+        final RosterStats stats;
+        final long expiresAt;
+
+        Entry(RosterStats stats, long expiresAt) {
+            this.stats = stats;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
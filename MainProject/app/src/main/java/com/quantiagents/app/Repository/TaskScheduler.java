@@ -0,0 +1,626 @@
+package com.quantiagents.app.Repository;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The app's shared background threads, replacing per-screen executors and raw threads.
+ * <p>
+ * Work runs in one of two fixed-size pools: {@link Pool#IO} for blocking Firestore and network
+ * calls, {@link Pool#CPU} for computation (image decoding, sorting, diffing). Within a pool, queued
+ * tasks start by {@link Priority}, then in submission order. The thread count is bounded by the
+ * pool sizes however many screens are open; extra work waits in the queues. Delayed tasks
+ * ({@link #schedule}) wait on one shared timer thread, which only hands them to their pool, and
+ * work that must run in order goes through a {@link #serialExecutor} instead of a thread of its own.
+ * </p>
+ * <p>
+ * Every task carries a tag, normally the name of the screen or service that submitted it. A
+ * {@link Scope} groups a caller's tasks: cancelling it drops the queued ones and interrupts the
+ * running ones. A scope made with {@link #scope(LifecycleOwner, String)} cancels itself when its
+ * owner is destroyed, so screens no longer need to shut down executors of their own.
+ * Thread, queue and per-tag gauges are available from {@link #getMetrics()}.
+ * </p>
+ */
+public final class TaskScheduler {
+
+    /**
+     * The pools work can run in.
+     */
+    public enum Pool {
+        /** Blocking calls that mostly wait: Firestore reads and writes, network */
+        IO,
+        /** Work that keeps a core busy */
+        CPU
+    }
+
+    /**
+     * Start order within a pool; the lower ordinal always starts first.
+     */
+    public enum Priority {
+        /** Work a user is waiting on (loading the screen they opened) */
+        HIGH,
+        /** Everything else on a screen */
+        NORMAL,
+        /** Background upkeep (badges, cleanup, cascades) */
+        LOW
+    }
+
+    /** Firestore waits are network bound, so more threads than cores keeps independent reads parallel */
+    static final int IO_THREADS = 8;
+    static final int CPU_THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private static TaskScheduler instance;
+
+    private final Map<Pool, ThreadPoolExecutor> pools = new EnumMap<>(Pool.class);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, TagStats> tags = new ConcurrentHashMap<>();
+    // Only hands delayed tasks to their pool, so it never runs app code itself
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "scheduler-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Gets the process-wide scheduler.
+     *
+     * @return The shared TaskScheduler
+     */
+    public static synchronized TaskScheduler getInstance() {
+        if (instance == null) {
+            instance = new TaskScheduler();
+        }
+        return instance;
+    }
+
+    private TaskScheduler() {
+        this(IO_THREADS, CPU_THREADS);
+    }
+
+    TaskScheduler(int ioThreads, int cpuThreads) {
+        pools.put(Pool.IO, newPool("io", ioThreads));
+        pools.put(Pool.CPU, newPool("cpu", cpuThreads));
+    }
+
+    private static ThreadPoolExecutor newPool(String name, int threads) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new PriorityBlockingQueue<>(), r -> {
+                    Thread thread = new Thread(r, name + "-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Runs a task in a pool.
+     *
+     * @param pool     Pool to run in
+     * @param priority Start order within the pool
+     * @param tag      Name the task is counted under, e.g. the submitting screen
+     * @param task     The work
+     * @return A handle to cancel the task
+     */
+    public Cancellable execute(@NonNull Pool pool, @NonNull Priority priority, @NonNull String tag,
+                               @NonNull Runnable task) {
+        Job job = new Job(pool, priority, tag, task, null);
+        submit(job);
+        return job;
+    }
+
+    /**
+     * Runs a task in a pool, tagged with nothing more specific than its pool.
+     *
+     * @param pool     Pool to run in
+     * @param priority Start order within the pool
+     * @param task     The work
+     * @return A handle to cancel the task
+     */
+    public Cancellable execute(@NonNull Pool pool, @NonNull Priority priority, @NonNull Runnable task) {
+        return execute(pool, priority, pool.name().toLowerCase(Locale.US), task);
+    }
+
+    /**
+     * Runs a task in a pool after a delay, e.g. to debounce or batch work.
+     *
+     * @param pool     Pool to run in
+     * @param priority Start order within the pool once the delay has passed
+     * @param tag      Name the task is counted under, e.g. the submitting screen
+     * @param delayMs  Delay before the task is queued, in milliseconds
+     * @param task     The work
+     * @return A handle to cancel the task, also while it is still waiting for the delay
+     */
+    public Cancellable schedule(@NonNull Pool pool, @NonNull Priority priority, @NonNull String tag,
+                                long delayMs, @NonNull Runnable task) {
+        Job job = new Job(pool, priority, tag, task, null);
+        submitLater(job, delayMs);
+        return job;
+    }
+
+    /**
+     * An executor that runs tasks in a pool with a fixed priority and tag, e.g. for CompletableFuture stages.
+     *
+     * @param pool     Pool to run in
+     * @param priority Start order within the pool
+     * @param tag      Name the tasks are counted under
+     * @return The executor
+     */
+    public Executor executor(@NonNull Pool pool, @NonNull Priority priority, @NonNull String tag) {
+        return task -> execute(pool, priority, tag, task);
+    }
+
+    /**
+     * An executor that runs its tasks one at a time, in submission order, in a pool. Use it in place
+     * of a single-thread executor for state that only one task may touch at a time.
+     *
+     * @param pool     Pool to run in
+     * @param priority Start order of each task within the pool
+     * @param tag      Name the tasks are counted under
+     * @return The executor
+     */
+    public Executor serialExecutor(@NonNull Pool pool, @NonNull Priority priority, @NonNull String tag) {
+        return new SerialExecutor(pool, priority, tag, null);
+    }
+
+    /**
+     * Makes a scope that lives until {@link Scope#cancel()} is called, e.g. from ViewModel.onCleared.
+     *
+     * @param tag Name the scope's tasks are counted under
+     * @return The scope
+     */
+    public Scope scope(@NonNull String tag) {
+        return new Scope(tag);
+    }
+
+    /**
+     * Makes a scope that cancels itself when the owner is destroyed. Must be called on the main thread.
+     *
+     * @param owner The activity, fragment or view lifecycle the work belongs to
+     * @param tag   Name the scope's tasks are counted under
+     * @return The scope; already cancelled if the owner is already destroyed
+     */
+    public Scope scope(@NonNull LifecycleOwner owner, @NonNull String tag) {
+        Scope scope = new Scope(tag);
+        Lifecycle lifecycle = owner.getLifecycle();
+        if (lifecycle.getCurrentState() == Lifecycle.State.DESTROYED) {
+            scope.cancel();
+            return scope;
+        }
+        lifecycle.addObserver(new DefaultLifecycleObserver() {
+            @Override
+            public void onDestroy(@NonNull LifecycleOwner source) {
+                source.getLifecycle().removeObserver(this);
+                scope.cancel();
+            }
+        });
+        return scope;
+    }
+
+    /**
+     * Snapshot of the thread, queue and per-tag gauges.
+     *
+     * @return The current metrics
+     */
+    public Metrics getMetrics() {
+        Map<Pool, PoolStats> poolStats = new EnumMap<>(Pool.class);
+        for (Map.Entry<Pool, ThreadPoolExecutor> entry : pools.entrySet()) {
+            ThreadPoolExecutor pool = entry.getValue();
+            poolStats.put(entry.getKey(), new PoolStats(pool.getActiveCount(), pool.getPoolSize(),
+                    pool.getLargestPoolSize(), pool.getQueue().size(), pool.getCompletedTaskCount()));
+        }
+        Map<String, TagStats> tagStats = new HashMap<>();
+        for (Map.Entry<String, TagStats> entry : tags.entrySet()) {
+            tagStats.put(entry.getKey(), entry.getValue().copy());
+        }
+        return new Metrics(poolStats, tagStats);
+    }
+
+    private void submitLater(Job job, long delayMs) {
+        timer.schedule(() -> {
+            // A job cancelled while waiting is dropped here; one cancelled after this check is skipped by run()
+            if (!job.isCancelled()) {
+                submit(job);
+            }
+        }, Math.max(0, delayMs), TimeUnit.MILLISECONDS);
+    }
+
+    private void submit(Job job) {
+        TagStats stats = tags.computeIfAbsent(job.tag, t -> new TagStats());
+        stats.submitted.incrementAndGet();
+        stats.queued.incrementAndGet();
+        pools.get(job.pool).execute(job);
+    }
+
+    /**
+     * A submitted task that can be cancelled.
+     */
+    public interface Cancellable {
+        /**
+         * Drops the task if it hasn't started, or interrupts it if it is running.
+         */
+        void cancel();
+
+        /**
+         * @return Whether the task was cancelled
+         */
+        boolean isCancelled();
+    }
+
+    /**
+     * A group of tasks with one tag that are cancelled together, typically everything one screen submitted.
+     */
+    public final class Scope {
+        private final String tag;
+        private final Set<Job> jobs = ConcurrentHashMap.newKeySet();
+        private volatile boolean cancelled;
+
+        private Scope(String tag) {
+            this.tag = tag;
+        }
+
+        /**
+         * Runs a blocking task in the I/O pool at normal priority.
+         *
+         * @param task The work
+         * @return A handle to cancel the task; a no-op once the scope is cancelled
+         */
+        public Cancellable execute(@NonNull Runnable task) {
+            return execute(Pool.IO, Priority.NORMAL, task);
+        }
+
+        /**
+         * Runs a task in the scope.
+         *
+         * @param pool     Pool to run in
+         * @param priority Start order within the pool
+         * @param task     The work
+         * @return A handle to cancel the task; a no-op once the scope is cancelled
+         */
+        public Cancellable execute(@NonNull Pool pool, @NonNull Priority priority, @NonNull Runnable task) {
+            Job job = new Job(pool, priority, tag, task, this);
+            if (admit(job)) {
+                submit(job);
+            }
+            return job;
+        }
+
+        /**
+         * Runs a task in the scope after a delay, e.g. a debounced search.
+         *
+         * @param pool     Pool to run in
+         * @param priority Start order within the pool once the delay has passed
+         * @param delayMs  Delay before the task is queued, in milliseconds
+         * @param task     The work
+         * @return A handle to cancel the task; a no-op once the scope is cancelled
+         */
+        public Cancellable schedule(@NonNull Pool pool, @NonNull Priority priority, long delayMs,
+                                    @NonNull Runnable task) {
+            Job job = new Job(pool, priority, tag, task, this);
+            if (admit(job)) {
+                submitLater(job, delayMs);
+            }
+            return job;
+        }
+
+        private boolean admit(Job job) {
+            if (cancelled) {
+                job.cancel();
+                return false;
+            }
+            jobs.add(job);
+            // cancel() may have run between the check and the add
+            if (cancelled) {
+                job.cancel();
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * An executor that runs tasks in the scope, e.g. for CompletableFuture stages.
+         *
+         * @param pool     Pool to run in
+         * @param priority Start order within the pool
+         * @return The executor
+         */
+        public Executor executor(@NonNull Pool pool, @NonNull Priority priority) {
+            return task -> execute(pool, priority, task);
+        }
+
+        /**
+         * An executor that runs tasks in the scope one at a time, in submission order.
+         *
+         * @param pool     Pool to run in
+         * @param priority Start order of each task within the pool
+         * @return The executor; drops its tasks once the scope is cancelled
+         */
+        public Executor serialExecutor(@NonNull Pool pool, @NonNull Priority priority) {
+            return new SerialExecutor(pool, priority, tag, this);
+        }
+
+        /**
+         * Drops the scope's queued tasks and interrupts its running ones. Later tasks are dropped on submission.
+         */
+        public void cancel() {
+            cancelled = true;
+            for (Job job : jobs) {
+                job.cancel();
+            }
+            jobs.clear();
+        }
+
+        /**
+         * @return Whether the scope was cancelled; long tasks can check this between steps
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    /**
+     * Hands its tasks to the pool one at a time, so they run in order without a thread of their own
+     * and a long backlog doesn't hold a pool thread between tasks.
+     */
+    private final class SerialExecutor implements Executor {
+        private final Pool pool;
+        private final Priority priority;
+        private final String tag;
+        @Nullable private final Scope scope;
+        // Guarded by this
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        private boolean active;
+
+        SerialExecutor(Pool pool, Priority priority, String tag, @Nullable Scope scope) {
+            this.pool = pool;
+            this.priority = priority;
+            this.tag = tag;
+            this.scope = scope;
+        }
+
+        @Override
+        public void execute(@NonNull Runnable task) {
+            synchronized (this) {
+                if (scope != null && scope.cancelled) {
+                    return;
+                }
+                tasks.add(task);
+                if (active) {
+                    return;
+                }
+                active = true;
+            }
+            runNext();
+        }
+
+        private void runNext() {
+            Runnable next;
+            synchronized (this) {
+                next = tasks.poll();
+                if (next == null) {
+                    active = false;
+                    return;
+                }
+            }
+            Runnable step = () -> {
+                try {
+                    next.run();
+                } finally {
+                    runNext();
+                }
+            };
+            Cancellable job = scope != null
+                    ? scope.execute(pool, priority, step)
+                    : TaskScheduler.this.execute(pool, priority, tag, step);
+            if (job.isCancelled()) {
+                // The scope is gone, so nothing still waiting here would run
+                synchronized (this) {
+                    tasks.clear();
+                    active = false;
+                }
+            }
+        }
+    }
+
+    private final class Job implements Runnable, Comparable<Job>, Cancellable {
+        private final Pool pool;
+        private final Priority priority;
+        private final String tag;
+        private final Runnable task;
+        private final Scope scope;
+        private final long order = sequence.getAndIncrement();
+        // Guarded by this
+        private Thread runner;
+        private boolean started;
+        private volatile boolean cancelled;
+
+        Job(Pool pool, Priority priority, String tag, Runnable task, Scope scope) {
+            this.pool = pool;
+            this.priority = priority;
+            this.tag = tag;
+            this.task = task;
+            this.scope = scope;
+        }
+
+        @Override
+        public int compareTo(Job other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(order, other.order);
+        }
+
+        @Override
+        public void run() {
+            TagStats stats = tags.get(tag);
+            synchronized (this) {
+                started = true;
+                stats.queued.decrementAndGet();
+                // The scope may still be working through its jobs, having freed this thread by interrupting one
+                if (scope != null && scope.cancelled) {
+                    cancelled = true;
+                }
+                if (cancelled) {
+                    stats.cancelled.incrementAndGet();
+                    finish();
+                    return;
+                }
+                runner = Thread.currentThread();
+            }
+            stats.running.incrementAndGet();
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                stats.failed.incrementAndGet();
+                Log.e("App", "Background task failed (" + tag + ")", e);
+            } finally {
+                stats.running.decrementAndGet();
+                synchronized (this) {
+                    runner = null;
+                    // Don't leak an interrupt meant for this task into the next one on the thread
+                    Thread.interrupted();
+                }
+                finish();
+            }
+        }
+
+        private void finish() {
+            if (scope != null) {
+                scope.jobs.remove(this);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            boolean wasQueued;
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+                if (runner != null) {
+                    runner.interrupt();
+                    wasQueued = false;
+                } else if (!started && pools.get(pool).remove(this)) {
+                    wasQueued = true;
+                } else {
+                    // Finished, about to start (run() counts it), or not submitted (yet)
+                    finish();
+                    return;
+                }
+            }
+            TagStats stats = tags.get(tag);
+            stats.cancelled.incrementAndGet();
+            if (wasQueued) {
+                stats.queued.decrementAndGet();
+            }
+            finish();
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private static final class TagStats {
+        final AtomicLong submitted = new AtomicLong();
+        final AtomicInteger queued = new AtomicInteger();
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicLong cancelled = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+
+        TagStats copy() {
+            TagStats copy = new TagStats();
+            copy.submitted.set(submitted.get());
+            copy.queued.set(queued.get());
+            copy.running.set(running.get());
+            copy.cancelled.set(cancelled.get());
+            copy.failed.set(failed.get());
+            return copy;
+        }
+    }
+
+    private static final class PoolStats {
+        final int activeThreads;
+        final int threads;
+        final int largestThreads;
+        final int queued;
+        final long completed;
+
+        PoolStats(int activeThreads, int threads, int largestThreads, int queued, long completed) {
+            this.activeThreads = activeThreads;
+            this.threads = threads;
+            this.largestThreads = largestThreads;
+            this.queued = queued;
+            this.completed = completed;
+        }
+    }
+
+    /**
+     * Point-in-time gauges of the pools and of the tasks per tag.
+     */
+    public static final class Metrics {
+        private final Map<Pool, PoolStats> pools;
+        private final Map<String, TagStats> tags;
+
+        Metrics(Map<Pool, PoolStats> pools, Map<String, TagStats> tags) {
+            this.pools = pools;
+            this.tags = tags;
+        }
+
+        /** @return Threads of the pool running a task */
+        public int getActiveThreads(Pool pool) { return pools.get(pool).activeThreads; }
+
+        /** @return Threads the pool currently holds, busy or idle */
+        public int getThreads(Pool pool) { return pools.get(pool).threads; }
+
+        /** @return Most threads the pool has held at once; never above its fixed size */
+        public int getLargestThreads(Pool pool) { return pools.get(pool).largestThreads; }
+
+        /** @return Tasks waiting for a thread of the pool */
+        public int getQueueDepth(Pool pool) { return pools.get(pool).queued; }
+
+        /** @return Tasks the pool has finished */
+        public long getCompleted(Pool pool) { return pools.get(pool).completed; }
+
+        /** @return Tags tasks have been submitted under */
+        public Set<String> getTags() { return tags.keySet(); }
+
+        /** @return Tasks of the tag waiting for a thread */
+        public int getQueued(String tag) { TagStats t = tags.get(tag); return t == null ? 0 : t.queued.get(); }
+
+        /** @return Tasks of the tag running now */
+        public int getRunning(String tag) { TagStats t = tags.get(tag); return t == null ? 0 : t.running.get(); }
+
+        /** @return Tasks ever submitted under the tag */
+        public long getSubmitted(String tag) { TagStats t = tags.get(tag); return t == null ? 0 : t.submitted.get(); }
+
+        /** @return Tasks of the tag cancelled before or while running */
+        public long getCancelled(String tag) { TagStats t = tags.get(tag); return t == null ? 0 : t.cancelled.get(); }
+
+        /** @return Tasks of the tag that threw */
+        public long getFailed(String tag) { TagStats t = tags.get(tag); return t == null ? 0 : t.failed.get(); }
+    }
+}
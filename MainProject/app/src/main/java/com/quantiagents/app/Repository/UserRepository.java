@@ -1,76 +1,28 @@
 package com.quantiagents.app.Repository;
 
-import android.util.Log;
-
 import androidx.annotation.NonNull;
 
 import com.google.android.gms.tasks.OnFailureListener;
 import com.google.android.gms.tasks.OnSuccessListener;
-import com.google.android.gms.tasks.Task;
-import com.google.android.gms.tasks.Tasks;
-import com.google.firebase.firestore.CollectionReference;
-import com.google.firebase.firestore.DocumentReference;
-import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
-import com.google.firebase.firestore.QuerySnapshot;
-import com.google.firebase.firestore.SetOptions;
-import com.google.firebase.firestore.Source;
 import com.quantiagents.app.models.User;
 
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * Direct Firestore access layer to keep SDK details out of the services.
- * Provides data access methods for User entities.
+ * Data access for User entities, keeping storage details out of the services.
+ * Implemented by {@link FirestoreUserRepository} and by the in-memory backend.
  */
-public class UserRepository {
-
-    private final CollectionReference context;
-
-    /**
-     * Constructor that initializes the UserRepository with a FireBaseRepository.
-     *
-     * @param fireBaseRepository Wrapper around the Firebase entry points
-     */
-    public UserRepository(FireBaseRepository fireBaseRepository) {
-        this.context = fireBaseRepository.getUserCollectionRef();
-    }
+public interface UserRepository {
 
     /**
      * Fetches a user document by id. Used sparingly since most flows key off device id.
-     * CRITICAL FIX: Checks for invalid ID before calling Firestore to prevent IllegalArgumentException crash.
      *
      * @param userId The unique identifier of the user to retrieve
      * @return The User object if found, null otherwise
      */
-    public User getUserById(String userId) {
-        // CRITICAL FIX: Check for invalid ID before calling Firestore to prevent IllegalArgumentException crash
-        if (userId == null || userId.trim().isEmpty()) {
-            Log.w("Firestore", "getUserById called with null or empty ID");
-            return null;
-        }
-
-        try {
-            DocumentSnapshot snapshot = Tasks.await(context.document(userId).get());
-            if (snapshot.exists()) {
-                return snapshot.toObject(User.class);
-            } else {
-                Log.d("Firestore", "No user found for ID: " + userId);
-                return null;
-            }
-        } catch (IllegalArgumentException e) {
-            Log.e("Firestore", "Invalid argument for user ID: " + userId, e);
-            return null;
-        } catch (ExecutionException | InterruptedException e) {
-            Log.e("Firestore", "Error getting user", e);
-            return null;
-        } catch (Exception e) {
-            Log.e("Firestore", "Unexpected error getting user", e);
-            return null;
-        }
-    }
+    User getUserById(String userId);
 
     /**
      * Asynchronously fetches a user by their user ID.
@@ -79,181 +31,64 @@ public class UserRepository {
      * @param onSuccess Callback invoked with the User object if found, or null if not found
      * @param onFailure Callback invoked if an error occurs or userId is invalid
      */
-    public void getUserById(String userId, OnSuccessListener<User> onSuccess, OnFailureListener onFailure) {
-        if (userId == null || userId.trim().isEmpty()) {
-            onFailure.onFailure(new IllegalArgumentException("User ID cannot be null or empty"));
-            return;
-        }
-        context.document(userId).get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        User user = documentSnapshot.toObject(User.class);
-                        onSuccess.onSuccess(user);
-                    } else {
-                        Log.d("Firestore", "No user found for ID: " + userId);
-                        onSuccess.onSuccess(null);
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e("Firestore", "Error getting user", e);
-                    onFailure.onFailure(e);
-                });
-    }
+    void getUserById(String userId, OnSuccessListener<User> onSuccess, OnFailureListener onFailure);
 
     /**
      * Synchronously fetches a user by their device ID.
-     * Efficiently queries Firestore instead of downloading the entire collection.
      *
      * @param deviceId The device ID to search for
      * @return The User object if found, null otherwise
      */
-    public User getUserByDeviceId(String deviceId) {
-        if (deviceId == null || deviceId.trim().isEmpty()) {
-            return null;
-        }
-        try {
-            QuerySnapshot snapshot = Tasks.await(context.whereEqualTo("deviceId", deviceId).get());
-            if (!snapshot.isEmpty()) {
-                // Assuming one user per device ID, take the first match
-                return snapshot.getDocuments().get(0).toObject(User.class);
-            }
-            return null;
-        } catch (Exception e) {
-            Log.e("Firestore", "Error getting user by device ID", e);
-            return null;
-        }
-    }
+    User getUserByDeviceId(String deviceId);
 
     /**
      * Asynchronously fetches a user by their device ID.
      */
-    public void getUserByDeviceId(String deviceId, OnSuccessListener<User> onSuccess, OnFailureListener onFailure) {
-        if (deviceId == null || deviceId.trim().isEmpty()) {
-            onSuccess.onSuccess(null);
-            return;
-        }
-        context.whereEqualTo("deviceId", deviceId).get()
-                .addOnSuccessListener(querySnapshot -> {
-                    if (!querySnapshot.isEmpty()) {
-                        User user = querySnapshot.getDocuments().get(0).toObject(User.class);
-                        onSuccess.onSuccess(user);
-                    } else {
-                        onSuccess.onSuccess(null);
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e("Firestore", "Error getting user by device ID", e);
-                    onFailure.onFailure(e);
-                });
-    }
+    void getUserByDeviceId(String deviceId, OnSuccessListener<User> onSuccess, OnFailureListener onFailure);
 
     /**
      * Upserts the user document, auto-generating an id if none was provided.
      */
-    public void saveUser(User user, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
-        if (user.getUserId() == null || user.getUserId().trim().isEmpty()) {
-            Task<DocumentReference> addTask = context.add(user);
-            addTask.addOnSuccessListener(documentReference -> {
-                String docId = documentReference.getId();
-                user.setUserId(docId);
-                context.document(docId).update("userId", docId)
-                        .addOnSuccessListener(aVoid -> {
-                            Log.d("Firestore", "User created with auto-generated ID: " + docId);
-                            onSuccess.onSuccess(aVoid);
-                        })
-                        .addOnFailureListener(e -> {
-                            Log.e("Firestore", "Error updating user with generated ID", e);
-                            onSuccess.onSuccess(null);
-                        });
-            }).addOnFailureListener(onFailure);
-        } else {
-            DocumentReference docRef = context.document(user.getUserId());
-            docRef.get().addOnSuccessListener(documentSnapshot -> {
-                if (documentSnapshot.exists()) {
-                    docRef.set(user, SetOptions.merge())
-                            .addOnSuccessListener(onSuccess)
-                            .addOnFailureListener(onFailure);
-                } else {
-                    docRef.set(user)
-                            .addOnSuccessListener(onSuccess)
-                            .addOnFailureListener(onFailure);
-                }
-            }).addOnFailureListener(onFailure);
-        }
-    }
+    void saveUser(User user, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure);
 
     /**
      * Writes a merge update for the supplied user id.
      */
-    public void updateUser(@NonNull User user,
-                           @NonNull OnSuccessListener<Void> onSuccess,
-                           @NonNull OnFailureListener onFailure) {
-        context.document(user.getUserId())
-                .set(user, SetOptions.merge())
-                .addOnSuccessListener(aVoid -> {
-                    Log.d("Firestore", "User updated: " + user.getUserId());
-                    onSuccess.onSuccess(aVoid);
-                })
-                .addOnFailureListener(e -> {
-                    Log.e("Firestore", "Error updating user", e);
-                    onFailure.onFailure(e);
-                });
-    }
+    void updateUser(@NonNull User user,
+                    @NonNull OnSuccessListener<Void> onSuccess,
+                    @NonNull OnFailureListener onFailure);
 
     /**
      * Deletes the given user document outright.
      */
-    public void deleteUserById(String userId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
-        if (userId == null || userId.trim().isEmpty()) {
-            Log.e("Firestore", "Cannot delete user: userId is null or empty");
-            onFailure.onFailure(new IllegalArgumentException("userId cannot be null or empty"));
-            return;
-        }
-        context.document(userId)
-                .delete()
-                .addOnSuccessListener(onSuccess)
-                .addOnFailureListener(onFailure);
-    }
+    void deleteUserById(String userId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure);
+
+    /**
+     * Fetches a set of users by id.
+     * Ids that don't exist are simply missing from the result.
+     *
+     * @param userIds The ids of the users to retrieve
+     * @return The users that were found
+     */
+    List<User> getUsersByIds(Collection<String> userIds);
+
+    /**
+     * Deletes a set of user documents (blocking).
+     *
+     * @param userIds The ids of the users to delete
+     * @return The number of users deleted
+     */
+    int deleteUsersByIds(Collection<String> userIds);
 
     /**
      * Reads using the default cache policy; fine for most UI flows.
      */
-    public List<User> getAllUsers() {
-        try {
-            QuerySnapshot snapshot = Tasks.await(context.get());
-            List<User> users = new ArrayList<>();
-            for (QueryDocumentSnapshot document : snapshot) {
-                User user = document.toObject(User.class);
-                if (user != null) {
-                    users.add(user);
-                }
-            }
-            return users;
-        } catch (ExecutionException | InterruptedException e) {
-            Log.e("Firestore", "Error getting all users", e);
-            return new ArrayList<>();
-        }
-    }
+    List<User> getAllUsers();
 
     /**
      * Forces a server fetch; I only call this when tests need the absolute latest state.
      */
-    public List<User> getAllUsersFromServer() {
-        try {
-            QuerySnapshot snapshot = Tasks.await(context.get(Source.SERVER));
-            List<User> users = new ArrayList<>();
-            for (QueryDocumentSnapshot document : snapshot) {
-                User user = document.toObject(User.class);
-                if (user != null) {
-                    users.add(user);
-                }
-            }
-            return users;
-        } catch (ExecutionException | InterruptedException e) {
-            Log.e("Firestore", "Error getting all users from server", e);
-            return new ArrayList<>();
-        }
-    }
+    List<User> getAllUsersFromServer();
 
     /**
      * A function that collects all users and sums them into a List
@@ -263,23 +98,7 @@ public class UserRepository {
      * Calls a function on failure
      * @see User
      */
-    public void getAllUsers(OnSuccessListener<List<User>> onSuccess, OnFailureListener onFailure) {
-        context.get()
-                .addOnSuccessListener(querySnapshot -> {
-                    List<User> users = new ArrayList<>();
-                    for (QueryDocumentSnapshot document : querySnapshot) {
-                        User user = document.toObject(User.class);
-                        if (user != null) {
-                            users.add(user);
-                        }
-                    }
-                    onSuccess.onSuccess(users);
-                })
-                .addOnFailureListener(e -> {
-                    Log.e("Firestore", "Error getting all users", e);
-                    onFailure.onFailure(e);
-                });
-    }
+    void getAllUsers(OnSuccessListener<List<User>> onSuccess, OnFailureListener onFailure);
 
     /**
      * Takes in a username and checks the database
@@ -292,29 +111,49 @@ public class UserRepository {
      * @param onFailure
      * Calls a function on failure
      */
-    public void checkProfileUnique(String username, String email,
-                                       OnSuccessListener<List<Boolean>> onSuccess,
-                                       OnFailureListener onFailure) {
-
-        Task<QuerySnapshot> usernameTask = context.whereEqualTo("username", username.trim())
-                .limit(1)
-                .get();
+    void checkProfileUnique(String username, String email,
+                                OnSuccessListener<List<Boolean>> onSuccess,
+                                OnFailureListener onFailure);
 
-        Task<QuerySnapshot> emailTask = context.whereEqualTo("email", email.trim())
-                .limit(1)
-                .get();
+    /**
+     * Fetches a user by id as a future; null if not found.
+     */
+    default CompletableFuture<User> getUserByIdAsync(String userId) {
+        return Futures.fromCallbacks((ok, err) -> getUserById(userId, ok, err));
+    }
 
-        List<Boolean> checks = new ArrayList<>();
+    /**
+     * Fetches a user by device id as a future; null if not found.
+     */
+    default CompletableFuture<User> getUserByDeviceIdAsync(String deviceId) {
+        return Futures.fromCallbacks((ok, err) -> getUserByDeviceId(deviceId, ok, err));
+    }
 
-        Tasks.whenAllSuccess(usernameTask, emailTask)
-                .addOnSuccessListener(results -> {
-                    checks.add(!usernameTask.getResult().isEmpty());
-                    checks.add(!emailTask.getResult().isEmpty());
+    /**
+     * Fetches a set of users on the I/O pool; see {@link #getUsersByIds}.
+     */
+    default CompletableFuture<List<User>> getUsersByIdsAsync(Collection<String> userIds) {
+        return Futures.supply(() -> getUsersByIds(userIds));
+    }
 
-                    onSuccess.onSuccess(checks);
-                })
-                .addOnFailureListener(onFailure);
+    /**
+     * Upserts a user as a future.
+     */
+    default CompletableFuture<Void> saveUserAsync(User user) {
+        return Futures.fromCallbacks((ok, err) -> saveUser(user, ok, err));
     }
 
+    /**
+     * Merges a user update as a future.
+     */
+    default CompletableFuture<Void> updateUserAsync(@NonNull User user) {
+        return Futures.fromCallbacks((ok, err) -> updateUser(user, ok, err));
+    }
 
-}
\ No newline at end of file
+    /**
+     * Deletes a user as a future.
+     */
+    default CompletableFuture<Void> deleteUserByIdAsync(String userId) {
+        return Futures.fromCallbacks((ok, err) -> deleteUserById(userId, ok, err));
+    }
+}
@@ -0,0 +1,183 @@
+package com.quantiagents.app.Repository;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Retries Firestore writes that failed with a transient error.
+ * <p>
+ * Only UNAVAILABLE, DEADLINE_EXCEEDED and ABORTED are retried; anything else (permission denied,
+ * invalid data, ...) goes straight to the caller. Delays grow exponentially from
+ * {@link #BASE_DELAY_MS} up to {@link #MAX_DELAY_MS} with full jitter, for at most
+ * {@link #MAX_ATTEMPTS} attempts. Retried writes must be idempotent: repositories give new
+ * documents a client-generated id before the first attempt (instead of {@code add()}), so a retry
+ * rewrites the same document rather than creating a duplicate. Writes carrying
+ * {@code FieldValue.increment} or array transforms must not be run through here, since an attempt
+ * reported as failed may still have been applied.
+ * </p>
+ * <p>
+ * Attempts, retries and outcomes are counted per operation name; see {@link #getStats()}.
+ * </p>
+ */
+public final class WriteRetry {
+
+    static final int MAX_ATTEMPTS = 5;
+    static final long BASE_DELAY_MS = 250;
+    static final long MAX_DELAY_MS = 8000;
+
+    private static final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "write-retry");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    private WriteRetry() {}
+
+    /**
+     * Runs a write, retrying transient failures with jittered exponential backoff
+     * @param operation
+     * Name the attempts are counted under, e.g. "saveEvent"
+     * @param attempt
+     * Starts one attempt of the write; called again for each retry, so it must be idempotent
+     * @return
+     * Returns a task with the result of the first successful attempt, or the last failure
+     */
+    public static <T> Task<T> run(@NonNull String operation, @NonNull Supplier<Task<T>> attempt) {
+        TaskCompletionSource<T> result = new TaskCompletionSource<>();
+        attempt(operation, attempt, 1, result);
+        return result.getTask();
+    }
+
+    private static <T> void attempt(String operation, Supplier<Task<T>> attempt, int number,
+                                    TaskCompletionSource<T> result) {
+        Counters c = countersFor(operation);
+        c.attempts.incrementAndGet();
+        Task<T> task;
+        try {
+            task = attempt.get();
+        } catch (RuntimeException e) {
+            c.failed.incrementAndGet();
+            result.trySetException(e);
+            return;
+        }
+        task.addOnCompleteListener(Runnable::run, t -> {
+            if (t.isSuccessful()) {
+                if (number > 1) c.recovered.incrementAndGet();
+                result.trySetResult(t.getResult());
+                return;
+            }
+            Exception e = t.getException();
+            if (isTransient(e) && number < MAX_ATTEMPTS) {
+                c.retries.incrementAndGet();
+                long delay = backoffMillis(number);
+                Log.w("Firestore", operation + " failed (attempt " + number + "), retrying in " + delay + "ms", e);
+                schedule(() -> attempt(operation, attempt, number + 1, result), delay);
+            } else {
+                c.failed.incrementAndGet();
+                result.trySetException(e != null ? e : new IllegalStateException(operation + " failed"));
+            }
+        });
+    }
+
+    /**
+     * Checks whether a failure is worth retrying
+     * @param e
+     * Failure, possibly wrapped (e.g. in an ExecutionException)
+     * @return
+     * Returns true for UNAVAILABLE, DEADLINE_EXCEEDED and ABORTED
+     */
+    public static boolean isTransient(Exception e) {
+        Throwable cause = e;
+        while (cause != null) {
+            if (cause instanceof FirebaseFirestoreException) {
+                FirebaseFirestoreException.Code code = ((FirebaseFirestoreException) cause).getCode();
+                return code == FirebaseFirestoreException.Code.UNAVAILABLE
+                        || code == FirebaseFirestoreException.Code.DEADLINE_EXCEEDED
+                        || code == FirebaseFirestoreException.Code.ABORTED;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
+    /**
+     * Gets the delay before the retry that follows a failed attempt (full jitter)
+     * @param failedAttempt
+     * Number of the attempt that failed, starting at 1
+     * @return
+     * Returns a random delay between 0 and the capped exponential bound, in milliseconds
+     */
+    static long backoffMillis(int failedAttempt) {
+        long bound = Math.min(MAX_DELAY_MS, BASE_DELAY_MS << Math.min(failedAttempt - 1, 16));
+        return ThreadLocalRandom.current().nextLong(bound + 1);
+    }
+
+    static void schedule(Runnable runnable, long delayMs) {
+        timer.schedule(runnable, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    static Counters countersFor(String operation) {
+        Counters c = counters.get(operation);
+        if (c == null) {
+            Counters created = new Counters();
+            c = counters.putIfAbsent(operation, created);
+            if (c == null) c = created;
+        }
+        return c;
+    }
+
+    /**
+     * Gets the retry counters of every operation seen so far
+     * @return
+     * Returns an unmodifiable map of operation name to its counters, sorted by name
+     */
+    public static Map<String, Counters> getStats() {
+        return Collections.unmodifiableMap(new TreeMap<>(counters));
+    }
+
+    /**
+     * Running counters of one operation.
+     */
+    public static final class Counters {
+        final AtomicLong attempts = new AtomicLong();
+        final AtomicLong retries = new AtomicLong();
+        final AtomicLong recovered = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+
+        /** @return Attempts started, including retries */
+        public long getAttempts() { return attempts.get(); }
+
+        /** @return Retries scheduled after a transient failure */
+        public long getRetries() { return retries.get(); }
+
+        /** @return Writes that succeeded after at least one retry */
+        public long getRecovered() { return recovered.get(); }
+
+        /** @return Writes that failed for good (non-transient error or out of attempts) */
+        public long getFailed() { return failed.get(); }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "{attempts=" + getAttempts() + ", retries=" + getRetries()
+                    + ", recovered=" + getRecovered() + ", failed=" + getFailed() + "}";
+        }
+    }
+}
@@ -0,0 +1,674 @@
+package com.quantiagents.app.Repository;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Central rate limiter for Firestore writes made through the repositories.
+ * <p>
+ * Writes are queued in one of two lanes. The dispatcher always drains {@link Lane#INTERACTIVE}
+ * before {@link Lane#BULK}, coalesces queued writes of one lane into {@link WriteBatch} commits
+ * of at most {@link BatchWriter#MAX_BATCH_SIZE} operations, and paces commits with a token bucket
+ * (one token per operation). Queues are bounded: bulk producers block in {@link #submit} while
+ * their lane is full, and {@link #enqueue} fails fast instead, so the main thread never waits.
+ * Dispatch never waits for the server to acknowledge earlier batches: Firestore applies a commit
+ * to its local cache and queues it for the backend at once, so offline the queue keeps draining
+ * into the local write queue instead of stalling until the connection returns.
+ * </p>
+ * <p>
+ * Grouped writes ({@link WriteOp#group}) always land in the same batch, so they stay atomic.
+ * Writes queued separately may share a batch too; if the server rejects such a batch outright, each
+ * write is committed again on its own, so a bad write only fails its own caller.
+ * Batches that fail with a transient error are queued again after a {@link WriteRetry} backoff,
+ * except for writes carrying {@code FieldValue.increment} or array transforms: a commit that timed
+ * out may still have been applied, and applying those twice would count twice, so they fail instead.
+ * Queue depth, wait time and commit counts per lane are available from {@link #getMetrics()}.
+ * </p>
+ */
+public final class WriteScheduler {
+
+    /**
+     * Priority lanes; the lower ordinal is always dispatched first.
+     */
+    public enum Lane {
+        /** Single writes a user is waiting on */
+        INTERACTIVE,
+        /** Fan-out and cleanup work (lottery, notify all, admin bulk removal, compaction) */
+        BULK
+    }
+
+    /** Default sustained write rate, in operations per second */
+    static final double DEFAULT_OPS_PER_SECOND = 200;
+    /** Default bucket size; at least one full batch so any group can be dispatched */
+    static final int DEFAULT_BURST = BatchWriter.MAX_BATCH_SIZE;
+    /** Bulk batches wait for at least this many tokens so they are not committed one op at a time */
+    private static final int MIN_BULK_BATCH = 50;
+    private static final int INTERACTIVE_CAPACITY = 1000;
+    private static final int BULK_CAPACITY = 10000;
+
+    private static WriteScheduler instance;
+
+    private final FirebaseFirestore db;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Map<Lane, ArrayDeque<Pending>> queues = new EnumMap<>(Lane.class);
+    private final Map<Lane, LaneStats> stats = new EnumMap<>(Lane.class);
+    private final Map<Lane, Integer> capacity = new EnumMap<>(Lane.class);
+    private final TokenBucket bucket = new TokenBucket(DEFAULT_OPS_PER_SECOND, DEFAULT_BURST);
+    private final Thread dispatcher;
+
+    /**
+     * Gets the process-wide scheduler for the default Firestore instance.
+     *
+     * @return The shared WriteScheduler
+     */
+    public static synchronized WriteScheduler getInstance() {
+        if (instance == null) {
+            instance = new WriteScheduler(FirebaseFirestore.getInstance());
+        }
+        return instance;
+    }
+
+    private WriteScheduler(FirebaseFirestore db) {
+        this.db = db;
+        for (Lane lane : Lane.values()) {
+            queues.put(lane, new ArrayDeque<>());
+            stats.put(lane, new LaneStats());
+        }
+        capacity.put(Lane.INTERACTIVE, INTERACTIVE_CAPACITY);
+        capacity.put(Lane.BULK, BULK_CAPACITY);
+        dispatcher = new Thread(this::dispatchLoop, "write-scheduler");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * Changes the token-bucket rate. Takes effect for the next dispatched batch.
+     *
+     * @param opsPerSecond Sustained write operations per second (must be positive)
+     * @param burst Max operations dispatched at once after an idle period; raised to one full batch if lower
+     */
+    public void setRate(double opsPerSecond, int burst) {
+        if (opsPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        lock.lock();
+        try {
+            bucket.configure(opsPerSecond, Math.max(burst, BatchWriter.MAX_BATCH_SIZE));
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queues one write without blocking.
+     *
+     * @param lane Lane to queue in
+     * @param op Write to perform
+     * @return Task completing when the server accepted the batch holding the write; fails if the lane is full
+     */
+    public Task<Void> enqueue(@NonNull Lane lane, @NonNull WriteOp op) {
+        Pending pending = new Pending(op);
+        lock.lock();
+        try {
+            LaneStats laneStats = stats.get(lane);
+            if (laneStats.queuedOps + op.size() > capacity.get(lane)) {
+                laneStats.rejected++;
+                return Tasks.forException(new IllegalStateException("Write queue full: " + lane));
+            }
+            add(lane, pending);
+        } finally {
+            lock.unlock();
+        }
+        return pending.result.getTask();
+    }
+
+    /**
+     * Queues writes and waits until all of them are committed to Firestore's local cache
+     * (blocking - must be called from background thread).
+     * Blocks while the lane is full, which throttles producers to the dispatch rate. Does not wait
+     * for the server, so it returns while offline; later server failures are logged by the dispatcher.
+     *
+     * @param lane Lane to queue in
+     * @param ops Writes to perform; grouped writes are committed atomically
+     * @return Number of writes committed, counting each group once
+     */
+    public int submit(@NonNull Lane lane, @NonNull List<WriteOp> ops) {
+        List<Pending> queued = new ArrayList<>(ops.size());
+        try {
+            for (WriteOp op : ops) {
+                Pending pending = new Pending(op);
+                lock.lockInterruptibly();
+                try {
+                    while (stats.get(lane).queuedOps + op.size() > capacity.get(lane)) {
+                        notFull.await();
+                    }
+                    add(lane, pending);
+                } finally {
+                    lock.unlock();
+                }
+                queued.add(pending);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Log.w("Firestore", "Interrupted while queueing writes", e);
+        }
+        int committed = 0;
+        for (Pending pending : queued) {
+            try {
+                Tasks.await(pending.written.getTask());
+                Task<Void> result = pending.result.getTask();
+                if (!result.isComplete() || result.isSuccessful()) {
+                    committed++;
+                }
+            } catch (ExecutionException e) {
+                // Already logged by the dispatcher
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return committed;
+    }
+
+    /**
+     * Gets a snapshot of the per-lane queue and commit metrics.
+     *
+     * @return The metrics
+     */
+    public Metrics getMetrics() {
+        lock.lock();
+        try {
+            Map<Lane, LaneStats> copy = new EnumMap<>(Lane.class);
+            for (Map.Entry<Lane, LaneStats> entry : stats.entrySet()) {
+                copy.put(entry.getKey(), entry.getValue().copy());
+            }
+            return new Metrics(copy);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void add(Lane lane, Pending pending) {
+        queues.get(lane).add(pending);
+        LaneStats laneStats = stats.get(lane);
+        laneStats.queuedOps += pending.op.size();
+        laneStats.maxQueuedOps = Math.max(laneStats.maxQueuedOps, laneStats.queuedOps);
+        notEmpty.signal();
+    }
+
+    private void dispatchLoop() {
+        while (true) {
+            Lane lane;
+            List<Pending> batchOps;
+            try {
+                lock.lock();
+                try {
+                    lane = nextLane();
+                    while (lane == null) {
+                        notEmpty.await();
+                        lane = nextLane();
+                    }
+                    ArrayDeque<Pending> queue = queues.get(lane);
+                    int head = queue.peek().op.size();
+                    int want = Math.min(BatchWriter.MAX_BATCH_SIZE, Math.max(head, stats.get(lane).queuedOps));
+                    // Interactive writes go as soon as they can; bulk waits for a reasonably sized batch
+                    int needed = lane == Lane.INTERACTIVE ? head : Math.max(head, Math.min(want, MIN_BULK_BATCH));
+                    long waitNanos = bucket.nanosUntil(needed);
+                    if (waitNanos > 0) {
+                        // Wake early if an interactive write arrives meanwhile
+                        notEmpty.awaitNanos(waitNanos);
+                        continue;
+                    }
+                    int budget = Math.min(want, (int) bucket.available());
+                    batchOps = new ArrayList<>();
+                    int taken = 0;
+                    long now = System.nanoTime();
+                    LaneStats laneStats = stats.get(lane);
+                    while (!queue.isEmpty() && taken + queue.peek().op.size() <= budget) {
+                        Pending pending = queue.poll();
+                        taken += pending.op.size();
+                        long waitedMs = TimeUnit.NANOSECONDS.toMillis(now - pending.enqueuedAt);
+                        laneStats.dequeued++;
+                        laneStats.totalWaitMs += waitedMs;
+                        laneStats.maxWaitMs = Math.max(laneStats.maxWaitMs, waitedMs);
+                        batchOps.add(pending);
+                    }
+                    bucket.take(taken);
+                    laneStats.queuedOps -= taken;
+                    notFull.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            } catch (InterruptedException e) {
+                Log.w("Firestore", "Write scheduler stopped", e);
+                return;
+            }
+            commit(lane, batchOps);
+        }
+    }
+
+    private Lane nextLane() {
+        for (Lane lane : Lane.values()) {
+            if (!queues.get(lane).isEmpty()) {
+                return lane;
+            }
+        }
+        return null;
+    }
+
+    private void commit(Lane lane, List<Pending> batchOps) {
+        WriteBatch batch = db.batch();
+        int size = 0;
+        int attempt = 0;
+        for (Pending pending : batchOps) {
+            pending.op.addTo(batch);
+            size += pending.op.size();
+            attempt = Math.max(attempt, ++pending.attempts);
+        }
+        final int ops = size;
+        final int batchAttempt = attempt;
+        WriteRetry.Counters retryCounters = WriteRetry.countersFor("scheduledBatch." + lane.name());
+        retryCounters.attempts.incrementAndGet();
+        Task<Void> commit = batch.commit();
+        // The batch is in the local cache now; the task below only completes once the server answers
+        for (Pending pending : batchOps) {
+            pending.written.trySetResult(null);
+        }
+        commit.addOnCompleteListener(Runnable::run, task -> {
+            boolean ok = task.isSuccessful();
+            if (!ok && batchOps.size() > 1 && !WriteRetry.isTransient(task.getException())) {
+                isolate(lane, batchOps, ops, task.getException());
+                return;
+            }
+            boolean transientFailure = !ok && WriteRetry.isTransient(task.getException())
+                    && batchAttempt < WriteRetry.MAX_ATTEMPTS;
+            // A failed commit may still have been applied; only writes of absolute values can be repeated
+            List<Pending> retried = new ArrayList<>();
+            List<Pending> settled = new ArrayList<>();
+            int retriedOps = 0;
+            for (Pending pending : batchOps) {
+                if (transientFailure && pending.op.isRepeatable()) {
+                    retried.add(pending);
+                    retriedOps += pending.op.size();
+                } else {
+                    settled.add(pending);
+                }
+            }
+            lock.lock();
+            try {
+                LaneStats laneStats = stats.get(lane);
+                laneStats.batches++;
+                if (ok) {
+                    laneStats.committedOps += ops;
+                } else {
+                    laneStats.retriedOps += retriedOps;
+                    laneStats.failedOps += ops - retriedOps;
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (ok) {
+                if (batchAttempt > 1) retryCounters.recovered.incrementAndGet();
+            } else if (!retried.isEmpty()) {
+                retryCounters.retries.incrementAndGet();
+                long delay = WriteRetry.backoffMillis(batchAttempt);
+                Log.w("Firestore", "Scheduled " + lane + " batch of " + ops + " failed, retrying " + retriedOps
+                        + " ops in " + delay + "ms", task.getException());
+                WriteRetry.schedule(() -> requeue(lane, retried), delay);
+            }
+            if (!ok && !settled.isEmpty()) {
+                retryCounters.failed.incrementAndGet();
+                Log.e("Firestore", "Error committing scheduled " + lane + " batch of " + ops, task.getException());
+            }
+            for (Pending pending : settled) {
+                if (ok) {
+                    pending.result.trySetResult(null);
+                } else {
+                    Exception e = task.getException();
+                    pending.result.trySetException(e != null ? e : new IllegalStateException("Batch commit failed"));
+                }
+            }
+        });
+    }
+
+    /**
+     * Commits the writes of a rejected batch one at a time. The batch holds writes of unrelated callers
+     * and the error may come from just one of them (e.g. an update of a document deleted meanwhile), so
+     * only that write's caller should see it. A rejected batch was not applied, so this is safe even for
+     * increments; the writes were already paid for in rate tokens.
+     */
+    private void isolate(Lane lane, List<Pending> batchOps, int ops, Exception error) {
+        lock.lock();
+        try {
+            LaneStats laneStats = stats.get(lane);
+            laneStats.batches++;
+            laneStats.isolatedOps += ops;
+        } finally {
+            lock.unlock();
+        }
+        Log.w("Firestore", "Scheduled " + lane + " batch of " + ops + " rejected, committing its "
+                + batchOps.size() + " writes separately", error);
+        for (Pending pending : batchOps) {
+            commit(lane, Collections.singletonList(pending));
+        }
+    }
+
+    /**
+     * Puts the writes of a failed batch back at the head of their lane, in their original order.
+     */
+    private void requeue(Lane lane, List<Pending> batchOps) {
+        lock.lock();
+        try {
+            ArrayDeque<Pending> queue = queues.get(lane);
+            LaneStats laneStats = stats.get(lane);
+            for (int i = batchOps.size() - 1; i >= 0; i--) {
+                queue.addFirst(batchOps.get(i));
+                laneStats.queuedOps += batchOps.get(i).op.size();
+            }
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * One queued write or group of writes.
+     */
+    private static final class Pending {
+        final WriteOp op;
+        // Completes once the write is first committed to the local cache
+        final TaskCompletionSource<Void> written = new TaskCompletionSource<>();
+        // Completes when the server accepted or finally rejected the write
+        final TaskCompletionSource<Void> result = new TaskCompletionSource<>();
+        final long enqueuedAt = System.nanoTime();
+        // Commits tried so far, only touched by the dispatcher and commit callbacks
+        int attempts;
+
+        Pending(WriteOp op) {
+            this.op = op;
+        }
+    }
+
+    /**
+     * A write, or a group of writes that must be committed together, to add to a batch.
+     */
+    public static final class WriteOp {
+        private final List<Consumer<WriteBatch>> parts;
+        // False if applying the write twice differs from applying it once (increments, array transforms)
+        private final boolean repeatable;
+
+        private WriteOp(List<Consumer<WriteBatch>> parts, boolean repeatable) {
+            this.parts = parts;
+            this.repeatable = repeatable;
+        }
+
+        /**
+         * Overwrites a document.
+         *
+         * @param ref Document to write
+         * @param data POJO or map to write
+         * @return The write
+         */
+        public static WriteOp set(@NonNull DocumentReference ref, @NonNull Object data) {
+            return new WriteOp(Collections.singletonList(b -> b.set(ref, data)), !hasTransform(data));
+        }
+
+        /**
+         * Writes a document with the given options (e.g. merge).
+         *
+         * @param ref Document to write
+         * @param data POJO or map to write
+         * @param options Set options
+         * @return The write
+         */
+        public static WriteOp set(@NonNull DocumentReference ref, @NonNull Object data, @NonNull SetOptions options) {
+            return new WriteOp(Collections.singletonList(b -> b.set(ref, data, options)), !hasTransform(data));
+        }
+
+        /**
+         * Updates fields of an existing document.
+         *
+         * @param ref Document to update
+         * @param fields Field paths and values (or FieldValue transforms)
+         * @return The write
+         */
+        public static WriteOp update(@NonNull DocumentReference ref, @NonNull Map<String, Object> fields) {
+            return new WriteOp(Collections.singletonList(b -> b.update(ref, fields)), !hasTransform(fields));
+        }
+
+        /**
+         * Deletes a document.
+         *
+         * @param ref Document to delete
+         * @return The write
+         */
+        public static WriteOp delete(@NonNull DocumentReference ref) {
+            return new WriteOp(Collections.singletonList(b -> b.delete(ref)), true);
+        }
+
+        /**
+         * Groups writes so they are always committed in the same batch (all or nothing).
+         *
+         * @param ops Writes to group; at most one full batch worth of operations
+         * @return The grouped write
+         */
+        public static WriteOp group(@NonNull List<WriteOp> ops) {
+            List<Consumer<WriteBatch>> parts = new ArrayList<>();
+            boolean repeatable = true;
+            for (WriteOp op : ops) {
+                parts.addAll(op.parts);
+                repeatable &= op.repeatable;
+            }
+            if (parts.size() > BatchWriter.MAX_BATCH_SIZE) {
+                throw new IllegalArgumentException("Group larger than one batch: " + parts.size());
+            }
+            return new WriteOp(parts, repeatable);
+        }
+
+        /**
+         * Gets the number of batch operations (and rate tokens) this write uses.
+         *
+         * @return The operation count
+         */
+        public int size() {
+            return parts.size();
+        }
+
+        /**
+         * Checks whether committing this write again after an ambiguous failure is safe, i.e. it
+         * only writes absolute values. Writes with increments or array transforms are not.
+         *
+         * @return True if the write may be retried
+         */
+        public boolean isRepeatable() {
+            return repeatable;
+        }
+
+        private static boolean hasTransform(Object data) {
+            if (!(data instanceof Map)) {
+                // POJOs are serialized field by field and cannot carry transforms
+                return false;
+            }
+            for (Object value : ((Map<?, ?>) data).values()) {
+                if (value instanceof FieldValue) {
+                    // delete() and serverTimestamp() give the same result however often they are applied
+                    if (!value.equals(FieldValue.delete()) && !value.equals(FieldValue.serverTimestamp())) {
+                        return true;
+                    }
+                } else if (hasTransform(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void addTo(WriteBatch batch) {
+            for (Consumer<WriteBatch> part : parts) {
+                part.accept(batch);
+            }
+        }
+    }
+
+    /**
+     * Token bucket refilled continuously at a fixed rate. Guarded by the scheduler lock.
+     */
+    private static final class TokenBucket {
+        private double ratePerNano;
+        private double burst;
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+
+        TokenBucket(double opsPerSecond, int burst) {
+            configure(opsPerSecond, burst);
+            this.tokens = burst;
+        }
+
+        void configure(double opsPerSecond, int burst) {
+            refill();
+            this.ratePerNano = opsPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.burst = burst;
+            this.tokens = Math.min(tokens, burst);
+        }
+
+        double available() {
+            refill();
+            return tokens;
+        }
+
+        long nanosUntil(int needed) {
+            double missing = needed - available();
+            return missing <= 0 ? 0 : (long) Math.ceil(missing / ratePerNano);
+        }
+
+        void take(int count) {
+            tokens -= count;
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - lastRefill) * ratePerNano);
+            lastRefill = now;
+        }
+    }
+
+    /**
+     * Running counters of one lane. Guarded by the scheduler lock.
+     */
+    private static final class LaneStats {
+        int queuedOps;
+        int maxQueuedOps;
+        long dequeued;
+        long batches;
+        long committedOps;
+        long failedOps;
+        long retriedOps;
+        long isolatedOps;
+        long rejected;
+        long totalWaitMs;
+        long maxWaitMs;
+
+        LaneStats copy() {
+            LaneStats c = new LaneStats();
+            c.queuedOps = queuedOps;
+            c.maxQueuedOps = maxQueuedOps;
+            c.dequeued = dequeued;
+            c.batches = batches;
+            c.committedOps = committedOps;
+            c.failedOps = failedOps;
+            c.retriedOps = retriedOps;
+            c.isolatedOps = isolatedOps;
+            c.rejected = rejected;
+            c.totalWaitMs = totalWaitMs;
+            c.maxWaitMs = maxWaitMs;
+            return c;
+        }
+    }
+
+    /**
+     * Point-in-time copy of the scheduler counters.
+     */
+    public static final class Metrics {
+        private final Map<Lane, LaneStats> lanes;
+
+        Metrics(Map<Lane, LaneStats> lanes) {
+            this.lanes = lanes;
+        }
+
+        /** @return Operations currently queued in the lane */
+        public int getQueuedOps(Lane lane) { return lanes.get(lane).queuedOps; }
+
+        /** @return Highest queue depth (in operations) seen in the lane */
+        public int getMaxQueuedOps(Lane lane) { return lanes.get(lane).maxQueuedOps; }
+
+        /** @return Batches committed (or failed) for the lane */
+        public long getBatches(Lane lane) { return lanes.get(lane).batches; }
+
+        /** @return Operations committed successfully for the lane */
+        public long getCommittedOps(Lane lane) { return lanes.get(lane).committedOps; }
+
+        /** @return Operations in failed batches for the lane */
+        public long getFailedOps(Lane lane) { return lanes.get(lane).failedOps; }
+
+        /** @return Operations in batches that failed transiently and were queued again */
+        public long getRetriedOps(Lane lane) { return lanes.get(lane).retriedOps; }
+
+        /** @return Operations in batches that were rejected and committed again one write at a time */
+        public long getIsolatedOps(Lane lane) { return lanes.get(lane).isolatedOps; }
+
+        /** @return Writes refused by {@link #enqueue} because the lane was full */
+        public long getRejected(Lane lane) { return lanes.get(lane).rejected; }
+
+        /** @return Average time a dispatched write waited in the queue, in milliseconds */
+        public long getAverageWaitMs(Lane lane) {
+            LaneStats s = lanes.get(lane);
+            return s.dequeued == 0 ? 0 : s.totalWaitMs / s.dequeued;
+        }
+
+        /** @return Longest time a write waited in the queue, in milliseconds */
+        public long getMaxWaitMs(Lane lane) { return lanes.get(lane).maxWaitMs; }
+
+        @NonNull
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("WriteScheduler");
+            for (Lane lane : Lane.values()) {
+                sb.append(' ').append(lane).append("{queued=").append(getQueuedOps(lane))
+                        .append(", maxQueued=").append(getMaxQueuedOps(lane))
+                        .append(", batches=").append(getBatches(lane))
+                        .append(", committed=").append(getCommittedOps(lane))
+                        .append(", failed=").append(getFailedOps(lane))
+                        .append(", retried=").append(getRetriedOps(lane))
+                        .append(", isolated=").append(getIsolatedOps(lane))
+                        .append(", rejected=").append(getRejected(lane))
+                        .append(", avgWaitMs=").append(getAverageWaitMs(lane))
+                        .append(", maxWaitMs=").append(getMaxWaitMs(lane)).append('}');
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.quantiagents.app.Services;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.quantiagents.app.Repository.FirestoreEventRepository;
+import com.quantiagents.app.Repository.FirestoreUserRepository;
+import com.quantiagents.app.Repository.ProfilesRepository;
+import com.quantiagents.app.Repository.TaskScheduler;
+import com.quantiagents.app.models.Event;
+import com.quantiagents.app.models.User;
+import com.quantiagents.app.models.UserSummary;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+
+/**
+ * Shared, live copy of the user and event collections for the admin screens.
+ * <p>
+ * The profile, organizer and event tabs all read from this one snapshot instead of each
+ * downloading whole collections. Two snapshot listeners keep it fresh: the first callback
+ * loads everything, later ones apply only the changed documents. Users are mirrored into the
+ * SQLite-backed {@link ProfilesRepository} rather than held in memory, and profiles are read
+ * back a page at a time. Organizers are derived with a hash join of event organizer IDs against
+ * users fetched by primary key, together with per-organizer event counts.
+ * </p>
+ * Listeners attach when the first subscriber arrives and detach a short while after the last
+ * one leaves, so switching admin tabs does not re-download the collections.
+ */
+public class AdminDataSnapshot {
+
+    /**
+     * Interface for receiving snapshot updates. Called on a background thread.
+     */
+    public interface Listener {
+        /**
+         * Called once the data is loaded and after every change.
+         *
+         * @param snapshot The snapshot (read its getters for the current state)
+         * @param usersChanged True if the user collection changed
+         * @param eventsChanged True if the event collection changed
+         */
+        void onSnapshotChanged(AdminDataSnapshot snapshot, boolean usersChanged, boolean eventsChanged);
+
+        /**
+         * Called when a snapshot listener fails.
+         *
+         * @param e The error
+         */
+        void onSnapshotError(Exception e);
+    }
+
+    /** How long the Firestore listeners stay attached after the last subscriber leaves */
+    private static final long DETACH_DELAY_MS = 30_000;
+    private static final String TAG = "AdminDataSnapshot";
+
+    private final FirestoreUserRepository userRepository;
+    private final FirestoreEventRepository eventRepository;
+    private final ProfilesRepository profilesRepository;
+    // All snapshot callbacks and state changes run here, in order
+    private final Executor executor = TaskScheduler.getInstance()
+            .serialExecutor(TaskScheduler.Pool.IO, TaskScheduler.Priority.NORMAL, TAG);
+    private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
+
+    @Nullable private ListenerRegistration usersRegistration;
+    @Nullable private ListenerRegistration eventsRegistration;
+    @Nullable private TaskScheduler.Cancellable pendingDetach;
+
+    // Working state, only touched on the executor
+    private final Map<String, Event> eventsById = new LinkedHashMap<>();
+
+    // Published state, replaced wholesale after each change
+    private volatile boolean usersLoaded;
+    private volatile boolean eventsLoaded;
+    private volatile List<Event> events = Collections.emptyList();
+    private volatile List<UserSummary> organizers = Collections.emptyList();
+    private volatile Map<String, Integer> eventCountByOrganizer = Collections.emptyMap();
+
+    /**
+     * Constructor that initializes the snapshot with the shared repositories of the application's graph.
+     *
+     * @param context The Android context whose application graph supplies the repositories
+     */
+    public AdminDataSnapshot(Context context) {
+        this(ServiceLocator.of(context));
+    }
+
+    private AdminDataSnapshot(ServiceLocator graph) {
+        this(graph.firestoreUserRepository(), graph.firestoreEventRepository(), graph.profilesRepository());
+    }
+
+    /**
+     * Constructor that injects the repositories. The snapshot listens to Firestore directly,
+     * so it takes the Firestore implementations.
+     *
+     * @param userRepository     The repository users are listened to through
+     * @param eventRepository    The repository events are listened to through
+     * @param profilesRepository The local profile store
+     */
+    public AdminDataSnapshot(FirestoreUserRepository userRepository, FirestoreEventRepository eventRepository,
+                             ProfilesRepository profilesRepository) {
+        this.userRepository = userRepository;
+        this.eventRepository = eventRepository;
+        this.profilesRepository = profilesRepository;
+    }
+
+    /**
+     * Registers a listener, attaching the Firestore listeners if needed.
+     * If the data is already loaded the listener is called straight away with it.
+     *
+     * @param listener The listener to add
+     */
+    public synchronized void subscribe(Listener listener) {
+        listeners.add(listener);
+        if (pendingDetach != null) {
+            pendingDetach.cancel();
+            pendingDetach = null;
+        }
+        if (usersRegistration == null) {
+            usersRegistration = userRepository.listenToAllUsers(executor, this::onUsersSnapshot);
+            eventsRegistration = eventRepository.listenToAllEvents(executor, this::onEventsSnapshot);
+        }
+        executor.execute(() -> {
+            if (usersLoaded || eventsLoaded) {
+                listener.onSnapshotChanged(this, usersLoaded, eventsLoaded);
+            }
+        });
+    }
+
+    /**
+     * Removes a listener. The Firestore listeners detach once nobody has subscribed for a while.
+     *
+     * @param listener The listener to remove
+     */
+    public synchronized void unsubscribe(Listener listener) {
+        listeners.remove(listener);
+        if (listeners.isEmpty() && usersRegistration != null && pendingDetach == null) {
+            pendingDetach = TaskScheduler.getInstance().schedule(TaskScheduler.Pool.IO, TaskScheduler.Priority.LOW,
+                    TAG, DETACH_DELAY_MS, () -> executor.execute(this::detachIfUnused));
+        }
+    }
+
+    /**
+     * Checks whether the user collection has been loaded.
+     *
+     * @return True once the first user snapshot arrived
+     */
+    public boolean isUsersLoaded() { return usersLoaded; }
+
+    /**
+     * Checks whether the event collection has been loaded.
+     *
+     * @return True once the first event snapshot arrived
+     */
+    public boolean isEventsLoaded() { return eventsLoaded; }
+
+    /**
+     * Reads one page of user profiles from the local store, ordered by name (blocking).
+     *
+     * @param prefix Only profiles whose name, username or email starts with this; null for all
+     * @param after Last profile of the previous page, or null for the first page
+     * @param limit Max profiles to return
+     * @return The page of user summaries
+     */
+    public List<UserSummary> getProfilesPage(@Nullable String prefix, @Nullable UserSummary after, int limit) {
+        return profilesRepository.listProfiles(prefix, after, limit);
+    }
+
+    /**
+     * Gets every event.
+     *
+     * @return Unmodifiable list of events
+     */
+    public List<Event> getEvents() { return events; }
+
+    /**
+     * Gets the users who organize at least one event.
+     *
+     * @return Unmodifiable list of organizer summaries
+     */
+    public List<UserSummary> getOrganizers() { return organizers; }
+
+    /**
+     * Gets how many events a user organizes.
+     *
+     * @param userId The organizer's user ID
+     * @return The number of events, 0 if none
+     */
+    public int getEventCount(String userId) {
+        Integer count = eventCountByOrganizer.get(userId);
+        return count != null ? count : 0;
+    }
+
+    private void onUsersSnapshot(@Nullable QuerySnapshot value, @Nullable Exception error) {
+        if (error != null || value == null) {
+            notifyError(error);
+            return;
+        }
+        List<UserSummary> upserts = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        for (DocumentChange change : value.getDocumentChanges()) {
+            String id = change.getDocument().getId();
+            if (change.getType() == DocumentChange.Type.REMOVED) {
+                removed.add(id);
+                continue;
+            }
+            // User docs are keyed by their user ID
+            User user = change.getDocument().toObject(User.class);
+            upserts.add(new UserSummary(id, user.getName(), user.getUsername(), user.getEmail()));
+        }
+        // The first callback after attaching is the full collection, so it replaces the local copy
+        profilesRepository.applyChanges(!usersLoaded, upserts, removed);
+        usersLoaded = true;
+        rebuildOrganizers();
+        notifyChanged(true, false);
+    }
+
+    private void onEventsSnapshot(@Nullable QuerySnapshot value, @Nullable Exception error) {
+        if (error != null || value == null) {
+            notifyError(error);
+            return;
+        }
+        for (DocumentChange change : value.getDocumentChanges()) {
+            String id = change.getDocument().getId();
+            if (change.getType() == DocumentChange.Type.REMOVED) {
+                eventsById.remove(id);
+                continue;
+            }
+            Event event = eventRepository.toEvent(change.getDocument());
+            if (event == null) continue;
+            eventsById.put(id, event);
+        }
+        eventsLoaded = true;
+        events = Collections.unmodifiableList(new ArrayList<>(eventsById.values()));
+        rebuildOrganizers();
+        notifyChanged(false, true);
+    }
+
+    /**
+     * Hash join: count events per organizer ID, fetch just those users by primary key and
+     * join them into a userId map. Linear in events + organizers, instead of scanning every
+     * user per organizer.
+     */
+    private void rebuildOrganizers() {
+        if (!usersLoaded || !eventsLoaded) return;
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (Event event : eventsById.values()) {
+            String organizerId = event.getOrganizerId();
+            if (organizerId != null) {
+                counts.merge(organizerId, 1, Integer::sum);
+            }
+        }
+        Map<String, UserSummary> usersById = new HashMap<>();
+        for (UserSummary summary : profilesRepository.getProfilesByIds(counts.keySet())) {
+            usersById.put(summary.getUserId(), summary);
+        }
+        Map<String, UserSummary> joined = new LinkedHashMap<>();
+        for (String organizerId : counts.keySet()) {
+            UserSummary summary = usersById.get(organizerId);
+            if (summary != null) {
+                joined.put(organizerId, summary);
+            }
+        }
+        eventCountByOrganizer = Collections.unmodifiableMap(new HashMap<>(counts));
+        organizers = Collections.unmodifiableList(new ArrayList<>(joined.values()));
+    }
+
+    private void notifyChanged(boolean usersChanged, boolean eventsChanged) {
+        for (Listener listener : listeners) {
+            try {
+                listener.onSnapshotChanged(this, usersChanged, eventsChanged);
+            } catch (RuntimeException e) {
+                // One broken subscriber must not starve the others
+                Log.e("App", "Admin snapshot listener threw", e);
+            }
+        }
+    }
+
+    private void notifyError(@Nullable Exception error) {
+        Log.e("Firestore", "Admin snapshot listener failed", error);
+        Exception e = error != null ? error : new IllegalStateException("Empty snapshot");
+        for (Listener listener : listeners) {
+            listener.onSnapshotError(e);
+        }
+    }
+
+    /**
+     * Detaches the Firestore listeners and drops the cached data, so a later subscribe
+     * starts from a clean full snapshot instead of a possibly stale copy.
+     */
+    private void detachIfUnused() {
+        synchronized (this) {
+            pendingDetach = null;
+            if (!listeners.isEmpty() || usersRegistration == null) return;
+            usersRegistration.remove();
+            usersRegistration = null;
+            if (eventsRegistration != null) {
+                eventsRegistration.remove();
+                eventsRegistration = null;
+            }
+        }
+        eventsById.clear();
+        usersLoaded = false;
+        eventsLoaded = false;
+        events = Collections.emptyList();
+        organizers = Collections.emptyList();
+        eventCountByOrganizer = Collections.emptyMap();
+    }
+}
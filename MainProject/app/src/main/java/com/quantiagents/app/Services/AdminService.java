@@ -1,13 +1,19 @@
 package com.quantiagents.app.Services;
 
 import android.content.Context;
+import android.util.Log;
 
 import androidx.annotation.Nullable;
 
 import com.google.android.gms.tasks.OnFailureListener;
 import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Tasks;
 import com.quantiagents.app.Repository.AdminLogRepository;
-import com.quantiagents.app.Repository.FireBaseRepository;
+import com.quantiagents.app.Repository.EventCounterRepository;
+import com.quantiagents.app.Repository.EventRepository;
+import com.quantiagents.app.Repository.ImageRepository;
+import com.quantiagents.app.Repository.RegistrationHistoryRepository;
+import com.quantiagents.app.Repository.TaskScheduler;
 import com.quantiagents.app.Repository.UserRepository;
 import com.quantiagents.app.Constants.constant;
 import com.quantiagents.app.models.AdminActionLog;
@@ -15,11 +21,17 @@ import com.quantiagents.app.models.DeviceIdManager;
 import com.quantiagents.app.models.Event;
 import com.quantiagents.app.models.Image;
 import com.quantiagents.app.models.Notification;
+import com.quantiagents.app.models.RegistrationHistory;
+import com.quantiagents.app.models.Roster;
 import com.quantiagents.app.models.User;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -32,29 +44,72 @@ public class AdminService {
     private final EventService eventService;
     private final ImageService imageService;
     private final UserRepository userRepository; // Direct repo access for admin deletes
+    private final EventRepository eventRepository; // Direct repo access for bulk cascades
+    private final ImageRepository imageRepository;
+    private final RegistrationHistoryRepository registrationHistoryRepository;
+    private final EventCounterRepository eventCounterRepository;
     private final UserService userService;       // Kept for local profile cleanup
     private final AdminLogRepository logRepository;
     private final DeviceIdManager deviceIdManager;
     private final NotificationService notificationService;
     private final RegistrationHistoryService registrationHistoryService;
+    private final RosterReconciler rosterReconciler;
 
     /**
-     * Constructor that initializes the AdminService with required dependencies.
+     * Constructor that initializes the AdminService with the dependencies of the application's shared graph.
      *
-     * @param context The Android context used to initialize services
+     * @param context The Android context whose application graph supplies the dependencies
      */
     public AdminService(Context context) {
-        ServiceLocator locator = new ServiceLocator(context);
-        FireBaseRepository fbRepo = new FireBaseRepository();
-
-        this.eventService = locator.eventService();
-        this.imageService = locator.imageService();
-        this.userService = locator.userService();
-        this.userRepository = new UserRepository(fbRepo); // Needed for deleteUserById(String)
-        this.logRepository = new AdminLogRepository(context);
-        this.deviceIdManager = new DeviceIdManager(context);
-        this.notificationService = new NotificationService(context);
-        this.registrationHistoryService = new RegistrationHistoryService(context);
+        this(ServiceLocator.of(context));
+    }
+
+    private AdminService(ServiceLocator graph) {
+        this(graph.eventService(), graph.imageService(), graph.userService(), graph.notificationService(),
+                graph.registrationHistoryService(), graph.rosterReconciler(), graph.userRepository(),
+                graph.eventRepository(), graph.imageRepository(), graph.registrationHistoryRepository(),
+                graph.eventCounterRepository(), graph.adminLogRepository(), graph.deviceIdManager());
+    }
+
+    /**
+     * Constructor that injects every dependency.
+     * Admin deletes and bulk cascades go straight to the repositories; the services cover the rest.
+     *
+     * @param eventService                  The event service
+     * @param imageService                  The image service
+     * @param userService                   The user service, kept for local profile cleanup
+     * @param notificationService           The notification service
+     * @param registrationHistoryService    The registration history service
+     * @param rosterReconciler              The reconciler roster sizes are recounted with after bulk deletes
+     * @param userRepository                The user repository
+     * @param eventRepository               The event repository
+     * @param imageRepository               The image repository
+     * @param registrationHistoryRepository The registration history repository
+     * @param eventCounterRepository        The event counter repository
+     * @param logRepository                 The admin audit log
+     * @param deviceIdManager               The device identity manager
+     */
+    public AdminService(EventService eventService, ImageService imageService, UserService userService,
+                        NotificationService notificationService,
+                        RegistrationHistoryService registrationHistoryService, RosterReconciler rosterReconciler,
+                        UserRepository userRepository, EventRepository eventRepository,
+                        ImageRepository imageRepository,
+                        RegistrationHistoryRepository registrationHistoryRepository,
+                        EventCounterRepository eventCounterRepository, AdminLogRepository logRepository,
+                        DeviceIdManager deviceIdManager) {
+        this.eventService = eventService;
+        this.imageService = imageService;
+        this.userService = userService;
+        this.notificationService = notificationService;
+        this.registrationHistoryService = registrationHistoryService;
+        this.rosterReconciler = rosterReconciler;
+        this.userRepository = userRepository;
+        this.eventRepository = eventRepository;
+        this.imageRepository = imageRepository;
+        this.registrationHistoryRepository = registrationHistoryRepository;
+        this.eventCounterRepository = eventCounterRepository;
+        this.logRepository = logRepository;
+        this.deviceIdManager = deviceIdManager;
     }
 
     // --- Events ---
@@ -86,6 +141,23 @@ public class AdminService {
         ));
     }
 
+    /**
+     * Logs one admin action per target with a single write to the audit log.
+     *
+     * @param kind The kind of action (EVENT, PROFILE, or IMAGE)
+     * @param targetIds The IDs of the items acted upon
+     * @param note Optional note about the action
+     */
+    private void logActions(String kind, Collection<String> targetIds, String note) {
+        long now = System.currentTimeMillis();
+        String deviceId = deviceIdManager.ensureDeviceId();
+        List<AdminActionLog> logs = new ArrayList<>();
+        for (String targetId : targetIds) {
+            logs.add(new AdminActionLog(kind, targetId, now, deviceId, note));
+        }
+        logRepository.appendAll(logs);
+    }
+
     /**
      * Removes an event after confirmation.
      * Sends notifications to affected users and organizer, deletes associated images,
@@ -105,7 +177,7 @@ public class AdminService {
         }
 
         // Move synchronous operations to background thread
-        new Thread(() -> {
+        TaskScheduler.getInstance().execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.HIGH, "AdminService", () -> {
             try {
                 // Get event before deleting to send notifications
                 Event event = eventService.getEventById(eventId);
@@ -127,7 +199,49 @@ public class AdminService {
             } catch (Exception e) {
                 onFailure.onFailure(e);
             }
-        }).start();
+        });
+    }
+
+    /**
+     * Removes several events as one merged cascade after confirmation.
+     * Every affected entrant and organizer receives a single notification covering all of the
+     * selected events they were part of, and images, registration histories and the events
+     * themselves are deleted in shared batched writes instead of one cascade per event.
+     *
+     * @param eventIds The IDs of the events to remove
+     * @param confirmed Must be true to proceed with deletion
+     * @param note Optional note for the audit log
+     * @param onSuccess Callback receiving the number of events deleted
+     * @param onFailure Callback invoked if deletion fails or confirmation is false
+     */
+    public void removeEvents(List<String> eventIds, boolean confirmed, @Nullable String note,
+                             OnSuccessListener<Integer> onSuccess, OnFailureListener onFailure) {
+        if (!confirmed) {
+            onFailure.onFailure(new IllegalArgumentException("Confirmation required"));
+            return;
+        }
+        Set<String> ids = cleanIds(eventIds);
+        if (ids.isEmpty()) {
+            onSuccess.onSuccess(0);
+            return;
+        }
+
+        TaskScheduler.getInstance().execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.HIGH, "AdminService", () -> {
+            try {
+                List<Event> events = eventRepository.getEventsByIds(ids);
+                sendEventsDeletedByAdminNotifications(events);
+
+                imageRepository.deleteImagesByEventIds(ids);
+                registrationHistoryRepository.deleteRegistrationHistoriesByEventIds(ids);
+                eventCounterRepository.deleteCountersByEventIds(ids);
+                int removed = eventRepository.deleteEventsByIds(ids);
+
+                logActions(AdminActionLog.KIND_EVENT, ids, note);
+                onSuccess.onSuccess(removed);
+            } catch (Exception e) {
+                onFailure.onFailure(e);
+            }
+        });
     }
 
     // --- Profiles ---
@@ -161,6 +275,78 @@ public class AdminService {
         );
     }
 
+    /**
+     * Removes several user profiles as one merged cascade after confirmation.
+     * Reads each selected user's registration histories to find the events they are on a roster of,
+     * loads the event catalogue once, deletes events organized by any of them, and deletes their
+     * registration histories and profiles in shared batches. The remaining events they were registered
+     * for then have their roster counts reconciled against the histories left.
+     *
+     * @param userIds The IDs of the user profiles to remove
+     * @param confirmed Must be true to proceed with deletion
+     * @param note Optional note for the audit log
+     * @param onSuccess Callback receiving the number of profiles deleted
+     * @param onFailure Callback invoked if deletion fails or confirmation is false
+     */
+    public void removeProfiles(List<String> userIds, boolean confirmed, @Nullable String note,
+                               OnSuccessListener<Integer> onSuccess, OnFailureListener onFailure) {
+        if (!confirmed) {
+            onFailure.onFailure(new IllegalArgumentException("Confirmation required"));
+            return;
+        }
+        Set<String> ids = cleanIds(userIds);
+        if (ids.isEmpty()) {
+            onSuccess.onSuccess(0);
+            return;
+        }
+
+        TaskScheduler.getInstance().execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.HIGH, "AdminService", () -> {
+            try {
+                // Events the users are on a roster of, from their registrations (rosters aren't on the Event)
+                Set<String> registeredEventIds = new HashSet<>();
+                for (String userId : ids) {
+                    for (RegistrationHistory history : registrationHistoryRepository.getRegistrationHistoriesByUserId(userId)) {
+                        if (history.getEventId() != null) registeredEventIds.add(history.getEventId());
+                    }
+                }
+
+                List<String> eventsToDelete = new ArrayList<>();
+                List<Event> eventsToPrune = new ArrayList<>();
+                for (Event event : eventService.getAllEvents()) {
+                    if (event == null || event.getEventId() == null) continue;
+                    String organizerId = event.getOrganizerId();
+                    if (organizerId != null && ids.contains(organizerId.trim())) {
+                        eventsToDelete.add(event.getEventId());
+                    } else if (registeredEventIds.contains(event.getEventId())) {
+                        eventsToPrune.add(event);
+                    }
+                }
+
+                if (!eventsToDelete.isEmpty()) {
+                    imageRepository.deleteImagesByEventIds(eventsToDelete);
+                    registrationHistoryRepository.deleteRegistrationHistoriesByEventIds(eventsToDelete);
+                    eventCounterRepository.deleteCountersByEventIds(eventsToDelete);
+                    eventRepository.deleteEventsByIds(eventsToDelete);
+                }
+                registrationHistoryRepository.deleteRegistrationHistoriesByUserIds(ids);
+                // Their histories were the roster entries; bring the remaining events' roster sizes back in line
+                rosterReconciler.reconcileEvents(eventsToPrune);
+                int removed = userRepository.deleteUsersByIds(ids);
+
+                // Only reset device ID if the admin removed their own profile
+                User current = userService.getCurrentUser();
+                if (current != null && ids.contains(current.getUserId())) {
+                    deviceIdManager.reset();
+                }
+
+                logActions(AdminActionLog.KIND_PROFILE, ids, note);
+                onSuccess.onSuccess(removed);
+            } catch (Exception e) {
+                onFailure.onFailure(e);
+            }
+        });
+    }
+
     /**
      * Lists all user profiles asynchronously for admin viewing.
      *
@@ -186,14 +372,14 @@ public class AdminService {
      * Useful if we want to move the thread logic here.
      */
     public void listAllImages(OnSuccessListener<List<Image>> onSuccess, OnFailureListener onFailure) {
-        new Thread(() -> {
+        TaskScheduler.getInstance().execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.NORMAL, "AdminService", () -> {
             try {
                 List<Image> images = imageService.getAllImages();
                 onSuccess.onSuccess(images);
             } catch (Exception e) {
                 onFailure.onFailure(e);
             }
-        }).start();
+        });
     }
 
 
@@ -216,7 +402,7 @@ public class AdminService {
         }
 
         // Move synchronous operations to background thread
-        new Thread(() -> {
+        TaskScheduler.getInstance().execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.HIGH, "AdminService", () -> {
             try {
                 // Get image to check if it's an event poster
                 Image image = imageService.getImageById(imageId);
@@ -237,11 +423,56 @@ public class AdminService {
             } catch (Exception e) {
                 onFailure.onFailure(e);
             }
-        }).start();
+        });
     }
 
 
 
+    /**
+     * Removes several images after confirmation.
+     * Organizers whose posters were removed receive a single notification covering all of
+     * their affected events, and the images are deleted in shared batched writes.
+     *
+     * @param imageIds The IDs of the images to remove
+     * @param confirmed Must be true to proceed with deletion
+     * @param note Optional note for the audit log
+     * @param onSuccess Callback receiving the number of images deleted
+     * @param onFailure Callback invoked if deletion fails or confirmation is false
+     */
+    public void removeImages(List<String> imageIds, boolean confirmed, @Nullable String note,
+                             OnSuccessListener<Integer> onSuccess, OnFailureListener onFailure) {
+        if (!confirmed) {
+            onFailure.onFailure(new IllegalArgumentException("Confirmation required"));
+            return;
+        }
+        Set<String> ids = cleanIds(imageIds);
+        if (ids.isEmpty()) {
+            onSuccess.onSuccess(0);
+            return;
+        }
+
+        TaskScheduler.getInstance().execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.HIGH, "AdminService", () -> {
+            try {
+                Set<String> posterEventIds = new LinkedHashSet<>();
+                for (Image image : imageRepository.getImagesByIds(ids)) {
+                    if (image.getEventId() != null && !image.getEventId().trim().isEmpty()) {
+                        posterEventIds.add(image.getEventId());
+                    }
+                }
+                if (!posterEventIds.isEmpty()) {
+                    sendImagesRemovedNotifications(eventRepository.getEventsByIds(posterEventIds));
+                }
+
+                int removed = imageRepository.deleteImagesByIds(ids);
+
+                logActions(AdminActionLog.KIND_IMAGE, ids, note);
+                onSuccess.onSuccess(removed);
+            } catch (Exception e) {
+                onFailure.onFailure(e);
+            }
+        });
+    }
+
     /**
      * Removes an image after confirmation (synchronous version).
      * US 03.03.01b+c: select an image and confirm deletion.
@@ -295,16 +526,7 @@ public class AdminService {
         }
 
         // Collect all affected user IDs
-        Set<String> affectedUserIds = new HashSet<>();
-        if (event.getWaitingList() != null) {
-            affectedUserIds.addAll(event.getWaitingList());
-        }
-        if (event.getSelectedList() != null) {
-            affectedUserIds.addAll(event.getSelectedList());
-        }
-        if (event.getConfirmedList() != null) {
-            affectedUserIds.addAll(event.getConfirmedList());
-        }
+        Set<String> affectedUserIds = loadEntrantIds(event);
 
         // Send notification to all affected users
         for (String userId : affectedUserIds) {
@@ -386,4 +608,185 @@ public class AdminService {
                 e -> {}
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * Sends the merged cancellation notices for a bulk event removal.
+     * Each affected entrant and organizer gets exactly one notification, no matter how many of
+     * the removed events they were part of. Recipients are resolved with one chunked lookup
+     * and the notifications are written in shared batches.
+     *
+     * @param events The events being deleted
+     */
+    private void sendEventsDeletedByAdminNotifications(List<Event> events) {
+        if (events == null || events.isEmpty()) return;
+
+        // userId -> titles of removed events they were registered for / organized
+        Map<String, List<String>> entrantEvents = new LinkedHashMap<>();
+        Map<String, List<String>> organizerEvents = new LinkedHashMap<>();
+        Map<String, Integer> firstEventHash = new LinkedHashMap<>();
+
+        for (Event event : events) {
+            if (event == null || event.getEventId() == null) continue;
+            String eventName = event.getTitle() != null ? event.getTitle() : "Event";
+            int eventIdInt = Math.abs(event.getEventId().hashCode());
+
+            for (String userId : loadEntrantIds(event)) {
+                if (userId == null || userId.trim().isEmpty()) continue;
+                entrantEvents.computeIfAbsent(userId, k -> new ArrayList<>()).add(eventName);
+                firstEventHash.putIfAbsent(userId, eventIdInt);
+            }
+
+            String organizerId = event.getOrganizerId();
+            if (organizerId != null && !organizerId.trim().isEmpty()) {
+                organizerEvents.computeIfAbsent(organizerId, k -> new ArrayList<>()).add(eventName);
+                firstEventHash.putIfAbsent(organizerId, eventIdInt);
+            }
+        }
+
+        Set<String> recipients = new LinkedHashSet<>(entrantEvents.keySet());
+        recipients.addAll(organizerEvents.keySet());
+        int adminIdInt = currentAdminIdHash();
+
+        List<Notification> notifications = new ArrayList<>();
+        for (String userId : enabledRecipients(recipients)) {
+            List<String> registered = entrantEvents.get(userId);
+            List<String> organized = organizerEvents.get(userId);
+            StringBuilder details = new StringBuilder();
+            if (organized != null) {
+                details.append("Due to community guideline violations, ")
+                        .append(describeEvents(organized))
+                        .append(organized.size() == 1 ? " has" : " have")
+                        .append(" been canceled by the Administrator.");
+            }
+            if (registered != null) {
+                if (details.length() > 0) details.append(" ");
+                details.append("Due to unforeseen reasons, ")
+                        .append(describeEvents(registered))
+                        .append(registered.size() == 1 ? " has" : " have")
+                        .append(" been canceled by the Administrator. Please find another one.");
+            }
+            notifications.add(new Notification(
+                    0, // Auto-generate ID
+                    constant.NotificationType.BAD,
+                    Math.abs(userId.hashCode()),
+                    adminIdInt, // senderId = AdminId
+                    firstEventHash.get(userId),
+                    "Event Canceled",
+                    details.toString()
+            ));
+        }
+        notificationService.saveNotifications(notifications);
+    }
+
+    /**
+     * Sends one poster-removed notice per organizer for a bulk image removal.
+     *
+     * @param events The events whose posters were removed
+     */
+    private void sendImagesRemovedNotifications(List<Event> events) {
+        Map<String, List<String>> organizerEvents = new LinkedHashMap<>();
+        Map<String, Integer> firstEventHash = new LinkedHashMap<>();
+        for (Event event : events) {
+            if (event == null || event.getEventId() == null || event.getOrganizerId() == null) continue;
+            String eventName = event.getTitle() != null ? event.getTitle() : "Event";
+            organizerEvents.computeIfAbsent(event.getOrganizerId(), k -> new ArrayList<>()).add(eventName);
+            firstEventHash.putIfAbsent(event.getOrganizerId(), Math.abs(event.getEventId().hashCode()));
+        }
+
+        int adminIdInt = currentAdminIdHash();
+        List<Notification> notifications = new ArrayList<>();
+        for (String organizerId : enabledRecipients(organizerEvents.keySet())) {
+            List<String> names = organizerEvents.get(organizerId);
+            notifications.add(new Notification(
+                    0, // Auto-generate ID
+                    constant.NotificationType.BAD,
+                    Math.abs(organizerId.hashCode()),
+                    adminIdInt, // senderId = AdminId
+                    firstEventHash.get(organizerId),
+                    "Image removed",
+                    "Due to community guideline violations, the poster for "
+                            + describeEvents(names) + " has been removed by the Administrator."
+            ));
+        }
+        notificationService.saveNotifications(notifications);
+    }
+
+    /**
+     * Filters recipients down to users that still exist and have notifications enabled,
+     * using one chunked lookup instead of a full user scan per notification.
+     *
+     * @param userIds The candidate recipient IDs
+     * @return The IDs that should receive a notification
+     */
+    private List<String> enabledRecipients(Collection<String> userIds) {
+        List<String> enabled = new ArrayList<>();
+        for (User user : userRepository.getUsersByIds(userIds)) {
+            if (user.getUserId() != null && user.hasNotificationsOn()) {
+                enabled.add(user.getUserId());
+            }
+        }
+        return enabled;
+    }
+
+    /**
+     * Gets the hashed ID of the current admin, used as the notification sender.
+     *
+     * @return The admin ID hash, or -1 if the admin could not be resolved
+     */
+    private int currentAdminIdHash() {
+        User adminUser = userService.getCurrentUser();
+        if (adminUser != null && adminUser.getUserId() != null) {
+            return Math.abs(adminUser.getUserId().hashCode());
+        }
+        return -1;
+    }
+
+    /**
+     * Formats event names for a merged notification.
+     *
+     * @param names The event titles
+     * @return "Event: X" for one event, or a count with the titles for several
+     */
+    private static String describeEvents(List<String> names) {
+        if (names.size() == 1) {
+            return "Event: " + names.get(0);
+        }
+        return names.size() + " events (" + String.join(", ", names) + ")";
+    }
+
+    /**
+     * Drops null/blank IDs and duplicates while keeping selection order.
+     *
+     * @param ids The raw IDs
+     * @return The cleaned ID set
+     */
+    private static Set<String> cleanIds(@Nullable List<String> ids) {
+        Set<String> out = new LinkedHashSet<>();
+        if (ids == null) return out;
+        for (String id : ids) {
+            if (id != null && !id.trim().isEmpty()) {
+                out.add(id.trim());
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Loads the IDs of every user on the waiting, selected or confirmed roster of an event
+     * (blocking - must be called from background thread).
+     *
+     * @param event The event, as loaded from the repository
+     * @return The user IDs, or an empty set if the rosters could not be read
+     */
+    private static Set<String> loadEntrantIds(Event event) {
+        try {
+            return Tasks.await(Roster.union(
+                    event.roster(constant.EventRegistrationStatus.WAITLIST),
+                    event.roster(constant.EventRegistrationStatus.SELECTED),
+                    event.roster(constant.EventRegistrationStatus.CONFIRMED)));
+        } catch (Exception e) {
+            Log.e("App", "Failed to load entrants of event " + event.getEventId(), e);
+            return new HashSet<>();
+        }
+    }
+}
@@ -12,12 +12,12 @@ import androidx.core.app.NotificationCompat;
 import androidx.core.app.NotificationManagerCompat;
 
 import com.quantiagents.app.R;
+import com.quantiagents.app.Repository.TaskScheduler;
 import com.quantiagents.app.models.Notification;
 import com.quantiagents.app.ui.main.MainActivity;
 
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 
 import me.leolin.shortcutbadger.ShortcutBadger;
 
@@ -35,21 +35,40 @@ public class BadgeService {
     private final NotificationService notificationService;
     private final UserService userService;
     private final ChatService chatService;
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final EventAnnouncementService announcementService;
+    private final Executor executor = TaskScheduler.getInstance().executor(TaskScheduler.Pool.IO, TaskScheduler.Priority.LOW, TAG);
 
     /**
-     * Constructor that initializes the BadgeService with required dependencies.
+     * Constructor that initializes the BadgeService with the services of the application's shared graph.
      *
      * @param context The Android context used for badge operations
      */
     public BadgeService(Context context) {
-        // Use application context to avoid memory leaks
-        this.context = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        this(context, ServiceLocator.of(context));
+    }
 
-        this.notificationService = new NotificationService(this.context);
-        this.userService = new UserService(this.context);
-        this.chatService = new ChatService(this.context);
+    private BadgeService(Context context, ServiceLocator graph) {
+        this(context, graph.notificationService(), graph.userService(), graph.chatService(),
+                graph.eventAnnouncementService());
+    }
 
+    /**
+     * Constructor that injects every dependency.
+     *
+     * @param context             The Android context used for badge operations
+     * @param notificationService The service unread notifications are counted with
+     * @param userService         The service the current user is read from
+     * @param chatService         The service unread messages are counted with
+     * @param announcementService The service unread announcements are counted with
+     */
+    public BadgeService(Context context, NotificationService notificationService, UserService userService,
+                        ChatService chatService, EventAnnouncementService announcementService) {
+        // Use application context to avoid memory leaks
+        this.context = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        this.notificationService = notificationService;
+        this.userService = userService;
+        this.chatService = chatService;
+        this.announcementService = announcementService;
         createBadgeChannel();
     }
 
@@ -68,7 +87,8 @@ public class BadgeService {
                         executor.execute(() -> {
                             try {
                                 int recipientId = Math.abs(user.getUserId().hashCode());
-                                int unreadNotificationCount = getUnreadNotificationCount(recipientId);
+                                int unreadNotificationCount = getUnreadNotificationCount(recipientId)
+                                        + announcementService.getUnreadAnnouncementCount(user);
                                 int unreadMessageCount = chatService.getTotalUnreadMessageCount(user.getUserId());
 
                                 int totalUnreadCount = unreadNotificationCount + unreadMessageCount;
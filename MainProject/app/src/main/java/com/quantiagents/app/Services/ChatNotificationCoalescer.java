@@ -0,0 +1,190 @@
+package com.quantiagents.app.Services;
+
+import android.util.Log;
+
+import com.quantiagents.app.Constants.constant;
+import com.quantiagents.app.Repository.TaskScheduler;
+import com.quantiagents.app.Repository.UserRepository;
+import com.quantiagents.app.models.Chat;
+import com.quantiagents.app.models.Notification;
+import com.quantiagents.app.models.User;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Folds chat message notifications into one "New messages in &lt;event&gt;" notification per member per chat.
+ * <p>
+ * Each (member, chat) pair has a fixed notification id, so a new message updates that document's
+ * preview and count in place instead of adding one. Messages are buffered for a short digest
+ * window and flushed together: one preference lookup for all members involved and one batched
+ * upsert per 500 (member, chat) pairs, however many messages arrived in the window.
+ * </p>
+ */
+public class ChatNotificationCoalescer {
+
+    /** How long messages are buffered before their notifications are written */
+    static final long DEFAULT_DIGEST_WINDOW_MS = 3000;
+    private static final int PREVIEW_LENGTH = 100;
+
+    private final NotificationService notificationService;
+    private final UserRepository userRepository;
+    // Pending digests by chat id, guarded by this
+    private final Map<String, PendingChat> pending = new LinkedHashMap<>();
+    private boolean flushScheduled;
+    private long digestWindowMs = DEFAULT_DIGEST_WINDOW_MS;
+
+    /**
+     * Constructor that initializes the coalescer with required dependencies.
+     *
+     * @param notificationService The service used to write the coalesced notifications
+     * @param userRepository The repository used to check the members' notification preference
+     */
+    public ChatNotificationCoalescer(NotificationService notificationService, UserRepository userRepository) {
+        this.notificationService = notificationService;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Sets how long messages are buffered before being flushed.
+     *
+     * @param windowMs The digest window in milliseconds; 0 flushes after every message
+     */
+    public synchronized void setDigestWindowMillis(long windowMs) {
+        this.digestWindowMs = Math.max(0, windowMs);
+    }
+
+    /**
+     * Records a new message for every chat member except its sender and schedules a flush.
+     *
+     * @param chat The chat the message was sent in
+     * @param senderId The ID of the user who sent the message
+     * @param senderName The name of the user who sent the message
+     * @param messageText The text of the message
+     */
+    public synchronized void record(Chat chat, String senderId, String senderName, String messageText) {
+        if (chat == null || chat.getChatId() == null || chat.getMemberIds() == null) {
+            return;
+        }
+        PendingChat digest = pending.get(chat.getChatId());
+        if (digest == null) {
+            digest = new PendingChat(chat.getChatId(), chat.getEventId(), chat.getEventName());
+            pending.put(chat.getChatId(), digest);
+        }
+        for (String memberId : chat.getMemberIds()) {
+            if (memberId == null || memberId.equals(senderId)) {
+                continue; // Skip sender
+            }
+            Integer count = digest.countByMember.get(memberId);
+            digest.countByMember.put(memberId, count == null ? 1 : count + 1);
+        }
+        digest.senderId = senderId;
+        digest.senderName = senderName;
+        digest.preview = preview(messageText);
+        digest.lastMessageTime = new Date();
+
+        if (!flushScheduled) {
+            flushScheduled = true;
+            TaskScheduler.getInstance().schedule(TaskScheduler.Pool.IO, TaskScheduler.Priority.LOW,
+                    "ChatNotificationCoalescer", digestWindowMs, this::flush);
+        }
+    }
+
+    /**
+     * Writes every pending digest now (blocking - must be called from background thread).
+     *
+     * @return The number of notifications written
+     */
+    public int flush() {
+        List<PendingChat> drained;
+        synchronized (this) {
+            drained = new ArrayList<>(pending.values());
+            pending.clear();
+            flushScheduled = false;
+        }
+        if (drained.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> members = new HashSet<>();
+        for (PendingChat digest : drained) {
+            members.addAll(digest.countByMember.keySet());
+        }
+        Set<String> enabled = new HashSet<>();
+        for (User user : userRepository.getUsersByIds(members)) {
+            if (user.getUserId() != null && user.hasNotificationsOn()) {
+                enabled.add(user.getUserId());
+            }
+        }
+
+        List<Notification> notifications = new ArrayList<>();
+        for (PendingChat digest : drained) {
+            String eventName = digest.eventName != null ? digest.eventName : "Event";
+            int eventIdInt = digest.eventId != null ? Math.abs(digest.eventId.hashCode()) : 0;
+            int senderIdInt = digest.senderId != null ? Math.abs(digest.senderId.hashCode()) : 0;
+            for (Map.Entry<String, Integer> entry : digest.countByMember.entrySet()) {
+                if (!enabled.contains(entry.getKey())) continue;
+                Notification notification = new Notification(
+                        coalescedId(entry.getKey(), digest.chatId),
+                        constant.NotificationType.REMINDER,
+                        Math.abs(entry.getKey().hashCode()),
+                        senderIdInt,
+                        eventIdInt,
+                        "New messages in " + eventName,
+                        digest.senderName + ": " + digest.preview,
+                        digest.lastMessageTime,
+                        false);
+                notification.setMessageCount(entry.getValue());
+                notifications.add(notification);
+            }
+        }
+        int written = notificationService.saveCoalescedNotifications(notifications);
+        Log.d("ChatService", "Flushed " + drained.size() + " chat digests into " + written + " notifications");
+        return written;
+    }
+
+    /**
+     * Gets the fixed notification id of a member's coalesced notification for a chat.
+     *
+     * @param memberId The member's user ID
+     * @param chatId The chat ID
+     * @return The notification ID (positive)
+     */
+    static int coalescedId(String memberId, String chatId) {
+        int id = ("chat_" + chatId + "_" + memberId).hashCode() & Integer.MAX_VALUE;
+        return id == 0 ? 1 : id;
+    }
+
+    private static String preview(String messageText) {
+        String preview = messageText != null ? messageText : "";
+        if (preview.length() > PREVIEW_LENGTH) {
+            preview = preview.substring(0, PREVIEW_LENGTH - 3) + "...";
+        }
+        return preview;
+    }
+
+    /**
+     * Messages buffered for one chat since the last flush.
+     */
+    private static final class PendingChat {
+        final String chatId;
+        final String eventId;
+        final String eventName;
+        final Map<String, Integer> countByMember = new LinkedHashMap<>();
+        String senderId;
+        String senderName;
+        String preview;
+        Date lastMessageTime;
+
+        PendingChat(String chatId, String eventId, String eventName) {
+            this.chatId = chatId;
+            this.eventId = eventId;
+            this.eventName = eventName;
+        }
+    }
+}
@@ -8,21 +8,20 @@ import androidx.annotation.NonNull;
 
 import com.google.android.gms.tasks.OnFailureListener;
 import com.google.android.gms.tasks.OnSuccessListener;
-import com.google.firebase.firestore.EventListener;
 import com.google.firebase.firestore.ListenerRegistration;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
-import com.google.firebase.firestore.QuerySnapshot;
-import com.quantiagents.app.Constants.constant;
 import com.quantiagents.app.Repository.ChatRepository;
-import com.quantiagents.app.Repository.FireBaseRepository;
+import com.quantiagents.app.Repository.Futures;
 import com.quantiagents.app.Repository.MessageRepository;
+import com.quantiagents.app.Repository.UserRepository;
 import com.quantiagents.app.models.Chat;
 import com.quantiagents.app.models.Message;
-import com.quantiagents.app.models.Notification;
+import com.quantiagents.app.models.User;
+import com.quantiagents.core.UnreadCounter;
 
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service layer for Chat and Message operations.
@@ -36,18 +35,39 @@ public class ChatService {
     private final MessageRepository messageRepository;
     private final UserService userService;
     private final NotificationService notificationService;
+    private final ChatNotificationCoalescer notificationCoalescer;
 
     /**
-     * Constructor that initializes the ChatService with required dependencies.
+     * Constructor that initializes the ChatService with the dependencies of the application's shared graph.
      *
-     * @param context The Android context used to initialize services
+     * @param context The Android context whose application graph supplies the dependencies
      */
     public ChatService(Context context) {
-        FireBaseRepository fireBaseRepository = new FireBaseRepository();
-        this.chatRepository = new ChatRepository(fireBaseRepository);
-        this.messageRepository = new MessageRepository(fireBaseRepository);
-        this.userService = new UserService(context);
-        this.notificationService = new NotificationService(context);
+        this(ServiceLocator.of(context));
+    }
+
+    private ChatService(ServiceLocator graph) {
+        this(graph.chatRepository(), graph.messageRepository(), graph.userRepository(),
+                graph.userService(), graph.notificationService());
+    }
+
+    /**
+     * Constructor that injects every dependency.
+     *
+     * @param chatRepository      The chat repository
+     * @param messageRepository   The message repository
+     * @param userRepository      The user repository, used to name senders in notification digests
+     * @param userService         The user service
+     * @param notificationService The service chat notifications are sent through
+     */
+    public ChatService(ChatRepository chatRepository, MessageRepository messageRepository,
+                       UserRepository userRepository, UserService userService,
+                       NotificationService notificationService) {
+        this.chatRepository = chatRepository;
+        this.messageRepository = messageRepository;
+        this.userService = userService;
+        this.notificationService = notificationService;
+        this.notificationCoalescer = new ChatNotificationCoalescer(notificationService, userRepository);
     }
 
     /**
@@ -64,50 +84,56 @@ public class ChatService {
     public void createEventChat(String eventId, String eventName, String organizerId,
                                 OnSuccessListener<String> onSuccess,
                                 OnFailureListener onFailure) {
+        Futures.deliver(createEventChatAsync(eventId, eventName, organizerId), onSuccess, onFailure);
+    }
+
+    /**
+     * Creates the group chat of an event, or reuses the existing one; see
+     * {@link #createEventChat(String, String, String, OnSuccessListener, OnFailureListener)}.
+     *
+     * @param eventId     The event ID for which the chat is created.
+     * @param eventName   The name of the event.
+     * @param organizerId The user ID of the event organizer.
+     * @return A future with the chat ID.
+     */
+    public CompletableFuture<String> createEventChatAsync(String eventId, String eventName, String organizerId) {
         if (TextUtils.isEmpty(eventId)) {
-            onFailure.onFailure(new IllegalArgumentException("Event ID is required"));
-            return;
+            return Futures.failed(new IllegalArgumentException("Event ID is required"));
         }
 
         // Check if chat already exists for this event
-        chatRepository.getChatByEventId(eventId,
-                existingChat -> {
-                    if (existingChat != null) {
-                        // Chat already exists, ensure organizer is added
-                        Log.d("ChatService", "Chat already exists for event: " + eventId);
-                        if (!TextUtils.isEmpty(organizerId)) {
-                            addUserToChat(existingChat.getChatId(), organizerId,
-                                    v -> onSuccess.onSuccess(existingChat.getChatId()),
-                                    e -> onSuccess.onSuccess(existingChat.getChatId()) // Continue even if add fails
-                            );
-                        } else {
-                            onSuccess.onSuccess(existingChat.getChatId());
-                        }
-                    } else {
-                        // Create new chat with organizer as initial member
-                        Chat chat = new Chat();
-                        chat.setEventId(eventId);
-                        chat.setEventName(eventName != null ? eventName : "Event");
-                        
-                        // Add organizer to member list
-                        List<String> initialMembers = new ArrayList<>();
-                        if (!TextUtils.isEmpty(organizerId)) {
-                            initialMembers.add(organizerId);
-                        }
-                        chat.setMemberIds(initialMembers);
-                        chat.setCreatedAt(new Date());
-
-                        chatRepository.saveChat(chat,
-                                chatId -> {
-                                    Log.d("ChatService", "Chat created for event: " + eventId + ", chatId: " + chatId + ", organizer added");
-                                    onSuccess.onSuccess(chatId);
-                                },
-                                onFailure
-                        );
-                    }
-                },
-                onFailure
-        );
+        return chatRepository.getChatByEventIdAsync(eventId).thenCompose(existingChat -> {
+            if (existingChat != null) {
+                // Chat already exists, ensure organizer is added
+                Log.d("ChatService", "Chat already exists for event: " + eventId);
+                if (TextUtils.isEmpty(organizerId)) {
+                    return CompletableFuture.completedFuture(existingChat.getChatId());
+                }
+                // Continue even if add fails
+                return Futures.orElse(addUserToChatAsync(existingChat.getChatId(), organizerId), null)
+                        .thenApply(v -> existingChat.getChatId());
+            }
+            // Create new chat with organizer as initial member
+            Chat chat = newEventChat(eventId, eventName, organizerId);
+            return chatRepository.saveChatAsync(chat).thenApply(chatId -> {
+                Log.d("ChatService", "Chat created for event: " + eventId + ", chatId: " + chatId + ", organizer added");
+                return chatId;
+            });
+        });
+    }
+
+    private static Chat newEventChat(String eventId, String eventName, String organizerId) {
+        Chat chat = new Chat();
+        chat.setEventId(eventId);
+        chat.setEventName(eventName != null ? eventName : "Event");
+
+        List<String> initialMembers = new ArrayList<>();
+        if (!TextUtils.isEmpty(organizerId)) {
+            initialMembers.add(organizerId);
+        }
+        chat.setMemberIds(initialMembers);
+        chat.setCreatedAt(new Date());
+        return chat;
     }
 
     /**
@@ -121,43 +147,43 @@ public class ChatService {
     public void addUserToChat(String chatId, String userId,
                               OnSuccessListener<Void> onSuccess,
                               OnFailureListener onFailure) {
+        Futures.deliver(addUserToChatAsync(chatId, userId), onSuccess, onFailure);
+    }
+
+    /**
+     * Adds a user to a chat as a future; see {@link #addUserToChat(String, String, OnSuccessListener, OnFailureListener)}.
+     *
+     * @param chatId The chat ID.
+     * @param userId The user ID to add.
+     * @return A future completed once the user is a member.
+     */
+    public CompletableFuture<Void> addUserToChatAsync(String chatId, String userId) {
         if (TextUtils.isEmpty(chatId) || TextUtils.isEmpty(userId)) {
-            onFailure.onFailure(new IllegalArgumentException("Chat ID and User ID are required"));
-            return;
+            return Futures.failed(new IllegalArgumentException("Chat ID and User ID are required"));
         }
 
-        chatRepository.getChatById(chatId,
-                chat -> {
-                    if (chat == null) {
-                        onFailure.onFailure(new IllegalArgumentException("Chat not found"));
-                        return;
-                    }
+        return chatRepository.getChatByIdAsync(chatId).thenCompose(chat -> {
+            if (chat == null) {
+                return Futures.failed(new IllegalArgumentException("Chat not found"));
+            }
 
-                    List<String> members = chat.getMemberIds();
-                    if (members == null) {
-                        members = new ArrayList<>();
-                    }
+            List<String> members = chat.getMemberIds();
+            if (members == null) {
+                members = new ArrayList<>();
+            }
 
-                    // Add user if not already a member
-                    if (!members.contains(userId)) {
-                        members.add(userId);
-                        chat.setMemberIds(members);
-
-                        chatRepository.updateChat(chat,
-                                aVoid -> {
-                                    Log.d("ChatService", "User " + userId + " added to chat " + chatId);
-                                    onSuccess.onSuccess(aVoid);
-                                },
-                                onFailure
-                        );
-                    } else {
-                        // User already in chat
-                        Log.d("ChatService", "User " + userId + " already in chat " + chatId);
-                        onSuccess.onSuccess(null);
-                    }
-                },
-                onFailure
-        );
+            // Add user if not already a member
+            if (members.contains(userId)) {
+                Log.d("ChatService", "User " + userId + " already in chat " + chatId);
+                return CompletableFuture.completedFuture(null);
+            }
+            members.add(userId);
+            chat.setMemberIds(members);
+            return chatRepository.updateChatAsync(chat).thenApply(aVoid -> {
+                Log.d("ChatService", "User " + userId + " added to chat " + chatId);
+                return aVoid;
+            });
+        });
     }
 
     /**
@@ -200,38 +226,22 @@ public class ChatService {
         }
 
         // First, try to get existing chat
-        chatRepository.getChatByEventId(eventId,
-                existingChat -> {
-                    if (existingChat != null) {
-                        // Chat exists, just add the user
-                        addUserToChat(existingChat.getChatId(), userId, onSuccess, onFailure);
-                    } else {
-                        // Chat doesn't exist, create it with organizer and user
-                        Chat chat = new Chat();
-                        chat.setEventId(eventId);
-                        chat.setEventName(eventName != null ? eventName : "Event");
-                        
-                        List<String> initialMembers = new ArrayList<>();
-                        if (!TextUtils.isEmpty(organizerId)) {
-                            initialMembers.add(organizerId);
-                        }
-                        if (!initialMembers.contains(userId)) {
-                            initialMembers.add(userId);
-                        }
-                        chat.setMemberIds(initialMembers);
-                        chat.setCreatedAt(new Date());
-
-                        chatRepository.saveChat(chat,
-                                chatId -> {
-                                    Log.d("ChatService", "Chat created and user added for event: " + eventId);
-                                    onSuccess.onSuccess(null);
-                                },
-                                onFailure
-                        );
-                    }
-                },
-                onFailure
-        );
+        CompletableFuture<Void> added = chatRepository.getChatByEventIdAsync(eventId).thenCompose(existingChat -> {
+            if (existingChat != null) {
+                // Chat exists, just add the user
+                return addUserToChatAsync(existingChat.getChatId(), userId);
+            }
+            // Chat doesn't exist, create it with organizer and user
+            Chat chat = newEventChat(eventId, eventName, organizerId);
+            if (!chat.getMemberIds().contains(userId)) {
+                chat.getMemberIds().add(userId);
+            }
+            return chatRepository.saveChatAsync(chat).thenApply(chatId -> {
+                Log.d("ChatService", "Chat created and user added for event: " + eventId);
+                return (Void) null;
+            });
+        });
+        Futures.deliver(added, onSuccess, onFailure);
     }
 
     /**
@@ -260,94 +270,72 @@ public class ChatService {
     public void sendMessage(String chatId, String senderId, String text,
                             OnSuccessListener<String> onSuccess,
                             OnFailureListener onFailure) {
+        Futures.deliver(sendMessageAsync(chatId, senderId, text), onSuccess, onFailure);
+    }
+
+    /**
+     * Sends a message to a chat as a future; see {@link #sendMessage(String, String, String, OnSuccessListener, OnFailureListener)}.
+     * <p>
+     * The sender's profile and the chat are read in parallel. The message is saved once the sender's
+     * name is known; the chat's last message time and the members' notifications follow without
+     * holding up the result.
+     * </p>
+     *
+     * @param chatId   The chat ID.
+     * @param senderId The user ID of the sender.
+     * @param text     The message text.
+     * @return A future with the message ID.
+     */
+    public CompletableFuture<String> sendMessageAsync(String chatId, String senderId, String text) {
         if (TextUtils.isEmpty(chatId) || TextUtils.isEmpty(senderId) || TextUtils.isEmpty(text)) {
-            onFailure.onFailure(new IllegalArgumentException("Chat ID, Sender ID, and message text are required"));
-            return;
+            return Futures.failed(new IllegalArgumentException("Chat ID, Sender ID, and message text are required"));
         }
 
-        // Get sender name asynchronously
-        userService.getUserById(senderId,
-                sender -> {
-                    String senderName = "User";
-                    if (sender != null) {
-                        if (!TextUtils.isEmpty(sender.getName())) {
-                            senderName = sender.getName();
-                        } else if (!TextUtils.isEmpty(sender.getUsername())) {
-                            senderName = sender.getUsername();
-                        }
+        // If the user lookup fails, use the default name and continue
+        CompletableFuture<String> senderName = Futures.recover(
+                userService.getUserByIdAsync(senderId).thenApply(ChatService::displayName),
+                e -> {
+                    Log.w("ChatService", "Could not get sender name, using default", e);
+                    return "User";
+                });
+        CompletableFuture<Chat> chat = Futures.orElse(chatRepository.getChatByIdAsync(chatId), null);
+
+        return senderName.thenCompose(name -> {
+            Message message = new Message();
+            message.setChatId(chatId);
+            message.setSenderId(senderId);
+            message.setSenderName(name);
+            message.setText(text);
+            message.setTimestamp(new Date());
+
+            return messageRepository.saveMessageAsync(message).thenApply(messageId -> {
+                // Update chat's last message time and notify the members (except sender)
+                chat.thenAccept(saved -> {
+                    if (saved != null) {
+                        saved.setLastMessageTime(new Date());
+                        chatRepository.updateChat(saved, v -> {}, err -> {});
+                        sendMessageNotifications(saved, senderId, name, text);
                     }
-                    
-                    // Store in final variable for use in nested lambda
-                    final String finalSenderName = senderName;
-                    
-                    Message message = new Message();
-                    message.setChatId(chatId);
-                    message.setSenderId(senderId);
-                    message.setSenderName(finalSenderName);
-                    message.setText(text);
-                    message.setTimestamp(new Date());
-
-                    messageRepository.saveMessage(message,
-                            messageId -> {
-                                // Update chat's last message time
-                                chatRepository.getChatById(chatId,
-                                        chat -> {
-                                            if (chat != null) {
-                                                chat.setLastMessageTime(new Date());
-                                                chatRepository.updateChat(chat, v -> {}, err -> {});
-                                                
-                                                // Send notifications to all chat members (except sender)
-                                                sendMessageNotifications(chat, senderId, finalSenderName, text);
-                                            }
-                                        },
-                                        err -> {}
-                                );
-
-                                Log.d("ChatService", "Message sent: " + messageId);
-                                onSuccess.onSuccess(messageId);
-                            },
-                            onFailure
-                    );
-                },
-                userError -> {
-                    // If user lookup fails, use default name and continue
-                    Log.w("ChatService", "Could not get sender name, using default", userError);
-                    String senderName = "User";
-                    
-                    Message message = new Message();
-                    message.setChatId(chatId);
-                    message.setSenderId(senderId);
-                    message.setSenderName(senderName);
-                    message.setText(text);
-                    message.setTimestamp(new Date());
-
-                    messageRepository.saveMessage(message,
-                            messageId -> {
-                                // Update chat's last message time
-                                chatRepository.getChatById(chatId,
-                                        chat -> {
-                                            if (chat != null) {
-                                                chat.setLastMessageTime(new Date());
-                                                chatRepository.updateChat(chat, v -> {}, err -> {});
-                                                
-                                                // Send notifications to all chat members (except sender)
-                                                sendMessageNotifications(chat, senderId, senderName, text);
-                                            }
-                                        },
-                                        err -> {}
-                                );
-
-                                Log.d("ChatService", "Message sent: " + messageId);
-                                onSuccess.onSuccess(messageId);
-                            },
-                            onFailure
-                    );
-                }
-        );
+                });
+                Log.d("ChatService", "Message sent: " + messageId);
+                return messageId;
+            });
+        });
+    }
+
+    private static String displayName(User sender) {
+        if (sender != null) {
+            if (!TextUtils.isEmpty(sender.getName())) {
+                return sender.getName();
+            } else if (!TextUtils.isEmpty(sender.getUsername())) {
+                return sender.getUsername();
+            }
+        }
+        return "User";
     }
 
     /**
-     * Sends notifications to all chat members when a new message is sent.
+     * Notifies all chat members when a new message is sent.
      * Excludes the sender from receiving a notification.
      *
      * @param chat       The chat object.
@@ -359,46 +347,8 @@ public class ChatService {
         if (chat == null || chat.getMemberIds() == null || chat.getMemberIds().isEmpty()) {
             return;
         }
-
-        String eventId = chat.getEventId();
-        String eventName = chat.getEventName() != null ? chat.getEventName() : "Event";
-        
-        // Convert event ID to int for notification
-        int eventIdInt = eventId != null ? Math.abs(eventId.hashCode()) : 0;
-        int senderIdInt = senderId != null ? Math.abs(senderId.hashCode()) : 0;
-
-        // Prepare message preview (truncate if too long)
-        String messagePreview = messageText != null ? messageText : "";
-        if (messagePreview.length() > 100) {
-            messagePreview = messagePreview.substring(0, 97) + "...";
-        }
-
-        // Send Firestore notifications to all members (except sender)
-        for (String memberId : chat.getMemberIds()) {
-            if (memberId == null || memberId.equals(senderId)) {
-                continue; // Skip sender
-            }
-
-            int recipientIdInt = Math.abs(memberId.hashCode());
-
-            String status = "New Message";
-            String details = senderName + " sent a message in " + eventName + ": " + messagePreview;
-
-            Notification notification = new Notification(
-                    0, // Auto-generate ID
-                    constant.NotificationType.REMINDER,
-                    recipientIdInt,
-                    senderIdInt,
-                    eventIdInt,
-                    status,
-                    details
-            );
-
-            notificationService.saveNotification(notification,
-                    aVoid -> Log.d("ChatService", "Firestore notification sent to user: " + memberId),
-                    e -> Log.w("ChatService", "Failed to send Firestore notification to user: " + memberId, e)
-            );
-        }
+        // One unread notification per member per chat, updated in place and written in digests
+        notificationCoalescer.record(chat, senderId, senderName, messageText);
     }
 
     /**
@@ -426,16 +376,17 @@ public class ChatService {
      * The listener will be called whenever messages are added, modified, or removed.
      * 
      * @param chatId    The chat ID to listen to.
-     * @param listener  Callback that receives the QuerySnapshot whenever messages change.
-     *                 The listener should handle the snapshot and extract messages.
+     * @param onChange  Callback that receives every message of the chat, ordered by timestamp, whenever they change.
+     * @param onFailure Callback invoked if the listener fails.
      * @return ListenerRegistration that can be used to stop listening (call remove() to detach).
      */
-    public ListenerRegistration listenToMessages(String chatId, EventListener<QuerySnapshot> listener) {
+    public ListenerRegistration listenToMessages(String chatId, OnSuccessListener<List<Message>> onChange,
+                                                 OnFailureListener onFailure) {
         if (TextUtils.isEmpty(chatId)) {
             Log.w("ChatService", "listenToMessages called with empty chatId");
             return null;
         }
-        return messageRepository.listenToMessages(chatId, listener);
+        return messageRepository.listenToMessages(chatId, onChange, onFailure);
     }
 
     /**
@@ -502,29 +453,8 @@ public class ChatService {
             return 0;
         }
 
-        if (lastRead == null) {
-            // User has never read messages, count all messages except their own
-            int unreadCount = 0;
-            for (Message message : allMessages) {
-                if (!userId.equals(message.getSenderId())) {
-                    unreadCount++;
-                }
-            }
-            return unreadCount;
-        }
-
-        // Count messages after the last read timestamp
-        int unreadCount = 0;
-        for (Message message : allMessages) {
-            if (message.getTimestamp() != null && message.getTimestamp().after(lastRead)) {
-                // Don't count messages sent by the user themselves
-                if (!userId.equals(message.getSenderId())) {
-                    unreadCount++;
-                }
-            }
-        }
-
-        return unreadCount;
+        // Messages after the last read timestamp (all of them if the user never read the chat), except their own
+        return UnreadCounter.count(allMessages, userId, lastRead);
     }
 
     /**
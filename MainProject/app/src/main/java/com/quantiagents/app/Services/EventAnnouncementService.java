@@ -0,0 +1,212 @@
+package com.quantiagents.app.Services;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.quantiagents.app.Constants.constant;
+import com.quantiagents.app.Repository.EventAnnouncementRepository;
+import com.quantiagents.app.Repository.RegistrationHistoryRepository;
+import com.quantiagents.app.Repository.UserRepository;
+import com.quantiagents.app.models.Event;
+import com.quantiagents.app.models.EventAnnouncement;
+import com.quantiagents.app.models.Notification;
+import com.quantiagents.app.models.RegistrationHistory;
+import com.quantiagents.app.models.User;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service layer for event-wide broadcasts ("Notify all").
+ * <p>
+ * Small audiences still get one notification each (fan-out on write), since that is only a
+ * couple of batched writes and keeps the regular unread flow. Larger audiences get a single
+ * announcement document for the event (fan-out on read): each entrant's notification center
+ * queries the announcements of the events they are registered for and merges them in, with
+ * a per-user read marker per event.
+ * </p>
+ */
+public class EventAnnouncementService {
+
+    /** Audiences up to this size get per-recipient notifications instead of an announcement */
+    static final int FAN_OUT_MAX_RECIPIENTS = 50;
+    /** Announcements older than this are no longer shown */
+    private static final long ANNOUNCEMENT_WINDOW_MS = TimeUnit.DAYS.toMillis(30);
+    private static final int ANNOUNCEMENTS_PER_QUERY = 50;
+
+    private final EventAnnouncementRepository repository;
+    private final RegistrationHistoryRepository registrationHistoryRepository;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+
+    /**
+     * Constructor that initializes the EventAnnouncementService with the dependencies of the application's shared graph.
+     *
+     * @param context The Android context whose application graph supplies the dependencies
+     */
+    public EventAnnouncementService(Context context) {
+        this(ServiceLocator.of(context));
+    }
+
+    private EventAnnouncementService(ServiceLocator graph) {
+        this(graph.eventAnnouncementRepository(), graph.registrationHistoryRepository(),
+                graph.userRepository(), graph.notificationService());
+    }
+
+    /**
+     * Constructor that injects every dependency.
+     *
+     * @param repository                    The announcement repository
+     * @param registrationHistoryRepository The repository audiences are read from
+     * @param userRepository                The repository recipients' preferences are read from
+     * @param notificationService           The service small audiences are notified through
+     */
+    public EventAnnouncementService(EventAnnouncementRepository repository,
+                                    RegistrationHistoryRepository registrationHistoryRepository,
+                                    UserRepository userRepository, NotificationService notificationService) {
+        this.repository = repository;
+        this.registrationHistoryRepository = registrationHistoryRepository;
+        this.userRepository = userRepository;
+        this.notificationService = notificationService;
+    }
+
+    /**
+     * Broadcasts a message to the entrants of an event with the given registration status (blocking - must be called from background thread).
+     * Uses per-recipient notifications for small audiences and one announcement otherwise.
+     *
+     * @param event The event the broadcast is for
+     * @param audience The registration status the recipients share
+     * @param recipientIds The user IDs of the recipients
+     * @param type The notification type
+     * @param status The status string shown as the title
+     * @param details The message body
+     * @return True if the broadcast was written
+     */
+    public boolean broadcast(Event event, constant.EventRegistrationStatus audience, Collection<String> recipientIds,
+                             constant.NotificationType type, String status, String details) {
+        if (event == null || event.getEventId() == null) {
+            return false;
+        }
+        int senderId = event.getOrganizerId() != null ? Math.abs(event.getOrganizerId().hashCode()) : 0;
+        LinkedHashSet<String> recipients = new LinkedHashSet<>();
+        for (String userId : recipientIds) {
+            if (userId != null && !userId.trim().isEmpty()) {
+                recipients.add(userId.trim());
+            }
+        }
+        if (recipients.isEmpty()) {
+            return false;
+        }
+
+        if (recipients.size() > FAN_OUT_MAX_RECIPIENTS) {
+            EventAnnouncement announcement = new EventAnnouncement(0, event.getEventId(), audience, type,
+                    senderId, status, details);
+            boolean saved = repository.saveAnnouncement(announcement);
+            Log.d("App", "Announcement for " + recipients.size() + " entrants saved: " + saved);
+            return saved;
+        }
+
+        // Small audience: one chunked preference lookup, then batched notification writes
+        int eventIdInt = Math.abs(event.getEventId().hashCode());
+        List<Notification> notifications = new ArrayList<>();
+        for (User user : userRepository.getUsersByIds(recipients)) {
+            if (user.getUserId() != null && user.hasNotificationsOn()) {
+                notifications.add(new Notification(0, type, Math.abs(user.getUserId().hashCode()),
+                        senderId, eventIdInt, status, details));
+            }
+        }
+        return notifications.isEmpty() || notificationService.saveNotifications(notifications) > 0;
+    }
+
+    /**
+     * Gets the recent announcements addressed to a user, as notifications (blocking - must be called from background thread).
+     * An announcement is addressed to the user if their current registration for its event
+     * matches the announcement's audience. Nothing is returned if the user has notifications off.
+     *
+     * @param user The user
+     * @return The announcements as notifications, newest first, with read state from the user's markers
+     */
+    public List<Notification> getAnnouncementsForUser(User user) {
+        List<Notification> out = new ArrayList<>();
+        if (user == null || user.getUserId() == null || !user.hasNotificationsOn()) {
+            return out;
+        }
+        Map<String, constant.EventRegistrationStatus> statusByEvent = new HashMap<>();
+        for (RegistrationHistory history : registrationHistoryRepository.getRegistrationHistoriesByUserId(user.getUserId())) {
+            if (history.getEventId() != null) {
+                statusByEvent.put(history.getEventId(), history.getEventRegistrationStatus());
+            }
+        }
+        if (statusByEvent.isEmpty()) {
+            return out;
+        }
+
+        Date since = new Date(System.currentTimeMillis() - ANNOUNCEMENT_WINDOW_MS);
+        List<EventAnnouncement> announcements = repository.getAnnouncementsForEvents(statusByEvent.keySet(),
+                since, ANNOUNCEMENTS_PER_QUERY);
+        if (announcements.isEmpty()) {
+            return out;
+        }
+
+        int recipientId = Math.abs(user.getUserId().hashCode());
+        Map<Integer, Date> readUpTo = repository.getReadMarkers(recipientId);
+        for (EventAnnouncement announcement : announcements) {
+            constant.EventRegistrationStatus audience = announcement.getAudience();
+            if (audience != null && audience != statusByEvent.get(announcement.getEventId())) {
+                continue;
+            }
+            Date marker = readUpTo.get(announcement.getAffiliatedEventId());
+            Date sent = announcement.getTimestamp();
+            boolean read = marker != null && sent != null && !sent.after(marker);
+            out.add(announcement.toNotification(recipientId, read));
+        }
+        out.sort((a, b) -> {
+            Date d1 = a.getTimestamp();
+            Date d2 = b.getTimestamp();
+            if (d1 == null || d2 == null) return d1 == null ? (d2 == null ? 0 : 1) : -1;
+            return d2.compareTo(d1);
+        });
+        return out;
+    }
+
+    /**
+     * Counts the unread announcements addressed to a user (blocking - must be called from background thread).
+     *
+     * @param user The user
+     * @return The unread count
+     */
+    public int getUnreadAnnouncementCount(User user) {
+        int count = 0;
+        for (Notification notification : getAnnouncementsForUser(user)) {
+            if (!notification.isHasRead()) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Marks an announcement as read by moving the user's read marker for its event up to it.
+     * Older announcements of the same event count as read too.
+     *
+     * @param userId The user ID of the reader
+     * @param announcement The announcement, as returned by {@link #getAnnouncementsForUser}
+     * @param onSuccess Callback invoked on successful update
+     * @param onFailure Callback invoked if the update fails
+     */
+    public void markAnnouncementAsRead(String userId, Notification announcement,
+                                       OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        if (userId == null || announcement == null || announcement.getTimestamp() == null) {
+            if (onFailure != null) onFailure.onFailure(new IllegalArgumentException("Invalid announcement"));
+            return;
+        }
+        repository.setReadMarker(Math.abs(userId.hashCode()), announcement.getAffiliatedEventId(),
+                announcement.getTimestamp(), onSuccess, onFailure);
+    }
+}
@@ -4,19 +4,23 @@ import android.content.Context;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.google.android.gms.tasks.OnFailureListener;
 import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
 import com.quantiagents.app.Constants.constant;
 import com.quantiagents.app.Repository.EventRepository;
-import com.quantiagents.app.Repository.FireBaseRepository;
+import com.quantiagents.app.Repository.Futures;
 import com.quantiagents.app.models.Event;
 import com.quantiagents.app.models.Notification;
+import com.quantiagents.app.models.Roster;
 import com.quantiagents.app.models.User;
 
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service layer for Event operations.
@@ -33,18 +37,32 @@ public class EventService {
     private final Context context;
 
     /**
-     * Constructs an EventService with required dependencies.
-     * EventService instantiates its own repositories internally.
+     * Constructs an EventService with the dependencies of the application's shared graph.
      *
      * @param context The application context
      */
     public EventService(Context context) {
-        // EventService instantiates its own repositories internally
-        FireBaseRepository fireBaseRepository = new FireBaseRepository();
-        this.repository = new EventRepository(fireBaseRepository);
+        this(context, ServiceLocator.of(context));
+    }
+
+    private EventService(Context context, ServiceLocator graph) {
+        this(context, graph.eventRepository(), graph.notificationService(), graph.userService());
+    }
+
+    /**
+     * Constructs an EventService from injected dependencies.
+     *
+     * @param context             The application context
+     * @param repository          The event repository
+     * @param notificationService The service used to notify entrants
+     * @param userService         The service used to look up users
+     */
+    public EventService(Context context, EventRepository repository,
+                        NotificationService notificationService, UserService userService) {
+        this.repository = repository;
         this.context = context;
-        this.notificationService = new NotificationService(context);
-        this.userService = new UserService(context);
+        this.notificationService = notificationService;
+        this.userService = userService;
     }
 
     /**
@@ -56,6 +74,15 @@ public class EventService {
         return repository.getEventById(eventId);
     }
 
+    /**
+     * Retrieves an Event by ID without blocking the caller.
+     * @param eventId Unique identifier of the event.
+     * @return A future with the Event, or null if not found.
+     */
+    public CompletableFuture<Event> getEventByIdAsync(String eventId) {
+        return repository.getEventByIdAsync(eventId);
+    }
+
     /**
      * Retrieves all events synchronously.
      * @return List of all events.
@@ -64,6 +91,17 @@ public class EventService {
         return repository.getAllEvents();
     }
 
+    /**
+     * Retrieves one page of events, ordered by event ID like {@link #getAllEvents()}
+     * (blocking - must be called from background thread).
+     * @param afterEventId The last event ID of the previous page, or null for the first page.
+     * @param limit The maximum number of events to return.
+     * @return The events of the page; empty past the last page.
+     */
+    public List<Event> getEventsPage(@Nullable String afterEventId, int limit) {
+        return repository.getEventsPage(afterEventId, limit);
+    }
+
     /**
      * Retrieves all events asynchronously.
      * @param onSuccess Callback receiving the list of events.
@@ -138,9 +176,11 @@ public class EventService {
         repository.updateEvent(event,
                 aVoid -> {
                     Log.d("App", "Event updated: " + event.getEventId());
-                    // Send notifications if there are affected users
+                    // Send notifications if there are affected users (rosters are paged in from the stored copy)
                     if (oldEvent != null) {
-                        sendEventUpdatedNotifications(event);
+                        loadEntrantIds(oldEvent)
+                                .addOnSuccessListener(userIds -> sendEventUpdatedNotifications(event, userIds))
+                                .addOnFailureListener(e -> Log.e("App", "Failed to load entrants to notify", e));
                     }
                     onSuccess.onSuccess(aVoid);
                 },
@@ -150,6 +190,46 @@ public class EventService {
                 });
     }
 
+    /**
+     * Records a lottery draw on an event in Firestore, then on the local copy.
+     * <p>
+     * The winners' registration histories are what puts them on the selected roster; this only
+     * marks the first draw as done and adds the winners to the selected roster size. The waiting
+     * list counter is decremented with the winners' histories.
+     * </p>
+     *
+     * @param event     The event; its local roster sizes and lottery flag are updated once written.
+     * @param winners   The number of entrants drawn.
+     * @param onSuccess Callback invoked on success.
+     * @param onFailure Callback invoked on failure.
+     */
+    public void recordDraw(@NonNull Event event, int winners,
+                           @NonNull OnSuccessListener<Void> onSuccess, @NonNull OnFailureListener onFailure) {
+        Futures.deliver(recordDrawAsync(event, winners), onSuccess, onFailure);
+    }
+
+    /**
+     * Records a lottery draw on an event as a future; see {@link #recordDraw(Event, int, OnSuccessListener, OnFailureListener)}.
+     *
+     * @param event   The event; its local roster sizes and lottery flag are updated once written.
+     * @param winners The number of entrants drawn.
+     * @return A future completed once the draw is written
+     */
+    public CompletableFuture<Void> recordDrawAsync(@NonNull Event event, int winners) {
+        if (event.getEventId() == null || event.getEventId().trim().isEmpty()) {
+            return Futures.failed(new IllegalArgumentException("Event ID is required"));
+        }
+        return repository.recordDrawAsync(event.getEventId(), winners)
+                .whenComplete((aVoid, e) -> {
+                    if (e != null) {
+                        Log.e("App", "Failed to record draw of event " + event.getEventId(), Futures.unwrap(e));
+                        return;
+                    }
+                    event.adjustRosterCount(constant.EventRegistrationStatus.SELECTED, winners);
+                    event.setFirstLotteryDone(true);
+                });
+    }
+
     /**
      * Asynchronously deletes an event.
      * @param eventId   The ID of the event to delete.
@@ -190,13 +270,27 @@ public class EventService {
         return repository.deleteEventById(eventId);
     }
 
+    /**
+     * Loads the IDs of every user on the waiting, selected or confirmed roster of an event.
+     *
+     * @param event The event, as loaded from the repository
+     * @return A task with the user IDs
+     */
+    private Task<Set<String>> loadEntrantIds(Event event) {
+        return Roster.union(
+                event.roster(constant.EventRegistrationStatus.WAITLIST),
+                event.roster(constant.EventRegistrationStatus.SELECTED),
+                event.roster(constant.EventRegistrationStatus.CONFIRMED));
+    }
+
     /**
      * Sends notifications when an event is updated by organizer.
      * Notifies all users in waiting list, selected list, and confirmed list.
      *
      * @param event The event that was updated
+     * @param affectedUserIds The users on the event's waiting, selected and confirmed rosters
      */
-    private void sendEventUpdatedNotifications(Event event) {
+    private void sendEventUpdatedNotifications(Event event, Set<String> affectedUserIds) {
         if (event == null) return;
 
         String eventId = event.getEventId();
@@ -208,18 +302,6 @@ public class EventService {
         int eventIdInt = Math.abs(eventId.hashCode());
         int organizerIdInt = Math.abs(organizerId.hashCode());
 
-        // Collect all affected user IDs
-        Set<String> affectedUserIds = new HashSet<>();
-        if (event.getWaitingList() != null) {
-            affectedUserIds.addAll(event.getWaitingList());
-        }
-        if (event.getSelectedList() != null) {
-            affectedUserIds.addAll(event.getSelectedList());
-        }
-        if (event.getConfirmedList() != null) {
-            affectedUserIds.addAll(event.getConfirmedList());
-        }
-
         // Only send notifications if there are affected users
         if (affectedUserIds.isEmpty()) return;
 
@@ -270,16 +352,13 @@ public class EventService {
             organizerName = organizer.getName().trim();
         }
 
-        // Collect all affected user IDs
-        Set<String> affectedUserIds = new HashSet<>();
-        if (event.getWaitingList() != null) {
-            affectedUserIds.addAll(event.getWaitingList());
-        }
-        if (event.getSelectedList() != null) {
-            affectedUserIds.addAll(event.getSelectedList());
-        }
-        if (event.getConfirmedList() != null) {
-            affectedUserIds.addAll(event.getConfirmedList());
+        // Collect all affected user IDs (pages through the rosters; we're on a background thread)
+        Set<String> affectedUserIds;
+        try {
+            affectedUserIds = Tasks.await(loadEntrantIds(event));
+        } catch (Exception e) {
+            Log.e("App", "Failed to load entrants to notify", e);
+            return;
         }
 
         // Send notification to all affected users
@@ -7,7 +7,6 @@ import androidx.annotation.NonNull;
 
 import com.google.android.gms.tasks.OnFailureListener;
 import com.google.android.gms.tasks.OnSuccessListener;
-import com.quantiagents.app.Repository.FireBaseRepository;
 import com.quantiagents.app.Repository.GeoLocationRepository;
 import com.quantiagents.app.models.GeoLocation;
 
@@ -23,15 +22,21 @@ public class GeoLocationService {
     private final GeoLocationRepository repository;
 
     /**
-     * Constructor that initializes the GeoLocationService with required dependencies.
-     * GeoLocationService instantiates its own repositories internally.
+     * Constructor that initializes the GeoLocationService with the shared repository of the application's graph.
      *
-     * @param context The Android context (currently unused but kept for consistency)
+     * @param context The Android context whose application graph supplies the repository
      */
     public GeoLocationService(Context context) {
-        // GeoLocationService instantiates its own repositories internally
-        FireBaseRepository fireBaseRepository = new FireBaseRepository();
-        this.repository = new GeoLocationRepository(fireBaseRepository);
+        this(ServiceLocator.of(context).geoLocationRepository());
+    }
+
+    /**
+     * Constructor that injects the repository.
+     *
+     * @param repository The geolocation repository
+     */
+    public GeoLocationService(GeoLocationRepository repository) {
+        this.repository = repository;
     }
 
     /**
@@ -7,7 +7,6 @@ import androidx.annotation.NonNull;
 
 import com.google.android.gms.tasks.OnFailureListener;
 import com.google.android.gms.tasks.OnSuccessListener;
-import com.quantiagents.app.Repository.FireBaseRepository;
 import com.quantiagents.app.Repository.ImageRepository;
 import com.quantiagents.app.models.Image;
 
@@ -22,15 +21,21 @@ public class ImageService {
     private final ImageRepository repository;
 
     /**
-     * Constructor that initializes the ImageService with required dependencies.
-     * ImageService instantiates its own repositories internally.
+     * Constructor that initializes the ImageService with the shared repository of the application's graph.
      *
-     * @param context The Android context (currently unused but kept for consistency)
+     * @param context The Android context whose application graph supplies the repository
      */
     public ImageService(Context context) {
-        // ImageService instantiates its own repositories internally
-        FireBaseRepository fireBaseRepository = new FireBaseRepository();
-        this.repository = new ImageRepository(fireBaseRepository);
+        this(ServiceLocator.of(context).imageRepository());
+    }
+
+    /**
+     * Constructor that injects the repository.
+     *
+     * @param repository The image repository
+     */
+    public ImageService(ImageRepository repository) {
+        this.repository = repository;
     }
 
     /**
@@ -139,19 +139,11 @@ public class LoginService {
     public void loginWithDevice(String deviceId,
                                 OnSuccessListener<Boolean> onSuccess,
                                 OnFailureListener onFailure) {
-        userService.authenticateDevice(deviceId,
-                success -> {
-                    if (success) {
-                        userService.getCurrentUser(
-                                user -> {
-                                    current = user;
-                                    onSuccess.onSuccess(true);
-                                },
-                                onFailure
-                        );
-                    } else {
-                        onSuccess.onSuccess(false);
-                    }
+        // One read both matches the device and loads the profile (cold start waits on it)
+        userService.getUserByDeviceId(deviceId,
+                user -> {
+                    current = user;
+                    onSuccess.onSuccess(user != null);
                 },
                 onFailure
         );
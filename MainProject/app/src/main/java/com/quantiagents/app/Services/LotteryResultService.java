@@ -8,20 +8,23 @@ import androidx.annotation.NonNull;
 import com.google.android.gms.tasks.OnFailureListener;
 import com.google.android.gms.tasks.OnSuccessListener;
 import com.quantiagents.app.Constants.constant;
-import com.quantiagents.app.Repository.FireBaseRepository;
+import com.quantiagents.app.Repository.Futures;
 import com.quantiagents.app.Repository.LotteryResultRepository;
+import com.quantiagents.app.Repository.TaskScheduler;
+import com.quantiagents.app.Repository.UserRepository;
 import com.quantiagents.app.models.Event;
 import com.quantiagents.app.models.LotteryResult;
 import com.quantiagents.app.models.Notification;
 import com.quantiagents.app.models.RegistrationHistory;
+import com.quantiagents.app.models.RosterStats;
 import com.quantiagents.app.models.User;
+import com.quantiagents.core.LotteryDraw;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Random;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service layer for LotteryResult operations and running lotteries.
@@ -34,20 +37,45 @@ public class LotteryResultService {
     private final NotificationService notificationService;
     private final UserService userService;
     private final ChatService chatService;
+    private final UserRepository userRepository;
 
     /**
-     * Constructor that initializes the LotteryResultService with required dependencies.
+     * Constructor that initializes the LotteryResultService with the dependencies of the application's shared graph.
      *
-     * @param context The Android context used to initialize services
+     * @param context The Android context whose application graph supplies the dependencies
      */
     public LotteryResultService(Context context) {
-        FireBaseRepository fireBaseRepository = new FireBaseRepository();
-        this.repository = new LotteryResultRepository(fireBaseRepository);
-        this.registrationHistoryService = new RegistrationHistoryService(context);
-        this.eventService = new EventService(context);
-        this.notificationService = new NotificationService(context);
-        this.userService = new UserService(context);
-        this.chatService = new ChatService(context);
+        this(ServiceLocator.of(context));
+    }
+
+    private LotteryResultService(ServiceLocator graph) {
+        this(graph.lotteryResultRepository(), graph.registrationHistoryService(), graph.eventService(),
+                graph.notificationService(), graph.userService(), graph.chatService(), graph.userRepository());
+    }
+
+    /**
+     * Constructor that injects every dependency.
+     *
+     * @param repository                 The lottery result repository
+     * @param registrationHistoryService The service entrants' registrations are read and updated through
+     * @param eventService               The event service
+     * @param notificationService        The service winners and losers are notified through
+     * @param userService                The user service
+     * @param chatService                The service winners are added to event chats through
+     * @param userRepository             The user repository
+     */
+    public LotteryResultService(LotteryResultRepository repository,
+                                RegistrationHistoryService registrationHistoryService,
+                                EventService eventService, NotificationService notificationService,
+                                UserService userService, ChatService chatService,
+                                UserRepository userRepository) {
+        this.repository = repository;
+        this.registrationHistoryService = registrationHistoryService;
+        this.eventService = eventService;
+        this.notificationService = notificationService;
+        this.userService = userService;
+        this.chatService = chatService;
+        this.userRepository = userRepository;
     }
 
     /**
@@ -139,72 +167,39 @@ public class LotteryResultService {
             return;
         }
 
-        // 2. Get Waiting List
-        List<RegistrationHistory> allRegistrations =
-                registrationHistoryService.getRegistrationHistoriesByEventId(eventId);
-        List<RegistrationHistory> waitingList = new ArrayList<>();
-        if (allRegistrations != null) {
-            for (RegistrationHistory reg : allRegistrations) {
-                if (reg != null &&
-                        reg.getEventRegistrationStatus() == constant.EventRegistrationStatus.WAITLIST) {
-                    waitingList.add(reg);
-                }
-            }
-        }
+        // 2. Get Waiting List (only the WAITLIST rows are read)
+        List<RegistrationHistory> waitingList =
+                registrationHistoryService.getRegistrationHistoriesByEventIdAndStatus(
+                        eventId, constant.EventRegistrationStatus.WAITLIST);
 
         if (waitingList.isEmpty()) {
             onFailure.onFailure(new IllegalStateException("No entrants on the waiting list."));
             return;
         }
 
-        // Cap the number of entrants if waitlist is smaller than requested
-        int drawCount = Math.min(numberOfEntrants, waitingList.size());
-
-        // 3. Random Selection
-        Collections.shuffle(waitingList, new Random());
-        List<RegistrationHistory> winners = waitingList.subList(0, drawCount);
-        List<String> winnerIds = new ArrayList<>();
-
-        // 4. Update Status to SELECTED, but wait for all async updates
-        AtomicInteger pending = new AtomicInteger(winners.size());
-        List<Exception> errors = new ArrayList<>();
+        // 3. Random Selection (capped at the waitlist size; only the drawn positions are shuffled)
+        List<RegistrationHistory> winners = LotteryDraw.draw(waitingList, numberOfEntrants, new Random());
 
+        // 4. Update Status to SELECTED in batched writes (paced by the write scheduler)
         for (RegistrationHistory winner : winners) {
             winner.setEventRegistrationStatus(constant.EventRegistrationStatus.SELECTED);
-            winnerIds.add(winner.getUserId());
-
-            registrationHistoryService.updateRegistrationHistory(
-                    winner,
-                    aVoid -> {
-                        Log.d("Lottery", "User " + winner.getUserId() + " selected");
-                        if (pending.decrementAndGet() == 0) {
-                            // All updates done
-                            if (!errors.isEmpty()) {
-                                onFailure.onFailure(errors.get(0));
-                            } else {
-                                finalizeLottery(event, eventId, winnerIds, onSuccess, onFailure);
-                            }
-                        }
-                    },
-                    e -> {
-                        Log.e("Lottery", "Failed to update user status", e);
-                        errors.add(e);
-                        if (pending.decrementAndGet() == 0) {
-                            if (!errors.isEmpty()) {
-                                onFailure.onFailure(errors.get(0));
-                            } else {
-                                finalizeLottery(event, eventId, winnerIds, onSuccess, onFailure);
-                            }
-                        }
-                    }
-            );
         }
+        List<String> winnerIds = LotteryDraw.userIds(winners);
+        int updated = registrationHistoryService.updateRegistrationHistories(winners);
+        if (updated < winners.size()) {
+            Log.e("Lottery", "Failed to update " + (winners.size() - updated) + " winner statuses");
+            onFailure.onFailure(new IllegalStateException("Failed to update winner statuses"));
+            return;
+        }
+        Log.d("Lottery", updated + " users selected");
+        registrationHistoryService.recordLeftWaitlist(eventId, updated);
+        finalizeLottery(event, eventId, winnerIds, onSuccess, onFailure);
     }
 
     /**
-     * After all RegistrationHistory updates are complete, sync the Event lists,
-     * update the Event document, then save the LotteryResult and finally
-     * call onSuccess.
+     * After all RegistrationHistory updates are complete, record the draw on the
+     * Event document, then save the LotteryResult and create the event's group chat
+     * in parallel, and finally call onSuccess.
      *
      * @param event The event for which the lottery was drawn
      * @param eventId The unique identifier of the event
@@ -217,62 +212,39 @@ public class LotteryResultService {
                                  List<String> winnerIds,
                                  OnSuccessListener<LotteryResult> onSuccess,
                                  OnFailureListener onFailure) {
+        String eventName = event.getTitle() != null ? event.getTitle() : "Event";
+        String organizerId = event.getOrganizerId();
 
-        // Sync Event lists (remove winners from waiting, add to selected)
-        List<String> evWaiting = event.getWaitingList();
-        if (evWaiting == null) evWaiting = new ArrayList<>();
-
-        List<String> evSelected = event.getSelectedList();
-        if (evSelected == null) evSelected = new ArrayList<>();
-
-        for (String winnerId : winnerIds) {
-            evWaiting.remove(winnerId);
-            if (!evSelected.contains(winnerId)) {
-                evSelected.add(winnerId);
-            }
-        }
-        event.setWaitingList(evWaiting);
-        event.setSelectedList(evSelected);
-        event.setFirstLotteryDone(true); // Mark as done
-
-        // First update the event document
-        eventService.updateEvent(
-                event,
-                aVoid -> {
-                    Log.d("Lottery", "Event lists synced for event: " + eventId);
+        // The winners' histories already put them on the selected roster; only the roster sizes
+        // and the lottery flag are recorded on the event, with increments
+        CompletableFuture<LotteryResult> finalized = eventService.recordDrawAsync(event, winnerIds.size())
+                .thenCompose(aVoid -> {
+                    Log.d("Lottery", "Draw recorded for event: " + eventId);
 
-                    // Then save the LotteryResult
+                    // The result and the group chat don't depend on each other
                     LotteryResult result = new LotteryResult(eventId, winnerIds);
-                    repository.saveLotteryResult(
-                            result,
-                            v -> {
-                                Log.d("App", "Lottery completed for event: " + eventId);
-                                // Create group chat for the event (organizer will be added automatically)
-                                String eventName = event.getTitle() != null ? event.getTitle() : "Event";
-                                String organizerId = event.getOrganizerId();
-                                chatService.createEventChat(eventId, eventName, organizerId,
-                                        chatId -> {
-                                            Log.d("Lottery", "Group chat created for event: " + eventId + ", chatId: " + chatId);
-                                // Send notifications to all winners
-                                sendLotteryWinNotifications(event, winnerIds);
-                                onSuccess.onSuccess(result);
-                                        },
-                                        e -> {
-                                            Log.e("Lottery", "Failed to create chat, but lottery completed", e);
-                                            // Still send notifications even if chat creation fails
-                                            sendLotteryWinNotifications(event, winnerIds);
-                                            onSuccess.onSuccess(result);
-                                        }
-                                );
-                            },
-                            onFailure
-                    );
-                },
-                e -> {
-                    Log.e("Lottery", "Failed to sync event lists", e);
-                    onFailure.onFailure(e);
-                }
-        );
+                    CompletableFuture<Void> saved = repository.saveLotteryResultAsync(result);
+                    // Organizer is added automatically; a failed chat doesn't fail the lottery
+                    CompletableFuture<String> chat = Futures.recover(
+                            chatService.createEventChatAsync(eventId, eventName, organizerId),
+                            e -> {
+                                Log.e("Lottery", "Failed to create chat, but lottery completed", e);
+                                return null;
+                            });
+                    return saved.thenCombine(chat, (v, chatId) -> {
+                        Log.d("App", "Lottery completed for event: " + eventId);
+                        if (chatId != null) {
+                            Log.d("Lottery", "Group chat created for event: " + eventId + ", chatId: " + chatId);
+                        }
+                        // Send notifications to all winners
+                        sendLotteryWinNotifications(event, winnerIds);
+                        return result;
+                    });
+                });
+        Futures.deliver(finalized, onSuccess, e -> {
+            Log.e("Lottery", "Failed to finalize lottery for event: " + eventId, e);
+            onFailure.onFailure(e);
+        });
     }
 
     /**
@@ -291,24 +263,20 @@ public class LotteryResultService {
             return;
         }
 
-        List<RegistrationHistory> allRegs =
-                registrationHistoryService.getRegistrationHistoriesByEventId(eventId);
-        int occupiedCount = 0;
-        if (allRegs != null) {
-            for (RegistrationHistory reg : allRegs) {
-                if (reg.getEventRegistrationStatus() == constant.EventRegistrationStatus.SELECTED ||
-                        reg.getEventRegistrationStatus() == constant.EventRegistrationStatus.CONFIRMED) {
-                    occupiedCount++;
-                }
-            }
+        // Counted with aggregation queries instead of reading the SELECTED and CONFIRMED rows
+        RosterStats stats = registrationHistoryService.getRosterStats(eventId);
+        if (stats == null) {
+            onFailure.onFailure(new IllegalStateException("Could not count the event's entrants"));
+            return;
         }
+        long occupiedCount = stats.getOccupied();
 
         // Assuming waitingListLimit acts as the total capacity for the event roster
         double limit = event.getWaitingListLimit();
         // If limit is 0 (unlimited) or very large, we might default to capacity.
         if (limit <= 0) limit = event.getEventCapacity();
 
-        int openSlots = (int) limit - occupiedCount;
+        int openSlots = (int) (limit - occupiedCount);
 
         if (openSlots <= 0) {
             onFailure.onFailure(new IllegalStateException("No open slots to refill (Limit reached)."));
@@ -337,28 +305,32 @@ public class LotteryResultService {
         int eventIdInt = Math.abs(eventId.hashCode());
         int organizerIdInt = Math.abs(organizerId.hashCode());
 
+        List<String> recipients = new ArrayList<>();
         for (String winnerId : winnerIds) {
-            if (winnerId == null || winnerId.trim().isEmpty()) continue;
-
-            int winnerIdInt = Math.abs(winnerId.hashCode());
-
-            // Notification for the winner (GOOD type)
-            String status = "User Won Lottery";
-            String details = "Congratulations you have won the lottery for Event : " + eventName + ". Please accept or decline the invitation.";
-            Notification winnerNotification = new Notification(
-                    0, // Auto-generate ID
-                    constant.NotificationType.GOOD,
-                    winnerIdInt,
-                    organizerIdInt, // senderId = eventOrganizerId
-                    eventIdInt,
-                    status,
-                    details
-            );
-
-            notificationService.saveNotification(winnerNotification,
-                    aVoid -> Log.d("Lottery", "Notification sent to winner: " + winnerId),
-                    e -> Log.e("Lottery", "Failed to send notification to winner: " + winnerId, e)
-            );
+            if (winnerId != null && !winnerId.trim().isEmpty()) recipients.add(winnerId);
         }
+
+        // Called from a Firestore callback; the preference lookup and batched save block
+        TaskScheduler.getInstance().execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.NORMAL, "LotteryResultService", () -> {
+            List<Notification> notifications = new ArrayList<>();
+            for (User winner : userRepository.getUsersByIds(recipients)) {
+                if (winner.getUserId() == null || !winner.hasNotificationsOn()) continue;
+
+                // Notification for the winner (GOOD type)
+                String status = "User Won Lottery";
+                String details = "Congratulations you have won the lottery for Event : " + eventName + ". Please accept or decline the invitation.";
+                notifications.add(new Notification(
+                        0, // Auto-generate ID
+                        constant.NotificationType.GOOD,
+                        Math.abs(winner.getUserId().hashCode()),
+                        organizerIdInt, // senderId = eventOrganizerId
+                        eventIdInt,
+                        status,
+                        details
+                ));
+            }
+            int sent = notificationService.saveNotifications(notifications);
+            Log.d("Lottery", "Notifications sent to " + sent + " winners");
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.quantiagents.app.Services;
+
+import com.quantiagents.app.Constants.constant;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How long notifications stay in the hot NOTIFICATION collection before compaction
+ * moves them to the per-user archive.
+ * <p>
+ * Each {@link constant.NotificationType} has its own time-to-live. Read notifications
+ * additionally expire after {@link #getReadTtlMillis()}, whichever comes first.
+ * </p>
+ */
+public class NotificationRetentionPolicy {
+
+    private final Map<constant.NotificationType, Long> ttlByType = new EnumMap<>(constant.NotificationType.class);
+    private long readTtlMillis = TimeUnit.DAYS.toMillis(7);
+
+    /**
+     * Creates a policy with the default TTLs: reminders 7 days, warnings 14 days,
+     * good and bad news 30 days, read notifications 7 days.
+     */
+    public NotificationRetentionPolicy() {
+        ttlByType.put(constant.NotificationType.REMINDER, TimeUnit.DAYS.toMillis(7));
+        ttlByType.put(constant.NotificationType.WARNING, TimeUnit.DAYS.toMillis(14));
+        ttlByType.put(constant.NotificationType.GOOD, TimeUnit.DAYS.toMillis(30));
+        ttlByType.put(constant.NotificationType.BAD, TimeUnit.DAYS.toMillis(30));
+    }
+
+    /**
+     * Gets the time-to-live for a notification type.
+     *
+     * @param type The notification type
+     * @return The TTL in milliseconds
+     */
+    public synchronized long getTtlMillis(constant.NotificationType type) {
+        Long ttl = ttlByType.get(type);
+        return ttl != null ? ttl : TimeUnit.DAYS.toMillis(30);
+    }
+
+    /**
+     * Sets the time-to-live for a notification type.
+     *
+     * @param type The notification type
+     * @param days The TTL in days (must be positive)
+     */
+    public synchronized void setTtlDays(constant.NotificationType type, int days) {
+        if (days <= 0) {
+            throw new IllegalArgumentException("TTL must be positive");
+        }
+        ttlByType.put(type, TimeUnit.DAYS.toMillis(days));
+    }
+
+    /**
+     * Gets how long read notifications stay in the hot collection.
+     *
+     * @return The TTL in milliseconds
+     */
+    public synchronized long getReadTtlMillis() {
+        return readTtlMillis;
+    }
+
+    /**
+     * Sets how long read notifications stay in the hot collection.
+     *
+     * @param days The TTL in days (must be positive)
+     */
+    public synchronized void setReadTtlDays(int days) {
+        if (days <= 0) {
+            throw new IllegalArgumentException("TTL must be positive");
+        }
+        readTtlMillis = TimeUnit.DAYS.toMillis(days);
+    }
+}
@@ -0,0 +1,152 @@
+package com.quantiagents.app.Services;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.quantiagents.app.Constants.constant;
+import com.quantiagents.app.Repository.NotificationArchiveRepository;
+import com.quantiagents.app.Repository.NotificationRepository;
+import com.quantiagents.app.Repository.TaskScheduler;
+import com.quantiagents.app.models.Notification;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the hot NOTIFICATION collection small.
+ * <p>
+ * A compaction pass finds the signed-in user's notifications past their type's TTL, and their read
+ * notifications past the read TTL, and moves them in batches to their archive (see
+ * {@link NotificationArchiveRepository}). Every query is scoped to one recipient, so a pass reads
+ * only that user's notifications however large the collection grows. Passes are throttled to once
+ * a day per user on each device and capped in size, so each user opening the app keeps their own
+ * notifications compacted without a server job.
+ * Archived notifications stay readable on demand.
+ * </p>
+ */
+public class NotificationRetentionService {
+
+    private static final String PREF_NAME = "notification_retention";
+    private static final String KEY_LAST_RUN = "last_compaction";
+    private static final long RUN_INTERVAL_MS = TimeUnit.DAYS.toMillis(1);
+    private static final int PAGE_SIZE = 200;
+    /** Upper bound on pages moved per pass, so one device never spends long on it */
+    private static final int MAX_PAGES_PER_RUN = 10;
+    private static final int DEFAULT_ARCHIVE_MONTHS = 6;
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationArchiveRepository archiveRepository;
+    private final NotificationRetentionPolicy policy = new NotificationRetentionPolicy();
+    private final SharedPreferences preferences;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Constructor that initializes the NotificationRetentionService with the shared repositories
+     * of the application's graph.
+     *
+     * @param context The Android context used to open the service's preferences
+     */
+    public NotificationRetentionService(Context context) {
+        this(context, ServiceLocator.of(context));
+    }
+
+    private NotificationRetentionService(Context context, ServiceLocator graph) {
+        this(context, graph.notificationRepository(), graph.notificationArchiveRepository());
+    }
+
+    /**
+     * Constructor that injects the repositories.
+     *
+     * @param context                The Android context used to open the service's preferences
+     * @param notificationRepository The repository of live notifications
+     * @param archiveRepository      The repository notifications are archived to
+     */
+    public NotificationRetentionService(Context context, NotificationRepository notificationRepository,
+                                        NotificationArchiveRepository archiveRepository) {
+        this.notificationRepository = notificationRepository;
+        this.archiveRepository = archiveRepository;
+        this.preferences = context.getApplicationContext().getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * Gets the retention policy, which can be adjusted before the next pass.
+     *
+     * @return The policy
+     */
+    public NotificationRetentionPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Starts a compaction pass of a recipient's notifications on a background thread if none ran
+     * for them in the last day. Safe to call from the main thread on every app start.
+     *
+     * @param recipientId The signed-in user's recipient ID
+     */
+    public void compactIfDue(int recipientId) {
+        String key = KEY_LAST_RUN + "_" + recipientId;
+        long lastRun = preferences.getLong(key, 0L);
+        if (System.currentTimeMillis() - lastRun < RUN_INTERVAL_MS) {
+            return;
+        }
+        TaskScheduler.getInstance().execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.LOW, "NotificationRetentionService", () -> {
+            int moved = compact(recipientId);
+            if (moved >= 0) {
+                preferences.edit().putLong(key, System.currentTimeMillis()).apply();
+            }
+        });
+    }
+
+    /**
+     * Runs one compaction pass over a recipient's notifications (blocking - must be called from background thread).
+     *
+     * @param recipientId The recipient whose notifications are compacted
+     * @return The number of notifications archived, or -1 if a pass was already running
+     */
+    public int compact(int recipientId) {
+        if (!running.compareAndSet(false, true)) {
+            return -1;
+        }
+        int moved = 0;
+        int pages = 0;
+        try {
+            long now = System.currentTimeMillis();
+            for (constant.NotificationType type : constant.NotificationType.values()) {
+                Date cutoff = new Date(now - policy.getTtlMillis(type));
+                while (pages < MAX_PAGES_PER_RUN) {
+                    List<Notification> expired = notificationRepository.getNotificationsOlderThan(recipientId, type, cutoff, PAGE_SIZE);
+                    pages++;
+                    int archived = expired.isEmpty() ? 0 : archiveRepository.archive(expired);
+                    moved += archived;
+                    // A short or failed page means this type is done (or retry next pass)
+                    if (expired.size() < PAGE_SIZE || archived < expired.size()) break;
+                }
+            }
+            Date readCutoff = new Date(now - policy.getReadTtlMillis());
+            while (pages < MAX_PAGES_PER_RUN) {
+                List<Notification> read = notificationRepository.getReadNotificationsOlderThan(recipientId, readCutoff, PAGE_SIZE);
+                pages++;
+                int archived = read.isEmpty() ? 0 : archiveRepository.archive(read);
+                moved += archived;
+                if (read.size() < PAGE_SIZE || archived < read.size()) break;
+            }
+            Log.d("App", "Notification compaction archived " + moved + " notifications");
+            return moved;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Retrieves a recipient's archived notifications from the last six archive months, newest first (blocking).
+     *
+     * @param recipientId The recipient ID
+     * @return List of archived notifications
+     */
+    public List<Notification> getArchivedNotifications(int recipientId) {
+        return archiveRepository.getArchivedNotifications(recipientId, DEFAULT_ARCHIVE_MONTHS);
+    }
+}
@@ -9,12 +9,13 @@ import android.os.Build;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.core.app.NotificationCompat;
 import androidx.core.app.NotificationManagerCompat;
 
 import com.google.android.gms.tasks.OnFailureListener;
 import com.google.android.gms.tasks.OnSuccessListener;
-import com.quantiagents.app.Repository.FireBaseRepository;
+import com.quantiagents.app.Constants.constant;
 import com.quantiagents.app.Repository.NotificationRepository;
 import com.quantiagents.app.models.Notification;
 import com.quantiagents.app.models.User;
@@ -22,6 +23,7 @@ import com.quantiagents.app.ui.main.MainActivity;
 import com.quantiagents.app.R;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Service layer for Notification operations.
@@ -32,18 +34,38 @@ public class NotificationService {
 
     private final NotificationRepository repository;
     private final Context context;
+    private final Supplier<UserService> userService;
+    // Provided lazily: BadgeService itself depends on NotificationService
+    private final Supplier<BadgeService> badgeService;
     private static final String CHANNEL_ID = "event_updates_channel";
 
     /**
-     * Constructor that initializes the NotificationService with required dependencies.
-     * NotificationService instantiates its own repositories internally.
+     * Constructor that initializes the NotificationService with the dependencies of the application's shared graph.
      *
      * @param context The Android context used for badge updates
      */
     public NotificationService(Context context) {
-        FireBaseRepository fireBaseRepository = new FireBaseRepository();
-        this.repository = new NotificationRepository(fireBaseRepository);
+        this(context, ServiceLocator.of(context));
+    }
+
+    private NotificationService(Context context, ServiceLocator graph) {
+        this(context, graph.notificationRepository(), graph::userService, graph::badgeService);
+    }
+
+    /**
+     * Constructor that injects every dependency.
+     *
+     * @param context      The Android context used for badge updates
+     * @param repository   The notification repository
+     * @param userService  Lazy provider of the UserService, used to check recipients' preferences
+     * @param badgeService Lazy provider of the BadgeService, used to update the app icon badge
+     */
+    public NotificationService(Context context, NotificationRepository repository,
+                               Supplier<UserService> userService, Supplier<BadgeService> badgeService) {
+        this.repository = repository;
         this.context = context;
+        this.userService = userService;
+        this.badgeService = badgeService;
         createNotificationChannel();
     }
 
@@ -79,6 +101,25 @@ public class NotificationService {
         return repository.getAllNotifications();
     }
 
+    /**
+     * Retrieves one page of notifications for the admin browser, newest first (blocking).
+     * Filters are applied by the repository; pass null to skip one.
+     *
+     * @param type Only this notification type, or null
+     * @param recipientId Only this recipient, or null
+     * @param eventId Only this affiliated event, or null
+     * @param startAfter Cursor of the previous page, or null for the first page
+     * @param limit Page size
+     * @return The page of notifications
+     */
+    public NotificationRepository.NotificationPage getNotificationsPage(@Nullable constant.NotificationType type,
+                                                                        @Nullable Integer recipientId,
+                                                                        @Nullable Integer eventId,
+                                                                        @Nullable Object startAfter,
+                                                                        int limit) {
+        return repository.getNotificationsPage(type, recipientId, eventId, startAfter, limit);
+    }
+
     /**
      * Retrieves all notifications for a specific recipient synchronously.
      *
@@ -116,7 +157,7 @@ public class NotificationService {
         }
 
         // Check if recipient has notifications enabled before saving
-        UserService userService = new UserService(context);
+        UserService userService = this.userService.get();
         int recipientId = notification.getRecipientId();
         
         // Find the recipient user by matching their userId hash to recipientId
@@ -154,7 +195,7 @@ public class NotificationService {
                                 Log.d("App", "Notification saved: " + notification.getNotificationId());
 
                                 // 1. Update BadgeService (Legacy/ShortcutBadger support)
-                                BadgeService badgeService = new BadgeService(context);
+                                BadgeService badgeService = this.badgeService.get();
                                 badgeService.updateBadgeCount();
 
                                 // 2. SHOW SYSTEM NOTIFICATION (Required for Samsung/Android 8+ badges)
@@ -181,7 +222,7 @@ public class NotificationService {
                     repository.saveNotification(notification,
                             aVoid -> {
                                 Log.d("App", "Notification saved (preference check failed): " + notification.getNotificationId());
-                                BadgeService badgeService = new BadgeService(context);
+                                BadgeService badgeService = this.badgeService.get();
                                 badgeService.updateBadgeCount();
                                 userService.getCurrentUser(user -> {
                                     if (user != null) {
@@ -200,6 +241,43 @@ public class NotificationService {
         );
     }
 
+    /**
+     * Saves many notifications in batched writes (blocking - must be called from a background thread).
+     * Used by bulk flows that already resolved their recipients, so the per-notification
+     * recipient preference scan in {@link #saveNotification} is skipped; callers must only
+     * pass notifications for recipients that have notifications enabled.
+     * Updates the app icon badge once for the whole batch.
+     *
+     * @param notifications The notifications to save
+     * @return The number of notifications saved
+     */
+    public int saveNotifications(List<Notification> notifications) {
+        if (notifications == null || notifications.isEmpty()) {
+            return 0;
+        }
+        int saved = repository.saveNotifications(notifications);
+        badgeService.get().updateBadgeCount();
+        return saved;
+    }
+
+    /**
+     * Upserts coalesced notifications in batched writes (blocking - must be called from a background thread).
+     * Each notification has a fixed id; an existing document is updated in place, marked unread and
+     * has its message count raised by the notification's message count.
+     * Like {@link #saveNotifications}, callers must have already filtered out recipients with notifications disabled.
+     * Updates the app icon badge once for the whole batch.
+     *
+     * @param notifications The coalesced notifications to write
+     * @return The number of notifications written
+     */
+    public int saveCoalescedNotifications(List<Notification> notifications) {
+        if (notifications == null || notifications.isEmpty()) {
+            return 0;
+        }
+        int saved = repository.upsertCoalescedNotifications(notifications);
+        badgeService.get().updateBadgeCount();
+        return saved;
+    }
 
     /**
      * Validates and updates an existing notification.
@@ -237,10 +315,12 @@ public class NotificationService {
                 notification -> {
                     if (notification != null) {
                         notification.setHasRead(true);
+                        // Restart the count of a coalesced chat notification from the next message
+                        notification.setMessageCount(0);
                         repository.updateNotification(notification,
                                 aVoid -> {
                                     // Update badge after marking read
-                                    BadgeService badgeService = new BadgeService(context);
+                                    BadgeService badgeService = this.badgeService.get();
                                     badgeService.updateBadgeCount();
 
                                     // Optional: Cancel the specific system notification if it exists
@@ -7,11 +7,11 @@ import androidx.annotation.NonNull;
 
 import com.google.android.gms.tasks.OnFailureListener;
 import com.google.android.gms.tasks.OnSuccessListener;
-import com.quantiagents.app.Repository.FireBaseRepository;
 import com.quantiagents.app.Repository.QRCodeRepository;
 import com.quantiagents.app.models.QRCode;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service layer for QRCode operations.
@@ -22,15 +22,21 @@ public class QRCodeService {
     private final QRCodeRepository repository;
 
     /**
-     * Constructor that initializes the QRCodeService with required dependencies.
-     * QRCodeService instantiates its own repositories internally.
+     * Constructor that initializes the QRCodeService with the shared repository of the application's graph.
      *
-     * @param context The Android context (currently unused but kept for consistency)
+     * @param context The Android context whose application graph supplies the repository
      */
     public QRCodeService(Context context) {
-        // QRCodeService instantiates its own repositories internally
-        FireBaseRepository fireBaseRepository = new FireBaseRepository();
-        this.repository = new QRCodeRepository(fireBaseRepository);
+        this(ServiceLocator.of(context).qRCodeRepository());
+    }
+
+    /**
+     * Constructor that injects the repository.
+     *
+     * @param repository The QR code repository
+     */
+    public QRCodeService(QRCodeRepository repository) {
+        this.repository = repository;
     }
 
     /**
@@ -62,6 +68,16 @@ public class QRCodeService {
         return repository.getQRCodesByEventId(eventId);
     }
 
+    /**
+     * Retrieves all QR codes associated with a specific event without blocking the caller.
+     *
+     * @param eventId The unique identifier of the event
+     * @return A future with the list of QR codes for the event
+     */
+    public CompletableFuture<List<QRCode>> getQRCodesByEventIdAsync(String eventId) {
+        return repository.getQRCodesByEventIdAsync(eventId);
+    }
+
     /**
      * Validates and saves a new QR code.
      * If id is 0 or negative, Firebase will auto-generate an ID.
@@ -4,14 +4,22 @@ import android.content.Context;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.google.android.gms.tasks.OnFailureListener;
 import com.google.android.gms.tasks.OnSuccessListener;
-import com.quantiagents.app.Repository.FireBaseRepository;
+import com.quantiagents.app.Constants.constant;
+import com.quantiagents.app.Repository.Futures;
 import com.quantiagents.app.Repository.RegistrationHistoryRepository;
+import com.quantiagents.app.models.Event;
 import com.quantiagents.app.models.RegistrationHistory;
+import com.quantiagents.app.models.RosterStats;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service layer for RegistrationHistory operations.
@@ -22,15 +30,21 @@ public class RegistrationHistoryService {
     private final RegistrationHistoryRepository repository;
 
     /**
-     * Constructor that initializes the RegistrationHistoryService with required dependencies.
-     * RegistrationHistoryService instantiates its own repositories internally.
+     * Constructor that initializes the RegistrationHistoryService with the shared repository of the application's graph.
      *
-     * @param context The Android context (currently unused but kept for consistency)
+     * @param context The Android context whose application graph supplies the repository
      */
     public RegistrationHistoryService(Context context) {
-        // RegistrationHistoryService instantiates its own repositories internally
-        FireBaseRepository fireBaseRepository = new FireBaseRepository();
-        this.repository = new RegistrationHistoryRepository(fireBaseRepository);
+        this(ServiceLocator.of(context).registrationHistoryRepository());
+    }
+
+    /**
+     * Constructor that injects the repository.
+     *
+     * @param repository The registration history repository
+     */
+    public RegistrationHistoryService(RegistrationHistoryRepository repository) {
+        this.repository = repository;
     }
 
     /**
@@ -44,6 +58,17 @@ public class RegistrationHistoryService {
         return repository.getRegistrationHistoryByEventIdAndUserId(eventId, userId);
     }
 
+    /**
+     * Retrieves a specific registration history by event ID and user ID without blocking the caller.
+     *
+     * @param eventId The unique identifier of the event
+     * @param userId The unique identifier of the user
+     * @return A future with the RegistrationHistory, or null if not found
+     */
+    public CompletableFuture<RegistrationHistory> getRegistrationHistoryByEventIdAndUserIdAsync(String eventId, String userId) {
+        return repository.getRegistrationHistoryByEventIdAndUserIdAsync(eventId, userId);
+    }
+
     /**
      * Retrieves all registration histories synchronously.
      *
@@ -63,6 +88,80 @@ public class RegistrationHistoryService {
         return repository.getRegistrationHistoriesByEventId(eventId);
     }
 
+    /**
+     * Retrieves the registration histories of an event with one of the given statuses synchronously.
+     * Only the matching rows are read.
+     *
+     * @param eventId The unique identifier of the event
+     * @param statuses The statuses to match
+     * @return List of matching registration histories, in no particular order
+     */
+    public List<RegistrationHistory> getRegistrationHistoriesByEventIdAndStatus(String eventId, constant.EventRegistrationStatus... statuses) {
+        if (eventId == null || statuses == null || statuses.length == 0) {
+            return new ArrayList<>();
+        }
+        return repository.getRegistrationHistoriesByEventIdAndStatus(eventId, statuses);
+    }
+
+    /**
+     * Gets the number of entrants on each of an event's rosters synchronously.
+     * Uses four count() aggregation reads instead of reading every registration, and is cached
+     * briefly; registration writes made through this app invalidate the cached counts.
+     *
+     * @param eventId The unique identifier of the event
+     * @return The roster stats, or null if they could not be counted
+     */
+    @Nullable
+    public RosterStats getRosterStats(String eventId) {
+        if (eventId == null || eventId.trim().isEmpty()) {
+            return null;
+        }
+        return repository.getRosterStats(eventId);
+    }
+
+    /**
+     * Gets the number of entrants on each of an event's rosters asynchronously.
+     *
+     * @param eventId The unique identifier of the event
+     * @param onSuccess Callback receiving the roster stats
+     * @param onFailure Callback invoked if counting fails
+     */
+    public void getRosterStats(String eventId, OnSuccessListener<RosterStats> onSuccess, OnFailureListener onFailure) {
+        Futures.deliver(getRosterStatsAsync(eventId), onSuccess, onFailure);
+    }
+
+    /**
+     * Gets the number of entrants on each of an event's rosters as a future.
+     *
+     * @param eventId The unique identifier of the event
+     * @return A future with the roster stats
+     */
+    public CompletableFuture<RosterStats> getRosterStatsAsync(String eventId) {
+        if (eventId == null || eventId.trim().isEmpty()) {
+            return Futures.failed(new IllegalArgumentException("Event ID is required"));
+        }
+        return repository.getRosterStatsFuture(eventId)
+                .whenComplete((stats, e) -> {
+                    if (e != null) {
+                        Log.e("App", "Failed to count rosters of event " + eventId, Futures.unwrap(e));
+                    }
+                });
+    }
+
+    /**
+     * Retrieves one page of an event's registration histories with a given status, oldest registration first (blocking).
+     *
+     * @param eventId The unique identifier of the event
+     * @param status The status to match
+     * @param after The last registration history of the previous page, or null for the first page
+     * @param limit The maximum number of registration histories to return
+     * @return List of registration histories ordered by registration date
+     */
+    public List<RegistrationHistory> getRegistrationHistoriesPage(String eventId, constant.EventRegistrationStatus status,
+                                                                  @Nullable RegistrationHistory after, int limit) {
+        return repository.getRegistrationHistoriesPage(eventId, status, after, limit);
+    }
+
     /**
      * Retrieves all registration histories for a specific user synchronously.
      *
@@ -133,6 +232,106 @@ public class RegistrationHistoryService {
                 });
     }
 
+    /**
+     * Updates many registration histories in batched writes (blocking - must be called from a background thread).
+     *
+     * @param histories The registration histories to update (each must have a valid status)
+     * @return The number of registration histories updated
+     */
+    public int updateRegistrationHistories(List<RegistrationHistory> histories) {
+        for (RegistrationHistory history : histories) {
+            if (history.getEventRegistrationStatus() == null) {
+                throw new IllegalArgumentException("Registration status is required");
+            }
+        }
+        return repository.updateRegistrationHistories(histories);
+    }
+
+    /**
+     * Puts a user on an event's waiting list (the hot path of a registration burst).
+     * Only the user's registration history and one waiting list counter shard are written;
+     * the Event document's roster sizes catch up in {@link RosterReconciler}.
+     *
+     * @param event The event to join (its waiting list limit is enforced)
+     * @param history The registration history to save, with WAITLIST status
+     * @param onSuccess Callback invoked on successful join
+     * @param onFailure Callback receiving validation errors, "full"/"already registered" or database errors
+     */
+    public void joinWaitlist(@NonNull Event event, RegistrationHistory history,
+                             @NonNull OnSuccessListener<Void> onSuccess, @NonNull OnFailureListener onFailure) {
+        if (history == null || history.getEventId() == null || history.getUserId() == null) {
+            onFailure.onFailure(new IllegalArgumentException("Registration history with event and user is required"));
+            return;
+        }
+        if (history.getEventRegistrationStatus() != constant.EventRegistrationStatus.WAITLIST) {
+            onFailure.onFailure(new IllegalArgumentException("Registration status must be WAITLIST"));
+            return;
+        }
+        if (history.getRegisteredAt() == null) {
+            onFailure.onFailure(new IllegalArgumentException("Registration date is required"));
+            return;
+        }
+        repository.joinWaitlist(history, event.getWaitingListLimit(),
+                aVoid -> {
+                    Log.d("App", "Joined waiting list: eventId=" + history.getEventId() + ", userId=" + history.getUserId());
+                    onSuccess.onSuccess(aVoid);
+                },
+                onFailure);
+    }
+
+    /**
+     * Removes a user's registration for an event, keeping the waiting list counter in step.
+     *
+     * @param eventId The unique identifier of the event
+     * @param userId The unique identifier of the user
+     * @param onSuccess Callback invoked on success
+     * @param onFailure Callback invoked if the removal fails
+     */
+    public void leaveWaitlist(String eventId, String userId, OnSuccessListener<Void> onSuccess, OnFailureListener onFailure) {
+        if (eventId == null || userId == null) {
+            onFailure.onFailure(new IllegalArgumentException("Event ID and user ID are required"));
+            return;
+        }
+        repository.leaveWaitlist(eventId, userId,
+                aVoid -> {
+                    Log.d("App", "Left waiting list: eventId=" + eventId + ", userId=" + userId);
+                    onSuccess.onSuccess(aVoid);
+                },
+                onFailure);
+    }
+
+    /**
+     * Gets the size of an event's waiting list from its sharded counter (blocking - must be called from background thread).
+     *
+     * @param eventId The unique identifier of the event
+     * @return The number of entrants on the waiting list
+     */
+    public long getWaitingCount(String eventId) {
+        return repository.getWaitingCount(eventId);
+    }
+
+    /**
+     * Gets the waiting list sizes of many events from their sharded counters (blocking - must be called from background thread).
+     *
+     * @param eventIds The unique identifiers of the events
+     * @return Map of event ID to waiting list size; events nobody joined yet are absent
+     */
+    public Map<String, Long> getWaitingCounts(Collection<String> eventIds) {
+        return repository.getWaitingCounts(eventIds);
+    }
+
+    /**
+     * Records that entrants left an event's waiting list through a bulk status change (e.g. a lottery draw).
+     *
+     * @param eventId The unique identifier of the event
+     * @param count The number of entrants that left the waiting list
+     */
+    public void recordLeftWaitlist(String eventId, int count) {
+        if (eventId != null && count > 0) {
+            repository.adjustWaitingCount(eventId, -count);
+        }
+    }
+
     /**
      * Deletes a registration history by event ID and user ID asynchronously.
      *
@@ -0,0 +1,246 @@
+package com.quantiagents.app.Services;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.quantiagents.app.Constants.constant;
+import com.quantiagents.app.Repository.EventRepository;
+import com.quantiagents.app.Repository.RegistrationHistoryRepository;
+import com.quantiagents.app.Repository.TaskScheduler;
+import com.quantiagents.app.models.Event;
+import com.quantiagents.app.models.RosterStats;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the roster sizes on Event documents in step with the registration histories.
+ * <p>
+ * Registration histories are the single source of truth for who is on which roster; a status
+ * change only writes the history, so the selectedCount / confirmedCount / cancelledCount fields
+ * on an event and its sharded WAITLIST counter are materialized aggregations that can drift. The reconciler
+ * recounts events from their histories with count() aggregation queries (four per event, so the cost
+ * does not grow with the number of entrants) and rewrites only the events whose sizes differ,
+ * through the BULK write lane. The sharded WAITLIST counter is repaired
+ * in the same pass.
+ * </p>
+ * <p>
+ * A background pass walks the event collection in pages from a saved cursor and wraps around,
+ * so every device that opens the app repairs a slice of the catalogue without a server job.
+ * Screens that show one event's sizes can also repair just that event.
+ * </p>
+ */
+public class RosterReconciler {
+
+    private static final String PREF_NAME = "roster_reconciler";
+    private static final String KEY_LAST_RUN = "last_pass";
+    private static final String KEY_CURSOR = "cursor";
+    private static final long RUN_INTERVAL_MS = TimeUnit.HOURS.toMillis(6);
+    /** Events recounted per batch (their aggregation queries run together) */
+    static final int BATCH_SIZE = 30;
+    /** Upper bound on batches per pass, so one device never spends long on it */
+    private static final int MAX_BATCHES_PER_RUN = 10;
+
+    private final EventRepository eventRepository;
+    private final RegistrationHistoryRepository registrationHistoryRepository;
+    private final SharedPreferences preferences;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Constructor that initializes the RosterReconciler with the shared repositories of the application's graph.
+     *
+     * @param context The Android context used to open the reconciler's preferences
+     */
+    public RosterReconciler(Context context) {
+        this(context, ServiceLocator.of(context));
+    }
+
+    private RosterReconciler(Context context, ServiceLocator graph) {
+        this(context, graph.eventRepository(), graph.registrationHistoryRepository());
+    }
+
+    /**
+     * Constructor that injects the repositories.
+     *
+     * @param context                       The Android context used to open the reconciler's preferences
+     * @param eventRepository               The repository event sizes are read from and written to
+     * @param registrationHistoryRepository The repository rosters are counted from
+     */
+    public RosterReconciler(Context context, EventRepository eventRepository,
+                            RegistrationHistoryRepository registrationHistoryRepository) {
+        this.eventRepository = eventRepository;
+        this.registrationHistoryRepository = registrationHistoryRepository;
+        this.preferences = context.getApplicationContext().getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * Starts a reconciliation pass on a background thread if none ran recently.
+     * Safe to call from the main thread on every app start.
+     */
+    public void reconcileIfDue() {
+        long lastRun = preferences.getLong(KEY_LAST_RUN, 0L);
+        if (System.currentTimeMillis() - lastRun < RUN_INTERVAL_MS) {
+            return;
+        }
+        TaskScheduler.getInstance().execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.LOW, "RosterReconciler", () -> {
+            int repaired = reconcile();
+            if (repaired >= 0) {
+                preferences.edit().putLong(KEY_LAST_RUN, System.currentTimeMillis()).apply();
+            }
+        });
+    }
+
+    /**
+     * Runs one reconciliation pass over the next batches of events (blocking - must be called from background thread).
+     * Continues from where the previous pass stopped and starts over after the last event.
+     *
+     * @return The number of events repaired, or -1 if a pass was already running
+     */
+    public int reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            return -1;
+        }
+        int repaired = 0;
+        try {
+            String cursor = preferences.getString(KEY_CURSOR, null);
+            for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+                List<Event> events = eventRepository.getEventsPage(cursor, BATCH_SIZE);
+                if (!events.isEmpty()) {
+                    repaired += reconcileEvents(events);
+                    cursor = events.get(events.size() - 1).getEventId();
+                }
+                if (events.size() < BATCH_SIZE) {
+                    // End of the collection: the next pass starts over
+                    cursor = null;
+                    break;
+                }
+            }
+            preferences.edit().putString(KEY_CURSOR, cursor).apply();
+            Log.d("App", "Roster reconciliation repaired " + repaired + " events");
+            return repaired;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Recounts one event's rosters from its registration histories and repairs its sizes if they drifted
+     * (blocking - must be called from background thread).
+     *
+     * @param eventId The unique identifier of the event
+     * @return True if the event's sizes were rewritten
+     */
+    public boolean reconcileEvent(String eventId) {
+        Event event = eventRepository.getEventById(eventId);
+        return event != null && reconcileEvents(Collections.singletonList(event)) > 0;
+    }
+
+    /**
+     * Recounts a set of events' rosters from their registration histories and repairs the sizes that drifted
+     * (blocking - must be called from background thread).
+     * The local copies' sizes are updated to the recounted ones.
+     *
+     * @param events The events to check
+     * @return The number of events whose sizes were rewritten
+     */
+    public int reconcileEvents(Collection<Event> events) {
+        Map<String, Event> byId = new HashMap<>();
+        for (Event event : events) {
+            if (event != null && event.getEventId() != null) {
+                byId.put(event.getEventId(), event);
+            }
+        }
+        if (byId.isEmpty()) {
+            return 0;
+        }
+        Map<String, RosterStats> counts = registrationHistoryRepository.countRosters(byId.keySet());
+        Map<String, Long> waitingCounters = registrationHistoryRepository.getWaitingCounts(byId.keySet());
+
+        Map<String, RosterStats> drifted = new HashMap<>();
+        Map<String, Long> counterDrift = new HashMap<>();
+        for (Map.Entry<String, RosterStats> entry : counts.entrySet()) {
+            Event event = byId.get(entry.getKey());
+            RosterStats recount = entry.getValue();
+            if (event == null) continue;
+            if (!matches(event, recount)) {
+                drifted.put(entry.getKey(), recount);
+            }
+            long drift = waitingDrift(recount, waitingCounters.get(entry.getKey()));
+            if (drift != 0) {
+                counterDrift.put(entry.getKey(), drift);
+            }
+        }
+        repairWaitingCounters(counterDrift);
+        if (drifted.isEmpty()) {
+            return 0;
+        }
+        int written = eventRepository.writeRosterCounts(drifted);
+        if (written == drifted.size()) {
+            for (Map.Entry<String, RosterStats> entry : drifted.entrySet()) {
+                Event event = byId.get(entry.getKey());
+                for (constant.EventRegistrationStatus status : Event.STORED_ROSTERS) {
+                    event.adjustRosterCount(status, entry.getValue().get(status) - event.rosterCount(status));
+                }
+            }
+        }
+        Log.d("App", "Repaired roster sizes of " + written + " of " + drifted.size() + " drifted events");
+        return written;
+    }
+
+    /**
+     * Recounts the events a set of users had registration histories for, once those histories changed in bulk
+     * (e.g. after a profile was deleted). Runs on a background thread; safe to call from the main thread.
+     *
+     * @param eventIds The IDs of the events to check
+     */
+    public void reconcileEventsAsync(Collection<String> eventIds) {
+        if (eventIds == null || eventIds.isEmpty()) {
+            return;
+        }
+        List<String> ids = new ArrayList<>(eventIds);
+        TaskScheduler.getInstance().execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.LOW, "RosterReconciler",
+                () -> reconcileEvents(eventRepository.getEventsByIds(ids)));
+    }
+
+    /**
+     * Corrects the sharded WAITLIST counters that differ from the recount.
+     * The recount and the shard read are separate reads, so a join committed between them looks like
+     * drift. A difference is only trusted if a second recount and shard read show the same one, and it
+     * is applied as an increment rather than overwriting the shards, so joins committed meanwhile stay counted.
+     *
+     * @param drift Recounted minus counted waiting list size, by event ID
+     */
+    private void repairWaitingCounters(Map<String, Long> drift) {
+        if (drift.isEmpty()) {
+            return;
+        }
+        Map<String, RosterStats> recounts = registrationHistoryRepository.countRosters(drift.keySet());
+        Map<String, Long> counters = registrationHistoryRepository.getWaitingCounts(drift.keySet());
+        for (Map.Entry<String, Long> entry : drift.entrySet()) {
+            RosterStats recount = recounts.get(entry.getKey());
+            if (recount != null && waitingDrift(recount, counters.get(entry.getKey())) == entry.getValue()) {
+                registrationHistoryRepository.adjustWaitingCount(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private static long waitingDrift(RosterStats recount, Long counter) {
+        return recount.getWaiting() - (counter == null ? 0 : counter);
+    }
+
+    private static boolean matches(Event event, RosterStats recount) {
+        for (constant.EventRegistrationStatus status : Event.STORED_ROSTERS) {
+            if (event.rosterCount(status) != recount.get(status)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
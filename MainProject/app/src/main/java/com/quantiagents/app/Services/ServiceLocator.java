@@ -1,17 +1,93 @@
 package com.quantiagents.app.Services;
 
 import android.content.Context;
+import android.os.SystemClock;
+import android.os.Trace;
+import android.util.Log;
 
+import androidx.annotation.Nullable;
+
+import com.quantiagents.app.App;
+import com.quantiagents.app.Repository.AdminLogRepository;
+import com.quantiagents.app.Repository.ChatRepository;
+import com.quantiagents.app.Repository.EventAnnouncementRepository;
+import com.quantiagents.app.Repository.EventCounterRepository;
+import com.quantiagents.app.Repository.EventRepository;
+import com.quantiagents.app.Repository.FireBaseRepository;
+import com.quantiagents.app.Repository.FirestoreChatRepository;
+import com.quantiagents.app.Repository.FirestoreEventAnnouncementRepository;
+import com.quantiagents.app.Repository.FirestoreEventCounterRepository;
+import com.quantiagents.app.Repository.FirestoreEventRepository;
+import com.quantiagents.app.Repository.FirestoreGeoLocationRepository;
+import com.quantiagents.app.Repository.FirestoreImageRepository;
+import com.quantiagents.app.Repository.FirestoreLotteryResultRepository;
+import com.quantiagents.app.Repository.FirestoreMessageRepository;
+import com.quantiagents.app.Repository.FirestoreNotificationArchiveRepository;
+import com.quantiagents.app.Repository.FirestoreNotificationRepository;
+import com.quantiagents.app.Repository.FirestoreQRCodeRepository;
+import com.quantiagents.app.Repository.FirestoreRegistrationHistoryRepository;
+import com.quantiagents.app.Repository.FirestoreUserRepository;
+import com.quantiagents.app.Repository.GeoLocationRepository;
+import com.quantiagents.app.Repository.ImageRepository;
+import com.quantiagents.app.Repository.LotteryResultRepository;
+import com.quantiagents.app.Repository.MessageRepository;
+import com.quantiagents.app.Repository.NotificationArchiveRepository;
+import com.quantiagents.app.Repository.NotificationRepository;
+import com.quantiagents.app.Repository.ProfilesRepository;
+import com.quantiagents.app.Repository.QRCodeRepository;
+import com.quantiagents.app.Repository.RegistrationHistoryRepository;
+import com.quantiagents.app.Repository.UserRepository;
 import com.quantiagents.app.models.DeviceIdManager;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
 /**
  * Service locator pattern implementation for managing service instances.
  * Provides lazy initialization and singleton-like access to all services.
  * Uses application context to avoid memory leaks.
+ * <p>
+ * The locator is the app's whole dependency graph: one FireBaseRepository, each repository built
+ * once on top of it, and each service built once with its repositories and services passed to its
+ * constructor. Services that are only needed on rare paths, or that would form a cycle
+ * (NotificationService and BadgeService need each other), get a lazy provider instead of an
+ * instance. Every node's construction time is recorded and traced under {@link #TRACE_TAG}.
+ * </p>
+ * <p>
+ * A locator built on a {@link Repositories} backend takes its repositories from the backend instead,
+ * so the services can be driven without a Firebase project. The instrumented tests use this with
+ * an in-memory backend for load tests; it is not part of the app.
+ * </p>
  */
 public class ServiceLocator {
 
+    /** Log tag and trace section prefix for graph construction */
+    public static final String TRACE_TAG = "Startup";
+
     private final Context appContext;
+    // Set when the repositories come from another backend instead of Firestore
+    @Nullable private final Repositories backend;
+
+    // Repositories, shared by every service that needs them
+    private FireBaseRepository fireBaseRepository;
+    private UserRepository userRepository;
+    private EventRepository eventRepository;
+    private RegistrationHistoryRepository registrationHistoryRepository;
+    private EventCounterRepository eventCounterRepository;
+    private ImageRepository imageRepository;
+    private NotificationRepository notificationRepository;
+    private NotificationArchiveRepository notificationArchiveRepository;
+    private GeoLocationRepository geoLocationRepository;
+    private QRCodeRepository qrCodeRepository;
+    private LotteryResultRepository lotteryResultRepository;
+    private ChatRepository chatRepository;
+    private MessageRepository messageRepository;
+    private EventAnnouncementRepository eventAnnouncementRepository;
+    private ProfilesRepository profilesRepository;
+    private AdminLogRepository adminLogRepository;
+
     private UserService userService;
     private LoginService loginService;
     private AdminService adminService;
@@ -23,7 +99,51 @@ public class ServiceLocator {
     private LotteryResultService lotteryResultService;
     private QRCodeService qrCodeService;
     private ChatService chatService;
+    private BadgeService badgeService;
     private DeviceIdManager deviceIdManager;
+    private AdminDataSnapshot adminDataSnapshot;
+    private NotificationRetentionService notificationRetentionService;
+    private EventAnnouncementService eventAnnouncementService;
+    private RosterReconciler rosterReconciler;
+    private StartupPipeline startupPipeline;
+
+    // Construction trace, guarded by this: node -> own construction time (excluding its dependencies)
+    private final Map<String, Long> constructionMicros = new LinkedHashMap<>();
+    private long totalConstructionNanos;
+    private long dependencyNanos; // time spent building the dependencies of the node being built
+    private int depth;
+
+    /**
+     * The repositories of a backend other than Firestore, e.g. an in-memory one for load tests.
+     */
+    public interface Repositories {
+        /** @return The user repository of the backend */
+        UserRepository users();
+        /** @return The event counter repository of the backend */
+        EventCounterRepository eventCounters();
+        /** @return The registration history repository of the backend */
+        RegistrationHistoryRepository registrationHistories();
+        /** @return The event repository of the backend */
+        EventRepository events();
+        /** @return The image repository of the backend */
+        ImageRepository images();
+        /** @return The notification repository of the backend */
+        NotificationRepository notifications();
+        /** @return The notification archive repository of the backend */
+        NotificationArchiveRepository notificationArchive();
+        /** @return The geo location repository of the backend */
+        GeoLocationRepository geoLocations();
+        /** @return The QR code repository of the backend */
+        QRCodeRepository qrCodes();
+        /** @return The lottery result repository of the backend */
+        LotteryResultRepository lotteryResults();
+        /** @return The chat repository of the backend */
+        ChatRepository chats();
+        /** @return The message repository of the backend */
+        MessageRepository messages();
+        /** @return The event announcement repository of the backend */
+        EventAnnouncementRepository eventAnnouncements();
+    }
 
     /**
      * Constructor that initializes the service locator with application context.
@@ -32,20 +152,358 @@ public class ServiceLocator {
      * @param context The Android context (will be converted to application context)
      */
     public ServiceLocator(Context context) {
+        this(context, null);
+    }
+
+    /**
+     * Constructor that initializes the service locator on another repository backend.
+     * Every repository is taken from the backend; nothing talks to Firebase.
+     *
+     * @param context The Android context (will be converted to application context)
+     * @param backend The backend the repositories come from, or null for Firestore
+     */
+    public ServiceLocator(Context context, @Nullable Repositories backend) {
         // Stick with the app context to avoid leaks.
-        this.appContext = context.getApplicationContext();
+        this.appContext = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        this.backend = backend;
+    }
+
+    /**
+     * Gets the shared graph of the application a context belongs to.
+     * Used by the Context constructors of services so they join the same graph instead of building their own;
+     * falls back to a fresh graph if the application is not an {@link App} (e.g. a bare test context).
+     *
+     * @param context Any context of the application
+     * @return The application's ServiceLocator
+     */
+    public static ServiceLocator of(Context context) {
+        Context application = context.getApplicationContext();
+        if (application instanceof App) {
+            return ((App) application).locator();
+        }
+        return new ServiceLocator(context);
+    }
+
+    /**
+     * Builds one node of the graph, recording and tracing how long it took.
+     * Time spent building dependencies the factory pulls in is attributed to those dependencies.
+     * Only called with the lock held.
+     */
+    private <T> T build(String node, Supplier<T> factory) {
+        Trace.beginSection(TRACE_TAG + ":" + node);
+        long outerDependencyNanos = dependencyNanos;
+        dependencyNanos = 0;
+        depth++;
+        long start = SystemClock.elapsedRealtimeNanos();
+        try {
+            return factory.get();
+        } finally {
+            long elapsed = SystemClock.elapsedRealtimeNanos() - start;
+            long own = elapsed - dependencyNanos;
+            depth--;
+            dependencyNanos = outerDependencyNanos + elapsed;
+            totalConstructionNanos += own;
+            constructionMicros.put(node, own / 1000);
+            Trace.endSection();
+            StringBuilder line = new StringBuilder();
+            for (int i = 0; i < depth; i++) line.append("  ");
+            Log.d(TRACE_TAG, line.append(node).append(" built in ").append(elapsed / 1000)
+                    .append("us (own ").append(own / 1000).append("us)").toString());
+        }
+    }
+
+    /**
+     * Narrows a repository of the graph to its Firestore implementation, for the few nodes that use
+     * Firestore-only features (snapshot listeners, transactions spanning repositories).
+     */
+    private <T> T firestore(Object repository, Class<T> type) {
+        if (!type.isInstance(repository)) {
+            throw new UnsupportedOperationException(type.getSimpleName() + " is needed, but the graph runs on "
+                    + repository.getClass().getSimpleName());
+        }
+        return type.cast(repository);
+    }
+
+    /**
+     * Gets the construction trace of the graph so far.
+     *
+     * @return Each node built, in build order, with its own construction time in microseconds
+     */
+    public synchronized Map<String, Long> getConstructionTrace() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(constructionMicros));
+    }
+
+    /**
+     * Gets the total time spent constructing the graph so far.
+     *
+     * @return The construction time of every node built, in microseconds
+     */
+    public synchronized long getConstructionMicros() {
+        return totalConstructionNanos / 1000;
+    }
+
+    /**
+     * Logs a summary of the construction trace under {@link #TRACE_TAG}.
+     */
+    public synchronized void logConstructionTrace() {
+        Log.i(TRACE_TAG, "Service graph: " + constructionMicros.size() + " nodes built in "
+                + totalConstructionNanos / 1000 + "us " + constructionMicros);
+    }
+
+    /**
+     * Gets or creates the FireBaseRepository instance (lazy initialization).
+     * Firestore collection references, shared by every repository.
+     *
+     * @return The FireBaseRepository instance
+     */
+    public synchronized FireBaseRepository fireBaseRepository() {
+        if (fireBaseRepository == null) {
+            fireBaseRepository = build("FireBaseRepository", () -> new FireBaseRepository());
+        }
+        return fireBaseRepository;
+    }
+
+    /**
+     * Gets or creates the UserRepository instance (lazy initialization).
+     *
+     * @return The UserRepository instance
+     */
+    public synchronized UserRepository userRepository() {
+        if (userRepository == null) {
+            userRepository = build("UserRepository",
+                    () -> backend != null ? backend.users()
+                            : new FirestoreUserRepository(fireBaseRepository()));
+        }
+        return userRepository;
+    }
+
+    /**
+     * Gets or creates the EventCounterRepository instance (lazy initialization).
+     *
+     * @return The EventCounterRepository instance
+     */
+    public synchronized EventCounterRepository eventCounterRepository() {
+        if (eventCounterRepository == null) {
+            eventCounterRepository = build("EventCounterRepository",
+                    () -> backend != null ? backend.eventCounters()
+                            : new FirestoreEventCounterRepository(fireBaseRepository()));
+        }
+        return eventCounterRepository;
+    }
+
+    /**
+     * Gets or creates the RegistrationHistoryRepository instance (lazy initialization).
+     *
+     * @return The RegistrationHistoryRepository instance
+     */
+    public synchronized RegistrationHistoryRepository registrationHistoryRepository() {
+        if (registrationHistoryRepository == null) {
+            registrationHistoryRepository = build("RegistrationHistoryRepository",
+                    () -> backend != null ? backend.registrationHistories()
+                            : new FirestoreRegistrationHistoryRepository(fireBaseRepository(),
+                                    firestore(eventCounterRepository(), FirestoreEventCounterRepository.class)));
+        }
+        return registrationHistoryRepository;
+    }
+
+    /**
+     * Gets or creates the EventRepository instance (lazy initialization).
+     *
+     * @return The EventRepository instance
+     */
+    public synchronized EventRepository eventRepository() {
+        if (eventRepository == null) {
+            eventRepository = build("EventRepository",
+                    () -> backend != null ? backend.events()
+                            : new FirestoreEventRepository(fireBaseRepository(), registrationHistoryRepository()));
+        }
+        return eventRepository;
+    }
+
+    /**
+     * Gets the UserRepository as its Firestore implementation, for nodes that listen to Firestore directly.
+     *
+     * @return The shared UserRepository instance
+     * @throws UnsupportedOperationException on a backend other than Firestore
+     */
+    synchronized FirestoreUserRepository firestoreUserRepository() {
+        return firestore(userRepository(), FirestoreUserRepository.class);
+    }
+
+    /**
+     * Gets the EventRepository as its Firestore implementation, for nodes that listen to Firestore directly.
+     *
+     * @return The shared EventRepository instance
+     * @throws UnsupportedOperationException on a backend other than Firestore
+     */
+    synchronized FirestoreEventRepository firestoreEventRepository() {
+        return firestore(eventRepository(), FirestoreEventRepository.class);
+    }
+
+    /**
+     * Gets or creates the ImageRepository instance (lazy initialization).
+     *
+     * @return The ImageRepository instance
+     */
+    public synchronized ImageRepository imageRepository() {
+        if (imageRepository == null) {
+            imageRepository = build("ImageRepository",
+                    () -> backend != null ? backend.images()
+                            : new FirestoreImageRepository(fireBaseRepository()));
+        }
+        return imageRepository;
+    }
+
+    /**
+     * Gets or creates the NotificationRepository instance (lazy initialization).
+     *
+     * @return The NotificationRepository instance
+     */
+    public synchronized NotificationRepository notificationRepository() {
+        if (notificationRepository == null) {
+            notificationRepository = build("NotificationRepository",
+                    () -> backend != null ? backend.notifications()
+                            : new FirestoreNotificationRepository(fireBaseRepository()));
+        }
+        return notificationRepository;
+    }
+
+    /**
+     * Gets or creates the NotificationArchiveRepository instance (lazy initialization).
+     *
+     * @return The NotificationArchiveRepository instance
+     */
+    public synchronized NotificationArchiveRepository notificationArchiveRepository() {
+        if (notificationArchiveRepository == null) {
+            notificationArchiveRepository = build("NotificationArchiveRepository",
+                    () -> backend != null ? backend.notificationArchive()
+                            : new FirestoreNotificationArchiveRepository(fireBaseRepository()));
+        }
+        return notificationArchiveRepository;
+    }
+
+    /**
+     * Gets or creates the GeoLocationRepository instance (lazy initialization).
+     *
+     * @return The GeoLocationRepository instance
+     */
+    public synchronized GeoLocationRepository geoLocationRepository() {
+        if (geoLocationRepository == null) {
+            geoLocationRepository = build("GeoLocationRepository",
+                    () -> backend != null ? backend.geoLocations()
+                            : new FirestoreGeoLocationRepository(fireBaseRepository()));
+        }
+        return geoLocationRepository;
+    }
+
+    /**
+     * Gets or creates the QRCodeRepository instance (lazy initialization).
+     *
+     * @return The QRCodeRepository instance
+     */
+    public synchronized QRCodeRepository qrCodeRepository() {
+        if (qrCodeRepository == null) {
+            qrCodeRepository = build("QRCodeRepository",
+                    () -> backend != null ? backend.qrCodes()
+                            : new FirestoreQRCodeRepository(fireBaseRepository()));
+        }
+        return qrCodeRepository;
+    }
+
+    /**
+     * Gets or creates the LotteryResultRepository instance (lazy initialization).
+     *
+     * @return The LotteryResultRepository instance
+     */
+    public synchronized LotteryResultRepository lotteryResultRepository() {
+        if (lotteryResultRepository == null) {
+            lotteryResultRepository = build("LotteryResultRepository",
+                    () -> backend != null ? backend.lotteryResults()
+                            : new FirestoreLotteryResultRepository(fireBaseRepository()));
+        }
+        return lotteryResultRepository;
+    }
+
+    /**
+     * Gets or creates the ChatRepository instance (lazy initialization).
+     *
+     * @return The ChatRepository instance
+     */
+    public synchronized ChatRepository chatRepository() {
+        if (chatRepository == null) {
+            chatRepository = build("ChatRepository",
+                    () -> backend != null ? backend.chats()
+                            : new FirestoreChatRepository(fireBaseRepository()));
+        }
+        return chatRepository;
+    }
+
+    /**
+     * Gets or creates the MessageRepository instance (lazy initialization).
+     *
+     * @return The MessageRepository instance
+     */
+    public synchronized MessageRepository messageRepository() {
+        if (messageRepository == null) {
+            messageRepository = build("MessageRepository",
+                    () -> backend != null ? backend.messages()
+                            : new FirestoreMessageRepository(fireBaseRepository()));
+        }
+        return messageRepository;
+    }
+
+    /**
+     * Gets or creates the EventAnnouncementRepository instance (lazy initialization).
+     *
+     * @return The EventAnnouncementRepository instance
+     */
+    public synchronized EventAnnouncementRepository eventAnnouncementRepository() {
+        if (eventAnnouncementRepository == null) {
+            eventAnnouncementRepository = build("EventAnnouncementRepository",
+                    () -> backend != null ? backend.eventAnnouncements()
+                            : new FirestoreEventAnnouncementRepository(fireBaseRepository()));
+        }
+        return eventAnnouncementRepository;
+    }
+
+    /**
+     * Gets or creates the ProfilesRepository instance (lazy initialization).
+     * Admin-side local profile index.
+     *
+     * @return The ProfilesRepository instance
+     */
+    public synchronized ProfilesRepository profilesRepository() {
+        if (profilesRepository == null) {
+            profilesRepository = build("ProfilesRepository", () -> new ProfilesRepository(appContext));
+        }
+        return profilesRepository;
+    }
+
+    /**
+     * Gets or creates the AdminLogRepository instance (lazy initialization).
+     * Append-only admin audit log; one instance so its lock covers every writer.
+     *
+     * @return The AdminLogRepository instance
+     */
+    public synchronized AdminLogRepository adminLogRepository() {
+        if (adminLogRepository == null) {
+            adminLogRepository = build("AdminLogRepository", () -> new AdminLogRepository(appContext));
+        }
+        return adminLogRepository;
     }
 
     /**
      * Gets or creates the UserService instance (lazy initialization).
-     * UserService instantiates its own repositories internally.
+     * Built once, with its dependencies taken from this graph.
      *
      * @return The UserService instance
      */
     public synchronized UserService userService() {
         if (userService == null) {
-            // UserService instantiates its own repositories internally
-            userService = new UserService(appContext);
+            // Cleanup-only services are provided lazily; EventService also depends on UserService
+            userService = build("UserService", () -> new UserService(appContext, userRepository(),
+                    eventRepository(), deviceIdManager(),
+                    this::eventService, this::registrationHistoryService, this::rosterReconciler));
         }
         return userService;
     }
@@ -59,137 +517,155 @@ public class ServiceLocator {
     public synchronized LoginService loginService() {
         if (loginService == null) {
             // Light wrapper to handle auth checks.
-            loginService = new LoginService(userService());
+            loginService = build("LoginService", () -> new LoginService(userService()));
         }
         return loginService;
     }
 
     /**
      * Gets or creates the AdminService instance (lazy initialization).
-     * AdminService instantiates its own repositories internally.
+     * Built once, with its dependencies taken from this graph.
      *
      * @return The AdminService instance
      */
     public synchronized AdminService adminService() {
         if (adminService == null) {
-            // AdminService instantiates its own repositories internally
-            adminService = new AdminService(appContext);
+            adminService = build("AdminService", () -> new AdminService(eventService(), imageService(),
+                    userService(), notificationService(), registrationHistoryService(), rosterReconciler(),
+                    userRepository(), eventRepository(), imageRepository(), registrationHistoryRepository(),
+                    eventCounterRepository(), adminLogRepository(), deviceIdManager()));
         }
         return adminService;
     }
 
     /**
      * Gets or creates the EventService instance (lazy initialization).
-     * EventService instantiates its own repositories internally.
+     * Built once, with its dependencies taken from this graph.
      *
      * @return The EventService instance
      */
     public synchronized EventService eventService() {
         if (eventService == null) {
-            // EventService instantiates its own repositories internally
-            eventService = new EventService(appContext);
+            eventService = build("EventService",
+                    () -> new EventService(appContext, eventRepository(), notificationService(), userService()));
         }
         return eventService;
     }
 
     /**
      * Gets or creates the ImageService instance (lazy initialization).
-     * ImageService instantiates its own repositories internally.
+     * Built once, with its dependencies taken from this graph.
      *
      * @return The ImageService instance
      */
     public synchronized ImageService imageService() {
         if (imageService == null) {
-            // ImageService instantiates its own repositories internally
-            imageService = new ImageService(appContext);
+            imageService = build("ImageService", () -> new ImageService(imageRepository()));
         }
         return imageService;
     }
 
     /**
      * Gets or creates the NotificationService instance (lazy initialization).
-     * NotificationService instantiates its own repositories internally.
+     * Built once, with its dependencies taken from this graph.
      *
      * @return The NotificationService instance
      */
     public synchronized NotificationService notificationService() {
         if (notificationService == null) {
-            // NotificationService instantiates its own repositories internally
-            notificationService = new NotificationService(appContext);
+            notificationService = build("NotificationService",
+                    // BadgeService needs NotificationService, so it is provided lazily
+                    () -> new NotificationService(appContext, notificationRepository(),
+                            this::userService, this::badgeService));
         }
         return notificationService;
     }
 
     /**
      * Gets or creates the RegistrationHistoryService instance (lazy initialization).
-     * RegistrationHistoryService instantiates its own repositories internally.
+     * Built once, with its dependencies taken from this graph.
      *
      * @return The RegistrationHistoryService instance
      */
     public synchronized RegistrationHistoryService registrationHistoryService() {
         if (registrationHistoryService == null) {
-            // RegistrationHistoryService instantiates its own repositories internally
-            registrationHistoryService = new RegistrationHistoryService(appContext);
+            registrationHistoryService = build("RegistrationHistoryService",
+                    () -> new RegistrationHistoryService(registrationHistoryRepository()));
         }
         return registrationHistoryService;
     }
 
     /**
      * Gets or creates the GeoLocationService instance (lazy initialization).
-     * GeoLocationService instantiates its own repositories internally.
+     * Built once, with its dependencies taken from this graph.
      *
      * @return The GeoLocationService instance
      */
     public synchronized GeoLocationService geoLocationService() {
         if (geoLocationService == null) {
-            // GeoLocationService instantiates its own repositories internally
-            geoLocationService = new GeoLocationService(appContext);
+            geoLocationService = build("GeoLocationService",
+                    () -> new GeoLocationService(geoLocationRepository()));
         }
         return geoLocationService;
     }
 
     /**
      * Gets or creates the LotteryResultService instance (lazy initialization).
-     * LotteryResultService instantiates its own repositories internally.
+     * Built once, with its dependencies taken from this graph.
      *
      * @return The LotteryResultService instance
      */
     public synchronized LotteryResultService lotteryResultService() {
         if (lotteryResultService == null) {
-            // LotteryResultService instantiates its own repositories internally
-            lotteryResultService = new LotteryResultService(appContext);
+            lotteryResultService = build("LotteryResultService", () -> new LotteryResultService(
+                    lotteryResultRepository(), registrationHistoryService(), eventService(),
+                    notificationService(), userService(), chatService(), userRepository()));
         }
         return lotteryResultService;
     }
 
     /**
      * Gets or creates the QRCodeService instance (lazy initialization).
-     * QRCodeService instantiates its own repositories internally.
+     * Built once, with its dependencies taken from this graph.
      *
      * @return The QRCodeService instance
      */
     public synchronized QRCodeService qrCodeService() {
         if (qrCodeService == null) {
-            // QRCodeService instantiates its own repositories internally
-            qrCodeService = new QRCodeService(appContext);
+            qrCodeService = build("QRCodeService", () -> new QRCodeService(qrCodeRepository()));
         }
         return qrCodeService;
     }
 
     /**
      * Gets or creates the ChatService instance (lazy initialization).
-     * ChatService instantiates its own repositories internally.
+     * Built once, with its dependencies taken from this graph.
      *
      * @return The ChatService instance
      */
     public synchronized ChatService chatService() {
         if (chatService == null) {
-            // ChatService instantiates its own repositories internally
-            chatService = new ChatService(appContext);
+            chatService = build("ChatService",
+                    () -> new ChatService(chatRepository(), messageRepository(), userRepository(),
+                            userService(), notificationService()));
         }
         return chatService;
     }
 
+    /**
+     * Gets or creates the BadgeService instance (lazy initialization).
+     * Built once, with its dependencies taken from this graph.
+     *
+     * @return The BadgeService instance
+     */
+    public synchronized BadgeService badgeService() {
+        if (badgeService == null) {
+            badgeService = build("BadgeService", () -> new BadgeService(appContext, notificationService(),
+                    userService(), chatService(), eventAnnouncementService()));
+        }
+        return badgeService;
+    }
+
     /**
      * Gets or creates the DeviceIdManager instance (lazy initialization).
      * DeviceIdManager manages device identity.
@@ -199,11 +675,86 @@ public class ServiceLocator {
     public synchronized DeviceIdManager deviceIdManager() {
         if (deviceIdManager == null) {
             // DeviceIdManager manages device identity
-            deviceIdManager = new DeviceIdManager(appContext);
+            deviceIdManager = build("DeviceIdManager", () -> new DeviceIdManager(appContext));
         }
         return deviceIdManager;
     }
 
+    /**
+     * Gets or creates the NotificationRetentionService instance (lazy initialization).
+     * Built once, with its dependencies taken from this graph.
+     *
+     * @return The NotificationRetentionService instance
+     */
+    public synchronized NotificationRetentionService notificationRetentionService() {
+        if (notificationRetentionService == null) {
+            notificationRetentionService = build("NotificationRetentionService",
+                    () -> new NotificationRetentionService(appContext, notificationRepository(),
+                            notificationArchiveRepository()));
+        }
+        return notificationRetentionService;
+    }
+
+    /**
+     * Gets or creates the EventAnnouncementService instance (lazy initialization).
+     * Built once, with its dependencies taken from this graph.
+     *
+     * @return The EventAnnouncementService instance
+     */
+    public synchronized EventAnnouncementService eventAnnouncementService() {
+        if (eventAnnouncementService == null) {
+            eventAnnouncementService = build("EventAnnouncementService", () -> new EventAnnouncementService(
+                    eventAnnouncementRepository(), registrationHistoryRepository(),
+                    userRepository(), notificationService()));
+        }
+        return eventAnnouncementService;
+    }
+
+    /**
+     * Gets or creates the RosterReconciler instance (lazy initialization).
+     * Built once, with its dependencies taken from this graph.
+     *
+     * @return The RosterReconciler instance
+     */
+    public synchronized RosterReconciler rosterReconciler() {
+        if (rosterReconciler == null) {
+            rosterReconciler = build("RosterReconciler",
+                    () -> new RosterReconciler(appContext, eventRepository(), registrationHistoryRepository()));
+        }
+        return rosterReconciler;
+    }
+
+    /**
+     * Gets or creates the StartupPipeline instance (lazy initialization).
+     * One per process, so the results Splash starts can be taken by MainActivity and Browse.
+     *
+     * @return The StartupPipeline instance
+     */
+    public synchronized StartupPipeline startupPipeline() {
+        if (startupPipeline == null) {
+            startupPipeline = build("StartupPipeline", () -> new StartupPipeline(loginService(), eventService(),
+                    registrationHistoryService(), this::badgeService));
+        }
+        return startupPipeline;
+    }
+
+    /**
+     * Gets or creates the shared AdminDataSnapshot (lazy initialization).
+     * All admin tabs read users, events and organizers from this one live copy.
+     * Needs the Firestore backend, since the copy is kept live by snapshot listeners.
+     *
+     * @return The AdminDataSnapshot instance
+     * @throws UnsupportedOperationException on a backend other than Firestore
+     */
+    public synchronized AdminDataSnapshot adminDataSnapshot() {
+        if (adminDataSnapshot == null) {
+            adminDataSnapshot = build("AdminDataSnapshot",
+                    () -> new AdminDataSnapshot(firestoreUserRepository(), firestoreEventRepository(),
+                            profilesRepository()));
+        }
+        return adminDataSnapshot;
+    }
+
     /**
      * Replaces the UserService instance (useful for tests/mocks).
      *
@@ -0,0 +1,366 @@
+package com.quantiagents.app.Services;
+
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.os.SystemClock;
+import android.os.Trace;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+import com.quantiagents.app.Repository.TaskScheduler;
+import com.quantiagents.app.models.Event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Cold-start pipeline from SplashActivity to the first rendered Browse list.
+ * <p>
+ * Splash starts it as soon as it knows the device id. The current user is resolved, the first page
+ * of the event catalogue (with its waiting list sizes) is loaded and, once the user is known, the
+ * unread counts for the navigation badges are computed - all at the same time instead of one after
+ * another. MainActivity and BrowseEventsFragment take the results instead of reading them again;
+ * Browse loads the rest of the catalogue after drawing the first page.
+ * </p>
+ * <p>
+ * Work that no screen needs to draw (the app icon badge recount, which reads every chat and message,
+ * notification compaction, roster reconciliation) is queued with {@link #runAfterFirstFrame} and only
+ * starts once the first screen reported its first frame. Every step is a trace section and a line in
+ * the startup timeline logged under {@link ServiceLocator#TRACE_TAG}.
+ * </p>
+ */
+public class StartupPipeline {
+
+    /** Events in the cold-start page; about two screens of Browse rows */
+    static final int FIRST_PAGE_SIZE = 20;
+    private static final int REST_PAGE_SIZE = 200;
+
+    /**
+     * Part of the Browse catalogue in event ID order: events and the waiting list sizes from their sharded counters.
+     */
+    public static final class Catalogue {
+        private final List<Event> events;
+        private final Map<String, Long> waitingCounts;
+        private final boolean complete;
+
+        Catalogue(List<Event> events, Map<String, Long> waitingCounts, boolean complete) {
+            this.events = events;
+            this.waitingCounts = waitingCounts;
+            this.complete = complete;
+        }
+
+        /**
+         * @return The events, empty if they could not be read.
+         */
+        public List<Event> getEvents() {
+            return events;
+        }
+
+        /**
+         * @return Map of event ID to waiting list size; events nobody joined yet are absent.
+         */
+        public Map<String, Long> getWaitingCounts() {
+            return waitingCounts;
+        }
+
+        /**
+         * @return Whether no events follow these; otherwise load the rest with {@link #loadCatalogueAfter}.
+         */
+        public boolean isComplete() {
+            return complete;
+        }
+    }
+
+    /**
+     * Unread counts shown on the navigation drawer.
+     */
+    public static final class UnreadCounts {
+        private final int notifications;
+        private final int messages;
+
+        UnreadCounts(int notifications, int messages) {
+            this.notifications = notifications;
+            this.messages = messages;
+        }
+
+        /**
+         * @return The number of unread notifications.
+         */
+        public int getNotifications() {
+            return notifications;
+        }
+
+        /**
+         * @return The number of unread chat messages.
+         */
+        public int getMessages() {
+            return messages;
+        }
+    }
+
+    private final LoginService loginService;
+    private final EventService eventService;
+    private final RegistrationHistoryService registrationHistoryService;
+    // Provided lazily: building it pulls in the chat and announcement services
+    private final Supplier<BadgeService> badgeService;
+    // The first screen waits on this work, so it goes ahead of everything else queued for I/O
+    private final Executor executor = TaskScheduler.getInstance()
+            .executor(TaskScheduler.Pool.IO, TaskScheduler.Priority.HIGH, "StartupPipeline");
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // Guarded by this
+    @Nullable private Task<Catalogue> catalogue;
+    @Nullable private Task<UnreadCounts> unreadCounts;
+    private final List<Runnable> deferred = new ArrayList<>();
+    private final List<String> timeline = new ArrayList<>();
+    private boolean firstFrameReported;
+    private int nextCookie;
+
+    /**
+     * Constructor that injects every dependency.
+     *
+     * @param loginService               The service the device login goes through
+     * @param eventService               The service the catalogue is read from
+     * @param registrationHistoryService The service waiting list sizes are read from
+     * @param badgeService               Lazy provider of the BadgeService, used to count unread items
+     */
+    public StartupPipeline(LoginService loginService, EventService eventService,
+                           RegistrationHistoryService registrationHistoryService,
+                           Supplier<BadgeService> badgeService) {
+        this.loginService = loginService;
+        this.eventService = eventService;
+        this.registrationHistoryService = registrationHistoryService;
+        this.badgeService = badgeService;
+    }
+
+    /**
+     * Starts a cold start: logs the device in while the catalogue loads, and counts unread items as
+     * soon as the user is known. Results of an earlier start that were never taken are dropped.
+     *
+     * @param deviceId The device ID to log in with
+     * @return A task that emits true when the device matched a user (the user is then active in LoginService)
+     */
+    public synchronized Task<Boolean> start(String deviceId) {
+        firstFrameReported = false;
+        timeline.clear();
+        mark("pipeline started");
+
+        TaskCompletionSource<Boolean> loggedIn = new TaskCompletionSource<>();
+        int loginCookie = beginAsync("login");
+        loginService.loginWithDevice(deviceId,
+                success -> {
+                    endAsync("login", loginCookie);
+                    mark(success ? "user resolved" : "no user for device");
+                    loggedIn.setResult(success);
+                },
+                e -> {
+                    endAsync("login", loginCookie);
+                    mark("login failed");
+                    loggedIn.setException(e);
+                });
+        Task<Boolean> login = loggedIn.getTask();
+
+        TaskCompletionSource<Catalogue> loadedCatalogue = new TaskCompletionSource<>();
+        executor.execute(() -> {
+            int cookie = beginAsync("catalogue");
+            try {
+                Catalogue result = loadFirstPage();
+                mark("catalogue page loaded (" + result.getEvents().size() + " events)");
+                loadedCatalogue.setResult(result);
+            } catch (Exception e) {
+                loadedCatalogue.setException(e);
+            } finally {
+                endAsync("catalogue", cookie);
+            }
+        });
+        catalogue = loadedCatalogue.getTask();
+
+        unreadCounts = login.onSuccessTask(executor, success -> {
+            if (!Boolean.TRUE.equals(success) || loginService.getActiveUser() == null) {
+                return Tasks.forException(new IllegalStateException("No user to count unread items for"));
+            }
+            return countUnread(loginService.getActiveUser().getUserId());
+        });
+        return login;
+    }
+
+    /**
+     * Loads the whole Browse catalogue (blocking - must be called from background thread).
+     *
+     * @return Every event with the waiting list sizes of their counters
+     */
+    public Catalogue loadCatalogue() {
+        List<Event> events = eventService.getAllEvents();
+        if (events == null) {
+            events = Collections.emptyList();
+        }
+        return withWaitingCounts(events, true);
+    }
+
+    /**
+     * Loads the first page of the Browse catalogue, which is all a cold start needs to draw
+     * (blocking - must be called from background thread).
+     *
+     * @return Up to {@link #FIRST_PAGE_SIZE} events with the waiting list sizes of their counters
+     */
+    public Catalogue loadFirstPage() {
+        List<Event> events = eventService.getEventsPage(null, FIRST_PAGE_SIZE);
+        return withWaitingCounts(events, events.size() < FIRST_PAGE_SIZE);
+    }
+
+    /**
+     * Loads the rest of the Browse catalogue after a page (blocking - must be called from background thread).
+     *
+     * @param afterEventId ID of the last event already loaded
+     * @return Every later event with the waiting list sizes of their counters
+     */
+    public Catalogue loadCatalogueAfter(String afterEventId) {
+        List<Event> events = new ArrayList<>();
+        String cursor = afterEventId;
+        while (true) {
+            List<Event> page = eventService.getEventsPage(cursor, REST_PAGE_SIZE);
+            events.addAll(page);
+            if (page.size() < REST_PAGE_SIZE) break;
+            cursor = page.get(page.size() - 1).getEventId();
+        }
+        return withWaitingCounts(events, true);
+    }
+
+    private Catalogue withWaitingCounts(List<Event> events, boolean complete) {
+        List<String> ids = new ArrayList<>();
+        for (Event event : events) {
+            if (event.getEventId() != null) ids.add(event.getEventId());
+        }
+        return new Catalogue(events, registrationHistoryService.getWaitingCounts(ids), complete);
+    }
+
+    /**
+     * Takes the catalogue loaded during the cold start. Later loads (e.g. pull to refresh) read it again.
+     *
+     * @return The catalogue task, or null if none was started or it was already taken
+     */
+    @Nullable
+    public synchronized Task<Catalogue> takeCatalogue() {
+        Task<Catalogue> taken = catalogue;
+        catalogue = null;
+        return taken;
+    }
+
+    /**
+     * Takes the unread counts computed for the user resolved during the cold start.
+     *
+     * @return The counts task, or null if none was started or it was already taken
+     */
+    @Nullable
+    public synchronized Task<UnreadCounts> takeUnreadCounts() {
+        Task<UnreadCounts> taken = unreadCounts;
+        unreadCounts = null;
+        return taken;
+    }
+
+    /**
+     * Runs work no screen needs to draw once the first screen has been drawn, or right away if it already was.
+     * The work runs on the main thread and should hand anything slow to a background thread.
+     *
+     * @param work The work to run
+     */
+    public void runAfterFirstFrame(@NonNull Runnable work) {
+        synchronized (this) {
+            if (!firstFrameReported) {
+                deferred.add(work);
+                return;
+            }
+        }
+        mainHandler.post(work);
+    }
+
+    /**
+     * Reports that the first screen drew its content; starts the deferred work and logs the startup timeline.
+     * Only the first report after a {@link #start} counts.
+     *
+     * @param screen Name of the screen that was drawn, for the timeline
+     */
+    public void reportFirstFrame(@NonNull String screen) {
+        List<Runnable> work;
+        synchronized (this) {
+            if (firstFrameReported) {
+                return;
+            }
+            firstFrameReported = true;
+            mark("first frame: " + screen);
+            Log.i(ServiceLocator.TRACE_TAG, "Startup timeline " + timeline);
+            work = new ArrayList<>(deferred);
+            deferred.clear();
+            // Nobody took them by now; don't serve them to a later screen
+            catalogue = null;
+            unreadCounts = null;
+        }
+        for (Runnable runnable : work) {
+            mainHandler.post(runnable);
+        }
+    }
+
+    /**
+     * Adds a step to the startup timeline, timed from process start.
+     *
+     * @param step Description of the step
+     */
+    public synchronized void mark(@NonNull String step) {
+        String line = "+" + (SystemClock.uptimeMillis() - Process.getStartUptimeMillis()) + "ms " + step;
+        timeline.add(line);
+        Log.d(ServiceLocator.TRACE_TAG, line);
+    }
+
+    /**
+     * Gets the steps of the latest startup, timed from process start.
+     *
+     * @return The timeline lines, in order
+     */
+    public synchronized List<String> getTimeline() {
+        return new ArrayList<>(timeline);
+    }
+
+    private Task<UnreadCounts> countUnread(String userId) {
+        BadgeService badges = badgeService.get();
+        int cookie = beginAsync("unread counts");
+        TaskCompletionSource<Integer> notifications = new TaskCompletionSource<>();
+        TaskCompletionSource<Integer> messages = new TaskCompletionSource<>();
+        badges.getUnreadNotificationCount(userId, notifications::setResult);
+        badges.getUnreadMessageCount(userId, messages::setResult);
+        return Tasks.<Integer>whenAllSuccess(notifications.getTask(), messages.getTask())
+                .continueWith(executor, task -> {
+                    endAsync("unread counts", cookie);
+                    mark("unread counts ready");
+                    List<Integer> counts = task.getResult();
+                    return new UnreadCounts(counts.get(0), counts.get(1));
+                });
+    }
+
+    private int beginAsync(String section) {
+        int cookie;
+        synchronized (this) {
+            cookie = nextCookie++;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            Trace.beginAsyncSection(ServiceLocator.TRACE_TAG + ":" + section, cookie);
+        }
+        return cookie;
+    }
+
+    private void endAsync(String section, int cookie) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            Trace.endAsyncSection(ServiceLocator.TRACE_TAG + ":" + section, cookie);
+        }
+    }
+}
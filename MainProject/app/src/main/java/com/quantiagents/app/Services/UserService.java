@@ -8,19 +8,23 @@ import androidx.annotation.Nullable;
 import com.google.android.gms.tasks.OnFailureListener;
 import com.google.android.gms.tasks.OnSuccessListener;
 import com.quantiagents.app.Repository.EventRepository;
-import com.quantiagents.app.Repository.FireBaseRepository;
+import com.quantiagents.app.Repository.TaskScheduler;
 import com.quantiagents.app.Repository.UserRepository;
 import com.quantiagents.app.models.DeviceIdManager;
-import com.quantiagents.app.models.Event;
 import com.quantiagents.app.models.RegistrationHistory;
 import com.quantiagents.app.models.User;
+import com.quantiagents.core.RosterSweep;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
     /**
@@ -30,22 +34,51 @@ import java.util.regex.Pattern;
     public class UserService {
 
     private final UserRepository repository;
+    private final EventRepository eventRepository;
     private final DeviceIdManager deviceIdManager;
     private final Context context;
+    // Only needed to clean up after a deleted user
+    private final Supplier<EventService> eventService;
+    private final Supplier<RegistrationHistoryService> registrationHistoryService;
+    private final Supplier<RosterReconciler> rosterReconciler;
     private final Pattern emailPattern = Pattern.compile("^[A-Z0-9._%+-]+@[A-Z0-9.-]+\\.[A-Z]{2,}$", Pattern.CASE_INSENSITIVE);
 
     /**
-     * Constructor that initializes the UserService with required dependencies.
-     * Instantiates repositories and dependencies internally.
+     * Constructor that initializes the UserService with the dependencies of the application's shared graph.
      *
-     * @param context The Android context used to initialize the DeviceIdManager
+     * @param context The Android context whose application graph supplies the dependencies
      */
     public UserService(Context context) {
-        // Instantiate repositories and dependencies internally
-        FireBaseRepository fireBaseRepository = new FireBaseRepository();
-        this.repository = new UserRepository(fireBaseRepository);
-        this.deviceIdManager = new DeviceIdManager(context);
+        this(context, ServiceLocator.of(context));
+    }
+
+    private UserService(Context context, ServiceLocator graph) {
+        this(context, graph.userRepository(), graph.eventRepository(), graph.deviceIdManager(),
+                graph::eventService, graph::registrationHistoryService, graph::rosterReconciler);
+    }
+
+    /**
+     * Constructor that injects every dependency.
+     *
+     * @param context                    The Android context
+     * @param repository                 The user repository
+     * @param eventRepository            The event repository, used to delete a removed user's events
+     * @param deviceIdManager            The device identity manager
+     * @param eventService               Lazy provider of the EventService, used when cleaning up a user
+     * @param registrationHistoryService Lazy provider of the RegistrationHistoryService, used when cleaning up a user
+     * @param rosterReconciler           Lazy provider of the RosterReconciler, used when cleaning up a user
+     */
+    public UserService(Context context, UserRepository repository, EventRepository eventRepository,
+                       DeviceIdManager deviceIdManager, Supplier<EventService> eventService,
+                       Supplier<RegistrationHistoryService> registrationHistoryService,
+                       Supplier<RosterReconciler> rosterReconciler) {
+        this.repository = repository;
+        this.eventRepository = eventRepository;
+        this.deviceIdManager = deviceIdManager;
         this.context = context;
+        this.eventService = eventService;
+        this.registrationHistoryService = registrationHistoryService;
+        this.rosterReconciler = rosterReconciler;
     }
 
     /**
@@ -303,6 +336,17 @@ import java.util.regex.Pattern;
         );
     }
 
+    /**
+     * Async lookup of the profile a device id is attached to, so a device login needs a single read.
+     *
+     * @param deviceId The device ID to look up
+     * @param onSuccess Callback invoked with the user, or null if no profile has this device ID
+     * @param onFailure Callback invoked if an error occurs while fetching the user
+     */
+    public void getUserByDeviceId(String deviceId, OnSuccessListener<User> onSuccess, OnFailureListener onFailure) {
+        repository.getUserByDeviceId(deviceId, onSuccess, onFailure);
+    }
+
     /**
      * Async getter that backs basically every UI screen needing the active profile.
      * Updated to use efficient query instead of full scan.
@@ -315,6 +359,15 @@ import java.util.regex.Pattern;
         repository.getUserByDeviceId(deviceId, onSuccess, onFailure);
     }
 
+    /**
+     * Future form of {@link #getCurrentUser(OnSuccessListener, OnFailureListener)}, for composing with other reads.
+     *
+     * @return A future with the current user, or null if not found
+     */
+    public CompletableFuture<User> getCurrentUserAsync() {
+        return repository.getUserByDeviceIdAsync(deviceIdManager.ensureDeviceId());
+    }
+
     /**
      * Ensures the stored profile mirrors whatever device id we have right now.
      * If the current user's device ID doesn't match, updates it.
@@ -465,8 +518,8 @@ import java.util.regex.Pattern;
 
     /**
      * Helper method to clean up all events and registration histories associated with a user.
-     * Removes user from all event lists (waiting, selected, confirmed, cancelled),
-     * deletes events created by the user, and deletes all registration histories.
+     * Deletes events created by the user and all of the user's registration histories (which take
+     * them off every event roster), then recounts the roster sizes of the events they were on.
      *
      * @param userId The user ID to clean up
      * @param onComplete Callback invoked when cleanup is complete
@@ -474,91 +527,53 @@ import java.util.regex.Pattern;
      */
     private void cleanupUserEventsAndRegistrations(String userId, Runnable onComplete, @Nullable OnFailureListener onFailure) {
         Log.d("App", "cleanupUserEventsAndRegistrations called for userId: " + userId);
-        EventService eventService = new EventService(context);
-        RegistrationHistoryService registrationHistoryService = new RegistrationHistoryService(context);
-
-        // Get all events
-        Log.d("App", "Calling getAllEvents to fetch events for cleanup");
-        eventService.getAllEvents(
-                events -> {
-                    Log.d("App", "getAllEvents success callback - received " + (events != null ? events.size() : 0) + " events");
-                    if (events == null) {
-                        Log.w("App", "getAllEvents returned null events list");
-                        events = new ArrayList<>();
-                    }
-                    List<Event> eventsToUpdate = new ArrayList<>();
-                    List<String> eventsToDelete = new ArrayList<>();
-
-                    // Process each event
-                    Log.d("App", "Processing " + events.size() + " events for user deletion: " + userId);
-                    for (Event event : events) {
-                        if (event == null || event.getEventId() == null) {
-                            continue;
+        EventService eventService = this.eventService.get();
+        RegistrationHistoryService registrationHistoryService = this.registrationHistoryService.get();
+        RosterReconciler rosterReconciler = this.rosterReconciler.get();
+
+        // The user's registrations are their roster entries; once deleted, recount those events' roster sizes
+        TaskScheduler.getInstance().execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.HIGH, "UserService", () -> {
+            Set<String> registeredEventIds = RosterSweep.registeredEventIds(
+                    registrationHistoryService.getRegistrationHistoriesByUserId(userId));
+            Runnable recountThenComplete = () -> {
+                rosterReconciler.reconcileEventsAsync(registeredEventIds);
+                onComplete.run();
+            };
+
+            // Get all events
+            Log.d("App", "Calling getAllEvents to fetch events for cleanup");
+            eventService.getAllEvents(
+                    events -> {
+                        Log.d("App", "getAllEvents success callback - received " + (events != null ? events.size() : 0) + " events");
+                        if (events == null) {
+                            Log.w("App", "getAllEvents returned null events list");
+                            events = new ArrayList<>();
                         }
-
-                        boolean needsUpdate = false;
-                        String eventId = event.getEventId();
-
-                        // Check if user is the organizer - mark for deletion
                         // Delete all events where event.organizerId == userId
-                        String organizerId = event.getOrganizerId();
-                        if (organizerId != null && organizerId.trim().equals(userId.trim())) {
-                            Log.d("App", "Found event to delete - eventId: " + eventId + ", organizerId: " + organizerId + ", userId: " + userId);
-                            eventsToDelete.add(eventId);
-                            continue; // Skip updating lists for events we're deleting
-                        }
-
-                        // Remove user from waiting list
-                        if (event.getWaitingList() != null && event.getWaitingList().remove(userId)) {
-                            needsUpdate = true;
-                        }
-
-                        // Remove user from selected list
-                        if (event.getSelectedList() != null && event.getSelectedList().remove(userId)) {
-                            needsUpdate = true;
-                        }
-
-                        // Remove user from confirmed list
-                        if (event.getConfirmedList() != null && event.getConfirmedList().remove(userId)) {
-                            needsUpdate = true;
-                        }
-
-                        // Remove user from cancelled list
-                        if (event.getCancelledList() != null && event.getCancelledList().remove(userId)) {
-                            needsUpdate = true;
-                        }
-
-                        // If any list was modified, mark event for update
-                        if (needsUpdate) {
-                            eventsToUpdate.add(event);
-                        }
-                    }
+                        Log.d("App", "Processing " + events.size() + " events for user deletion: " + userId);
+                        List<String> eventsToDelete = RosterSweep.organizedEventIds(userId, events);
+
+                        Log.d("App", "Events to delete: " + eventsToDelete.size());
+                        if (eventsToDelete.isEmpty()) {
+                            // No events to delete, proceed to delete registration histories
+                            Log.d("App", "No events to delete, proceeding to delete registration histories");
+                            deleteAllRegistrationHistories(userId, registrationHistoryService, recountThenComplete, onFailure);
+                        } else {
+                            // Use AtomicInteger to track completion of all async operations
+                            AtomicInteger pendingOps = new AtomicInteger(eventsToDelete.size());
+                            List<Exception> errors = new ArrayList<>();
 
-                    // Update all events that need updating
-                    Log.d("App", "Events to update: " + eventsToUpdate.size() + ", Events to delete: " + eventsToDelete.size());
-                    if (eventsToUpdate.isEmpty() && eventsToDelete.isEmpty()) {
-                        // No events to update or delete, proceed to delete registration histories
-                        Log.d("App", "No events to update or delete, proceeding to delete registration histories");
-                        deleteAllRegistrationHistories(userId, registrationHistoryService, onComplete, onFailure);
-                    } else {
-                        // Use AtomicInteger to track completion of all async operations
-                        AtomicInteger pendingOps = new AtomicInteger(
-                                eventsToUpdate.size() + eventsToDelete.size());
-                        List<Exception> errors = new ArrayList<>();
-
-                        // Delete events created by user FIRST (before updating other events)
-                        if (!eventsToDelete.isEmpty()) {
+                            // Delete events created by user
                             Log.d("App", "Deleting " + eventsToDelete.size() + " events created by user");
                             // Run deletion on background thread to avoid blocking main thread
-                            new Thread(() -> {
+                            TaskScheduler.getInstance().execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.HIGH, "UserService", () -> {
                                 for (String eventId : eventsToDelete) {
                                     // Use repository directly to avoid EventService.getEventById() blocking call
-                                    EventRepository eventRepo = new EventRepository(new FireBaseRepository());
-                                    eventRepo.deleteEventById(eventId,
+                                    eventRepository.deleteEventById(eventId,
                                             aVoid -> {
                                                 Log.d("App", "Successfully deleted event created by user: " + eventId);
                                                 if (pendingOps.decrementAndGet() == 0) {
-                                                    deleteAllRegistrationHistories(userId, registrationHistoryService, onComplete, onFailure);
+                                                    deleteAllRegistrationHistories(userId, registrationHistoryService, recountThenComplete, onFailure);
                                                 }
                                             },
                                             e -> {
@@ -568,49 +583,24 @@ import java.util.regex.Pattern;
                                                     if (!errors.isEmpty() && onFailure != null) {
                                                         onFailure.onFailure(errors.get(0));
                                                     } else {
-                                                        deleteAllRegistrationHistories(userId, registrationHistoryService, onComplete, onFailure);
+                                                        deleteAllRegistrationHistories(userId, registrationHistoryService, recountThenComplete, onFailure);
                                                     }
                                                 }
                                             });
                                 }
-                            }).start();
-                        }
-
-                        // Update events
-                        if (!eventsToUpdate.isEmpty()) {
-                            Log.d("App", "Updating " + eventsToUpdate.size() + " events to remove user from lists");
+                            });
                         }
-                        for (Event event : eventsToUpdate) {
-                            eventService.updateEvent(event,
-                                    aVoid -> {
-                                        Log.d("App", "Removed user from event lists: " + event.getEventId());
-                                        if (pendingOps.decrementAndGet() == 0) {
-                                            deleteAllRegistrationHistories(userId, registrationHistoryService, onComplete, onFailure);
-                                        }
-                                    },
-                                    e -> {
-                                        Log.e("App", "Failed to update event: " + event.getEventId(), e);
-                                        errors.add(e);
-                                        if (pendingOps.decrementAndGet() == 0) {
-                                            if (!errors.isEmpty() && onFailure != null) {
-                                                onFailure.onFailure(errors.get(0));
-                                            } else {
-                                                deleteAllRegistrationHistories(userId, registrationHistoryService, onComplete, onFailure);
-                                            }
-                                        }
-                                    });
+                    },
+                    e -> {
+                        Log.e("App", "Failed to get events for cleanup - getAllEvents failed", e);
+                        if (e != null) {
+                            Log.e("App", "Error details: " + e.getMessage(), e);
                         }
+                        // Even if getting events fails, try to delete registration histories
+                        deleteAllRegistrationHistories(userId, registrationHistoryService, recountThenComplete, onFailure != null ? onFailure : null);
                     }
-                },
-                e -> {
-                    Log.e("App", "Failed to get events for cleanup - getAllEvents failed", e);
-                    if (e != null) {
-                        Log.e("App", "Error details: " + e.getMessage(), e);
-                    }
-                    // Even if getting events fails, try to delete registration histories
-                    deleteAllRegistrationHistories(userId, registrationHistoryService, onComplete, onFailure != null ? onFailure : null);
-                }
-        );
+            );
+        });
     }
 
     /**
@@ -637,7 +627,7 @@ import java.util.regex.Pattern;
                                                  Runnable onComplete,
                                                  @Nullable OnFailureListener onFailure) {
         // Run on background thread to avoid blocking main thread with Tasks.await()
-        new Thread(() -> {
+        TaskScheduler.getInstance().execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.HIGH, "UserService", () -> {
             // Get all registration histories for the user
             List<RegistrationHistory> histories = registrationHistoryService.getRegistrationHistoriesByUserId(userId);
 
@@ -688,7 +678,7 @@ import java.util.regex.Pattern;
                             }
                         });
             }
-        }).start();
+        });
     }
 
     /**
@@ -787,6 +777,16 @@ import java.util.regex.Pattern;
         return repository.getUserById(userId);
     }
 
+    /**
+     * Synchronously gets a set of users with chunked reads instead of one read per user.
+     *
+     * @param userIds The unique identifiers of the users to retrieve
+     * @return The users that were found; IDs that don't exist are left out
+     */
+    public List<User> getUsersByIds(Collection<String> userIds) {
+        return repository.getUsersByIds(userIds);
+    }
+
     /**
      * Asynchronously gets all users from the database.
      *
@@ -808,6 +808,16 @@ import java.util.regex.Pattern;
         repository.getUserById(userId, onSuccess, onFailure);
     }
 
+    /**
+     * Gets a user by their user ID as a future.
+     *
+     * @param userId The unique identifier of the user to retrieve
+     * @return A future with the user object, or null if not found
+     */
+    public CompletableFuture<User> getUserByIdAsync(String userId) {
+        return repository.getUserByIdAsync(userId);
+    }
+
     /**
      * Deletes a user profile by user ID with full cleanup.
      * Removes user from all event lists, deletes events created by the user,
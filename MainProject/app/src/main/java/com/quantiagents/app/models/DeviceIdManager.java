@@ -56,6 +56,16 @@ public class DeviceIdManager {
         return current;
     }
 
+    /**
+     * Pins the device ID to a known value, so a seeded user matches this device.
+     * Only used by builds that run against a local backend (see App#onCreate).
+     *
+     * @param deviceId The device ID to use from now on
+     */
+    public void pin(String deviceId) {
+        preferences.edit().putString(KEY_DEVICE_ID, deviceId).apply();
+    }
+
     /**
      * Fully resets the device ID by removing it from shared preferences.
      * Warning: This should rarely be used, only for full reset scenarios.
@@ -1,10 +1,10 @@
 package com.quantiagents.app.models;
 
 import com.quantiagents.app.Constants.constant;
+import com.quantiagents.core.EventListing;
 
 import java.io.Serializable;
 import java.util.Date;
-import java.util.List;
 
 /**
  * Representation of an event, with getters and setters for each variable.
@@ -13,8 +13,19 @@ import java.util.List;
  * details such as scheduling, registration constraints, organizer information, and
  * the status of the lottery process.
  * </p>
+ * <p>
+ * The rosters themselves are the entrants' registration histories; the document only carries
+ * the sizes of the {@link #STORED_ROSTERS}, so reading an event costs the same however many entrants
+ * it has. The waiting list size is the event's sharded WAITLIST counter, not a field here. Use
+ * {@link #roster} to page through the user IDs of a roster.
+ * </p>
  */
-public class Event implements Serializable {
+public class Event implements Serializable, EventListing {
+
+    /** Registration statuses whose roster size is stored on the event */
+    public static final constant.EventRegistrationStatus[] STORED_ROSTERS = {
+            constant.EventRegistrationStatus.SELECTED, constant.EventRegistrationStatus.CONFIRMED,
+            constant.EventRegistrationStatus.CANCELLED};
 
     private String eventId;
     private String title;
@@ -32,11 +43,12 @@ public class Event implements Serializable {
     private double waitingListLimit;
     private double eventCapacity;
     private boolean isGeoLocationOn;
-    private List<String> waitingList;
-    private List<String> selectedList;
-    private List<String> confirmedList;
-    private List<String> cancelledList;
+    private long selectedCount;
+    private long confirmedCount;
+    private long cancelledCount;
     private boolean isFirstLotteryDone;
+    private long version;
+    private transient Roster.Source rosterSource;
 
     public Event (){ }
 
@@ -299,67 +311,146 @@ public class Event implements Serializable {
     }
 
     /**
-     * Gets the list of User IDs currently in the waiting list.
-     * @return List of User IDs.
+     * Gets the number of users selected via lottery.
+     * @return The selected roster size.
+     */
+    public long getSelectedCount() {
+        return selectedCount;
+    }
+
+    /**
+     * Sets the number of users selected via lottery.
+     * @param selectedCount The selected roster size.
      */
-    public List<String> getWaitingList() {
-        return waitingList;
+    public void setSelectedCount(long selectedCount) {
+        this.selectedCount = selectedCount;
     }
 
     /**
-     * Sets the list of User IDs currently in the waiting list.
-     * @param waitingList List of User IDs.
+     * Gets the number of users who have confirmed their attendance.
+     * @return The confirmed roster size.
      */
-    public void setWaitingList(List<String> waitingList) {
-        this.waitingList = waitingList;
+    public long getConfirmedCount() {
+        return confirmedCount;
     }
 
     /**
-     * Gets the list of User IDs selected via lottery.
-     * @return List of User IDs.
+     * Sets the number of users who have confirmed their attendance.
+     * @param confirmedCount The confirmed roster size.
      */
-    public List<String> getSelectedList() {
-        return selectedList;
+    public void setConfirmedCount(long confirmedCount) {
+        this.confirmedCount = confirmedCount;
     }
 
     /**
-     * Sets the list of User IDs selected via lottery.
-     * @param selectedList List of User IDs.
+     * Gets the number of users who have cancelled or declined.
+     * @return The cancelled roster size.
      */
-    public void setSelectedList(List<String> selectedList) {
-        this.selectedList = selectedList;
+    public long getCancelledCount() {
+        return cancelledCount;
     }
 
     /**
-     * Gets the list of User IDs who have confirmed their attendance.
-     * @return List of User IDs.
+     * Sets the number of users who have cancelled or declined.
+     * @param cancelledCount The cancelled roster size.
      */
-    public List<String> getConfirmedList() {
-        return confirmedList;
+    public void setCancelledCount(long cancelledCount) {
+        this.cancelledCount = cancelledCount;
     }
 
     /**
-     * Sets the list of User IDs who have confirmed their attendance.
-     * @param confirmedList List of User IDs.
+     * Gets the size of the roster of a registration status.
+     * @param status One of the {@link #STORED_ROSTERS}.
+     * @return The roster size.
      */
-    public void setConfirmedList(List<String> confirmedList) {
-        this.confirmedList = confirmedList;
+    public long rosterCount(constant.EventRegistrationStatus status) {
+        switch (status) {
+            case WAITLIST:
+                throw new IllegalArgumentException("The waiting list size is kept in the WAITLIST counter");
+            case SELECTED:
+                return selectedCount;
+            case CONFIRMED:
+                return confirmedCount;
+            default:
+                return cancelledCount;
+        }
     }
 
     /**
-     * Gets the list of User IDs who have cancelled or declined.
-     * @return List of User IDs.
+     * Adds to the size of the roster of a registration status, e.g. once a roster change is written.
+     * @param status One of the {@link #STORED_ROSTERS}.
+     * @param delta  The amount to add (negative to subtract).
      */
-    public List<String> getCancelledList() {
-        return cancelledList;
+    public void adjustRosterCount(constant.EventRegistrationStatus status, long delta) {
+        switch (status) {
+            case WAITLIST:
+                throw new IllegalArgumentException("The waiting list size is kept in the WAITLIST counter");
+            case SELECTED:
+                selectedCount += delta;
+                break;
+            case CONFIRMED:
+                confirmedCount += delta;
+                break;
+            default:
+                cancelledCount += delta;
+                break;
+        }
     }
 
     /**
-     * Sets the list of User IDs who have cancelled or declined.
-     * @param cancelledList List of User IDs.
+     * Copies the details an organizer edits (title, dates, limits, status, poster...) from another copy.
+     * Roster sizes, the lottery flag and the version are left as they are.
+     * @param from The copy to take the details from.
      */
-    public void setCancelledList(List<String> cancelledList) {
-        this.cancelledList = cancelledList;
+    public void copyDetailsFrom(Event from) {
+        setTitle(from.getTitle());
+        setPosterImageId(from.getPosterImageId());
+        setDescription(from.getDescription());
+        setCategory(from.getCategory());
+        setEventStartDate(from.getEventStartDate());
+        setEventEndDate(from.getEventEndDate());
+        setRegistrationStartDate(from.getRegistrationStartDate());
+        setRegistrationEndDate(from.getRegistrationEndDate());
+        setLocation(from.getLocation());
+        setCost(from.getCost());
+        setStatus(from.getStatus());
+        setOrganizerId(from.getOrganizerId());
+        setWaitingListLimit(from.getWaitingListLimit());
+        setEventCapacity(from.getEventCapacity());
+        setGeoLocationOn(from.isGeoLocationOn());
+    }
+
+    /**
+     * Sets where this event's rosters are read from; done by the repository that loaded it.
+     * @param rosterSource The roster source.
+     */
+    public void attachRosterSource(Roster.Source rosterSource) {
+        this.rosterSource = rosterSource;
+    }
+
+    /**
+     * Gets a lazy, paged view of the roster of a registration status.
+     * Nothing is read until a page is requested.
+     * @param status The registration status.
+     * @return The roster view, starting at its first page.
+     * @throws IllegalStateException if the event was not loaded through the event repository.
+     */
+    public Roster roster(constant.EventRegistrationStatus status) {
+        return roster(status, Roster.DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Gets a lazy, paged view of the roster of a registration status.
+     * @param status   The registration status.
+     * @param pageSize The number of user IDs per page.
+     * @return The roster view, starting at its first page.
+     * @throws IllegalStateException if the event was not loaded through the event repository.
+     */
+    public Roster roster(constant.EventRegistrationStatus status, int pageSize) {
+        if (rosterSource == null || eventId == null) {
+            throw new IllegalStateException("Rosters are only available on events loaded from the repository");
+        }
+        return new Roster(rosterSource, eventId, status, pageSize);
     }
 
     /**
@@ -377,4 +468,20 @@ public class Event implements Serializable {
     public void setFirstLotteryDone(boolean firstLotteryDone) {
         isFirstLotteryDone = firstLotteryDone;
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the version of the event document, incremented by every repository write.
+     * @return The version this copy was read at.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the version of the event document.
+     * @param version The version this copy was read at.
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
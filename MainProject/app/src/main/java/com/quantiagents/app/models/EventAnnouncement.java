@@ -0,0 +1,235 @@
+package com.quantiagents.app.models;
+
+import com.quantiagents.app.Constants.constant;
+
+import java.util.Date;
+
+/**
+ * Representation of an event announcement, with getters and setters for each variable
+ * <p>
+ * One announcement is written per broadcast instead of one notification per entrant.
+ * Entrants whose registration for the event matches the audience see it in their
+ * notification center; whether they have read it is tracked per user by read markers.
+ * </p>
+ * Contains:
+ * int: announcement id, String: event id, int: affiliated event id, (EventRegistrationStatus): audience,
+ * (NotificationType): type, int: sender id, String: status, String: details, Date: timestamp
+ */
+public class EventAnnouncement {
+    private int announcementId;
+    private String eventId;
+    private int affiliatedEventId;
+    private constant.EventRegistrationStatus audience;
+    private constant.NotificationType type;
+    private int senderId;
+    private String status;
+    private String details;
+    private Date timestamp;
+
+    /**
+     * Default constructor that initializes an announcement with empty status and details.
+     */
+    public EventAnnouncement() {
+        this.status = "";
+        this.details = "";
+    }
+
+    /**
+     * Constructor that creates an announcement with all required fields.
+     * Timestamp is automatically set to current time.
+     *
+     * @param announcementId The unique identifier for the announcement (0 to auto-generate)
+     * @param eventId The event this announcement is for
+     * @param audience The registration status of the entrants it is addressed to, or null for all entrants
+     * @param type The type of notification shown to entrants
+     * @param senderId The user ID of the sender
+     * @param status The status string shown as the title
+     * @param details Additional details about the announcement
+     */
+    public EventAnnouncement(int announcementId, String eventId, constant.EventRegistrationStatus audience,
+                             constant.NotificationType type, int senderId, String status, String details) {
+        this.announcementId = announcementId;
+        this.eventId = eventId;
+        this.affiliatedEventId = eventId != null ? Math.abs(eventId.hashCode()) : 0;
+        this.audience = audience;
+        this.type = type;
+        this.senderId = senderId;
+        this.status = status != null ? status : "";
+        this.details = details != null ? details : "";
+        this.timestamp = new Date();
+    }
+
+    /**
+     * Builds the notification a given recipient sees for this announcement.
+     *
+     * @param recipientId The hashed user ID of the recipient
+     * @param hasRead Whether the recipient's read marker covers this announcement
+     * @return The notification to display
+     */
+    public Notification toNotification(int recipientId, boolean hasRead) {
+        return new Notification(announcementId, type, recipientId, senderId, affiliatedEventId,
+                status, details, timestamp, hasRead);
+    }
+
+    /**
+     * Gets the unique identifier for this announcement.
+     *
+     * @return The announcement ID
+     */
+    public int getAnnouncementId() {
+        return announcementId;
+    }
+
+    /**
+     * Sets the unique identifier for this announcement.
+     *
+     * @param announcementId The announcement ID to set
+     */
+    public void setAnnouncementId(int announcementId) {
+        this.announcementId = announcementId;
+    }
+
+    /**
+     * Gets the ID of the event this announcement is for.
+     *
+     * @return The event ID
+     */
+    public String getEventId() {
+        return eventId;
+    }
+
+    /**
+     * Sets the ID of the event this announcement is for.
+     *
+     * @param eventId The event ID to set
+     */
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    /**
+     * Gets the hashed event ID, as used by notifications.
+     *
+     * @return The affiliated event ID
+     */
+    public int getAffiliatedEventId() {
+        return affiliatedEventId;
+    }
+
+    /**
+     * Sets the hashed event ID, as used by notifications.
+     *
+     * @param affiliatedEventId The affiliated event ID to set
+     */
+    public void setAffiliatedEventId(int affiliatedEventId) {
+        this.affiliatedEventId = affiliatedEventId;
+    }
+
+    /**
+     * Gets the registration status this announcement is addressed to.
+     *
+     * @return The audience, or null if it is for all entrants
+     */
+    public constant.EventRegistrationStatus getAudience() {
+        return audience;
+    }
+
+    /**
+     * Sets the registration status this announcement is addressed to.
+     *
+     * @param audience The audience to set, or null for all entrants
+     */
+    public void setAudience(constant.EventRegistrationStatus audience) {
+        this.audience = audience;
+    }
+
+    /**
+     * Gets the notification type of this announcement.
+     *
+     * @return The notification type
+     */
+    public constant.NotificationType getType() {
+        return type;
+    }
+
+    /**
+     * Sets the notification type of this announcement.
+     *
+     * @param type The notification type to set
+     */
+    public void setType(constant.NotificationType type) {
+        this.type = type;
+    }
+
+    /**
+     * Gets the user ID of the sender.
+     *
+     * @return The sender's user ID
+     */
+    public int getSenderId() {
+        return senderId;
+    }
+
+    /**
+     * Sets the user ID of the sender.
+     *
+     * @param senderId The sender's user ID to set
+     */
+    public void setSenderId(int senderId) {
+        this.senderId = senderId;
+    }
+
+    /**
+     * Gets the status string of this announcement.
+     *
+     * @return The status string
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * Sets the status string of this announcement.
+     *
+     * @param status The status string to set
+     */
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    /**
+     * Gets the details of this announcement.
+     *
+     * @return The details string
+     */
+    public String getDetails() {
+        return details;
+    }
+
+    /**
+     * Sets the details of this announcement.
+     *
+     * @param details The details string to set
+     */
+    public void setDetails(String details) {
+        this.details = details;
+    }
+
+    /**
+     * Gets the time this announcement was sent.
+     *
+     * @return The timestamp
+     */
+    public Date getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Sets the time this announcement was sent.
+     *
+     * @param timestamp The timestamp to set
+     */
+    public void setTimestamp(Date timestamp) {
+        this.timestamp = timestamp;
+    }
+}
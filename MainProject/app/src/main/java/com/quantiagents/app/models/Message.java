@@ -1,5 +1,7 @@
 package com.quantiagents.app.models;
 
+import com.quantiagents.core.ChatMessage;
+
 import java.io.Serializable;
 import java.util.Date;
 
@@ -10,7 +12,7 @@ import java.util.Date;
  * </p>
  * String: message id, String: chat id, String: sender id, String: sender name, String: text, Date: timestamp
  */
-public class Message implements Serializable {
+public class Message implements Serializable, ChatMessage {
     private String messageId;
     private String chatId;
     private String senderId;
@@ -9,7 +9,8 @@ import java.util.Date;
  * <p>
  * Contains:
  * </p>
- * int: notification id, (NotificationType): type, int: recipient id, int: sender id, int: affiliated event id, Date: timestamp, boolean: has read
+ * int: notification id, (NotificationType): type, int: recipient id, int: sender id, int: affiliated event id, Date: timestamp, boolean: has read,
+ * int: message count (unread messages folded into a coalesced chat notification, 0 otherwise)
  */
 public class Notification {
     private int notificationId;
@@ -21,6 +22,7 @@ public class Notification {
     private String details;
     private Date timestamp;
     private boolean hasRead;
+    private int messageCount;
 
     /**
      * Default constructor that initializes a notification with empty status and details.
@@ -242,4 +244,23 @@ public class Notification {
     public void setDetails(String details) {
         this.details = details != null ? details : "";
     }
+
+    /**
+     * Gets how many unread chat messages this notification stands for.
+     * Only coalesced chat notifications use this; it is 0 for everything else.
+     *
+     * @return The message count
+     */
+    public int getMessageCount() {
+        return messageCount;
+    }
+
+    /**
+     * Sets how many unread chat messages this notification stands for.
+     *
+     * @param messageCount The message count to set
+     */
+    public void setMessageCount(int messageCount) {
+        this.messageCount = messageCount;
+    }
 }
@@ -1,6 +1,7 @@
 package com.quantiagents.app.models;
 
 import com.quantiagents.app.Constants.constant;
+import com.quantiagents.core.Registration;
 
 import java.util.Date;
 
@@ -11,7 +12,7 @@ import java.util.Date;
  * </p>
  * String: event id, String: user id, (EventRegistrationStatus): status, Date: registered at
  */
-public class RegistrationHistory {
+public class RegistrationHistory implements Registration {
 
     private String eventId;
     private String userId;
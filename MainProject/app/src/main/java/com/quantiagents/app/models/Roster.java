@@ -0,0 +1,158 @@
+package com.quantiagents.app.models;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+import com.quantiagents.app.Constants.constant;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Lazy, paged view of one of an event's rosters (the user IDs with a given registration status).
+ * <p>
+ * Nothing is read until a page is requested. Pages are ordered by user ID and each call to
+ * {@link #nextPage()} continues after the last user of the previous page, so a screen can show
+ * the first entrants of a large event without downloading all of them.
+ * </p>
+ */
+public class Roster {
+
+    /** Default number of user IDs per page */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * Reads one page of a roster.
+     */
+    public interface Source {
+        /**
+         * Loads the user IDs of a roster that come after a given user ID.
+         *
+         * @param eventId     The event ID.
+         * @param status      The registration status of the roster.
+         * @param afterUserId The last user ID of the previous page, or null for the first page.
+         * @param limit       The maximum number of user IDs to return.
+         * @return A task with the user IDs, in ascending order.
+         */
+        Task<List<String>> loadPage(@NonNull String eventId, @NonNull constant.EventRegistrationStatus status,
+                                    @Nullable String afterUserId, int limit);
+    }
+
+    private final Source source;
+    private final String eventId;
+    private final constant.EventRegistrationStatus status;
+    private final int pageSize;
+    private String cursor;
+    private boolean exhausted;
+
+    /**
+     * Constructor for a roster view starting at its first page.
+     *
+     * @param source   The source pages are read from.
+     * @param eventId  The event ID.
+     * @param status   The registration status of the roster.
+     * @param pageSize The number of user IDs per page.
+     */
+    public Roster(@NonNull Source source, @NonNull String eventId,
+                  @NonNull constant.EventRegistrationStatus status, int pageSize) {
+        this.source = source;
+        this.eventId = eventId;
+        this.status = status;
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    /**
+     * Gets the registration status of this roster.
+     * @return The status.
+     */
+    public constant.EventRegistrationStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Checks whether another page may exist.
+     * @return False once a page shorter than the page size has been read.
+     */
+    public synchronized boolean hasMore() {
+        return !exhausted;
+    }
+
+    /**
+     * Loads the next page of user IDs.
+     *
+     * @return A task with the next page; empty once the roster is exhausted.
+     */
+    public Task<List<String>> nextPage() {
+        String after;
+        synchronized (this) {
+            if (exhausted) {
+                return Tasks.forResult(Collections.<String>emptyList());
+            }
+            after = cursor;
+        }
+        return source.loadPage(eventId, status, after, pageSize).continueWith(Runnable::run, task -> {
+            List<String> page = task.getResult();
+            synchronized (this) {
+                if (page.size() < pageSize) {
+                    exhausted = true;
+                }
+                if (!page.isEmpty()) {
+                    cursor = page.get(page.size() - 1);
+                }
+            }
+            return page;
+        });
+    }
+
+    /**
+     * Loads every remaining page of the roster.
+     *
+     * @return A task with all remaining user IDs, in ascending order.
+     */
+    public Task<List<String>> loadAll() {
+        TaskCompletionSource<List<String>> result = new TaskCompletionSource<>();
+        loadRemaining(new ArrayList<>(), result);
+        return result.getTask();
+    }
+
+    private void loadRemaining(List<String> collected, TaskCompletionSource<List<String>> result) {
+        nextPage().addOnCompleteListener(Runnable::run, task -> {
+            if (!task.isSuccessful()) {
+                result.setException(task.getException());
+                return;
+            }
+            collected.addAll(task.getResult());
+            if (hasMore()) {
+                loadRemaining(collected, result);
+            } else {
+                result.setResult(collected);
+            }
+        });
+    }
+
+    /**
+     * Loads several rosters in full and merges their user IDs.
+     *
+     * @param rosters The rosters to load.
+     * @return A task with the distinct user IDs of all rosters.
+     */
+    public static Task<Set<String>> union(Roster... rosters) {
+        List<Task<List<String>>> loads = new ArrayList<>(rosters.length);
+        for (Roster roster : rosters) {
+            loads.add(roster.loadAll());
+        }
+        return Tasks.<List<String>>whenAllSuccess(loads).continueWith(Runnable::run, task -> {
+            Set<String> userIds = new LinkedHashSet<>();
+            for (List<String> page : task.getResult()) {
+                userIds.addAll(page);
+            }
+            return userIds;
+        });
+    }
+}
@@ -0,0 +1,95 @@
+package com.quantiagents.app.models;
+
+import androidx.annotation.NonNull;
+
+import com.quantiagents.app.Constants.constant;
+
+/**
+ * The number of entrants on each of an event's rosters, as counted from its registration histories.
+ * <p>
+ * Immutable; a fresh instance is read for every recount.
+ * </p>
+ */
+public class RosterStats {
+
+    private final long waiting;
+    private final long selected;
+    private final long confirmed;
+    private final long cancelled;
+
+    /**
+     * Constructor for a set of roster sizes.
+     *
+     * @param waiting   Entrants on the waiting list.
+     * @param selected  Entrants selected by a lottery draw.
+     * @param confirmed Entrants who confirmed their attendance.
+     * @param cancelled Entrants who cancelled or were cancelled.
+     */
+    public RosterStats(long waiting, long selected, long confirmed, long cancelled) {
+        this.waiting = waiting;
+        this.selected = selected;
+        this.confirmed = confirmed;
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * @return The number of entrants on the waiting list.
+     */
+    public long getWaiting() {
+        return waiting;
+    }
+
+    /**
+     * @return The number of selected entrants.
+     */
+    public long getSelected() {
+        return selected;
+    }
+
+    /**
+     * @return The number of confirmed entrants.
+     */
+    public long getConfirmed() {
+        return confirmed;
+    }
+
+    /**
+     * @return The number of cancelled entrants.
+     */
+    public long getCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Gets the number of entrants taking up a spot (selected or confirmed).
+     * @return The occupied count.
+     */
+    public long getOccupied() {
+        return selected + confirmed;
+    }
+
+    /**
+     * Gets the size of the roster of a registration status.
+     * @param status The registration status.
+     * @return The roster size.
+     */
+    public long get(@NonNull constant.EventRegistrationStatus status) {
+        switch (status) {
+            case WAITLIST:
+                return waiting;
+            case SELECTED:
+                return selected;
+            case CONFIRMED:
+                return confirmed;
+            default:
+                return cancelled;
+        }
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "{waiting=" + waiting + ", selected=" + selected
+                + ", confirmed=" + confirmed + ", cancelled=" + cancelled + "}";
+    }
+}
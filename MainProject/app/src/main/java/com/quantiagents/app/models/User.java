@@ -1,5 +1,6 @@
 package com.quantiagents.app.models;
 import com.quantiagents.app.Constants.constant;
+import com.quantiagents.core.EntrantProfile;
 import java.io.Serializable;
 import java.util.Date;
 
@@ -11,7 +12,7 @@ import java.util.Date;
  * String: user id, String: device id, String: name, String: username, String: email, String: phone, String: password hash, boolean: notifications on, Date: creation, (UserRole): role, RegistrationHistory: history, Date: lastViewedBrowse
  * @see RegistrationHistory
  */
-public class User implements Serializable {
+public class User implements Serializable, EntrantProfile {
 
     private String userId;
     private String deviceId;
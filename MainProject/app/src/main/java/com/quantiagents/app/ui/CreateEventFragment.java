@@ -37,7 +37,6 @@ import com.quantiagents.app.models.User;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
@@ -238,11 +237,10 @@ public class CreateEventFragment extends Fragment {
             event.setGeoLocationOn(geolocationSwitch.isChecked());
             event.setStatus(constant.EventStatus.OPEN);
 
-            // Init lists
-            event.setWaitingList(new ArrayList<>());
-            event.setSelectedList(new ArrayList<>());
-            event.setConfirmedList(new ArrayList<>());
-            event.setCancelledList(new ArrayList<>());
+            // Rosters start empty
+            event.setSelectedCount(0);
+            event.setConfirmedCount(0);
+            event.setCancelledCount(0);
 
             eventService.saveEvent(event,
                     eventId -> {
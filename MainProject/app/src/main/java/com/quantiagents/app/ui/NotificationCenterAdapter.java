@@ -138,6 +138,10 @@ public class NotificationCenterAdapter extends RecyclerView.Adapter<Notification
             if (message == null || message.trim().isEmpty()) {
                 message = getNotificationMessage(notification);
             }
+            if (notification.getMessageCount() > 1) {
+                // Coalesced chat notification standing for several messages
+                message = notification.getMessageCount() + " new messages. Latest from " + message;
+            }
             messageView.setText(message);
 
             // Set event name if available, fallback to Notification status (title)
@@ -18,8 +18,11 @@ import com.google.android.material.badge.BadgeDrawable;
 import com.google.android.material.badge.ExperimentalBadgeUtils;
 import com.quantiagents.app.App;
 import com.quantiagents.app.R;
+import com.quantiagents.app.Repository.TaskScheduler;
 import com.quantiagents.app.Services.BadgeService;
+import com.quantiagents.app.Services.EventAnnouncementService;
 import com.quantiagents.app.Services.EventService;
+import com.quantiagents.app.Services.NotificationRetentionService;
 import com.quantiagents.app.Services.NotificationService;
 import com.quantiagents.app.Services.UserService;
 import com.quantiagents.app.ui.main.MainActivity;
@@ -30,13 +33,11 @@ import com.quantiagents.app.models.User;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Set;
 
 /**
  * Fragment that displays all notifications for the current user.
@@ -46,9 +47,11 @@ import java.util.concurrent.Executors;
 public class NotificationCenterFragment extends Fragment {
 
     private NotificationService notificationService;
+    private NotificationRetentionService retentionService;
+    private EventAnnouncementService announcementService;
     private UserService userService;
     private EventService eventService;
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final TaskScheduler.Scope executor = TaskScheduler.getInstance().scope(this, "NotificationCenterFragment");
 
     private RecyclerView recyclerView;
     private TextView emptyStateTitle;
@@ -57,10 +60,14 @@ public class NotificationCenterFragment extends Fragment {
     private SwipeRefreshLayout swipeRefreshLayout;
     private TextView unreadBadge;
     private View headerView;
+    private TextView archiveToggle;
+    private boolean showingArchive;
 
     private NotificationCenterAdapter adapter;
     private List<Notification> allNotifications = new ArrayList<>();
     private List<Event> allEvents = new ArrayList<>();
+    // Ids of entries in allNotifications that are event announcements rather than own notifications
+    private Set<Integer> announcementIds = new HashSet<>();
     private User currentUser;
 
     /**
@@ -84,6 +91,8 @@ public class NotificationCenterFragment extends Fragment {
 
         App app = (App) requireActivity().getApplication();
         notificationService = app.locator().notificationService();
+        retentionService = app.locator().notificationRetentionService();
+        announcementService = app.locator().eventAnnouncementService();
         userService = app.locator().userService();
         eventService = app.locator().eventService();
 
@@ -95,6 +104,15 @@ public class NotificationCenterFragment extends Fragment {
         swipeRefreshLayout = view.findViewById(R.id.swipe_refresh);
         unreadBadge = view.findViewById(R.id.unread_badge);
         headerView = view.findViewById(R.id.header_view);
+        archiveToggle = view.findViewById(R.id.archive_toggle);
+
+        // Older notifications are compacted into an archive; read it only when asked
+        archiveToggle.setOnClickListener(v -> {
+            showingArchive = !showingArchive;
+            archiveToggle.setText(showingArchive ? R.string.notification_show_recent : R.string.notification_show_archived);
+            swipeRefreshLayout.setRefreshing(true);
+            loadNotifications();
+        });
 
         // Setup RecyclerView
         adapter = new NotificationCenterAdapter(new ArrayList<>(), this::onMarkAsRead);
@@ -127,18 +145,21 @@ public class NotificationCenterFragment extends Fragment {
                         // Convert userId (String) to recipientId (int) for filtering
                         int recipientId = userIdToInt(user.getUserId());
 
-                        // Load notifications for this user
-                        allNotifications = notificationService.getNotificationsByRecipientId(recipientId);
-
-                        // Sort by timestamp (newest first)
-                        Collections.sort(allNotifications, (n1, n2) -> {
-                            Date d1 = n1.getTimestamp();
-                            Date d2 = n2.getTimestamp();
-                            if (d1 == null && d2 == null) return 0;
-                            if (d1 == null) return 1;
-                            if (d2 == null) return -1;
-                            return d2.compareTo(d1); // Descending order
-                        });
+                        // Load notifications for this user, already newest first
+                        if (showingArchive) {
+                            allNotifications = retentionService.getArchivedNotifications(recipientId);
+                            announcementIds = new HashSet<>();
+                        } else {
+                            // Broadcasts to the user's events live once per event, merge them in
+                            List<Notification> own = notificationService.getNotificationsByRecipientId(recipientId);
+                            List<Notification> announcements = announcementService.getAnnouncementsForUser(user);
+                            Set<Integer> ids = new HashSet<>();
+                            for (Notification announcement : announcements) {
+                                ids.add(announcement.getNotificationId());
+                            }
+                            announcementIds = ids;
+                            allNotifications = mergeNewestFirst(own, announcements);
+                        }
 
                         // Update UI on main thread
                         if (isAdded()) {
@@ -183,7 +204,7 @@ public class NotificationCenterFragment extends Fragment {
         }
 
         // Update app icon badge
-        BadgeService badgeService = new BadgeService(requireContext());
+        BadgeService badgeService = ((App) requireActivity().getApplication()).locator().badgeService();
         badgeService.updateBadgeCount();
         
         // Update navigation menu badges
@@ -193,6 +214,36 @@ public class NotificationCenterFragment extends Fragment {
     }
 
     private void onMarkAsRead(Notification notification) {
+        if (showingArchive) {
+            // Archived entries no longer have a document to update
+            return;
+        }
+        if (announcementIds.contains(notification.getNotificationId())) {
+            if (currentUser == null) return;
+            announcementService.markAnnouncementAsRead(
+                    currentUser.getUserId(),
+                    notification,
+                    aVoid -> {
+                        // The read marker covers every earlier announcement of the same event
+                        Date readUpTo = notification.getTimestamp();
+                        for (Notification other : allNotifications) {
+                            if (announcementIds.contains(other.getNotificationId())
+                                    && other.getAffiliatedEventId() == notification.getAffiliatedEventId()
+                                    && other.getTimestamp() != null
+                                    && !other.getTimestamp().after(readUpTo)) {
+                                other.setHasRead(true);
+                            }
+                        }
+                        if (isAdded()) updateUI();
+                    },
+                    e -> {
+                        if (isAdded()) {
+                            Toast.makeText(requireContext(), "Failed to mark notification as read", Toast.LENGTH_SHORT).show();
+                        }
+                    }
+            );
+            return;
+        }
         notificationService.markNotificationAsRead(
                 notification.getNotificationId(),
                 aVoid -> {
@@ -201,7 +252,7 @@ public class NotificationCenterFragment extends Fragment {
                     updateUI();
                     
                     // Update app icon badge
-                    BadgeService badgeService = new BadgeService(requireContext());
+                    BadgeService badgeService = ((App) requireActivity().getApplication()).locator().badgeService();
                     badgeService.updateBadgeCount();
                     
                     // Update navigation menu badges
@@ -215,6 +266,24 @@ public class NotificationCenterFragment extends Fragment {
         );
     }
 
+    /**
+     * Merges two lists that are each sorted newest first into one list sorted newest first.
+     */
+    private static List<Notification> mergeNewestFirst(List<Notification> a, List<Notification> b) {
+        List<Notification> merged = new ArrayList<>(a.size() + b.size());
+        int i = 0;
+        int j = 0;
+        while (i < a.size() && j < b.size()) {
+            Date d1 = a.get(i).getTimestamp();
+            Date d2 = b.get(j).getTimestamp();
+            boolean takeA = d2 == null || (d1 != null && !d1.before(d2));
+            merged.add(takeA ? a.get(i++) : b.get(j++));
+        }
+        while (i < a.size()) merged.add(a.get(i++));
+        while (j < b.size()) merged.add(b.get(j++));
+        return merged;
+    }
+
     /**
      * Converts userId (String) to recipientId (int) for notification filtering.
      * Uses hashCode to convert, ensuring positive value.
@@ -243,10 +312,5 @@ public class NotificationCenterFragment extends Fragment {
         Toast.makeText(requireContext(), message, Toast.LENGTH_SHORT).show();
     }
 
-    @Override
-    public void onDestroy() {
-        super.onDestroy();
-        executor.shutdown();
-    }
 }
 
@@ -35,6 +35,7 @@ import com.google.mlkit.vision.barcode.common.Barcode;
 import com.google.mlkit.vision.common.InputImage;
 import com.quantiagents.app.App;
 import com.quantiagents.app.R;
+import com.quantiagents.app.Repository.TaskScheduler;
 import com.quantiagents.app.Services.EventService;
 import com.quantiagents.app.Services.QRCodeService;
 import com.quantiagents.app.Services.ServiceLocator;
@@ -53,6 +54,7 @@ public class ScanQRCodeFragment extends Fragment {
 
     private EventService eventService;
     private QRCodeService qrCodeService;
+    private final TaskScheduler.Scope io = TaskScheduler.getInstance().scope(this, "ScanQRCodeFragment");
 
     // Views
     private PreviewView previewView;
@@ -183,6 +185,8 @@ public class ScanQRCodeFragment extends Fragment {
 
     private void startCamera() {
         if (cameraExecutor == null) {
+            // Kept off TaskScheduler: the analyzer gets a frame every few milliseconds for as long as the
+            // preview is open, which would hold a shared I/O or CPU thread and flood its metrics
             cameraExecutor = Executors.newSingleThreadExecutor();
         }
 
@@ -320,7 +324,7 @@ public class ScanQRCodeFragment extends Fragment {
 
     private void findEventByQRCode(String qrCodeValue) {
         // Find QR code by value, then get the event
-        new Thread(() -> {
+        io.execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.HIGH, () -> {
             try {
                 // Get all QR codes and find matching one
                 List<QRCode> allQRCodes = qrCodeService.getAllQRCodes();
@@ -357,7 +361,7 @@ public class ScanQRCodeFragment extends Fragment {
                     });
                 }
             }
-        }).start();
+        });
     }
 
     private void onEventFound(String eventId) {
@@ -380,7 +384,7 @@ public class ScanQRCodeFragment extends Fragment {
                     }
 
                     // Load QR codes for each event
-                    new Thread(() -> {
+                    io.execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.LOW, () -> {
                         List<QRQuickAccessAdapter.EventQRPair> pairs = new ArrayList<>();
                         for (Event event : events) {
                             if (event == null || TextUtils.isEmpty(event.getEventId())) continue;
@@ -404,7 +408,7 @@ public class ScanQRCodeFragment extends Fragment {
                                 }
                             });
                         }
-                    }).start();
+                    });
                 },
                 e -> {
                     // Error loading events - just hide quick access
@@ -29,6 +29,8 @@ import com.google.android.material.card.MaterialCardView;
 import com.quantiagents.app.App;
 import com.quantiagents.app.Constants.constant;
 import com.quantiagents.app.R;
+import com.quantiagents.app.Repository.Futures;
+import com.quantiagents.app.Repository.TaskScheduler;
 import com.quantiagents.app.Services.AdminService;
 import com.quantiagents.app.Services.EventService;
 import com.quantiagents.app.Services.GeoLocationService;
@@ -44,6 +46,7 @@ import com.quantiagents.app.models.Image;
 import com.quantiagents.app.models.Notification;
 import com.quantiagents.app.models.QRCode;
 import com.quantiagents.app.models.RegistrationHistory;
+import com.quantiagents.app.models.RosterStats;
 import com.quantiagents.app.models.User;
 
 import java.text.DateFormat;
@@ -53,8 +56,8 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import android.Manifest;
 import android.content.pm.PackageManager;
@@ -77,8 +80,9 @@ public class ViewEventDetailsFragment extends Fragment {
 
     private static final String ARG_EVENT_ID = "event_id";
     private static final double RANDOM_OFFSET_RANGE = 0.02; // ~2km jitter for mock geolocation
+    private static final long LOAD_TIMEOUT_SECONDS = 20;
 
-    private final ExecutorService io = Executors.newSingleThreadExecutor();
+    private final TaskScheduler.Scope io = TaskScheduler.getInstance().scope(this, "ViewEventDetailsFragment");
     private final DateFormat dateFormat = new SimpleDateFormat("MMM d, yyyy", Locale.getDefault());
     private final NumberFormat currencyFormat = NumberFormat.getCurrencyInstance(Locale.getDefault());
 
@@ -127,7 +131,7 @@ public class ViewEventDetailsFragment extends Fragment {
     private User currentUser;
     private User organizerUser;
     private RegistrationHistory currentEntry;
-    private List<RegistrationHistory> waitingEntries = new ArrayList<>();
+    private long waitingCount;
     private FusedLocationProviderClient fusedLocationClient;
     private ActivityResultLauncher<String[]> locationPermissionLauncher;
     private Location pendingJoinLocation;
@@ -253,12 +257,6 @@ public class ViewEventDetailsFragment extends Fragment {
         buttonDeleteEvent.setOnClickListener(v -> showDeleteEventConfirmation());
     }
 
-    @Override
-    public void onDestroy() {
-        super.onDestroy();
-        io.shutdownNow();
-    }
-
     private void handleBackNavigation() {
         if (!isAdded()) {
             return;
@@ -268,62 +266,47 @@ public class ViewEventDetailsFragment extends Fragment {
 
     private void loadContent() {
         setLoading(true);
-        io.execute(() -> {
-            Event event = null;
-            User organizer = null;
-            User activeUser = null;
-            RegistrationHistory userEntry = null;
-            List<RegistrationHistory> histories = new ArrayList<>();
-            List<QRCode> qrCodes = new ArrayList<>();
-
-            try {
-                event = eventService.getEventById(eventId);
-                if (event != null) {
-                    if (!TextUtils.isEmpty(event.getOrganizerId())) {
-                        organizer = userService.getUserById(event.getOrganizerId());
-                    }
-                    activeUser = userService.getCurrentUser();
-                    histories = registrationHistoryService.getRegistrationHistoriesByEventId(eventId);
-                    if (activeUser != null && !TextUtils.isEmpty(activeUser.getUserId())) {
-                        userEntry = registrationHistoryService.getRegistrationHistoryByEventIdAndUserId(eventId, activeUser.getUserId());
-                        if (userEntry == null) {
-                            userEntry = findEntryByUser(histories, activeUser.getUserId());
-                        }
-                    }
-                    qrCodes = qrCodeService.getQRCodesByEventId(eventId);
-                }
-            } catch (Exception e) {
-                final String message = e.getMessage();
-                if (!isAdded()) {
-                    return;
-                }
-                requireActivity().runOnUiThread(() -> {
-                    setLoading(false);
-                    showError(message == null ? getString(R.string.view_event_error_message) : message);
-                });
+        // Reads that don't depend on each other run in parallel: only the organizer waits for the
+        // event, and the user's registration for the current user
+        CompletableFuture<Event> eventRead = eventService.getEventByIdAsync(eventId);
+        CompletableFuture<User> userRead = userService.getCurrentUserAsync();
+        CompletableFuture<User> organizerRead = eventRead.thenCompose(event ->
+                event == null || TextUtils.isEmpty(event.getOrganizerId())
+                        ? CompletableFuture.completedFuture(null)
+                        : userService.getUserByIdAsync(event.getOrganizerId()));
+        CompletableFuture<RegistrationHistory> entryRead = userRead.thenCompose(user ->
+                user == null || TextUtils.isEmpty(user.getUserId())
+                        ? CompletableFuture.completedFuture(null)
+                        : registrationHistoryService.getRegistrationHistoryByEventIdAndUserIdAsync(eventId, user.getUserId()));
+        CompletableFuture<Long> waitingRead = CompletableFuture.supplyAsync(() -> {
+            // count() aggregation (cached briefly) instead of reading every registration of the event
+            RosterStats stats = registrationHistoryService.getRosterStats(eventId);
+            return stats != null ? stats.getWaiting() : registrationHistoryService.getWaitingCount(eventId);
+        }, io.executor(TaskScheduler.Pool.IO, TaskScheduler.Priority.HIGH));
+        CompletableFuture<List<QRCode>> qrRead = qrCodeService.getQRCodesByEventIdAsync(eventId);
+
+        CompletableFuture<Void> all = CompletableFuture.allOf(organizerRead, entryRead, waitingRead, qrRead);
+        Futures.deliver(Futures.withTimeout(all, LOAD_TIMEOUT_SECONDS, TimeUnit.SECONDS), ignored -> {
+            if (!isAdded()) {
                 return;
             }
-
-            final Event loadedEvent = event;
-            final User loadedOrganizer = organizer;
-            final User loadedUser = activeUser;
-            final RegistrationHistory loadedEntry = userEntry;
-            final List<RegistrationHistory> loadedHistories = histories;
-            final String loadedQr = (!qrCodes.isEmpty() ? qrCodes.get(0).getQrCodeValue() : null);
-
+            List<QRCode> qrCodes = qrRead.join();
+            String loadedQr = (qrCodes != null && !qrCodes.isEmpty() ? qrCodes.get(0).getQrCodeValue() : null);
+            bindData(eventRead.join(), organizerRead.join(), userRead.join(), waitingRead.join(), entryRead.join(),
+                    loadedQr);
+        }, e -> {
             if (!isAdded()) {
                 return;
             }
-
-            requireActivity().runOnUiThread(() ->
-                    bindData(loadedEvent, loadedOrganizer, loadedUser, loadedHistories, loadedEntry, loadedQr));
+            setLoading(false);
+            showError(e.getMessage() == null ? getString(R.string.view_event_error_message) : e.getMessage());
         });
     }
 
     private void bindData(@Nullable Event event,
                           @Nullable User organizer,
                           @Nullable User user,
-                          @NonNull List<RegistrationHistory> histories,
+                          long waitingCount,
                           @Nullable RegistrationHistory entry,
                           @Nullable String qrValue) {
         setLoading(false);
@@ -337,7 +320,7 @@ public class ViewEventDetailsFragment extends Fragment {
         this.organizerUser = organizer;
         this.currentUser = user;
         this.currentEntry = entry;
-        this.waitingEntries = histories;
+        this.waitingCount = waitingCount;
         this.qrCodeValue = qrValue;
         setActionEnabled(true);
 
@@ -395,8 +378,7 @@ public class ViewEventDetailsFragment extends Fragment {
         }
 
         // Waiting list count
-        int waitingCount = countWaiting(histories);
-        textWaitingListCount.setText(getString(R.string.view_event_waiting_list_count, waitingCount));
+        textWaitingListCount.setText(getString(R.string.view_event_waiting_list_count, (int) waitingCount));
 
         // Poster Button Visibility
         if (event.getPosterImageId() != null && !event.getPosterImageId().isEmpty()) {
@@ -446,7 +428,7 @@ public class ViewEventDetailsFragment extends Fragment {
         }
     }
 
-    private void updateActionButtons(int waitingCount) {
+    private void updateActionButtons(long waitingCount) {
         boolean registrationOpen = isRegistrationOpen(currentEvent);
         boolean hasEntry = currentEntry != null;
         constant.EventRegistrationStatus status = hasEntry ? normalizeStatus(currentEntry.getEventRegistrationStatus()) : null;
@@ -538,7 +520,6 @@ public class ViewEventDetailsFragment extends Fragment {
             return;
         }
 
-        int waitingCount = countWaiting(waitingEntries);
         double waitLimit = currentEvent.getWaitingListLimit();
         if (waitLimit > 0 && waitingCount >= waitLimit) {
             Toast.makeText(getContext(), R.string.view_event_toast_waitlist_full, Toast.LENGTH_SHORT).show();
@@ -597,14 +578,9 @@ public class ViewEventDetailsFragment extends Fragment {
                         return;
                     }
 
-        registrationHistoryService.saveRegistrationHistory(history,
+        // Hot path: only the registration history and a counter shard are written
+        registrationHistoryService.joinWaitlist(currentEvent, history,
                 aVoid -> {
-                    if (currentEvent.getWaitingList() == null) currentEvent.setWaitingList(new ArrayList<>());
-                    if (!currentEvent.getWaitingList().contains(currentUser.getUserId())) {
-                        currentEvent.getWaitingList().add(currentUser.getUserId());
-                        eventService.updateEvent(currentEvent, v -> {}, e -> Log.e("ViewEvent", "Failed to sync waiting list", e));
-                    }
-
                     // Save real geo only if required and location available
                     if (eventRequiresLocation() && pendingJoinLocation != null) {
                         handleGeoLocationJoin(pendingJoinLocation);
@@ -623,7 +599,12 @@ public class ViewEventDetailsFragment extends Fragment {
                     if (!isAdded()) return;
                     requireActivity().runOnUiThread(() -> {
                         setActionEnabled(true);
-                        Toast.makeText(getContext(), R.string.view_event_toast_join_failure, Toast.LENGTH_LONG).show();
+                        if (e instanceof IllegalStateException) {
+                            // Waiting list filled up or already registered
+                            Toast.makeText(getContext(), e.getMessage(), Toast.LENGTH_LONG).show();
+                        } else {
+                            Toast.makeText(getContext(), R.string.view_event_toast_join_failure, Toast.LENGTH_LONG).show();
+                        }
                     });
                 });
     }
@@ -683,14 +664,8 @@ public class ViewEventDetailsFragment extends Fragment {
             return;
         }
         setActionEnabled(false);
-        registrationHistoryService.deleteRegistrationHistory(currentEvent.getEventId(), currentUser.getUserId(),
+        registrationHistoryService.leaveWaitlist(currentEvent.getEventId(), currentUser.getUserId(),
                 aVoid -> {
-                    // Fix: Sync Event waiting list remove
-                    if (currentEvent.getWaitingList() != null && currentEvent.getWaitingList().contains(currentUser.getUserId())) {
-                        currentEvent.getWaitingList().remove(currentUser.getUserId());
-                        eventService.updateEvent(currentEvent, v -> {}, e -> Log.e("ViewEvent", "Failed to sync waiting list remove", e));
-                    }
-
                     if (!isAdded()) return;
                     if (currentEvent.isGeoLocationOn() && geoLocationService != null) {
                         geoLocationService.deleteGeoLocation(currentUser.getUserId(), currentEvent.getEventId(),
@@ -807,17 +782,6 @@ public class ViewEventDetailsFragment extends Fragment {
         return !now.before(start) && !now.after(end);
     }
 
-    private int countWaiting(@NonNull List<RegistrationHistory> histories) {
-        int count = 0;
-        for (RegistrationHistory history : histories) {
-            if (history == null) continue;
-            if (normalizeStatus(history.getEventRegistrationStatus()) == constant.EventRegistrationStatus.WAITLIST) {
-                count++;
-            }
-        }
-        return count;
-    }
-
     private constant.EventRegistrationStatus normalizeStatus(@Nullable Object status) {
         if (status instanceof constant.EventRegistrationStatus) {
             return (constant.EventRegistrationStatus) status;
@@ -838,17 +802,6 @@ public class ViewEventDetailsFragment extends Fragment {
         }
     }
 
-    @Nullable
-    private RegistrationHistory findEntryByUser(@NonNull List<RegistrationHistory> histories, @NonNull String userId) {
-        for (RegistrationHistory history : histories) {
-            if (history == null) continue;
-            if (userId.equals(history.getUserId())) {
-                return history;
-            }
-        }
-        return null;
-    }
-
     private GeoLocation generateMockLocation(@NonNull String userId, @NonNull String eventId) {
         double baseLat = 53.5461;
         double baseLng = -113.4938;
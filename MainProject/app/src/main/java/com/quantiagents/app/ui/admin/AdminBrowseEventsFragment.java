@@ -75,6 +75,9 @@ public class AdminBrowseEventsFragment extends Fragment {
         );
         recyclerView.setAdapter(adapter);
 
+        // Multi-select: long-press cards, then delete them in one bulk call
+        adapter.getSelection().bindActionBar(view, adapter, this::confirmBulkDelete);
+
         // Search setup
         searchInput = view.findViewById(R.id.input_search);
         if (searchInput != null) {
@@ -121,4 +124,23 @@ public class AdminBrowseEventsFragment extends Fragment {
                 .setNegativeButton("Delete", (dialog, which) -> viewModel.deleteEvent(event))
                 .show();
     }
-}
\ No newline at end of file
+
+    /**
+     * Asks for confirmation, then deletes every selected event in one bulk call.
+     */
+    private void confirmBulkDelete() {
+        AdminSelection selection = adapter.getSelection();
+        int count = selection.size();
+        if (count == 0) return;
+        new AlertDialog.Builder(requireContext())
+                .setTitle(getString(R.string.admin_bulk_confirm_title, count))
+                .setMessage(R.string.admin_bulk_confirm_body)
+                .setPositiveButton(R.string.delete_profile_confirm, (dialog, which) -> {
+                    viewModel.deleteEvents(selection.getSelectedIds());
+                    selection.clear();
+                    adapter.notifyDataSetChanged();
+                })
+                .setNegativeButton(R.string.admin_bulk_clear, null)
+                .show();
+    }
+}
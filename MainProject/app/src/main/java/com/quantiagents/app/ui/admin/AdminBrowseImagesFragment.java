@@ -12,6 +12,7 @@ import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.appcompat.app.AlertDialog;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
@@ -68,6 +69,9 @@ public class AdminBrowseImagesFragment extends Fragment {
         });
         recyclerView.setAdapter(adapter);
 
+        // Multi-select: long-press images, then delete them in one bulk call
+        adapter.getSelection().bindActionBar(view, adapter, this::confirmBulkDelete);
+
         EditText searchInput = view.findViewById(R.id.input_search); // Changed to EditText and updated ID to match XML
         if (searchInput != null) {
             searchInput.setHint("Search Images..."); // Set dynamic hint for images
@@ -104,4 +108,23 @@ public class AdminBrowseImagesFragment extends Fragment {
 
         viewModel.loadImages();
     }
-}
\ No newline at end of file
+
+    /**
+     * Asks for confirmation, then deletes every selected image in one bulk call.
+     */
+    private void confirmBulkDelete() {
+        AdminSelection selection = adapter.getSelection();
+        int count = selection.size();
+        if (count == 0) return;
+        new AlertDialog.Builder(requireContext())
+                .setTitle(getString(R.string.admin_bulk_confirm_title, count))
+                .setMessage(R.string.admin_bulk_confirm_body)
+                .setPositiveButton(R.string.delete_profile_confirm, (dialog, which) -> {
+                    viewModel.deleteImages(selection.getSelectedIds());
+                    selection.clear();
+                    adapter.notifyDataSetChanged();
+                })
+                .setNegativeButton(R.string.admin_bulk_clear, null)
+                .show();
+    }
+}
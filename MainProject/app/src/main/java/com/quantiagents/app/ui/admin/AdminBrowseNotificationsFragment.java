@@ -16,7 +16,10 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.quantiagents.app.R;
+import com.quantiagents.app.models.Notification;
 import com.quantiagents.app.ui.admin.viewmodel.AdminEventsViewModel;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Fragment that displays all notifications for admin viewing.
@@ -61,13 +64,27 @@ public class AdminBrowseNotificationsFragment extends Fragment {
         RecyclerView recyclerView = view.findViewById(R.id.admin_recycler_view);
         recyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
 
-        adapter = new NotificationAdapter(new java.util.ArrayList<>());
+        List<Notification> items = new ArrayList<>();
+        adapter = new NotificationAdapter(items);
         recyclerView.setAdapter(adapter);
 
+        // Notifications are paged; fetch the next page near the bottom
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView rv, int dx, int dy) {
+                LinearLayoutManager lm = (LinearLayoutManager) rv.getLayoutManager();
+                if (dy > 0 && lm != null && lm.findLastVisibleItemPosition() >= adapter.getItemCount() - 5) {
+                    viewModel.loadMoreNotifications();
+                }
+            }
+        });
+
         viewModel.getNotifications().observe(getViewLifecycleOwner(), list -> {
             if (list != null) {
-                adapter = new NotificationAdapter(list);
-                recyclerView.setAdapter(adapter);
+                // Keep the same adapter so the scroll position survives each appended page
+                items.clear();
+                items.addAll(list);
+                adapter.notifyDataSetChanged();
             }
         });
 
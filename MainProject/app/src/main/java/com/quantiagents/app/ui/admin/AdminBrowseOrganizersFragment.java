@@ -97,6 +97,7 @@ public class AdminBrowseOrganizersFragment extends Fragment {
                 .setMessage("Name: " + profile.getName() + "\n" +
                         "Email: " + profile.getEmail() + "\n" +
                         "Username: " + profile.getUsername() + "\n" +
+                        "Events: " + viewModel.getOrganizerEventCount(profile.getUserId()) + "\n" +
                         "User ID: " + profile.getUserId())
                 .setPositiveButton("Close", null)
                 .setNegativeButton("Delete", (dialog, which) -> viewModel.deleteProfile(profile))
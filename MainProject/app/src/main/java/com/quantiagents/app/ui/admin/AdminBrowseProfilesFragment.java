@@ -66,6 +66,20 @@ public class AdminBrowseProfilesFragment extends Fragment {
         );
         recyclerView.setAdapter(adapter);
 
+        // Profiles are paged from the local store; fetch the next page near the bottom
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView rv, int dx, int dy) {
+                LinearLayoutManager lm = (LinearLayoutManager) rv.getLayoutManager();
+                if (dy > 0 && lm != null && lm.findLastVisibleItemPosition() >= adapter.getItemCount() - 10) {
+                    viewModel.loadMoreProfiles();
+                }
+            }
+        });
+
+        // Multi-select: long-press rows, then delete them in one bulk call
+        adapter.getSelection().bindActionBar(view, adapter, this::confirmBulkDelete);
+
         searchInput = view.findViewById(R.id.input_search);
         if (searchInput != null) {
             searchInput.addTextChangedListener(new TextWatcher() {
@@ -110,4 +124,23 @@ public class AdminBrowseProfilesFragment extends Fragment {
                 .setNegativeButton("Delete", (dialog, which) -> viewModel.deleteProfile(profile))
                 .show();
     }
-}
\ No newline at end of file
+
+    /**
+     * Asks for confirmation, then deletes every selected profile in one bulk call.
+     */
+    private void confirmBulkDelete() {
+        AdminSelection selection = adapter.getSelection();
+        int count = selection.size();
+        if (count == 0) return;
+        new AlertDialog.Builder(requireContext())
+                .setTitle(getString(R.string.admin_bulk_confirm_title, count))
+                .setMessage(R.string.admin_bulk_confirm_body)
+                .setPositiveButton(R.string.delete_profile_confirm, (dialog, which) -> {
+                    viewModel.deleteProfiles(selection.getSelectedIds());
+                    selection.clear();
+                    adapter.notifyDataSetChanged();
+                })
+                .setNegativeButton(R.string.admin_bulk_clear, null)
+                .show();
+    }
+}
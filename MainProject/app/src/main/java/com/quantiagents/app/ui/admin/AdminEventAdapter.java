@@ -25,6 +25,7 @@ public class AdminEventAdapter extends ListAdapter<Event, AdminEventAdapter.Even
 
     private final OnEventDeleteListener deleteListener;
     private final OnEventViewListener viewListener;
+    private final AdminSelection selection;
 
     public interface OnEventDeleteListener {
         void onDelete(Event event);
@@ -38,9 +39,31 @@ public class AdminEventAdapter extends ListAdapter<Event, AdminEventAdapter.Even
     }
 
     public AdminEventAdapter(OnEventDeleteListener deleteListener, OnEventViewListener viewListener) {
+        this(deleteListener, viewListener, new AdminSelection());
+    }
+
+    /**
+     * Constructor that also wires multi-select; long-press a card to start selecting.
+     *
+     * @param deleteListener The listener for single delete actions
+     * @param viewListener The listener for view actions
+     * @param selection The shared selection state for bulk actions
+     */
+    public AdminEventAdapter(OnEventDeleteListener deleteListener, OnEventViewListener viewListener,
+                             AdminSelection selection) {
         super(new EventDiffCallback());
         this.deleteListener = deleteListener;
         this.viewListener = viewListener;
+        this.selection = selection;
+    }
+
+    /**
+     * Gets the selection state backing multi-select.
+     *
+     * @return The selection state
+     */
+    public AdminSelection getSelection() {
+        return selection;
     }
 
     @NonNull
@@ -56,6 +79,18 @@ public class AdminEventAdapter extends ListAdapter<Event, AdminEventAdapter.Even
     public void onBindViewHolder(@NonNull EventViewHolder holder, int position) {
         Event event = getItem(position);
         holder.bind(event, deleteListener, viewListener);
+        AdminSelection.applyHighlight(holder.itemView, selection.isSelected(event.getEventId()));
+        holder.itemView.setOnLongClickListener(v -> {
+            selection.toggle(event.getEventId());
+            notifyItemChanged(holder.getAdapterPosition());
+            return true;
+        });
+        holder.itemView.setOnClickListener(v -> {
+            if (selection.isActive()) {
+                selection.toggle(event.getEventId());
+                notifyItemChanged(holder.getAdapterPosition());
+            }
+        });
     }
 
     static class EventViewHolder extends RecyclerView.ViewHolder {
@@ -26,6 +26,7 @@ public class AdminImageAdapter extends RecyclerView.Adapter<AdminImageAdapter.Im
 
     private List<Image> images = new ArrayList<>();
     private final OnDeleteClickListener listener;
+    private final AdminSelection selection;
 
     /**
      * Interface for handling image deletion.
@@ -45,7 +46,27 @@ public class AdminImageAdapter extends RecyclerView.Adapter<AdminImageAdapter.Im
      * @param listener The callback interface for handling image deletion
      */
     public AdminImageAdapter(OnDeleteClickListener listener) {
+        this(listener, new AdminSelection());
+    }
+
+    /**
+     * Constructor that also wires multi-select; long-press an image to start selecting.
+     *
+     * @param listener The callback interface for handling single image deletion
+     * @param selection The shared selection state for bulk actions
+     */
+    public AdminImageAdapter(OnDeleteClickListener listener, AdminSelection selection) {
         this.listener = listener;
+        this.selection = selection;
+    }
+
+    /**
+     * Gets the selection state backing multi-select.
+     *
+     * @return The selection state
+     */
+    public AdminSelection getSelection() {
+        return selection;
     }
 
     /**
@@ -68,7 +89,20 @@ public class AdminImageAdapter extends RecyclerView.Adapter<AdminImageAdapter.Im
 
     @Override
     public void onBindViewHolder(@NonNull ImageViewHolder holder, int position) {
-        holder.bind(images.get(position), listener);
+        Image image = images.get(position);
+        holder.bind(image, listener);
+        AdminSelection.applyHighlight(holder.itemView, selection.isSelected(image.getImageId()));
+        holder.itemView.setOnLongClickListener(v -> {
+            selection.toggle(image.getImageId());
+            notifyItemChanged(holder.getAdapterPosition());
+            return true;
+        });
+        holder.itemView.setOnClickListener(v -> {
+            if (selection.isActive()) {
+                selection.toggle(image.getImageId());
+                notifyItemChanged(holder.getAdapterPosition());
+            }
+        });
     }
 
     @Override
@@ -24,6 +24,7 @@ public class AdminProfileAdapter extends ListAdapter<UserSummary, AdminProfileAd
 
     private final OnProfileDeleteListener deleteListener;
     private final OnItemClickListener itemClickListener;
+    private final AdminSelection selection;
 
     /**
      * Interface for handling profile deletion.
@@ -56,9 +57,31 @@ public class AdminProfileAdapter extends ListAdapter<UserSummary, AdminProfileAd
      * @param itemClickListener The callback interface for handling item clicks
      */
     public AdminProfileAdapter(OnProfileDeleteListener deleteListener, OnItemClickListener itemClickListener) {
+        this(deleteListener, itemClickListener, new AdminSelection());
+    }
+
+    /**
+     * Constructor that also wires multi-select; long-press a row to start selecting.
+     *
+     * @param deleteListener The callback interface for handling single profile deletion
+     * @param itemClickListener The callback interface for handling item clicks
+     * @param selection The shared selection state for bulk actions
+     */
+    public AdminProfileAdapter(OnProfileDeleteListener deleteListener, OnItemClickListener itemClickListener,
+                               AdminSelection selection) {
         super(new ProfileDiffCallback());
         this.deleteListener = deleteListener;
         this.itemClickListener = itemClickListener;
+        this.selection = selection;
+    }
+
+    /**
+     * Gets the selection state backing multi-select.
+     *
+     * @return The selection state
+     */
+    public AdminSelection getSelection() {
+        return selection;
     }
 
     @NonNull
@@ -73,6 +96,20 @@ public class AdminProfileAdapter extends ListAdapter<UserSummary, AdminProfileAd
     public void onBindViewHolder(@NonNull ProfileViewHolder holder, int position) {
         UserSummary profile = getItem(position);
         holder.bind(profile, deleteListener, itemClickListener);
+        AdminSelection.applyHighlight(holder.itemView, selection.isSelected(profile.getUserId()));
+        holder.itemView.setOnLongClickListener(v -> {
+            selection.toggle(profile.getUserId());
+            notifyItemChanged(holder.getAdapterPosition());
+            return true;
+        });
+        holder.itemView.setOnClickListener(v -> {
+            if (selection.isActive()) {
+                selection.toggle(profile.getUserId());
+                notifyItemChanged(holder.getAdapterPosition());
+            } else {
+                itemClickListener.onItemClick(profile);
+            }
+        });
     }
 
     static class ProfileViewHolder extends RecyclerView.ViewHolder {
@@ -0,0 +1,166 @@
+package com.quantiagents.app.ui.admin;
+
+import android.graphics.Color;
+import android.view.View;
+import android.widget.TextView;
+
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.google.android.material.card.MaterialCardView;
+import com.quantiagents.app.R;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tracks which rows are selected in an admin browse list.
+ * Long-pressing a row starts selection mode; while it is active, taps toggle rows
+ * instead of opening them. Shared by the event, profile and image adapters.
+ */
+public class AdminSelection {
+
+    /**
+     * Interface for reacting to selection changes (e.g. showing the bulk action bar).
+     */
+    public interface OnSelectionChangedListener {
+        /**
+         * Called whenever a row is selected or deselected, or the selection is cleared.
+         *
+         * @param count The number of selected rows
+         */
+        void onSelectionChanged(int count);
+    }
+
+    private final Set<String> selectedIds = new LinkedHashSet<>();
+    @Nullable
+    private OnSelectionChangedListener listener;
+
+    /**
+     * Sets the listener notified on every selection change.
+     *
+     * @param listener The listener, or null to remove it
+     */
+    public void setOnSelectionChangedListener(@Nullable OnSelectionChangedListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Checks whether selection mode is active (at least one row selected).
+     *
+     * @return True if any row is selected
+     */
+    public boolean isActive() {
+        return !selectedIds.isEmpty();
+    }
+
+    /**
+     * Checks whether a row is selected.
+     *
+     * @param id The row's item ID
+     * @return True if the row is selected
+     */
+    public boolean isSelected(String id) {
+        return id != null && selectedIds.contains(id);
+    }
+
+    /**
+     * Selects or deselects a row.
+     *
+     * @param id The row's item ID
+     */
+    public void toggle(String id) {
+        if (id == null) return;
+        if (!selectedIds.remove(id)) {
+            selectedIds.add(id);
+        }
+        notifyChanged();
+    }
+
+    /**
+     * Drops selected IDs that are no longer in the displayed list.
+     *
+     * @param visibleIds The IDs currently shown
+     */
+    public void retainAll(Set<String> visibleIds) {
+        if (selectedIds.retainAll(visibleIds)) {
+            notifyChanged();
+        }
+    }
+
+    /**
+     * Clears the selection and leaves selection mode.
+     */
+    public void clear() {
+        if (selectedIds.isEmpty()) return;
+        selectedIds.clear();
+        notifyChanged();
+    }
+
+    /**
+     * Gets the number of selected rows.
+     *
+     * @return The selection size
+     */
+    public int size() {
+        return selectedIds.size();
+    }
+
+    /**
+     * Gets the selected IDs in the order they were selected.
+     *
+     * @return A copy of the selected IDs
+     */
+    public List<String> getSelectedIds() {
+        return new ArrayList<>(selectedIds);
+    }
+
+    private void notifyChanged() {
+        if (listener != null) {
+            listener.onSelectionChanged(selectedIds.size());
+        }
+    }
+
+    /**
+     * Wires the included admin_bulk_action_bar layout to this selection.
+     * The bar is shown while rows are selected; cancel clears the selection.
+     *
+     * @param root The fragment view containing the bar
+     * @param adapter The adapter to refresh when the selection is cleared
+     * @param onDeleteRequested Invoked when the admin taps "Delete selected"
+     */
+    public void bindActionBar(View root, RecyclerView.Adapter<?> adapter, Runnable onDeleteRequested) {
+        View bar = root.findViewById(R.id.admin_bulk_bar);
+        TextView countView = root.findViewById(R.id.admin_bulk_count);
+        if (bar == null) return;
+        setOnSelectionChangedListener(count -> {
+            bar.setVisibility(count > 0 ? View.VISIBLE : View.GONE);
+            countView.setText(root.getContext().getString(R.string.admin_bulk_selected, count));
+        });
+        root.findViewById(R.id.admin_bulk_clear).setOnClickListener(v -> {
+            clear();
+            adapter.notifyDataSetChanged();
+        });
+        root.findViewById(R.id.admin_bulk_delete).setOnClickListener(v -> onDeleteRequested.run());
+    }
+
+    /**
+     * Highlights or un-highlights a row to reflect its selection state.
+     *
+     * @param itemView The row view
+     * @param selected Whether the row is selected
+     */
+    public static void applyHighlight(View itemView, boolean selected) {
+        int tint = ContextCompat.getColor(itemView.getContext(), R.color.buttonBoxBlue);
+        if (itemView instanceof MaterialCardView) {
+            int surface = ContextCompat.getColor(itemView.getContext(), R.color.colorSurface);
+            ((MaterialCardView) itemView).setCardBackgroundColor(selected ? tint : surface);
+        } else {
+            itemView.setBackgroundColor(selected ? tint : Color.TRANSPARENT);
+        }
+        itemView.setActivated(selected);
+    }
+}
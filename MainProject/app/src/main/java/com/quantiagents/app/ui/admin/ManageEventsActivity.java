@@ -16,8 +16,6 @@ import com.quantiagents.app.models.Event;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * Activity for managing events as an admin.
@@ -30,7 +28,6 @@ public class ManageEventsActivity extends AppCompatActivity {
     private final List<Event> eventList = new ArrayList<>();
     private ProgressBar progressBar;
     private View rootView;
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
 
     /**
      * Initializes the activity and sets up the event list with delete functionality.
@@ -114,12 +111,6 @@ public class ManageEventsActivity extends AppCompatActivity {
         );
     }
 
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        executor.shutdown();
-    }
-
     @Override
     public boolean onSupportNavigateUp() {
         onBackPressed();
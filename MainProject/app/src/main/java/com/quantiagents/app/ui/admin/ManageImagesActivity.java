@@ -11,13 +11,12 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.google.android.material.snackbar.Snackbar;
 import com.quantiagents.app.App;
 import com.quantiagents.app.R;
+import com.quantiagents.app.Repository.TaskScheduler;
 import com.quantiagents.app.Services.AdminService;
 import com.quantiagents.app.models.Image;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * Activity for managing images as an admin.
@@ -30,7 +29,7 @@ public class ManageImagesActivity extends AppCompatActivity {
     private final List<Image> imageList = new ArrayList<>();
     private ProgressBar progressBar;
     private View rootView;
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final TaskScheduler.Scope executor = TaskScheduler.getInstance().scope(this, "ManageImagesActivity");
 
     /**
      * Initializes the activity and sets up the image list with delete functionality.
@@ -114,9 +113,4 @@ public class ManageImagesActivity extends AppCompatActivity {
         return true;
     }
 
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        executor.shutdown();
-    }
 }
\ No newline at end of file
@@ -9,7 +9,10 @@ import androidx.appcompat.widget.Toolbar;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.quantiagents.app.App;
+import androidx.annotation.NonNull;
 import com.quantiagents.app.R;
+import com.quantiagents.app.Repository.NotificationRepository;
+import com.quantiagents.app.Repository.TaskScheduler;
 import com.quantiagents.app.Services.NotificationService;
 import com.quantiagents.app.models.Notification;
 import java.util.ArrayList;
@@ -21,11 +24,18 @@ import java.util.List;
  */
 public class ManageNotificationsActivity extends AppCompatActivity {
 
+    private static final int PAGE_SIZE = 30;
+
     private NotificationService notificationService;
     private NotificationAdapter adapter;
     private List<Notification> notificationList = new ArrayList<>();
     private ProgressBar progressBar;
     private View rootView;
+    private final TaskScheduler.Scope io = TaskScheduler.getInstance().scope(this, "ManageNotificationsActivity");
+    // Paging state, only touched on the UI thread
+    private Object cursor;
+    private boolean hasMore = true;
+    private boolean loading;
 
     /**
      * Initializes the activity and sets up the notification list.
@@ -54,28 +64,44 @@ public class ManageNotificationsActivity extends AppCompatActivity {
         adapter = new NotificationAdapter(notificationList);
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
         recyclerView.setAdapter(adapter);
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView rv, int dx, int dy) {
+                LinearLayoutManager lm = (LinearLayoutManager) rv.getLayoutManager();
+                if (dy > 0 && lm != null && lm.findLastVisibleItemPosition() >= adapter.getItemCount() - 5) {
+                    loadNotifications();
+                }
+            }
+        });
 
         loadNotifications();
     }
 
     /**
-     * Loads all notifications from the database and updates the adapter.
+     * Loads the next page of notifications (newest first) and appends it to the adapter.
      */
     private void loadNotifications() {
+        if (loading || !hasMore) return;
+        loading = true;
         progressBar.setVisibility(View.VISIBLE);
+        Object startAfter = cursor;
 
-        new Thread(() -> {
-            List<Notification> list = notificationService.getAllNotifications();
+        io.execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.NORMAL, () -> {
+            NotificationRepository.NotificationPage page =
+                    notificationService.getNotificationsPage(null, null, null, startAfter, PAGE_SIZE);
             runOnUiThread(() -> {
+                loading = false;
                 progressBar.setVisibility(View.GONE);
-                notificationList.clear();
-                if(list != null) notificationList.addAll(list);
-                adapter.notifyDataSetChanged();
+                int start = notificationList.size();
+                notificationList.addAll(page.getNotifications());
+                adapter.notifyItemRangeInserted(start, page.getNotifications().size());
+                if (page.getCursor() != null) cursor = page.getCursor();
+                hasMore = page.hasMore();
                 if (notificationList.isEmpty()) {
                     Toast.makeText(this, "No notifications.", Toast.LENGTH_SHORT).show();
                 }
             });
-        }).start();
+        });
     }
 
     @Override
@@ -9,19 +9,24 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
 import com.quantiagents.app.App;
+import com.quantiagents.app.Repository.NotificationRepository;
+import com.quantiagents.app.Repository.TaskScheduler;
+import com.quantiagents.app.Services.AdminDataSnapshot;
 import com.quantiagents.app.Services.AdminService;
 import com.quantiagents.app.models.Event;
 import com.quantiagents.app.models.Image;
-import com.quantiagents.app.models.User;
 import com.quantiagents.app.models.UserSummary;
 import com.quantiagents.app.Services.NotificationService;
 import com.quantiagents.app.models.Notification;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
 /**
  * ViewModel for admin management screens that handles events, profiles, images, and notifications.
@@ -31,12 +36,24 @@ public class AdminEventsViewModel extends AndroidViewModel {
 
     private final AdminService adminService;
     private final NotificationService notificationService;
+    private final AdminDataSnapshot dataSnapshot;
 
-    // Master lists to support Search functionality
-    private List<Event> masterEventList = new ArrayList<>();
-    private List<UserSummary> masterOrganizerList = new ArrayList<>();
-    private List<UserSummary> masterProfileList = new ArrayList<>();
-    private List<Image> masterImageList = new ArrayList<>();
+    // Which snapshot-backed tabs this ViewModel has loaded
+    private volatile boolean showEvents;
+    private volatile boolean showProfiles;
+    private volatile boolean showOrganizers;
+    private boolean subscribed;
+
+    /** Keystrokes closer together than this only trigger one search */
+    private static final long SEARCH_DEBOUNCE_MS = 150;
+    private static final int PROFILE_PAGE_SIZE = 50;
+    private static final int NOTIFICATION_PAGE_SIZE = 30;
+
+    // Index builds, searches and deletions all run on the search executor, in order, off the main thread.
+    // Submit through runSearch/scheduleSearch: the scope is cancelled in onCleared()
+    private final TaskScheduler.Scope searchScope = TaskScheduler.getInstance().scope("AdminEventsViewModel");
+    private final Executor searchExecutor =
+            searchScope.serialExecutor(TaskScheduler.Pool.IO, TaskScheduler.Priority.NORMAL);
 
     private final MutableLiveData<List<Event>> events = new MutableLiveData<>();
     
@@ -48,6 +65,12 @@ public class AdminEventsViewModel extends AndroidViewModel {
     public LiveData<List<Event>> getEvents() { return events; }
 
     private final MutableLiveData<List<UserSummary>> profiles = new MutableLiveData<>();
+
+    // Profiles are paged from the local store rather than indexed in memory (search executor only)
+    private final List<UserSummary> loadedProfiles = new ArrayList<>();
+    private volatile String profileQuery = "";
+    private boolean moreProfiles;
+    private TaskScheduler.Cancellable pendingProfileSearch;
     
     /**
      * Gets the profiles LiveData.
@@ -79,6 +102,11 @@ public class AdminEventsViewModel extends AndroidViewModel {
      */
     public LiveData<List<Notification>> getNotifications() { return notifications; }
 
+    // Notification paging state (search executor only)
+    private final List<Notification> loadedNotifications = new ArrayList<>();
+    private Object notificationCursor;
+    private boolean moreNotifications;
+
     private final MutableLiveData<String> toastMessage = new MutableLiveData<>();
     
     /**
@@ -88,6 +116,14 @@ public class AdminEventsViewModel extends AndroidViewModel {
      */
     public LiveData<String> getToastMessage() { return toastMessage; }
 
+    // In-memory search indexes for the smaller tabs; profiles page from the local store instead
+    private final SearchTab<Event> eventSearch = new SearchTab<Event>(events, Event::getEventId,
+            Arrays.asList(Event::getTitle, Event::getEventId), new float[]{3f, 1f});
+    private final SearchTab<UserSummary> organizerSearch = new SearchTab<UserSummary>(organizers, UserSummary::getUserId,
+            Arrays.asList(UserSummary::getName, UserSummary::getUsername, UserSummary::getEmail), new float[]{3f, 2f, 2f});
+    private final SearchTab<Image> imageSearch = new SearchTab<Image>(images, Image::getImageId,
+            Arrays.asList(Image::getImageId, Image::getEventId), new float[]{2f, 1f});
+
     /**
      * Constructor that initializes the ViewModel with required services.
      *
@@ -98,23 +134,50 @@ public class AdminEventsViewModel extends AndroidViewModel {
         App app = (App) application;
         this.adminService = app.locator().adminService();
         this.notificationService = app.locator().notificationService();
+        this.dataSnapshot = app.locator().adminDataSnapshot();
+    }
+
+    private final AdminDataSnapshot.Listener snapshotListener = new AdminDataSnapshot.Listener() {
+        @Override
+        public void onSnapshotChanged(AdminDataSnapshot snapshot, boolean usersChanged, boolean eventsChanged) {
+            if (searchScope.isCancelled()) return;
+            if (showEvents && eventsChanged) {
+                eventSearch.load(snapshot.getEvents());
+            }
+            if (showProfiles && usersChanged) {
+                runSearch(() -> reloadProfiles());
+            }
+            if (showOrganizers && snapshot.isUsersLoaded() && snapshot.isEventsLoaded()) {
+                organizerSearch.load(snapshot.getOrganizers());
+            }
+        }
+
+        @Override
+        public void onSnapshotError(Exception e) {
+            Log.e("AdminVM", "Error loading admin data", e);
+            toastMessage.postValue("Error loading data: " + e.getMessage());
+        }
+    };
+
+    /**
+     * Starts receiving the shared admin snapshot; the current data is delivered straight away.
+     */
+    private synchronized void subscribeToSnapshot() {
+        if (subscribed) {
+            dataSnapshot.unsubscribe(snapshotListener);
+        }
+        // (Re)subscribing replays the current state for the tab that just asked for it
+        dataSnapshot.subscribe(snapshotListener);
+        subscribed = true;
     }
 
     // --- EVENTS ---
     /**
-     * Loads all events from the database.
+     * Loads all events from the shared admin snapshot and keeps them live.
      */
     public void loadEvents() {
-        adminService.getAllEvents(
-                eventList -> {
-                    masterEventList = new ArrayList<>(eventList);
-                    events.postValue(eventList);
-                },
-                e -> {
-                    Log.e("AdminVM", "Error loading events", e);
-                    toastMessage.postValue("Error loading events: " + e.getMessage());
-                }
-        );
+        showEvents = true;
+        subscribeToSnapshot();
     }
 
     /**
@@ -126,7 +189,7 @@ public class AdminEventsViewModel extends AndroidViewModel {
         adminService.removeEvent(event.getEventId(), true, "Admin deletion",
                 aVoid -> {
                     toastMessage.postValue("Event deleted");
-                    loadEvents();
+                    eventSearch.remove(Arrays.asList(event.getEventId()));
                 },
                 e -> {
                     Log.e("AdminVM", "Error deleting event", e);
@@ -136,81 +199,57 @@ public class AdminEventsViewModel extends AndroidViewModel {
     }
 
     /**
-     * Searches events by title or ID.
+     * Deletes several events as one merged cascade.
+     *
+     * @param eventIds The IDs of the events to delete
+     */
+    public void deleteEvents(List<String> eventIds) {
+        adminService.removeEvents(eventIds, true, "Admin bulk deletion",
+                removed -> {
+                    toastMessage.postValue(removed + " events deleted");
+                    eventSearch.remove(eventIds);
+                },
+                e -> {
+                    Log.e("AdminVM", "Error deleting events", e);
+                    toastMessage.postValue("Error: " + e.getMessage());
+                }
+        );
+    }
+
+    /**
+     * Searches events by title or ID. Debounced; results are posted to {@link #getEvents()}.
      *
      * @param query The search query string
      */
     public void searchEvents(String query) {
-        if (query == null || query.trim().isEmpty()) {
-            events.setValue(new ArrayList<>(masterEventList));
-            return;
-        }
-        String q = query.toLowerCase();
-        List<Event> filtered = masterEventList.stream()
-                .filter(e -> (e.getTitle() != null && e.getTitle().toLowerCase().contains(q)) ||
-                        (e.getEventId() != null && e.getEventId().toLowerCase().contains(q)))
-                .collect(Collectors.toList());
-        events.setValue(filtered);
+        eventSearch.search(query);
     }
 
     // --- PROFILES ---
     /**
-     * Loads all user profiles from the database.
+     * Loads all user profiles from the shared admin snapshot and keeps them live.
      */
     public void loadProfiles() {
-        adminService.listAllProfiles(
-                userList -> {
-                    List<UserSummary> summaryList = new ArrayList<>();
-                    if (userList != null) {
-                        for (User user : userList) {
-
-                            summaryList.add(new UserSummary(user.getUserId(),
-                                    user.getName(),
-                                    user.getUsername(),
-                                    user.getEmail()));
-                        }
-                    }
-                    masterProfileList = new ArrayList<>(summaryList);
-                    profiles.postValue(summaryList);
-                },
-                e -> {
-                    Log.e("AdminVM", "Error loading profiles", e);
-                    toastMessage.postValue("Error loading profiles: " + e.getMessage());
-                }
-        );
+        showProfiles = true;
+        subscribeToSnapshot();
     }
 
-    // ADDED: Logic to load ONLY Organizers
+    /**
+     * Loads the users who organize at least one event, derived from the shared admin snapshot.
+     */
     public void loadOrganizers() {
-        // 1. Get all Events to find organizer IDs
-        adminService.getAllEvents(
-                allEvents -> {
-                    Set<String> organizerIds = new HashSet<>();
-                    if (allEvents != null) {
-                        for (Event e : allEvents) {
-                            if (e.getOrganizerId() != null) organizerIds.add(e.getOrganizerId());
-                        }
-                    }
-
-                    // 2. Get all Users and filter
-                    adminService.listAllProfiles(
-                            allUsers -> {
-                                List<UserSummary> orgSummaries = new ArrayList<>();
-                                if (allUsers != null) {
-                                    for (User user : allUsers) {
-                                        if (organizerIds.contains(user.getUserId())) {
-                                            orgSummaries.add(new UserSummary(user.getUserId(), user.getName(), user.getUsername(), user.getEmail()));
-                                        }
-                                    }
-                                }
-                                masterOrganizerList = new ArrayList<>(orgSummaries);
-                                organizers.postValue(orgSummaries);
-                            },
-                            e -> toastMessage.postValue("Error loading organizers: " + e.getMessage())
-                    );
-                },
-                e -> toastMessage.postValue("Error checking events for organizers")
-        );
+        showOrganizers = true;
+        subscribeToSnapshot();
+    }
+
+    /**
+     * Gets how many events an organizer runs, from the shared admin snapshot.
+     *
+     * @param userId The organizer's user ID
+     * @return The number of events
+     */
+    public int getOrganizerEventCount(String userId) {
+        return dataSnapshot.getEventCount(userId);
     }
 
     /**
@@ -222,7 +261,7 @@ public class AdminEventsViewModel extends AndroidViewModel {
         adminService.removeProfile(profile.getUserId(), true, "Admin deletion",
                 success -> {
                     toastMessage.postValue("Profile deleted");
-                    loadProfiles();
+                    dropLoadedProfiles(Arrays.asList(profile.getUserId()));
                 },
                 failure -> {
                     Log.e("AdminVM", "Error deleting profile", failure);
@@ -231,39 +270,82 @@ public class AdminEventsViewModel extends AndroidViewModel {
         );
     }
     /**
-     * Searches profiles by name or email.
+     * Deletes several user profiles as one merged cascade.
+     *
+     * @param userIds The IDs of the profiles to delete
+     */
+    public void deleteProfiles(List<String> userIds) {
+        adminService.removeProfiles(userIds, true, "Admin bulk deletion",
+                removed -> {
+                    toastMessage.postValue(removed + " profiles deleted");
+                    dropLoadedProfiles(userIds);
+                },
+                failure -> {
+                    Log.e("AdminVM", "Error deleting profiles", failure);
+                    toastMessage.postValue("Error: " + failure.getMessage());
+                }
+        );
+    }
+
+    /**
+     * Searches profiles whose name, username or email starts with the query.
+     * Debounced; the first page of results is posted to {@link #getProfiles()}.
      *
      * @param query The search query string
      */
-    public void searchProfiles(String query) {
-        if (query == null || query.trim().isEmpty()) {
-            profiles.setValue(new ArrayList<>(masterProfileList));
-            return;
+    public synchronized void searchProfiles(String query) {
+        profileQuery = query != null ? query : "";
+        if (pendingProfileSearch != null) {
+            pendingProfileSearch.cancel();
         }
-        String q = query.toLowerCase();
-        List<UserSummary> filtered = masterProfileList.stream()
-                .filter(u -> (u.getName() != null && u.getName().toLowerCase().contains(q)) ||
-                        (u.getEmail() != null && u.getEmail().toLowerCase().contains(q)))
-                .collect(Collectors.toList());
-        profiles.setValue(filtered);
+        pendingProfileSearch = scheduleSearch(() -> {
+            loadedProfiles.clear();
+            reloadProfiles();
+        });
     }
 
     /**
-     * Searches organizers by name or email.
+     * Appends the next page of profiles for the active query, if there is one.
+     */
+    public void loadMoreProfiles() {
+        runSearch(() -> {
+            if (!moreProfiles || loadedProfiles.isEmpty()) return;
+            UserSummary last = loadedProfiles.get(loadedProfiles.size() - 1);
+            List<UserSummary> page = dataSnapshot.getProfilesPage(profileQuery, last, PROFILE_PAGE_SIZE);
+            moreProfiles = page.size() == PROFILE_PAGE_SIZE;
+            loadedProfiles.addAll(page);
+            profiles.postValue(new ArrayList<>(loadedProfiles));
+        });
+    }
+
+    /**
+     * Re-reads the profiles shown so far (at least one page) for the active query.
+     * Runs on the search executor.
+     */
+    private void reloadProfiles() {
+        int want = Math.max(PROFILE_PAGE_SIZE, loadedProfiles.size());
+        List<UserSummary> page = dataSnapshot.getProfilesPage(profileQuery, null, want);
+        moreProfiles = page.size() == want;
+        loadedProfiles.clear();
+        loadedProfiles.addAll(page);
+        profiles.postValue(new ArrayList<>(loadedProfiles));
+    }
+
+    private void dropLoadedProfiles(Collection<String> userIds) {
+        Set<String> removed = new HashSet<>(userIds);
+        runSearch(() -> {
+            loadedProfiles.removeIf(p -> removed.contains(p.getUserId()));
+            profiles.postValue(new ArrayList<>(loadedProfiles));
+        });
+    }
+
+    /**
+     * Searches organizers by name, username or email. Debounced; results are posted to {@link #getOrganizers()}.
      *
      * @param query The search query string
      */
     public void searchOrganizers(String query) {
-        if (query == null || query.trim().isEmpty()) {
-            organizers.setValue(new ArrayList<>(masterOrganizerList));
-            return;
-        }
-        String q = query.toLowerCase();
-        List<UserSummary> filtered = masterOrganizerList.stream()
-                .filter(u -> (u.getName() != null && u.getName().toLowerCase().contains(q)) ||
-                        (u.getEmail() != null && u.getEmail().toLowerCase().contains(q)))
-                .collect(Collectors.toList());
-        organizers.setValue(filtered);
+        organizerSearch.search(query);
     }
 
     // --- IMAGES ---
@@ -273,10 +355,7 @@ public class AdminEventsViewModel extends AndroidViewModel {
      */
     public void loadImages() {
         adminService.listAllImages(
-                imageList -> {
-                    masterImageList = new ArrayList<>(imageList);
-                    images.postValue(imageList);
-                },
+                imageList -> imageSearch.load(imageList),
                 e -> {
                     Log.e("AdminVM", "Error loading images", e);
                     toastMessage.postValue("Error loading images: " + e.getMessage());
@@ -293,7 +372,7 @@ public class AdminEventsViewModel extends AndroidViewModel {
         adminService.removeImage(image.getImageId(), true, "Admin deletion",
                 success -> {
                     toastMessage.postValue("Image deleted");
-                    loadImages();
+                    imageSearch.remove(Arrays.asList(image.getImageId()));
                 },
                 failure -> {
                     Log.e("AdminVM", "Error deleting image", failure);
@@ -303,37 +382,157 @@ public class AdminEventsViewModel extends AndroidViewModel {
     }
 
     /**
-     * Searches images by image ID.
+     * Deletes several images in shared batches.
+     *
+     * @param imageIds The IDs of the images to delete
+     */
+    public void deleteImages(List<String> imageIds) {
+        adminService.removeImages(imageIds, true, "Admin bulk deletion",
+                removed -> {
+                    toastMessage.postValue(removed + " images deleted");
+                    imageSearch.remove(imageIds);
+                },
+                failure -> {
+                    Log.e("AdminVM", "Error deleting images", failure);
+                    toastMessage.postValue("Error: " + failure.getMessage());
+                }
+        );
+    }
+
+    /**
+     * Searches images by image ID or event ID. Debounced; results are posted to {@link #getImages()}.
      *
      * @param query The search query string
      */
     public void searchImages(String query) {
-        if (query == null || query.trim().isEmpty()) {
-            images.setValue(new ArrayList<>(masterImageList));
-            return;
-        }
-        String q = query.toLowerCase();
-        List<Image> filtered = masterImageList.stream()
-                .filter(i -> (i.getImageId() != null && i.getImageId().toLowerCase().contains(q)))
-                .collect(Collectors.toList());
-        images.setValue(filtered);
+        imageSearch.search(query);
     }
 
     // --- NOTIFICATIONS ---
 
     /**
-     * Loads all notifications from the database.
+     * Loads the first page of notifications, newest first. Costs one page of reads.
      */
     public void loadNotifications() {
-        new Thread(() -> {
-            try {
-                List<Notification> list = notificationService.getAllNotifications();
-                notifications.postValue(list != null ? list : new ArrayList<>());
-            } catch (Exception e) {
-                Log.e("AdminVM", "Error loading notifications", e);
-                toastMessage.postValue("Error loading logs");
+        runSearch(() -> {
+            loadedNotifications.clear();
+            notificationCursor = null;
+            moreNotifications = true;
+            fetchNotificationPage();
+        });
+    }
+
+    /**
+     * Appends the next page of notifications, if there is one.
+     */
+    public void loadMoreNotifications() {
+        runSearch(this::fetchNotificationPage);
+    }
+
+    /**
+     * Reads one page after the current cursor. Runs on the search executor, so pages never overlap.
+     */
+    private void fetchNotificationPage() {
+        if (!moreNotifications) return;
+        try {
+            NotificationRepository.NotificationPage page = notificationService.getNotificationsPage(
+                    null, null, null, notificationCursor, NOTIFICATION_PAGE_SIZE);
+            loadedNotifications.addAll(page.getNotifications());
+            if (page.getCursor() != null) {
+                notificationCursor = page.getCursor();
             }
-        }).start();
+            moreNotifications = page.hasMore();
+            notifications.postValue(new ArrayList<>(loadedNotifications));
+        } catch (Exception e) {
+            Log.e("AdminVM", "Error loading notifications", e);
+            toastMessage.postValue("Error loading logs");
+        }
     }
 
-}
\ No newline at end of file
+    /**
+     * Runs a task on the search executor. Dropped once the ViewModel is cleared, since service
+     * callbacks can still arrive after that.
+     */
+    private void runSearch(Runnable task) {
+        searchExecutor.execute(task);
+    }
+
+    /**
+     * Runs a task on the search executor after the debounce delay.
+     *
+     * @return The pending task; already cancelled if the ViewModel was cleared
+     */
+    private TaskScheduler.Cancellable scheduleSearch(Runnable task) {
+        return searchScope.schedule(TaskScheduler.Pool.IO, TaskScheduler.Priority.NORMAL, SEARCH_DEBOUNCE_MS,
+                () -> runSearch(task));
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        dataSnapshot.unsubscribe(snapshotListener);
+        searchScope.cancel();
+    }
+
+    /**
+     * Search state for one browse tab: its index, the active query and the pending debounced search.
+     * Everything except {@link #search(String)} scheduling runs on the search executor.
+     */
+    private final class SearchTab<T> {
+        private final MutableLiveData<List<T>> target;
+        private final Function<T, String> keyOf;
+        private final List<Function<T, String>> fields;
+        private final float[] weights;
+
+        private AdminSearchIndex<T> index;
+        private volatile String query = "";
+        private TaskScheduler.Cancellable pending;
+
+        SearchTab(MutableLiveData<List<T>> target, Function<T, String> keyOf,
+                  List<Function<T, String>> fields, float[] weights) {
+            this.target = target;
+            this.keyOf = keyOf;
+            this.fields = fields;
+            this.weights = weights;
+        }
+
+        /**
+         * Rebuilds the index from a fresh load and re-applies the active query.
+         */
+        void load(List<T> items) {
+            List<T> snapshot = items != null ? new ArrayList<>(items) : new ArrayList<>();
+            runSearch(() -> {
+                index = new AdminSearchIndex<>(snapshot, keyOf, fields, weights);
+                publish();
+            });
+        }
+
+        /**
+         * Drops deleted items from the index without reloading the collection.
+         */
+        void remove(Collection<String> ids) {
+            List<String> removed = new ArrayList<>(ids);
+            runSearch(() -> {
+                if (index == null) return;
+                for (String id : removed) {
+                    index.remove(id);
+                }
+                publish();
+            });
+        }
+
+        synchronized void search(String newQuery) {
+            query = newQuery != null ? newQuery : "";
+            if (pending != null) {
+                pending.cancel();
+            }
+            pending = scheduleSearch(this::publish);
+        }
+
+        private void publish() {
+            if (index != null) {
+                target.postValue(index.search(query));
+            }
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.quantiagents.app.ui.admin.viewmodel;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * In-memory search index over one admin list (events, organizers or images).
+ * <p>
+ * Built once per load. Every searchable field is lower-cased and broken into trigrams and
+ * word tokens; each trigram and token maps to a posting list of item ordinals stored as a
+ * sorted primitive int array. Queries of 3+ characters intersect trigram postings (substring
+ * match), shorter queries union the postings of every token starting with them (prefix match).
+ * Candidates are verified against the field text and ranked by where and in which field the
+ * match landed. Deleted items are tombstoned, so removing one never rebuilds the index.
+ * </p>
+ * Not thread-safe: build, search and remove from the same (background) thread.
+ *
+ * @param <T> The indexed item type
+ */
+public class AdminSearchIndex<T> {
+
+    private final List<T> items;
+    private final Map<String, Integer> ordinalByKey = new HashMap<>();
+    private final String[][] fieldText;      // [ordinal][field], lower-cased
+    private final float[] fieldWeights;
+    private final Map<Long, int[]> trigramPostings = new HashMap<>();
+    private final String[] sortedTokens;     // token dictionary, sorted for prefix range scans
+    private final int[][] tokenPostings;     // parallel to sortedTokens
+    private final BitSet deleted = new BitSet();
+
+    /**
+     * Builds the index.
+     *
+     * @param items The items to index, in display order
+     * @param keyOf Extracts the stable ID used by {@link #remove(String)}
+     * @param fields Extracts each searchable field; may return null
+     * @param weights Ranking weight of each field, parallel to fields
+     */
+    public AdminSearchIndex(List<T> items, Function<T, String> keyOf,
+                            List<Function<T, String>> fields, float[] weights) {
+        if (fields.size() != weights.length) {
+            throw new IllegalArgumentException("Each field needs a weight");
+        }
+        this.items = new ArrayList<>(items);
+        this.fieldWeights = weights.clone();
+        this.fieldText = new String[this.items.size()][fields.size()];
+
+        Map<Long, IntList> trigramBuild = new HashMap<>();
+        TreeMap<String, IntList> tokenBuild = new TreeMap<>();
+        Set<Long> itemTrigrams = new HashSet<>();
+        Set<String> itemTokens = new HashSet<>();
+
+        for (int ord = 0; ord < this.items.size(); ord++) {
+            T item = this.items.get(ord);
+            String key = keyOf.apply(item);
+            if (key != null) {
+                ordinalByKey.put(key, ord);
+            }
+            itemTrigrams.clear();
+            itemTokens.clear();
+            for (int f = 0; f < fields.size(); f++) {
+                String text = normalize(fields.get(f).apply(item));
+                fieldText[ord][f] = text;
+                for (int i = 0; i + 3 <= text.length(); i++) {
+                    itemTrigrams.add(packTrigram(text, i));
+                }
+                for (String token : tokenize(text)) {
+                    itemTokens.add(token);
+                }
+            }
+            // Ordinals are visited in increasing order, so every posting list stays sorted
+            for (Long trigram : itemTrigrams) {
+                trigramBuild.computeIfAbsent(trigram, k -> new IntList()).add(ord);
+            }
+            for (String token : itemTokens) {
+                tokenBuild.computeIfAbsent(token, k -> new IntList()).add(ord);
+            }
+        }
+
+        for (Map.Entry<Long, IntList> entry : trigramBuild.entrySet()) {
+            trigramPostings.put(entry.getKey(), entry.getValue().toArray());
+        }
+        sortedTokens = new String[tokenBuild.size()];
+        tokenPostings = new int[tokenBuild.size()][];
+        int i = 0;
+        for (Map.Entry<String, IntList> entry : tokenBuild.entrySet()) {
+            sortedTokens[i] = entry.getKey();
+            tokenPostings[i] = entry.getValue().toArray();
+            i++;
+        }
+    }
+
+    /**
+     * Tombstones an item so it no longer appears in results.
+     *
+     * @param key The item's ID
+     * @return True if the item was indexed and not already removed
+     */
+    public boolean remove(String key) {
+        Integer ord = key != null ? ordinalByKey.get(key) : null;
+        if (ord == null || deleted.get(ord)) {
+            return false;
+        }
+        deleted.set(ord);
+        return true;
+    }
+
+    /**
+     * Gets the number of live (not removed) items.
+     *
+     * @return The live item count
+     */
+    public int size() {
+        return items.size() - deleted.cardinality();
+    }
+
+    /**
+     * Searches the index. Every whitespace-separated term must match at least one field.
+     *
+     * @param query The raw query; null or blank returns every live item in display order
+     * @return Matching items, best match first
+     */
+    public List<T> search(@Nullable String query) {
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            List<T> all = new ArrayList<>(size());
+            for (int ord = deleted.nextClearBit(0); ord < items.size(); ord = deleted.nextClearBit(ord + 1)) {
+                all.add(items.get(ord));
+            }
+            return all;
+        }
+
+        String[] terms = q.split("\\s+");
+        int[] candidates = null;
+        for (String term : terms) {
+            int[] termHits = term.length() >= 3 ? trigramCandidates(term) : prefixCandidates(term);
+            candidates = candidates == null ? termHits : intersect(candidates, termHits);
+            if (candidates.length == 0) {
+                return new ArrayList<>();
+            }
+        }
+
+        // Verify candidates (trigrams can over-match) and score them
+        List<long[]> scored = new ArrayList<>();
+        for (int ord : candidates) {
+            if (deleted.get(ord)) continue;
+            float total = 0f;
+            boolean allTermsMatch = true;
+            for (String term : terms) {
+                float best = 0f;
+                for (int f = 0; f < fieldWeights.length; f++) {
+                    best = Math.max(best, fieldWeights[f] * matchScore(fieldText[ord][f], term));
+                }
+                if (best == 0f) {
+                    allTermsMatch = false;
+                    break;
+                }
+                total += best;
+            }
+            if (allTermsMatch) {
+                scored.add(new long[]{Float.floatToIntBits(total), ord});
+            }
+        }
+        scored.sort((a, b) -> {
+            int byScore = Float.compare(Float.intBitsToFloat((int) b[0]), Float.intBitsToFloat((int) a[0]));
+            return byScore != 0 ? byScore : Long.compare(a[1], b[1]);
+        });
+
+        List<T> out = new ArrayList<>(scored.size());
+        for (long[] hit : scored) {
+            out.add(items.get((int) hit[1]));
+        }
+        return out;
+    }
+
+    /**
+     * Intersects the trigram posting lists of a term, rarest trigram first.
+     */
+    private int[] trigramCandidates(String term) {
+        List<int[]> lists = new ArrayList<>();
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            int[] postings = trigramPostings.get(packTrigram(term, i));
+            if (postings == null) {
+                return new int[0];
+            }
+            lists.add(postings);
+        }
+        lists.sort((a, b) -> Integer.compare(a.length, b.length));
+        int[] result = lists.get(0);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Unions the posting lists of every token that starts with the term.
+     */
+    private int[] prefixCandidates(String term) {
+        int start = Arrays.binarySearch(sortedTokens, term);
+        if (start < 0) {
+            start = -start - 1;
+        }
+        BitSet hits = new BitSet(items.size());
+        for (int i = start; i < sortedTokens.length && sortedTokens[i].startsWith(term); i++) {
+            for (int ord : tokenPostings[i]) {
+                hits.set(ord);
+            }
+        }
+        return hits.stream().toArray();
+    }
+
+    /**
+     * Scores how well a term matches one field: exact field, field prefix, word prefix, substring.
+     * Short terms only count when they start a word, matching how their candidates were found.
+     */
+    private static float matchScore(String text, String term) {
+        int idx = text.indexOf(term);
+        if (idx < 0) return 0f;
+        if (text.length() == term.length()) return 4f;
+        if (idx == 0) return 3f;
+        while (idx > 0) {
+            if (!Character.isLetterOrDigit(text.charAt(idx - 1))) return 2f;
+            idx = text.indexOf(term, idx + 1);
+        }
+        return term.length() >= 3 ? 1f : 0f;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    private static long packTrigram(String text, int i) {
+        return ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean word = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                tokens.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static String normalize(@Nullable String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Growable primitive int list used while building posting lists.
+     */
+    private static final class IntList {
+        private int[] data = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+}
@@ -5,13 +5,14 @@ import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
+import android.os.Trace;
 
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.quantiagents.app.App;
 import com.quantiagents.app.R;
-import com.quantiagents.app.Services.LoginService;
+import com.quantiagents.app.Services.StartupPipeline;
 import com.quantiagents.app.models.DeviceIdManager;
 import com.quantiagents.app.ui.main.MainActivity;
 
@@ -27,19 +28,22 @@ public class SplashActivity extends AppCompatActivity {
      * Shows the splash layout briefly, then hands control to {@link #routeToNextScreen()}.
      */
     protected void onCreate(@Nullable Bundle savedInstanceState) {
+        Trace.beginSection("SplashActivity.onCreate");
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_splash);
         handler.post(this::routeToNextScreen);
+        Trace.endSection();
     }
 
     /**
      * Determines the correct destination based on device login and stored profile state.
+     * On auto-login the startup pipeline also starts loading the Browse catalogue while the user is resolved.
      */
     private void routeToNextScreen() {
         App app = (App) getApplication();
         DeviceIdManager deviceIdManager = app.locator().deviceIdManager();
-        LoginService loginService = app.locator().loginService();
-        
+        StartupPipeline startupPipeline = app.locator().startupPipeline();
+
         SharedPreferences prefs = getSharedPreferences("quanti_agents_prefs", MODE_PRIVATE);
         boolean sessionActive = prefs.getBoolean("user_session_active", true);
         boolean rememberMe = prefs.getBoolean("remember_me", true);
@@ -54,23 +58,16 @@ public class SplashActivity extends AppCompatActivity {
 
         // "Remember Me" was checked, attempt auto-login
         String deviceId = deviceIdManager.ensureDeviceId();
-        loginService.loginWithDevice(
-                deviceId,
-                success -> {
-                    if (success) {
-                        launchHome();
-                    } else {
-                        // Auto-login failed (no user or error) -> Login Screen
-                        launchLogin();
-                    }
-                    finish();
-                },
-                e -> {
-                    // Error -> Fallback to Login Screen
-                    launchLogin();
-                    finish();
-                }
-        );
+        startupPipeline.start(deviceId).addOnCompleteListener(task -> {
+            if (task.isSuccessful() && Boolean.TRUE.equals(task.getResult())) {
+                startupPipeline.mark("launching MainActivity");
+                launchHome();
+            } else {
+                // Auto-login failed (no user or error) -> Login Screen
+                launchLogin();
+            }
+            finish();
+        });
     }
 
     /**
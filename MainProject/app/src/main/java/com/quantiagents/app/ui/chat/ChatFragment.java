@@ -1,6 +1,8 @@
 package com.quantiagents.app.ui.chat;
 
+import android.os.Build;
 import android.os.Bundle;
+import android.os.Trace;
 import android.text.TextUtils;
 import android.util.Log;
 import android.view.LayoutInflater;
@@ -18,12 +20,10 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.textfield.TextInputEditText;
-import com.google.firebase.firestore.EventListener;
 import com.google.firebase.firestore.ListenerRegistration;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
-import com.google.firebase.firestore.QuerySnapshot;
 import com.quantiagents.app.App;
 import com.quantiagents.app.R;
+import com.quantiagents.app.Repository.TaskScheduler;
 import com.quantiagents.app.Services.BadgeService;
 import com.quantiagents.app.Services.ChatService;
 import com.quantiagents.app.Services.UserService;
@@ -37,8 +37,6 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * Fragment for displaying and managing group chat for an event.
@@ -48,12 +46,14 @@ public class ChatFragment extends Fragment {
 
     private static final String ARG_EVENT_ID = "event_id";
     private static final String ARG_CHAT_ID = "chat_id";
+    /** Async trace section from opening the chat to its first loaded messages (measured by :benchmark) */
+    public static final String OPEN_TRACE = "ChatOpen";
 
     private String eventId;
     private String chatId;
     private ChatService chatService;
     private UserService userService;
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final TaskScheduler.Scope executor = TaskScheduler.getInstance().scope(this, "ChatFragment");
 
     private RecyclerView recyclerView;
     private TextInputEditText editMessage;
@@ -69,6 +69,7 @@ public class ChatFragment extends Fragment {
     private User currentUser;
     private Chat chat;
     private ListenerRegistration messagesListener; // Real-time listener for messages
+    private boolean openTraced;
 
     /**
      * Creates a new instance of ChatFragment with an event ID.
@@ -107,6 +108,7 @@ public class ChatFragment extends Fragment {
     @Override
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
+        beginOpenTrace();
 
         Bundle args = getArguments();
         if (args != null) {
@@ -244,59 +246,46 @@ public class ChatFragment extends Fragment {
         setLoading(true);
 
         // Set up real-time listener for messages
-        messagesListener = chatService.listenToMessages(chatId, (querySnapshot, e) -> {
-                if (e != null) {
-                    Log.e("ChatFragment", "Error listening to messages", e);
-                    if (isAdded()) {
-                        requireActivity().runOnUiThread(() -> {
-                            setLoading(false);
-                            Toast.makeText(getContext(), "Error loading messages", Toast.LENGTH_SHORT).show();
-                        });
-                    }
-                    return;
-                }
-
-                if (querySnapshot != null) {
-                    // Update messages list with real-time data
-                    messages.clear();
-                    for (QueryDocumentSnapshot document : querySnapshot) {
-                        Message message = document.toObject(Message.class);
-                        if (message != null) {
-                            if (message.getMessageId() == null || message.getMessageId().trim().isEmpty()) {
-                                message.setMessageId(document.getId());
-                            }
-                            messages.add(message);
-                        }
-                    }
+        messagesListener = chatService.listenToMessages(chatId, latest -> {
+            // Update messages list with real-time data
+            messages.clear();
+            messages.addAll(latest);
 
-                    // Update UI on main thread
-                    if (isAdded()) {
-                        requireActivity().runOnUiThread(() -> {
-                            adapter.notifyDataSetChanged();
-                            setLoading(false);
-                            updateEmptyState();
-                            scrollToBottom();
-
-                            // Mark messages as read when user views the chat
-                            if (currentUser != null && !TextUtils.isEmpty(currentUser.getUserId())) {
-                                chatService.markMessagesAsRead(chatId, currentUser.getUserId(),
-                                        aVoid -> {
-                                            Log.d("ChatFragment", "Messages marked as read");
-                                            // Update app icon badge (unread chat messages affect badge)
-                                            BadgeService badgeService = new BadgeService(requireContext());
-                                            badgeService.updateBadgeCount();
-
-                                            // Update navigation menu badges
-                                            if (requireActivity() instanceof MainActivity) {
-                                                ((MainActivity) requireActivity()).updateNavigationMenuBadges();
-                                            }
-                                        },
-                                        err -> Log.w("ChatFragment", "Failed to mark messages as read", err)
-                                );
-                            }
-                        });
+            // Update UI on main thread
+            if (isAdded()) {
+                requireActivity().runOnUiThread(() -> {
+                    adapter.notifyDataSetChanged();
+                    setLoading(false);
+                    updateEmptyState();
+                    scrollToBottom();
+
+                    // Mark messages as read when user views the chat
+                    if (currentUser != null && !TextUtils.isEmpty(currentUser.getUserId())) {
+                        chatService.markMessagesAsRead(chatId, currentUser.getUserId(),
+                                aVoid -> {
+                                    Log.d("ChatFragment", "Messages marked as read");
+                                    // Update app icon badge (unread chat messages affect badge)
+                                    BadgeService badgeService = ((App) requireActivity().getApplication()).locator().badgeService();
+                                    badgeService.updateBadgeCount();
+
+                                    // Update navigation menu badges
+                                    if (requireActivity() instanceof MainActivity) {
+                                        ((MainActivity) requireActivity()).updateNavigationMenuBadges();
+                                    }
+                                },
+                                err -> Log.w("ChatFragment", "Failed to mark messages as read", err)
+                        );
                     }
-                }
+                });
+            }
+        }, e -> {
+            Log.e("ChatFragment", "Error listening to messages", e);
+            if (isAdded()) {
+                requireActivity().runOnUiThread(() -> {
+                    setLoading(false);
+                    Toast.makeText(getContext(), "Error loading messages", Toast.LENGTH_SHORT).show();
+                });
+            }
         });
     }
 
@@ -356,6 +345,24 @@ public class ChatFragment extends Fragment {
         if (buttonSend != null) {
             buttonSend.setEnabled(!loading);
         }
+        if (!loading) {
+            // First messages bound, or loading gave up: either way the chat finished opening
+            endOpenTrace();
+        }
+    }
+
+    private void beginOpenTrace() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && !openTraced) {
+            openTraced = true;
+            Trace.beginAsyncSection(OPEN_TRACE, System.identityHashCode(this));
+        }
+    }
+
+    private void endOpenTrace() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && openTraced) {
+            openTraced = false;
+            Trace.endAsyncSection(OPEN_TRACE, System.identityHashCode(this));
+        }
     }
 
     @Override
@@ -380,12 +387,12 @@ public class ChatFragment extends Fragment {
     @Override
     public void onDestroy() {
         super.onDestroy();
+        endOpenTrace();
         // Clean up listener
         if (messagesListener != null) {
             messagesListener.remove();
             messagesListener = null;
         }
-        executor.shutdownNow();
     }
 }
 
@@ -5,6 +5,7 @@ import android.content.Intent;
 import android.content.pm.PackageManager;
 import android.os.Build;
 import android.os.Bundle;
+import android.os.Trace;
 import android.provider.SyncStateContract;
 import android.view.Menu;
 import android.view.MenuItem;
@@ -27,12 +28,14 @@ import androidx.core.view.GravityCompat;
 import androidx.drawerlayout.widget.DrawerLayout;
 import androidx.fragment.app.Fragment;
 
+import com.google.android.gms.tasks.Task;
 import com.google.android.material.navigation.NavigationView;
 import com.google.android.material.badge.ExperimentalBadgeUtils;
 import com.quantiagents.app.App;
 import com.quantiagents.app.Constants.constant;
 import com.quantiagents.app.R;
 import com.quantiagents.app.Services.LoginService;
+import com.quantiagents.app.Services.StartupPipeline;
 import com.quantiagents.app.Services.UserService;
 import com.quantiagents.app.models.DeviceIdManager;
 import com.quantiagents.app.models.User;
@@ -63,6 +66,9 @@ public class MainActivity extends AppCompatActivity implements NavigationView.On
     private NavigationView navigationView;
     private UserService userService;
     private LoginService loginService;
+    private StartupPipeline startupPipeline;
+    // onCreate already refreshes the badges; the first onResume follows right after it
+    private boolean resumedOnce;
     // changed the landing page from profile details to the browse events page
     private int activeItemId = R.id.navigation_browse_events;
 
@@ -90,11 +96,14 @@ public class MainActivity extends AppCompatActivity implements NavigationView.On
 
     @Override
     protected void onCreate(@Nullable Bundle savedInstanceState) {
+        Trace.beginSection("MainActivity.onCreate");
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
         App app = (App) getApplication();
         userService = app.locator().userService();
         loginService = app.locator().loginService();
+        startupPipeline = app.locator().startupPipeline();
+        startupPipeline.mark("MainActivity created");
 
         drawerLayout = findViewById(R.id.drawer_layout);
         navigationView = findViewById(R.id.navigation_view);
@@ -128,6 +137,7 @@ public class MainActivity extends AppCompatActivity implements NavigationView.On
                     }
             );
         }
+        Trace.endSection();
     }
 
     /**
@@ -141,28 +151,59 @@ public class MainActivity extends AppCompatActivity implements NavigationView.On
         bindHeader(user);
         setupAdminMenu(user);
 
-        // Check for notification permission (Required for Badges on Android 13+)
-        checkAndRequestNotificationPermission();
-
-        // Update navigation menu badges
+        // Update navigation menu badges (counted during startup when Splash logged in)
         updateNavigationMenuBadges();
 
+        // Nothing below is needed to draw the first screen, so it waits for its first frame
+        startupPipeline.runAfterFirstFrame(() -> {
+            if (isDestroyed()) {
+                return;
+            }
+            // Check for notification permission (Required for Badges on Android 13+), then recount the app icon badge
+            checkAndRequestNotificationPermission();
+
+            // Move this user's expired notifications to their archive (background, at most once a day)
+            ((App) getApplication()).locator().notificationRetentionService()
+                    .compactIfDue(Math.abs(user.getUserId().hashCode()));
+
+            // Repair event roster sizes that drifted from the registration histories (background, a slice per pass)
+            ((App) getApplication()).locator().rosterReconciler().reconcileIfDue();
+
+            // Startup trace: what building the service graph has cost by the first screen
+            ((App) getApplication()).locator().logConstructionTrace();
+        });
+
         if (savedInstanceState == null) {
             // CHECK FOR NOTIFICATION NAVIGATION EXTRA
             if (getIntent().getBooleanExtra("navigate_to_notifications", false)) {
                 activeItemId = R.id.navigation_notifications;
                 navigationView.setCheckedItem(activeItemId);
                 showFragment(NotificationCenterFragment.newInstance());
+                reportFirstFrameWhenDrawn("Notifications");
             } else if (user.getRole() == constant.UserRole.ADMIN) {
                 navigationView.setCheckedItem(activeItemId);
                 showFragment(AdminBrowseEventsFragment.newInstance());
+                reportFirstFrameWhenDrawn("AdminBrowseEvents");
             } else {
+                // BrowseEventsFragment reports once its list is drawn
                 navigationView.setCheckedItem(activeItemId);
                 showFragment(BrowseEventsFragment.newInstance());
             }
+        } else {
+            reportFirstFrameWhenDrawn("restored");
         }
     }
 
+    /**
+     * Reports the first frame to the startup pipeline after the next layout pass,
+     * for start screens that don't report it themselves.
+     *
+     * @param screen Name of the screen shown, for the startup timeline
+     */
+    private void reportFirstFrameWhenDrawn(String screen) {
+        navigationView.post(() -> startupPipeline.reportFirstFrame(screen));
+    }
+
     /**
      * Checks for POST_NOTIFICATIONS permission on Android 13+ and requests it if missing.
      * This is critical for Samsung badges to work.
@@ -187,7 +228,7 @@ public class MainActivity extends AppCompatActivity implements NavigationView.On
      * Updates the app icon badge with the current unread notification count.
      */
     private void updateAppIconBadge() {
-        BadgeService badgeService = new BadgeService(this);
+        BadgeService badgeService = ((App) getApplication()).locator().badgeService();
         badgeService.updateBadgeCount();
     }
 
@@ -357,6 +398,10 @@ public class MainActivity extends AppCompatActivity implements NavigationView.On
     @Override
     protected void onResume() {
         super.onResume();
+        if (!resumedOnce) {
+            resumedOnce = true;
+            return;
+        }
         // Check permission again on resume in case user toggled it in settings
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
             if (ContextCompat.checkSelfPermission(this, Manifest.permission.POST_NOTIFICATIONS) ==
@@ -375,6 +420,19 @@ public class MainActivity extends AppCompatActivity implements NavigationView.On
      * Can be called from fragments to update badges when notifications/messages change.
      */
     public void updateNavigationMenuBadges() {
+        Task<StartupPipeline.UnreadCounts> prefetched = startupPipeline.takeUnreadCounts();
+        if (prefetched != null) {
+            prefetched.addOnCompleteListener(task -> {
+                if (task.isSuccessful()) {
+                    updateNotificationBadge(task.getResult().getNotifications());
+                    updateMessageBadge(task.getResult().getMessages());
+                } else {
+                    // Nothing was counted during startup (e.g. no auto-login); count now
+                    updateNavigationMenuBadges();
+                }
+            });
+            return;
+        }
         userService.getCurrentUser(
                 user -> {
                     if (user == null) {
@@ -382,7 +440,7 @@ public class MainActivity extends AppCompatActivity implements NavigationView.On
                         return;
                     }
 
-                    BadgeService badgeService = new BadgeService(this);
+                    BadgeService badgeService = ((App) getApplication()).locator().badgeService();
 
                     // Get unread notification count
                     badgeService.getUnreadNotificationCount(user.getUserId(),
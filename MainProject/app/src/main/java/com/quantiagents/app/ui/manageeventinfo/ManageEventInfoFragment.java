@@ -31,27 +31,27 @@ import com.google.maps.android.clustering.ClusterItem;
 import com.google.maps.android.clustering.ClusterManager;
 import com.google.maps.android.clustering.view.DefaultClusterRenderer;
 import com.quantiagents.app.App;
-import com.quantiagents.app.Constants.constant;
 import com.quantiagents.app.R;
+import com.quantiagents.app.Repository.TaskScheduler;
 import com.quantiagents.app.Services.EventService;
 import com.quantiagents.app.Services.GeoLocationService;
 import com.quantiagents.app.Services.LotteryResultService;
 import com.quantiagents.app.Services.RegistrationHistoryService;
+import com.quantiagents.app.Services.RosterReconciler;
 import com.quantiagents.app.Services.UserService;
 import com.quantiagents.app.models.Event;
 import com.quantiagents.app.models.GeoLocation;
-import com.quantiagents.app.models.RegistrationHistory;
+import com.quantiagents.app.models.RosterStats;
 import com.quantiagents.app.models.User;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import android.net.Uri;
 
 import androidx.activity.result.ActivityResultLauncher;
@@ -119,7 +119,7 @@ public class ManageEventInfoFragment extends Fragment {
     // Services for counts / visibility
     private RegistrationHistoryService regSvc;
 
-    private final ExecutorService io = Executors.newSingleThreadExecutor();
+    private final TaskScheduler.Scope io = TaskScheduler.getInstance().scope(this, "ManageEventInfoFragment");
     private volatile Event loadedEvent;
     private String eventId;
 
@@ -190,6 +190,7 @@ public class ManageEventInfoFragment extends Fragment {
         final EventService evtSvc = app.locator().eventService();
         final LotteryResultService lottoSvc = app.locator().lotteryResultService();
         final RegistrationHistoryService regSvcLocal = app.locator().registrationHistoryService();
+        final RosterReconciler reconciler = app.locator().rosterReconciler();
         this.regSvc = regSvcLocal;
         this.geoSvc = app.locator().geoLocationService();
         userService = app.locator().userService();
@@ -282,6 +283,10 @@ public class ManageEventInfoFragment extends Fragment {
                     return;
                 }
                 requireActivity().runOnUiThread(() -> prefill(ev));
+                // Status changes only write registrations; repair the Event's roster sizes if they drifted
+                if (ev != null) {
+                    reconciler.reconcileEvents(Collections.singletonList(ev));
+                }
             } catch (Exception e) {
                 if (!isAdded()) {
                     return;
@@ -524,18 +529,8 @@ public class ManageEventInfoFragment extends Fragment {
                                @NonNull MaterialButton btnRedraw) {
 
         io.execute(() -> {
-            List<RegistrationHistory> regs =
-                    regSvc.getRegistrationHistoriesByEventId(eventId);
-
-            int cancelledCount = 0;
-            if (regs != null) {
-                for (RegistrationHistory r : regs) {
-                    if (r != null &&
-                            r.getEventRegistrationStatus() == constant.EventRegistrationStatus.CANCELLED) {
-                        cancelledCount++;
-                    }
-                }
-            }
+            RosterStats stats = regSvc.getRosterStats(eventId);
+            long cancelledCount = stats != null ? stats.getCancelled() : 0;
 
             if (cancelledCount <= 0) {
                 if (!isAdded()) return;
@@ -550,7 +545,7 @@ public class ManageEventInfoFragment extends Fragment {
                 return;
             }
 
-            int drawCount = cancelledCount;
+            int drawCount = (int) cancelledCount;
 
             lottoSvc.runLottery(
                     eventId,
@@ -593,18 +588,8 @@ public class ManageEventInfoFragment extends Fragment {
                                         @NonNull MaterialButton btnRedraw) {
 
         io.execute(() -> {
-            List<RegistrationHistory> regs =
-                    regSvc.getRegistrationHistoriesByEventId(eventId);
-
-            int cancelledCount = 0;
-            if (regs != null) {
-                for (RegistrationHistory r : regs) {
-                    if (r != null &&
-                            r.getEventRegistrationStatus() == constant.EventRegistrationStatus.CANCELLED) {
-                        cancelledCount++;
-                    }
-                }
-            }
+            RosterStats stats = regSvc.getRosterStats(eventId);
+            long cancelledCount = stats != null ? stats.getCancelled() : 0;
 
             if (!isAdded()) return;
             final boolean show = cancelledCount > 0;
@@ -623,35 +608,13 @@ public class ManageEventInfoFragment extends Fragment {
         }
 
         io.execute(() -> {
-            List<RegistrationHistory> regs =
-                    regSvc.getRegistrationHistoriesByEventId(eventId);
-
-            int waiting = 0;
-            int selected = 0;
-            int confirmed = 0;
-            int cancelled = 0;
-
-            if (regs != null) {
-                for (RegistrationHistory r : regs) {
-                    if (r == null || r.getEventRegistrationStatus() == null) continue;
-                    switch (r.getEventRegistrationStatus()) {
-                        case WAITLIST:
-                            waiting++;
-                            break;
-                        case SELECTED:
-                            selected++;
-                            break;
-                        case CONFIRMED:
-                            confirmed++;
-                            break;
-                        case CANCELLED:
-                            cancelled++;
-                            break;
-                        default:
-                            break;
-                    }
-                }
-            }
+            // Four count() aggregation reads, however many entrants the event has
+            RosterStats stats = regSvc.getRosterStats(eventId);
+            if (stats == null) return;
+            int waiting = (int) stats.getWaiting();
+            int selected = (int) stats.getSelected();
+            int confirmed = (int) stats.getConfirmed();
+            int cancelled = (int) stats.getCancelled();
 
             if (!isAdded()) return;
             final int fWaiting = waiting;
@@ -812,7 +775,6 @@ public class ManageEventInfoFragment extends Fragment {
             mapView.onDestroy();
         }
         super.onDestroyView();
-        io.shutdownNow();
     }
     @Override
     public void onCreate(@Nullable Bundle savedInstanceState) {
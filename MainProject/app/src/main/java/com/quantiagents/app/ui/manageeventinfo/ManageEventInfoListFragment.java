@@ -1,6 +1,5 @@
 package com.quantiagents.app.ui.manageeventinfo;
 
-import android.content.Context;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.LayoutInflater;
@@ -20,14 +19,14 @@ import com.google.android.material.button.MaterialButton;
 import com.quantiagents.app.App;
 import com.quantiagents.app.Constants.constant;
 import com.quantiagents.app.R;
+import com.quantiagents.app.Repository.TaskScheduler;
+import com.quantiagents.app.Services.EventAnnouncementService;
 import com.quantiagents.app.Services.EventService;
-import com.quantiagents.app.Services.NotificationService;
 import com.quantiagents.app.Services.RegistrationHistoryService;
 import com.quantiagents.app.Services.UserService;
 import com.quantiagents.app.models.Event;
-import com.quantiagents.app.models.Notification;
 import com.quantiagents.app.models.RegistrationHistory;
-import com.quantiagents.app.models.User;
+import com.quantiagents.core.EntrantCsv;
 
 import java.io.File;
 import java.io.FileWriter;
@@ -44,6 +43,8 @@ public class ManageEventInfoListFragment extends Fragment {
 
     private static final String ARG_EVENT = "eventId";
     private static final String ARG_STATUS = "status";
+    /** Registrations read per page; the next page is read as the list is scrolled */
+    private static final int PAGE_SIZE = 50;
 
     private String eventId;
     private String statusArg;
@@ -57,12 +58,17 @@ public class ManageEventInfoListFragment extends Fragment {
     private MaterialButton notifyAllButton;
     private MaterialButton exportCsvButton;
 
-    private NotificationService notificationService;
+    private EventAnnouncementService announcementService;
     private EventService eventService;
     private UserService userService;
+    private final TaskScheduler.Scope io = TaskScheduler.getInstance().scope(this, "ManageEventInfoListFragment");
 
     // The registrations currently displayed in this tab
     private final List<RegistrationHistory> currentRegistrations = new ArrayList<>();
+    // Paging state, only touched on the main thread
+    private boolean hasMore;
+    private boolean loadingPage;
+    private int loadGeneration;
 
     /**
      * Creates a new instance of ManageEventInfoListFragment with event ID and status filter.
@@ -92,11 +98,11 @@ public class ManageEventInfoListFragment extends Fragment {
     public void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
 
-        Context ctx = requireContext();
-        notificationService = new NotificationService(ctx);
-        eventService = new EventService(ctx);
-        userService = new UserService(ctx);
-        regSvc = ((App) requireActivity().getApplication()).locator().registrationHistoryService();
+        App app = (App) requireActivity().getApplication();
+        eventService = app.locator().eventService();
+        userService = app.locator().userService();
+        regSvc = app.locator().registrationHistoryService();
+        announcementService = app.locator().eventAnnouncementService();
 
         Bundle args = getArguments();
         if (args != null) {
@@ -110,7 +116,7 @@ public class ManageEventInfoListFragment extends Fragment {
                         statusArg.toUpperCase(Locale.US)
                 );
             } catch (IllegalArgumentException e) {
-                statusFilter = null; // fallback to string compare if needed
+                statusFilter = null; // Unknown status: the tab stays empty
             }
         }
     }
@@ -135,6 +141,17 @@ public class ManageEventInfoListFragment extends Fragment {
         adapter.setOnCancelClickListener(this::onCancelEntrant);
         rv.setAdapter(adapter);
 
+        // Registrations are paged by registration date; fetch the next page near the bottom
+        rv.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                LinearLayoutManager lm = (LinearLayoutManager) recyclerView.getLayoutManager();
+                if (dy > 0 && lm != null && lm.findLastVisibleItemPosition() >= adapter.getItemCount() - 10) {
+                    loadNextPage();
+                }
+            }
+        });
+
         swipe = view.findViewById(R.id.swipe);
         empty = view.findViewById(R.id.empty);
 
@@ -164,44 +181,68 @@ public class ManageEventInfoListFragment extends Fragment {
         }
 
         swipe.setRefreshing(true);
+        synchronized (currentRegistrations) {
+            currentRegistrations.clear();
+        }
+        loadGeneration++;
+        hasMore = true;
+        loadingPage = false;
+        loadNextPage();
+    }
 
-        new Thread(() -> {
-            List<RegistrationHistory> all = regSvc.getRegistrationHistoriesByEventId(eventId);
-            List<RegistrationHistory> filtered = new ArrayList<>();
-
-            if (all != null) {
-                for (RegistrationHistory r : all) {
-                    if (r == null || r.getEventRegistrationStatus() == null) continue;
-
-                    if (statusFilter != null) {
-                        if (r.getEventRegistrationStatus() == statusFilter) {
-                            filtered.add(r);
-                        }
-                    } else if (statusArg != null &&
-                            r.getEventRegistrationStatus().name().equalsIgnoreCase(statusArg)) {
-                        filtered.add(r);
-                    }
-                }
-            }
+    /**
+     * Reads the next page of this tab's registrations (only rows with this tab's status) and appends it.
+     */
+    private void loadNextPage() {
+        if (loadingPage || !hasMore || eventId == null || regSvc == null) {
+            return;
+        }
+        loadingPage = true;
+        final int generation = loadGeneration;
+        final RegistrationHistory after;
+        synchronized (currentRegistrations) {
+            after = currentRegistrations.isEmpty() ? null : currentRegistrations.get(currentRegistrations.size() - 1);
+        }
 
-            // Update our in-memory list used by the buttons
-            synchronized (currentRegistrations) {
-                currentRegistrations.clear();
-                currentRegistrations.addAll(filtered);
-            }
+        io.execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.NORMAL, () -> {
+            List<RegistrationHistory> page = statusFilter == null
+                    ? new ArrayList<>()
+                    : regSvc.getRegistrationHistoriesPage(eventId, statusFilter, after, PAGE_SIZE);
 
             if (!isAdded()) return;
 
             requireActivity().runOnUiThread(() -> {
+                if (generation != loadGeneration) return; // A refresh started meanwhile
+                loadingPage = false;
+                hasMore = page.size() == PAGE_SIZE;
+
+                // Update our in-memory list used by the buttons
+                List<RegistrationHistory> shown;
+                synchronized (currentRegistrations) {
+                    currentRegistrations.addAll(page);
+                    shown = new ArrayList<>(currentRegistrations);
+                }
+
                 swipe.setRefreshing(false);
-                adapter.submit(filtered);
-                empty.setVisibility(filtered.isEmpty() ? View.VISIBLE : View.GONE);
+                adapter.submit(shown);
+                empty.setVisibility(shown.isEmpty() ? View.VISIBLE : View.GONE);
 
-                boolean hasItems = !filtered.isEmpty();
+                boolean hasItems = !shown.isEmpty();
                 notifyAllButton.setEnabled(hasItems);
                 exportCsvButton.setEnabled(hasItems);
             });
-        }).start();
+        });
+    }
+
+    /**
+     * Gets every registration of this tab's status, reading the rest of the list if not all pages are loaded yet
+     * (blocking - must be called from background thread).
+     */
+    private List<RegistrationHistory> loadAllRegistrations(List<RegistrationHistory> loaded, boolean complete) {
+        if (complete || statusFilter == null) {
+            return loaded;
+        }
+        return regSvc.getRegistrationHistoriesByEventIdAndStatus(eventId, statusFilter);
     }
 
     // --- Cancel one entrant (trash icon) ---
@@ -254,7 +295,9 @@ public class ManageEventInfoListFragment extends Fragment {
             return;
         }
 
-        new Thread(() -> {
+        final boolean complete = !hasMore;
+        TaskScheduler.getInstance().execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.HIGH, "ManageEventInfoListFragment", () -> {
+            List<RegistrationHistory> recipients = loadAllRegistrations(snapshot, complete);
             Event event = eventService.getEventById(eventId);
             if (event == null || event.getOrganizerId() == null) {
                 if (isAdded()) {
@@ -271,9 +314,6 @@ public class ManageEventInfoListFragment extends Fragment {
                     ? event.getTitle().trim()
                     : "Event";
 
-            int eventIdInt = Math.abs(eventId.hashCode());
-            int organizerIdInt = Math.abs(event.getOrganizerId().hashCode());
-
             // Decide canned message + type based on which tab this is
             constant.NotificationType type;
             String statusText;
@@ -312,39 +352,25 @@ public class ManageEventInfoListFragment extends Fragment {
                     break;
             }
 
-            for (RegistrationHistory history : snapshot) {
-                if (history == null || history.getUserId() == null) continue;
-
-                String userId = history.getUserId().trim();
-                if (userId.isEmpty()) continue;
-
-                int recipientIdInt = Math.abs(userId.hashCode());
-
-                Notification notification = new Notification(
-                        0,          // auto-generate ID
-                        type,
-                        recipientIdInt,
-                        organizerIdInt,
-                        eventIdInt,
-                        statusText,
-                        detailsText
-                );
-
-                notificationService.saveNotification(
-                        notification,
-                        aVoid -> { /* best effort, no UI needed */ },
-                        e -> Log.e("ManageEventInfo", "Failed to send bulk notification", e)
-                );
+            List<String> recipientIds = new ArrayList<>();
+            for (RegistrationHistory history : recipients) {
+                if (history != null && history.getUserId() != null) {
+                    recipientIds.add(history.getUserId());
+                }
             }
 
+            // One announcement for large lists, per-entrant notifications for small ones
+            boolean sent = announcementService.broadcast(event, statusFilter, recipientIds,
+                    type, statusText, detailsText);
+
             if (isAdded()) {
                 requireActivity().runOnUiThread(() ->
                         Toast.makeText(requireContext(),
-                                R.string.notify_all_success,
+                                sent ? R.string.notify_all_success : R.string.notify_all_failed,
                                 Toast.LENGTH_SHORT).show()
                 );
             }
-        }).start();
+        });
     }
 
     // --- Export CSV ---
@@ -360,39 +386,8 @@ public class ManageEventInfoListFragment extends Fragment {
             return;
         }
 
-        new Thread(() -> {
-            StringBuilder sb = new StringBuilder();
-            sb.append("Name,Email,Status\n");
-
-            for (RegistrationHistory history : snapshot) {
-                if (history == null || history.getUserId() == null) continue;
-
-                String userId = history.getUserId().trim();
-                if (userId.isEmpty()) continue;
-
-                User user = userService.getUserById(userId);
-
-                String name = "";
-                String email = "";
-
-                if (user != null) {
-                    if (user.getName() != null && !user.getName().trim().isEmpty()) {
-                        name = user.getName().trim();
-                    } else if (user.getUsername() != null && !user.getUsername().trim().isEmpty()) {
-                        name = user.getUsername().trim();
-                    }
-
-                    if (user.getUsername() != null && !user.getUsername().trim().isEmpty()) {
-                        email = user.getUsername().trim();
-                    }
-                }
-
-                sb.append(escapeCsv(name)).append(",")
-                        .append(escapeCsv(email)).append(",")
-                        .append(statusFilter != null ? statusFilter.name() : "")
-                        .append("\n");
-            }
-
+        final boolean complete = !hasMore;
+        io.execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.NORMAL, () -> {
             File dir = requireContext().getExternalFilesDir(null);
             if (dir == null) {
                 dir = requireContext().getFilesDir();
@@ -406,7 +401,9 @@ public class ManageEventInfoListFragment extends Fragment {
             File csvFile = new File(dir, fileName);
 
             try (FileWriter writer = new FileWriter(csvFile)) {
-                writer.write(sb.toString());
+                // Rows are streamed to the file; the entrants' profiles come from one bulk read, not one per row
+                EntrantCsv.write(writer, loadAllRegistrations(snapshot, complete), userService::getUsersByIds,
+                        statusFilter != null ? statusFilter.name() : "");
                 writer.flush();
 
                 if (isAdded()) {
@@ -429,15 +426,6 @@ public class ManageEventInfoListFragment extends Fragment {
                     );
                 }
             }
-        }).start();
-    }
-
-    private String escapeCsv(String value) {
-        if (value == null) return "";
-        String v = value.replace("\"", "\"\"");
-        if (v.contains(",") || v.contains("\"") || v.contains("\n")) {
-            return "\"" + v + "\"";
-        }
-        return v;
+        });
     }
 }
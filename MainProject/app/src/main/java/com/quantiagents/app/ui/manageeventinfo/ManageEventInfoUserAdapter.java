@@ -13,14 +13,13 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.quantiagents.app.App;
 import com.quantiagents.app.Constants.constant;
 import com.quantiagents.app.R;
+import com.quantiagents.app.Repository.TaskScheduler;
 import com.quantiagents.app.Services.UserService;
 import com.quantiagents.app.models.RegistrationHistory;
 import com.quantiagents.app.models.User;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * Adapter for the WAITING / SELECTED / CONFIRMED / CANCELLED lists
@@ -47,7 +46,7 @@ public class ManageEventInfoUserAdapter
     }
 
     private final List<RegistrationHistory> registrations = new ArrayList<>();
-    private final ExecutorService io = Executors.newSingleThreadExecutor();
+    private final TaskScheduler.Scope io = TaskScheduler.getInstance().scope("ManageEventInfoUserAdapter");
     private UserService userService;
 
     // For showing/hiding the trash icon
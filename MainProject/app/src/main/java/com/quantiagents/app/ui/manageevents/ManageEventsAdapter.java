@@ -14,7 +14,9 @@ import com.quantiagents.app.R;
 import com.quantiagents.app.models.Event;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * RecyclerView adapter for the "My Organized Events" list.
@@ -37,6 +39,8 @@ public class ManageEventsAdapter extends RecyclerView.Adapter<ManageEventsAdapte
     }
 
     private final List<Event> data = new ArrayList<>();
+    // Event ID -> waiting list size from the sharded counters; absent means nobody is waiting
+    private final Map<String, Long> waitingCounts = new HashMap<>();
     private final OnManageEventInfoClickListener listener;
 
     public ManageEventsAdapter(@NonNull OnManageEventInfoClickListener listener) {
@@ -82,7 +86,8 @@ public class ManageEventsAdapter extends RecyclerView.Adapter<ManageEventsAdapte
         String statusText = event.getStatus() == null ? "" : String.valueOf(event.getStatus());
         holder.status.setText(statusText);
 
-        long waitingCount = event.getWaitingList() == null ? 0L : event.getWaitingList().size();
+        Long counted = waitingCounts.get(event.getEventId());
+        long waitingCount = counted != null ? counted : 0;
         holder.waitingLine.setText("Waiting list: " + waitingCount + " entrants");
 
         long capacity = (long) event.getEventCapacity();
@@ -120,4 +125,13 @@ public class ManageEventsAdapter extends RecyclerView.Adapter<ManageEventsAdapte
         data.addAll(events);
         notifyDataSetChanged();
     }
+
+    /**
+     * Replaces the waiting list sizes shown on the rows.
+     */
+    public void setWaitingCounts(@NonNull Map<String, Long> counts) {
+        waitingCounts.clear();
+        waitingCounts.putAll(counts);
+        notifyDataSetChanged();
+    }
 }
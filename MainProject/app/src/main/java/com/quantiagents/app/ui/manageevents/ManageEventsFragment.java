@@ -22,10 +22,12 @@ import com.journeyapps.barcodescanner.BarcodeEncoder;
 import com.quantiagents.app.App;
 import com.quantiagents.app.Constants.constant;
 import com.quantiagents.app.R;
+import com.quantiagents.app.Repository.TaskScheduler;
 import com.quantiagents.app.Services.EventService;
 import com.quantiagents.app.Services.NotificationService;
 import com.quantiagents.app.Services.QRCodeService;
 import com.quantiagents.app.Services.RegistrationHistoryService;
+import com.quantiagents.app.Services.RosterReconciler;
 import com.quantiagents.app.Services.UserService;
 import com.quantiagents.app.models.Event;
 import com.quantiagents.app.models.Notification;
@@ -39,6 +41,7 @@ import android.widget.ImageView;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Screen that shows all events organized by the current user.
@@ -62,6 +65,8 @@ public class ManageEventsFragment extends Fragment
     private QRCodeService qrCodeService;
     private RegistrationHistoryService registrationHistoryService;
     private NotificationService notificationService;
+    private RosterReconciler rosterReconciler;
+    private final TaskScheduler.Scope io = TaskScheduler.getInstance().scope(this, "ManageEventsFragment");
 
     public static ManageEventsFragment newInstance() {
         return new ManageEventsFragment();
@@ -90,6 +95,7 @@ public class ManageEventsFragment extends Fragment
         qrCodeService = app.locator().qrCodeService();
         registrationHistoryService = app.locator().registrationHistoryService();
         notificationService = app.locator().notificationService();
+        rosterReconciler = app.locator().rosterReconciler();
 
         totalEventsValue = view.findViewById(R.id.text_total_events_value);
         progressBar = view.findViewById(R.id.progress_manage_events);
@@ -166,6 +172,27 @@ public class ManageEventsFragment extends Fragment
         emptyView.setVisibility(View.GONE);
         recyclerView.setVisibility(View.VISIBLE);
         adapter.submit(events);
+
+        List<String> ids = new ArrayList<>(events.size());
+        for (Event event : events) {
+            ids.add(event.getEventId());
+        }
+        // Waiting list sizes come from the sharded counters, like Browse and the details screen
+        io.execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.NORMAL, () -> {
+            showWaitingCounts(registrationHistoryService.getWaitingCounts(ids));
+            // Repair any counters that drifted from the registrations, then refresh the rows
+            int repaired = rosterReconciler.reconcileEvents(events);
+            if (repaired > 0) {
+                showWaitingCounts(registrationHistoryService.getWaitingCounts(ids));
+            }
+        });
+    }
+
+    private void showWaitingCounts(@NonNull Map<String, Long> counts) {
+        if (!isAdded()) return;
+        requireActivity().runOnUiThread(() -> {
+            if (isAdded()) adapter.setWaitingCounts(counts);
+        });
     }
 
     private void showLoading(boolean loading) {
@@ -215,7 +242,7 @@ public class ManageEventsFragment extends Fragment
             return;
         }
 
-        new Thread(() -> {
+        io.execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.NORMAL, () -> {
             List<QRCode> codes;
             try {
                 codes = qrCodeService.getQRCodesByEventId(eventId);
@@ -240,7 +267,7 @@ public class ManageEventsFragment extends Fragment
                     showQrDialog(finalQrValue, event.getTitle());
                 }
             });
-        }).start();
+        });
     }
 
     /**
@@ -282,7 +309,7 @@ public class ManageEventsFragment extends Fragment
 
         showLoading(true);
 
-        new Thread(() -> {
+        TaskScheduler.getInstance().execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.HIGH, "ManageEventsFragment", () -> {
             try {
                 String eventId = event.getEventId();
                 String organizerId = event.getOrganizerId();
@@ -360,7 +387,7 @@ public class ManageEventsFragment extends Fragment
                             Toast.LENGTH_LONG).show();
                 });
             }
-        }).start();
+        });
     }
 
     // ------------------------------------------------------------------------
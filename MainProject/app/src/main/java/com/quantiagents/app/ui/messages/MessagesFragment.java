@@ -20,6 +20,7 @@ import androidx.swiperefreshlayout.widget.SwipeRefreshLayout;
 import com.quantiagents.app.App;
 import com.quantiagents.app.Constants.constant;
 import com.quantiagents.app.R;
+import com.quantiagents.app.Repository.TaskScheduler;
 import com.quantiagents.app.Services.BadgeService;
 import com.quantiagents.app.Services.ChatService;
 import com.quantiagents.app.Services.EventService;
@@ -36,8 +37,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -50,7 +49,7 @@ public class MessagesFragment extends Fragment implements ChatListAdapter.OnChat
     private UserService userService;
     private EventService eventService;
     private RegistrationHistoryService registrationHistoryService;
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final TaskScheduler.Scope executor = TaskScheduler.getInstance().scope(this, "MessagesFragment");
 
     private SwipeRefreshLayout swipeRefreshLayout;
     private RecyclerView recyclerView;
@@ -193,7 +192,7 @@ public class MessagesFragment extends Fragment implements ChatListAdapter.OnChat
                                 Log.d("MessagesFragment", "Displaying " + chats.size() + " chats");
                                 
                                 // Update app icon badge with unread messages
-                                BadgeService badgeService = new BadgeService(requireContext());
+                                BadgeService badgeService = ((App) requireActivity().getApplication()).locator().badgeService();
                                 badgeService.updateBadgeCount();
                                 
                                 // Update navigation menu badges
@@ -509,10 +508,5 @@ public class MessagesFragment extends Fragment implements ChatListAdapter.OnChat
         }
     }
 
-    @Override
-    public void onDestroy() {
-        super.onDestroy();
-        executor.shutdownNow();
-    }
 }
 
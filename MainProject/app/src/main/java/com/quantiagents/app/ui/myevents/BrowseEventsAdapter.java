@@ -11,6 +11,7 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.android.material.button.MaterialButton;
 import com.quantiagents.app.R;
+import com.quantiagents.app.Repository.TaskScheduler;
 import com.quantiagents.app.models.Event;
 import com.quantiagents.app.Services.UserService;
 
@@ -191,7 +192,7 @@ public class BrowseEventsAdapter extends RecyclerView.Adapter<BrowseEventsAdapte
             String organizerId = e.getOrganizerId();
             if (organizerId != null && !organizerId.isEmpty()) {
                 textOrganizer.setText("Organizer: Loading...");
-                new Thread(() -> {
+                TaskScheduler.getInstance().execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.NORMAL, "BrowseEventsAdapter", () -> {
                     try {
                         com.quantiagents.app.models.User orgUser = userService.getUserById(organizerId);
                         String name = (orgUser != null && orgUser.getName() != null) ? orgUser.getName() : "Unknown";
@@ -199,7 +200,7 @@ public class BrowseEventsAdapter extends RecyclerView.Adapter<BrowseEventsAdapte
                     } catch (Exception ex) {
                         textOrganizer.post(() -> textOrganizer.setText("Organizer: Unknown"));
                     }
-                }).start();
+                });
             } else {
                 textOrganizer.setText("Organizer: Unknown");
             }
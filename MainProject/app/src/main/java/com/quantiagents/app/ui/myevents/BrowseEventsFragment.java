@@ -3,6 +3,7 @@ package com.quantiagents.app.ui.myevents;
 import android.annotation.SuppressLint;
 import android.app.DatePickerDialog;
 import android.os.Bundle;
+import android.os.Trace;
 import android.text.Editable;
 import android.text.TextUtils;
 import android.text.TextWatcher;
@@ -21,7 +22,10 @@ import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.core.content.ContextCompat;
 import com.google.android.gms.location.FusedLocationProviderClient;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
 import com.google.android.gms.location.LocationServices;
+import com.quantiagents.app.Repository.TaskScheduler;
 import com.quantiagents.app.Services.GeoLocationService;
 import com.quantiagents.app.models.GeoLocation;
 
@@ -43,20 +47,22 @@ import com.quantiagents.app.R;
 import com.quantiagents.app.Services.EventService;
 import com.quantiagents.app.Services.NotificationService;
 import com.quantiagents.app.Services.RegistrationHistoryService;
+import com.quantiagents.app.Services.StartupPipeline;
 import com.quantiagents.app.Services.UserService;
 import com.quantiagents.app.models.Event;
 import com.quantiagents.app.models.Notification;
 import com.quantiagents.app.models.RegistrationHistory;
 import com.quantiagents.app.models.User;
+import com.quantiagents.core.EventFilter;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Map;
 
 /**
  * Fragment that displays a browseable list of events with search and filter capabilities.
@@ -78,8 +84,12 @@ public class BrowseEventsFragment extends Fragment implements BrowseEventsAdapte
     private RegistrationHistoryService regService;
     private UserService userService;
     private NotificationService notificationService;
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final TaskScheduler.Scope executor = TaskScheduler.getInstance().scope(this, "BrowseEventsFragment");
     private GeoLocationService geoLocationService;
+    private StartupPipeline startupPipeline;
+    private boolean firstFrameReported;
+    // Bumped by every loadEvents() so a slower, older load can't overwrite a refresh (main thread only)
+    private int loadGeneration;
     private FusedLocationProviderClient fusedLocationClient;
     private ActivityResultLauncher<String[]> locationPermissionLauncher;
     private Event pendingEvent;
@@ -94,6 +104,8 @@ public class BrowseEventsFragment extends Fragment implements BrowseEventsAdapte
     private MaterialButton filterButton;
 
     private final List<Event> allEvents = new ArrayList<>();
+    // Waiting list sizes from the sharded counters, by event id
+    private final Map<String, Long> waitingCounts = new HashMap<>();
     private BrowseEventsAdapter adapter;
 
     private static Date lastView;
@@ -118,6 +130,7 @@ public class BrowseEventsFragment extends Fragment implements BrowseEventsAdapte
         regService = app.locator().registrationHistoryService();
         userService = app.locator().userService();
         notificationService = app.locator().notificationService();
+        startupPipeline = app.locator().startupPipeline();
 
         userService.getCurrentUser(user -> {
             if (user != null) {
@@ -173,16 +186,69 @@ public class BrowseEventsFragment extends Fragment implements BrowseEventsAdapte
 
     private void loadEvents() {
         progress.setVisibility(View.VISIBLE);
+        int generation = ++loadGeneration;
+        // On a cold start the first page has been loading since Splash; the rest is read once it is drawn
+        Task<StartupPipeline.Catalogue> prefetched = startupPipeline.takeCatalogue();
         executor.execute(() -> {
-            List<Event> fetched = eventService.getAllEvents();
+            StartupPipeline.Catalogue catalogue = null;
+            if (prefetched != null) {
+                try {
+                    catalogue = Tasks.await(prefetched);
+                } catch (Exception e) {
+                    Log.w("App", "Startup catalogue failed, loading it again", e);
+                }
+            }
+            if (catalogue == null) {
+                catalogue = startupPipeline.loadCatalogue();
+            }
+            bindCatalogue(catalogue, false, generation);
+            List<Event> loaded = catalogue.getEvents();
+            if (!catalogue.isComplete() && !loaded.isEmpty()) {
+                String lastId = loaded.get(loaded.size() - 1).getEventId();
+                bindCatalogue(startupPipeline.loadCatalogueAfter(lastId), true, generation);
+            }
+        });
+    }
+
+    /**
+     * Shows a loaded catalogue, or appends the rest of the catalogue to the first page.
+     * Dropped if another load started since.
+     */
+    private void bindCatalogue(StartupPipeline.Catalogue loaded, boolean append, int generation) {
+        if (!isAdded()) {
+            return;
+        }
+        requireActivity().runOnUiThread(() -> {
+            if (generation != loadGeneration) {
+                return;
+            }
+            Trace.beginSection("BrowseEvents.bind");
+            if (!append) {
+                progress.setVisibility(View.GONE);
+                swipe.setRefreshing(false);
+                allEvents.clear();
+                waitingCounts.clear();
+            }
+            allEvents.addAll(loaded.getEvents());
+            waitingCounts.putAll(loaded.getWaitingCounts());
+            filter();
+            Trace.endSection();
+            reportFirstFrame();
+        });
+    }
+
+    /**
+     * Tells the startup pipeline (and the system, for time-to-full-display) once the first list has been drawn.
+     */
+    private void reportFirstFrame() {
+        if (firstFrameReported) {
+            return;
+        }
+        firstFrameReported = true;
+        list.post(() -> {
+            startupPipeline.reportFirstFrame("BrowseEvents");
             if (isAdded()) {
-                requireActivity().runOnUiThread(() -> {
-                    progress.setVisibility(View.GONE);
-                    swipe.setRefreshing(false);
-                    allEvents.clear();
-                    if (fetched != null) allEvents.addAll(fetched);
-                    filter();
-                });
+                requireActivity().reportFullyDrawn();
             }
         });
     }
@@ -254,51 +320,16 @@ public class BrowseEventsFragment extends Fragment implements BrowseEventsAdapte
 
     /**
      * Filters the allEvents list based on search query and active filters.
+     * Title search, category, start date (on or after) and availability (open and waiting list not full).
      */
     private void filter() {
-        String query = search.getText().toString().toLowerCase().trim();
-        List<Event> filtered = new ArrayList<>();
-
-        for (Event e : allEvents) {
-            // 1. Text Search (Title)
-            boolean matchesSearch = query.isEmpty() ||
-                    (e.getTitle() != null && e.getTitle().toLowerCase().contains(query));
-
-            // 2. Category Filter
-            boolean matchesCategory = filterCategory.isEmpty() ||
-                    (e.getCategory() != null && e.getCategory().toLowerCase().contains(filterCategory.toLowerCase()));
-
-            // 3. Date Filter (Events starting on or after filterDate)
-            boolean matchesDate = filterDate == null ||
-                    (e.getEventStartDate() != null && !e.getEventStartDate().before(filterDate));
-
-            // 4. Availability Filter
-            boolean matchesAvail = !filterAvailableOnly || isAvailable(e);
-
-            if (matchesSearch && matchesCategory && matchesDate && matchesAvail) {
-                filtered.add(e);
-            }
-        }
+        EventFilter eventFilter = new EventFilter(search.getText().toString(), filterCategory, filterDate, filterAvailableOnly);
+        List<Event> filtered = eventFilter.apply(allEvents, waitingCounts, BrowseEventsFragment::isOpen);
 
         adapter.replace(filtered);
         empty.setVisibility(filtered.isEmpty() ? View.VISIBLE : View.GONE);
     }
 
-    private boolean isAvailable(Event e) {
-        // Must be open
-        if (!isOpen(e)) return false;
-
-        // Must not be full (Waiting list limit check)
-        double limit = e.getWaitingListLimit();
-        // If limit > 0, check current count
-        if (limit > 0) {
-            int currentCount = e.getWaitingList() != null ? e.getWaitingList().size() : 0;
-            if (currentCount >= limit) {
-                return false;
-            }
-        }
-        return true;
-    }
     @SuppressLint("MissingPermission")
     @Override
     public void onJoinWaitlist(@NonNull Event event) {
@@ -331,7 +362,8 @@ public class BrowseEventsFragment extends Fragment implements BrowseEventsAdapte
                         }
                         fusedLocationClient.getLastLocation()
                                 .addOnSuccessListener(loc -> {
-                                    executor.execute(() -> {
+                                    // Unscoped: a join the user started finishes even if they leave the screen
+                                    TaskScheduler.getInstance().execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.HIGH, "BrowseEventsFragment", () -> {
                                         RegistrationHistory existing = regService.getRegistrationHistoryByEventIdAndUserId(eventId, userId);
 
                                         if (existing != null) {
@@ -349,14 +381,8 @@ public class BrowseEventsFragment extends Fragment implements BrowseEventsAdapte
                                                 new Date()
                                         );
 
-                                        regService.saveRegistrationHistory(newReg,
+                                        regService.joinWaitlist(event, newReg,
                                                 aVoid -> {
-                                                    if (event.getWaitingList() == null) event.setWaitingList(new ArrayList<>());
-                                                    if (!event.getWaitingList().contains(userId)) {
-                                                        event.getWaitingList().add(userId);
-                                                        eventService.updateEvent(event, v -> {}, e -> Log.e("BrowseEvents", "Failed to sync waiting list", e));
-                                                    }
-
                                                     // NEW: save geo point if required and we have a location
                                                     if (event.isGeoLocationOn() && loc != null && geoLocationService != null) {
                                                         GeoLocation geo = new GeoLocation(loc.getLatitude(), loc.getLongitude(), userId, eventId);
@@ -374,7 +400,7 @@ public class BrowseEventsFragment extends Fragment implements BrowseEventsAdapte
                                                 e -> {
                                                     if (isAdded()) requireActivity().runOnUiThread(() -> {
                                                         progress.setVisibility(View.GONE);
-                                                        Toast.makeText(getContext(), "Failed to join", Toast.LENGTH_SHORT).show();
+                                                        Toast.makeText(getContext(), e instanceof IllegalStateException ? e.getMessage() : "Failed to join", Toast.LENGTH_SHORT).show();
                                                     });
                                                 });
                                     });
@@ -463,7 +489,8 @@ public class BrowseEventsFragment extends Fragment implements BrowseEventsAdapte
         String userId = user.getUserId();
         String eventId = event.getEventId();
 
-        executor.execute(() -> {
+        // Unscoped: a join the user started finishes even if they leave the screen
+        TaskScheduler.getInstance().execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.HIGH, "BrowseEventsFragment", () -> {
             if (event.isGeoLocationOn() && loc == null) {
                 if (isAdded()) {
                     requireActivity().runOnUiThread(() -> {
@@ -489,14 +516,8 @@ public class BrowseEventsFragment extends Fragment implements BrowseEventsAdapte
                     new Date()
             );
 
-            regService.saveRegistrationHistory(newReg,
+            regService.joinWaitlist(event, newReg,
                     aVoid -> {
-                        if (event.getWaitingList() == null) event.setWaitingList(new ArrayList<>());
-                        if (!event.getWaitingList().contains(userId)) {
-                            event.getWaitingList().add(userId);
-                            eventService.updateEvent(event, v -> {}, e -> Log.e("BrowseEvents", "Failed to sync waiting list", e));
-                        }
-
                         if (event.isGeoLocationOn() && loc != null && geoLocationService != null) {
                             GeoLocation geo = new GeoLocation(loc.getLatitude(), loc.getLongitude(), userId, eventId);
                             geoLocationService.saveGeoLocation(geo, id -> {}, err -> {});
@@ -514,7 +535,7 @@ public class BrowseEventsFragment extends Fragment implements BrowseEventsAdapte
                     e -> {
                         if (isAdded()) requireActivity().runOnUiThread(() -> {
                             progress.setVisibility(View.GONE);
-                            Toast.makeText(getContext(), "Failed to join", Toast.LENGTH_SHORT).show();
+                            Toast.makeText(getContext(), e instanceof IllegalStateException ? e.getMessage() : "Failed to join", Toast.LENGTH_SHORT).show();
                         });
                     });
         });
@@ -584,9 +605,4 @@ public class BrowseEventsFragment extends Fragment implements BrowseEventsAdapte
         );
     }
 
-    @Override
-    public void onDestroy() {
-        super.onDestroy();
-        executor.shutdown();
-    }
 }
\ No newline at end of file
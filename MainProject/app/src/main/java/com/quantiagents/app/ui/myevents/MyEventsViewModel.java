@@ -11,6 +11,7 @@ import androidx.lifecycle.MutableLiveData;
 
 import com.quantiagents.app.App;
 import com.quantiagents.app.Constants.constant;
+import com.quantiagents.app.Repository.TaskScheduler;
 import com.quantiagents.app.Services.ChatService;
 import com.quantiagents.app.Services.EventService;
 import com.quantiagents.app.Services.NotificationService;
@@ -25,8 +26,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * ViewModel for MyEventFragment that manages user's registered events.
@@ -41,7 +40,7 @@ public class MyEventsViewModel extends AndroidViewModel {
     private final EventService eventService;
     private final NotificationService notificationService;
     private final ChatService chatService;
-    private final ExecutorService executor;
+    private final TaskScheduler.Scope executor;
 
     private final MutableLiveData<Boolean> isLoading = new MutableLiveData<>(false);
     private final MutableLiveData<String> errorMessage = new MutableLiveData<>();
@@ -62,9 +61,9 @@ public class MyEventsViewModel extends AndroidViewModel {
         this.userService = app.locator().userService();
         this.regService = app.locator().registrationHistoryService();
         this.eventService = app.locator().eventService();
-        this.notificationService = new NotificationService(application);
+        this.notificationService = app.locator().notificationService();
         this.chatService = app.locator().chatService();
-        this.executor = Executors.newSingleThreadExecutor();
+        this.executor = TaskScheduler.getInstance().scope(TAG);
     }
 
     /**
@@ -226,20 +225,9 @@ public class MyEventsViewModel extends AndroidViewModel {
         userService.getCurrentUser(
                 user -> {
                     if (user == null) return;
-                    regService.deleteRegistrationHistory(eventId, user.getUserId(),
+                    // Deletes the registration and decrements the waiting list counter together
+                    regService.leaveWaitlist(eventId, user.getUserId(),
                             aVoid -> {
-                                // BUG FIX: Sync Event waiting list remove if possible
-                                executor.execute(() -> {
-                                    try {
-                                        Event evt = eventService.getEventById(eventId);
-                                        if (evt != null && evt.getWaitingList() != null) {
-                                            if (evt.getWaitingList().remove(user.getUserId())) {
-                                                eventService.updateEvent(evt, v -> {}, e -> {});
-                                            }
-                                        }
-                                    } catch (Exception ignored) {}
-                                });
-
                                 loadData();
                                 if (onSuccess != null) onSuccess.run();
                             },
@@ -397,6 +385,6 @@ public class MyEventsViewModel extends AndroidViewModel {
     @Override
     protected void onCleared() {
         super.onCleared();
-        executor.shutdown();
+        executor.cancel();
     }
 }
\ No newline at end of file
@@ -19,6 +19,7 @@ import com.google.android.material.button.MaterialButton;
 import com.quantiagents.app.App;
 import com.quantiagents.app.Constants.constant;
 import com.quantiagents.app.R;
+import com.quantiagents.app.Repository.TaskScheduler;
 import com.quantiagents.app.Services.EventService;
 import com.quantiagents.app.Services.RegistrationHistoryService;
 import com.quantiagents.app.Services.UserService;
@@ -31,8 +32,6 @@ import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Locale;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * Fragment that displays details for a single event.
@@ -51,7 +50,7 @@ public class SingleEventFragment extends Fragment {
     private UserService userService;
     private EventService eventService;
     private RegistrationHistoryService regService;
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final TaskScheduler.Scope executor = TaskScheduler.getInstance().scope(this, "SingleEventFragment");
 
     private ProgressBar progress;
     private TextView title, statusChip, description;
@@ -153,9 +152,4 @@ public class SingleEventFragment extends Fragment {
         statusChip.setText(currentStatus != null ? currentStatus.toString() : "Unknown");
     }
 
-    @Override
-    public void onDestroy() {
-        super.onDestroy();
-        executor.shutdown();
-    }
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.quantiagents.app.Repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+public class DocumentReadsTest {
+
+    private static final String ID = "event1";
+
+    private long now;
+    private DocumentReads reads;
+    // Every fetch started, in order; completed by the tests
+    private final List<TaskCompletionSource<DocumentSnapshot>> fetches = new ArrayList<>();
+    private final Supplier<Task<DocumentSnapshot>> fetch = () -> {
+        TaskCompletionSource<DocumentSnapshot> source = new TaskCompletionSource<>();
+        fetches.add(source);
+        return source.getTask();
+    };
+
+    @Before
+    public void setUp() {
+        now = 1_000_000;
+        reads = new DocumentReads(() -> now);
+    }
+
+    @Test
+    public void concurrentReadsShareOneFetch() {
+        Task<DocumentSnapshot> first = reads.get(ID, fetch);
+        Task<DocumentSnapshot> second = reads.get(ID, fetch);
+
+        assertEquals(1, fetches.size());
+        assertSame(first, second);
+
+        DocumentSnapshot snapshot = mock(DocumentSnapshot.class);
+        fetches.get(0).setResult(snapshot);
+        assertSame(snapshot, first.getResult());
+        assertSame(snapshot, second.getResult());
+    }
+
+    @Test
+    public void missIsServedFromCacheUntilItExpires() {
+        DocumentSnapshot missing = mock(DocumentSnapshot.class);
+        reads.get(ID, fetch);
+        fetches.get(0).setResult(missing);
+
+        now += DocumentReads.MISSING_TTL_MS - 1;
+        Task<DocumentSnapshot> cached = reads.get(ID, fetch);
+        assertEquals(1, fetches.size());
+        assertTrue(cached.isComplete());
+        assertSame(missing, cached.getResult());
+
+        now += 1;
+        reads.get(ID, fetch);
+        assertEquals(2, fetches.size());
+    }
+
+    @Test
+    public void localWriteClearsCachedMiss() {
+        reads.get(ID, fetch);
+        fetches.get(0).setResult(mock(DocumentSnapshot.class));
+
+        TaskCompletionSource<Void> write = new TaskCompletionSource<>();
+        reads.afterWrite(ID, write.getTask());
+        reads.get(ID, fetch);
+        assertEquals(2, fetches.size());
+
+        // The completed write invalidates again, so the read racing it is not reused either
+        write.setResult(null);
+        reads.get(ID, fetch);
+        assertEquals(3, fetches.size());
+    }
+
+    @Test
+    public void missReadBeforeWriteIsNotCached() {
+        Task<DocumentSnapshot> beforeWrite = reads.get(ID, fetch);
+        reads.afterWrite(ID, new TaskCompletionSource<Void>().getTask());
+        fetches.get(0).setResult(mock(DocumentSnapshot.class));
+
+        Task<DocumentSnapshot> afterWrite = reads.get(ID, fetch);
+        assertEquals(2, fetches.size());
+        assertNotSame(beforeWrite, afterWrite);
+        assertFalse(afterWrite.isComplete());
+    }
+
+    @Test
+    public void missesAreCachedPerDocument() {
+        reads.get(ID, fetch);
+        fetches.get(0).setResult(mock(DocumentSnapshot.class));
+
+        reads.get("event2", fetch);
+        assertEquals(2, fetches.size());
+        reads.get(ID, fetch);
+        assertEquals(2, fetches.size());
+    }
+}
@@ -0,0 +1,256 @@
+package com.quantiagents.app.Repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.LifecycleRegistry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TaskSchedulerTest {
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    // One thread per pool, so a single blocking task holds everything else in the queue
+    private TaskScheduler scheduler;
+    private CountDownLatch release;
+    private CountDownLatch blocking;
+
+    @Before
+    public void setUp() {
+        scheduler = new TaskScheduler(1, 1);
+        release = new CountDownLatch(1);
+        blocking = new CountDownLatch(1);
+    }
+
+    @Test
+    public void queuedTasksStartByPriorityThenSubmissionOrder() throws InterruptedException {
+        block("blocker");
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        scheduler.execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.LOW, "test", () -> order.add("low"));
+        scheduler.execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.NORMAL, "test", () -> order.add("normal"));
+        scheduler.execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.HIGH, "test", () -> order.add("high1"));
+        scheduler.execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.HIGH, "test", () -> order.add("high2"));
+
+        release.countDown();
+        drain();
+        assertEquals(Arrays.asList("high1", "high2", "normal", "low"), order);
+    }
+
+    @Test
+    public void cancellingScopeDropsQueuedAndInterruptsRunning() throws InterruptedException {
+        TaskScheduler.Scope scope = scheduler.scope("screen");
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        scope.execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.NORMAL, () -> {
+            running.countDown();
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS * 2));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        AtomicBoolean queuedRan = new AtomicBoolean();
+        TaskScheduler.Cancellable queued = scope.execute(() -> queuedRan.set(true));
+        AtomicBoolean otherRan = new AtomicBoolean();
+        scheduler.execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.LOW, "other", () -> otherRan.set(true));
+        assertTrue(running.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        scope.cancel();
+        assertTrue(scope.isCancelled());
+        assertTrue(queued.isCancelled());
+        assertTrue("Running task not interrupted", interrupted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        drain();
+
+        assertFalse(queuedRan.get());
+        // Tasks outside the scope are unaffected
+        assertTrue(otherRan.get());
+        TaskScheduler.Metrics metrics = scheduler.getMetrics();
+        assertEquals(2, metrics.getSubmitted("screen"));
+        assertEquals(2, metrics.getCancelled("screen"));
+        assertEquals(0, metrics.getQueued("screen"));
+        assertEquals(0, metrics.getRunning("screen"));
+    }
+
+    @Test
+    public void cancelledScopeDropsNewTasks() throws InterruptedException {
+        TaskScheduler.Scope scope = scheduler.scope("closed");
+        scope.cancel();
+        AtomicBoolean ran = new AtomicBoolean();
+
+        TaskScheduler.Cancellable task = scope.execute(() -> ran.set(true));
+        scope.executor(TaskScheduler.Pool.CPU, TaskScheduler.Priority.HIGH).execute(() -> ran.set(true));
+        drain();
+
+        assertTrue(task.isCancelled());
+        assertFalse(ran.get());
+        assertEquals(0, scheduler.getMetrics().getSubmitted("closed"));
+    }
+
+    @Test
+    public void scheduledTasksRunAfterTheirDelayUnlessCancelled() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+        long start = System.nanoTime();
+        scheduler.schedule(TaskScheduler.Pool.IO, TaskScheduler.Priority.NORMAL, "later", 50, ran::countDown);
+        assertTrue(ran.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 50);
+
+        TaskScheduler.Scope scope = scheduler.scope("debounced");
+        AtomicBoolean cancelledRan = new AtomicBoolean();
+        TaskScheduler.Cancellable cancelled = scope.schedule(TaskScheduler.Pool.IO, TaskScheduler.Priority.NORMAL,
+                50, () -> cancelledRan.set(true));
+        AtomicBoolean scopeRan = new AtomicBoolean();
+        scope.schedule(TaskScheduler.Pool.CPU, TaskScheduler.Priority.NORMAL, 50, () -> scopeRan.set(true));
+        cancelled.cancel();
+        scope.cancel();
+        Thread.sleep(150);
+        drain();
+
+        assertFalse(cancelledRan.get());
+        assertFalse(scopeRan.get());
+        // Tasks dropped while waiting never reach a pool
+        assertEquals(0, scheduler.getMetrics().getSubmitted("debounced"));
+    }
+
+    @Test
+    public void serialExecutorRunsOneTaskAtATimeInOrder() throws InterruptedException {
+        TaskScheduler wide = new TaskScheduler(4, 1);
+        Executor serial = wide.serialExecutor(TaskScheduler.Pool.IO, TaskScheduler.Priority.NORMAL, "serial");
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger running = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(20);
+        for (int i = 0; i < 20; i++) {
+            int n = i;
+            serial.execute(() -> {
+                if (running.incrementAndGet() > 1) {
+                    overlapped.set(true);
+                }
+                order.add(n);
+                Thread.yield();
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        assertFalse(overlapped.get());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, (int) order.get(i));
+        }
+        // Each task is its own pool task
+        assertEquals(20, wide.getMetrics().getSubmitted("serial"));
+    }
+
+    @Test
+    public void scopedSerialExecutorDropsTasksOnceCancelled() throws InterruptedException {
+        block("blocker");
+        TaskScheduler.Scope scope = scheduler.scope("serial");
+        Executor serial = scope.serialExecutor(TaskScheduler.Pool.IO, TaskScheduler.Priority.NORMAL);
+        AtomicBoolean ran = new AtomicBoolean();
+        serial.execute(() -> ran.set(true));
+        serial.execute(() -> ran.set(true));
+        scope.cancel();
+        serial.execute(() -> ran.set(true));
+        release.countDown();
+        drain();
+
+        assertFalse(ran.get());
+        assertEquals(1, scheduler.getMetrics().getSubmitted("serial"));
+    }
+
+    @Test
+    public void destroyedOwnerCancelsItsScope() {
+        LifecycleOwner owner = new LifecycleOwner() {
+            final LifecycleRegistry lifecycle = LifecycleRegistry.createUnsafe(this);
+
+            @NonNull
+            @Override
+            public Lifecycle getLifecycle() {
+                return lifecycle;
+            }
+        };
+        LifecycleRegistry lifecycle = (LifecycleRegistry) owner.getLifecycle();
+        lifecycle.setCurrentState(Lifecycle.State.RESUMED);
+        TaskScheduler.Scope scope = scheduler.scope(owner, "fragment");
+        assertFalse(scope.isCancelled());
+
+        lifecycle.setCurrentState(Lifecycle.State.DESTROYED);
+        assertTrue(scope.isCancelled());
+        // A scope made for an owner that is already gone starts cancelled
+        assertTrue(scheduler.scope(owner, "fragment").isCancelled());
+    }
+
+    @Test
+    public void countsTasksPerTag() throws InterruptedException {
+        block("counted");
+        scheduler.execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.NORMAL, "counted", () -> {
+            throw new IllegalStateException("Expected by the test");
+        });
+        TaskScheduler.Cancellable dropped =
+                scheduler.execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.NORMAL, "counted", () -> { });
+
+        TaskScheduler.Metrics busy = scheduler.getMetrics();
+        assertEquals(3, busy.getSubmitted("counted"));
+        assertEquals(1, busy.getRunning("counted"));
+        assertEquals(2, busy.getQueued("counted"));
+        assertEquals(2, busy.getQueueDepth(TaskScheduler.Pool.IO));
+        assertEquals(1, busy.getActiveThreads(TaskScheduler.Pool.IO));
+
+        dropped.cancel();
+        release.countDown();
+        drain();
+
+        TaskScheduler.Metrics idle = scheduler.getMetrics();
+        assertTrue(idle.getTags().contains("counted"));
+        assertEquals(3, idle.getSubmitted("counted"));
+        assertEquals(0, idle.getRunning("counted"));
+        assertEquals(0, idle.getQueued("counted"));
+        assertEquals(1, idle.getCancelled("counted"));
+        assertEquals(1, idle.getFailed("counted"));
+        assertEquals(1, idle.getLargestThreads(TaskScheduler.Pool.IO));
+        // Unknown tags read as zero
+        assertEquals(0, idle.getSubmitted("unknown"));
+    }
+
+    /**
+     * Occupies the only I/O thread until {@link #release} is counted down.
+     */
+    private void block(String tag) throws InterruptedException {
+        scheduler.execute(TaskScheduler.Pool.IO, TaskScheduler.Priority.HIGH, tag, () -> {
+            blocking.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(blocking.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Waits until every task queued in either pool before this call has finished.
+     */
+    private void drain() throws InterruptedException {
+        for (TaskScheduler.Pool pool : TaskScheduler.Pool.values()) {
+            CountDownLatch done = new CountDownLatch(1);
+            scheduler.execute(pool, TaskScheduler.Priority.LOW, "drain", done::countDown);
+            assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+    }
+}
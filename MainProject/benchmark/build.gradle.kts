@@ -0,0 +1,39 @@
+plugins {
+    id("com.android.test")
+    id("androidx.baselineprofile")
+}
+
+android {
+    namespace = "com.quantiagents.benchmark"
+    compileSdk = 35
+
+    defaultConfig {
+        // Macrobenchmark needs API 28+; the generated profile still applies to :app down to its minSdk
+        minSdk = 28
+        targetSdk = 34
+        testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+
+        // Firestore emulator the seed data is written to (the host machine, as seen from an Android emulator).
+        // Override with -Pandroid.testInstrumentationRunnerArguments.firestoreHost=... for a physical device.
+        testInstrumentationRunnerArguments["firestoreHost"] = "10.0.2.2:8080"
+        testInstrumentationRunnerArguments["firestoreProject"] = "quanti-eventlotteryapp-4f10b"
+    }
+
+    compileOptions {
+        sourceCompatibility = JavaVersion.VERSION_17
+        targetCompatibility = JavaVersion.VERSION_17
+    }
+
+    targetProjectPath = ":app"
+    experimentalProperties["android.experimental.self-instrumenting"] = true
+}
+
+baselineProfile {
+    useConnectedDevices = true
+}
+
+dependencies {
+    implementation("androidx.test.ext:junit:1.1.5")
+    implementation("androidx.test.uiautomator:uiautomator:2.3.0")
+    implementation("androidx.benchmark:benchmark-macro-junit4:1.4.1")
+}
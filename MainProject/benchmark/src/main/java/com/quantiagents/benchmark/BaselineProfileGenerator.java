@@ -0,0 +1,54 @@
+package com.quantiagents.benchmark;
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+import androidx.test.uiautomator.UiDevice;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import kotlin.Unit;
+
+/**
+ * Generates the Baseline Profile :app ships with, from the same journeys the benchmarks measure:
+ * startup to Browse, scrolling the catalogue, the Messages list, and opening a chat.
+ * <p>
+ * Run with ./gradlew :app:generateBaselineProfile (with the Firestore emulator up); the plugin copies
+ * the result into app/src/release/generated/baselineProfiles.
+ * </p>
+ */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class BaselineProfileGenerator {
+
+    @Rule
+    public final BaselineProfileRule baselineProfileRule = new BaselineProfileRule();
+
+    @Test
+    public void generate() {
+        baselineProfileRule.collect(Journeys.PACKAGE,
+                15,
+                3,
+                null,
+                // The startup part also goes into the startup profile, which lays out the dex for cold start
+                true,
+                false,
+                className -> Boolean.TRUE,
+                scope -> {
+                    Journeys.prepare(scope);
+                    scope.pressHome();
+                    scope.startActivityAndWait();
+
+                    UiDevice device = scope.getDevice();
+                    Journeys.awaitBrowse(device);
+                    Journeys.fling(device, "recycler");
+                    Journeys.openMessages(device);
+                    Journeys.fling(device, "recycler_chats");
+                    Journeys.openFirstChat(device);
+                    Journeys.closeChat(device);
+                    return Unit.INSTANCE;
+                });
+    }
+}
@@ -0,0 +1,77 @@
+package com.quantiagents.benchmark;
+
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.TraceSectionMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.filters.LargeTest;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.UiDevice;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.List;
+
+import kotlin.Unit;
+
+/**
+ * Latency of opening a chat from the Messages screen until its messages are bound.
+ * <p>
+ * ChatFragment traces the open as the async section "ChatOpen" (ChatFragment.OPEN_TRACE), from view
+ * creation to the first bind of the message list; frame timing covers the transition itself.
+ * </p>
+ */
+@LargeTest
+@RunWith(Parameterized.class)
+public class ChatOpenBenchmark {
+
+    private static final int ITERATIONS = 10;
+    private static final String OPEN_TRACE = "ChatOpen";
+
+    @Rule
+    public final MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    private final CompilationMode compilationMode;
+
+    public ChatOpenBenchmark(CompilationMode compilationMode) {
+        this.compilationMode = compilationMode;
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> parameters() {
+        return Journeys.compilationModes();
+    }
+
+    @Test
+    public void openChat() {
+        benchmarkRule.measureRepeated(Journeys.PACKAGE,
+                Arrays.asList(
+                        new TraceSectionMetric(OPEN_TRACE, TraceSectionMetric.Mode.First.INSTANCE, OPEN_TRACE, true),
+                        new FrameTimingMetric()),
+                compilationMode,
+                null,
+                ITERATIONS,
+                scope -> {
+                    Journeys.prepare(scope);
+                    UiDevice device = scope.getDevice();
+                    if (device.hasObject(By.res(Journeys.PACKAGE, "recycler_messages"))) {
+                        // Back to the chat list the previous iteration opened the chat from
+                        Journeys.closeChat(device);
+                    } else {
+                        scope.killProcess();
+                        scope.startActivityAndWait();
+                        Journeys.awaitBrowse(device);
+                        Journeys.openMessages(device);
+                    }
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    Journeys.openFirstChat(scope.getDevice());
+                    return Unit.INSTANCE;
+                });
+    }
+}
@@ -0,0 +1,134 @@
+package com.quantiagents.benchmark;
+
+import android.os.SystemClock;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.MacrobenchmarkScope;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The user journeys the benchmarks and the Baseline Profile generator drive, written once so the
+ * measured paths and the profiled paths stay the same.
+ */
+final class Journeys {
+
+    static final String PACKAGE = "com.quantiagents.app";
+    private static final long TIMEOUT_MS = 10_000;
+
+    private Journeys() {}
+
+    /**
+     * The compilation modes every benchmark runs under: nothing precompiled (the first run after a
+     * sideload without a profile) and the Baseline Profile this module generates.
+     *
+     * @return JUnit parameters, one compilation mode each
+     */
+    static List<Object[]> compilationModes() {
+        return Arrays.asList(
+                new Object[]{new CompilationMode.None()},
+                new Object[]{new CompilationMode.Partial(BaselineProfileMode.Require, 0)});
+    }
+
+    /**
+     * Prepares the app for a run: the seeded data set is in place and the notification permission
+     * prompt (shown after the first frame on Android 13+) will not cover the screen.
+     *
+     * @param scope The benchmark scope
+     */
+    static void prepare(MacrobenchmarkScope scope) {
+        LocalBackend.seedOnce();
+        try {
+            scope.getDevice().executeShellCommand("pm grant " + PACKAGE + " android.permission.POST_NOTIFICATIONS");
+        } catch (IOException ignored) {
+            // Below Android 13 there is nothing to grant
+        }
+    }
+
+    /**
+     * Waits until Browse shows the seeded catalogue.
+     *
+     * @param device The device under test
+     */
+    static void awaitBrowse(UiDevice device) {
+        awaitItems(device, "recycler");
+    }
+
+    /**
+     * Opens the Messages screen from the navigation drawer and waits for the chat list.
+     *
+     * @param device The device under test
+     */
+    static void openMessages(UiDevice device) {
+        find(device, "toolbar_menu_button").click();
+        UiObject2 item = device.wait(Until.findObject(By.textStartsWith("Messages")), TIMEOUT_MS);
+        if (item == null) {
+            throw new AssertionError("Messages is not in the navigation drawer");
+        }
+        item.click();
+        awaitItems(device, "recycler_chats");
+    }
+
+    /**
+     * Opens the first chat of the Messages screen and waits for its messages.
+     *
+     * @param device The device under test
+     */
+    static void openFirstChat(UiDevice device) {
+        find(device, "card_chat").click();
+        awaitItems(device, "recycler_messages");
+    }
+
+    /**
+     * Leaves a chat and waits for the chat list again.
+     *
+     * @param device The device under test
+     */
+    static void closeChat(UiDevice device) {
+        device.pressBack();
+        awaitItems(device, "recycler_chats");
+    }
+
+    /**
+     * Flings a list down and back up.
+     *
+     * @param device The device under test
+     * @param resId  The resource name of the list's RecyclerView
+     */
+    static void fling(UiDevice device, String resId) {
+        UiObject2 list = find(device, resId);
+        // Keep the gesture clear of the system navigation areas
+        list.setGestureMargin(device.getDisplayWidth() / 5);
+        list.fling(Direction.DOWN);
+        device.waitForIdle();
+        list.fling(Direction.UP);
+        device.waitForIdle();
+    }
+
+    private static UiObject2 find(UiDevice device, String resId) {
+        UiObject2 found = device.wait(Until.findObject(By.res(PACKAGE, resId)), TIMEOUT_MS);
+        if (found == null) {
+            throw new AssertionError(resId + " did not appear");
+        }
+        return found;
+    }
+
+    private static void awaitItems(UiDevice device, String resId) {
+        UiObject2 list = find(device, resId);
+        long deadline = SystemClock.uptimeMillis() + TIMEOUT_MS;
+        while (list.getChildCount() == 0) {
+            if (SystemClock.uptimeMillis() > deadline) {
+                throw new AssertionError(resId + " stayed empty - was the local backend seeded?");
+            }
+            SystemClock.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.quantiagents.benchmark;
+
+import android.os.Bundle;
+import android.util.Log;
+
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seeds the local Firestore emulator the benchmark builds of the app talk to.
+ * <p>
+ * The data set is fixed, so every run measures the same work: one entrant whose device ID the
+ * benchmark builds pin (see the app's src/localBackend resources), a catalogue of open events and
+ * a set of event chats the entrant is a member of, each with a message history. Documents are
+ * written through the emulator's REST API in batched commits, so the seeding needs neither the
+ * Firebase SDK nor network access beyond the emulator.
+ * </p>
+ */
+public final class LocalBackend {
+
+    /** Device ID of the seeded entrant; must match local_backend_device_id in the app */
+    public static final String DEVICE_ID = "benchmark-device";
+    public static final String USER_ID = "benchmark-user";
+    public static final String ORGANIZER_ID = "benchmark-organizer";
+    public static final int EVENT_COUNT = 200;
+    public static final int CHAT_COUNT = 30;
+    public static final int MESSAGES_PER_CHAT = 60;
+
+    private static final String TAG = "Benchmark";
+    /** Firestore commits accept up to 500 writes */
+    private static final int BATCH_SIZE = 400;
+    private static final String[] CATEGORIES = {"Sports", "Music", "Education", "Arts", "Community"};
+
+    private static boolean seeded;
+
+    private final String host;
+    private final String project;
+    private JSONArray pending = new JSONArray();
+
+    private LocalBackend(String host, String project) {
+        this.host = host;
+        this.project = project;
+    }
+
+    /**
+     * Clears the emulator and writes the data set, once per instrumentation run.
+     * Configured by the firestoreHost and firestoreProject instrumentation arguments (see build.gradle.kts).
+     */
+    public static synchronized void seedOnce() {
+        if (seeded) {
+            return;
+        }
+        Bundle args = InstrumentationRegistry.getArguments();
+        LocalBackend backend = new LocalBackend(args.getString("firestoreHost", "10.0.2.2:8080"),
+                args.getString("firestoreProject", "quanti-eventlotteryapp-4f10b"));
+        try {
+            backend.clear();
+            backend.seed();
+        } catch (IOException | JSONException e) {
+            throw new IllegalStateException("Could not seed the Firestore emulator at " + backend.host
+                    + " - is it running (firebase emulators:start --only firestore)?", e);
+        }
+        seeded = true;
+    }
+
+    private void seed() throws IOException, JSONException {
+        long now = System.currentTimeMillis();
+
+        put("USER", USER_ID, new JSONObject()
+                .put("userId", string(USER_ID))
+                .put("deviceId", string(DEVICE_ID))
+                .put("name", string("Benchmark Entrant"))
+                .put("username", string("benchmark"))
+                .put("email", string("benchmark@example.com"))
+                .put("phone", string(""))
+                .put("notificationsOn", bool(false))
+                .put("createdOn", timestamp(now))
+                .put("role", string("ENTRANT")));
+
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            String eventId = eventId(i);
+            long eventStart = now + TimeUnit.DAYS.toMillis(21 + i % 30);
+            put("EVENT", eventId, new JSONObject()
+                    .put("eventId", string(eventId))
+                    .put("title", string(eventTitle(i)))
+                    .put("description", string("Seeded event " + i + " for benchmark runs."))
+                    .put("category", string(CATEGORIES[i % CATEGORIES.length]))
+                    .put("registrationStartDate", timestamp(now - TimeUnit.DAYS.toMillis(1)))
+                    .put("registrationEndDate", timestamp(now + TimeUnit.DAYS.toMillis(7 + i % 14)))
+                    .put("eventStartDate", timestamp(eventStart))
+                    .put("eventEndDate", timestamp(eventStart + TimeUnit.HOURS.toMillis(3)))
+                    .put("location", string("Hall " + (i % 12)))
+                    .put("cost", number(i % 4 * 5.0))
+                    .put("status", string("OPEN"))
+                    .put("organizerId", string(ORGANIZER_ID))
+                    .put("waitingListLimit", number(100))
+                    .put("eventCapacity", number(20))
+                    .put("geoLocationOn", bool(false))
+                    .put("selectedCount", integer(0))
+                    .put("confirmedCount", integer(0))
+                    .put("cancelledCount", integer(0))
+                    .put("firstLotteryDone", bool(false))
+                    .put("version", integer(0)));
+        }
+
+        for (int c = 0; c < CHAT_COUNT; c++) {
+            String chatId = String.format(Locale.ROOT, "bench-chat-%02d", c);
+            long start = now - TimeUnit.DAYS.toMillis(CHAT_COUNT - c);
+            long last = start + (MESSAGES_PER_CHAT - 1) * TimeUnit.MINUTES.toMillis(5);
+            put("CHAT", chatId, new JSONObject()
+                    .put("chatId", string(chatId))
+                    .put("eventId", string(eventId(c)))
+                    .put("eventName", string(eventTitle(c)))
+                    .put("memberIds", array(List.of(USER_ID, ORGANIZER_ID)))
+                    .put("createdAt", timestamp(start))
+                    .put("lastMessageTime", timestamp(last))
+                    // Everything read, so no unread badges change between iterations
+                    .put("lastReadTimestamps", map(new JSONObject().put(USER_ID, timestamp(last)))));
+
+            for (int m = 0; m < MESSAGES_PER_CHAT; m++) {
+                String messageId = String.format(Locale.ROOT, "%s-msg-%03d", chatId, m);
+                boolean fromUser = m % 3 == 0;
+                put("MESSAGE", messageId, new JSONObject()
+                        .put("messageId", string(messageId))
+                        .put("chatId", string(chatId))
+                        .put("senderId", string(fromUser ? USER_ID : ORGANIZER_ID))
+                        .put("senderName", string(fromUser ? "Benchmark Entrant" : "Organizer"))
+                        .put("text", string("Message " + m + " about " + eventTitle(c)
+                                + (m % 4 == 0 ? " - a longer line that wraps onto a second row in the bubble." : "")))
+                        .put("timestamp", timestamp(start + m * TimeUnit.MINUTES.toMillis(5))));
+            }
+        }
+        flush();
+        Log.i(TAG, "Seeded " + EVENT_COUNT + " events and " + CHAT_COUNT + " chats into " + host);
+    }
+
+    private static String eventId(int i) {
+        return String.format(Locale.ROOT, "bench-event-%03d", i);
+    }
+
+    private static String eventTitle(int i) {
+        return "Benchmark event " + i;
+    }
+
+    private void put(String collection, String id, JSONObject fields) throws IOException, JSONException {
+        pending.put(new JSONObject().put("update", new JSONObject()
+                .put("name", documentsPath() + "/" + collection + "/" + id)
+                .put("fields", fields)));
+        if (pending.length() >= BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException, JSONException {
+        if (pending.length() == 0) {
+            return;
+        }
+        request("POST", "/v1/" + documentsPath() + ":commit", new JSONObject().put("writes", pending).toString());
+        pending = new JSONArray();
+    }
+
+    private void clear() throws IOException {
+        request("DELETE", "/emulator/v1/" + documentsPath(), null);
+    }
+
+    private String documentsPath() {
+        return "projects/" + project + "/databases/(default)/documents";
+    }
+
+    private void request(String method, String path, String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://" + host + path).openConnection();
+        try {
+            connection.setRequestMethod(method);
+            // The emulator lets the "owner" token bypass security rules
+            connection.setRequestProperty("Authorization", "Bearer owner");
+            if (body != null) {
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", "application/json");
+                try (OutputStream out = connection.getOutputStream()) {
+                    out.write(body.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            int code = connection.getResponseCode();
+            if (code / 100 != 2) {
+                throw new IOException(method + " " + path + " failed with HTTP " + code);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static JSONObject string(String value) throws JSONException {
+        return new JSONObject().put("stringValue", value);
+    }
+
+    private static JSONObject integer(long value) throws JSONException {
+        // Firestore's REST API encodes 64-bit integers as strings
+        return new JSONObject().put("integerValue", Long.toString(value));
+    }
+
+    private static JSONObject number(double value) throws JSONException {
+        return new JSONObject().put("doubleValue", value);
+    }
+
+    private static JSONObject bool(boolean value) throws JSONException {
+        return new JSONObject().put("booleanValue", value);
+    }
+
+    private static JSONObject timestamp(long millis) throws JSONException {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.ROOT);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return new JSONObject().put("timestampValue", format.format(new Date(millis)));
+    }
+
+    private static JSONObject array(List<String> values) throws JSONException {
+        JSONArray items = new JSONArray();
+        for (String value : values) {
+            items.put(string(value));
+        }
+        return new JSONObject().put("arrayValue", new JSONObject().put("values", items));
+    }
+
+    private static JSONObject map(JSONObject fields) throws JSONException {
+        return new JSONObject().put("mapValue", new JSONObject().put("fields", fields));
+    }
+}
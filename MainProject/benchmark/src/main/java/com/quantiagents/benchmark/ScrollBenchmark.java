@@ -0,0 +1,81 @@
+package com.quantiagents.benchmark;
+
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.filters.LargeTest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Collections;
+import java.util.List;
+
+import kotlin.Unit;
+
+/**
+ * Frame timing while flinging the Browse catalogue and the Messages chat list.
+ */
+@LargeTest
+@RunWith(Parameterized.class)
+public class ScrollBenchmark {
+
+    private static final int ITERATIONS = 10;
+
+    @Rule
+    public final MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    private final CompilationMode compilationMode;
+
+    public ScrollBenchmark(CompilationMode compilationMode) {
+        this.compilationMode = compilationMode;
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> parameters() {
+        return Journeys.compilationModes();
+    }
+
+    @Test
+    public void browseFling() {
+        benchmarkRule.measureRepeated(Journeys.PACKAGE,
+                Collections.singletonList(new FrameTimingMetric()),
+                compilationMode,
+                null,
+                ITERATIONS,
+                scope -> {
+                    Journeys.prepare(scope);
+                    scope.killProcess();
+                    scope.startActivityAndWait();
+                    Journeys.awaitBrowse(scope.getDevice());
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    Journeys.fling(scope.getDevice(), "recycler");
+                    return Unit.INSTANCE;
+                });
+    }
+
+    @Test
+    public void messagesFling() {
+        benchmarkRule.measureRepeated(Journeys.PACKAGE,
+                Collections.singletonList(new FrameTimingMetric()),
+                compilationMode,
+                null,
+                ITERATIONS,
+                scope -> {
+                    Journeys.prepare(scope);
+                    scope.killProcess();
+                    scope.startActivityAndWait();
+                    Journeys.awaitBrowse(scope.getDevice());
+                    Journeys.openMessages(scope.getDevice());
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    Journeys.fling(scope.getDevice(), "recycler_chats");
+                    return Unit.INSTANCE;
+                });
+    }
+}
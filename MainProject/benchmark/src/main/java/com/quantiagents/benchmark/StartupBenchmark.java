@@ -0,0 +1,73 @@
+package com.quantiagents.benchmark;
+
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.filters.LargeTest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Collections;
+import java.util.List;
+
+import kotlin.Unit;
+
+/**
+ * Cold and warm start from the launcher to the Browse list in MainActivity.
+ * <p>
+ * The launcher opens SplashActivity, which hands over to MainActivity; timeToInitialDisplay covers the
+ * splash, timeToFullDisplay ends at the reportFullyDrawn() Browse makes once the catalogue is bound.
+ * </p>
+ */
+@LargeTest
+@RunWith(Parameterized.class)
+public class StartupBenchmark {
+
+    private static final int ITERATIONS = 10;
+
+    @Rule
+    public final MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    private final CompilationMode compilationMode;
+
+    public StartupBenchmark(CompilationMode compilationMode) {
+        this.compilationMode = compilationMode;
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> parameters() {
+        return Journeys.compilationModes();
+    }
+
+    @Test
+    public void coldStart() {
+        startup(StartupMode.COLD);
+    }
+
+    @Test
+    public void warmStart() {
+        startup(StartupMode.WARM);
+    }
+
+    private void startup(StartupMode startupMode) {
+        benchmarkRule.measureRepeated(Journeys.PACKAGE,
+                Collections.singletonList(new StartupTimingMetric()),
+                compilationMode,
+                startupMode,
+                ITERATIONS,
+                scope -> {
+                    Journeys.prepare(scope);
+                    scope.pressHome();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    scope.startActivityAndWait();
+                    Journeys.awaitBrowse(scope.getDevice());
+                    return Unit.INSTANCE;
+                });
+    }
+}
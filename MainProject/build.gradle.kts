@@ -1,5 +1,8 @@
 plugins {
     id("com.android.application") version "8.13.0" apply false
     id("com.google.gms.google-services") version "4.4.4" apply false
+    id("com.android.test") version "8.13.0" apply false
+    id("androidx.baselineprofile") version "1.4.1" apply false
+    id("me.champeau.jmh") version "0.7.2" apply false
 
 }
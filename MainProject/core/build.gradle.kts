@@ -0,0 +1,14 @@
+plugins {
+    `java-library`
+}
+
+// Plain JVM code shared by :app and :microbenchmark: the CPU-bound parts of the services and screens,
+// written against small interfaces the app's models implement, so they can be benchmarked off-device
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+
+dependencies {
+    testImplementation("junit:junit:4.13.2")
+}
@@ -0,0 +1,19 @@
+package com.quantiagents.core;
+
+import java.util.Date;
+
+/**
+ * The parts of a chat message the unread count reads.
+ */
+public interface ChatMessage {
+
+    /**
+     * @return The user ID of the sender
+     */
+    String getSenderId();
+
+    /**
+     * @return The time the message was sent, or null
+     */
+    Date getTimestamp();
+}
@@ -0,0 +1,103 @@
+package com.quantiagents.core;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes an event roster as CSV (Name,Email,Status) for organizers to export.
+ * <p>
+ * The entrants' profiles are looked up with one bulk read through a {@link UserDirectory} instead of
+ * one read per row.
+ * </p>
+ */
+public final class EntrantCsv {
+
+    public static final String HEADER = "Name,Email,Status\n";
+
+    private EntrantCsv() {}
+
+    /**
+     * Writes the header and one row per registration with a user ID.
+     *
+     * @param out           Where to write the CSV
+     * @param registrations The roster to export, in order
+     * @param users         Where the entrants' profiles are looked up
+     * @param status        The roster's status, written in every row (empty if null)
+     * @param <U>           The profile type
+     * @throws IOException If out cannot be written
+     */
+    public static <U extends EntrantProfile> void write(Appendable out, List<? extends Registration> registrations,
+                                                        UserDirectory<U> users, String status) throws IOException {
+        List<String> rowUserIds = new ArrayList<>(registrations.size());
+        Set<String> distinct = new LinkedHashSet<>();
+        for (Registration registration : registrations) {
+            if (registration == null || registration.getUserId() == null) continue;
+            String userId = registration.getUserId().trim();
+            if (userId.isEmpty()) continue;
+            rowUserIds.add(userId);
+            distinct.add(userId);
+        }
+
+        Map<String, U> byId = new HashMap<>();
+        if (!distinct.isEmpty()) {
+            for (U user : users.findUsers(distinct)) {
+                if (user != null && user.getUserId() != null) {
+                    byId.put(user.getUserId(), user);
+                }
+            }
+        }
+
+        String statusCell = status != null ? status : "";
+        out.append(HEADER);
+        for (String userId : rowUserIds) {
+            U user = byId.get(userId);
+            String name = "";
+            String email = "";
+            if (user != null) {
+                String username = trimmedOrEmpty(user.getUsername());
+                name = trimmedOrEmpty(user.getName());
+                if (name.isEmpty()) {
+                    name = username;
+                }
+                email = username;
+            }
+            appendEscaped(out, name);
+            out.append(',');
+            appendEscaped(out, email);
+            out.append(',').append(statusCell).append('\n');
+        }
+    }
+
+    /**
+     * Escapes a CSV cell: quoted if it contains a comma, quote or newline, with quotes doubled.
+     *
+     * @param value The cell value, may be null
+     * @return The escaped cell
+     */
+    public static String escape(String value) {
+        if (value == null) return "";
+        String v = value.replace("\"", "\"\"");
+        if (v.contains(",") || v.contains("\"") || v.contains("\n")) {
+            return "\"" + v + "\"";
+        }
+        return v;
+    }
+
+    private static void appendEscaped(Appendable out, String value) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            // The common case needs no copy
+            out.append(value);
+        } else {
+            out.append(escape(value));
+        }
+    }
+
+    private static String trimmedOrEmpty(String value) {
+        return value == null ? "" : value.trim();
+    }
+}
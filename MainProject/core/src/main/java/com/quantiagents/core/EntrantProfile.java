@@ -0,0 +1,22 @@
+package com.quantiagents.core;
+
+/**
+ * The parts of a user profile the entrant CSV export writes.
+ */
+public interface EntrantProfile {
+
+    /**
+     * @return The unique identifier of the user
+     */
+    String getUserId();
+
+    /**
+     * @return The display name, or null
+     */
+    String getName();
+
+    /**
+     * @return The username (the email address the user signed up with), or null
+     */
+    String getUsername();
+}
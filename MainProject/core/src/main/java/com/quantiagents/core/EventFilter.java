@@ -0,0 +1,126 @@
+package com.quantiagents.core;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * The Browse search and filter: title search, category, start date and availability.
+ * <p>
+ * Immutable; a new filter is made whenever the search text or the filter sheet changes and applied to
+ * the whole catalogue on every keystroke. Text is matched case-insensitively in place, so filtering
+ * allocates nothing per event.
+ * </p>
+ */
+public final class EventFilter {
+
+    private final String query;
+    private final String category;
+    private final Date from;
+    private final boolean availableOnly;
+
+    /**
+     * Constructor for a set of filter settings.
+     *
+     * @param query         Text the title must contain (case-insensitive); null or blank matches every title
+     * @param category      Text the category must contain (case-insensitive); null or blank matches every category
+     * @param from          Earliest start date, or null for any date
+     * @param availableOnly Whether only open events whose waiting list is not full match
+     */
+    public EventFilter(String query, String category, Date from, boolean availableOnly) {
+        this.query = query == null ? "" : query.trim();
+        this.category = category == null ? "" : category.trim();
+        this.from = from;
+        this.availableOnly = availableOnly;
+    }
+
+    /**
+     * Filters a catalogue, keeping its order.
+     *
+     * @param events        The events to filter
+     * @param waitingCounts Map of event ID to waiting list size, used for the availability filter
+     * @param isOpen        Whether an event is open for registration, used for the availability filter
+     * @param <T>           The event type
+     * @return A new list with the matching events
+     */
+    public <T extends EventListing> List<T> apply(List<T> events, Map<String, Long> waitingCounts,
+                                                  Predicate<? super T> isOpen) {
+        List<T> filtered = new ArrayList<>();
+        for (T event : events) {
+            if (matches(event, waitingCounts, isOpen)) {
+                filtered.add(event);
+            }
+        }
+        return filtered;
+    }
+
+    /**
+     * Checks one event against the filter.
+     *
+     * @param event         The event to check
+     * @param waitingCounts Map of event ID to waiting list size, used for the availability filter
+     * @param isOpen        Whether an event is open for registration, used for the availability filter
+     * @param <T>           The event type
+     * @return True if the event matches every active filter
+     */
+    public <T extends EventListing> boolean matches(T event, Map<String, Long> waitingCounts,
+                                                    Predicate<? super T> isOpen) {
+        if (event == null) {
+            return false;
+        }
+        if (!query.isEmpty() && !containsIgnoreCase(event.getTitle(), query)) {
+            return false;
+        }
+        if (!category.isEmpty() && !containsIgnoreCase(event.getCategory(), category)) {
+            return false;
+        }
+        if (from != null && (event.getEventStartDate() == null || event.getEventStartDate().before(from))) {
+            return false;
+        }
+        return !availableOnly || isAvailable(event, waitingCounts, isOpen);
+    }
+
+    /**
+     * Checks whether an event can still be joined: it is open and its waiting list is not full.
+     *
+     * @param event         The event to check
+     * @param waitingCounts Map of event ID to waiting list size; events absent from it have nobody waiting
+     * @param isOpen        Whether an event is open for registration
+     * @param <T>           The event type
+     * @return True if the event is open and below its waiting list limit
+     */
+    public static <T extends EventListing> boolean isAvailable(T event, Map<String, Long> waitingCounts,
+                                                               Predicate<? super T> isOpen) {
+        if (!isOpen.test(event)) {
+            return false;
+        }
+        double limit = event.getWaitingListLimit();
+        if (limit > 0) {
+            Long waiting = waitingCounts.get(event.getEventId());
+            return waiting == null || waiting < limit;
+        }
+        return true;
+    }
+
+    /**
+     * Case-insensitive {@link String#contains} that does not copy either string.
+     *
+     * @param text   The text to search, may be null
+     * @param needle The text to find
+     * @return True if text contains needle ignoring case
+     */
+    static boolean containsIgnoreCase(String text, String needle) {
+        if (text == null) {
+            return false;
+        }
+        int last = text.length() - needle.length();
+        for (int i = 0; i <= last; i++) {
+            if (text.regionMatches(true, i, needle, 0, needle.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,42 @@
+package com.quantiagents.core;
+
+import java.util.Date;
+
+/**
+ * The parts of an event the Browse filter and the account cleanup sweep read.
+ * <p>
+ * Only existing bean getters, so implementing it adds no fields to stored documents.
+ * </p>
+ */
+public interface EventListing {
+
+    /**
+     * @return The unique identifier of the event
+     */
+    String getEventId();
+
+    /**
+     * @return The title of the event, or null
+     */
+    String getTitle();
+
+    /**
+     * @return The category of the event, or null
+     */
+    String getCategory();
+
+    /**
+     * @return The date the event starts, or null
+     */
+    Date getEventStartDate();
+
+    /**
+     * @return The waiting list limit, 0 or less when unlimited
+     */
+    double getWaitingListLimit();
+
+    /**
+     * @return The user ID of the organizer, or null
+     */
+    String getOrganizerId();
+}
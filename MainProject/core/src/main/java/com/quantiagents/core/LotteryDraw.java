@@ -0,0 +1,76 @@
+package com.quantiagents.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Draws lottery winners from a waiting list.
+ * <p>
+ * A partial Fisher-Yates shuffle: only as many positions as there are winners are shuffled, so a draw
+ * costs O(winners) random numbers instead of shuffling the whole waiting list. Small draws from long
+ * lists keep their swaps in a map instead of copying the list. Every subset of the requested size is
+ * equally likely, as with a full shuffle.
+ * </p>
+ */
+public final class LotteryDraw {
+
+    private LotteryDraw() {}
+
+    /**
+     * Draws winners without changing the candidate list.
+     *
+     * @param candidates The entrants on the waiting list
+     * @param count      The number of winners wanted; capped at the number of candidates
+     * @param random     The source of randomness
+     * @param <T>        The entrant type
+     * @return The winners, in draw order
+     */
+    public static <T> List<T> draw(List<T> candidates, int count, Random random) {
+        int size = candidates.size();
+        int draws = Math.min(Math.max(count, 0), size);
+        List<T> winners = new ArrayList<>(draws);
+        if (draws == 0) {
+            return winners;
+        }
+        if (draws * 4L < size) {
+            // Few winners: remember only the swapped positions
+            Map<Integer, Integer> swapped = new HashMap<>(draws * 2);
+            for (int i = 0; i < draws; i++) {
+                int j = i + random.nextInt(size - i);
+                Integer atJ = swapped.get(j);
+                Integer atI = swapped.get(i);
+                winners.add(candidates.get(atJ != null ? atJ : j));
+                swapped.put(j, atI != null ? atI : i);
+            }
+            return winners;
+        }
+        Object[] pool = candidates.toArray();
+        for (int i = 0; i < draws; i++) {
+            int j = i + random.nextInt(size - i);
+            Object winner = pool[j];
+            pool[j] = pool[i];
+            pool[i] = winner;
+            @SuppressWarnings("unchecked")
+            T drawn = (T) winner;
+            winners.add(drawn);
+        }
+        return winners;
+    }
+
+    /**
+     * Gets the user IDs of drawn entrants, for the lottery result and the winner notifications.
+     *
+     * @param winners The drawn entrants
+     * @return Their user IDs, in draw order
+     */
+    public static List<String> userIds(List<? extends Registration> winners) {
+        List<String> ids = new ArrayList<>(winners.size());
+        for (Registration winner : winners) {
+            ids.add(winner.getUserId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,18 @@
+package com.quantiagents.core;
+
+/**
+ * The parts of a registration history (one entrant on one event's roster) the lottery, the CSV export
+ * and the account cleanup sweep read.
+ */
+public interface Registration {
+
+    /**
+     * @return The unique identifier of the event
+     */
+    String getEventId();
+
+    /**
+     * @return The unique identifier of the entrant
+     */
+    String getUserId();
+}
@@ -0,0 +1,53 @@
+package com.quantiagents.core;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Works out what deleting an account touches: the events the user organizes (deleted with the
+ * account) and the events whose rosters the user is on (recounted once their registrations are gone).
+ */
+public final class RosterSweep {
+
+    private RosterSweep() {}
+
+    /**
+     * Finds the events a user organizes.
+     *
+     * @param userId The unique identifier of the user
+     * @param events The events to look through
+     * @return The IDs of the events whose organizer is the user, in catalogue order
+     */
+    public static List<String> organizedEventIds(String userId, Iterable<? extends EventListing> events) {
+        List<String> organized = new ArrayList<>();
+        String id = userId.trim();
+        for (EventListing event : events) {
+            if (event == null || event.getEventId() == null) {
+                continue;
+            }
+            String organizerId = event.getOrganizerId();
+            if (organizerId != null && organizerId.trim().equals(id)) {
+                organized.add(event.getEventId());
+            }
+        }
+        return organized;
+    }
+
+    /**
+     * Finds the events a set of registrations put their users on the roster of.
+     *
+     * @param registrations The registrations to look through
+     * @return The distinct event IDs
+     */
+    public static Set<String> registeredEventIds(Iterable<? extends Registration> registrations) {
+        Set<String> eventIds = new HashSet<>();
+        for (Registration registration : registrations) {
+            if (registration != null && registration.getEventId() != null) {
+                eventIds.add(registration.getEventId());
+            }
+        }
+        return eventIds;
+    }
+}
@@ -0,0 +1,38 @@
+package com.quantiagents.core;
+
+import java.util.Date;
+
+/**
+ * Counts a user's unread messages in a chat.
+ */
+public final class UnreadCounter {
+
+    private UnreadCounter() {}
+
+    /**
+     * Counts the messages other members sent after the user last read the chat.
+     *
+     * @param messages The chat's messages
+     * @param userId   The user ID of the reader; their own messages are never unread
+     * @param lastRead When the user last read the chat, or null if they never did (every message counts)
+     * @return The number of unread messages
+     */
+    public static int count(Iterable<? extends ChatMessage> messages, String userId, Date lastRead) {
+        long readUpTo = lastRead != null ? lastRead.getTime() : Long.MIN_VALUE;
+        int unread = 0;
+        for (ChatMessage message : messages) {
+            if (userId.equals(message.getSenderId())) {
+                continue;
+            }
+            if (lastRead == null) {
+                unread++;
+            } else {
+                Date sent = message.getTimestamp();
+                if (sent != null && sent.getTime() > readUpTo) {
+                    unread++;
+                }
+            }
+        }
+        return unread;
+    }
+}
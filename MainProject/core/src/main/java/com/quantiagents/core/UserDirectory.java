@@ -0,0 +1,20 @@
+package com.quantiagents.core;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Looks up user profiles in bulk (blocking). The app backs it with UserRepository's chunked reads.
+ *
+ * @param <U> The profile type
+ */
+public interface UserDirectory<U extends EntrantProfile> {
+
+    /**
+     * Finds a set of users.
+     *
+     * @param userIds The IDs of the users to find
+     * @return The users that were found; missing IDs are left out
+     */
+    List<U> findUsers(Collection<String> userIds);
+}
@@ -0,0 +1,133 @@
+package com.quantiagents.core;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+public class EntrantCsvTest {
+
+    @Test
+    public void escapeLeavesPlainCellsAlone() {
+        assertEquals("", EntrantCsv.escape(null));
+        assertEquals("", EntrantCsv.escape(""));
+        assertEquals("Ada Lovelace", EntrantCsv.escape("Ada Lovelace"));
+    }
+
+    @Test
+    public void escapeQuotesCommasQuotesAndNewlines() {
+        assertEquals("\"Lovelace, Ada\"", EntrantCsv.escape("Lovelace, Ada"));
+        assertEquals("\"Ada \"\"Countess\"\" Lovelace\"", EntrantCsv.escape("Ada \"Countess\" Lovelace"));
+        assertEquals("\"line one\nline two\"", EntrantCsv.escape("line one\nline two"));
+    }
+
+    @Test
+    public void writesHeaderAndEscapedRows() throws IOException {
+        Directory users = new Directory(
+                new Profile("u1", "Lovelace, Ada", "ada@example.com"),
+                new Profile("u2", "  ", " grace@example.com "));
+        StringBuilder out = new StringBuilder();
+        EntrantCsv.write(out, Arrays.asList(registration("u1"), registration("u2")), users, "SELECTED");
+        assertEquals(EntrantCsv.HEADER
+                + "\"Lovelace, Ada\",ada@example.com,SELECTED\n"
+                // A blank name falls back to the username
+                + "grace@example.com,grace@example.com,SELECTED\n", out.toString());
+    }
+
+    @Test
+    public void skipsRegistrationsWithoutUserAndKeepsUnknownUsers() throws IOException {
+        Directory users = new Directory(new Profile("u1", "Ada", "ada@example.com"));
+        StringBuilder out = new StringBuilder();
+        EntrantCsv.write(out, Arrays.asList(null, registration(null), registration(" "), registration(" u1 "),
+                registration("gone")), users, null);
+        assertEquals(EntrantCsv.HEADER + "Ada,ada@example.com,\n" + ",,\n", out.toString());
+    }
+
+    @Test
+    public void looksUpEachUserOnce() throws IOException {
+        Directory users = new Directory(new Profile("u1", "Ada", "ada@example.com"));
+        StringBuilder out = new StringBuilder();
+        EntrantCsv.write(out, Arrays.asList(registration("u1"), registration("u1")), users, "WAITLIST");
+        assertEquals(1, users.lookups.size());
+        assertEquals(Collections.singletonList("u1"), users.lookups.get(0));
+        assertEquals(EntrantCsv.HEADER + "Ada,ada@example.com,WAITLIST\n" + "Ada,ada@example.com,WAITLIST\n",
+                out.toString());
+    }
+
+    @Test
+    public void emptyRosterWritesOnlyHeaderWithoutLookup() throws IOException {
+        Directory users = new Directory();
+        StringBuilder out = new StringBuilder();
+        EntrantCsv.write(out, Collections.<Registration>emptyList(), users, "WAITLIST");
+        assertEquals(EntrantCsv.HEADER, out.toString());
+        assertEquals(0, users.lookups.size());
+    }
+
+    private static Registration registration(String userId) {
+        return new Registration() {
+            @Override
+            public String getEventId() {
+                return "event";
+            }
+
+            @Override
+            public String getUserId() {
+                return userId;
+            }
+        };
+    }
+
+    private static final class Profile implements EntrantProfile {
+        final String userId;
+        final String name;
+        final String username;
+
+        Profile(String userId, String name, String username) {
+            this.userId = userId;
+            this.name = name;
+            this.username = username;
+        }
+
+        @Override
+        public String getUserId() {
+            return userId;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getUsername() {
+            return username;
+        }
+    }
+
+    private static final class Directory implements UserDirectory<Profile> {
+        final List<Profile> profiles;
+        final List<List<String>> lookups = new ArrayList<>();
+
+        Directory(Profile... profiles) {
+            this.profiles = Arrays.asList(profiles);
+        }
+
+        @Override
+        public List<Profile> findUsers(Collection<String> userIds) {
+            lookups.add(new ArrayList<>(userIds));
+            List<Profile> found = new ArrayList<>();
+            for (Profile profile : profiles) {
+                if (userIds.contains(profile.getUserId())) {
+                    found.add(profile);
+                }
+            }
+            return found;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.quantiagents.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+public class EventFilterTest {
+
+    private static final Predicate<Listing> OPEN = listing -> listing.open;
+    private static final Map<String, Long> NO_COUNTS = Collections.emptyMap();
+
+    @Test
+    public void blankFilterMatchesEverything() {
+        EventFilter filter = new EventFilter("  ", null, null, false);
+        assertTrue(filter.matches(new Listing("e1", "Chess night", null, null, 0, false), NO_COUNTS, OPEN));
+    }
+
+    @Test
+    public void nullEventNeverMatches() {
+        assertFalse(new EventFilter(null, null, null, false).matches(null, NO_COUNTS, OPEN));
+    }
+
+    @Test
+    public void titleIsMatchedIgnoringCase() {
+        EventFilter filter = new EventFilter(" CHESS ", null, null, false);
+        assertTrue(filter.matches(new Listing("e1", "Friday chess night", null, null, 0, true), NO_COUNTS, OPEN));
+        assertFalse(filter.matches(new Listing("e2", "Swimming", null, null, 0, true), NO_COUNTS, OPEN));
+        assertFalse(filter.matches(new Listing("e3", null, null, null, 0, true), NO_COUNTS, OPEN));
+    }
+
+    @Test
+    public void categoryIsMatchedIgnoringCase() {
+        EventFilter filter = new EventFilter(null, "sport", null, false);
+        assertTrue(filter.matches(new Listing("e1", "Run", "Sports", null, 0, true), NO_COUNTS, OPEN));
+        assertFalse(filter.matches(new Listing("e2", "Run", "Music", null, 0, true), NO_COUNTS, OPEN));
+        assertFalse(filter.matches(new Listing("e3", "Run", null, null, 0, true), NO_COUNTS, OPEN));
+    }
+
+    @Test
+    public void startDateMustNotBeBeforeFrom() {
+        Date from = new Date(1_000_000);
+        EventFilter filter = new EventFilter(null, null, from, false);
+        assertTrue(filter.matches(new Listing("e1", "A", null, from, 0, true), NO_COUNTS, OPEN));
+        assertTrue(filter.matches(new Listing("e2", "A", null, new Date(2_000_000), 0, true), NO_COUNTS, OPEN));
+        assertFalse(filter.matches(new Listing("e3", "A", null, new Date(999_999), 0, true), NO_COUNTS, OPEN));
+        assertFalse(filter.matches(new Listing("e4", "A", null, null, 0, true), NO_COUNTS, OPEN));
+    }
+
+    @Test
+    public void availableOnlyNeedsOpenEventBelowItsLimit() {
+        Map<String, Long> waiting = new HashMap<>();
+        waiting.put("full", 10L);
+        waiting.put("roomy", 9L);
+        waiting.put("unlimited", 500L);
+        EventFilter filter = new EventFilter(null, null, null, true);
+
+        assertFalse(filter.matches(new Listing("full", "A", null, null, 10, true), waiting, OPEN));
+        assertTrue(filter.matches(new Listing("roomy", "A", null, null, 10, true), waiting, OPEN));
+        assertTrue(filter.matches(new Listing("unlimited", "A", null, null, 0, true), waiting, OPEN));
+        // Absent from the counts means nobody is waiting yet
+        assertTrue(filter.matches(new Listing("new", "A", null, null, 10, true), waiting, OPEN));
+        assertFalse(filter.matches(new Listing("roomy", "A", null, null, 10, false), waiting, OPEN));
+    }
+
+    @Test
+    public void everyActiveFilterMustMatch() {
+        EventFilter filter = new EventFilter("run", "sports", new Date(0), true);
+        assertTrue(filter.matches(new Listing("e1", "Fun run", "Sports", new Date(5), 0, true), NO_COUNTS, OPEN));
+        assertFalse(filter.matches(new Listing("e2", "Fun run", "Music", new Date(5), 0, true), NO_COUNTS, OPEN));
+        assertFalse(filter.matches(new Listing("e3", "Fun run", "Sports", new Date(5), 0, false), NO_COUNTS, OPEN));
+    }
+
+    @Test
+    public void applyKeepsCatalogueOrder() {
+        Listing a = new Listing("a", "Yoga basics", null, null, 0, true);
+        Listing b = new Listing("b", "Chess", null, null, 0, true);
+        Listing c = new Listing("c", "Advanced yoga", null, null, 0, true);
+        List<Listing> filtered = new EventFilter("yoga", null, null, false)
+                .apply(Arrays.asList(a, b, c), NO_COUNTS, OPEN);
+        assertEquals(Arrays.asList(a, c), filtered);
+    }
+
+    @Test
+    public void containsIgnoreCaseHandlesEdges() {
+        assertTrue(EventFilter.containsIgnoreCase("abc", ""));
+        assertTrue(EventFilter.containsIgnoreCase("ABC", "bc"));
+        assertFalse(EventFilter.containsIgnoreCase("ab", "abc"));
+        assertFalse(EventFilter.containsIgnoreCase(null, "a"));
+    }
+
+    private static final class Listing implements EventListing {
+        final String eventId;
+        final String title;
+        final String category;
+        final Date start;
+        final double waitingListLimit;
+        final boolean open;
+
+        Listing(String eventId, String title, String category, Date start, double waitingListLimit, boolean open) {
+            this.eventId = eventId;
+            this.title = title;
+            this.category = category;
+            this.start = start;
+            this.waitingListLimit = waitingListLimit;
+            this.open = open;
+        }
+
+        @Override
+        public String getEventId() {
+            return eventId;
+        }
+
+        @Override
+        public String getTitle() {
+            return title;
+        }
+
+        @Override
+        public String getCategory() {
+            return category;
+        }
+
+        @Override
+        public Date getEventStartDate() {
+            return start;
+        }
+
+        @Override
+        public double getWaitingListLimit() {
+            return waitingListLimit;
+        }
+
+        @Override
+        public String getOrganizerId() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.quantiagents.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+public class LotteryDrawTest {
+
+    @Test
+    public void noWinnersWhenCountIsZeroOrNegative() {
+        List<Integer> candidates = range(10);
+        assertTrue(LotteryDraw.draw(candidates, 0, new Random(1)).isEmpty());
+        assertTrue(LotteryDraw.draw(candidates, -3, new Random(1)).isEmpty());
+    }
+
+    @Test
+    public void noWinnersFromEmptyWaitingList() {
+        assertTrue(LotteryDraw.draw(Collections.<Integer>emptyList(), 5, new Random(1)).isEmpty());
+    }
+
+    @Test
+    public void moreWinnersThanEntrantsDrawsEveryoneOnce() {
+        List<Integer> candidates = range(7);
+        List<Integer> winners = LotteryDraw.draw(candidates, 20, new Random(1));
+        assertEquals(7, winners.size());
+        assertEquals(new HashSet<>(candidates), new HashSet<>(winners));
+    }
+
+    @Test
+    public void smallDrawFromLongListGivesDistinctCandidates() {
+        // 10 * 4 < 1000: the map-based path
+        List<Integer> candidates = range(1000);
+        List<Integer> winners = LotteryDraw.draw(candidates, 10, new Random(7));
+        assertEquals(10, winners.size());
+        assertEquals(10, new HashSet<>(winners).size());
+        assertTrue(candidates.containsAll(winners));
+        assertEquals(range(1000), candidates);
+    }
+
+    @Test
+    public void largeDrawGivesDistinctCandidates() {
+        // 6 * 4 >= 10: the array path
+        List<Integer> candidates = range(10);
+        List<Integer> winners = LotteryDraw.draw(candidates, 6, new Random(7));
+        assertEquals(6, winners.size());
+        assertEquals(6, new HashSet<>(winners).size());
+        assertTrue(candidates.containsAll(winners));
+        assertEquals(range(10), candidates);
+    }
+
+    @Test
+    public void sameSeedDrawsSameWinners() {
+        List<Integer> candidates = range(500);
+        assertEquals(LotteryDraw.draw(candidates, 5, new Random(42)), LotteryDraw.draw(candidates, 5, new Random(42)));
+        assertEquals(LotteryDraw.draw(candidates, 300, new Random(42)), LotteryDraw.draw(candidates, 300, new Random(42)));
+    }
+
+    @Test
+    public void smallDrawPicksEveryCandidateEquallyOften() {
+        // 1 * 4 < 8: the map-based path
+        assertUniform(8, 1);
+    }
+
+    @Test
+    public void largeDrawPicksEveryCandidateEquallyOften() {
+        // 2 * 4 >= 4: the array path
+        assertUniform(4, 2);
+    }
+
+    @Test
+    public void userIdsKeepsDrawOrder() {
+        List<Registration> winners = Arrays.asList(registration("b"), registration("a"), registration("c"));
+        assertEquals(Arrays.asList("b", "a", "c"), LotteryDraw.userIds(winners));
+    }
+
+    /**
+     * Draws many times from a seeded source and checks every candidate is picked within 5% of its share.
+     */
+    private static void assertUniform(int size, int count) {
+        int trials = 40_000;
+        int[] picked = new int[size];
+        Random random = new Random(3);
+        List<Integer> candidates = range(size);
+        for (int t = 0; t < trials; t++) {
+            for (int winner : LotteryDraw.draw(candidates, count, random)) {
+                picked[winner]++;
+            }
+        }
+        double expected = (double) trials * count / size;
+        for (int i = 0; i < size; i++) {
+            assertEquals("Candidate " + i, expected, picked[i], expected * 0.05);
+        }
+    }
+
+    private static List<Integer> range(int size) {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    private static Registration registration(String userId) {
+        return new Registration() {
+            @Override
+            public String getEventId() {
+                return "event";
+            }
+
+            @Override
+            public String getUserId() {
+                return userId;
+            }
+        };
+    }
+}
@@ -0,0 +1,38 @@
+plugins {
+    java
+    id("me.champeau.jmh")
+}
+
+// JMH benchmarks of the CPU-bound code in :core, on synthetic data sets from 1k to 1M entities.
+// Plain JVM, so any Linux box can run them: ./gradlew :microbenchmark:jmh
+// Results (throughput, plus allocation rate from the gc profiler) go to build/results/jmh/results.json.
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+
+dependencies {
+    jmhImplementation(project(":core"))
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    benchmarkMode.set(listOf("thrpt"))
+    timeUnit.set("s")
+    fork.set(1)
+    warmupIterations.set(3)
+    warmup.set("2s")
+    iterations.set(5)
+    timeOnIteration.set("2s")
+    // gc.alloc.rate and gc.alloc.rate.norm (bytes per operation) next to each score
+    profilers.set(listOf("gc"))
+    resultFormat.set("JSON")
+    // Room for the 1M-entity data sets
+    jvmArgs.set(listOf("-Xms2g", "-Xmx2g"))
+    // Pick benchmarks with -PjmhIncludes=EventFilter, sizes with -PjmhSizes=1000,10000
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.set(listOf(it)) }
+    providers.gradleProperty("jmhSizes").orNull?.let { benchmarkParameters.put("size", listProperty(it)) }
+}
+
+fun listProperty(csv: String): ListProperty<String> =
+    objects.listProperty(String::class.java).value(csv.split(","))
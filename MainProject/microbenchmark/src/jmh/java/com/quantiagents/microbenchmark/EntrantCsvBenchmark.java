@@ -0,0 +1,40 @@
+package com.quantiagents.microbenchmark;
+
+import com.quantiagents.core.EntrantCsv;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The entrant CSV export of one roster, including the bulk profile lookup (served from memory here,
+ * so only the CSV side is measured).
+ */
+@State(Scope.Benchmark)
+public class EntrantCsvBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private List<SyntheticData.Entry> roster;
+    private SyntheticData.Directory directory;
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData(46);
+        roster = data.registrations(size, size, 1);
+        directory = new SyntheticData.Directory(data.profiles(size));
+    }
+
+    @Benchmark
+    public int export() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        EntrantCsv.write(csv, roster, directory, "WAITLIST");
+        return csv.length();
+    }
+}
@@ -0,0 +1,44 @@
+package com.quantiagents.microbenchmark;
+
+import com.quantiagents.core.EventFilter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The Browse search and filter, run over the whole catalogue as it is on every keystroke.
+ */
+@State(Scope.Benchmark)
+public class EventFilterBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private List<SyntheticData.Event> events;
+    private Map<String, Long> waitingCounts;
+    private final EventFilter search = new EventFilter("swim", null, null, false);
+    private final EventFilter allFilters = new EventFilter("camp", "art", SyntheticData.dayOfYear(100), true);
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData(46);
+        events = data.events(size, size);
+        waitingCounts = data.waitingCounts(events);
+    }
+
+    @Benchmark
+    public List<SyntheticData.Event> titleSearch() {
+        return search.apply(events, waitingCounts, SyntheticData.Event::open);
+    }
+
+    @Benchmark
+    public List<SyntheticData.Event> everyFilter() {
+        return allFilters.apply(events, waitingCounts, SyntheticData.Event::open);
+    }
+}
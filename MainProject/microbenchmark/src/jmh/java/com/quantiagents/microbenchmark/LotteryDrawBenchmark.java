@@ -0,0 +1,43 @@
+package com.quantiagents.microbenchmark;
+
+import com.quantiagents.core.LotteryDraw;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A lottery draw from a waiting list followed by the winner list sync (their user IDs, as recorded in
+ * the lottery result and notified), for a typical event capacity and for drawing half the list.
+ */
+@State(Scope.Benchmark)
+public class LotteryDrawBenchmark {
+
+    private static final int CAPACITY = 20;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private List<SyntheticData.Entry> waitingList;
+    private final Random random = new Random(46);
+
+    @Setup
+    public void setUp() {
+        waitingList = new SyntheticData(46).registrations(size, size, 1);
+    }
+
+    @Benchmark
+    public List<String> drawCapacity() {
+        return LotteryDraw.userIds(LotteryDraw.draw(waitingList, CAPACITY, random));
+    }
+
+    @Benchmark
+    public List<String> drawHalf() {
+        return LotteryDraw.userIds(LotteryDraw.draw(waitingList, size / 2, random));
+    }
+}
@@ -0,0 +1,44 @@
+package com.quantiagents.microbenchmark;
+
+import com.quantiagents.core.RosterSweep;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The account cleanup sweep: finding the events a deleted user organizes in the whole catalogue, and the
+ * events their registrations put them on the roster of.
+ */
+@State(Scope.Benchmark)
+public class RosterSweepBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private List<SyntheticData.Event> events;
+    private List<SyntheticData.Entry> registrations;
+    private final String userId = SyntheticData.userId(0);
+
+    @Setup
+    public void setUp() {
+        SyntheticData data = new SyntheticData(46);
+        events = data.events(size, size);
+        registrations = data.registrations(size, 1, size);
+    }
+
+    @Benchmark
+    public List<String> organizedEvents() {
+        return RosterSweep.organizedEventIds(userId, events);
+    }
+
+    @Benchmark
+    public Set<String> registeredEvents() {
+        return RosterSweep.registeredEventIds(registrations);
+    }
+}
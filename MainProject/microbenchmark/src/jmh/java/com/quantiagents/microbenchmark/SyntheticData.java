@@ -0,0 +1,159 @@
+package com.quantiagents.microbenchmark;
+
+import com.quantiagents.core.ChatMessage;
+import com.quantiagents.core.EntrantProfile;
+import com.quantiagents.core.EventListing;
+import com.quantiagents.core.Registration;
+import com.quantiagents.core.UserDirectory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic data shaped like the app's Firestore collections: the same seed and size
+ * always give the same entities, so runs on different machines and commits measure the same work.
+ */
+final class SyntheticData {
+
+    static final String[] CATEGORIES = {"Sports", "Music", "Education", "Arts", "Community", "Food", "Tech"};
+    private static final String[] WORDS = {"Spring", "Swim", "Lessons", "Piano", "Coding", "Club", "Night",
+            "Market", "Yoga", "Camp", "Workshop", "Festival", "Chess", "Robotics", "Dance", "Gala"};
+    private static final long DAY_MS = 86_400_000L;
+    private static final long EPOCH = 1_767_225_600_000L; // 2026-01-01
+
+    private final Random random;
+
+    SyntheticData(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Events with three-word titles, a category, a start date within a year, a waiting list limit
+     * (a fifth of them unlimited) and one of users / 20 organizers; about three quarters are open.
+     */
+    List<Event> events(int count, int users) {
+        List<Event> events = new ArrayList<>(count);
+        int organizers = Math.max(1, users / 20);
+        for (int i = 0; i < count; i++) {
+            String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            events.add(new Event("event-" + i, title, CATEGORIES[random.nextInt(CATEGORIES.length)],
+                    new Date(EPOCH + random.nextInt(365) * DAY_MS),
+                    random.nextInt(5) == 0 ? 0 : 10 + random.nextInt(190),
+                    userId(random.nextInt(organizers)),
+                    random.nextInt(4) != 0));
+        }
+        return events;
+    }
+
+    /**
+     * Waiting list sizes for a catalogue; events nobody joined are absent, as with the sharded counters.
+     */
+    Map<String, Long> waitingCounts(List<Event> events) {
+        Map<String, Long> counts = new HashMap<>();
+        for (Event event : events) {
+            if (random.nextInt(3) != 0) {
+                counts.put(event.getEventId(), (long) random.nextInt(220));
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Registrations of random users on random events.
+     */
+    List<Entry> registrations(int count, int users, int events) {
+        List<Entry> registrations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            registrations.add(new Entry("event-" + random.nextInt(Math.max(1, events)), userId(random.nextInt(users))));
+        }
+        return registrations;
+    }
+
+    /**
+     * User profiles; some without a name (the CSV falls back to the username) and some with a comma in it
+     * (the CSV quotes them).
+     */
+    List<Profile> profiles(int count) {
+        List<Profile> profiles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int shape = random.nextInt(10);
+            String name = shape == 0 ? null : shape == 1 ? "Doe, Jane " + i : "Entrant " + i;
+            profiles.add(new Profile(userId(i), name, "entrant" + i + "@example.com"));
+        }
+        return profiles;
+    }
+
+    /**
+     * A chat history a minute apart, sent by members chosen at random.
+     */
+    List<Message> messages(int count, int members) {
+        List<Message> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            messages.add(new Message(userId(random.nextInt(members)), new Date(EPOCH + i * 60_000L)));
+        }
+        return messages;
+    }
+
+    static String userId(int i) {
+        return "user-" + i;
+    }
+
+    static Date dayOfYear(int day) {
+        return new Date(EPOCH + day * DAY_MS);
+    }
+
+    record Event(String eventId, String title, String category, Date start, double waitingListLimit,
+                 String organizerId, boolean open) implements EventListing {
+        @Override public String getEventId() { return eventId; }
+        @Override public String getTitle() { return title; }
+        @Override public String getCategory() { return category; }
+        @Override public Date getEventStartDate() { return start; }
+        @Override public double getWaitingListLimit() { return waitingListLimit; }
+        @Override public String getOrganizerId() { return organizerId; }
+    }
+
+    record Entry(String eventId, String userId) implements Registration {
+        @Override public String getEventId() { return eventId; }
+        @Override public String getUserId() { return userId; }
+    }
+
+    record Profile(String userId, String name, String username) implements EntrantProfile {
+        @Override public String getUserId() { return userId; }
+        @Override public String getName() { return name; }
+        @Override public String getUsername() { return username; }
+    }
+
+    record Message(String senderId, Date timestamp) implements ChatMessage {
+        @Override public String getSenderId() { return senderId; }
+        @Override public Date getTimestamp() { return timestamp; }
+    }
+
+    /**
+     * In-memory stand-in for the user repository's bulk read.
+     */
+    static final class Directory implements UserDirectory<Profile> {
+        private final Map<String, Profile> byId = new HashMap<>();
+
+        Directory(Collection<Profile> profiles) {
+            for (Profile profile : profiles) {
+                byId.put(profile.userId(), profile);
+            }
+        }
+
+        @Override
+        public List<Profile> findUsers(Collection<String> userIds) {
+            List<Profile> found = new ArrayList<>(userIds.size());
+            for (String userId : userIds) {
+                Profile profile = byId.get(userId);
+                if (profile != null) found.add(profile);
+            }
+            return found;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.quantiagents.microbenchmark;
+
+import com.quantiagents.core.UnreadCounter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Counting a member's unread messages in a chat history, for a member who read up to the middle of it
+ * and for one who never opened it.
+ */
+@State(Scope.Benchmark)
+public class UnreadCountBenchmark {
+
+    private static final int MEMBERS = 20;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private List<SyntheticData.Message> messages;
+    private Date lastRead;
+    private final String userId = SyntheticData.userId(0);
+
+    @Setup
+    public void setUp() {
+        messages = new SyntheticData(46).messages(size, MEMBERS);
+        lastRead = messages.get(size / 2).getTimestamp();
+    }
+
+    @Benchmark
+    public int readHalfway() {
+        return UnreadCounter.count(messages, userId, lastRead);
+    }
+
+    @Benchmark
+    public int neverRead() {
+        return UnreadCounter.count(messages, userId, null);
+    }
+}
@@ -16,3 +16,6 @@ dependencyResolutionManagement {
 
 rootProject.name = "QuantiAgents"
 include(":app")
+include(":benchmark")
+include(":core")
+include(":microbenchmark")